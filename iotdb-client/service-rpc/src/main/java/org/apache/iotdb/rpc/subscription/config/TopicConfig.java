@@ -90,6 +90,16 @@ public class TopicConfig extends PipeParameters {
 
   /////////////////////////////// utilities ///////////////////////////////
 
+  /**
+   * @return {@code true} if the topic filters the rows by {@link TopicConstant#FILTER_KEY} or
+   *     projects the columns by {@link TopicConstant#COLUMNS_KEY}, which requires every TsFile to
+   *     be parsed into tablets
+   */
+  public boolean hasServerSideFilter() {
+    return attributes.containsKey(TopicConstant.FILTER_KEY)
+        || attributes.containsKey(TopicConstant.COLUMNS_KEY);
+  }
+
   public boolean isTableTopic() {
     return SQL_DIALECT_TABLE_VALUE.equalsIgnoreCase(
         attributes.getOrDefault(SQL_DIALECT_KEY, SQL_DIALECT_TREE_VALUE));
@@ -196,8 +206,11 @@ public class TopicConfig extends PipeParameters {
   public Map<String, String> getAttributesWithSinkFormat() {
     // refer to
     // org.apache.iotdb.db.pipe.agent.task.connection.PipeEventCollector.parseAndCollectEvent(org.apache.iotdb.db.pipe.event.common.tsfile.PipeTsFileInsertionEvent)
+    // the filtered TsFiles are rebuilt from the filtered tablets by the prefetching queue
     return TopicConstant.FORMAT_TS_FILE_HANDLER_VALUE.equalsIgnoreCase(
-            attributes.getOrDefault(TopicConstant.FORMAT_KEY, TopicConstant.FORMAT_DEFAULT_VALUE))
+                attributes.getOrDefault(
+                    TopicConstant.FORMAT_KEY, TopicConstant.FORMAT_DEFAULT_VALUE))
+            && !hasServerSideFilter()
         ? SINK_TS_FILE_FORMAT_CONFIG
         : SINK_TABLET_FORMAT_CONFIG;
   }
@@ -54,6 +54,10 @@ public class TopicConstant {
   public static final String STRICT_KEY = "strict";
   public static final String STRICT_DEFAULT_VALUE = "true";
 
+  // Evaluated on the DataNodes before the data is delivered to the consumers
+  public static final String FILTER_KEY = "filter";
+  public static final String COLUMNS_KEY = "columns";
+
   private TopicConstant() {
     throw new IllegalStateException("Utility class");
   }
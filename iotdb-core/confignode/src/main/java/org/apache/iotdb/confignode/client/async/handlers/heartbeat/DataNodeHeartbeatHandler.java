@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.confignode.client.async.handlers.heartbeat;
 
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
 import org.apache.iotdb.commons.client.ThriftClient;
 import org.apache.iotdb.commons.cluster.NodeStatus;
@@ -30,9 +31,11 @@ import org.apache.iotdb.confignode.manager.load.LoadManager;
 import org.apache.iotdb.confignode.manager.load.cache.consensus.ConsensusGroupHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.cache.node.NodeHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionHeartbeatSample;
+import org.apache.iotdb.confignode.manager.partition.DataPartitionDeltaLog;
 import org.apache.iotdb.confignode.manager.pipe.coordinator.runtime.PipeRuntimeCoordinator;
 import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.mpp.rpc.thrift.TDataNodeHeartbeatResp;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
 
 import org.apache.thrift.async.AsyncMethodCallback;
 
@@ -60,6 +63,8 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
 
   private final PipeRuntimeCoordinator pipeRuntimeCoordinator;
 
+  private final DataPartitionDeltaLog dataPartitionDeltaLog;
+
   public DataNodeHeartbeatHandler(
       int nodeId,
       LoadManager loadManager,
@@ -68,7 +73,8 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
       Map<Integer, Long> regionDisk,
       Consumer<Map<Integer, Long>> seriesUsageRespProcess,
       Consumer<Map<Integer, Long>> deviceUsageRespProcess,
-      PipeRuntimeCoordinator pipeRuntimeCoordinator) {
+      PipeRuntimeCoordinator pipeRuntimeCoordinator,
+      DataPartitionDeltaLog dataPartitionDeltaLog) {
 
     this.nodeId = nodeId;
     this.loadManager = loadManager;
@@ -78,6 +84,7 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
     this.seriesUsageRespProcess = seriesUsageRespProcess;
     this.deviceUsageRespProcess = deviceUsageRespProcess;
     this.pipeRuntimeCoordinator = pipeRuntimeCoordinator;
+    this.dataPartitionDeltaLog = dataPartitionDeltaLog;
   }
 
   @Override
@@ -109,10 +116,8 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
                   .cacheRegionHeartbeatSample(
                       regionGroupId,
                       nodeId,
-                      new RegionHeartbeatSample(
-                          heartbeatResp.getHeartbeatTimestamp(),
-                          // Region will inherit DataNode's status
-                          nextRegionStatus),
+                      // Region will inherit DataNode's status
+                      buildRegionHeartbeatSample(heartbeatResp, regionGroupId, nextRegionStatus),
                       false);
 
               if (((TConsensusGroupType.SchemaRegion.equals(regionGroupId.getType())
@@ -163,6 +168,37 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
           .getLoadCache()
           .updateRegionRawSizeMap(nodeId, heartbeatResp.getDataRegionRawDataSize());
     }
+    if (heartbeatResp.isSetDataPartitionCacheEpoch()
+        && heartbeatResp.isSetDataPartitionCacheVersion()) {
+      dataPartitionDeltaLog.acknowledge(
+          nodeId,
+          heartbeatResp.getDataPartitionCacheEpoch(),
+          heartbeatResp.getDataPartitionCacheVersion());
+    }
+  }
+
+  private RegionHeartbeatSample buildRegionHeartbeatSample(
+      TDataNodeHeartbeatResp heartbeatResp,
+      TConsensusGroupId regionGroupId,
+      RegionStatus regionStatus) {
+    TRegionLoadSample loadSample =
+        heartbeatResp.isSetRegionLoadMap()
+            ? heartbeatResp.getRegionLoadMap().get(regionGroupId.getId())
+            : null;
+    if (loadSample == null || !TConsensusGroupType.DataRegion.equals(regionGroupId.getType())) {
+      return new RegionHeartbeatSample(heartbeatResp.getHeartbeatTimestamp(), regionStatus);
+    }
+    Long diskBytes =
+        heartbeatResp.isSetRegionDisk()
+            ? heartbeatResp.getRegionDisk().get(regionGroupId.getId())
+            : null;
+    return new RegionHeartbeatSample(
+        heartbeatResp.getHeartbeatTimestamp(),
+        regionStatus,
+        loadSample.getWrittenPoints(),
+        loadSample.getQueryCpuTimeInNanos(),
+        diskBytes == null ? 0 : diskBytes,
+        loadSample.isSetSeriesSlotWrittenPoints() ? loadSample.getSeriesSlotWrittenPoints() : null);
   }
 
   @Override
@@ -127,6 +127,27 @@ public class ConfigNodeConfig {
   private RegionBalancer.RegionGroupAllocatePolicy regionGroupAllocatePolicy =
       RegionBalancer.RegionGroupAllocatePolicy.GCR;
 
+  /** Whether to periodically move the hot SeriesSlots to the cold DataRegionGroups. */
+  private boolean enableDataPartitionLoadRebalance = false;
+
+  /** The interval of moving the hot SeriesSlots, in milliseconds. */
+  private long dataPartitionLoadRebalanceIntervalInMs = 600_000;
+
+  /**
+   * A DataRegionGroup is regarded as hot when its load exceeds the average load of the Database by
+   * this ratio.
+   */
+  private double dataPartitionLoadImbalanceThreshold = 0.2;
+
+  /** Whether to create the DataPartitions of the next time partition in advance. */
+  private boolean enableDataPartitionPreCreate = false;
+
+  /**
+   * The DataPartitions of the next time partition are created once the current time partition ends
+   * within this time, in milliseconds.
+   */
+  private long dataPartitionPreCreateAheadTimeInMs = 60_000;
+
   /** Max concurrent client number. */
   private int rpcMaxConcurrentClientNum = 3000;
 
@@ -203,6 +224,18 @@ public class ConfigNodeConfig {
   /** The policy of cluster RegionGroups' leader distribution. */
   private String leaderDistributionPolicy = AbstractLeaderBalancer.CFD_POLICY;
 
+  /**
+   * The LOAD leader distribution policy keeps the current leaders as long as the write load of the
+   * leaders on each DataNode doesn't exceed the average by this ratio.
+   */
+  private double leaderBalanceLoadImbalanceThreshold = 0.1;
+
+  /**
+   * The interval of re-balancing leaders by the LOAD leader distribution policy, in milliseconds.
+   * The load changes without any statistics change event, so it is checked periodically.
+   */
+  private long leaderBalanceLoadIntervalInMs = 60_000;
+
   /** Whether to enable auto leader balance for Ratis consensus protocol. */
   private boolean enableAutoLeaderBalanceForRatisConsensus = true;
 
@@ -311,6 +344,16 @@ public class ConfigNodeConfig {
   private long schemaRegionRatisPeriodicSnapshotInterval = 60 * 60 * 24L; // 24h
   private long dataRegionRatisPeriodicSnapshotInterval = 60 * 60 * 24L; // 24h
 
+  /** DEFAULT, LINEARIZABLE, LEASE or BOUNDED_STALENESS, see RatisConfig.Read.Option. */
+  private String configNodeRatisReadConsistency = "DEFAULT";
+
+  private String schemaRegionRatisReadConsistency = "LINEARIZABLE";
+
+  /** Max staleness of BOUNDED_STALENESS read. */
+  private long configNodeRatisReadMaxStalenessMs = 1000;
+
+  private long schemaRegionRatisReadMaxStalenessMs = 1000;
+
   /** The getOrCreatePartitionTable interface will log new created Partition if set true. */
   private boolean isEnablePrintingNewlyCreatedPartition = false;
 
@@ -551,6 +594,47 @@ public class ConfigNodeConfig {
     this.regionGroupAllocatePolicy = regionGroupAllocatePolicy;
   }
 
+  public boolean isEnableDataPartitionLoadRebalance() {
+    return enableDataPartitionLoadRebalance;
+  }
+
+  public void setEnableDataPartitionLoadRebalance(boolean enableDataPartitionLoadRebalance) {
+    this.enableDataPartitionLoadRebalance = enableDataPartitionLoadRebalance;
+  }
+
+  public long getDataPartitionLoadRebalanceIntervalInMs() {
+    return dataPartitionLoadRebalanceIntervalInMs;
+  }
+
+  public void setDataPartitionLoadRebalanceIntervalInMs(
+      long dataPartitionLoadRebalanceIntervalInMs) {
+    this.dataPartitionLoadRebalanceIntervalInMs = dataPartitionLoadRebalanceIntervalInMs;
+  }
+
+  public double getDataPartitionLoadImbalanceThreshold() {
+    return dataPartitionLoadImbalanceThreshold;
+  }
+
+  public void setDataPartitionLoadImbalanceThreshold(double dataPartitionLoadImbalanceThreshold) {
+    this.dataPartitionLoadImbalanceThreshold = dataPartitionLoadImbalanceThreshold;
+  }
+
+  public boolean isEnableDataPartitionPreCreate() {
+    return enableDataPartitionPreCreate;
+  }
+
+  public void setEnableDataPartitionPreCreate(boolean enableDataPartitionPreCreate) {
+    this.enableDataPartitionPreCreate = enableDataPartitionPreCreate;
+  }
+
+  public long getDataPartitionPreCreateAheadTimeInMs() {
+    return dataPartitionPreCreateAheadTimeInMs;
+  }
+
+  public void setDataPartitionPreCreateAheadTimeInMs(long dataPartitionPreCreateAheadTimeInMs) {
+    this.dataPartitionPreCreateAheadTimeInMs = dataPartitionPreCreateAheadTimeInMs;
+  }
+
   public int getThriftServerAwaitTimeForStopService() {
     return thriftServerAwaitTimeForStopService;
   }
@@ -682,6 +766,22 @@ public class ConfigNodeConfig {
     this.leaderDistributionPolicy = leaderDistributionPolicy;
   }
 
+  public double getLeaderBalanceLoadImbalanceThreshold() {
+    return leaderBalanceLoadImbalanceThreshold;
+  }
+
+  public void setLeaderBalanceLoadImbalanceThreshold(double leaderBalanceLoadImbalanceThreshold) {
+    this.leaderBalanceLoadImbalanceThreshold = leaderBalanceLoadImbalanceThreshold;
+  }
+
+  public long getLeaderBalanceLoadIntervalInMs() {
+    return leaderBalanceLoadIntervalInMs;
+  }
+
+  public void setLeaderBalanceLoadIntervalInMs(long leaderBalanceLoadIntervalInMs) {
+    this.leaderBalanceLoadIntervalInMs = leaderBalanceLoadIntervalInMs;
+  }
+
   public boolean isEnableAutoLeaderBalanceForRatisConsensus() {
     return enableAutoLeaderBalanceForRatisConsensus;
   }
@@ -1223,6 +1323,38 @@ public class ConfigNodeConfig {
     this.dataRegionRatisPeriodicSnapshotInterval = dataRegionRatisPeriodicSnapshotInterval;
   }
 
+  public String getConfigNodeRatisReadConsistency() {
+    return configNodeRatisReadConsistency;
+  }
+
+  public void setConfigNodeRatisReadConsistency(String configNodeRatisReadConsistency) {
+    this.configNodeRatisReadConsistency = configNodeRatisReadConsistency;
+  }
+
+  public String getSchemaRegionRatisReadConsistency() {
+    return schemaRegionRatisReadConsistency;
+  }
+
+  public void setSchemaRegionRatisReadConsistency(String schemaRegionRatisReadConsistency) {
+    this.schemaRegionRatisReadConsistency = schemaRegionRatisReadConsistency;
+  }
+
+  public long getConfigNodeRatisReadMaxStalenessMs() {
+    return configNodeRatisReadMaxStalenessMs;
+  }
+
+  public void setConfigNodeRatisReadMaxStalenessMs(long configNodeRatisReadMaxStalenessMs) {
+    this.configNodeRatisReadMaxStalenessMs = configNodeRatisReadMaxStalenessMs;
+  }
+
+  public long getSchemaRegionRatisReadMaxStalenessMs() {
+    return schemaRegionRatisReadMaxStalenessMs;
+  }
+
+  public void setSchemaRegionRatisReadMaxStalenessMs(long schemaRegionRatisReadMaxStalenessMs) {
+    this.schemaRegionRatisReadMaxStalenessMs = schemaRegionRatisReadMaxStalenessMs;
+  }
+
   public TConfigNodeLocation generateLocalConfigNodeLocationWithSpecifiedNodeId(int configNodeId) {
     return new TConfigNodeLocation(
         configNodeId,
@@ -32,6 +32,7 @@ import org.apache.iotdb.confignode.manager.load.balancer.router.leader.AbstractL
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.IPriorityBalancer;
 import org.apache.iotdb.confignode.manager.load.cache.IFailureDetector;
 import org.apache.iotdb.confignode.manager.partition.RegionGroupExtensionPolicy;
+import org.apache.iotdb.consensus.config.RatisConfig;
 import org.apache.iotdb.metrics.config.MetricConfigDescriptor;
 import org.apache.iotdb.metrics.utils.NodeType;
 
@@ -46,6 +47,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -256,6 +258,45 @@ public class ConfigNodeDescriptor {
       throw new IOException(e);
     }
 
+    conf.setEnableDataPartitionLoadRebalance(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_data_partition_load_rebalance",
+                String.valueOf(conf.isEnableDataPartitionLoadRebalance()))));
+
+    long dataPartitionLoadRebalanceIntervalInMs =
+        Long.parseLong(
+            properties.getProperty(
+                "data_partition_load_rebalance_interval_in_ms",
+                String.valueOf(conf.getDataPartitionLoadRebalanceIntervalInMs())));
+    if (dataPartitionLoadRebalanceIntervalInMs > 0) {
+      conf.setDataPartitionLoadRebalanceIntervalInMs(dataPartitionLoadRebalanceIntervalInMs);
+    }
+
+    double dataPartitionLoadImbalanceThreshold =
+        Double.parseDouble(
+            properties.getProperty(
+                "data_partition_load_imbalance_threshold",
+                String.valueOf(conf.getDataPartitionLoadImbalanceThreshold())));
+    if (dataPartitionLoadImbalanceThreshold >= 0) {
+      conf.setDataPartitionLoadImbalanceThreshold(dataPartitionLoadImbalanceThreshold);
+    }
+
+    conf.setEnableDataPartitionPreCreate(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_data_partition_pre_create",
+                String.valueOf(conf.isEnableDataPartitionPreCreate()))));
+
+    long dataPartitionPreCreateAheadTimeInMs =
+        Long.parseLong(
+            properties.getProperty(
+                "data_partition_pre_create_ahead_time_in_ms",
+                String.valueOf(conf.getDataPartitionPreCreateAheadTimeInMs())));
+    if (dataPartitionPreCreateAheadTimeInMs > 0) {
+      conf.setDataPartitionPreCreateAheadTimeInMs(dataPartitionPreCreateAheadTimeInMs);
+    }
+
     conf.setCnRpcMaxConcurrentClientNum(
         Integer.parseInt(
             properties.getProperty(
@@ -323,16 +364,35 @@ public class ConfigNodeDescriptor {
         properties.getProperty("leader_distribution_policy", conf.getLeaderDistributionPolicy());
     if (AbstractLeaderBalancer.GREEDY_POLICY.equals(leaderDistributionPolicy)
         || AbstractLeaderBalancer.CFD_POLICY.equals(leaderDistributionPolicy)
-        || AbstractLeaderBalancer.HASH_POLICY.equals(leaderDistributionPolicy)) {
+        || AbstractLeaderBalancer.HASH_POLICY.equals(leaderDistributionPolicy)
+        || AbstractLeaderBalancer.LOAD_POLICY.equals(leaderDistributionPolicy)) {
       conf.setLeaderDistributionPolicy(leaderDistributionPolicy);
     } else {
       throw new IOException(
           String.format(
               "Unknown leader_distribution_policy: %s, "
-                  + "please set to \"GREEDY\" or \"CFD\" or \"HASH\"",
+                  + "please set to \"GREEDY\" or \"CFD\" or \"HASH\" or \"LOAD\"",
               leaderDistributionPolicy));
     }
 
+    double leaderBalanceLoadImbalanceThreshold =
+        Double.parseDouble(
+            properties.getProperty(
+                "leader_balance_load_imbalance_threshold",
+                String.valueOf(conf.getLeaderBalanceLoadImbalanceThreshold())));
+    if (leaderBalanceLoadImbalanceThreshold >= 0) {
+      conf.setLeaderBalanceLoadImbalanceThreshold(leaderBalanceLoadImbalanceThreshold);
+    }
+
+    long leaderBalanceLoadIntervalInMs =
+        Long.parseLong(
+            properties.getProperty(
+                "leader_balance_load_interval_in_ms",
+                String.valueOf(conf.getLeaderBalanceLoadIntervalInMs())));
+    if (leaderBalanceLoadIntervalInMs > 0) {
+      conf.setLeaderBalanceLoadIntervalInMs(leaderBalanceLoadIntervalInMs);
+    }
+
     conf.setEnableAutoLeaderBalanceForRatisConsensus(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -395,7 +455,7 @@ public class ConfigNodeDescriptor {
     loadCQConfig(properties);
   }
 
-  private void loadRatisConsensusConfig(TrimProperties properties) {
+  private void loadRatisConsensusConfig(TrimProperties properties) throws IOException {
     conf.setDataRegionRatisConsensusLogAppenderBufferSize(
         Long.parseLong(
             properties.getProperty(
@@ -700,6 +760,31 @@ public class ConfigNodeDescriptor {
                 "data_region_ratis_periodic_snapshot_interval",
                 String.valueOf(conf.getDataRegionRatisPeriodicSnapshotInterval()))));
 
+    conf.setConfigNodeRatisReadConsistency(
+        parseRatisReadConsistency(
+            "config_node_ratis_read_consistency",
+            properties.getProperty(
+                "config_node_ratis_read_consistency", conf.getConfigNodeRatisReadConsistency())));
+
+    conf.setSchemaRegionRatisReadConsistency(
+        parseRatisReadConsistency(
+            "schema_region_ratis_read_consistency",
+            properties.getProperty(
+                "schema_region_ratis_read_consistency",
+                conf.getSchemaRegionRatisReadConsistency())));
+
+    conf.setConfigNodeRatisReadMaxStalenessMs(
+        Long.parseLong(
+            properties.getProperty(
+                "config_node_ratis_read_max_staleness_ms",
+                String.valueOf(conf.getConfigNodeRatisReadMaxStalenessMs()))));
+
+    conf.setSchemaRegionRatisReadMaxStalenessMs(
+        Long.parseLong(
+            properties.getProperty(
+                "schema_region_ratis_read_max_staleness_ms",
+                String.valueOf(conf.getSchemaRegionRatisReadMaxStalenessMs()))));
+
     conf.setEnablePrintingNewlyCreatedPartition(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -713,6 +798,17 @@ public class ConfigNodeDescriptor {
                 String.valueOf(conf.getForceWalPeriodForConfigNodeSimpleInMs()))));
   }
 
+  private String parseRatisReadConsistency(String propertyName, String value) throws IOException {
+    try {
+      return RatisConfig.Read.Option.valueOf(value.toUpperCase()).name();
+    } catch (IllegalArgumentException e) {
+      throw new IOException(
+          String.format(
+              "Unknown %s: %s, please set to one of %s",
+              propertyName, value, Arrays.toString(RatisConfig.Read.Option.values())));
+    }
+  }
+
   private void loadCQConfig(TrimProperties properties) {
     int cqSubmitThread =
         Integer.parseInt(
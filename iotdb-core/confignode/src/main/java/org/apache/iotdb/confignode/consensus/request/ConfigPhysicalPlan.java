@@ -55,6 +55,7 @@ import org.apache.iotdb.confignode.consensus.request.write.partition.AutoCleanPa
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateDataPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateSchemaPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.RemoveRegionLocationPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateDataAllotTablePlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateRegionLocationPlan;
 import org.apache.iotdb.confignode.consensus.request.write.pipe.payload.PipeAlterEncodingCompressorPlan;
 import org.apache.iotdb.confignode.consensus.request.write.pipe.payload.PipeAlterTimeSeriesPlan;
@@ -261,6 +262,9 @@ public abstract class ConfigPhysicalPlan implements IConsensusRequest {
         case AutoCleanPartitionTable:
           plan = new AutoCleanPartitionTablePlan();
           break;
+        case UpdateDataAllotTable:
+          plan = new UpdateDataAllotTablePlan();
+          break;
         case DeleteProcedure:
           plan = new DeleteProcedurePlan();
           break;
@@ -81,6 +81,7 @@ public enum ConfigPhysicalPlanType {
   GetOrCreateDataPartition((short) 405),
   GetNodePathsPartition((short) 406),
   AutoCleanPartitionTable((short) 407),
+  UpdateDataAllotTable((short) 408),
 
   /** Procedure. */
   UpdateProcedure((short) 500),
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.consensus.request.write.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.commons.utils.BasicStructureSerDeUtil;
+import org.apache.iotdb.commons.utils.ThriftCommonsSerDeUtils;
+import org.apache.iotdb.confignode.consensus.request.ConfigPhysicalPlan;
+import org.apache.iotdb.confignode.consensus.request.ConfigPhysicalPlanType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Record the SeriesSlots of a Database which are moved to other DataRegionGroups by the load
+ * re-balancing, so that the moves survive the leader change until the next DataPartitions of the
+ * SeriesSlots are created in their target DataRegionGroups.
+ */
+public class UpdateDataAllotTablePlan extends ConfigPhysicalPlan {
+
+  private String database;
+
+  // Map<SeriesPartitionSlot, target DataRegionGroupId>
+  private Map<TSeriesPartitionSlot, TConsensusGroupId> movedSeriesSlotMap;
+
+  public UpdateDataAllotTablePlan() {
+    super(ConfigPhysicalPlanType.UpdateDataAllotTable);
+  }
+
+  public UpdateDataAllotTablePlan(
+      String database, Map<TSeriesPartitionSlot, TConsensusGroupId> movedSeriesSlotMap) {
+    this();
+    this.database = database;
+    this.movedSeriesSlotMap = movedSeriesSlotMap;
+  }
+
+  public String getDatabase() {
+    return database;
+  }
+
+  public Map<TSeriesPartitionSlot, TConsensusGroupId> getMovedSeriesSlotMap() {
+    return movedSeriesSlotMap;
+  }
+
+  @Override
+  protected void serializeImpl(DataOutputStream stream) throws IOException {
+    stream.writeShort(getType().getPlanType());
+    BasicStructureSerDeUtil.write(database, stream);
+    stream.writeInt(movedSeriesSlotMap.size());
+    for (Map.Entry<TSeriesPartitionSlot, TConsensusGroupId> entry :
+        movedSeriesSlotMap.entrySet()) {
+      ThriftCommonsSerDeUtils.serializeTSeriesPartitionSlot(entry.getKey(), stream);
+      ThriftCommonsSerDeUtils.serializeTConsensusGroupId(entry.getValue(), stream);
+    }
+  }
+
+  @Override
+  protected void deserializeImpl(ByteBuffer buffer) throws IOException {
+    database = BasicStructureSerDeUtil.readString(buffer);
+    int size = buffer.getInt();
+    movedSeriesSlotMap = new HashMap<>(size);
+    for (int i = 0; i < size; i++) {
+      TSeriesPartitionSlot seriesPartitionSlot =
+          ThriftCommonsSerDeUtils.deserializeTSeriesPartitionSlot(buffer);
+      movedSeriesSlotMap.put(
+          seriesPartitionSlot, ThriftCommonsSerDeUtils.deserializeTConsensusGroupId(buffer));
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    UpdateDataAllotTablePlan that = (UpdateDataAllotTablePlan) o;
+    return Objects.equals(database, that.database)
+        && Objects.equals(movedSeriesSlotMap, that.movedSeriesSlotMap);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), database, movedSeriesSlotMap);
+  }
+}
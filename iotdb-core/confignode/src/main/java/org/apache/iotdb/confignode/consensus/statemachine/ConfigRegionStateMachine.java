@@ -260,6 +260,7 @@ public class ConfigRegionStateMachine implements IStateMachine, IStateMachine.Ev
     configManager.getProcedureManager().stopExecutor();
     configManager.getRetryFailedTasksThread().stopRetryFailedTasksService();
     configManager.getPartitionManager().stopRegionCleaner();
+    configManager.getPartitionManager().stopDataPartitionPreCreator();
     configManager.getCQManager().stopCQScheduler();
     configManager.getClusterSchemaManager().clearSchemaQuotaCache();
     // Remove Metric after leader change
@@ -285,6 +286,8 @@ public class ConfigRegionStateMachine implements IStateMachine, IStateMachine.Ev
         ConfigNodeDescriptor.getInstance().getConf().getConfigNodeId(),
         currentNodeTEndPoint);
 
+    // The versions acknowledged by the DataNodes are reported again in the next heartbeats
+    configManager.getPartitionManager().getDataPartitionDeltaLog().clearAcknowledgedVersions();
     // Always start load services first
     configManager.getLoadManager().startLoadServices();
 
@@ -294,6 +297,7 @@ public class ConfigRegionStateMachine implements IStateMachine, IStateMachine.Ev
         () -> configManager.getProcedureManager().getStore().getProcedureInfo().upgrade());
     configManager.getRetryFailedTasksThread().startRetryFailedTasksService();
     configManager.getPartitionManager().startRegionCleaner();
+    configManager.getPartitionManager().startDataPartitionPreCreator();
     // Add Metric after leader ready
     configManager.addMetrics();
 
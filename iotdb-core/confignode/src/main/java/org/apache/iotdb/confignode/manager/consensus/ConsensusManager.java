@@ -232,6 +232,13 @@ public class ConsensusManager {
                                       .build())
                               .setRead(
                                   RatisConfig.Read.newBuilder()
+                                      .setReadOption(
+                                          RatisConfig.Read.Option.valueOf(
+                                              CONF.getConfigNodeRatisReadConsistency()))
+                                      .setMaxStaleness(
+                                          TimeDuration.valueOf(
+                                              CONF.getConfigNodeRatisReadMaxStalenessMs(),
+                                              TimeUnit.MILLISECONDS))
                                       // use thrift connection timeout to unify read timeout
                                       .setReadTimeout(
                                           TimeDuration.valueOf(
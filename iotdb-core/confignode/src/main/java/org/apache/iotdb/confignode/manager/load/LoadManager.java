@@ -43,6 +43,8 @@ import org.apache.iotdb.confignode.manager.load.cache.node.NodeHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.service.EventService;
 import org.apache.iotdb.confignode.manager.load.service.HeartbeatService;
+import org.apache.iotdb.confignode.manager.load.service.LeaderRebalanceService;
+import org.apache.iotdb.confignode.manager.load.service.PartitionRebalanceService;
 import org.apache.iotdb.confignode.manager.load.service.StatisticsService;
 import org.apache.iotdb.confignode.manager.load.service.TopologyService;
 import org.apache.iotdb.confignode.manager.partition.RegionGroupStatus;
@@ -74,6 +76,8 @@ public class LoadManager {
   private final StatisticsService statisticsService;
   private final EventService eventService;
   private final TopologyService topologyService;
+  private final PartitionRebalanceService partitionRebalanceService;
+  private final LeaderRebalanceService leaderRebalanceService;
 
   public LoadManager(IManager configManager) {
     this.configManager = configManager;
@@ -87,6 +91,8 @@ public class LoadManager {
     this.statisticsService = new StatisticsService(loadCache);
     this.topologyService = new TopologyService(configManager, loadCache::updateTopology);
     this.eventService = new EventService(loadCache);
+    this.partitionRebalanceService = new PartitionRebalanceService(partitionBalancer);
+    this.leaderRebalanceService = new LeaderRebalanceService(routeBalancer);
     this.eventService.register(configManager.getPipeManager().getPipeRuntimeCoordinator());
     this.eventService.register(routeBalancer);
     this.eventService.register(topologyService);
@@ -152,6 +158,8 @@ public class LoadManager {
     statisticsService.startLoadStatisticsService();
     eventService.startEventService();
     partitionBalancer.setupPartitionBalancer();
+    partitionRebalanceService.startPartitionRebalanceService();
+    leaderRebalanceService.startLeaderRebalanceService();
     topologyService.startTopologyService();
   }
 
@@ -159,6 +167,8 @@ public class LoadManager {
     heartbeatService.stopHeartbeatService();
     statisticsService.stopLoadStatisticsService();
     eventService.stopEventService();
+    partitionRebalanceService.stopPartitionRebalanceService();
+    leaderRebalanceService.stopLeaderRebalanceService();
     loadCache.clearHeartbeatCache();
     partitionBalancer.clearPartitionBalancer();
     routeBalancer.clearRegionPriority();
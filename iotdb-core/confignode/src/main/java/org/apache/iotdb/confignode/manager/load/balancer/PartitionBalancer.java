@@ -21,6 +21,7 @@ package org.apache.iotdb.confignode.manager.load.balancer;
 
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.partition.DataPartitionTable;
@@ -28,6 +29,7 @@ import org.apache.iotdb.commons.partition.SchemaPartitionTable;
 import org.apache.iotdb.commons.partition.SeriesPartitionTable;
 import org.apache.iotdb.commons.structure.BalanceTreeMap;
 import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
+import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateDataAllotTablePlan;
 import org.apache.iotdb.confignode.exception.DatabaseNotExistsException;
 import org.apache.iotdb.confignode.exception.NoAvailableRegionGroupException;
 import org.apache.iotdb.confignode.manager.IManager;
@@ -35,6 +37,7 @@ import org.apache.iotdb.confignode.manager.load.balancer.partition.DataPartition
 import org.apache.iotdb.confignode.manager.partition.PartitionManager;
 import org.apache.iotdb.confignode.manager.schema.ClusterSchemaManager;
 import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
+import org.apache.iotdb.rpc.TSStatusCode;
 
 import org.apache.tsfile.utils.Pair;
 import org.slf4j.Logger;
@@ -334,6 +337,56 @@ public class PartitionBalancer {
     }
   }
 
+  /**
+   * Re-balance the DataPartitionPolicyTables of all Databases according to the write throughput
+   * of the SeriesSlots, so that the hot SeriesSlots are moved to the cold RegionGroups in the
+   * following TimePartitions. The moves are persisted before they take effect, and a moved
+   * SeriesSlot is not moved again until its next DataPartition is created in the target.
+   *
+   * @param imbalanceThreshold A RegionGroup is regarded as hot when its load exceeds the average
+   *     load of the Database by this ratio
+   */
+  public void reBalanceDataPartitionPolicyByLoad(double imbalanceThreshold) {
+    if (dataPartitionAllocationStrategy != DataPartitionAllocationStrategy.INHERIT) {
+      // Only the INHERIT strategy follows the DataPartitionPolicyTable
+      return;
+    }
+
+    Map<TConsensusGroupId, Map<Integer, Double>> seriesSlotLoadMap =
+        configManager.getLoadManager().getLoadCache().getSeriesSlotLoadMap();
+    if (seriesSlotLoadMap.isEmpty()) {
+      return;
+    }
+
+    dataPartitionPolicyTableMap.forEach(
+        (database, dataPartitionPolicyTable) -> {
+          Map<TSeriesPartitionSlot, TConsensusGroupId> moves =
+              dataPartitionPolicyTable.reBalanceDataPartitionPolicyByLoad(
+                  seriesSlotLoadMap,
+                  getPartitionManager().getPendingDataAllotMoves(database).keySet(),
+                  imbalanceThreshold);
+          if (moves.isEmpty()) {
+            return;
+          }
+          TSStatus status =
+              getPartitionManager()
+                  .updateDataAllotTable(new UpdateDataAllotTablePlan(database, moves));
+          if (status.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+            LOGGER.warn(
+                "[ReBalanceDataAllotTable] Failed to persist the moves of Database {}: {}",
+                database,
+                status);
+            return;
+          }
+          dataPartitionPolicyTable.moveSeriesPartitionSlots(moves);
+          LOGGER.info(
+              "[ReBalanceDataAllotTable] Moved {} SeriesPartitionSlots of Database {} by load",
+              moves.size(),
+              database);
+          dataPartitionPolicyTable.logDataAllotTable(database);
+        });
+  }
+
   /** Set up the PartitionBalancer when the current ConfigNode becomes leader. */
   public void setupPartitionBalancer() {
     dataPartitionPolicyTableMap.clear();
@@ -353,6 +406,9 @@ public class PartitionBalancer {
                 // Load the last DataAllotTable
                 dataPartitionPolicyTable.setDataAllotMap(
                     getPartitionManager().getLastDataAllotTable(database));
+                // Continue the moves by load that are not completed yet
+                dataPartitionPolicyTable.moveSeriesPartitionSlots(
+                    getPartitionManager().getPendingDataAllotMoves(database));
               } catch (DatabaseNotExistsException e) {
                 LOGGER.error("Database {} not exists when setupPartitionBalancer", database);
               } finally {
@@ -33,6 +33,7 @@ import org.apache.iotdb.confignode.manager.load.LoadManager;
 import org.apache.iotdb.confignode.manager.load.balancer.region.GreedyCopySetRegionGroupAllocator;
 import org.apache.iotdb.confignode.manager.load.balancer.region.GreedyRegionGroupAllocator;
 import org.apache.iotdb.confignode.manager.load.balancer.region.IRegionGroupAllocator;
+import org.apache.iotdb.confignode.manager.load.balancer.region.LoadAwareRegionGroupAllocator;
 import org.apache.iotdb.confignode.manager.load.balancer.region.PartiteGraphPlacementRegionGroupAllocator;
 import org.apache.iotdb.confignode.manager.node.NodeManager;
 import org.apache.iotdb.confignode.manager.partition.PartitionManager;
@@ -61,6 +62,11 @@ public class RegionBalancer {
       case PGR:
         this.regionGroupAllocator = new PartiteGraphPlacementRegionGroupAllocator();
         break;
+      case LOAD:
+        this.regionGroupAllocator =
+            new LoadAwareRegionGroupAllocator(
+                () -> getLoadManager().getLoadCache().getRegionLoadScoreMap());
+        break;
       case GCR:
       default:
         this.regionGroupAllocator = new GreedyCopySetRegionGroupAllocator();
@@ -160,6 +166,7 @@ public class RegionBalancer {
   public enum RegionGroupAllocatePolicy {
     GREEDY,
     GCR,
-    PGR
+    PGR,
+    LOAD
   }
 }
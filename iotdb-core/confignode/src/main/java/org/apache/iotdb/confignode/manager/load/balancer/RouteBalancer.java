@@ -38,6 +38,7 @@ import org.apache.iotdb.confignode.manager.load.balancer.router.leader.AbstractL
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.CostFlowSelectionLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.GreedyLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.HashLeaderBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.router.leader.LoadAwareLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.GreedyPriorityBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.IPriorityBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.LeaderPriorityBalancer;
@@ -138,6 +139,10 @@ public class RouteBalancer implements IClusterStatusSubscriber {
       case AbstractLeaderBalancer.HASH_POLICY:
         this.leaderBalancer = new HashLeaderBalancer();
         break;
+      case AbstractLeaderBalancer.LOAD_POLICY:
+        this.leaderBalancer =
+            new LoadAwareLeaderBalancer(CONF.getLeaderBalanceLoadImbalanceThreshold());
+        break;
       case AbstractLeaderBalancer.CFD_POLICY:
       default:
         this.leaderBalancer = new CostFlowSelectionLeaderBalancer();
@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class DataPartitionPolicyTable {
@@ -132,6 +133,142 @@ public class DataPartitionPolicyTable {
     }
   }
 
+  /**
+   * Re-balance the allocation of SeriesSlots to RegionGroups according to the write throughput of
+   * the SeriesSlots. The load of a RegionGroup is the sum of the SeriesSlots allotted to it, and
+   * the hottest SeriesSlot that narrows the gap is moved from the hottest RegionGroup to the
+   * coldest one until every RegionGroup stays within the threshold or no move makes them more
+   * balanced. Only the future TimePartitions are affected, and this table is unchanged until the
+   * moves are applied by {@link #moveSeriesPartitionSlots}.
+   *
+   * @param seriesSlotLoadMap Map<RegionGroupId, Map<SeriesPartitionSlot, write points per second>>
+   * @param coolingSlots The SeriesSlots moved recently, which are not moved again until their next
+   *     DataPartitions are created in the targets and their load is measured there
+   * @param imbalanceThreshold A RegionGroup is regarded as hot when its load exceeds the average
+   *     load by this ratio
+   * @return Map<SeriesPartitionSlot, target RegionGroupId>, the moves
+   */
+  public Map<TSeriesPartitionSlot, TConsensusGroupId> reBalanceDataPartitionPolicyByLoad(
+      Map<TConsensusGroupId, Map<Integer, Double>> seriesSlotLoadMap,
+      Set<TSeriesPartitionSlot> coolingSlots,
+      double imbalanceThreshold) {
+    dataAllotTableLock.lock();
+    try {
+      Map<TSeriesPartitionSlot, TConsensusGroupId> moves = new HashMap<>();
+      if (seriesPartitionSlotCounter.size() < 2) {
+        return moves;
+      }
+
+      // The delayed data of a SeriesSlot is still written into its former RegionGroups,
+      // so the load of a SeriesSlot is summed up over all the RegionGroups of the Database
+      Map<Integer, Double> slotLoadMap = new HashMap<>();
+      for (TConsensusGroupId regionGroupId : seriesPartitionSlotCounter.keySet()) {
+        seriesSlotLoadMap
+            .getOrDefault(regionGroupId, Collections.emptyMap())
+            .forEach((slotId, load) -> slotLoadMap.merge(slotId, load, Double::sum));
+      }
+
+      // Map<RegionGroupId, SeriesSlots allotted to it>
+      Map<TConsensusGroupId, List<TSeriesPartitionSlot>> allottedSlotsMap = new HashMap<>();
+      Map<TConsensusGroupId, Double> currentLoadMap = new HashMap<>();
+      for (TConsensusGroupId regionGroupId : seriesPartitionSlotCounter.keySet()) {
+        allottedSlotsMap.put(regionGroupId, new ArrayList<>());
+        currentLoadMap.put(regionGroupId, 0d);
+      }
+      double totalLoad = 0;
+      for (Map.Entry<TSeriesPartitionSlot, TConsensusGroupId> entry : dataAllotMap.entrySet()) {
+        List<TSeriesPartitionSlot> allottedSlots = allottedSlotsMap.get(entry.getValue());
+        if (allottedSlots == null) {
+          continue;
+        }
+        double slotLoad = slotLoadMap.getOrDefault(entry.getKey().getSlotId(), 0d);
+        allottedSlots.add(entry.getKey());
+        currentLoadMap.merge(entry.getValue(), slotLoad, Double::sum);
+        totalLoad += slotLoad;
+      }
+      if (totalLoad <= 0) {
+        return moves;
+      }
+      double hotLine = totalLoad / currentLoadMap.size() * (1 + imbalanceThreshold);
+
+      while (true) {
+        TConsensusGroupId hottest = null;
+        TConsensusGroupId coldest = null;
+        for (Map.Entry<TConsensusGroupId, Double> entry : currentLoadMap.entrySet()) {
+          if (hottest == null || entry.getValue() > currentLoadMap.get(hottest)) {
+            hottest = entry.getKey();
+          }
+          if (coldest == null || entry.getValue() < currentLoadMap.get(coldest)) {
+            coldest = entry.getKey();
+          }
+        }
+        double hottestLoad = currentLoadMap.get(hottest);
+        double coldestLoad = currentLoadMap.get(coldest);
+        if (hottestLoad <= hotLine) {
+          break;
+        }
+
+        // Moving a SeriesSlot whose load exceeds the gap would only shift the hot spot
+        TSeriesPartitionSlot candidate = null;
+        double candidateLoad = 0;
+        for (TSeriesPartitionSlot seriesPartitionSlot : allottedSlotsMap.get(hottest)) {
+          double slotLoad = slotLoadMap.getOrDefault(seriesPartitionSlot.getSlotId(), 0d);
+          if (slotLoad > candidateLoad
+              && coldestLoad + slotLoad < hottestLoad
+              && !coolingSlots.contains(seriesPartitionSlot)
+              && !moves.containsKey(seriesPartitionSlot)) {
+            candidate = seriesPartitionSlot;
+            candidateLoad = slotLoad;
+          }
+        }
+        if (candidate == null) {
+          break;
+        }
+
+        allottedSlotsMap.get(hottest).remove(candidate);
+        allottedSlotsMap.get(coldest).add(candidate);
+        currentLoadMap.put(hottest, hottestLoad - candidateLoad);
+        currentLoadMap.put(coldest, coldestLoad + candidateLoad);
+        moves.put(candidate, coldest);
+        LOGGER.debug(
+            "[ReBalanceDataAllotTable] Move SeriesPartitionSlot {} from RegionGroup {} to {}",
+            candidate,
+            hottest,
+            coldest);
+      }
+      return moves;
+    } finally {
+      dataAllotTableLock.unlock();
+    }
+  }
+
+  /**
+   * Move the SeriesSlots to the specified RegionGroups, the moves to the RegionGroups that are not
+   * in this table are ignored.
+   *
+   * @param moves Map<SeriesPartitionSlot, target RegionGroupId>
+   */
+  public void moveSeriesPartitionSlots(Map<TSeriesPartitionSlot, TConsensusGroupId> moves) {
+    dataAllotTableLock.lock();
+    try {
+      moves.forEach(
+          (seriesPartitionSlot, regionGroupId) -> {
+            if (!seriesPartitionSlotCounter.containsKey(regionGroupId)) {
+              return;
+            }
+            TConsensusGroupId previous = dataAllotMap.put(seriesPartitionSlot, regionGroupId);
+            if (previous != null && seriesPartitionSlotCounter.containsKey(previous)) {
+              seriesPartitionSlotCounter.put(
+                  previous, seriesPartitionSlotCounter.get(previous) - 1);
+            }
+            seriesPartitionSlotCounter.put(
+                regionGroupId, seriesPartitionSlotCounter.get(regionGroupId) + 1);
+          });
+    } finally {
+      dataAllotTableLock.unlock();
+    }
+  }
+
   /** Only use this interface when init PartitionBalancer. */
   public void setDataAllotMap(Map<TSeriesPartitionSlot, TConsensusGroupId> dataAllotMap) {
     if (seriesPartitionSlotCounter.size() == 0) {
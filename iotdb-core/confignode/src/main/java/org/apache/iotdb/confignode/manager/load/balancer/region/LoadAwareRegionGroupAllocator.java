@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.region;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeConfiguration;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Allocate Regions to the DataNodes with the lowest load, where the load of a DataNode is the sum
+ * of the load scores of the Regions it holds. Regions whose load is not reported yet, e.g., the
+ * ones just allocated, are counted as an average Region, so that the allocation degrades to
+ * balancing the number of Regions when no load is known.
+ */
+public class LoadAwareRegionGroupAllocator implements IRegionGroupAllocator {
+
+  // Map<RegionGroupId, Map<DataNodeId, load score>>
+  private final Supplier<Map<TConsensusGroupId, Map<Integer, Double>>> regionLoadScoreSupplier;
+
+  public LoadAwareRegionGroupAllocator(
+      Supplier<Map<TConsensusGroupId, Map<Integer, Double>>> regionLoadScoreSupplier) {
+    this.regionLoadScoreSupplier = regionLoadScoreSupplier;
+  }
+
+  private static class DataNodeLoad {
+
+    private final int dataNodeId;
+    private final double freeDiskSpace;
+    private double loadScore = 0;
+    private int regionCount = 0;
+
+    private DataNodeLoad(int dataNodeId, double freeDiskSpace) {
+      this.dataNodeId = dataNodeId;
+      this.freeDiskSpace = freeDiskSpace;
+    }
+
+    private void addRegion(double regionLoadScore) {
+      loadScore += regionLoadScore;
+      regionCount++;
+    }
+  }
+
+  private static final Comparator<DataNodeLoad> LOAD_COMPARATOR =
+      Comparator.<DataNodeLoad>comparingDouble(load -> load.loadScore)
+          .thenComparingInt(load -> load.regionCount)
+          .thenComparing(load -> -load.freeDiskSpace)
+          .thenComparingInt(load -> load.dataNodeId);
+
+  @Override
+  public TRegionReplicaSet generateOptimalRegionReplicasDistribution(
+      Map<Integer, TDataNodeConfiguration> availableDataNodeMap,
+      Map<Integer, Double> freeDiskSpaceMap,
+      List<TRegionReplicaSet> allocatedRegionGroups,
+      List<TRegionReplicaSet> databaseAllocatedRegionGroups,
+      int replicationFactor,
+      TConsensusGroupId consensusGroupId) {
+    Map<TConsensusGroupId, Map<Integer, Double>> regionLoadScoreMap = regionLoadScoreSupplier.get();
+    Map<Integer, DataNodeLoad> dataNodeLoadMap =
+        buildDataNodeLoadMap(
+            availableDataNodeMap.keySet(),
+            freeDiskSpaceMap,
+            allocatedRegionGroups,
+            regionLoadScoreMap,
+            averageLoadScore(regionLoadScoreMap));
+
+    List<TDataNodeLocation> dataNodeLocations =
+        dataNodeLoadMap.values().stream()
+            .sorted(LOAD_COMPARATOR)
+            .limit(replicationFactor)
+            .map(load -> availableDataNodeMap.get(load.dataNodeId).getLocation())
+            .collect(Collectors.toList());
+    return new TRegionReplicaSet(consensusGroupId, dataNodeLocations);
+  }
+
+  @Override
+  public Map<TConsensusGroupId, TDataNodeConfiguration> removeNodeReplicaSelect(
+      Map<Integer, TDataNodeConfiguration> availableDataNodeMap,
+      Map<Integer, Double> freeDiskSpaceMap,
+      List<TRegionReplicaSet> allocatedRegionGroups,
+      Map<TConsensusGroupId, String> regionDatabaseMap,
+      Map<String, List<TRegionReplicaSet>> databaseAllocatedRegionGroupMap,
+      Map<TConsensusGroupId, TRegionReplicaSet> remainReplicasMap) {
+    Map<TConsensusGroupId, Map<Integer, Double>> regionLoadScoreMap = regionLoadScoreSupplier.get();
+    double averageLoadScore = averageLoadScore(regionLoadScoreMap);
+    Map<Integer, DataNodeLoad> dataNodeLoadMap =
+        buildDataNodeLoadMap(
+            availableDataNodeMap.keySet(),
+            freeDiskSpaceMap,
+            allocatedRegionGroups,
+            regionLoadScoreMap,
+            averageLoadScore);
+
+    // Place the heaviest Regions first, so that the lighter ones could fill the gaps
+    List<TConsensusGroupId> regionIds = new ArrayList<>(remainReplicasMap.keySet());
+    Map<TConsensusGroupId, Double> replicaLoadScores = new HashMap<>();
+    regionIds.forEach(
+        regionId ->
+            replicaLoadScores.put(
+                regionId, replicaLoadScore(regionLoadScoreMap, regionId, averageLoadScore)));
+    regionIds.sort(
+        Comparator.<TConsensusGroupId>comparingDouble(replicaLoadScores::get)
+            .reversed()
+            .thenComparing(TConsensusGroupId::getId));
+
+    Map<TConsensusGroupId, TDataNodeConfiguration> result = new TreeMap<>();
+    for (TConsensusGroupId regionId : regionIds) {
+      Set<Integer> remainDataNodes =
+          remainReplicasMap.get(regionId).getDataNodeLocations().stream()
+              .map(TDataNodeLocation::getDataNodeId)
+              .collect(Collectors.toSet());
+      dataNodeLoadMap.values().stream()
+          .filter(load -> !remainDataNodes.contains(load.dataNodeId))
+          .min(LOAD_COMPARATOR)
+          .ifPresent(
+              load -> {
+                result.put(regionId, availableDataNodeMap.get(load.dataNodeId));
+                load.addRegion(replicaLoadScores.get(regionId));
+              });
+    }
+    return result;
+  }
+
+  private static Map<Integer, DataNodeLoad> buildDataNodeLoadMap(
+      Set<Integer> availableDataNodes,
+      Map<Integer, Double> freeDiskSpaceMap,
+      List<TRegionReplicaSet> allocatedRegionGroups,
+      Map<TConsensusGroupId, Map<Integer, Double>> regionLoadScoreMap,
+      double averageLoadScore) {
+    Map<Integer, DataNodeLoad> dataNodeLoadMap = new TreeMap<>();
+    availableDataNodes.forEach(
+        dataNodeId ->
+            dataNodeLoadMap.put(
+                dataNodeId,
+                new DataNodeLoad(dataNodeId, freeDiskSpaceMap.getOrDefault(dataNodeId, 0d))));
+    for (TRegionReplicaSet regionGroup : allocatedRegionGroups) {
+      Map<Integer, Double> replicaScores = regionLoadScoreMap.get(regionGroup.getRegionId());
+      for (TDataNodeLocation location : regionGroup.getDataNodeLocations()) {
+        DataNodeLoad load = dataNodeLoadMap.get(location.getDataNodeId());
+        if (load == null) {
+          continue;
+        }
+        Double score = replicaScores == null ? null : replicaScores.get(location.getDataNodeId());
+        load.addRegion(score == null ? averageLoadScore : score);
+      }
+    }
+    return dataNodeLoadMap;
+  }
+
+  /** The load score a new replica of the specified Region is expected to bring. */
+  private static double replicaLoadScore(
+      Map<TConsensusGroupId, Map<Integer, Double>> regionLoadScoreMap,
+      TConsensusGroupId regionId,
+      double averageLoadScore) {
+    Map<Integer, Double> replicaScores = regionLoadScoreMap.get(regionId);
+    if (replicaScores == null || replicaScores.isEmpty()) {
+      return averageLoadScore;
+    }
+    return replicaScores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+  }
+
+  private static double averageLoadScore(
+      Map<TConsensusGroupId, Map<Integer, Double>> regionLoadScoreMap) {
+    return regionLoadScoreMap.values().stream()
+        .flatMap(replicaScores -> replicaScores.values().stream())
+        .mapToDouble(Double::doubleValue)
+        .average()
+        // All Regions are counted equally when there is no load at all
+        .orElse(1);
+  }
+}
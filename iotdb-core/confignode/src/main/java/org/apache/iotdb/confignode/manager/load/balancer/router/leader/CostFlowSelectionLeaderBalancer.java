@@ -26,6 +26,7 @@ import org.apache.iotdb.confignode.manager.load.cache.region.RegionStatistics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,8 @@ public class CostFlowSelectionLeaderBalancer extends AbstractLeaderBalancer {
   private final Map<String, Map<Integer, Integer>> sDVertexReflect;
   // Map<DataNodeId, tDVertex>
   private final Map<Integer, Integer> tDVertexMap;
+  // Map<DataNodeId, the number of leaders regarded as already placed before the selection>
+  private final Map<Integer, Integer> existingLeaderCountMap;
 
   /** Graph edges */
   // Maximum index of graph edges
@@ -77,6 +80,7 @@ public class CostFlowSelectionLeaderBalancer extends AbstractLeaderBalancer {
     this.sDVertexMap = new TreeMap<>();
     this.sDVertexReflect = new TreeMap<>();
     this.tDVertexMap = new TreeMap<>();
+    this.existingLeaderCountMap = new TreeMap<>();
     this.costFlowEdges = new ArrayList<>();
   }
 
@@ -87,12 +91,35 @@ public class CostFlowSelectionLeaderBalancer extends AbstractLeaderBalancer {
       Map<TConsensusGroupId, Integer> regionLeaderMap,
       Map<Integer, NodeStatistics> dataNodeStatisticsMap,
       Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap) {
+    return generateOptimalLeaderDistribution(
+        databaseRegionGroupMap,
+        regionLocationMap,
+        regionLeaderMap,
+        dataNodeStatisticsMap,
+        regionStatisticsMap,
+        Collections.emptyMap());
+  }
+
+  /**
+   * Generate an optimal leader distribution with some leaders regarded as already placed.
+   *
+   * @param existingLeaderCountMap The number of leaders regarded as already placed on each DataNode
+   *     before the selection, which shifts the cluster-level costs of the DataNode
+   */
+  protected Map<TConsensusGroupId, Integer> generateOptimalLeaderDistribution(
+      Map<String, List<TConsensusGroupId>> databaseRegionGroupMap,
+      Map<TConsensusGroupId, Set<Integer>> regionLocationMap,
+      Map<TConsensusGroupId, Integer> regionLeaderMap,
+      Map<Integer, NodeStatistics> dataNodeStatisticsMap,
+      Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap,
+      Map<Integer, Integer> existingLeaderCountMap) {
     initialize(
         databaseRegionGroupMap,
         regionLocationMap,
         regionLeaderMap,
         dataNodeStatisticsMap,
         regionStatisticsMap);
+    this.existingLeaderCountMap.putAll(existingLeaderCountMap);
     Map<TConsensusGroupId, Integer> result;
     constructFlowNetwork();
     dinicAlgorithm();
@@ -108,6 +135,7 @@ public class CostFlowSelectionLeaderBalancer extends AbstractLeaderBalancer {
     this.sDVertexMap.clear();
     this.sDVertexReflect.clear();
     this.tDVertexMap.clear();
+    this.existingLeaderCountMap.clear();
     this.costFlowEdges.clear();
     this.vertexHeadEdge = null;
     this.vertexCurrentEdge = null;
@@ -179,16 +207,8 @@ public class CostFlowSelectionLeaderBalancer extends AbstractLeaderBalancer {
                     if (isDataNodeAvailable(dataNodeId)
                         && isRegionAvailable(regionGroupId, dataNodeId)) {
                       int sDVertex = sDVertexMap.get(database).get(dataNodeId);
-                      // Capacity: 1, Cost: 1 if the DataNode is the current leader of the
-                      // RegionGroup;
-                      // 0 otherwise. Thus, the RegionGroup will keep the leader as constant as
-                      // possible.
-                      int cost =
-                          Objects.equals(
-                                  regionLeaderMap.getOrDefault(regionGroupId, -1), dataNodeId)
-                              ? 0
-                              : 1;
-                      addAdjacentEdges(rVertex, sDVertex, 1, cost);
+                      addAdjacentEdges(
+                          rVertex, sDVertex, 1, getLeaderSelectionCost(regionGroupId, dataNodeId));
                     }
                   });
         }
@@ -231,7 +251,9 @@ public class CostFlowSelectionLeaderBalancer extends AbstractLeaderBalancer {
                 dataNodeId -> {
                   if (isDataNodeAvailable(dataNodeId) && tDVertexMap.containsKey(dataNodeId)) {
                     int tDVertex = tDVertexMap.get(dataNodeId);
-                    int leaderCount = maxLeaderCounter.merge(dataNodeId, 1, Integer::sum);
+                    int leaderCount =
+                        maxLeaderCounter.merge(dataNodeId, 1, Integer::sum)
+                            + existingLeaderCountMap.getOrDefault(dataNodeId, 0);
                     // Capacity: 1, Cost: 2*x-1 for the x-th edge at the current tDVertex.
                     // Thus, the leader distribution will be as balance as possible within the
                     // cluster according to the Jensen's-Inequality.
@@ -240,6 +262,15 @@ public class CostFlowSelectionLeaderBalancer extends AbstractLeaderBalancer {
                 }));
   }
 
+  /**
+   * The cost of selecting the DataNode as the leader of the RegionGroup: 0 if the DataNode is the
+   * current leader, 1 otherwise. Thus, the RegionGroup will keep the leader as constant as
+   * possible.
+   */
+  protected int getLeaderSelectionCost(TConsensusGroupId regionGroupId, int dataNodeId) {
+    return Objects.equals(regionLeaderMap.getOrDefault(regionGroupId, -1), dataNodeId) ? 0 : 1;
+  }
+
   private void addAdjacentEdges(int fromVertex, int destVertex, int capacity, int cost) {
     addEdge(fromVertex, destVertex, capacity, cost);
     addEdge(destVertex, fromVertex, 0, -cost);
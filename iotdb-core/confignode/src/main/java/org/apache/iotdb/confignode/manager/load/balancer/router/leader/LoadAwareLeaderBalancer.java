@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.router.leader;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.commons.cluster.NodeStatus;
+import org.apache.iotdb.commons.cluster.RegionStatus;
+import org.apache.iotdb.confignode.manager.load.cache.node.NodeStatistics;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionStatistics;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leader distribution balancer that balances the write load of leaders rather than their number.
+ *
+ * <p>The load of a RegionGroup is the write throughput reported by its Regions. RegionGroups are
+ * divided into layers whose loads differ at most twice, from the heaviest layer to the lightest,
+ * and the leaders of each layer are selected by the minimum cost flow algorithm. The load already
+ * placed by the heavier layers is converted into the leader count of the current layer, so that
+ * the cluster-level costs of each DataNode grow with its accumulated load.
+ *
+ * <p>To avoid flapping, the current distribution is kept when the leader load of every DataNode
+ * stays within the imbalance threshold, and changing a leader costs more than keeping it.
+ */
+public class LoadAwareLeaderBalancer extends CostFlowSelectionLeaderBalancer {
+
+  private static final int MAX_LAYER_NUM = 8;
+  private static final double LN2 = Math.log(2);
+
+  // A leader is changed only if this reduces the cluster-level cost by more than this value
+  private static final int LEADER_CHANGE_COST = 3;
+
+  private final double imbalanceThreshold;
+
+  public LoadAwareLeaderBalancer(double imbalanceThreshold) {
+    super();
+    this.imbalanceThreshold = imbalanceThreshold;
+  }
+
+  @Override
+  public Map<TConsensusGroupId, Integer> generateOptimalLeaderDistribution(
+      Map<String, List<TConsensusGroupId>> databaseRegionGroupMap,
+      Map<TConsensusGroupId, Set<Integer>> regionLocationMap,
+      Map<TConsensusGroupId, Integer> regionLeaderMap,
+      Map<Integer, NodeStatistics> dataNodeStatisticsMap,
+      Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap) {
+    Map<TConsensusGroupId, Double> regionLoadMap = new TreeMap<>();
+    databaseRegionGroupMap.values().stream()
+        .flatMap(List::stream)
+        .forEach(
+            regionGroupId ->
+                regionLoadMap.put(
+                    regionGroupId, getRegionGroupLoad(regionStatisticsMap.get(regionGroupId))));
+    double maxLoad =
+        regionLoadMap.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+    if (maxLoad <= 0) {
+      // Balance the number of leaders when there is no load at all
+      return super.generateOptimalLeaderDistribution(
+          databaseRegionGroupMap,
+          regionLocationMap,
+          regionLeaderMap,
+          dataNodeStatisticsMap,
+          regionStatisticsMap);
+    }
+
+    if (isBalanced(
+        regionLoadMap,
+        regionLocationMap,
+        regionLeaderMap,
+        dataNodeStatisticsMap,
+        regionStatisticsMap)) {
+      Map<TConsensusGroupId, Integer> result = new ConcurrentHashMap<>();
+      regionLoadMap
+          .keySet()
+          .forEach(
+              regionGroupId ->
+                  result.put(regionGroupId, regionLeaderMap.getOrDefault(regionGroupId, -1)));
+      return result;
+    }
+
+    // Divide RegionGroups into layers, the loads inside each layer differ at most twice
+    List<Set<TConsensusGroupId>> layers = new ArrayList<>();
+    for (int i = 0; i < MAX_LAYER_NUM; i++) {
+      layers.add(new HashSet<>());
+    }
+    regionLoadMap.forEach(
+        (regionGroupId, load) -> {
+          int layer =
+              load > 0
+                  ? (int) Math.min(MAX_LAYER_NUM - 1, Math.floor(Math.log(maxLoad / load) / LN2))
+                  : MAX_LAYER_NUM - 1;
+          layers.get(layer).add(regionGroupId);
+        });
+
+    Map<TConsensusGroupId, Integer> result = new ConcurrentHashMap<>();
+    // Map<DataNodeId, the load of leaders selected so far>
+    Map<Integer, Double> dataNodeLoadMap = new TreeMap<>();
+    for (Set<TConsensusGroupId> layer : layers) {
+      if (layer.isEmpty()) {
+        continue;
+      }
+      double unitLoad =
+          layer.stream()
+              .mapToDouble(regionLoadMap::get)
+              .filter(load -> load > 0)
+              .average()
+              .orElse(0);
+      // Map<DataNodeId, leader count converted from the load of the heavier layers>
+      Map<Integer, Integer> existingLeaderCountMap = new TreeMap<>();
+      if (unitLoad > 0) {
+        dataNodeLoadMap.forEach(
+            (dataNodeId, load) ->
+                existingLeaderCountMap.put(dataNodeId, (int) Math.round(load / unitLoad)));
+      }
+
+      Map<String, List<TConsensusGroupId>> layerDatabaseRegionGroupMap = new TreeMap<>();
+      databaseRegionGroupMap.forEach(
+          (database, regionGroupIds) -> {
+            List<TConsensusGroupId> layerRegionGroupIds = new ArrayList<>();
+            regionGroupIds.stream().filter(layer::contains).forEach(layerRegionGroupIds::add);
+            if (!layerRegionGroupIds.isEmpty()) {
+              layerDatabaseRegionGroupMap.put(database, layerRegionGroupIds);
+            }
+          });
+      Map<TConsensusGroupId, Integer> layerResult =
+          super.generateOptimalLeaderDistribution(
+              layerDatabaseRegionGroupMap,
+              filterByRegionGroups(regionLocationMap, layer),
+              filterByRegionGroups(regionLeaderMap, layer),
+              dataNodeStatisticsMap,
+              filterByRegionGroups(regionStatisticsMap, layer),
+              existingLeaderCountMap);
+      layerResult.forEach(
+          (regionGroupId, leaderId) -> {
+            result.put(regionGroupId, leaderId);
+            if (leaderId != -1) {
+              dataNodeLoadMap.merge(leaderId, regionLoadMap.get(regionGroupId), Double::sum);
+            }
+          });
+    }
+    return result;
+  }
+
+  @Override
+  protected int getLeaderSelectionCost(TConsensusGroupId regionGroupId, int dataNodeId) {
+    return super.getLeaderSelectionCost(regionGroupId, dataNodeId) == 0 ? 0 : LEADER_CHANGE_COST;
+  }
+
+  /**
+   * Every Region of a RegionGroup applies the same writes, so the load of the RegionGroup is the
+   * maximum write throughput reported by its Regions.
+   */
+  private static double getRegionGroupLoad(Map<Integer, RegionStatistics> regionStatistics) {
+    if (regionStatistics == null) {
+      return 0;
+    }
+    return regionStatistics.values().stream()
+        .mapToDouble(RegionStatistics::getWritePointsPerSecond)
+        .max()
+        .orElse(0);
+  }
+
+  /**
+   * @return True if every RegionGroup has an available leader and the leader load of each
+   *     DataNode doesn't exceed the average by the imbalance threshold
+   */
+  private boolean isBalanced(
+      Map<TConsensusGroupId, Double> regionLoadMap,
+      Map<TConsensusGroupId, Set<Integer>> regionLocationMap,
+      Map<TConsensusGroupId, Integer> regionLeaderMap,
+      Map<Integer, NodeStatistics> dataNodeStatisticsMap,
+      Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap) {
+    Map<Integer, Double> dataNodeLoadMap = new TreeMap<>();
+    for (Map.Entry<TConsensusGroupId, Double> entry : regionLoadMap.entrySet()) {
+      TConsensusGroupId regionGroupId = entry.getKey();
+      int leaderId = regionLeaderMap.getOrDefault(regionGroupId, -1);
+      Map<Integer, RegionStatistics> regionStatistics = regionStatisticsMap.get(regionGroupId);
+      NodeStatistics nodeStatistics = dataNodeStatisticsMap.get(leaderId);
+      if (regionStatistics == null
+          || !regionStatistics.containsKey(leaderId)
+          || !RegionStatus.Running.equals(regionStatistics.get(leaderId).getRegionStatus())
+          || nodeStatistics == null
+          || !NodeStatus.Running.equals(nodeStatistics.getStatus())) {
+        return false;
+      }
+      dataNodeLoadMap.merge(leaderId, entry.getValue(), Double::sum);
+    }
+
+    // The candidates are the Running DataNodes that hold any Region
+    Set<Integer> candidates = new HashSet<>();
+    regionLoadMap
+        .keySet()
+        .forEach(
+            regionGroupId ->
+                regionLocationMap
+                    .getOrDefault(regionGroupId, new HashSet<>())
+                    .forEach(
+                        dataNodeId -> {
+                          NodeStatistics nodeStatistics = dataNodeStatisticsMap.get(dataNodeId);
+                          if (nodeStatistics != null
+                              && NodeStatus.Running.equals(nodeStatistics.getStatus())) {
+                            candidates.add(dataNodeId);
+                          }
+                        }));
+    double totalLoad = regionLoadMap.values().stream().mapToDouble(Double::doubleValue).sum();
+    double upperBound = totalLoad / candidates.size() * (1 + imbalanceThreshold);
+    return dataNodeLoadMap.values().stream().allMatch(load -> load <= upperBound);
+  }
+
+  private static <V> Map<TConsensusGroupId, V> filterByRegionGroups(
+      Map<TConsensusGroupId, V> map, Set<TConsensusGroupId> regionGroupIds) {
+    Map<TConsensusGroupId, V> result = new TreeMap<>();
+    map.forEach(
+        (regionGroupId, value) -> {
+          if (regionGroupIds.contains(regionGroupId)) {
+            result.put(regionGroupId, value);
+          }
+        });
+    return result;
+  }
+}
@@ -481,6 +481,76 @@ public class LoadCache {
     return regionStatisticsMap;
   }
 
+  /**
+   * Get the write throughput of each SeriesSlot in each DataRegionGroup. The replicas of a
+   * RegionGroup apply the same writes, so the most up-to-date replica is taken.
+   *
+   * @return Map<RegionGroupId, Map<SeriesPartitionSlot, write points per second>>, empty if the
+   *     SeriesSlots are not sampled yet
+   */
+  public Map<TConsensusGroupId, Map<Integer, Double>> getSeriesSlotLoadMap() {
+    Map<TConsensusGroupId, Map<Integer, Double>> seriesSlotLoadMap = new TreeMap<>();
+    for (Map.Entry<TConsensusGroupId, Map<Integer, RegionStatistics>> entry :
+        getCurrentRegionStatisticsMap(TConsensusGroupType.DataRegion).entrySet()) {
+      Map<Integer, Double> slotLoadMap = new HashMap<>();
+      for (RegionStatistics statistics : entry.getValue().values()) {
+        statistics
+            .getSeriesSlotWritePointsPerSecond()
+            .forEach((slotId, load) -> slotLoadMap.merge(slotId, load, Math::max));
+      }
+      if (!slotLoadMap.isEmpty()) {
+        seriesSlotLoadMap.put(entry.getKey(), slotLoadMap);
+      }
+    }
+    return seriesSlotLoadMap;
+  }
+
+  /**
+   * Get the load score of each DataRegion, which is the sum of its shares of the write throughput,
+   * the query cpu and the disk usage of the whole cluster.
+   *
+   * @return Map<RegionGroupId, Map<DataNodeId, load score>>, empty if no load is reported yet
+   */
+  public Map<TConsensusGroupId, Map<Integer, Double>> getRegionLoadScoreMap() {
+    Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap =
+        getCurrentRegionStatisticsMap(TConsensusGroupType.DataRegion);
+    double totalWritePoints = 0;
+    double totalQueryCpu = 0;
+    double totalDiskBytes = 0;
+    for (Map<Integer, RegionStatistics> replicas : regionStatisticsMap.values()) {
+      for (RegionStatistics statistics : replicas.values()) {
+        totalWritePoints += statistics.getWritePointsPerSecond();
+        totalQueryCpu += statistics.getQueryCpuUsage();
+        totalDiskBytes += statistics.getDiskBytes();
+      }
+    }
+
+    Map<TConsensusGroupId, Map<Integer, Double>> regionLoadScoreMap = new TreeMap<>();
+    if (totalWritePoints == 0 && totalQueryCpu == 0 && totalDiskBytes == 0) {
+      return regionLoadScoreMap;
+    }
+    for (Map.Entry<TConsensusGroupId, Map<Integer, RegionStatistics>> entry :
+        regionStatisticsMap.entrySet()) {
+      Map<Integer, Double> replicaScores = new TreeMap<>();
+      for (Map.Entry<Integer, RegionStatistics> replica : entry.getValue().entrySet()) {
+        RegionStatistics statistics = replica.getValue();
+        double score = 0;
+        if (totalWritePoints > 0) {
+          score += statistics.getWritePointsPerSecond() / totalWritePoints;
+        }
+        if (totalQueryCpu > 0) {
+          score += statistics.getQueryCpuUsage() / totalQueryCpu;
+        }
+        if (totalDiskBytes > 0) {
+          score += statistics.getDiskBytes() / totalDiskBytes;
+        }
+        replicaScores.put(replica.getKey(), score);
+      }
+      regionLoadScoreMap.put(entry.getKey(), replicaScores);
+    }
+    return regionLoadScoreMap;
+  }
+
   /**
    * Get the ConsensusGroupStatistics of all RegionGroups.
    *
@@ -27,7 +27,9 @@ import org.apache.iotdb.confignode.manager.load.cache.AbstractLoadCache;
 import org.apache.tsfile.utils.Pair;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * RegionCache caches the RegionHeartbeatSamples of a Region. Update and cache the current
@@ -61,10 +63,75 @@ public class RegionCache extends AbstractLoadCache {
       } else {
         status = lastSample.getStatus();
       }
-      this.currentStatistics.set(new RegionStatistics(currentNanoTime, status));
+      this.currentStatistics.set(computeStatistics(currentNanoTime, status, history));
     }
   }
 
+  /** Derive the load of the Region from the latest two samples that carry load. */
+  private static RegionStatistics computeStatistics(
+      long currentNanoTime, RegionStatus status, List<AbstractHeartbeatSample> history) {
+    RegionHeartbeatSample latest = null;
+    RegionHeartbeatSample previous = null;
+    for (int i = history.size() - 1; i >= 0 && previous == null; i--) {
+      RegionHeartbeatSample sample = (RegionHeartbeatSample) history.get(i);
+      if (!sample.hasLoad()) {
+        continue;
+      }
+      if (latest == null) {
+        latest = sample;
+      } else {
+        previous = sample;
+      }
+    }
+    if (latest == null) {
+      return new RegionStatistics(currentNanoTime, status);
+    }
+    double writePointsPerSecond = 0;
+    double queryCpuUsage = 0;
+    Map<Integer, Double> seriesSlotWritePointsPerSecond = Collections.emptyMap();
+    long elapsedNanos =
+        previous == null
+            ? 0
+            : latest.getSampleLogicalTimestamp() - previous.getSampleLogicalTimestamp();
+    if (elapsedNanos > 0) {
+      // the counters are reset when the DataNode restarts
+      writePointsPerSecond =
+          Math.max(0, latest.getWrittenPoints() - previous.getWrittenPoints()) * 1e9 / elapsedNanos;
+      queryCpuUsage =
+          (double) Math.max(0, latest.getQueryCpuTimeInNanos() - previous.getQueryCpuTimeInNanos())
+              / elapsedNanos;
+      if (latest.getSeriesSlotWrittenPoints() != null
+          && previous.getSeriesSlotWrittenPoints() != null) {
+        seriesSlotWritePointsPerSecond =
+            computeSeriesSlotWritePointsPerSecond(
+                latest.getSeriesSlotWrittenPoints(),
+                previous.getSeriesSlotWrittenPoints(),
+                elapsedNanos);
+      }
+    }
+    return new RegionStatistics(
+        currentNanoTime,
+        status,
+        writePointsPerSecond,
+        queryCpuUsage,
+        latest.getDiskBytes(),
+        seriesSlotWritePointsPerSecond);
+  }
+
+  private static Map<Integer, Double> computeSeriesSlotWritePointsPerSecond(
+      Map<Integer, Long> latest, Map<Integer, Long> previous, long elapsedNanos) {
+    Map<Integer, Double> seriesSlotWritePointsPerSecond = new HashMap<>();
+    latest.forEach(
+        (slotId, writtenPoints) -> {
+          // the counters are reset when the DataNode restarts
+          long writtenPointsDelta = Math.max(0, writtenPoints - previous.getOrDefault(slotId, 0L));
+          if (writtenPointsDelta > 0) {
+            seriesSlotWritePointsPerSecond.put(slotId, writtenPointsDelta * 1e9 / elapsedNanos);
+          }
+        });
+    return seriesSlotWritePointsPerSecond;
+  }
+
   public RegionStatistics getCurrentStatistics() {
     return (RegionStatistics) currentStatistics.get();
   }
@@ -77,8 +144,7 @@ public class RegionCache extends AbstractLoadCache {
     }
     RegionStatus lastStatus = ((RegionHeartbeatSample) getLastSample()).getStatus();
     if (lastStatus.equals(RegionStatus.Adding) || lastStatus.equals(RegionStatus.Removing)) {
-      RegionHeartbeatSample fakeHeartbeatSample =
-          new RegionHeartbeatSample(newHeartbeatSample.getSampleLogicalTimestamp(), lastStatus);
+      RegionHeartbeatSample fakeHeartbeatSample = newHeartbeatSample.withStatus(lastStatus);
       super.cacheHeartbeatSample(fakeHeartbeatSample);
     } else {
       super.cacheHeartbeatSample(newHeartbeatSample);
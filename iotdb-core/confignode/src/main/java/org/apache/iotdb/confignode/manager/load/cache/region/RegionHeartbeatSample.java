@@ -23,23 +23,106 @@ import org.apache.iotdb.commons.cluster.RegionStatus;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.confignode.manager.load.cache.AbstractHeartbeatSample;
 
+import java.util.Map;
+
 /** RegionHeartbeatSample records the heartbeat sample of a Region. */
 public class RegionHeartbeatSample extends AbstractHeartbeatSample {
 
   private final RegionStatus status;
 
+  // Load of the Region, the accumulated counters are only meaningful when hasLoad is true
+  private final boolean hasLoad;
+  private final long writtenPoints;
+  private final long queryCpuTimeInNanos;
+  private final long diskBytes;
+  // Map<SeriesPartitionSlot, written points>, null if the SeriesSlots are not sampled
+  private final Map<Integer, Long> seriesSlotWrittenPoints;
+
   public RegionHeartbeatSample(long sampleNanoTimestamp, RegionStatus status) {
+    this(sampleNanoTimestamp, status, false, 0, 0, 0, null);
+  }
+
+  public RegionHeartbeatSample(
+      long sampleNanoTimestamp,
+      RegionStatus status,
+      long writtenPoints,
+      long queryCpuTimeInNanos,
+      long diskBytes) {
+    this(sampleNanoTimestamp, status, true, writtenPoints, queryCpuTimeInNanos, diskBytes, null);
+  }
+
+  public RegionHeartbeatSample(
+      long sampleNanoTimestamp,
+      RegionStatus status,
+      long writtenPoints,
+      long queryCpuTimeInNanos,
+      long diskBytes,
+      Map<Integer, Long> seriesSlotWrittenPoints) {
+    this(
+        sampleNanoTimestamp,
+        status,
+        true,
+        writtenPoints,
+        queryCpuTimeInNanos,
+        diskBytes,
+        seriesSlotWrittenPoints);
+  }
+
+  private RegionHeartbeatSample(
+      long sampleNanoTimestamp,
+      RegionStatus status,
+      boolean hasLoad,
+      long writtenPoints,
+      long queryCpuTimeInNanos,
+      long diskBytes,
+      Map<Integer, Long> seriesSlotWrittenPoints) {
     super(sampleNanoTimestamp);
     this.status = status;
+    this.hasLoad = hasLoad;
+    this.writtenPoints = writtenPoints;
+    this.queryCpuTimeInNanos = queryCpuTimeInNanos;
+    this.diskBytes = diskBytes;
+    this.seriesSlotWrittenPoints = seriesSlotWrittenPoints;
   }
 
   @TestOnly
   public RegionHeartbeatSample(RegionStatus status) {
-    super(System.nanoTime());
-    this.status = status;
+    this(System.nanoTime(), status);
+  }
+
+  /** Copy the load of this sample with another status. */
+  public RegionHeartbeatSample withStatus(RegionStatus status) {
+    return new RegionHeartbeatSample(
+        getSampleLogicalTimestamp(),
+        status,
+        hasLoad,
+        writtenPoints,
+        queryCpuTimeInNanos,
+        diskBytes,
+        seriesSlotWrittenPoints);
   }
 
   public RegionStatus getStatus() {
     return status;
   }
+
+  public boolean hasLoad() {
+    return hasLoad;
+  }
+
+  public long getWrittenPoints() {
+    return writtenPoints;
+  }
+
+  public long getQueryCpuTimeInNanos() {
+    return queryCpuTimeInNanos;
+  }
+
+  public long getDiskBytes() {
+    return diskBytes;
+  }
+
+  public Map<Integer, Long> getSeriesSlotWrittenPoints() {
+    return seriesSlotWrittenPoints;
+  }
 }
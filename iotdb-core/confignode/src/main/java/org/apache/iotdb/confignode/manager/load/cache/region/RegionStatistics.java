@@ -23,6 +23,8 @@ import org.apache.iotdb.commons.cluster.RegionStatus;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.confignode.manager.load.cache.AbstractStatistics;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 
 /** RegionStatistics indicates the statistics of a Region. */
@@ -30,15 +32,51 @@ public class RegionStatistics extends AbstractStatistics {
 
   private final RegionStatus regionStatus;
 
+  // The load of the Region, derived from the latest two heartbeat samples
+  private final double writePointsPerSecond;
+  // Cpu time spent by queries per second, i.e., the number of cores occupied
+  private final double queryCpuUsage;
+  private final long diskBytes;
+  // Map<SeriesPartitionSlot, write points per second>, empty if the SeriesSlots are not sampled
+  private final Map<Integer, Double> seriesSlotWritePointsPerSecond;
+
   public RegionStatistics(long statisticsNanoTimestamp, RegionStatus regionStatus) {
+    this(statisticsNanoTimestamp, regionStatus, 0, 0, 0);
+  }
+
+  public RegionStatistics(
+      long statisticsNanoTimestamp,
+      RegionStatus regionStatus,
+      double writePointsPerSecond,
+      double queryCpuUsage,
+      long diskBytes) {
+    this(
+        statisticsNanoTimestamp,
+        regionStatus,
+        writePointsPerSecond,
+        queryCpuUsage,
+        diskBytes,
+        Collections.emptyMap());
+  }
+
+  public RegionStatistics(
+      long statisticsNanoTimestamp,
+      RegionStatus regionStatus,
+      double writePointsPerSecond,
+      double queryCpuUsage,
+      long diskBytes,
+      Map<Integer, Double> seriesSlotWritePointsPerSecond) {
     super(statisticsNanoTimestamp);
     this.regionStatus = regionStatus;
+    this.writePointsPerSecond = writePointsPerSecond;
+    this.queryCpuUsage = queryCpuUsage;
+    this.diskBytes = diskBytes;
+    this.seriesSlotWritePointsPerSecond = seriesSlotWritePointsPerSecond;
   }
 
   @TestOnly
   public RegionStatistics(RegionStatus regionStatus) {
-    super(System.nanoTime());
-    this.regionStatus = regionStatus;
+    this(System.nanoTime(), regionStatus);
   }
 
   public static RegionStatistics generateDefaultRegionStatistics() {
@@ -49,6 +87,24 @@ public class RegionStatistics extends AbstractStatistics {
     return regionStatus;
   }
 
+  public double getWritePointsPerSecond() {
+    return writePointsPerSecond;
+  }
+
+  public double getQueryCpuUsage() {
+    return queryCpuUsage;
+  }
+
+  public long getDiskBytes() {
+    return diskBytes;
+  }
+
+  public Map<Integer, Double> getSeriesSlotWritePointsPerSecond() {
+    return seriesSlotWritePointsPerSecond;
+  }
+
+  // The load is not compared since it varies with every heartbeat,
+  // which should not be broadcast as a change of RegionGroupStatistics
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -68,6 +124,15 @@ public class RegionStatistics extends AbstractStatistics {
 
   @Override
   public String toString() {
-    return "RegionStatistics{" + "regionStatus=" + regionStatus + '}';
+    return "RegionStatistics{"
+        + "regionStatus="
+        + regionStatus
+        + ", writePointsPerSecond="
+        + writePointsPerSecond
+        + ", queryCpuUsage="
+        + queryCpuUsage
+        + ", diskBytes="
+        + diskBytes
+        + '}';
   }
 }
@@ -43,6 +43,7 @@ import org.apache.iotdb.confignode.manager.node.NodeManager;
 import org.apache.iotdb.confignode.rpc.thrift.TConfigNodeHeartbeatReq;
 import org.apache.iotdb.db.protocol.client.ConfigNodeInfo;
 import org.apache.iotdb.mpp.rpc.thrift.TDataNodeHeartbeatReq;
+import org.apache.iotdb.mpp.rpc.thrift.TDataPartitionDelta;
 
 import org.apache.tsfile.utils.Pair;
 import org.slf4j.Logger;
@@ -151,6 +152,10 @@ public class HeartbeatService {
     heartbeatReq.setNeedJudgeLeader(true);
     // We sample DataNode's load in every 10 heartbeat loop
     heartbeatReq.setNeedSamplingLoad(heartbeatCounter.get() % 10 == 0);
+    // The load of each SeriesSlot is only used for moving the hot SeriesSlots
+    heartbeatReq.setNeedSeriesSlotLoad(
+        heartbeatReq.isNeedSamplingLoad()
+            && ConfigNodeDescriptor.getInstance().getConf().isEnableDataPartitionLoadRebalance());
     Pair<Long, Long> schemaQuotaRemain =
         configManager.getClusterSchemaManager().getSchemaQuotaRemain();
     heartbeatReq.setTimeSeriesQuotaRemain(schemaQuotaRemain.left);
@@ -273,12 +278,21 @@ public class HeartbeatService {
               configManager.getClusterQuotaManager().getRegionDisk(),
               configManager.getClusterSchemaManager()::updateTimeSeriesUsage,
               configManager.getClusterSchemaManager()::updateDeviceUsage,
-              configManager.getPipeManager().getPipeRuntimeCoordinator());
+              configManager.getPipeManager().getPipeRuntimeCoordinator(),
+              configManager.getPartitionManager().getDataPartitionDeltaLog());
       configManager.getClusterQuotaManager().updateSpaceQuotaUsage();
       addConfigNodeLocationsToReq(dataNodeId, heartbeatReq);
+      TDataPartitionDelta dataPartitionDelta =
+          configManager.getPartitionManager().getDataPartitionDeltaLog().generateDelta(dataNodeId);
       AsyncDataNodeHeartbeatClientPool.getInstance()
           .getDataNodeHeartBeat(
-              dataNodeInfo.getLocation().getInternalEndPoint(), heartbeatReq, handler);
+              dataNodeInfo.getLocation().getInternalEndPoint(),
+              dataPartitionDelta == null
+                  ? heartbeatReq
+                  // The delta differs among DataNodes, so it's attached to a copy of the request
+                  : new TDataNodeHeartbeatReq(heartbeatReq)
+                      .setDataPartitionDelta(dataPartitionDelta),
+              handler);
     }
   }
 
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.service;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
+import org.apache.iotdb.confignode.manager.load.balancer.RouteBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.router.leader.AbstractLeaderBalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LeaderRebalanceService periodically re-balances the RegionGroup leaders for the LOAD leader
+ * distribution policy. The write load of Regions is not a part of the statistics change events,
+ * so a load skew alone would never trigger the leader balance otherwise.
+ */
+public class LeaderRebalanceService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LeaderRebalanceService.class);
+
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
+
+  private final RouteBalancer routeBalancer;
+
+  public LeaderRebalanceService(RouteBalancer routeBalancer) {
+    this.routeBalancer = routeBalancer;
+  }
+
+  /** Leader rebalance executor service. */
+  private final Object rebalanceScheduleMonitor = new Object();
+
+  private Future<?> currentRebalanceFuture;
+  private final ScheduledExecutorService rebalanceExecutor =
+      IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+          ThreadName.CONFIG_NODE_LEADER_REBALANCE.getName());
+
+  /** Start the leader rebalance service if the LOAD leader distribution policy is used. */
+  public void startLeaderRebalanceService() {
+    if (!AbstractLeaderBalancer.LOAD_POLICY.equals(CONF.getLeaderDistributionPolicy())) {
+      return;
+    }
+    synchronized (rebalanceScheduleMonitor) {
+      if (currentRebalanceFuture == null) {
+        long interval = CONF.getLeaderBalanceLoadIntervalInMs();
+        currentRebalanceFuture =
+            ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+                rebalanceExecutor,
+                routeBalancer::balanceRegionLeaderAndPriority,
+                interval,
+                interval,
+                TimeUnit.MILLISECONDS);
+        LOGGER.info("LeaderRebalance service is started successfully.");
+      }
+    }
+  }
+
+  /** Stop the leader rebalance service. */
+  public void stopLeaderRebalanceService() {
+    synchronized (rebalanceScheduleMonitor) {
+      if (currentRebalanceFuture != null) {
+        currentRebalanceFuture.cancel(false);
+        currentRebalanceFuture = null;
+        LOGGER.info("LeaderRebalance service is stopped successfully.");
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.service;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
+import org.apache.iotdb.confignode.manager.load.balancer.PartitionBalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PartitionRebalanceService periodically moves the hot SeriesPartitionSlots to the cold
+ * DataRegionGroups according to the load reported by heartbeats.
+ */
+public class PartitionRebalanceService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PartitionRebalanceService.class);
+
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
+
+  private final PartitionBalancer partitionBalancer;
+
+  public PartitionRebalanceService(PartitionBalancer partitionBalancer) {
+    this.partitionBalancer = partitionBalancer;
+  }
+
+  /** Partition rebalance executor service. */
+  private final Object rebalanceScheduleMonitor = new Object();
+
+  private Future<?> currentRebalanceFuture;
+  private final ScheduledExecutorService rebalanceExecutor =
+      IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+          ThreadName.CONFIG_NODE_PARTITION_REBALANCE.getName());
+
+  /** Start the partition rebalance service if it is enabled. */
+  public void startPartitionRebalanceService() {
+    if (!CONF.isEnableDataPartitionLoadRebalance()) {
+      return;
+    }
+    synchronized (rebalanceScheduleMonitor) {
+      if (currentRebalanceFuture == null) {
+        long interval = CONF.getDataPartitionLoadRebalanceIntervalInMs();
+        currentRebalanceFuture =
+            ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+                rebalanceExecutor, this::reBalance, interval, interval, TimeUnit.MILLISECONDS);
+        LOGGER.info("PartitionRebalance service is started successfully.");
+      }
+    }
+  }
+
+  /** Stop the partition rebalance service. */
+  public void stopPartitionRebalanceService() {
+    synchronized (rebalanceScheduleMonitor) {
+      if (currentRebalanceFuture != null) {
+        currentRebalanceFuture.cancel(false);
+        currentRebalanceFuture = null;
+        LOGGER.info("PartitionRebalance service is stopped successfully.");
+      }
+    }
+  }
+
+  private void reBalance() {
+    partitionBalancer.reBalanceDataPartitionPolicyByLoad(
+        CONF.getDataPartitionLoadImbalanceThreshold());
+  }
+}
@@ -245,6 +245,9 @@ public class NodeManager {
     ratisConfig.setDataRegionPeriodicSnapshotInterval(
         conf.getDataRegionRatisPeriodicSnapshotInterval());
 
+    ratisConfig.setSchemaRegionReadConsistency(conf.getSchemaRegionRatisReadConsistency());
+    ratisConfig.setSchemaRegionReadMaxStalenessMs(conf.getSchemaRegionRatisReadMaxStalenessMs());
+
     dataSet.setRatisConfig(ratisConfig);
   }
 
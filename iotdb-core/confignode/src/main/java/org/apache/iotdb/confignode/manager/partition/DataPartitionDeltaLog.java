@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.partition.DataPartitionTable;
+import org.apache.iotdb.mpp.rpc.thrift.TDataPartitionDelta;
+
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The DataPartitionDeltaLog records the DataPartitions created and the expired DataPartitions
+ * removed by the PartitionTableAutoCleaner, so that they can be pushed to the DataNodes' partition
+ * caches through heartbeats.
+ *
+ * <p>The log is a part of the PartitionInfo, i.e., it is advanced by applying the same partition
+ * plans on every ConfigNode. Hence the versions are identical among the ConfigNodes and a new
+ * ConfigNode-leader continues the stream that the DataNodes have followed. Its version and the
+ * removals are also kept in the snapshot, while the creations are not, since a DataNode that misses
+ * some creations only falls back to fetching the DataPartitions on demand. A DataNode that misses
+ * some removals may keep routing to the removed DataPartitions, so it invalidates all its cached
+ * DataPartitions when it lags behind a removal that is truncated from the log.
+ */
+public class DataPartitionDeltaLog {
+
+  // The versions of all the ConfigNodes are of the same stream. The DataNodes that have followed
+  // a ConfigNode of an earlier release, whose epoch changes with the leader, are rebased once.
+  private static final long EPOCH = 0;
+
+  private static class Delta {
+
+    private final long version;
+    // Map<Database, Map<SeriesPartitionSlot, Map<TimePartitionSlot, List<RegionGroupId>>>>
+    private final Map<
+            String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+        dataPartitionTable;
+    // Map<Database, the removed TimePartitionSlots>
+    private final Map<String, Set<TTimePartitionSlot>> removedTimePartitions;
+
+    private Delta(
+        long version,
+        Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+            dataPartitionTable,
+        Map<String, Set<TTimePartitionSlot>> removedTimePartitions) {
+      this.version = version;
+      this.dataPartitionTable = dataPartitionTable;
+      this.removedTimePartitions = removedTimePartitions;
+    }
+
+    private boolean isRemoval() {
+      return !removedTimePartitions.isEmpty();
+    }
+  }
+
+  private final int capacity;
+  private final Deque<Delta> deltas;
+  private long version;
+  // The version of the latest removal that is truncated from the log
+  private long lastTruncatedRemovalVersion;
+
+  // Map<DataNodeId, Pair<epoch, version>> acknowledged by each DataNode
+  private final Map<Integer, Pair<Long, Long>> acknowledgedVersionMap;
+
+  public DataPartitionDeltaLog(int capacity) {
+    this.capacity = capacity;
+    this.deltas = new ArrayDeque<>();
+    this.acknowledgedVersionMap = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Forget the versions acknowledged by the DataNodes, invoked when the current ConfigNode becomes
+   * leader, since the DataNodes may have followed another leader since then.
+   */
+  public void clearAcknowledgedVersions() {
+    acknowledgedVersionMap.clear();
+  }
+
+  /**
+   * Record the newly created DataPartitions.
+   *
+   * @param assignedDataPartition Map<Database, DataPartitionTable>
+   */
+  public synchronized void append(Map<String, DataPartitionTable> assignedDataPartition) {
+    if (assignedDataPartition.isEmpty()) {
+      return;
+    }
+    Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+        dataPartitionTable = new HashMap<>();
+    assignedDataPartition.forEach(
+        (database, table) -> {
+          Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>> slotMap =
+              new HashMap<>();
+          table
+              .getDataPartitionMap()
+              .forEach(
+                  (seriesPartitionSlot, seriesPartitionTable) ->
+                      slotMap.put(
+                          seriesPartitionSlot,
+                          new HashMap<>(seriesPartitionTable.getSeriesPartitionMap())));
+          dataPartitionTable.put(database, slotMap);
+        });
+    addDelta(new Delta(++version, dataPartitionTable, Collections.emptyMap()));
+  }
+
+  /**
+   * Record the expired DataPartitions removed by the PartitionTableAutoCleaner.
+   *
+   * @param removedTimePartitions Map<Database, the removed TimePartitionSlots>
+   */
+  public synchronized void appendRemoval(
+      Map<String, Set<TTimePartitionSlot>> removedTimePartitions) {
+    if (removedTimePartitions.isEmpty()) {
+      return;
+    }
+    addDelta(new Delta(++version, new HashMap<>(), new HashMap<>(removedTimePartitions)));
+  }
+
+  private void addDelta(Delta delta) {
+    deltas.addLast(delta);
+    while (deltas.size() > Math.max(capacity, 0)) {
+      Delta truncated = deltas.removeFirst();
+      if (truncated.isRemoval()) {
+        lastTruncatedRemovalVersion = truncated.version;
+      }
+    }
+  }
+
+  /** Stop pushing the DataPartitions of the deleted Database. */
+  public synchronized void removeDatabase(String database) {
+    deltas.forEach(delta -> delta.dataPartitionTable.remove(database));
+  }
+
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /** Record the version of DataPartitionTable that the DataNode has applied. */
+  public void acknowledge(int dataNodeId, long ackEpoch, long ackVersion) {
+    acknowledgedVersionMap.put(dataNodeId, new Pair<>(ackEpoch, ackVersion));
+  }
+
+  /**
+   * Generate the delta that the specified DataNode hasn't applied yet.
+   *
+   * @return null if the DataNode is up-to-date or its version is unknown yet, a delta that
+   *     invalidates all if the DataNode may have missed some removals, otherwise the DataPartitions
+   *     removed and created after the version acknowledged by the DataNode
+   */
+  public synchronized TDataPartitionDelta generateDelta(int dataNodeId) {
+    Pair<Long, Long> acknowledged = acknowledgedVersionMap.get(dataNodeId);
+    if (acknowledged == null) {
+      // Wait for the DataNode to report the version of its cache in the heartbeat response
+      return null;
+    }
+    long ackVersion = acknowledged.getRight();
+    if (acknowledged.getLeft() != EPOCH
+        || ackVersion > version
+        || ackVersion < lastTruncatedRemovalVersion) {
+      return new TDataPartitionDelta(EPOCH, version).setInvalidateAll(true);
+    }
+    if (ackVersion == version) {
+      return null;
+    }
+
+    Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+        dataPartitionTable = new HashMap<>();
+    Map<String, Set<TTimePartitionSlot>> removedTimePartitions = new HashMap<>();
+    for (Delta delta : deltas) {
+      if (delta.version <= ackVersion) {
+        continue;
+      }
+      // The DataNode applies the removals first, so the DataPartitions created before
+      // a removal shouldn't be pushed if they are removed
+      delta.removedTimePartitions.forEach(
+          (database, timePartitionSlots) -> {
+            removedTimePartitions
+                .computeIfAbsent(database, empty -> new HashSet<>())
+                .addAll(timePartitionSlots);
+            Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>> slotMap =
+                dataPartitionTable.get(database);
+            if (slotMap != null) {
+              slotMap
+                  .values()
+                  .forEach(timeSlotMap -> timeSlotMap.keySet().removeAll(timePartitionSlots));
+            }
+          });
+      merge(dataPartitionTable, delta.dataPartitionTable);
+    }
+    TDataPartitionDelta delta =
+        new TDataPartitionDelta(EPOCH, version).setDataPartitionTable(dataPartitionTable);
+    if (!removedTimePartitions.isEmpty()) {
+      Map<String, List<TTimePartitionSlot>> removedTimePartitionList = new HashMap<>();
+      removedTimePartitions.forEach(
+          (database, timePartitionSlots) ->
+              removedTimePartitionList.put(database, new ArrayList<>(timePartitionSlots)));
+      delta.setRemovedTimePartitions(removedTimePartitionList);
+    }
+    return delta;
+  }
+
+  private static void merge(
+      Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+          target,
+      Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+          source) {
+    source.forEach(
+        (database, slotMap) ->
+            slotMap.forEach(
+                (seriesPartitionSlot, timeSlotMap) ->
+                    timeSlotMap.forEach(
+                        (timePartitionSlot, regionGroupIds) ->
+                            target
+                                .computeIfAbsent(database, empty -> new HashMap<>())
+                                .computeIfAbsent(seriesPartitionSlot, empty -> new HashMap<>())
+                                .put(timePartitionSlot, new ArrayList<>(regionGroupIds)))));
+  }
+
+  /** Clear the log before restoring it from the snapshot. */
+  public synchronized void clear() {
+    deltas.clear();
+    version = 0;
+    lastTruncatedRemovalVersion = 0;
+  }
+
+  /** Serialize the version and the removals, the creations are left out of the snapshot. */
+  public synchronized void serialize(OutputStream outputStream) throws IOException {
+    ReadWriteIOUtils.write(version, outputStream);
+    ReadWriteIOUtils.write(lastTruncatedRemovalVersion, outputStream);
+    List<Delta> removals = new ArrayList<>();
+    deltas.forEach(
+        delta -> {
+          if (delta.isRemoval()) {
+            removals.add(delta);
+          }
+        });
+    ReadWriteIOUtils.write(removals.size(), outputStream);
+    for (Delta removal : removals) {
+      ReadWriteIOUtils.write(removal.version, outputStream);
+      ReadWriteIOUtils.write(removal.removedTimePartitions.size(), outputStream);
+      for (Map.Entry<String, Set<TTimePartitionSlot>> entry :
+          removal.removedTimePartitions.entrySet()) {
+        ReadWriteIOUtils.write(entry.getKey(), outputStream);
+        ReadWriteIOUtils.write(entry.getValue().size(), outputStream);
+        for (TTimePartitionSlot timePartitionSlot : entry.getValue()) {
+          ReadWriteIOUtils.write(timePartitionSlot.getStartTime(), outputStream);
+        }
+      }
+    }
+  }
+
+  public synchronized void deserialize(InputStream inputStream) throws IOException {
+    clear();
+    version = ReadWriteIOUtils.readLong(inputStream);
+    lastTruncatedRemovalVersion = ReadWriteIOUtils.readLong(inputStream);
+    int removalCount = ReadWriteIOUtils.readInt(inputStream);
+    for (int i = 0; i < removalCount; i++) {
+      long removalVersion = ReadWriteIOUtils.readLong(inputStream);
+      int databaseCount = ReadWriteIOUtils.readInt(inputStream);
+      Map<String, Set<TTimePartitionSlot>> removedTimePartitions = new HashMap<>(databaseCount);
+      for (int j = 0; j < databaseCount; j++) {
+        String database = ReadWriteIOUtils.readString(inputStream);
+        int timePartitionCount = ReadWriteIOUtils.readInt(inputStream);
+        Set<TTimePartitionSlot> timePartitionSlots = new HashSet<>(timePartitionCount);
+        for (int k = 0; k < timePartitionCount; k++) {
+          timePartitionSlots.add(new TTimePartitionSlot(ReadWriteIOUtils.readLong(inputStream)));
+        }
+        removedTimePartitions.put(database, timePartitionSlots);
+      }
+      deltas.addLast(new Delta(removalVersion, new HashMap<>(), removedTimePartitions));
+    }
+  }
+}
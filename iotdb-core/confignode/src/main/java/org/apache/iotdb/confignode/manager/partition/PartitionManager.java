@@ -35,6 +35,8 @@ import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.partition.DataPartitionTable;
 import org.apache.iotdb.commons.partition.SchemaPartitionTable;
 import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
 import org.apache.iotdb.confignode.client.async.CnToDnAsyncRequestType;
 import org.apache.iotdb.confignode.client.async.CnToDnInternalServiceAsyncRequestManager;
 import org.apache.iotdb.confignode.client.async.handlers.DataNodeAsyncRequestContext;
@@ -56,6 +58,7 @@ import org.apache.iotdb.confignode.consensus.request.write.partition.AddRegionLo
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateDataPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateSchemaPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.RemoveRegionLocationPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateDataAllotTablePlan;
 import org.apache.iotdb.confignode.consensus.request.write.region.CreateRegionGroupsPlan;
 import org.apache.iotdb.confignode.consensus.request.write.region.PollSpecificRegionMaintainTaskPlan;
 import org.apache.iotdb.confignode.consensus.response.partition.CountTimeSlotListResp;
@@ -152,12 +155,22 @@ public class PartitionManager {
   private final ScheduledExecutorService regionMaintainer;
   private Future<?> currentRegionMaintainerFuture;
 
+  /** DataPartition pre-creator. */
+  // Check whether the next time partition is coming in every 10s
+  private static final int DATA_PARTITION_PRE_CREATOR_WORK_INTERVAL = 10;
+
+  private final ScheduledExecutorService dataPartitionPreCreator;
+  private Future<?> currentDataPartitionPreCreatorFuture;
+
   public PartitionManager(IManager configManager, PartitionInfo partitionInfo) {
     this.configManager = configManager;
     this.partitionInfo = partitionInfo;
     this.regionMaintainer =
         IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
             ThreadName.CONFIG_NODE_REGION_MAINTAINER.getName());
+    this.dataPartitionPreCreator =
+        IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+            ThreadName.CONFIG_NODE_PARTITION_PRE_CREATOR.getName());
     setSeriesPartitionExecutor();
   }
 
@@ -1503,6 +1516,94 @@ public class PartitionManager {
     }
   }
 
+  /**
+   * Create the DataPartitions of the next time partition when the current one is about to end, so
+   * that the writes crossing the boundary won't wait for the creation. Only the SeriesSlots that
+   * own DataPartitions in the current time partition are considered.
+   */
+  public void preCreateDataPartitions() {
+    long now = CommonDateTimeUtils.currentTime();
+    long nextTimePartitionStartTime = TimePartitionUtils.getTimePartitionUpperBound(now);
+    long aheadTime =
+        CommonDateTimeUtils.convertMilliTimeWithPrecision(
+            CONF.getDataPartitionPreCreateAheadTimeInMs(),
+            COMMON_CONFIG.getTimestampPrecision());
+    if (nextTimePartitionStartTime == Long.MAX_VALUE
+        || nextTimePartitionStartTime - now > aheadTime) {
+      return;
+    }
+
+    TTimePartitionSlot currentTimePartitionSlot = TimePartitionUtils.getTimePartitionSlot(now);
+    TTimePartitionSlot nextTimePartitionSlot =
+        TimePartitionUtils.getTimePartitionSlot(nextTimePartitionStartTime);
+    Map<String, Map<TSeriesPartitionSlot, TTimeSlotList>> partitionSlotsMap = new HashMap<>();
+    for (String database : getClusterSchemaManager().getDatabaseNames(null)) {
+      if (isDatabasePreDeleted(database)) {
+        continue;
+      }
+      Map<TSeriesPartitionSlot, TTimeSlotList> slotsMap = new HashMap<>();
+      partitionInfo
+          .getSeriesSlotList(database, currentTimePartitionSlot)
+          .forEach(
+              seriesPartitionSlot ->
+                  slotsMap.put(
+                      seriesPartitionSlot,
+                      new TTimeSlotList(
+                          new ArrayList<>(Collections.singletonList(nextTimePartitionSlot)),
+                          false,
+                          false)));
+      if (!slotsMap.isEmpty()) {
+        partitionSlotsMap.put(database, slotsMap);
+      }
+    }
+    if (partitionSlotsMap.isEmpty()) {
+      return;
+    }
+
+    DataPartitionResp resp =
+        getOrCreateDataPartition(new GetOrCreateDataPartitionPlan(partitionSlotsMap));
+    if (resp.getStatus().getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      LOGGER.warn(
+          "Failed to pre-create the DataPartitions of time partition {}, because: {}",
+          nextTimePartitionSlot.getStartTime(),
+          resp.getStatus());
+    }
+  }
+
+  public void startDataPartitionPreCreator() {
+    if (!CONF.isEnableDataPartitionPreCreate()) {
+      return;
+    }
+    synchronized (scheduleMonitor) {
+      if (currentDataPartitionPreCreatorFuture == null) {
+        /* Start the DataPartitionPreCreator service */
+        currentDataPartitionPreCreatorFuture =
+            ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+                dataPartitionPreCreator,
+                this::preCreateDataPartitions,
+                0,
+                DATA_PARTITION_PRE_CREATOR_WORK_INTERVAL,
+                TimeUnit.SECONDS);
+        LOGGER.info("DataPartitionPreCreator is started successfully.");
+      }
+    }
+  }
+
+  public void stopDataPartitionPreCreator() {
+    synchronized (scheduleMonitor) {
+      if (currentDataPartitionPreCreatorFuture != null) {
+        /* Stop the DataPartitionPreCreator service */
+        currentDataPartitionPreCreatorFuture.cancel(false);
+        currentDataPartitionPreCreatorFuture = null;
+        LOGGER.info("DataPartitionPreCreator is stopped successfully.");
+      }
+    }
+  }
+
+  public DataPartitionDeltaLog getDataPartitionDeltaLog() {
+    return partitionInfo.getDataPartitionDeltaLog();
+  }
+
   /**
    * Filter the RegionGroups in the specified Database through the RegionGroupStatus.
    *
@@ -1547,6 +1648,35 @@ public class PartitionManager {
     return partitionInfo.getLastDataAllotTable(database);
   }
 
+  /**
+   * Persist the SeriesSlots of the specified Database which are moved to other DataRegionGroups by
+   * load, so that a new leader continues the moves.
+   *
+   * @param plan Including the Database and the targets of the moved SeriesSlots
+   * @return SUCCESS_STATUS if the moves are persisted
+   */
+  public TSStatus updateDataAllotTable(final UpdateDataAllotTablePlan plan) {
+    try {
+      return getConsensusManager().write(plan);
+    } catch (final ConsensusException e) {
+      LOGGER.warn(CONSENSUS_WRITE_ERROR, e);
+      final TSStatus res = new TSStatus(TSStatusCode.EXECUTE_STATEMENT_ERROR.getStatusCode());
+      res.setMessage(e.getMessage());
+      return res;
+    }
+  }
+
+  /**
+   * Get the SeriesSlots of the specified Database which are moved by load, but whose next
+   * DataPartitions are not created in the targets yet.
+   *
+   * @param database The specified Database
+   * @return Map<SeriesPartitionSlot, target DataRegionGroupId>
+   */
+  public Map<TSeriesPartitionSlot, TConsensusGroupId> getPendingDataAllotMoves(String database) {
+    return partitionInfo.getPendingDataAllotMoves(database);
+  }
+
   public ScheduledExecutorService getRegionMaintainer() {
     return regionMaintainer;
   }
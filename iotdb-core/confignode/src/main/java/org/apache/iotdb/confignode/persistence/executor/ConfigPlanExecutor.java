@@ -87,6 +87,7 @@ import org.apache.iotdb.confignode.consensus.request.write.partition.AutoCleanPa
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateDataPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateSchemaPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.RemoveRegionLocationPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateDataAllotTablePlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateRegionLocationPlan;
 import org.apache.iotdb.confignode.consensus.request.write.pipe.payload.PipeEnrichedPlan;
 import org.apache.iotdb.confignode.consensus.request.write.pipe.plugin.CreatePipePluginPlan;
@@ -436,6 +437,8 @@ public class ConfigPlanExecutor {
         return partitionInfo.createDataPartition((CreateDataPartitionPlan) physicalPlan);
       case AutoCleanPartitionTable:
         return partitionInfo.autoCleanPartitionTable((AutoCleanPartitionTablePlan) physicalPlan);
+      case UpdateDataAllotTable:
+        return partitionInfo.updateDataAllotTable((UpdateDataAllotTablePlan) physicalPlan);
       case UpdateProcedure:
         return procedureInfo.updateProcedure((UpdateProcedurePlan) physicalPlan);
       case DeleteProcedure:
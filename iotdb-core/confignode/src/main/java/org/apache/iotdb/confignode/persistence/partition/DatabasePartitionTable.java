@@ -603,6 +603,16 @@ public class DatabasePartitionTable {
         .findFirst();
   }
 
+  /**
+   * Get the SeriesPartitionSlots that have DataPartitions in the specified TimePartitionSlot.
+   *
+   * @param timePartitionSlot The specified TimePartitionSlot
+   * @return The sorted SeriesPartitionSlots
+   */
+  public List<TSeriesPartitionSlot> getSeriesSlotList(TTimePartitionSlot timePartitionSlot) {
+    return dataPartitionTable.getSeriesSlotList(timePartitionSlot);
+  }
+
   /**
    * Get the last DataAllotTable.
    *
@@ -617,21 +627,21 @@ public class DatabasePartitionTable {
    *
    * @param TTL The Time To Live
    * @param currentTimeSlot The current TimeSlot
+   * @return The removed TimeSlots
    */
-  public void autoCleanPartitionTable(long TTL, TTimePartitionSlot currentTimeSlot) {
+  public Set<TTimePartitionSlot> autoCleanPartitionTable(
+      long TTL, TTimePartitionSlot currentTimeSlot) {
+    Set<TTimePartitionSlot> removedTimePartitions =
+        dataPartitionTable.autoCleanPartitionTable(TTL, currentTimeSlot);
     long[] removedTimePartitionSlots =
-        dataPartitionTable.autoCleanPartitionTable(TTL, currentTimeSlot).stream()
-            .map(TTimePartitionSlot::getStartTime)
-            .collect(Collectors.toList())
-            .stream()
-            .mapToLong(Long::longValue)
-            .toArray();
+        removedTimePartitions.stream().mapToLong(TTimePartitionSlot::getStartTime).toArray();
     if (removedTimePartitionSlots.length > 0) {
       LOGGER.info(
           "[PartitionTableCleaner] The TimePartitions: {} are removed from Database: {}",
           removedTimePartitionSlots,
           databaseName);
     }
+    return removedTimePartitions;
   }
 
   @Override
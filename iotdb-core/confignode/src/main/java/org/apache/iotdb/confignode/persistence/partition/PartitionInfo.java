@@ -47,6 +47,7 @@ import org.apache.iotdb.confignode.consensus.request.write.partition.AutoCleanPa
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateDataPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateSchemaPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.RemoveRegionLocationPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateDataAllotTablePlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateRegionLocationPlan;
 import org.apache.iotdb.confignode.consensus.request.write.region.CreateRegionGroupsPlan;
 import org.apache.iotdb.confignode.consensus.request.write.region.OfferRegionMaintainTasksPlan;
@@ -60,6 +61,7 @@ import org.apache.iotdb.confignode.consensus.response.partition.RegionInfoListRe
 import org.apache.iotdb.confignode.consensus.response.partition.SchemaNodeManagementResp;
 import org.apache.iotdb.confignode.consensus.response.partition.SchemaPartitionResp;
 import org.apache.iotdb.confignode.exception.DatabaseNotExistsException;
+import org.apache.iotdb.confignode.manager.partition.DataPartitionDeltaLog;
 import org.apache.iotdb.confignode.persistence.partition.maintainer.RegionMaintainTask;
 import org.apache.iotdb.confignode.rpc.thrift.TRegionInfo;
 import org.apache.iotdb.confignode.rpc.thrift.TShowRegionReq;
@@ -87,6 +89,7 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -132,6 +135,17 @@ public class PartitionInfo implements SnapshotProcessor {
   // For RegionReplicas' asynchronous management
   private final List<RegionMaintainTask> regionMaintainTaskList;
 
+  /** For Load Re-balancing. */
+  // Map<DatabaseName, Map<SeriesPartitionSlot, target DataRegionGroupId>>
+  // The SeriesSlots moved by load whose next DataPartitions are not created in the targets yet
+  private final Map<String, Map<TSeriesPartitionSlot, TConsensusGroupId>> pendingDataAllotMoves;
+
+  /** For DataPartition cache synchronization. */
+  private static final int DATA_PARTITION_DELTA_LOG_CAPACITY = 1024;
+
+  // The DataPartitions created and removed, which are pushed to the DataNodes through heartbeats
+  private final DataPartitionDeltaLog dataPartitionDeltaLog;
+
   private static final String SNAPSHOT_FILENAME = "partition_info.bin";
 
   public PartitionInfo() {
@@ -139,6 +153,10 @@ public class PartitionInfo implements SnapshotProcessor {
     this.databasePartitionTables = new ConcurrentHashMap<>();
 
     this.regionMaintainTaskList = Collections.synchronizedList(new ArrayList<>());
+
+    this.pendingDataAllotMoves = new ConcurrentHashMap<>();
+
+    this.dataPartitionDeltaLog = new DataPartitionDeltaLog(DATA_PARTITION_DELTA_LOG_CAPACITY);
   }
 
   public int generateNextRegionGroupId() {
@@ -300,6 +318,7 @@ public class PartitionInfo implements SnapshotProcessor {
     switch (preDeleteType) {
       case EXECUTE:
         databasePartitionTable.setPreDeleted(true);
+        dataPartitionDeltaLog.removeDatabase(database);
         break;
       case ROLLBACK:
         databasePartitionTable.setPreDeleted(false);
@@ -323,6 +342,8 @@ public class PartitionInfo implements SnapshotProcessor {
   public void deleteDatabase(final DeleteDatabasePlan plan) {
     // Clean the databaseTable cache
     databasePartitionTables.remove(plan.getName());
+    pendingDataAllotMoves.remove(plan.getName());
+    dataPartitionDeltaLog.removeDatabase(plan.getName());
   }
 
   /**
@@ -498,32 +519,92 @@ public class PartitionInfo implements SnapshotProcessor {
    * @return {@link TSStatusCode#SUCCESS_STATUS}
    */
   public TSStatus createDataPartition(CreateDataPartitionPlan plan) {
+    Map<String, DataPartitionTable> createdDataPartition = new HashMap<>();
     plan.getAssignedDataPartition()
         .forEach(
             (database, dataPartitionTable) -> {
               if (isDatabaseExisted(database)) {
                 databasePartitionTables.get(database).createDataPartition(dataPartitionTable);
+                completeDataAllotMoves(database, dataPartitionTable);
+                createdDataPartition.put(database, dataPartitionTable);
               }
             });
+    dataPartitionDeltaLog.append(createdDataPartition);
 
     return new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
   }
 
+  /** A move is completed once the SeriesSlot has got a new DataPartition in the target. */
+  private void completeDataAllotMoves(String database, DataPartitionTable dataPartitionTable) {
+    Map<TSeriesPartitionSlot, TConsensusGroupId> moves = pendingDataAllotMoves.get(database);
+    if (moves == null) {
+      return;
+    }
+    dataPartitionTable
+        .getDataPartitionMap()
+        .forEach(
+            (seriesPartitionSlot, seriesPartitionTable) -> {
+              TConsensusGroupId target = moves.get(seriesPartitionSlot);
+              if (target != null && target.equals(seriesPartitionTable.getLastConsensusGroupId())) {
+                moves.remove(seriesPartitionSlot);
+              }
+            });
+    if (moves.isEmpty()) {
+      pendingDataAllotMoves.remove(database);
+    }
+  }
+
+  /**
+   * Record the SeriesSlots moved to other DataRegionGroups by load.
+   *
+   * @param plan Including the Database and the targets of the moved SeriesSlots
+   * @return {@link TSStatusCode#SUCCESS_STATUS}
+   */
+  public TSStatus updateDataAllotTable(UpdateDataAllotTablePlan plan) {
+    if (isDatabaseExisted(plan.getDatabase())) {
+      pendingDataAllotMoves
+          .computeIfAbsent(plan.getDatabase(), empty -> new ConcurrentHashMap<>())
+          .putAll(plan.getMovedSeriesSlotMap());
+    }
+    return new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
+  }
+
+  /**
+   * Get the SeriesSlots of the specified Database that are moved by load but not completed yet.
+   *
+   * @param database The specified Database
+   * @return Map<SeriesPartitionSlot, target DataRegionGroupId>
+   */
+  public Map<TSeriesPartitionSlot, TConsensusGroupId> getPendingDataAllotMoves(String database) {
+    Map<TSeriesPartitionSlot, TConsensusGroupId> moves = pendingDataAllotMoves.get(database);
+    return moves == null ? Collections.emptyMap() : new HashMap<>(moves);
+  }
+
+  public DataPartitionDeltaLog getDataPartitionDeltaLog() {
+    return dataPartitionDeltaLog;
+  }
+
   /**
    * Remove PartitionTable where the TimeSlot is expired.
    *
    * @param plan Including TTL and current TimeSlot
    */
   public TSStatus autoCleanPartitionTable(AutoCleanPartitionTablePlan plan) {
+    Map<String, Set<TTimePartitionSlot>> removedTimePartitions = new HashMap<>();
     plan.getDatabaseTTLMap()
         .forEach(
             (database, ttl) -> {
               if (isDatabaseExisted(database) && 0 < ttl && ttl < Long.MAX_VALUE) {
-                databasePartitionTables
-                    .get(database)
-                    .autoCleanPartitionTable(ttl, plan.getCurrentTimeSlot());
+                Set<TTimePartitionSlot> removedTimePartitionSlots =
+                    databasePartitionTables
+                        .get(database)
+                        .autoCleanPartitionTable(ttl, plan.getCurrentTimeSlot());
+                if (!removedTimePartitionSlots.isEmpty()) {
+                  removedTimePartitions.put(database, removedTimePartitionSlots);
+                }
               }
             });
+    dataPartitionDeltaLog.appendRemoval(removedTimePartitions);
     return new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
   }
 
@@ -961,6 +1042,22 @@ public class PartitionInfo implements SnapshotProcessor {
     return schemaPartitionSet;
   }
 
+  /**
+   * Get the SeriesPartitionSlots of the specified Database that have DataPartitions in the
+   * specified TimePartitionSlot.
+   *
+   * @param database The specified Database
+   * @param timePartitionSlot The specified TimePartitionSlot
+   * @return The sorted SeriesPartitionSlots, empty if the Database doesn't exist
+   */
+  public List<TSeriesPartitionSlot> getSeriesSlotList(
+      String database, TTimePartitionSlot timePartitionSlot) {
+    if (isDatabaseExisted(database)) {
+      return databasePartitionTables.get(database).getSeriesSlotList(timePartitionSlot);
+    }
+    return Collections.emptyList();
+  }
+
   /**
    * Get the last DataAllotTable of the specified Database.
    *
@@ -1012,6 +1109,22 @@ public class PartitionInfo implements SnapshotProcessor {
         task.serialize(bufferedOutputStream, protocol);
       }
 
+      // serialize pendingDataAllotMoves
+      ReadWriteIOUtils.write(pendingDataAllotMoves.size(), bufferedOutputStream);
+      for (Map.Entry<String, Map<TSeriesPartitionSlot, TConsensusGroupId>> databaseEntry :
+          pendingDataAllotMoves.entrySet()) {
+        ReadWriteIOUtils.write(databaseEntry.getKey(), bufferedOutputStream);
+        ReadWriteIOUtils.write(databaseEntry.getValue().size(), bufferedOutputStream);
+        for (Map.Entry<TSeriesPartitionSlot, TConsensusGroupId> moveEntry :
+            databaseEntry.getValue().entrySet()) {
+          moveEntry.getKey().write(protocol);
+          moveEntry.getValue().write(protocol);
+        }
+      }
+
+      // serialize dataPartitionDeltaLog
+      dataPartitionDeltaLog.serialize(bufferedOutputStream);
+
       // write to file
       tioStreamTransport.flush();
       fileOutputStream.getFD().sync();
@@ -1074,6 +1187,29 @@ public class PartitionInfo implements SnapshotProcessor {
             RegionMaintainTask.Factory.create(fileInputStream, protocol);
         regionMaintainTaskList.add(task);
       }
+
+      // restore pendingDataAllotMoves, which are absent from the snapshots of old versions
+      if (fileInputStream.available() > 0) {
+        length = ReadWriteIOUtils.readInt(fileInputStream);
+        for (int i = 0; i < length; i++) {
+          final String database = ReadWriteIOUtils.readString(fileInputStream);
+          final int moveCount = ReadWriteIOUtils.readInt(fileInputStream);
+          final Map<TSeriesPartitionSlot, TConsensusGroupId> moves = new ConcurrentHashMap<>();
+          for (int j = 0; j < moveCount; j++) {
+            final TSeriesPartitionSlot seriesPartitionSlot = new TSeriesPartitionSlot();
+            seriesPartitionSlot.read(protocol);
+            final TConsensusGroupId target = new TConsensusGroupId();
+            target.read(protocol);
+            moves.put(seriesPartitionSlot, target);
+          }
+          pendingDataAllotMoves.put(database, moves);
+        }
+      }
+
+      // restore dataPartitionDeltaLog, which is absent from the snapshots of old versions
+      if (fileInputStream.available() > 0) {
+        dataPartitionDeltaLog.deserialize(fileInputStream);
+      }
     }
   }
 
@@ -1225,6 +1361,8 @@ public class PartitionInfo implements SnapshotProcessor {
     nextRegionGroupId.set(-1);
     databasePartitionTables.clear();
     regionMaintainTaskList.clear();
+    pendingDataAllotMoves.clear();
+    dataPartitionDeltaLog.clear();
   }
 
   @Override
@@ -1238,11 +1376,13 @@ public class PartitionInfo implements SnapshotProcessor {
     PartitionInfo that = (PartitionInfo) o;
     return nextRegionGroupId.get() == that.nextRegionGroupId.get()
         && databasePartitionTables.equals(that.databasePartitionTables)
-        && regionMaintainTaskList.equals(that.regionMaintainTaskList);
+        && regionMaintainTaskList.equals(that.regionMaintainTaskList)
+        && pendingDataAllotMoves.equals(that.pendingDataAllotMoves);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(nextRegionGroupId, databasePartitionTables, regionMaintainTaskList);
+    return Objects.hash(
+        nextRegionGroupId, databasePartitionTables, regionMaintainTaskList, pendingDataAllotMoves);
   }
 }
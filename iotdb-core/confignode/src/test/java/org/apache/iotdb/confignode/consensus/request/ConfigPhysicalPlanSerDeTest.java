@@ -95,6 +95,7 @@ import org.apache.iotdb.confignode.consensus.request.write.partition.AutoCleanPa
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateDataPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateSchemaPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.RemoveRegionLocationPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateDataAllotTablePlan;
 import org.apache.iotdb.confignode.consensus.request.write.pipe.payload.PipeAlterTimeSeriesPlan;
 import org.apache.iotdb.confignode.consensus.request.write.pipe.payload.PipeCreateTableOrViewPlan;
 import org.apache.iotdb.confignode.consensus.request.write.pipe.payload.PipeDeactivateTemplatePlan;
@@ -496,6 +497,19 @@ public class ConfigPhysicalPlanSerDeTest {
     Assert.assertEquals(req0, req1);
   }
 
+  @Test
+  public void UpdateDataAllotTablePlanTest() throws IOException {
+    Map<TSeriesPartitionSlot, TConsensusGroupId> movedSeriesSlotMap = new HashMap<>();
+    movedSeriesSlotMap.put(
+        new TSeriesPartitionSlot(1), new TConsensusGroupId(TConsensusGroupType.DataRegion, 2));
+    movedSeriesSlotMap.put(
+        new TSeriesPartitionSlot(3), new TConsensusGroupId(TConsensusGroupType.DataRegion, 4));
+    UpdateDataAllotTablePlan req0 = new UpdateDataAllotTablePlan("root.db", movedSeriesSlotMap);
+    UpdateDataAllotTablePlan req1 =
+        (UpdateDataAllotTablePlan) ConfigPhysicalPlan.Factory.create(req0.serializeToByteBuffer());
+    Assert.assertEquals(req0, req1);
+  }
+
   @Test
   public void AuthorPlanTest() throws IOException, IllegalPathException {
     AuthorPlan req0;
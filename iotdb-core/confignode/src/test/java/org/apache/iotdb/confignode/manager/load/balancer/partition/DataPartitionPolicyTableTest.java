@@ -29,6 +29,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -102,4 +103,86 @@ public class DataPartitionPolicyTableTest {
       Assert.assertEquals(mu, counterEntry.getValue().get());
     }
   }
+
+  @Test
+  public void testReBalanceDataAllotTableByLoad() {
+    DataPartitionPolicyTable dataPartitionPolicyTable = new DataPartitionPolicyTable();
+    TConsensusGroupId hotGroup = new TConsensusGroupId(TConsensusGroupType.DataRegion, 1);
+    TConsensusGroupId coldGroup = new TConsensusGroupId(TConsensusGroupType.DataRegion, 2);
+    TConsensusGroupId otherDatabaseGroup =
+        new TConsensusGroupId(TConsensusGroupType.DataRegion, 3);
+    List<TConsensusGroupId> dataRegionGroups = new ArrayList<>();
+    dataRegionGroups.add(hotGroup);
+    dataRegionGroups.add(coldGroup);
+    dataPartitionPolicyTable.reBalanceDataPartitionPolicy(dataRegionGroups);
+    List<TSeriesPartitionSlot> hotGroupSlots = new ArrayList<>();
+    for (int i = 0; i < SERIES_SLOT_NUM; i++) {
+      TSeriesPartitionSlot seriesPartitionSlot = new TSeriesPartitionSlot(i);
+      if (hotGroup.equals(
+          dataPartitionPolicyTable.getRegionGroupIdOrActivateIfNecessary(seriesPartitionSlot))) {
+        hotGroupSlots.add(seriesPartitionSlot);
+      }
+    }
+    TSeriesPartitionSlot slot40 = hotGroupSlots.get(0);
+    TSeriesPartitionSlot slot30 = hotGroupSlots.get(1);
+    TSeriesPartitionSlot slot20 = hotGroupSlots.get(2);
+
+    // Nothing is moved when there is no load
+    Assert.assertTrue(
+        dataPartitionPolicyTable
+            .reBalanceDataPartitionPolicyByLoad(new HashMap<>(), Collections.emptySet(), 0.2)
+            .isEmpty());
+
+    Map<TConsensusGroupId, Map<Integer, Double>> seriesSlotLoadMap = new HashMap<>();
+    Map<Integer, Double> hotGroupLoadMap = new HashMap<>();
+    hotGroupLoadMap.put(slot40.getSlotId(), 25.0);
+    hotGroupLoadMap.put(slot30.getSlotId(), 30.0);
+    hotGroupLoadMap.put(slot20.getSlotId(), 20.0);
+    seriesSlotLoadMap.put(hotGroup, hotGroupLoadMap);
+    // The delayed data of a SeriesSlot written into another RegionGroup of the Database counts
+    seriesSlotLoadMap.put(coldGroup, Collections.singletonMap(slot40.getSlotId(), 15.0));
+    // The load of the RegionGroups of other Databases doesn't count
+    seriesSlotLoadMap.put(
+        otherDatabaseGroup, Collections.singletonMap(slot20.getSlotId(), 1000.0));
+
+    // The hottest SeriesSlot that narrows the gap is moved, i.e. 90 : 0 -> 50 : 40
+    Map<TSeriesPartitionSlot, TConsensusGroupId> moves =
+        dataPartitionPolicyTable.reBalanceDataPartitionPolicyByLoad(
+            seriesSlotLoadMap, Collections.emptySet(), 0.2);
+    Assert.assertEquals(Collections.singletonMap(slot40, coldGroup), moves);
+    // The moves take effect only after they are applied
+    Assert.assertEquals(
+        hotGroup, dataPartitionPolicyTable.getRegionGroupIdOrActivateIfNecessary(slot40));
+    dataPartitionPolicyTable.moveSeriesPartitionSlots(moves);
+    Assert.assertEquals(
+        coldGroup, dataPartitionPolicyTable.getRegionGroupIdOrActivateIfNecessary(slot40));
+
+    // The cooling SeriesSlots are not moved again, i.e. 90 : 0 -> 60 : 30 -> 40 : 50
+    dataPartitionPolicyTable.moveSeriesPartitionSlots(Collections.singletonMap(slot40, hotGroup));
+    moves =
+        dataPartitionPolicyTable.reBalanceDataPartitionPolicyByLoad(
+            seriesSlotLoadMap, Collections.singleton(slot40), 0.2);
+    Map<TSeriesPartitionSlot, TConsensusGroupId> expectedMoves = new HashMap<>();
+    expectedMoves.put(slot30, coldGroup);
+    expectedMoves.put(slot20, coldGroup);
+    Assert.assertEquals(expectedMoves, moves);
+    dataPartitionPolicyTable.moveSeriesPartitionSlots(moves);
+
+    // Balanced RegionGroups stay unchanged
+    Assert.assertTrue(
+        dataPartitionPolicyTable
+            .reBalanceDataPartitionPolicyByLoad(seriesSlotLoadMap, Collections.emptySet(), 0.2)
+            .isEmpty());
+
+    // The number of SeriesSlots allotted to each RegionGroup is kept
+    Map<TConsensusGroupId, AtomicInteger> counter = new HashMap<>();
+    for (int i = 0; i < SERIES_SLOT_NUM; i++) {
+      TConsensusGroupId groupId =
+          dataPartitionPolicyTable.getRegionGroupIdOrActivateIfNecessary(
+              new TSeriesPartitionSlot(i));
+      counter.computeIfAbsent(groupId, empty -> new AtomicInteger(0)).incrementAndGet();
+    }
+    Assert.assertEquals(hotGroupSlots.size() - 2, counter.get(hotGroup).get());
+    Assert.assertEquals(SERIES_SLOT_NUM - hotGroupSlots.size() + 2, counter.get(coldGroup).get());
+  }
 }
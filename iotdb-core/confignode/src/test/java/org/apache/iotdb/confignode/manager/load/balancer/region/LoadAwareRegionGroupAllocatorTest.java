@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.region;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeConfiguration;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class LoadAwareRegionGroupAllocatorTest {
+
+  private static final int TEST_REPLICATION_FACTOR = 2;
+
+  private final Map<TConsensusGroupId, Map<Integer, Double>> regionLoadScoreMap = new HashMap<>();
+  private final LoadAwareRegionGroupAllocator allocator =
+      new LoadAwareRegionGroupAllocator(() -> regionLoadScoreMap);
+
+  private static Map<Integer, TDataNodeConfiguration> buildDataNodeMap(int dataNodeNum) {
+    Map<Integer, TDataNodeConfiguration> availableDataNodeMap = new HashMap<>();
+    for (int i = 0; i < dataNodeNum; i++) {
+      availableDataNodeMap.put(
+          i, new TDataNodeConfiguration().setLocation(new TDataNodeLocation().setDataNodeId(i)));
+    }
+    return availableDataNodeMap;
+  }
+
+  private static TRegionReplicaSet buildRegionGroup(int regionId, Integer... dataNodeIds) {
+    return new TRegionReplicaSet(
+        new TConsensusGroupId(TConsensusGroupType.DataRegion, regionId),
+        Arrays.stream(dataNodeIds)
+            .map(dataNodeId -> new TDataNodeLocation().setDataNodeId(dataNodeId))
+            .collect(Collectors.toList()));
+  }
+
+  private static Set<Integer> dataNodeIds(TRegionReplicaSet regionGroup) {
+    return regionGroup.getDataNodeLocations().stream()
+        .map(TDataNodeLocation::getDataNodeId)
+        .collect(Collectors.toSet());
+  }
+
+  @Test
+  public void testEvenDistributionWithoutLoad() {
+    Map<Integer, TDataNodeConfiguration> availableDataNodeMap = buildDataNodeMap(4);
+    Map<Integer, Double> freeSpaceMap = new HashMap<>();
+    availableDataNodeMap.keySet().forEach(dataNodeId -> freeSpaceMap.put(dataNodeId, 1d));
+
+    List<TRegionReplicaSet> allocatedRegionGroups = new ArrayList<>();
+    for (int index = 0; index < 8; index++) {
+      allocatedRegionGroups.add(
+          allocator.generateOptimalRegionReplicasDistribution(
+              availableDataNodeMap,
+              freeSpaceMap,
+              allocatedRegionGroups,
+              allocatedRegionGroups,
+              TEST_REPLICATION_FACTOR,
+              new TConsensusGroupId(TConsensusGroupType.DataRegion, index)));
+    }
+
+    // Without any load, the allocation is balanced by the number of Regions
+    Map<Integer, AtomicInteger> regionCounter = new HashMap<>();
+    allocatedRegionGroups.forEach(
+        regionGroup ->
+            dataNodeIds(regionGroup)
+                .forEach(
+                    dataNodeId ->
+                        regionCounter
+                            .computeIfAbsent(dataNodeId, empty -> new AtomicInteger(0))
+                            .incrementAndGet()));
+    Assert.assertEquals(4, regionCounter.size());
+    regionCounter.forEach((dataNodeId, regionCount) -> Assert.assertEquals(4, regionCount.get()));
+  }
+
+  @Test
+  public void testAvoidHotDataNodes() {
+    Map<Integer, TDataNodeConfiguration> availableDataNodeMap = buildDataNodeMap(4);
+    Map<Integer, Double> freeSpaceMap = new HashMap<>();
+    availableDataNodeMap.keySet().forEach(dataNodeId -> freeSpaceMap.put(dataNodeId, 1d));
+
+    // Each DataNode holds the same number of Regions, but DataNode-0 and 1 are much busier
+    List<TRegionReplicaSet> allocatedRegionGroups = new ArrayList<>();
+    allocatedRegionGroups.add(buildRegionGroup(0, 0, 1));
+    allocatedRegionGroups.add(buildRegionGroup(1, 2, 3));
+    Map<Integer, Double> hotScores = new HashMap<>();
+    hotScores.put(0, 0.4);
+    hotScores.put(1, 0.4);
+    regionLoadScoreMap.put(allocatedRegionGroups.get(0).getRegionId(), hotScores);
+    Map<Integer, Double> coldScores = new HashMap<>();
+    coldScores.put(2, 0.1);
+    coldScores.put(3, 0.1);
+    regionLoadScoreMap.put(allocatedRegionGroups.get(1).getRegionId(), coldScores);
+
+    TRegionReplicaSet newRegionGroup =
+        allocator.generateOptimalRegionReplicasDistribution(
+            availableDataNodeMap,
+            freeSpaceMap,
+            allocatedRegionGroups,
+            allocatedRegionGroups,
+            TEST_REPLICATION_FACTOR,
+            new TConsensusGroupId(TConsensusGroupType.DataRegion, 2));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(2, 3)), dataNodeIds(newRegionGroup));
+  }
+
+  @Test
+  public void testRemoveNodeReplicaSelect() {
+    Map<Integer, TDataNodeConfiguration> availableDataNodeMap = buildDataNodeMap(4);
+    Map<Integer, Double> freeSpaceMap = new HashMap<>();
+    availableDataNodeMap.keySet().forEach(dataNodeId -> freeSpaceMap.put(dataNodeId, 1d));
+
+    // DataNode-4 is being removed, and its replica of Region-2 needs a new home
+    List<TRegionReplicaSet> allocatedRegionGroups = new ArrayList<>();
+    allocatedRegionGroups.add(buildRegionGroup(0, 0, 1));
+    allocatedRegionGroups.add(buildRegionGroup(1, 2, 3));
+    allocatedRegionGroups.add(buildRegionGroup(2, 0));
+    Map<Integer, Double> hotScores = new HashMap<>();
+    hotScores.put(0, 0.3);
+    hotScores.put(1, 0.3);
+    regionLoadScoreMap.put(allocatedRegionGroups.get(0).getRegionId(), hotScores);
+    Map<Integer, Double> coldScores = new HashMap<>();
+    coldScores.put(2, 0.05);
+    coldScores.put(3, 0.15);
+    regionLoadScoreMap.put(allocatedRegionGroups.get(1).getRegionId(), coldScores);
+
+    Map<TConsensusGroupId, TRegionReplicaSet> remainReplicasMap = new HashMap<>();
+    remainReplicasMap.put(allocatedRegionGroups.get(2).getRegionId(), allocatedRegionGroups.get(2));
+    Map<TConsensusGroupId, TDataNodeConfiguration> result =
+        allocator.removeNodeReplicaSelect(
+            availableDataNodeMap,
+            freeSpaceMap,
+            allocatedRegionGroups,
+            new HashMap<>(),
+            new HashMap<>(),
+            remainReplicasMap);
+    // The least loaded DataNode that doesn't hold the Region yet is selected
+    Assert.assertEquals(
+        2,
+        result.get(allocatedRegionGroups.get(2).getRegionId()).getLocation().getDataNodeId());
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.router.leader;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.commons.cluster.NodeStatus;
+import org.apache.iotdb.commons.cluster.RegionStatus;
+import org.apache.iotdb.confignode.manager.load.cache.node.NodeStatistics;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class LoadAwareLeaderBalancerTest {
+
+  private static final String DATABASE = "root.database";
+  private static final int DATA_NODE_NUM = 3;
+
+  private final List<TConsensusGroupId> regionGroupIds = new ArrayList<>();
+  private final Map<TConsensusGroupId, Set<Integer>> regionLocationMap = new TreeMap<>();
+  private final Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap =
+      new TreeMap<>();
+  private final Map<Integer, NodeStatistics> dataNodeStatisticsMap = new TreeMap<>();
+  // The balancer is reused, since it shouldn't keep any state across balances
+  private final LoadAwareLeaderBalancer balancer = new LoadAwareLeaderBalancer(0.1);
+
+  private void prepareRegionGroups(double... loads) {
+    for (int i = 0; i < DATA_NODE_NUM; i++) {
+      dataNodeStatisticsMap.put(i, new NodeStatistics(NodeStatus.Running));
+    }
+    for (int i = 0; i < loads.length; i++) {
+      TConsensusGroupId regionGroupId = new TConsensusGroupId(TConsensusGroupType.DataRegion, i);
+      regionGroupIds.add(regionGroupId);
+      regionLocationMap.put(regionGroupId, new HashSet<>(Arrays.asList(0, 1, 2)));
+      Map<Integer, RegionStatistics> regionStatistics = new TreeMap<>();
+      for (int j = 0; j < DATA_NODE_NUM; j++) {
+        regionStatistics.put(
+            j, new RegionStatistics(System.nanoTime(), RegionStatus.Running, loads[i], 0, 0));
+      }
+      regionStatisticsMap.put(regionGroupId, regionStatistics);
+    }
+  }
+
+  private Map<TConsensusGroupId, Integer> balance(Map<TConsensusGroupId, Integer> leaderMap) {
+    Map<String, List<TConsensusGroupId>> databaseRegionGroupMap = new TreeMap<>();
+    databaseRegionGroupMap.put(DATABASE, regionGroupIds);
+    return balancer.generateOptimalLeaderDistribution(
+        databaseRegionGroupMap,
+        regionLocationMap,
+        leaderMap,
+        dataNodeStatisticsMap,
+        regionStatisticsMap);
+  }
+
+  @Test
+  public void balanceByLoadTest() {
+    // One heavy RegionGroup and six light ones, all leaders are on DataNode-0 at first
+    prepareRegionGroups(90, 10, 10, 10, 10, 10, 10);
+    Map<TConsensusGroupId, Integer> leaderMap = new TreeMap<>();
+    regionGroupIds.forEach(regionGroupId -> leaderMap.put(regionGroupId, 0));
+
+    Map<TConsensusGroupId, Integer> result = balance(leaderMap);
+    // The heavy RegionGroup keeps its leader, and the light ones are shared by the others
+    Assert.assertEquals(0, (int) result.get(regionGroupIds.get(0)));
+    Map<Integer, Integer> leaderCounter = new TreeMap<>();
+    for (int i = 1; i < regionGroupIds.size(); i++) {
+      leaderCounter.merge(result.get(regionGroupIds.get(i)), 1, Integer::sum);
+    }
+    Assert.assertFalse(leaderCounter.containsKey(0));
+    Assert.assertEquals(3, (int) leaderCounter.get(1));
+    Assert.assertEquals(3, (int) leaderCounter.get(2));
+
+    // The balanced distribution is stable
+    Assert.assertEquals(result, balance(result));
+  }
+
+  @Test
+  public void keepWithinThresholdTest() {
+    // The leader loads are 100, 95 and 105, which are within the threshold
+    prepareRegionGroups(50, 50, 95, 105);
+    Map<TConsensusGroupId, Integer> leaderMap = new TreeMap<>();
+    leaderMap.put(regionGroupIds.get(0), 0);
+    leaderMap.put(regionGroupIds.get(1), 0);
+    leaderMap.put(regionGroupIds.get(2), 1);
+    leaderMap.put(regionGroupIds.get(3), 2);
+    Assert.assertEquals(leaderMap, new TreeMap<>(balance(leaderMap)));
+  }
+
+  @Test
+  public void moveLeaderByLoadChangeTest() {
+    // Two leaders on each DataNode, and the loads are even
+    prepareRegionGroups(10, 10, 10, 10, 10, 10);
+    Map<TConsensusGroupId, Integer> leaderMap = new TreeMap<>();
+    for (int i = 0; i < regionGroupIds.size(); i++) {
+      leaderMap.put(regionGroupIds.get(i), i / 2);
+    }
+    Assert.assertEquals(leaderMap, new TreeMap<>(balance(leaderMap)));
+
+    // Only the loads of the leaders on DataNode-0 grow, the statuses stay the same
+    for (int i = 0; i < 2; i++) {
+      Map<Integer, RegionStatistics> regionStatistics =
+          regionStatisticsMap.get(regionGroupIds.get(i));
+      for (int j = 0; j < DATA_NODE_NUM; j++) {
+        RegionStatistics newStatistics =
+            new RegionStatistics(System.nanoTime(), RegionStatus.Running, 100, 0, 0);
+        // Thus, no statistics change event is broadcast
+        Assert.assertEquals(regionStatistics.get(j), newStatistics);
+        regionStatistics.put(j, newStatistics);
+      }
+    }
+
+    // The two heavy RegionGroups no longer share the same leader
+    Map<TConsensusGroupId, Integer> result = balance(leaderMap);
+    Assert.assertNotEquals(result.get(regionGroupIds.get(0)), result.get(regionGroupIds.get(1)));
+    Assert.assertEquals(result, balance(result));
+  }
+}
@@ -23,11 +23,14 @@ import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
 import org.apache.iotdb.commons.cluster.RegionStatus;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionGroupCache;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionHeartbeatSample;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionStatistics;
 import org.apache.iotdb.confignode.manager.partition.RegionGroupStatus;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -171,4 +174,61 @@ public class RegionGroupCacheTest {
     Assert.assertEquals(
         RegionGroupStatus.Running, regionGroupCache.getCurrentStatistics().getRegionGroupStatus());
   }
+
+  @Test
+  public void regionLoadStatisticsTest() {
+    long currentTime = System.nanoTime();
+    RegionGroupCache regionGroupCache =
+        new RegionGroupCache(DATABASE, GROUP_ID, Stream.of(0).collect(Collectors.toSet()), false);
+    regionGroupCache.cacheHeartbeatSample(
+        0, new RegionHeartbeatSample(currentTime, RegionStatus.Running, 1000, 0, 4096));
+    regionGroupCache.cacheHeartbeatSample(
+        0,
+        new RegionHeartbeatSample(
+            currentTime + 2_000_000_000L, RegionStatus.Running, 5000, 1_000_000_000L, 8192));
+    regionGroupCache.updateCurrentStatistics();
+
+    // 4000 points and 1s CPU time in 2 seconds
+    RegionStatistics statistics = regionGroupCache.getRegionCache(0).getCurrentStatistics();
+    Assert.assertEquals(2000, statistics.getWritePointsPerSecond(), 1e-6);
+    Assert.assertEquals(0.5, statistics.getQueryCpuUsage(), 1e-6);
+    Assert.assertEquals(8192, statistics.getDiskBytes());
+    // The SeriesSlots are not sampled
+    Assert.assertTrue(statistics.getSeriesSlotWritePointsPerSecond().isEmpty());
+  }
+
+  @Test
+  public void seriesSlotLoadStatisticsTest() {
+    long currentTime = System.nanoTime();
+    RegionGroupCache regionGroupCache =
+        new RegionGroupCache(DATABASE, GROUP_ID, Stream.of(0).collect(Collectors.toSet()), false);
+    Map<Integer, Long> previousWrittenPoints = new HashMap<>();
+    previousWrittenPoints.put(1, 1000L);
+    previousWrittenPoints.put(2, 3000L);
+    regionGroupCache.cacheHeartbeatSample(
+        0,
+        new RegionHeartbeatSample(
+            currentTime, RegionStatus.Running, 4000, 0, 4096, previousWrittenPoints));
+    Map<Integer, Long> latestWrittenPoints = new HashMap<>();
+    latestWrittenPoints.put(1, 5000L);
+    latestWrittenPoints.put(2, 3000L);
+    latestWrittenPoints.put(3, 2000L);
+    regionGroupCache.cacheHeartbeatSample(
+        0,
+        new RegionHeartbeatSample(
+            currentTime + 2_000_000_000L,
+            RegionStatus.Running,
+            10000,
+            0,
+            4096,
+            latestWrittenPoints));
+    regionGroupCache.updateCurrentStatistics();
+
+    // Only the SeriesSlots written in the 2 seconds are loaded
+    Map<Integer, Double> expected = new HashMap<>();
+    expected.put(1, 2000.0);
+    expected.put(3, 1000.0);
+    RegionStatistics statistics = regionGroupCache.getRegionCache(0).getCurrentStatistics();
+    Assert.assertEquals(expected, statistics.getSeriesSlotWritePointsPerSecond());
+  }
 }
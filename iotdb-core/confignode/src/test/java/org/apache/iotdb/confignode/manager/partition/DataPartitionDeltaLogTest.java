@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.partition.DataPartitionTable;
+import org.apache.iotdb.commons.partition.SeriesPartitionTable;
+import org.apache.iotdb.mpp.rpc.thrift.TDataPartitionDelta;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DataPartitionDeltaLogTest {
+
+  private static final String DATABASE = "root.db";
+  private static final int DATA_NODE_ID = 1;
+
+  private static Map<String, DataPartitionTable> genDataPartition(int seriesSlot, long timeSlot) {
+    Map<TTimePartitionSlot, List<TConsensusGroupId>> seriesPartitionMap = new HashMap<>();
+    seriesPartitionMap.put(
+        new TTimePartitionSlot(timeSlot),
+        Collections.singletonList(new TConsensusGroupId(TConsensusGroupType.DataRegion, 1)));
+    Map<TSeriesPartitionSlot, SeriesPartitionTable> dataPartitionMap = new HashMap<>();
+    dataPartitionMap.put(
+        new TSeriesPartitionSlot(seriesSlot), new SeriesPartitionTable(seriesPartitionMap));
+    return Collections.singletonMap(DATABASE, new DataPartitionTable(dataPartitionMap));
+  }
+
+  private static void acknowledge(DataPartitionDeltaLog log, TDataPartitionDelta delta) {
+    log.acknowledge(DATA_NODE_ID, delta.getEpoch(), delta.getVersion());
+  }
+
+  private static Map<String, Set<TTimePartitionSlot>> genRemoval(long timeSlot) {
+    return Collections.singletonMap(
+        DATABASE, Collections.singleton(new TTimePartitionSlot(timeSlot)));
+  }
+
+  @Test
+  public void generateDeltaTest() {
+    DataPartitionDeltaLog log = new DataPartitionDeltaLog(16);
+
+    // Wait for the DataNode to report its version
+    log.append(genDataPartition(0, 0));
+    Assert.assertNull(log.generateDelta(DATA_NODE_ID));
+
+    // A DataNode that has never applied any delta is rebased to the current version
+    log.acknowledge(DATA_NODE_ID, -1, -1);
+    TDataPartitionDelta delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(1, delta.getVersion());
+    Assert.assertFalse(delta.isSetDataPartitionTable());
+    Assert.assertTrue(delta.isInvalidateAll());
+    acknowledge(log, delta);
+    Assert.assertNull(log.generateDelta(DATA_NODE_ID));
+
+    // The DataPartitions created after the acknowledged version are merged
+    log.append(genDataPartition(1, 0));
+    log.append(genDataPartition(1, 100));
+    delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(3, delta.getVersion());
+    Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>> slotMap =
+        delta.getDataPartitionTable().get(DATABASE);
+    Assert.assertEquals(1, slotMap.size());
+    Assert.assertEquals(2, slotMap.get(new TSeriesPartitionSlot(1)).size());
+    Assert.assertFalse(delta.isInvalidateAll());
+    acknowledge(log, delta);
+    Assert.assertNull(log.generateDelta(DATA_NODE_ID));
+
+    // The deleted Database is no longer pushed
+    log.append(genDataPartition(2, 0));
+    log.removeDatabase(DATABASE);
+    delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(4, delta.getVersion());
+    Assert.assertTrue(delta.getDataPartitionTable().isEmpty());
+  }
+
+  @Test
+  public void rebaseTest() {
+    DataPartitionDeltaLog log = new DataPartitionDeltaLog(2);
+    log.append(genDataPartition(0, 0));
+    log.acknowledge(DATA_NODE_ID, -1, -1);
+    acknowledge(log, log.generateDelta(DATA_NODE_ID));
+
+    // The DataNode lags behind the truncated creations, which are fetched on demand
+    for (int i = 1; i <= 3; i++) {
+      log.append(genDataPartition(i, 0));
+    }
+    TDataPartitionDelta delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(4, delta.getVersion());
+    Assert.assertEquals(2, delta.getDataPartitionTable().get(DATABASE).size());
+    Assert.assertFalse(delta.isInvalidateAll());
+    acknowledge(log, delta);
+
+    // The DataNode has followed a different version stream
+    log.append(genDataPartition(4, 0));
+    log.acknowledge(DATA_NODE_ID, delta.getEpoch() + 1, 4);
+    delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(5, delta.getVersion());
+    Assert.assertFalse(delta.isSetDataPartitionTable());
+    Assert.assertTrue(delta.isInvalidateAll());
+
+    // The DataNode is ahead of the log
+    log.acknowledge(DATA_NODE_ID, delta.getEpoch(), 6);
+    delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(5, delta.getVersion());
+    Assert.assertTrue(delta.isInvalidateAll());
+  }
+
+  @Test
+  public void removalTest() {
+    DataPartitionDeltaLog log = new DataPartitionDeltaLog(3);
+    log.append(genDataPartition(0, 0));
+    log.acknowledge(DATA_NODE_ID, -1, -1);
+    acknowledge(log, log.generateDelta(DATA_NODE_ID));
+
+    // Nothing is recorded if no TimePartition is removed
+    log.appendRemoval(Collections.emptyMap());
+    Assert.assertEquals(1, log.getVersion());
+
+    // Only the removed TimePartitions are pushed, along with the created DataPartitions
+    log.append(genDataPartition(1, 0));
+    log.appendRemoval(genRemoval(0));
+    log.append(genDataPartition(1, 100));
+    TDataPartitionDelta delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(4, delta.getVersion());
+    Assert.assertEquals(
+        Collections.singletonList(new TTimePartitionSlot(0)),
+        delta.getRemovedTimePartitions().get(DATABASE));
+    // The DataPartition created before the removal of its TimePartition is not pushed
+    Map<TTimePartitionSlot, List<TConsensusGroupId>> timeSlotMap =
+        delta.getDataPartitionTable().get(DATABASE).get(new TSeriesPartitionSlot(1));
+    Assert.assertEquals(Collections.singleton(new TTimePartitionSlot(100)), timeSlotMap.keySet());
+    Assert.assertFalse(delta.isInvalidateAll());
+
+    // The DataNode lags behind the truncated log across a removal
+    log.append(genDataPartition(2, 100));
+    log.append(genDataPartition(3, 100));
+    delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(6, delta.getVersion());
+    Assert.assertFalse(delta.isSetDataPartitionTable());
+    Assert.assertFalse(delta.isSetRemovedTimePartitions());
+    Assert.assertTrue(delta.isInvalidateAll());
+    acknowledge(log, delta);
+
+    // The removal before the acknowledged version doesn't remove anything
+    log.append(genDataPartition(4, 100));
+    delta = log.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(7, delta.getVersion());
+    Assert.assertFalse(delta.isSetRemovedTimePartitions());
+    Assert.assertFalse(delta.isInvalidateAll());
+  }
+
+  @Test
+  public void continuationTest() throws IOException {
+    // The logs of different ConfigNodes apply the same plans
+    DataPartitionDeltaLog leaderLog = new DataPartitionDeltaLog(16);
+    DataPartitionDeltaLog followerLog = new DataPartitionDeltaLog(16);
+    for (DataPartitionDeltaLog log : Arrays.asList(leaderLog, followerLog)) {
+      log.append(genDataPartition(0, 0));
+      log.appendRemoval(genRemoval(0));
+      log.append(genDataPartition(0, 100));
+    }
+    leaderLog.acknowledge(DATA_NODE_ID, -1, -1);
+    TDataPartitionDelta delta = leaderLog.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(3, delta.getVersion());
+
+    // The follower restarts from a snapshot, which keeps the version and the removals
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    followerLog.serialize(outputStream);
+    followerLog = new DataPartitionDeltaLog(16);
+    followerLog.deserialize(new ByteArrayInputStream(outputStream.toByteArray()));
+    Assert.assertEquals(3, followerLog.getVersion());
+
+    // The follower becomes the leader, and the DataNode continues the same version stream
+    followerLog.clearAcknowledgedVersions();
+    followerLog.append(genDataPartition(1, 100));
+    Assert.assertNull(followerLog.generateDelta(DATA_NODE_ID));
+    acknowledge(followerLog, delta);
+    delta = followerLog.generateDelta(DATA_NODE_ID);
+    Assert.assertEquals(4, delta.getVersion());
+    Assert.assertFalse(delta.isInvalidateAll());
+    Assert.assertEquals(1, delta.getDataPartitionTable().get(DATABASE).size());
+
+    // A DataNode which has missed the removal still removes the TimePartition
+    followerLog.acknowledge(DATA_NODE_ID, delta.getEpoch(), 1);
+    delta = followerLog.generateDelta(DATA_NODE_ID);
+    Assert.assertFalse(delta.isInvalidateAll());
+    Assert.assertEquals(
+        Collections.singletonList(new TTimePartitionSlot(0)),
+        delta.getRemovedTimePartitions().get(DATABASE));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
+import org.apache.iotdb.commons.partition.DataPartitionTable;
+import org.apache.iotdb.commons.partition.SeriesPartitionTable;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
+import org.apache.iotdb.confignode.consensus.request.ConfigPhysicalPlanType;
+import org.apache.iotdb.confignode.consensus.request.read.partition.GetOrCreateDataPartitionPlan;
+import org.apache.iotdb.confignode.consensus.request.write.database.DatabaseSchemaPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.CreateDataPartitionPlan;
+import org.apache.iotdb.confignode.consensus.request.write.region.CreateRegionGroupsPlan;
+import org.apache.iotdb.confignode.consensus.response.partition.DataPartitionResp;
+import org.apache.iotdb.confignode.manager.IManager;
+import org.apache.iotdb.confignode.manager.schema.ClusterSchemaManager;
+import org.apache.iotdb.confignode.persistence.partition.PartitionInfo;
+import org.apache.iotdb.confignode.rpc.thrift.TDatabaseSchema;
+import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class PartitionManagerTest {
+
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
+  private static final String DATABASE = "root.db";
+  private static final TConsensusGroupId DATA_REGION_ID =
+      new TConsensusGroupId(TConsensusGroupType.DataRegion, 1);
+
+  private final long originalAheadTime = CONF.getDataPartitionPreCreateAheadTimeInMs();
+  private PartitionInfo partitionInfo;
+  private PartitionManager partitionManager;
+
+  @Before
+  public void setUp() {
+    partitionInfo = new PartitionInfo();
+    partitionInfo.createDatabase(
+        new DatabaseSchemaPlan(
+            ConfigPhysicalPlanType.CreateDatabase, new TDatabaseSchema(DATABASE)));
+    CreateRegionGroupsPlan createRegionGroupsPlan = new CreateRegionGroupsPlan();
+    createRegionGroupsPlan.addRegionGroup(
+        DATABASE, new TRegionReplicaSet(DATA_REGION_ID, new ArrayList<>()));
+    partitionInfo.createRegionGroups(createRegionGroupsPlan);
+
+    ClusterSchemaManager clusterSchemaManager = Mockito.mock(ClusterSchemaManager.class);
+    Mockito.when(clusterSchemaManager.getDatabaseNames(null))
+        .thenReturn(Collections.singletonList(DATABASE));
+    IManager configManager = Mockito.mock(IManager.class);
+    Mockito.when(configManager.getClusterSchemaManager()).thenReturn(clusterSchemaManager);
+    partitionManager = Mockito.spy(new PartitionManager(configManager, partitionInfo));
+    Mockito.doReturn(
+            new DataPartitionResp(
+                new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode()),
+                true,
+                Collections.emptyMap()))
+        .when(partitionManager)
+        .getOrCreateDataPartition(Mockito.any());
+  }
+
+  @After
+  public void tearDown() {
+    CONF.setDataPartitionPreCreateAheadTimeInMs(originalAheadTime);
+    partitionInfo.clear();
+  }
+
+  private void createDataPartition(int seriesSlot, TTimePartitionSlot timePartitionSlot) {
+    Map<TTimePartitionSlot, List<TConsensusGroupId>> seriesPartitionMap = new HashMap<>();
+    seriesPartitionMap.put(timePartitionSlot, Collections.singletonList(DATA_REGION_ID));
+    Map<TSeriesPartitionSlot, SeriesPartitionTable> dataPartitionMap = new HashMap<>();
+    dataPartitionMap.put(
+        new TSeriesPartitionSlot(seriesSlot), new SeriesPartitionTable(seriesPartitionMap));
+    CreateDataPartitionPlan createDataPartitionPlan = new CreateDataPartitionPlan();
+    createDataPartitionPlan.setAssignedDataPartition(
+        Collections.singletonMap(DATABASE, new DataPartitionTable(dataPartitionMap)));
+    partitionInfo.createDataPartition(createDataPartitionPlan);
+  }
+
+  @Test
+  public void preCreateDataPartitionsTest() {
+    // Always within the ahead time of the next time partition
+    CONF.setDataPartitionPreCreateAheadTimeInMs(
+        CommonDescriptor.getInstance().getConfig().getTimePartitionInterval());
+    long now = System.currentTimeMillis();
+    TTimePartitionSlot currentTimePartitionSlot = TimePartitionUtils.getTimePartitionSlot(now);
+    TTimePartitionSlot nextTimePartitionSlot =
+        TimePartitionUtils.getTimePartitionSlot(TimePartitionUtils.getTimePartitionUpperBound(now));
+    TTimePartitionSlot previousTimePartitionSlot =
+        TimePartitionUtils.getTimePartitionSlot(
+            currentTimePartitionSlot.getStartTime()
+                - CommonDescriptor.getInstance().getConfig().getTimePartitionInterval());
+    createDataPartition(1, currentTimePartitionSlot);
+    createDataPartition(3, currentTimePartitionSlot);
+    // The SeriesSlot that is inactive in the current time partition is not pre-created
+    createDataPartition(5, previousTimePartitionSlot);
+
+    partitionManager.preCreateDataPartitions();
+
+    ArgumentCaptor<GetOrCreateDataPartitionPlan> captor =
+        ArgumentCaptor.forClass(GetOrCreateDataPartitionPlan.class);
+    Mockito.verify(partitionManager).getOrCreateDataPartition(captor.capture());
+    Map<TSeriesPartitionSlot, TTimeSlotList> slotsMap =
+        captor.getValue().getPartitionSlotsMap().get(DATABASE);
+    Assert.assertEquals(
+        new HashSet<>(Arrays.asList(new TSeriesPartitionSlot(1), new TSeriesPartitionSlot(3))),
+        slotsMap.keySet());
+    slotsMap
+        .values()
+        .forEach(
+            timeSlotList ->
+                Assert.assertEquals(
+                    Collections.singletonList(nextTimePartitionSlot),
+                    timeSlotList.getTimePartitionSlots()));
+  }
+
+  @Test
+  public void preCreateDataPartitionsOutOfAheadTimeTest() {
+    CONF.setDataPartitionPreCreateAheadTimeInMs(0);
+    createDataPartition(1, TimePartitionUtils.getTimePartitionSlot(System.currentTimeMillis()));
+
+    partitionManager.preCreateDataPartitions();
+
+    Mockito.verify(partitionManager, Mockito.never()).getOrCreateDataPartition(Mockito.any());
+  }
+}
@@ -26,22 +26,27 @@ import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
 import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.partition.DataPartitionTable;
 import org.apache.iotdb.commons.partition.SchemaPartitionTable;
 import org.apache.iotdb.commons.partition.SeriesPartitionTable;
 import org.apache.iotdb.confignode.consensus.request.ConfigPhysicalPlanType;
 import org.apache.iotdb.confignode.consensus.request.read.region.GetRegionInfoListPlan;
 import org.apache.iotdb.confignode.consensus.request.write.database.DatabaseSchemaPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.AutoCleanPartitionTablePlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateDataPartitionPlan;
 import org.apache.iotdb.confignode.consensus.request.write.partition.CreateSchemaPartitionPlan;
+import org.apache.iotdb.confignode.consensus.request.write.partition.UpdateDataAllotTablePlan;
 import org.apache.iotdb.confignode.consensus.request.write.region.CreateRegionGroupsPlan;
 import org.apache.iotdb.confignode.consensus.request.write.region.OfferRegionMaintainTasksPlan;
 import org.apache.iotdb.confignode.consensus.response.partition.RegionInfoListResp;
+import org.apache.iotdb.confignode.manager.partition.DataPartitionDeltaLog;
 import org.apache.iotdb.confignode.persistence.partition.PartitionInfo;
 import org.apache.iotdb.confignode.persistence.partition.maintainer.RegionCreateTask;
 import org.apache.iotdb.confignode.persistence.partition.maintainer.RegionDeleteTask;
 import org.apache.iotdb.confignode.rpc.thrift.TDatabaseSchema;
 import org.apache.iotdb.confignode.rpc.thrift.TShowRegionReq;
+import org.apache.iotdb.mpp.rpc.thrift.TDataPartitionDelta;
 
 import org.apache.thrift.TException;
 import org.apache.tsfile.external.commons.io.FileUtils;
@@ -54,6 +59,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -135,13 +141,31 @@ public class PartitionInfoTest {
                 testFlag.SchemaPartition.getFlag(), TConsensusGroupType.SchemaRegion));
     partitionInfo.createSchemaPartition(createSchemaPartitionPlan);
 
-    // Create a DataPartition
+    // Move two SeriesSlots by load
+    TConsensusGroupId dataRegionId =
+        generateTConsensusGroupId(testFlag.DataPartition.getFlag(), TConsensusGroupType.DataRegion);
     CreateDataPartitionPlan createDataPartitionPlan =
-        generateCreateDataPartitionReq(
-            testFlag.DataPartition.getFlag(),
-            generateTConsensusGroupId(
-                testFlag.DataPartition.getFlag(), TConsensusGroupType.DataRegion));
+        generateCreateDataPartitionReq(testFlag.DataPartition.getFlag(), dataRegionId);
+    TSeriesPartitionSlot completedSlot =
+        createDataPartitionPlan
+            .getAssignedDataPartition()
+            .get("root.test")
+            .getDataPartitionMap()
+            .keySet()
+            .iterator()
+            .next();
+    TSeriesPartitionSlot pendingSlot = new TSeriesPartitionSlot(10000);
+    Map<TSeriesPartitionSlot, TConsensusGroupId> movedSeriesSlotMap = new HashMap<>();
+    movedSeriesSlotMap.put(completedSlot, dataRegionId);
+    movedSeriesSlotMap.put(pendingSlot, dataRegionId);
+    partitionInfo.updateDataAllotTable(
+        new UpdateDataAllotTablePlan("root.test", movedSeriesSlotMap));
+
+    // Create a DataPartition, which completes the move of a SeriesSlot
     partitionInfo.createDataPartition(createDataPartitionPlan);
+    Assert.assertEquals(
+        Collections.singletonMap(pendingSlot, dataRegionId),
+        partitionInfo.getPendingDataAllotMoves("root.test"));
 
     partitionInfo.offerRegionMaintainTasks(generateOfferRegionMaintainTasksPlan());
 
@@ -152,6 +176,67 @@ public class PartitionInfoTest {
     Assert.assertEquals(partitionInfo, partitionInfo1);
   }
 
+  @Test
+  public void testAutoCleanDataPartitionDelta() throws TException, IOException {
+    partitionInfo.createDatabase(
+        new DatabaseSchemaPlan(
+            ConfigPhysicalPlanType.CreateDatabase, new TDatabaseSchema("root.test")));
+    TConsensusGroupId dataRegionId =
+        generateTConsensusGroupId(testFlag.DataPartition.getFlag(), TConsensusGroupType.DataRegion);
+    CreateRegionGroupsPlan createRegionGroupsReq = new CreateRegionGroupsPlan();
+    createRegionGroupsReq.addRegionGroup(
+        "root.test", generateTRegionReplicaSet(testFlag.DataPartition.getFlag(), dataRegionId));
+    partitionInfo.createRegionGroups(createRegionGroupsReq);
+    CreateDataPartitionPlan createDataPartitionPlan =
+        generateCreateDataPartitionReq(testFlag.DataPartition.getFlag(), dataRegionId);
+    partitionInfo.createDataPartition(createDataPartitionPlan);
+    DataPartitionDeltaLog dataPartitionDeltaLog = partitionInfo.getDataPartitionDeltaLog();
+    Assert.assertEquals(1, dataPartitionDeltaLog.getVersion());
+
+    // Nothing is removed
+    long timePartitionInterval =
+        CommonDescriptor.getInstance().getConfig().getTimePartitionInterval();
+    TTimePartitionSlot earliestTimeSlot =
+        createDataPartitionPlan
+            .getAssignedDataPartition()
+            .get("root.test")
+            .getDataPartitionMap()
+            .values()
+            .iterator()
+            .next()
+            .getSeriesPartitionMap()
+            .keySet()
+            .stream()
+            .min(Comparator.comparingLong(TTimePartitionSlot::getStartTime))
+            .get();
+    partitionInfo.autoCleanPartitionTable(
+        new AutoCleanPartitionTablePlan(
+            Collections.singletonMap("root.test", 1L), earliestTimeSlot));
+    Assert.assertEquals(1, dataPartitionDeltaLog.getVersion());
+
+    // Only the earliest TimePartition is expired
+    partitionInfo.autoCleanPartitionTable(
+        new AutoCleanPartitionTablePlan(
+            Collections.singletonMap("root.test", 1L),
+            new TTimePartitionSlot(earliestTimeSlot.getStartTime() + timePartitionInterval + 1)));
+    Assert.assertEquals(2, dataPartitionDeltaLog.getVersion());
+    dataPartitionDeltaLog.acknowledge(0, 0, 1);
+    TDataPartitionDelta delta = dataPartitionDeltaLog.generateDelta(0);
+    Assert.assertEquals(
+        Collections.singletonMap("root.test", Collections.singletonList(earliestTimeSlot)),
+        delta.getRemovedTimePartitions());
+
+    // The version and the removals are restored from the snapshot
+    Assert.assertTrue(partitionInfo.processTakeSnapshot(snapshotDir));
+    PartitionInfo partitionInfo1 = new PartitionInfo();
+    partitionInfo1.processLoadSnapshot(snapshotDir);
+    Assert.assertEquals(partitionInfo, partitionInfo1);
+    DataPartitionDeltaLog dataPartitionDeltaLog1 = partitionInfo1.getDataPartitionDeltaLog();
+    Assert.assertEquals(2, dataPartitionDeltaLog1.getVersion());
+    dataPartitionDeltaLog1.acknowledge(0, 0, 1);
+    Assert.assertEquals(delta, dataPartitionDeltaLog1.generateDelta(0));
+  }
+
   @Test
   public void testGetRegionType() {
 
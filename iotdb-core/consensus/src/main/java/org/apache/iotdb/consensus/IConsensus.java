@@ -23,6 +23,7 @@ import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.ReadConsistency;
 import org.apache.iotdb.consensus.common.request.IConsensusRequest;
 import org.apache.iotdb.consensus.config.ConsensusConfig;
 import org.apache.iotdb.consensus.exception.ConsensusException;
@@ -80,6 +81,23 @@ public interface IConsensus {
    */
   DataSet read(ConsensusGroupId groupId, IConsensusRequest request) throws ConsensusException;
 
+  /**
+   * Read data from the corresponding consensus group with the given consistency instead of the
+   * configured one.
+   *
+   * @param groupId the consensus group this request belongs
+   * @param request read request
+   * @param consistency the consistency of this read
+   * @return read result
+   * @throws ConsensusGroupNotExistException when the specified consensus group doesn't exist
+   * @throws ConsensusException when read doesn't success with other reasons
+   */
+  default DataSet read(
+      ConsensusGroupId groupId, IConsensusRequest request, ReadConsistency consistency)
+      throws ConsensusException {
+    return read(groupId, request);
+  }
+
   // multi consensus group API
 
   /**
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.common;
+
+/**
+ * The consistency of a single read. The consensus protocols which do not support weaker reads serve
+ * every read in their own way regardless of it.
+ */
+public enum ReadConsistency {
+  /** Use the read option configured for the consensus. */
+  DEFAULT,
+  /** Confirm the commit index with the leader. */
+  LINEARIZABLE,
+  /** Linearizable read whose read index is confirmed by the leader lease, if it is enabled. */
+  LEASE,
+  /** Read the local copy if it has caught up with the leader within the max staleness. */
+  BOUNDED_STALENESS
+}
@@ -323,6 +323,11 @@ public class IoTConsensusConfig {
     private final IMemoryBlock consensusMemoryBlock;
     private final double maxMemoryRatioForQueue;
     private final long regionMigrationSpeedLimitBytesPerSecond;
+    private final boolean enableSharedDispatcher;
+    private final int sharedDispatcherThreadNum;
+    private final boolean enableWALSegmentCatchUp;
+    private final long walSegmentCatchUpThreshold;
+    private final int walSegmentCatchUpThreadNum;
 
     private Replication(
         int maxLogEntriesNumPerBatch,
@@ -338,7 +343,12 @@ public class IoTConsensusConfig {
         long checkpointGap,
         IMemoryBlock consensusMemoryBlock,
         double maxMemoryRatioForQueue,
-        long regionMigrationSpeedLimitBytesPerSecond) {
+        long regionMigrationSpeedLimitBytesPerSecond,
+        boolean enableSharedDispatcher,
+        int sharedDispatcherThreadNum,
+        boolean enableWALSegmentCatchUp,
+        long walSegmentCatchUpThreshold,
+        int walSegmentCatchUpThreadNum) {
       this.maxLogEntriesNumPerBatch = maxLogEntriesNumPerBatch;
       this.maxSizePerBatch = maxSizePerBatch;
       this.maxPendingBatchesNum = maxPendingBatchesNum;
@@ -353,6 +363,11 @@ public class IoTConsensusConfig {
       this.consensusMemoryBlock = consensusMemoryBlock;
       this.maxMemoryRatioForQueue = maxMemoryRatioForQueue;
       this.regionMigrationSpeedLimitBytesPerSecond = regionMigrationSpeedLimitBytesPerSecond;
+      this.enableSharedDispatcher = enableSharedDispatcher;
+      this.sharedDispatcherThreadNum = sharedDispatcherThreadNum;
+      this.enableWALSegmentCatchUp = enableWALSegmentCatchUp;
+      this.walSegmentCatchUpThreshold = walSegmentCatchUpThreshold;
+      this.walSegmentCatchUpThreadNum = walSegmentCatchUpThreadNum;
     }
 
     public int getMaxLogEntriesNumPerBatch() {
@@ -411,6 +426,26 @@ public class IoTConsensusConfig {
       return regionMigrationSpeedLimitBytesPerSecond;
     }
 
+    public boolean isEnableSharedDispatcher() {
+      return enableSharedDispatcher;
+    }
+
+    public int getSharedDispatcherThreadNum() {
+      return sharedDispatcherThreadNum;
+    }
+
+    public boolean isEnableWALSegmentCatchUp() {
+      return enableWALSegmentCatchUp;
+    }
+
+    public long getWalSegmentCatchUpThreshold() {
+      return walSegmentCatchUpThreshold;
+    }
+
+    public int getWalSegmentCatchUpThreadNum() {
+      return walSegmentCatchUpThreadNum;
+    }
+
     public static Replication.Builder newBuilder() {
       return new Replication.Builder();
     }
@@ -434,6 +469,13 @@ public class IoTConsensusConfig {
               "Consensus-Default", null, Runtime.getRuntime().maxMemory() / 10);
       private double maxMemoryRatioForQueue = 0.6;
       private long regionMigrationSpeedLimitBytesPerSecond = 32 * 1024 * 1024L;
+      private boolean enableSharedDispatcher = false;
+      private int sharedDispatcherThreadNum =
+          Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+      private boolean enableWALSegmentCatchUp = false;
+      private long walSegmentCatchUpThreshold = 100_000L;
+      private int walSegmentCatchUpThreadNum =
+          Math.max(1, Runtime.getRuntime().availableProcessors() / 8);
 
       public Replication.Builder setMaxLogEntriesNumPerBatch(int maxLogEntriesNumPerBatch) {
         this.maxLogEntriesNumPerBatch = maxLogEntriesNumPerBatch;
@@ -508,6 +550,37 @@ public class IoTConsensusConfig {
         return this;
       }
 
+      public Builder setEnableSharedDispatcher(boolean enableSharedDispatcher) {
+        this.enableSharedDispatcher = enableSharedDispatcher;
+        return this;
+      }
+
+      /** Values less than or equal to 0 are ignored and the default thread num is kept. */
+      public Builder setSharedDispatcherThreadNum(int sharedDispatcherThreadNum) {
+        if (sharedDispatcherThreadNum > 0) {
+          this.sharedDispatcherThreadNum = sharedDispatcherThreadNum;
+        }
+        return this;
+      }
+
+      public Builder setEnableWALSegmentCatchUp(boolean enableWALSegmentCatchUp) {
+        this.enableWALSegmentCatchUp = enableWALSegmentCatchUp;
+        return this;
+      }
+
+      public Builder setWalSegmentCatchUpThreshold(long walSegmentCatchUpThreshold) {
+        this.walSegmentCatchUpThreshold = walSegmentCatchUpThreshold;
+        return this;
+      }
+
+      /** Values less than or equal to 0 are ignored and the default thread num is kept. */
+      public Builder setWalSegmentCatchUpThreadNum(int walSegmentCatchUpThreadNum) {
+        if (walSegmentCatchUpThreadNum > 0) {
+          this.walSegmentCatchUpThreadNum = walSegmentCatchUpThreadNum;
+        }
+        return this;
+      }
+
       public Replication build() {
         return new Replication(
             maxLogEntriesNumPerBatch,
@@ -523,7 +596,12 @@ public class IoTConsensusConfig {
             checkpointGap,
             consensusMemoryBlock,
             maxMemoryRatioForQueue,
-            regionMigrationSpeedLimitBytesPerSecond);
+            regionMigrationSpeedLimitBytesPerSecond,
+            enableSharedDispatcher,
+            sharedDispatcherThreadNum,
+            enableWALSegmentCatchUp,
+            walSegmentCatchUpThreshold,
+            walSegmentCatchUpThreadNum);
       }
     }
   }
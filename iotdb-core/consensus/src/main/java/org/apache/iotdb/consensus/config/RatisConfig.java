@@ -1119,16 +1119,35 @@ public class RatisConfig {
 
   public static class Read {
     public enum Option {
+      /** Stale read after the first linearizable read succeeds, until the leader changes. */
       DEFAULT,
-      LINEARIZABLE
+      LINEARIZABLE,
+      /**
+       * Linearizable read with the leader lease of Ratis enabled, so the leader confirms the read
+       * index without a heartbeat round while its lease is valid.
+       */
+      LEASE,
+      /**
+       * Any replica serves reads locally if it has caught up with the leader by a linearizable read
+       * within the max staleness, otherwise falls back to linearizable read.
+       */
+      BOUNDED_STALENESS
     }
 
     private final Read.Option readOption;
     private final TimeDuration readTimeout;
-
-    private Read(Read.Option readOption, TimeDuration readTimeout) {
+    private final double leaderLeaseTimeoutRatio;
+    private final TimeDuration maxStaleness;
+
+    private Read(
+        Read.Option readOption,
+        TimeDuration readTimeout,
+        double leaderLeaseTimeoutRatio,
+        TimeDuration maxStaleness) {
       this.readOption = readOption;
       this.readTimeout = readTimeout;
+      this.leaderLeaseTimeoutRatio = leaderLeaseTimeoutRatio;
+      this.maxStaleness = maxStaleness;
     }
 
     public Option getReadOption() {
@@ -1139,6 +1158,15 @@ public class RatisConfig {
       return readTimeout;
     }
 
+    /** The lease lasts for this ratio of the min leader election timeout. */
+    public double getLeaderLeaseTimeoutRatio() {
+      return leaderLeaseTimeoutRatio;
+    }
+
+    public TimeDuration getMaxStaleness() {
+      return maxStaleness;
+    }
+
     public static Read.Builder newBuilder() {
       return new Read.Builder();
     }
@@ -1146,6 +1174,8 @@ public class RatisConfig {
     public static class Builder {
       private Read.Option readOption = Option.DEFAULT;
       private TimeDuration readTimeout = TimeDuration.valueOf(10, TimeUnit.SECONDS);
+      private double leaderLeaseTimeoutRatio = 0.9;
+      private TimeDuration maxStaleness = TimeDuration.valueOf(1, TimeUnit.SECONDS);
 
       public Read.Builder setReadOption(Read.Option readOption) {
         this.readOption = readOption;
@@ -1157,8 +1187,18 @@ public class RatisConfig {
         return this;
       }
 
+      public Read.Builder setLeaderLeaseTimeoutRatio(double leaderLeaseTimeoutRatio) {
+        this.leaderLeaseTimeoutRatio = leaderLeaseTimeoutRatio;
+        return this;
+      }
+
+      public Read.Builder setMaxStaleness(TimeDuration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+        return this;
+      }
+
       public Read build() {
-        return new Read(readOption, readTimeout);
+        return new Read(readOption, readTimeout, leaderLeaseTimeoutRatio, maxStaleness);
       }
     }
   }
@@ -31,9 +31,11 @@ import org.apache.iotdb.commons.service.metric.PerformanceOverviewMetrics;
 import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
 import org.apache.iotdb.commons.utils.KillPoint.DataNodeKillPoints;
 import org.apache.iotdb.commons.utils.KillPoint.KillPoint;
+import org.apache.iotdb.commons.utils.RetryUtils;
 import org.apache.iotdb.consensus.IStateMachine;
 import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.request.BatchIndexedConsensusRequest;
 import org.apache.iotdb.consensus.common.request.DeserializedBatchIndexedConsensusRequest;
 import org.apache.iotdb.consensus.common.request.IConsensusRequest;
 import org.apache.iotdb.consensus.common.request.IndexedConsensusRequest;
@@ -43,7 +45,9 @@ import org.apache.iotdb.consensus.iot.client.AsyncIoTConsensusServiceClient;
 import org.apache.iotdb.consensus.iot.client.SyncIoTConsensusServiceClient;
 import org.apache.iotdb.consensus.iot.log.ConsensusReqReader;
 import org.apache.iotdb.consensus.iot.log.GetConsensusReqReaderPlan;
+import org.apache.iotdb.consensus.iot.logdispatcher.IoTConsensusMemoryManager;
 import org.apache.iotdb.consensus.iot.logdispatcher.LogDispatcher;
+import org.apache.iotdb.consensus.iot.logdispatcher.WALSegmentFragmentReader;
 import org.apache.iotdb.consensus.iot.snapshot.IoTConsensusRateLimiter;
 import org.apache.iotdb.consensus.iot.snapshot.SnapshotFragmentReader;
 import org.apache.iotdb.consensus.iot.thrift.TActivatePeerReq;
@@ -58,6 +62,8 @@ import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelReq;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelRes;
 import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
 import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentRes;
+import org.apache.iotdb.consensus.iot.thrift.TSendWALSegmentFragmentReq;
+import org.apache.iotdb.consensus.iot.thrift.TSendWALSegmentFragmentRes;
 import org.apache.iotdb.consensus.iot.thrift.TTriggerSnapshotLoadReq;
 import org.apache.iotdb.consensus.iot.thrift.TTriggerSnapshotLoadRes;
 import org.apache.iotdb.consensus.iot.thrift.TWaitReleaseAllRegionRelatedResourceReq;
@@ -81,6 +87,7 @@ import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -96,6 +103,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Pattern;
 
 import static org.apache.iotdb.commons.utils.FileUtils.humanReadableByteCountSI;
@@ -103,6 +111,7 @@ import static org.apache.iotdb.commons.utils.FileUtils.humanReadableByteCountSI;
 public class IoTConsensusServerImpl {
 
   public static final String SNAPSHOT_DIR_NAME = "snapshot";
+  private static final String WAL_SEGMENT_DIR_NAME = "wal-segment";
   private static final Pattern SNAPSHOT_INDEX_PATTEN = Pattern.compile(".*[^\\d](?=(\\d+))");
   private static final PerformanceOverviewMetrics PERFORMANCE_OVERVIEW_METRICS =
       PerformanceOverviewMetrics.getInstance();
@@ -376,6 +385,173 @@ public class IoTConsensusServerImpl {
     }
   }
 
+  /**
+   * Transmit a sealed log file to a follower lagging far behind, which replays the requests whose
+   * search index is not less than startIndex after receiving the whole file.
+   *
+   * @param cancelled checked before sending each fragment, so that a transmission outliving its
+   *     dispatcher, e.g., one waiting for the restarted follower, is abandoned
+   * @return search index of the last request replayed by the follower, or startIndex - 1 if nothing
+   *     is replayed
+   */
+  public long transmitWALSegment(
+      Peer targetPeer, File segment, long startIndex, BooleanSupplier cancelled) {
+    long startTime = System.nanoTime();
+    try (SyncIoTConsensusServiceClient client =
+            syncClientManager.borrowClient(targetPeer.getEndpoint());
+        WALSegmentFragmentReader reader =
+            new WALSegmentFragmentReader(segment, config.getReplication().getMaxSizePerBatch())) {
+      while (reader.hasNext()) {
+        if (cancelled.getAsBoolean()) {
+          logger.info("Cancelled transmitting wal segment {} to {}", segment.getName(), targetPeer);
+          return startIndex - 1;
+        }
+        long offset = reader.getOffset();
+        ByteBuffer fragment = reader.next();
+        TSendWALSegmentFragmentReq req =
+            new TSendWALSegmentFragmentReq(
+                thisNode.getNodeId(),
+                targetPeer.getGroupId().convertToTConsensusGroupId(),
+                segment.getName(),
+                startIndex,
+                offset,
+                fragment,
+                !reader.hasNext());
+        TSendWALSegmentFragmentRes res = client.sendWALSegmentFragment(req);
+        if (!isSuccess(res.getStatus())) {
+          logger.warn(
+              "Failed to transmit wal segment {} to {} because {}",
+              segment.getName(),
+              targetPeer,
+              res.getStatus());
+          return startIndex - 1;
+        }
+        if (req.isLastFragment() && res.isSetLastAppliedSearchIndex()) {
+          logger.info(
+              "Caught up {} from {} to {} with wal segment {} in {}ms",
+              targetPeer,
+              startIndex,
+              res.getLastAppliedSearchIndex(),
+              segment.getName(),
+              TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+          return res.getLastAppliedSearchIndex();
+        }
+      }
+    } catch (Exception e) {
+      logger.warn("Failed to transmit wal segment {} to {}", segment.getName(), targetPeer, e);
+    }
+    return startIndex - 1;
+  }
+
+  /**
+   * Receive a fragment of a sealed log file of the leader, and replay the file after the last
+   * fragment is received.
+   *
+   * @return search index of the last replayed request if it's the last fragment, or startIndex - 1
+   */
+  public long receiveWALSegmentFragment(
+      int sourcePeerId,
+      String segmentName,
+      long startIndex,
+      long offset,
+      ByteBuffer fragment,
+      boolean lastFragment)
+      throws IOException {
+    File segment = new File(new File(storageDir, WAL_SEGMENT_DIR_NAME), segmentName);
+    if (!segment.getCanonicalFile().getParentFile().getName().equals(WAL_SEGMENT_DIR_NAME)) {
+      throw new IOException(String.format("Invalid wal segment name %s", segmentName));
+    }
+    if (offset == 0) {
+      Files.createDirectories(segment.toPath().getParent());
+      Files.deleteIfExists(segment.toPath());
+    }
+    try (FileChannel channel =
+        FileChannel.open(segment.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = fragment.slice();
+      long position = offset;
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+    }
+    if (!lastFragment) {
+      return startIndex - 1;
+    }
+    try {
+      return replayWALSegment(sourcePeerId, segment, startIndex);
+    } finally {
+      Files.deleteIfExists(segment.toPath());
+    }
+  }
+
+  /**
+   * Replay the requests of a received wal segment in batches bounded by the entry number and size
+   * limits of the replication, each batch is admitted by the memory of synchronization before
+   * being applied, so only one batch of the file is in memory at a time.
+   */
+  private long replayWALSegment(int sourcePeerId, File segment, long startIndex)
+      throws IOException {
+    int maxBatchNum = config.getReplication().getMaxLogEntriesNumPerBatch();
+    long maxBatchSize = config.getReplication().getMaxSizePerBatch();
+    IoTConsensusMemoryManager memoryManager = IoTConsensusMemoryManager.getInstance();
+    long lastApplied = startIndex - 1;
+    try (ConsensusReqReader.SegmentReader reader =
+        consensusReqReader.readSealedSegment(segment, startIndex)) {
+      // the slices of the last request may continue in the next segment, it is left to the log
+      // dispatcher, so a request is only replayed once the following one is read
+      IndexedConsensusRequest request = reader.next();
+      IndexedConsensusRequest following = request == null ? null : reader.next();
+      boolean gap = false;
+      while (following != null && !gap) {
+        BatchIndexedConsensusRequest batch = new BatchIndexedConsensusRequest(sourcePeerId);
+        long batchSize = 0;
+        while (following != null
+            && batch.getRequests().size() < maxBatchNum
+            && (batch.getRequests().isEmpty() || batchSize < maxBatchSize)) {
+          if (request.getSearchIndex() != lastApplied + 1 + batch.getRequests().size()) {
+            // a gap, e.g., caused by a corrupted entry, the rest is left to the log dispatcher
+            gap = true;
+            break;
+          }
+          IndexedConsensusRequest replayed =
+              buildIndexedConsensusRequestForRemoteRequest(
+                  request.getSearchIndex(), request.getRequests());
+          replayed.buildSerializedRequests();
+          batchSize += replayed.getMemorySize();
+          batch.add(replayed);
+          request = following;
+          following = reader.next();
+        }
+        if (batch.getRequests().isEmpty()) {
+          break;
+        }
+        if (!memoryManager.reserve(batchSize)) {
+          logger.warn(
+              "Stop replaying wal segment {} at {} because the memory of synchronization is "
+                  + "insufficient",
+              segment.getName(),
+              batch.getStartSyncIndex());
+          break;
+        }
+        try {
+          TSStatus status = syncLog(sourcePeerId, stateMachine.deserializeRequest(batch));
+          if (status.getSubStatus().stream()
+              .anyMatch(subStatus -> RetryUtils.needRetryForWrite(subStatus.getCode()))) {
+            logger.warn(
+                "Stop replaying wal segment {} at {} because {}",
+                segment.getName(),
+                batch.getStartSyncIndex(),
+                status.getSubStatus());
+            break;
+          }
+        } finally {
+          memoryManager.free(batchSize);
+        }
+        lastApplied = batch.getEndSyncIndex();
+      }
+    }
+    return lastApplied;
+  }
+
   private String calculateSnapshotPath(String snapshotId, String originalFilePath)
       throws ConsensusGroupModifyPeerException {
     if (!originalFilePath.contains(snapshotId)) {
@@ -21,6 +21,9 @@ package org.apache.iotdb.consensus.iot.log;
 
 import org.apache.iotdb.consensus.common.request.IndexedConsensusRequest;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -82,6 +85,54 @@ public interface ConsensusReqReader {
     void skipTo(long targetIndex);
   }
 
+  /**
+   * Gets the sealed log file which probably contains the consensus request of the specified index.
+   * A follower lagging far behind could be caught up by transferring the whole file, see {@link
+   * #readSealedSegment(File, long)}.
+   *
+   * @return null if the request is not in any sealed file or the reader does not support it
+   */
+  default File getSealedSegment(long searchIndex) {
+    return null;
+  }
+
+  /**
+   * Opens a reader of the consensus requests in a sealed log file, which may be transferred from
+   * another peer. The requests are read lazily in ascending order of search index, and the slices
+   * of the last one may continue in the next file.
+   *
+   * @param startIndex requests whose search index is less than it are skipped
+   * @return an empty reader if the reader does not support it, so that nothing is replayed and the
+   *     entries are sent batch by batch instead
+   */
+  default SegmentReader readSealedSegment(File segment, long startIndex) throws IOException {
+    return SegmentReader.EMPTY;
+  }
+
+  /** Reads the consensus requests of a sealed log file one by one. */
+  interface SegmentReader extends Closeable {
+
+    SegmentReader EMPTY =
+        new SegmentReader() {
+          @Override
+          public IndexedConsensusRequest next() {
+            return null;
+          }
+
+          @Override
+          public void close() {
+            // nothing to close
+          }
+        };
+
+    /**
+     * Reads the next consensus request of the file.
+     *
+     * @return null if there is no more request
+     */
+    IndexedConsensusRequest next() throws IOException;
+  }
+
   /** Get current search index. */
   long getCurrentSearchIndex();
 
@@ -93,6 +93,22 @@ public class IoTConsensusMemoryManager {
     return reserved;
   }
 
+  /**
+   * Reserve memory for data which is neither queued nor in a batch, e.g., the requests replayed
+   * from a wal segment, it is accounted as the memory of synchronization.
+   */
+  public boolean reserve(long size) {
+    boolean reserved = reserve(size, false);
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Reserving {} bytes {}, current total usage {}",
+          size,
+          reserved ? "succeeds" : "fails",
+          memoryBlock.getUsedMemoryInBytes());
+    }
+    return reserved;
+  }
+
   private boolean reserve(long size, boolean fromQueue) {
     boolean result =
         fromQueue
@@ -134,6 +150,11 @@ public class IoTConsensusMemoryManager {
     }
   }
 
+  /** Free the memory reserved by {@link #reserve(long)}. */
+  public void free(long size) {
+    free(size, false);
+  }
+
   private void free(long size, boolean fromQueue) {
     long currentUsedMemory = memoryBlock.release(size);
     if (fromQueue) {
@@ -38,6 +38,7 @@ import org.apache.iotdb.consensus.iot.thrift.TSyncLogEntriesReq;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -48,7 +49,13 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -62,6 +69,8 @@ public class LogDispatcher {
   private final int selfPeerId;
   private final IClientManager<TEndPoint, AsyncIoTConsensusServiceClient> clientManager;
   private ExecutorService executorService;
+  // whether the dispatchers run on the pool shared by all consensus groups
+  private final boolean sharedDispatcherEnabled;
 
   private final ConsensusReqReader reader;
   private boolean stopped = false;
@@ -79,12 +88,13 @@ public class LogDispatcher {
     this.reader = (ConsensusReqReader) impl.getStateMachine().read(new GetConsensusReqReaderPlan());
     this.selfPeerId = impl.getThisNode().getNodeId();
     this.clientManager = clientManager;
+    this.sharedDispatcherEnabled = impl.getConfig().getReplication().isEnableSharedDispatcher();
     this.threads =
         impl.getConfiguration().stream()
             .filter(x -> !Objects.equals(x, impl.getThisNode()))
             .map(x -> new LogDispatcherThread(x, impl.getConfig(), DEFAULT_INITIAL_SYNC_INDEX))
             .collect(Collectors.toList());
-    if (!threads.isEmpty()) {
+    if (!threads.isEmpty() && !sharedDispatcherEnabled) {
       initLogSyncThreadPool();
     }
   }
@@ -100,13 +110,18 @@ public class LogDispatcher {
   }
 
   public synchronized void start() {
-    if (!threads.isEmpty()) {
+    if (sharedDispatcherEnabled) {
+      threads.forEach(LogDispatcherThread::startDispatching);
+    } else if (!threads.isEmpty()) {
       threads.forEach(logDispatcherThread -> executorService.submit(logDispatcherThread));
     }
   }
 
   public synchronized void stop() {
-    if (!threads.isEmpty()) {
+    if (sharedDispatcherEnabled) {
+      // the shared pool is never shut down as it serves other consensus groups as well
+      threads.forEach(LogDispatcherThread::stop);
+    } else if (!threads.isEmpty()) {
       threads.forEach(LogDispatcherThread::setStopped);
       executorService.shutdownNow();
       threads.forEach(LogDispatcherThread::processStopped);
@@ -130,6 +145,12 @@ public class LogDispatcher {
     }
     LogDispatcherThread thread = new LogDispatcherThread(peer, impl.getConfig(), initialSyncIndex);
     threads.add(thread);
+    if (sharedDispatcherEnabled) {
+      if (startNow) {
+        thread.startDispatching();
+      }
+      return;
+    }
     // If the initial replica is 1, the executorService won't be initialized. And when adding
     // dispatcher thread, the executorService should be initialized manually
     if (this.executorService == null) {
@@ -211,10 +232,70 @@ public class LogDispatcher {
     return logEntriesFromQueue.get();
   }
 
+  /**
+   * Lazily created pool shared by the dispatchers of all consensus groups. Each dispatcher only
+   * occupies a thread of it when there is something to send, i.e., new entries are offered or a
+   * pending batch is acked, so a handful of threads is enough for thousands of peers.
+   */
+  private static class SharedDispatcherExecutorHolder {
+
+    private static volatile ScheduledExecutorService executor;
+
+    private static ScheduledExecutorService getExecutor(int threadNum) {
+      if (executor == null) {
+        synchronized (SharedDispatcherExecutorHolder.class) {
+          if (executor == null) {
+            executor =
+                IoTDBThreadPoolFactory.newScheduledThreadPoolWithDaemon(
+                    threadNum, ThreadName.LOG_DISPATCHER.getName() + "-Shared");
+          }
+        }
+      }
+      return executor;
+    }
+
+    private SharedDispatcherExecutorHolder() {
+      // empty constructor
+    }
+  }
+
+  /**
+   * Lazily created pool transmitting sealed wal segments to the peers lagging far behind, so that
+   * the transmission and the replay of a whole segment do not occupy the thread dispatching other
+   * peers. A dispatcher transmits at most one segment at a time.
+   */
+  private static class WALSegmentCatchUpExecutorHolder {
+
+    private static volatile ExecutorService executor;
+
+    private static ExecutorService getExecutor(int threadNum) {
+      if (executor == null) {
+        synchronized (WALSegmentCatchUpExecutorHolder.class) {
+          if (executor == null) {
+            executor =
+                IoTDBThreadPoolFactory.newFixedThreadPoolWithDaemonThread(
+                    threadNum, ThreadName.LOG_DISPATCHER.getName() + "-WALSegment");
+          }
+        }
+      }
+      return executor;
+    }
+
+    private WALSegmentCatchUpExecutorHolder() {
+      // empty constructor
+    }
+  }
+
   public class LogDispatcherThread implements Runnable {
 
     private static final long PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC = 10;
+    private static final long NO_DEADLINE = -1;
     private static final long START_INDEX = 1;
+    // backoff of retrying a batch whose memory can not be reserved by the shared dispatcher
+    private static final long MIN_MEMORY_RETRY_DELAY_IN_MS = 10;
+    private static final long MAX_MEMORY_RETRY_DELAY_IN_MS = 1000;
+    // delay of checking again a wal entry which is not flushed yet by the shared dispatcher
+    private static final long WAL_ENTRY_RETRY_DELAY_IN_MS = 10;
     private final IoTConsensusConfig config;
     private final Peer peer;
     private final IndexController controller;
@@ -237,6 +318,30 @@ public class LogDispatcher {
 
     private final CountDownLatch runFinished = new CountDownLatch(1);
 
+    // The following fields are only used by the shared dispatcher.
+    // number of readiness events since the last dispatch round, a round is submitted to the shared
+    // pool only when it increases from 0, so that at most one round is running for this peer
+    private final AtomicInteger unhandledEvents = new AtomicInteger(0);
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean(false);
+    // guards the buffers and iterators below against a concurrent stop
+    private final Object dispatchLock = new Object();
+    // a batch which has been built but not admitted by the synchronization pipeline yet
+    private Batch heldBatch = null;
+    // time to send the entries accumulated so far even if the batch is not full
+    private long batchDeadlineInNs = NO_DEADLINE;
+    // delay of the next retry if the memory of the held batch can not be reserved
+    private long memoryRetryDelayInMs = MIN_MEMORY_RETRY_DELAY_IN_MS;
+    // whether the last batch stopped at a wal entry which is not flushed yet
+    private boolean walEntryNotReady = false;
+    private ScheduledFuture<?> periodicWakeUpFuture = null;
+
+    // the sending index at which the last catch-up with a sealed wal segment replayed nothing, the
+    // entries there are sent one by one instead of trying the same segment again
+    private volatile long segmentCatchUpRejectedIndex = -1;
+    // whether a sealed wal segment is being transmitted to the peer by the shared dispatcher,
+    // nothing else is sent meanwhile
+    private volatile boolean catchingUp = false;
+
     public LogDispatcherThread(Peer peer, IoTConsensusConfig config, long initialSyncIndex) {
       this.peer = peer;
       this.config = config;
@@ -297,6 +402,8 @@ public class LogDispatcher {
       if (!success) {
         // If offer failed, the reserved memory should be released
         iotConsensusMemoryManager.free(indexedConsensusRequest);
+      } else {
+        wakeUp();
       }
       return success;
     }
@@ -316,12 +423,22 @@ public class LogDispatcher {
     }
 
     private void processStopped() {
-      try {
-        if (!runFinished.await(30, TimeUnit.SECONDS)) {
-          logger.info("{}: Dispatcher for {} didn't stop after 30s.", impl.getThisNode(), peer);
+      if (sharedDispatcherEnabled) {
+        if (periodicWakeUpFuture != null) {
+          periodicWakeUpFuture.cancel(false);
+        }
+        // wait for the running round, later rounds will find the dispatcher stopped
+        synchronized (dispatchLock) {
+          heldBatch = null;
+        }
+      } else {
+        try {
+          if (!runFinished.await(30, TimeUnit.SECONDS)) {
+            logger.info("{}: Dispatcher for {} didn't stop after 30s.", impl.getThisNode(), peer);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
         }
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
       }
       for (IndexedConsensusRequest indexedConsensusRequest : pendingEntries) {
         iotConsensusMemoryManager.free(indexedConsensusRequest);
@@ -352,6 +469,13 @@ public class LogDispatcher {
       try {
         Batch batch;
         while (!Thread.interrupted() && !stopped) {
+          long catchUpIndex = syncStatus.getNextSendingIndex();
+          File segment = prepareSegmentCatchUp(catchUpIndex);
+          if (segment != null) {
+            // the thread is dedicated to this peer, so the segment is transmitted in place
+            catchUpWithSealedSegment(segment, catchUpIndex);
+            continue;
+          }
           long startTime = System.nanoTime();
           while ((batch = getBatch()).isEmpty()) {
             // we may block here if there is no requests in the queue
@@ -392,6 +516,220 @@ public class LogDispatcher {
       logger.info("{}: Dispatcher for {} exits", impl.getThisNode(), peer);
     }
 
+    private void startDispatching() {
+      logger.info("{}: Shared dispatcher for {} starts", impl.getThisNode(), peer);
+      // entries which are not offered to the queue, e.g., those written before a restart or
+      // dropped when the queue is full, are only noticed by this periodic round
+      periodicWakeUpFuture =
+          getSharedExecutor()
+              .scheduleWithFixedDelay(
+                  this::wakeUp, 0, PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Notify the shared dispatcher that there may be something to send, e.g., a new entry is
+     * offered or a pending batch is acked. Does nothing if the dispatcher runs in its own thread.
+     */
+    public void wakeUp() {
+      if (sharedDispatcherEnabled && !stopped && unhandledEvents.getAndIncrement() == 0) {
+        getSharedExecutor().execute(this::dispatch);
+      }
+    }
+
+    private ScheduledExecutorService getSharedExecutor() {
+      return SharedDispatcherExecutorHolder.getExecutor(
+          config.getReplication().getSharedDispatcherThreadNum());
+    }
+
+    private void dispatch() {
+      int events;
+      do {
+        events = unhandledEvents.get();
+        try {
+          dispatchOnce();
+        } catch (Exception e) {
+          logger.error("Unexpected error in logDispatcher for peer {}", peer, e);
+        }
+        // events arrived during this round need another round
+      } while (!unhandledEvents.compareAndSet(events, 0));
+    }
+
+    /** Send batches until the synchronization pipeline is full or there is nothing to send. */
+    private void dispatchOnce() {
+      synchronized (dispatchLock) {
+        while (!stopped && !catchingUp) {
+          if (heldBatch == null) {
+            if (!syncStatus.hasAvailableSlot()) {
+              // wait for the ack of a pending batch
+              return;
+            }
+            if (startSegmentCatchUp()) {
+              // woken up again when the transmission finishes
+              return;
+            }
+            if (pendingEntries.isEmpty()
+                && bufferedEntries.isEmpty()
+                && syncStatus.getNextSendingIndex() > impl.getSearchIndex()) {
+              return;
+            }
+            // If write pressure is low, we wait a little to reduce the number of RPC. Unlike the
+            // dedicated thread, a deadline is scheduled instead of sleeping.
+            if (bufferedEntries.isEmpty()
+                && !pendingEntries.isEmpty()
+                && pendingEntries.size() <= config.getReplication().getMaxLogEntriesNumPerBatch()) {
+              long now = System.nanoTime();
+              if (batchDeadlineInNs == NO_DEADLINE) {
+                batchDeadlineInNs =
+                    now
+                        + TimeUnit.MILLISECONDS.toNanos(
+                            config.getReplication().getMaxWaitingTimeForAccumulatingBatchInMs());
+              }
+              if (now < batchDeadlineInNs) {
+                scheduleWakeUp(batchDeadlineInNs - now);
+                return;
+              }
+            }
+            long startTime = System.nanoTime();
+            Batch batch = getBatch();
+            if (batch.isEmpty()) {
+              if (walEntryNotReady) {
+                // checked again later instead of waiting for the flush in the shared pool
+                scheduleWakeUp(TimeUnit.MILLISECONDS.toNanos(WAL_ENTRY_RETRY_DELAY_IN_MS));
+              }
+              return;
+            }
+            logDispatcherThreadMetrics.recordConstructBatchTime(System.nanoTime() - startTime);
+            batchDeadlineInNs = NO_DEADLINE;
+            heldBatch = batch;
+          }
+          if (!syncStatus.tryAddNextBatch(heldBatch)) {
+            if (syncStatus.hasAvailableSlot()) {
+              // the memory may be freed by other dispatchers, which does not wake this one up, so
+              // retry after a backoff
+              scheduleWakeUp(TimeUnit.MILLISECONDS.toNanos(memoryRetryDelayInMs));
+              memoryRetryDelayInMs =
+                  Math.min(memoryRetryDelayInMs * 2, MAX_MEMORY_RETRY_DELAY_IN_MS);
+            }
+            // otherwise retried on the next ack
+            return;
+          }
+          memoryRetryDelayInMs = MIN_MEMORY_RETRY_DELAY_IN_MS;
+          Batch batch = heldBatch;
+          heldBatch = null;
+          logEntriesFromWAL.addAndGet(batch.getLogEntriesNumFromWAL());
+          logEntriesFromQueue.addAndGet(
+              batch.getLogEntries().size() - batch.getLogEntriesNumFromWAL());
+          sendBatchAsync(batch, new DispatchLogHandler(this, logDispatcherThreadMetrics, batch));
+        }
+      }
+    }
+
+    private void scheduleWakeUp(long delayInNs) {
+      if (wakeUpScheduled.compareAndSet(false, true)) {
+        getSharedExecutor()
+            .schedule(
+                () -> {
+                  wakeUpScheduled.set(false);
+                  wakeUp();
+                },
+                delayInNs,
+                TimeUnit.NANOSECONDS);
+      }
+    }
+
+    /**
+     * If the peer lags far behind, the sealed wal file containing the next sending index is
+     * transmitted as a whole and replayed by the peer, which is much cheaper than sending the
+     * entries in it batch by batch. Entries are streamed again once the peer catches up to the
+     * unsealed files.
+     *
+     * <p>The memory of one fragment of the file is reserved if the file is returned, which is freed
+     * by {@link #catchUpWithSealedSegment(File, long)}.
+     *
+     * @return the sealed file to transmit, or null if the entries should be sent batch by batch
+     */
+    private File prepareSegmentCatchUp(long startIndex) {
+      if (!config.getReplication().isEnableWALSegmentCatchUp()
+          // the segment is replayed in order only if there is no batch in flight
+          || !syncStatus.getPendingBatches().isEmpty()) {
+        return null;
+      }
+      if (startIndex == segmentCatchUpRejectedIndex
+          || impl.getSearchIndex() - startIndex
+              < config.getReplication().getWalSegmentCatchUpThreshold()) {
+        return null;
+      }
+      File segment = reader.getSealedSegment(startIndex);
+      if (segment == null
+          || !iotConsensusMemoryManager.reserve(config.getReplication().getMaxSizePerBatch())) {
+        return null;
+      }
+      return segment;
+    }
+
+    /**
+     * Transmit the sealed wal file in the shared pool of segment transmission, the dispatcher is
+     * suspended until the transmission finishes.
+     *
+     * @return true if the transmission is started
+     */
+    private boolean startSegmentCatchUp() {
+      long startIndex = syncStatus.getNextSendingIndex();
+      File segment = prepareSegmentCatchUp(startIndex);
+      if (segment == null) {
+        return false;
+      }
+      catchingUp = true;
+      try {
+        WALSegmentCatchUpExecutorHolder.getExecutor(
+                config.getReplication().getWalSegmentCatchUpThreadNum())
+            .execute(
+                () -> {
+                  try {
+                    catchUpWithSealedSegment(segment, startIndex);
+                  } catch (Exception e) {
+                    logger.error("Unexpected error in logDispatcher for peer {}", peer, e);
+                  } finally {
+                    catchingUp = false;
+                    wakeUp();
+                  }
+                });
+      } catch (RejectedExecutionException e) {
+        catchingUp = false;
+        iotConsensusMemoryManager.free(config.getReplication().getMaxSizePerBatch());
+        return false;
+      }
+      return true;
+    }
+
+    /**
+     * Transmit a sealed wal file prepared by {@link #prepareSegmentCatchUp(long)} and advance the
+     * sending index to the last entry replayed by the peer.
+     */
+    private void catchUpWithSealedSegment(File segment, long startIndex) {
+      try {
+        if (stopped) {
+          // the task may run after the dispatcher is stopped, e.g., when the peer is restarted
+          return;
+        }
+        long lastApplied = impl.transmitWALSegment(peer, segment, startIndex, () -> stopped);
+        synchronized (dispatchLock) {
+          if (stopped) {
+            return;
+          }
+          if (lastApplied < startIndex) {
+            segmentCatchUpRejectedIndex = startIndex;
+            return;
+          }
+          logEntriesFromWAL.addAndGet(lastApplied - startIndex + 1);
+          controller.update(lastApplied, false);
+          updateSafelyDeletedSearchIndex();
+        }
+      } finally {
+        iotConsensusMemoryManager.free(config.getReplication().getMaxSizePerBatch());
+      }
+    }
+
     public void updateSafelyDeletedSearchIndex() {
       // update safely deleted search index to delete outdated info,
       // indicating that insert nodes whose search index are before this value can be deleted
@@ -406,6 +744,7 @@ public class LogDispatcher {
     }
 
     public Batch getBatch() {
+      walEntryNotReady = false;
       long startIndex = syncStatus.getNextSendingIndex();
       long maxIndex;
       synchronized (impl.getIndexObject()) {
@@ -455,7 +794,7 @@ public class LogDispatcher {
         if (startIndex != prev.getSearchIndex()) {
           boolean hasCorruptedData =
               constructBatchFromWAL(startIndex, prev.getSearchIndex(), batches);
-          if (hasCorruptedData || !batches.canAccumulate()) {
+          if (hasCorruptedData || walEntryNotReady || !batches.canAccumulate()) {
             batches.buildIndex();
             logger.debug(
                 "{} : accumulated a {} from wal", impl.getThisNode().getGroupId(), batches);
@@ -480,7 +819,7 @@ public class LogDispatcher {
           if (current.getSearchIndex() != prev.getSearchIndex() + 1) {
             boolean hasCorruptedData =
                 constructBatchFromWAL(prev.getSearchIndex() + 1, current.getSearchIndex(), batches);
-            if (hasCorruptedData || !batches.canAccumulate()) {
+            if (hasCorruptedData || walEntryNotReady || !batches.canAccumulate()) {
               batches.buildIndex();
               logger.debug(
                   "gap {} : accumulated a {} from queue and wal when gap",
@@ -541,10 +880,20 @@ public class LogDispatcher {
       while (targetIndex < maxIndex && logBatches.canAccumulate()) {
         logger.debug("construct from WAL for one Entry, index : {}", targetIndex);
         try {
-          walEntryIterator.waitForNextReady();
+          if (sharedDispatcherEnabled) {
+            // a thread of the shared pool never waits for the flush of one region's wal, the
+            // entries got so far are sent and the rest are retried later
+            walEntryIterator.waitForNextReady(0, TimeUnit.MILLISECONDS);
+          } else {
+            walEntryIterator.waitForNextReady();
+          }
         } catch (InterruptedException e) {
           Thread.currentThread().interrupt();
           logger.warn("wait for next WAL entry is interrupted");
+        } catch (TimeoutException e) {
+          logger.debug("WAL entry {} is not flushed yet", targetIndex);
+          walEntryNotReady = true;
+          break;
         }
         IndexedConsensusRequest data = walEntryIterator.next();
         if (data.getSearchIndex() < targetIndex) {
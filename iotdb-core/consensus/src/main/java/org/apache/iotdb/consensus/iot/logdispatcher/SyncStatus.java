@@ -64,6 +64,34 @@ public class SyncStatus {
     pendingBatches.add(batch);
   }
 
+  /**
+   * Non-blocking version of {@link #addNextBatch(Batch)} used by the shared dispatcher.
+   *
+   * @return false if the synchronization pipeline is full or the memory can not be reserved, in
+   *     which case the caller should retry after a batch is removed
+   */
+  public synchronized boolean tryAddNextBatch(Batch batch) {
+    if (pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum()
+        || !iotConsensusMemoryManager.reserve(batch)) {
+      return false;
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Reserved {} bytes for batch {}-{}, current total usage {}",
+          batch.getMemorySize(),
+          batch.getStartIndex(),
+          batch.getEndIndex(),
+          iotConsensusMemoryManager.getMemorySizeInByte());
+    }
+    pendingBatches.add(batch);
+    return true;
+  }
+
+  /** Whether the synchronization pipeline has room for another batch. */
+  public synchronized boolean hasAvailableSlot() {
+    return pendingBatches.size() < config.getReplication().getMaxPendingBatchesNum();
+  }
+
   /**
    * We only set a flag if this batch is not the first one. Notice, We need to confirm that the
    * batch in the parameter is actually in pendingBatches, rather than a reference to a different
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a sealed log file as raw byte fragments, which are replayed by the follower after all of
+ * them are received. The requests in the file are neither deserialized nor re-serialized on the
+ * leader, and the buffer is reused across fragments, so the returned buffer is only valid until the
+ * next call of {@link #next()}.
+ */
+public class WALSegmentFragmentReader implements Closeable {
+
+  private final FileChannel channel;
+  private final long fileSize;
+  private final ByteBuffer buffer;
+  private long offset = 0;
+
+  public WALSegmentFragmentReader(File segment, int fragmentSize) throws IOException {
+    this.channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ);
+    this.fileSize = channel.size();
+    this.buffer = ByteBuffer.allocate((int) Math.min(fragmentSize, Math.max(fileSize, 1)));
+  }
+
+  public boolean hasNext() {
+    return offset < fileSize;
+  }
+
+  /** Offset of the fragment to be returned by {@link #next()}. */
+  public long getOffset() {
+    return offset;
+  }
+
+  public ByteBuffer next() throws IOException {
+    buffer.clear();
+    buffer.limit((int) Math.min(buffer.capacity(), fileSize - offset));
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of the sealed segment");
+      }
+    }
+    buffer.flip();
+    offset += buffer.remaining();
+    return buffer;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -46,6 +46,8 @@ import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelReq;
 import org.apache.iotdb.consensus.iot.thrift.TRemoveSyncLogChannelRes;
 import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentReq;
 import org.apache.iotdb.consensus.iot.thrift.TSendSnapshotFragmentRes;
+import org.apache.iotdb.consensus.iot.thrift.TSendWALSegmentFragmentReq;
+import org.apache.iotdb.consensus.iot.thrift.TSendWALSegmentFragmentRes;
 import org.apache.iotdb.consensus.iot.thrift.TSyncLogEntriesReq;
 import org.apache.iotdb.consensus.iot.thrift.TSyncLogEntriesRes;
 import org.apache.iotdb.consensus.iot.thrift.TTriggerSnapshotLoadReq;
@@ -60,6 +62,7 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.stream.Collectors;
 
@@ -324,5 +327,55 @@ public class IoTConsensusRPCServiceProcessor implements IoTConsensusIService.Ifa
     return new TCleanupTransferredSnapshotRes(responseStatus);
   }
 
+  @Override
+  public TSendWALSegmentFragmentRes sendWALSegmentFragment(TSendWALSegmentFragmentReq req) {
+    ConsensusGroupId groupId =
+        ConsensusGroupId.Factory.createFromTConsensusGroupId(req.getConsensusGroupId());
+    IoTConsensusServerImpl impl = consensus.getImpl(groupId);
+    if (impl == null) {
+      String message =
+          String.format("unexpected consensusGroupId %s for sendWALSegmentFragment request", groupId);
+      LOGGER.error(message);
+      TSStatus status = new TSStatus(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      status.setMessage(message);
+      return new TSendWALSegmentFragmentRes(status);
+    }
+    if (impl.isReadOnly()) {
+      TSStatus status = new TSStatus(TSStatusCode.SYSTEM_READ_ONLY.getStatusCode());
+      status.setMessage("fail to sync wal segment because system is read-only.");
+      return new TSendWALSegmentFragmentRes(status);
+    }
+    if (!impl.isActive()) {
+      TSStatus status = new TSStatus(TSStatusCode.WRITE_PROCESS_REJECT.getStatusCode());
+      status.setMessage(
+          String.format(
+              "Peer is inactive and not ready to receive wal segment, %s, DataNode Id: %s",
+              groupId, impl.getThisNode().getNodeId()));
+      return new TSendWALSegmentFragmentRes(status);
+    }
+    try {
+      long lastApplied =
+          impl.receiveWALSegmentFragment(
+              req.getPeerId(),
+              req.getSegmentName(),
+              req.getStartSearchIndex(),
+              req.getOffset(),
+              req.fragment,
+              req.isLastFragment());
+      TSendWALSegmentFragmentRes res =
+          new TSendWALSegmentFragmentRes(
+              new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode()));
+      if (req.isLastFragment()) {
+        res.setLastAppliedSearchIndex(lastApplied);
+      }
+      return res;
+    } catch (IOException | UnsupportedOperationException e) {
+      LOGGER.error("failed to receive wal segment {}", req.getSegmentName(), e);
+      TSStatus status = new TSStatus(TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      status.setMessage(e.getMessage());
+      return new TSendWALSegmentFragmentRes(status);
+    }
+  }
+
   public void handleClientExit() {}
 }
@@ -36,6 +36,7 @@ import org.apache.iotdb.consensus.IConsensus;
 import org.apache.iotdb.consensus.IStateMachine;
 import org.apache.iotdb.consensus.common.DataSet;
 import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.ReadConsistency;
 import org.apache.iotdb.consensus.common.request.IConsensusRequest;
 import org.apache.iotdb.consensus.config.ConsensusConfig;
 import org.apache.iotdb.consensus.config.RatisConfig;
@@ -150,6 +151,24 @@ class RatisConsensus implements IConsensus {
 
   private final ConcurrentHashMap<ConsensusGroupId, AtomicBoolean> canServeStaleRead;
 
+  /**
+   * For BOUNDED_STALENESS read, stale read is allowed before the deadline (in nanoTime), which is
+   * extended by a successful linearizable read.
+   */
+  private final ConcurrentHashMap<ConsensusGroupId, AtomicLong> staleReadDeadline;
+
+  private final long maxStalenessNanos;
+
+  /**
+   * For LEASE read, the estimated deadline (in nanoTime) of the leader lease, which is only used to
+   * record whether the lease is valid. Ratis does not expose its lease, so it is estimated the same
+   * way: no other leader can be elected within a ratio of the min election timeout since the start
+   * of a linearizable read confirmed by the followers.
+   */
+  private final ConcurrentHashMap<ConsensusGroupId, AtomicLong> leaseDeadline;
+
+  private final long leaseTimeoutNanos;
+
   public RatisConsensus(ConsensusConfig config, IStateMachine.Registry registry) {
     myself =
         Utils.fromNodeInfoAndPriorityToRaftPeer(
@@ -165,6 +184,14 @@ class RatisConsensus implements IConsensus {
     this.readOption = this.config.getRead().getReadOption();
     this.canServeStaleRead =
         this.readOption == RatisConfig.Read.Option.DEFAULT ? new ConcurrentHashMap<>() : null;
+    // a single read may ask for another consistency than the configured one
+    this.staleReadDeadline = new ConcurrentHashMap<>();
+    this.maxStalenessNanos = this.config.getRead().getMaxStaleness().toLong(TimeUnit.NANOSECONDS);
+    this.leaseDeadline = new ConcurrentHashMap<>();
+    this.leaseTimeoutNanos =
+        (long)
+            (this.config.getRpc().getTimeoutMin().toLong(TimeUnit.NANOSECONDS)
+                * this.config.getRead().getLeaderLeaseTimeoutRatio());
     this.consensusGroupType = config.getConsensusGroupType();
     this.ratisMetricSet = new RatisMetricSet();
     this.transferLeadershipTimeoutMs =
@@ -403,26 +430,72 @@ class RatisConsensus implements IConsensus {
   @Override
   public DataSet read(ConsensusGroupId groupId, IConsensusRequest request)
       throws ConsensusException {
+    return read(groupId, request, ReadConsistency.DEFAULT);
+  }
+
+  /**
+   * Read with the given consistency. The leader lease of Ratis is only enabled if LEASE is the
+   * configured read option, otherwise a LEASE read confirms its read index by a heartbeat round
+   * like a LINEARIZABLE one.
+   */
+  @Override
+  public DataSet read(
+      ConsensusGroupId groupId, IConsensusRequest request, ReadConsistency consistency)
+      throws ConsensusException {
     RaftGroupId raftGroupId = Utils.fromConsensusGroupIdToRaftGroupId(groupId);
     RaftGroup group = getGroupInfo(raftGroupId);
     if (group == null || !group.getPeers().contains(myself)) {
       throw new ConsensusGroupNotExistException(groupId);
     }
 
-    // perform linearizable read under following two conditions:
-    // 1. Read.Option is linearizable
+    // perform linearizable read under following conditions:
+    // 1. Read.Option is linearizable or lease, the latter is answered by the leader lease of Ratis
     // 2. First probing read when Read.Option is default
-    final boolean isLinearizableRead =
-        readOption == RatisConfig.Read.Option.LINEARIZABLE
-            || !canServeStaleRead.computeIfAbsent(groupId, id -> new AtomicBoolean(false)).get();
+    // 3. The staleness is out of bound when Read.Option is bounded staleness
+    final RatisConfig.Read.Option option = toReadOption(consistency);
+    final boolean isLinearizableRead;
+    final String readStage;
+    switch (option) {
+      case LINEARIZABLE:
+        isLinearizableRead = true;
+        readStage = RatisMetricSet.LINEARIZABLE_READ;
+        break;
+      case LEASE:
+        isLinearizableRead = true;
+        readStage = RatisMetricSet.LEASE_READ;
+        RatisMetricsManager.getInstance()
+            .recordLeaseCheck(consensusGroupType, isLeaseValid(groupId, raftGroupId));
+        break;
+      case BOUNDED_STALENESS:
+        isLinearizableRead = !isBeforeStaleReadDeadline(groupId);
+        readStage =
+            isLinearizableRead
+                ? RatisMetricSet.LINEARIZABLE_READ
+                : RatisMetricSet.BOUNDED_STALENESS_READ;
+        break;
+      case DEFAULT:
+      default:
+        isLinearizableRead =
+            !canServeStaleRead.computeIfAbsent(groupId, id -> new AtomicBoolean(false)).get();
+        readStage =
+            isLinearizableRead ? RatisMetricSet.LINEARIZABLE_READ : RatisMetricSet.STALE_READ;
+        break;
+    }
 
     RaftClientReply reply;
     try {
-      reply = doRead(raftGroupId, request, isLinearizableRead);
+      final long readStartTime = System.nanoTime();
+      reply = doRead(raftGroupId, request, isLinearizableRead, readStage);
       // allow stale read if current linearizable read returns successfully
       if (canServeStaleRead != null && isLinearizableRead) {
         canServeStaleRead.get(groupId).set(true);
       }
+      if (isLinearizableRead) {
+        extendStaleReadDeadline(groupId, readStartTime);
+      }
+      if (option == RatisConfig.Read.Option.LEASE && isReadyLeader(raftGroupId)) {
+        extendLeaseDeadline(groupId, readStartTime);
+      }
     } catch (ReadException | ReadIndexException | NotLeaderException e) {
       if (isLinearizableRead) {
         // linearizable read failed. the RaftServer is recovering from Raft Log and cannot serve
@@ -452,9 +525,64 @@ class RatisConsensus implements IConsensus {
     return (DataSet) readResponseMessage.getContentHolder();
   }
 
+  private RatisConfig.Read.Option toReadOption(ReadConsistency consistency) {
+    switch (consistency) {
+      case LINEARIZABLE:
+        return RatisConfig.Read.Option.LINEARIZABLE;
+      case LEASE:
+        return RatisConfig.Read.Option.LEASE;
+      case BOUNDED_STALENESS:
+        return RatisConfig.Read.Option.BOUNDED_STALENESS;
+      case DEFAULT:
+      default:
+        return readOption;
+    }
+  }
+
+  private boolean isBeforeStaleReadDeadline(ConsensusGroupId groupId) {
+    return isBeforeDeadline(staleReadDeadline.get(groupId));
+  }
+
+  private boolean isLeaseValid(ConsensusGroupId groupId, RaftGroupId raftGroupId) {
+    return isBeforeDeadline(leaseDeadline.get(groupId)) && isReadyLeader(raftGroupId);
+  }
+
+  private static boolean isBeforeDeadline(AtomicLong deadline) {
+    return deadline != null && System.nanoTime() - deadline.get() < 0;
+  }
+
+  private boolean isReadyLeader(RaftGroupId raftGroupId) {
+    try {
+      final DivisionInfo divisionInfo = server.get().getDivision(raftGroupId).getInfo();
+      return divisionInfo.isLeader() && divisionInfo.isLeaderReady();
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /** A linearizable read started at readStartTime has caught up with the leader as of then. */
+  private void extendStaleReadDeadline(ConsensusGroupId groupId, long readStartTime) {
+    extendDeadline(staleReadDeadline, groupId, readStartTime + maxStalenessNanos);
+  }
+
+  /** The followers acknowledged the leader for the lease read started at readStartTime. */
+  private void extendLeaseDeadline(ConsensusGroupId groupId, long readStartTime) {
+    extendDeadline(leaseDeadline, groupId, readStartTime + leaseTimeoutNanos);
+  }
+
+  private static void extendDeadline(
+      ConcurrentHashMap<ConsensusGroupId, AtomicLong> deadlines,
+      ConsensusGroupId groupId,
+      long newDeadline) {
+    deadlines
+        .computeIfAbsent(groupId, id -> new AtomicLong(newDeadline))
+        .accumulateAndGet(newDeadline, (prev, next) -> next - prev > 0 ? next : prev);
+  }
+
   /** return a success raft client reply or throw an Exception */
   private RaftClientReply doRead(
-      RaftGroupId gid, IConsensusRequest readRequest, boolean linearizable) throws Exception {
+      RaftGroupId gid, IConsensusRequest readRequest, boolean linearizable, String readStage)
+      throws Exception {
     final RaftClientRequest.Type readType =
         linearizable
             ? RaftClientRequest.readRequestType()
@@ -464,7 +592,7 @@ class RatisConsensus implements IConsensus {
 
     RaftClientReply reply;
     try (AutoCloseable ignored =
-        RatisMetricsManager.getInstance().startReadTimer(consensusGroupType)) {
+        RatisMetricsManager.getInstance().startReadTimer(consensusGroupType, readStage)) {
       reply =
           Retriable.attempt(
               () -> {
@@ -1004,13 +1132,13 @@ class RatisConsensus implements IConsensus {
   }
 
   private void onLeaderChanged(RaftGroupMemberId groupMemberId, RaftPeerId leaderId) {
+    final ConsensusGroupId gid =
+        Utils.fromRaftGroupIdToConsensusGroupId(groupMemberId.getGroupId());
     Optional.ofNullable(canServeStaleRead)
-        .ifPresent(
-            m -> {
-              final ConsensusGroupId gid =
-                  Utils.fromRaftGroupIdToConsensusGroupId(groupMemberId.getGroupId());
-              canServeStaleRead.computeIfAbsent(gid, id -> new AtomicBoolean()).set(false);
-            });
+        .ifPresent(m -> m.computeIfAbsent(gid, id -> new AtomicBoolean()).set(false));
+    // the staleness is measured again from the new leader, whose lease is not inherited
+    staleReadDeadline.remove(gid);
+    leaseDeadline.remove(gid);
   }
 
   public RaftServer getServer() throws IOException {
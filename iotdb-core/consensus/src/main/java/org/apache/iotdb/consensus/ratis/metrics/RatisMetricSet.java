@@ -40,6 +40,8 @@ public class RatisMetricSet implements IMetricSet {
   private static final Map<String, MetricInfo> metricInfoMap = new HashMap<>();
   private static final String RATIS_CONSENSUS_WRITE = Metric.RATIS_CONSENSUS_WRITE.toString();
   private static final String RATIS_CONSENSUS_READ = Metric.RATIS_CONSENSUS_READ.toString();
+  private static final String RATIS_CONSENSUS_READ_LEASE =
+      Metric.RATIS_CONSENSUS_READ_LEASE.toString();
 
   private static final String DATA_REGION_RATIS_CONSENSUS_WRITE =
       TConsensusGroupType.DataRegion + "_" + RATIS_CONSENSUS_WRITE;
@@ -58,10 +60,17 @@ public class RatisMetricSet implements IMetricSet {
   public static final String WRITE_REMOTELY = "writeRemotely";
   public static final String SUBMIT_READ_REQUEST = "submitReadRequest";
   public static final String WRITE_STATE_MACHINE = "writeStateMachine";
+  public static final String LINEARIZABLE_READ = "linearizableRead";
+  public static final String STALE_READ = "staleRead";
+  public static final String LEASE_READ = "leaseRead";
+  public static final String BOUNDED_STALENESS_READ = "boundedStalenessRead";
+  public static final String LEASE_VALID = "valid";
+  public static final String LEASE_EXPIRED = "expired";
   private static final List<String> RATIS_WRITE_METRICS = new ArrayList<>();
   private static final List<String> RATIS_WRITE_STAGES = new ArrayList<>();
   private static final List<String> RATIS_READ_METRICS = new ArrayList<>();
   private static final List<String> RATIS_READ_STAGES = new ArrayList<>();
+  private static final List<MetricInfo> RATIS_LEASE_METRICS = new ArrayList<>();
 
   static {
     RATIS_WRITE_METRICS.add(DATA_REGION_RATIS_CONSENSUS_WRITE);
@@ -77,6 +86,10 @@ public class RatisMetricSet implements IMetricSet {
     RATIS_WRITE_STAGES.add(WRITE_STATE_MACHINE);
 
     RATIS_READ_STAGES.add(SUBMIT_READ_REQUEST);
+    RATIS_READ_STAGES.add(LINEARIZABLE_READ);
+    RATIS_READ_STAGES.add(STALE_READ);
+    RATIS_READ_STAGES.add(LEASE_READ);
+    RATIS_READ_STAGES.add(BOUNDED_STALENESS_READ);
 
     for (String ratisWriteMetric : RATIS_WRITE_METRICS) {
       for (String ratisWriteStage : RATIS_WRITE_STAGES) {
@@ -95,6 +108,17 @@ public class RatisMetricSet implements IMetricSet {
                 MetricType.TIMER, ratisReadMetric, Tag.STAGE.toString(), ratisReadStage));
       }
     }
+
+    for (TConsensusGroupType groupType : TConsensusGroupType.values()) {
+      for (String status : new String[] {LEASE_VALID, LEASE_EXPIRED}) {
+        RATIS_LEASE_METRICS.add(
+            new MetricInfo(
+                MetricType.COUNTER,
+                groupType + "_" + RATIS_CONSENSUS_READ_LEASE,
+                Tag.STATUS.toString(),
+                status));
+      }
+    }
   }
 
   @Override
@@ -104,6 +128,10 @@ public class RatisMetricSet implements IMetricSet {
       metricService.getOrCreateTimer(
           metricInfo.getName(), MetricLevel.CORE, metricInfo.getTagsInArray());
     }
+    for (MetricInfo metricInfo : RATIS_LEASE_METRICS) {
+      metricService.getOrCreateCounter(
+          metricInfo.getName(), MetricLevel.IMPORTANT, metricInfo.getTagsInArray());
+    }
   }
 
   @Override
@@ -112,5 +140,8 @@ public class RatisMetricSet implements IMetricSet {
     for (MetricInfo metricInfo : metricInfoMap.values()) {
       metricService.remove(MetricType.TIMER, metricInfo.getName(), metricInfo.getTagsInArray());
     }
+    for (MetricInfo metricInfo : RATIS_LEASE_METRICS) {
+      metricService.remove(MetricType.COUNTER, metricInfo.getName(), metricInfo.getTagsInArray());
+    }
   }
 }
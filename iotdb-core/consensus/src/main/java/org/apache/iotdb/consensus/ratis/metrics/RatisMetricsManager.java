@@ -63,8 +63,17 @@ public class RatisMetricsManager {
     return new TimeReporter(this::recordWriteRemotelyCost, consensusGroupType);
   }
 
-  public TimeReporter startReadTimer(TConsensusGroupType consensusGroupType) {
-    return new TimeReporter(this::recordReadRequestCost, consensusGroupType);
+  /**
+   * @param readStage the consistency level the read is served with, e.g., {@link
+   *     RatisMetricSet#LEASE_READ}
+   */
+  public TimeReporter startReadTimer(TConsensusGroupType consensusGroupType, String readStage) {
+    return new TimeReporter(
+        (costTimeInNanos, groupType) -> {
+          recordReadRequestCost(costTimeInNanos, groupType);
+          recordReadCost(costTimeInNanos, groupType, readStage);
+        },
+        consensusGroupType);
   }
 
   /** Record the time cost in write locally stage. */
@@ -102,6 +111,28 @@ public class RatisMetricsManager {
         RatisMetricSet.SUBMIT_READ_REQUEST);
   }
 
+  /** Record the time cost of read served with the given consistency level. */
+  private void recordReadCost(
+      long costTimeInNanos, TConsensusGroupType consensusGroupType, String readStage) {
+    metricService.timer(
+        costTimeInNanos,
+        TimeUnit.NANOSECONDS,
+        consensusGroupType.toString() + "_" + Metric.RATIS_CONSENSUS_READ,
+        MetricLevel.IMPORTANT,
+        Tag.STAGE.toString(),
+        readStage);
+  }
+
+  /** Record whether the leader lease is valid when a lease read arrives. */
+  public void recordLeaseCheck(TConsensusGroupType consensusGroupType, boolean valid) {
+    metricService.count(
+        1,
+        consensusGroupType.toString() + "_" + Metric.RATIS_CONSENSUS_READ_LEASE,
+        MetricLevel.IMPORTANT,
+        Tag.STATUS.toString(),
+        valid ? RatisMetricSet.LEASE_VALID : RatisMetricSet.LEASE_EXPIRED);
+  }
+
   /** Record the time cost in write state machine stage. */
   public void recordWriteStateMachineCost(
       long costTimeInNanos, TConsensusGroupType consensusGroupType) {
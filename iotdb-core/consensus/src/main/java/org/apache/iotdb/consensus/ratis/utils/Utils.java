@@ -352,6 +352,12 @@ public class Utils {
     If we prefer latency, we can directly use staleRead */
     RaftServerConfigKeys.Read.setOption(properties, RaftServerConfigKeys.Read.Option.LINEARIZABLE);
     RaftServerConfigKeys.Read.setTimeout(properties, config.getRead().getReadTimeout());
+    if (config.getRead().getReadOption() == RatisConfig.Read.Option.LEASE) {
+      // let the leader answer the read index of a linearizable read within its lease
+      RaftServerConfigKeys.Read.setLeaderLeaseEnabled(properties, true);
+      RaftServerConfigKeys.Read.setLeaderLeaseTimeoutRatio(
+          properties, config.getRead().getLeaderLeaseTimeoutRatio());
+    }
 
     RaftServerConfigKeys.setSleepDeviationThreshold(
         properties,
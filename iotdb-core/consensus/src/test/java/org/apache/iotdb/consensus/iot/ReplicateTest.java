@@ -28,6 +28,7 @@ import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.consensus.common.ConsensusGroup;
 import org.apache.iotdb.consensus.common.Peer;
 import org.apache.iotdb.consensus.config.ConsensusConfig;
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
 import org.apache.iotdb.consensus.exception.ConsensusException;
 import org.apache.iotdb.consensus.iot.util.TestEntry;
 import org.apache.iotdb.consensus.iot.util.TestStateMachine;
@@ -74,6 +75,7 @@ public class ReplicateTest {
   private final ConsensusGroup group = new ConsensusGroup(gid, peers);
   private final List<IoTConsensus> servers = new ArrayList<>();
   private final List<TestStateMachine> stateMachines = new ArrayList<>();
+  private boolean enableSharedDispatcher = false;
 
   @Before
   public void setUp() throws Exception {
@@ -106,6 +108,13 @@ public class ReplicateTest {
                             .setThisNode(peers.get(i).getEndpoint())
                             .setStorageDir(peersStorage.get(i).getAbsolutePath())
                             .setConsensusGroupType(TConsensusGroupType.DataRegion)
+                            .setIoTConsensusConfig(
+                                IoTConsensusConfig.newBuilder()
+                                    .setReplication(
+                                        IoTConsensusConfig.Replication.newBuilder()
+                                            .setEnableSharedDispatcher(enableSharedDispatcher)
+                                            .build())
+                                    .build())
                             .build(),
                         groupId -> stateMachines.get(finalI))
                     .orElseThrow(
@@ -286,6 +295,22 @@ public class ReplicateTest {
     }
   }
 
+  @Test
+  public void replicateUsingQueueWithSharedDispatcherTest() throws Exception {
+    stopServer();
+    enableSharedDispatcher = true;
+    initServer();
+    replicateUsingQueueTest();
+  }
+
+  @Test
+  public void replicateUsingWALWithSharedDispatcherTest() throws Exception {
+    stopServer();
+    enableSharedDispatcher = true;
+    initServer();
+    replicateUsingWALTest();
+  }
+
   @Test
   public void parsingAndConstructIDTest() throws Exception {
     logger.info("Start ParsingAndConstructIDTest");
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.commons.exception.StartupException;
+import org.apache.iotdb.consensus.ConsensusFactory;
+import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.config.ConsensusConfig;
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
+import org.apache.iotdb.consensus.iot.logdispatcher.IoTConsensusMemoryManager;
+import org.apache.iotdb.consensus.iot.util.TestEntry;
+import org.apache.iotdb.consensus.iot.util.TestStateMachine;
+
+import org.apache.ratis.util.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class WALSegmentCatchUpTest {
+
+  private static final long ENTRY_NUM = 500;
+  private static final long CATCH_UP_THRESHOLD = 100;
+  private final Logger logger = LoggerFactory.getLogger(WALSegmentCatchUpTest.class);
+
+  private final ConsensusGroupId gid = new DataRegionId(1);
+
+  private final List<Peer> peers =
+      Arrays.asList(
+          new Peer(gid, 1, new TEndPoint("127.0.0.1", 9010)),
+          new Peer(gid, 2, new TEndPoint("127.0.0.1", 9011)));
+
+  private final List<File> peersStorage =
+      Arrays.asList(
+          new File("target" + File.separator + "segment-1"),
+          new File("target" + File.separator + "segment-2"));
+
+  private final List<IoTConsensus> servers = new ArrayList<>();
+  private final List<TestStateMachine> stateMachines = new ArrayList<>();
+  private boolean enableSharedDispatcher = false;
+
+  @Before
+  public void setUp() throws Exception {
+    for (File file : peersStorage) {
+      file.mkdirs();
+      stateMachines.add(new TestStateMachine());
+    }
+    initServer();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    stopServer();
+    for (File file : peersStorage) {
+      FileUtils.deleteFully(file);
+    }
+  }
+
+  private void initServer() throws IOException {
+    Assume.assumeTrue(checkPortAvailable());
+    try {
+      for (int i = 0; i < peers.size(); i++) {
+        int finalI = i;
+        servers.add(
+            (IoTConsensus)
+                ConsensusFactory.getConsensusImpl(
+                        ConsensusFactory.IOT_CONSENSUS,
+                        ConsensusConfig.newBuilder()
+                            .setThisNodeId(peers.get(i).getNodeId())
+                            .setThisNode(peers.get(i).getEndpoint())
+                            .setStorageDir(peersStorage.get(i).getAbsolutePath())
+                            .setConsensusGroupType(TConsensusGroupType.DataRegion)
+                            .setIoTConsensusConfig(
+                                IoTConsensusConfig.newBuilder()
+                                    .setReplication(
+                                        IoTConsensusConfig.Replication.newBuilder()
+                                            .setEnableSharedDispatcher(enableSharedDispatcher)
+                                            .setEnableWALSegmentCatchUp(true)
+                                            .setWalSegmentCatchUpThreshold(CATCH_UP_THRESHOLD)
+                                            .build())
+                                    .build())
+                            .build(),
+                        groupId -> stateMachines.get(finalI))
+                    .orElseThrow(
+                        () ->
+                            new IllegalArgumentException(
+                                String.format(
+                                    ConsensusFactory.CONSTRUCT_FAILED_MSG,
+                                    ConsensusFactory.IOT_CONSENSUS))));
+        servers.get(i).recordCorrectPeerListBeforeStarting(Collections.singletonMap(gid, peers));
+      }
+      // start the follower first, so that the leader does not try the segment on a dead peer
+      for (int i = peers.size() - 1; i >= 0; i--) {
+        servers.get(i).start();
+      }
+    } catch (IOException e) {
+      if (e.getCause() instanceof StartupException) {
+        // just succeed when can not bind socket
+        logger.info("Can not start IoTConsensus because", e);
+        Assume.assumeTrue(false);
+      } else {
+        logger.error("Failed because", e);
+        Assert.fail("Failed because " + e.getMessage());
+      }
+    }
+  }
+
+  private void stopServer() {
+    servers.parallelStream().forEach(IoTConsensus::stop);
+    servers.clear();
+  }
+
+  /**
+   * Write entries while the follower is down, then restart both nodes to lose the queued entries,
+   * the leader should transmit the sealed log file to the follower which replays it, and send the
+   * rest entry by entry.
+   */
+  @Test
+  public void catchUpWithSealedSegmentTest() throws Exception {
+    servers.get(0).createLocalPeer(gid, peers);
+    servers.get(1).createLocalPeer(gid, peers);
+    servers.get(1).stop();
+
+    for (int i = 0; i < ENTRY_NUM; i++) {
+      servers.get(0).write(gid, new TestEntry(i, peers.get(0)));
+    }
+    Assert.assertEquals(0, servers.get(0).getImpl(gid).getMinSyncIndex());
+
+    stopServer();
+    initServer();
+    Assert.assertEquals(ENTRY_NUM, servers.get(0).getImpl(gid).getSearchIndex());
+
+    long start = System.currentTimeMillis();
+    while (servers.get(0).getImpl(gid).getMinSyncIndex() < ENTRY_NUM) {
+      if (System.currentTimeMillis() - start > 60 * 1000) {
+        Assert.fail("Unable to catch up with the sealed segment");
+      }
+      Thread.sleep(100);
+    }
+
+    Assert.assertEquals(1, stateMachines.get(1).getReadSealedSegmentNum());
+    Assert.assertEquals(ENTRY_NUM, stateMachines.get(1).getRequestSet().size());
+    Assert.assertEquals(stateMachines.get(0).getData(), stateMachines.get(1).getData());
+    // the memory reserved for the transmission and the replay is freed
+    Assert.assertEquals(
+        0, IoTConsensusMemoryManager.getInstance().getMemoryBlock().getUsedMemoryInBytes());
+  }
+
+  @Test
+  public void catchUpWithSealedSegmentWithSharedDispatcherTest() throws Exception {
+    stopServer();
+    enableSharedDispatcher = true;
+    initServer();
+    catchUpWithSealedSegmentTest();
+  }
+
+  private boolean checkPortAvailable() {
+    for (Peer peer : this.peers) {
+      try (ServerSocket ignored = new ServerSocket(peer.getEndpoint().port)) {
+        logger.info("check port {} success for node {}", peer.getEndpoint().port, peer.getNodeId());
+      } catch (IOException e) {
+        logger.error("check port {} failed for node {}", peer.getEndpoint().port, peer.getNodeId());
+        return false;
+      }
+    }
+    return true;
+  }
+}
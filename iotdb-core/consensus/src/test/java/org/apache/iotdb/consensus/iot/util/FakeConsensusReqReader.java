@@ -20,18 +20,41 @@
 package org.apache.iotdb.consensus.iot.util;
 
 import org.apache.iotdb.consensus.common.DataSet;
+import org.apache.iotdb.consensus.common.request.IConsensusRequest;
 import org.apache.iotdb.consensus.common.request.IndexedConsensusRequest;
+import org.apache.iotdb.consensus.common.request.IoTConsensusRequest;
 import org.apache.iotdb.consensus.iot.log.ConsensusReqReader;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 public class FakeConsensusReqReader implements ConsensusReqReader, DataSet {
 
   private final RequestSets requestSets;
+  private final AtomicInteger readSealedSegmentNum;
 
   public FakeConsensusReqReader(RequestSets requestSets) {
+    this(requestSets, new AtomicInteger());
+  }
+
+  public FakeConsensusReqReader(RequestSets requestSets, AtomicInteger readSealedSegmentNum) {
     this.requestSets = requestSets;
+    this.readSealedSegmentNum = readSealedSegmentNum;
   }
 
   @Override
@@ -42,6 +65,80 @@ public class FakeConsensusReqReader implements ConsensusReqReader, DataSet {
     return new FakeConsensusReqIterator(startIndex);
   }
 
+  /**
+   * Writes the local requests from the search index on into a temporary file, each request is
+   * serialized as search index, number of slices, and the length and bytes of each slice.
+   */
+  @Override
+  public File getSealedSegment(long searchIndex) {
+    List<IndexedConsensusRequest> requests;
+    synchronized (requestSets) {
+      requests =
+          requestSets.getRequestSet().stream()
+              .filter(request -> request.getSearchIndex() >= searchIndex)
+              .sorted(Comparator.comparingLong(IndexedConsensusRequest::getSearchIndex))
+              .collect(Collectors.toList());
+    }
+    if (requests.isEmpty() || requests.get(0).getSearchIndex() != searchIndex) {
+      return null;
+    }
+    try {
+      File segment = File.createTempFile("fake-wal-segment", ".wal");
+      segment.deleteOnExit();
+      try (DataOutputStream outputStream =
+          new DataOutputStream(
+              new BufferedOutputStream(Files.newOutputStream(segment.toPath())))) {
+        for (IndexedConsensusRequest request : requests) {
+          outputStream.writeLong(request.getSearchIndex());
+          outputStream.writeInt(request.getRequests().size());
+          for (IConsensusRequest slice : request.getRequests()) {
+            ByteBuffer buffer = slice.serializeToByteBuffer();
+            outputStream.writeInt(buffer.remaining());
+            outputStream.write(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+          }
+        }
+      }
+      return segment;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public SegmentReader readSealedSegment(File segment, long startIndex) throws IOException {
+    readSealedSegmentNum.incrementAndGet();
+    DataInputStream inputStream =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.toPath())));
+    return new SegmentReader() {
+      @Override
+      public IndexedConsensusRequest next() throws IOException {
+        while (true) {
+          long searchIndex;
+          try {
+            searchIndex = inputStream.readLong();
+          } catch (EOFException e) {
+            return null;
+          }
+          int sliceNum = inputStream.readInt();
+          List<IConsensusRequest> slices = new ArrayList<>(sliceNum);
+          for (int i = 0; i < sliceNum; i++) {
+            byte[] bytes = new byte[inputStream.readInt()];
+            inputStream.readFully(bytes);
+            slices.add(new IoTConsensusRequest(ByteBuffer.wrap(bytes)));
+          }
+          if (searchIndex >= startIndex) {
+            return new IndexedConsensusRequest(searchIndex, slices);
+          }
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        inputStream.close();
+      }
+    };
+  }
+
   @Override
   public long getCurrentSearchIndex() {
     return requestSets.getLocalRequestNumber();
@@ -42,16 +42,23 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TestStateMachine implements IStateMachine, IStateMachine.EventApi {
 
   private static final Logger logger = LoggerFactory.getLogger(TestStateMachine.class);
   private final RequestSets requestSets = new RequestSets(ConcurrentHashMap.newKeySet());
+  private final AtomicInteger readSealedSegmentNum = new AtomicInteger();
 
   public Set<IndexedConsensusRequest> getRequestSet() {
     return requestSets.getRequestSet();
   }
 
+  /** Number of the sealed log files transferred from other peers and replayed. */
+  public int getReadSealedSegmentNum() {
+    return readSealedSegmentNum.get();
+  }
+
   public Set<TestEntry> getData() {
     Set<TestEntry> data = new HashSet<>();
     requestSets
@@ -125,7 +132,7 @@ public class TestStateMachine implements IStateMachine, IStateMachine.EventApi {
   @Override
   public synchronized DataSet read(IConsensusRequest request) {
     if (request instanceof GetConsensusReqReaderPlan) {
-      return new FakeConsensusReqReader(requestSets);
+      return new FakeConsensusReqReader(requestSets, readSealedSegmentNum);
     }
     return null;
   }
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.ratis;
+
+import org.apache.iotdb.commons.consensus.ConsensusGroupId;
+import org.apache.iotdb.consensus.common.ReadConsistency;
+import org.apache.iotdb.consensus.config.RatisConfig;
+
+import org.apache.ratis.util.TimeDuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public class LocalReadTest {
+
+  private TestUtils.MiniCluster miniCluster;
+
+  private void startCluster(RatisConfig.Read.Option readOption) throws Exception {
+    miniCluster =
+        new TestUtils.MiniClusterFactory()
+            .setRatisConfig(
+                RatisConfig.newBuilder()
+                    .setRead(
+                        RatisConfig.Read.newBuilder()
+                            .setReadOption(readOption)
+                            .setMaxStaleness(TimeDuration.valueOf(2, TimeUnit.SECONDS))
+                            .build())
+                    .build())
+            .create();
+    miniCluster.start();
+    for (RatisConsensus server : miniCluster.getServers()) {
+      server.createLocalPeer(miniCluster.getGid(), miniCluster.getPeers());
+    }
+    miniCluster.waitUntilActiveLeaderElectedAndReady();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (miniCluster != null) {
+      miniCluster.cleanUp();
+    }
+  }
+
+  private int getLeaderIndex() {
+    final ConsensusGroupId gid = miniCluster.getGid();
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      if (miniCluster.getServer(i).isLeader(gid)) {
+        return i;
+      }
+    }
+    Assert.fail("no leader is elected");
+    return -1;
+  }
+
+  private int readNumber(int serverIndex) throws Exception {
+    return ((TestUtils.TestDataSet) miniCluster.readThrough(serverIndex)).getNumber();
+  }
+
+  private int readNumber(int serverIndex, ReadConsistency consistency) throws Exception {
+    return ((TestUtils.TestDataSet)
+            miniCluster
+                .getServer(serverIndex)
+                .read(miniCluster.getGid(), TestUtils.TestRequest.getRequest(), consistency))
+        .getNumber();
+  }
+
+  @Test
+  public void leaseRead() throws Exception {
+    startCluster(RatisConfig.Read.Option.LEASE);
+    final int leader = getLeaderIndex();
+
+    miniCluster.writeManySerial(leader, 10);
+    // every read is linearizable, the leader confirms the read index by its lease
+    Assert.assertEquals(10, miniCluster.mustRead(leader));
+    for (int i = 1; i <= 5; i++) {
+      miniCluster.writeOnce(leader);
+      Assert.assertEquals(10 + i, readNumber(leader));
+    }
+
+    // followers always catch up with the leader before reading
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      Assert.assertEquals(15, miniCluster.mustRead(i));
+    }
+
+    // the old leader never serves a stale read after the leadership is transferred
+    final int newLeader = (leader + 1) % miniCluster.getServers().size();
+    miniCluster
+        .getServer(leader)
+        .transferLeader(miniCluster.getGid(), miniCluster.getPeers().get(newLeader));
+    miniCluster.waitUntilActiveLeaderElectedAndReady();
+    final int currentLeader = getLeaderIndex();
+    miniCluster.writeOnce(currentLeader);
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      Assert.assertEquals(16, miniCluster.mustRead(i));
+    }
+  }
+
+  @Test
+  public void readWithGivenConsistency() throws Exception {
+    startCluster(RatisConfig.Read.Option.LINEARIZABLE);
+    final int leader = getLeaderIndex();
+
+    miniCluster.writeManySerial(leader, 10);
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      Assert.assertEquals(10, miniCluster.mustRead(i));
+    }
+
+    // a single read may be served locally within the staleness bound of the last linearizable one
+    miniCluster.writeManySerial(leader, 5);
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      final int number = readNumber(i, ReadConsistency.BOUNDED_STALENESS);
+      Assert.assertTrue(number >= 10 && number <= 15);
+    }
+
+    // a lease read is still linearizable
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      Assert.assertEquals(15, readNumber(i, ReadConsistency.LEASE));
+    }
+  }
+
+  @Test
+  public void boundedStalenessRead() throws Exception {
+    startCluster(RatisConfig.Read.Option.BOUNDED_STALENESS);
+    final int leader = getLeaderIndex();
+
+    miniCluster.writeManySerial(leader, 10);
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      Assert.assertEquals(10, miniCluster.mustRead(i));
+    }
+
+    // reads within the staleness bound never go backwards
+    miniCluster.writeManySerial(leader, 5);
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      final int number = readNumber(i);
+      Assert.assertTrue(number >= 10 && number <= 15);
+    }
+
+    // the replicas catch up with the leader again once the bound is passed
+    TimeDuration.valueOf(3, TimeUnit.SECONDS).sleep();
+    for (int i = 0; i < miniCluster.getServers().size(); i++) {
+      Assert.assertEquals(15, readNumber(i));
+    }
+  }
+}
@@ -333,6 +333,56 @@ public class IoTDBConfig {
 
   private int degreeOfParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
 
+  /**
+   * How many time ranges the raw data scan of a single series can be split into, each of which is
+   * scanned by a separate pipeline driver. It is also limited by the degree of parallelism, and the
+   * scan is never split when it is <= 1.
+   */
+  private int maxSeriesScanSplitNum = 1;
+
+  /**
+   * How many chunks one series scan reads ahead asynchronously, the chunks are loaded into the
+   * ChunkCache. When <= 0, the chunks are only read when the scan reaches them.
+   */
+  private int chunkPrefetchWindowSize = 0;
+
+  /** How many threads can concurrently read chunks ahead. When <= 0, use CPU core number. */
+  private int chunkPrefetchThreadCount = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * The max size of one read which reads several chunks of the same TsFile together, i.e., the
+   * chunks of a series in a TsFile which are close to each other, including the ones of different
+   * chunk groups. No coalesced read is larger than this. When <= 0, each chunk is read by its own
+   * read.
+   */
+  private long coalescedChunkReadMaxSizeInByte = 0;
+
+  /**
+   * The max number of bytes between two chunks which are read by one coalesced read. The chunk
+   * metadata does not record the chunk sizes, so two chunks are only read together if the distance
+   * between their header offsets is at most this, which bounds the bytes between them.
+   */
+  private long coalescedChunkReadMaxGapInByte = 64 * 1024L;
+
+  /**
+   * Whether to persist the statistics of the series of each sealed TsFile in a small file beside
+   * it, so that the queries can get the statistics without reading the TsFile. The file is indexed
+   * by device, so that a query only reads the statistics of the devices it needs.
+   */
+  private boolean enableTsFileStatisticsIndex = false;
+
+  /**
+   * The memory size of the cache of the TsFile statistics indexes, half of which is for the device
+   * offsets of the indexes and the other half is for the statistics of the devices.
+   */
+  private long tsFileStatisticsIndexCacheSizeInByte = 64L * 1024 * 1024;
+
+  /**
+   * Whether to find the TsFiles of a time partition overlapping the query time ranges by an index
+   * over the file time ranges instead of traversing all the TsFiles of the partition.
+   */
+  private boolean enableTsFileTimeRangeIndex = false;
+
   private int mergeThresholdOfExplainAnalyze = 10;
 
   private int modeMapSizeThreshold = 10000;
@@ -771,6 +821,18 @@ public class IoTDBConfig {
    */
   private TimeIndexLevel timeIndexLevel = TimeIndexLevel.ARRAY_DEVICE_TIME_INDEX;
 
+  /**
+   * Whether to keep a bloom filter of the devices when a device level TimeIndex is degraded to the
+   * file level, so that the queries of absent devices can still skip the TsFile without reading it.
+   */
+  private boolean enableDegradedTimeIndexDeviceFilter = false;
+
+  /**
+   * Whether to keep the device level TimeIndex of a sealed TsFile in a compact form, which costs
+   * much less memory, so that fewer TimeIndexes are degraded to the file level.
+   */
+  private boolean enableCompactDeviceTimeIndex = false;
+
   // just for test
   // wait for 60 second by default.
   private int thriftServerAwaitTimeForStopService = 60;
@@ -860,6 +922,30 @@ public class IoTDBConfig {
   /** maximum number of logged pages before log erased */
   private int pbTreeLogSize = 16384;
 
+  /**
+   * whether to write the dirty pages of pbtree file back in background threads, so that the flush
+   * of MNodes does not wait for the disk
+   */
+  private boolean enablePBTreeAsyncWriteBack = false;
+
+  /** whether to load the next segment of a node in advance while its children are iterated */
+  private boolean enablePBTreeReadAhead = false;
+
+  /**
+   * whether to store table device attributes in dictionary-encoded columns instead of one map per
+   * device, and to evaluate the device filters on only one tag or attribute per distinct value
+   */
+  private boolean enableColumnarDeviceAttributeStore = false;
+
+  /**
+   * whether to keep the children of memory MTree nodes in sorted arrays and intern the node names,
+   * which saves memory for huge schemas at the cost of slower node creation
+   */
+  private boolean enableCompactMemoryMTree = false;
+
+  /** the max children number of a node to be kept in sorted arrays in compact memory MTree */
+  private int compactMTreeContainerMaxSize = 1024;
+
   /**
    * Maximum number of measurement in one create timeseries plan node. If the number of measurement
    * in user request exceeds this limit, the request will be split.
@@ -1064,6 +1150,11 @@ public class IoTDBConfig {
   private long dataRatisPeriodicSnapshotInterval = 24L * 60 * 60; // 24hr
   private long schemaRatisPeriodicSnapshotInterval = 24L * 60 * 60; // 24hr
 
+  /** Read consistency of schema region, see RatisConfig.Read.Option. */
+  private String schemaRatisConsensusReadConsistency = "LINEARIZABLE";
+
+  private long schemaRatisConsensusReadMaxStalenessMs = 1000L;
+
   private int ratisTransferLeaderTimeoutMs = 30 * 1000; // 30s
 
   // customizedProperties, this should be empty by default.
@@ -1076,6 +1167,27 @@ public class IoTDBConfig {
   private double maxMemoryRatioForQueue = 0.6;
   private long regionMigrationSpeedLimitBytesPerSecond = 48 * 1024 * 1024L;
 
+  /**
+   * Whether the log dispatchers of all data regions share a fixed thread pool driven by new entries
+   * and acks instead of occupying one thread per peer.
+   */
+  private boolean enableSharedLogDispatcher = false;
+
+  /** Thread num of the shared log dispatcher pool, 0 means decided by the cpu num. */
+  private int sharedLogDispatcherThreadNum = 0;
+
+  /**
+   * Whether a follower lagging far behind is caught up by transferring the sealed wal files as a
+   * whole instead of entry batches.
+   */
+  private boolean enableWALSegmentCatchUp = false;
+
+  /** Lag in number of entries from which a follower is caught up with sealed wal files. */
+  private long walSegmentCatchUpThreshold = 100_000L;
+
+  /** Thread num of the pool transmitting sealed wal files, 0 means decided by the cpu num. */
+  private int walSegmentCatchUpThreadNum = 0;
+
   // IoTConsensusV2 Config
   private int iotConsensusV2PipelineSize = 5;
   private String iotConsensusV2Mode = ConsensusFactory.IOT_CONSENSUS_V2_BATCH_MODE;
@@ -1201,6 +1313,18 @@ public class IoTDBConfig {
 
   private long cacheLastValuesMemoryBudgetInByte = 4 * 1024 * 1024;
 
+  /**
+   * The interval of persisting the last cache of the table model to the system dir, which is used
+   * to warm up the last cache after restart. When <= 0, the last cache is not persisted.
+   */
+  private long lastCacheCheckpointIntervalInMs = 0;
+
+  /**
+   * Whether to store the last values of the table model devices in per-device primitive arrays
+   * indexed by the measurement ordinals of the table, which costs less memory per value.
+   */
+  private boolean enableColumnarLastCache = false;
+
   private boolean includeNullValueInWriteThroughputMetric = false;
 
   private ConcurrentHashMap<String, EncryptParameter> tsFileDBToEncryptMap =
@@ -1240,6 +1364,46 @@ public class IoTDBConfig {
     this.regionMigrationSpeedLimitBytesPerSecond = regionMigrationSpeedLimitBytesPerSecond;
   }
 
+  public boolean isEnableSharedLogDispatcher() {
+    return enableSharedLogDispatcher;
+  }
+
+  public void setEnableSharedLogDispatcher(boolean enableSharedLogDispatcher) {
+    this.enableSharedLogDispatcher = enableSharedLogDispatcher;
+  }
+
+  public int getSharedLogDispatcherThreadNum() {
+    return sharedLogDispatcherThreadNum;
+  }
+
+  public void setSharedLogDispatcherThreadNum(int sharedLogDispatcherThreadNum) {
+    this.sharedLogDispatcherThreadNum = sharedLogDispatcherThreadNum;
+  }
+
+  public boolean isEnableWALSegmentCatchUp() {
+    return enableWALSegmentCatchUp;
+  }
+
+  public void setEnableWALSegmentCatchUp(boolean enableWALSegmentCatchUp) {
+    this.enableWALSegmentCatchUp = enableWALSegmentCatchUp;
+  }
+
+  public long getWalSegmentCatchUpThreshold() {
+    return walSegmentCatchUpThreshold;
+  }
+
+  public void setWalSegmentCatchUpThreshold(long walSegmentCatchUpThreshold) {
+    this.walSegmentCatchUpThreshold = walSegmentCatchUpThreshold;
+  }
+
+  public int getWalSegmentCatchUpThreadNum() {
+    return walSegmentCatchUpThreadNum;
+  }
+
+  public void setWalSegmentCatchUpThreadNum(int walSegmentCatchUpThreadNum) {
+    this.walSegmentCatchUpThreadNum = walSegmentCatchUpThreadNum;
+  }
+
   public int getIotConsensusV2PipelineSize() {
     return iotConsensusV2PipelineSize;
   }
@@ -1333,6 +1497,22 @@ public class IoTDBConfig {
     this.timeIndexLevel = TimeIndexLevel.valueOf(timeIndexLevel);
   }
 
+  public boolean isEnableDegradedTimeIndexDeviceFilter() {
+    return enableDegradedTimeIndexDeviceFilter;
+  }
+
+  public void setEnableDegradedTimeIndexDeviceFilter(boolean enableDegradedTimeIndexDeviceFilter) {
+    this.enableDegradedTimeIndexDeviceFilter = enableDegradedTimeIndexDeviceFilter;
+  }
+
+  public boolean isEnableCompactDeviceTimeIndex() {
+    return enableCompactDeviceTimeIndex;
+  }
+
+  public void setEnableCompactDeviceTimeIndex(boolean enableCompactDeviceTimeIndex) {
+    this.enableCompactDeviceTimeIndex = enableCompactDeviceTimeIndex;
+  }
+
   public void updatePath() {
     formulateFolders();
     confirmMultiDirStrategy();
@@ -1763,6 +1943,70 @@ public class IoTDBConfig {
     return degreeOfParallelism;
   }
 
+  public int getMaxSeriesScanSplitNum() {
+    return maxSeriesScanSplitNum;
+  }
+
+  public void setMaxSeriesScanSplitNum(int maxSeriesScanSplitNum) {
+    this.maxSeriesScanSplitNum = maxSeriesScanSplitNum;
+  }
+
+  public int getChunkPrefetchWindowSize() {
+    return chunkPrefetchWindowSize;
+  }
+
+  public void setChunkPrefetchWindowSize(int chunkPrefetchWindowSize) {
+    this.chunkPrefetchWindowSize = chunkPrefetchWindowSize;
+  }
+
+  public int getChunkPrefetchThreadCount() {
+    return chunkPrefetchThreadCount;
+  }
+
+  public void setChunkPrefetchThreadCount(int chunkPrefetchThreadCount) {
+    this.chunkPrefetchThreadCount = chunkPrefetchThreadCount;
+  }
+
+  public long getCoalescedChunkReadMaxSizeInByte() {
+    return coalescedChunkReadMaxSizeInByte;
+  }
+
+  public void setCoalescedChunkReadMaxSizeInByte(long coalescedChunkReadMaxSizeInByte) {
+    this.coalescedChunkReadMaxSizeInByte = coalescedChunkReadMaxSizeInByte;
+  }
+
+  public long getCoalescedChunkReadMaxGapInByte() {
+    return coalescedChunkReadMaxGapInByte;
+  }
+
+  public void setCoalescedChunkReadMaxGapInByte(long coalescedChunkReadMaxGapInByte) {
+    this.coalescedChunkReadMaxGapInByte = coalescedChunkReadMaxGapInByte;
+  }
+
+  public boolean isEnableTsFileStatisticsIndex() {
+    return enableTsFileStatisticsIndex;
+  }
+
+  public void setEnableTsFileStatisticsIndex(boolean enableTsFileStatisticsIndex) {
+    this.enableTsFileStatisticsIndex = enableTsFileStatisticsIndex;
+  }
+
+  public boolean isEnableTsFileTimeRangeIndex() {
+    return enableTsFileTimeRangeIndex;
+  }
+
+  public void setEnableTsFileTimeRangeIndex(boolean enableTsFileTimeRangeIndex) {
+    this.enableTsFileTimeRangeIndex = enableTsFileTimeRangeIndex;
+  }
+
+  public long getTsFileStatisticsIndexCacheSizeInByte() {
+    return tsFileStatisticsIndexCacheSizeInByte;
+  }
+
+  public void setTsFileStatisticsIndexCacheSizeInByte(long tsFileStatisticsIndexCacheSizeInByte) {
+    this.tsFileStatisticsIndexCacheSizeInByte = tsFileStatisticsIndexCacheSizeInByte;
+  }
+
   public void setMergeThresholdOfExplainAnalyze(int mergeThresholdOfExplainAnalyze) {
     this.mergeThresholdOfExplainAnalyze = mergeThresholdOfExplainAnalyze;
   }
@@ -3006,6 +3250,46 @@ public class IoTDBConfig {
     this.pbTreeLogSize = pbTreeLogSize;
   }
 
+  public boolean isEnablePBTreeAsyncWriteBack() {
+    return enablePBTreeAsyncWriteBack;
+  }
+
+  public void setEnablePBTreeAsyncWriteBack(boolean enablePBTreeAsyncWriteBack) {
+    this.enablePBTreeAsyncWriteBack = enablePBTreeAsyncWriteBack;
+  }
+
+  public boolean isEnablePBTreeReadAhead() {
+    return enablePBTreeReadAhead;
+  }
+
+  public void setEnablePBTreeReadAhead(boolean enablePBTreeReadAhead) {
+    this.enablePBTreeReadAhead = enablePBTreeReadAhead;
+  }
+
+  public boolean isEnableColumnarDeviceAttributeStore() {
+    return enableColumnarDeviceAttributeStore;
+  }
+
+  public void setEnableColumnarDeviceAttributeStore(boolean enableColumnarDeviceAttributeStore) {
+    this.enableColumnarDeviceAttributeStore = enableColumnarDeviceAttributeStore;
+  }
+
+  public boolean isEnableCompactMemoryMTree() {
+    return enableCompactMemoryMTree;
+  }
+
+  public void setEnableCompactMemoryMTree(boolean enableCompactMemoryMTree) {
+    this.enableCompactMemoryMTree = enableCompactMemoryMTree;
+  }
+
+  public int getCompactMTreeContainerMaxSize() {
+    return compactMTreeContainerMaxSize;
+  }
+
+  public void setCompactMTreeContainerMaxSize(int compactMTreeContainerMaxSize) {
+    this.compactMTreeContainerMaxSize = compactMTreeContainerMaxSize;
+  }
+
   public int getMaxMeasurementNumOfInternalRequest() {
     return maxMeasurementNumOfInternalRequest;
   }
@@ -4209,6 +4493,23 @@ public class IoTDBConfig {
     this.schemaRatisPeriodicSnapshotInterval = schemaRatisPeriodicSnapshotInterval;
   }
 
+  public String getSchemaRatisConsensusReadConsistency() {
+    return schemaRatisConsensusReadConsistency;
+  }
+
+  public void setSchemaRatisConsensusReadConsistency(String schemaRatisConsensusReadConsistency) {
+    this.schemaRatisConsensusReadConsistency = schemaRatisConsensusReadConsistency;
+  }
+
+  public long getSchemaRatisConsensusReadMaxStalenessMs() {
+    return schemaRatisConsensusReadMaxStalenessMs;
+  }
+
+  public void setSchemaRatisConsensusReadMaxStalenessMs(
+      long schemaRatisConsensusReadMaxStalenessMs) {
+    this.schemaRatisConsensusReadMaxStalenessMs = schemaRatisConsensusReadMaxStalenessMs;
+  }
+
   public int getRatisTransferLeaderTimeoutMs() {
     return ratisTransferLeaderTimeoutMs;
   }
@@ -4292,6 +4593,22 @@ public class IoTDBConfig {
     this.cacheLastValuesMemoryBudgetInByte = cacheLastValuesMemoryBudgetInByte;
   }
 
+  public long getLastCacheCheckpointIntervalInMs() {
+    return lastCacheCheckpointIntervalInMs;
+  }
+
+  public void setLastCacheCheckpointIntervalInMs(long lastCacheCheckpointIntervalInMs) {
+    this.lastCacheCheckpointIntervalInMs = lastCacheCheckpointIntervalInMs;
+  }
+
+  public boolean isEnableColumnarLastCache() {
+    return enableColumnarLastCache;
+  }
+
+  public void setEnableColumnarLastCache(boolean enableColumnarLastCache) {
+    this.enableColumnarLastCache = enableColumnarLastCache;
+  }
+
   public boolean isIncludeNullValueInWriteThroughputMetric() {
     return includeNullValueInWriteThroughputMetric;
   }
@@ -531,6 +531,68 @@ public class IoTDBDescriptor {
       conf.setDegreeOfParallelism(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
     }
 
+    conf.setMaxSeriesScanSplitNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "max_series_scan_split_num", Integer.toString(conf.getMaxSeriesScanSplitNum()))));
+
+    conf.setChunkPrefetchWindowSize(
+        Integer.parseInt(
+            properties.getProperty(
+                "chunk_prefetch_window_size",
+                Integer.toString(conf.getChunkPrefetchWindowSize()))));
+
+    conf.setChunkPrefetchThreadCount(
+        Integer.parseInt(
+            properties.getProperty(
+                "chunk_prefetch_thread_count",
+                Integer.toString(conf.getChunkPrefetchThreadCount()))));
+
+    if (conf.getChunkPrefetchThreadCount() <= 0) {
+      conf.setChunkPrefetchThreadCount(Runtime.getRuntime().availableProcessors());
+    }
+
+    conf.setCoalescedChunkReadMaxSizeInByte(
+        Long.parseLong(
+            properties.getProperty(
+                "coalesced_chunk_read_max_size_in_byte",
+                Long.toString(conf.getCoalescedChunkReadMaxSizeInByte()))));
+    conf.setCoalescedChunkReadMaxGapInByte(
+        Long.parseLong(
+            properties.getProperty(
+                "coalesced_chunk_read_max_gap_in_byte",
+                Long.toString(conf.getCoalescedChunkReadMaxGapInByte()))));
+
+    conf.setEnableDegradedTimeIndexDeviceFilter(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_degraded_time_index_device_filter",
+                Boolean.toString(conf.isEnableDegradedTimeIndexDeviceFilter()))));
+
+    conf.setEnableCompactDeviceTimeIndex(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_compact_device_time_index",
+                Boolean.toString(conf.isEnableCompactDeviceTimeIndex()))));
+
+    conf.setEnableTsFileStatisticsIndex(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_tsfile_statistics_index",
+                Boolean.toString(conf.isEnableTsFileStatisticsIndex()))));
+
+    conf.setTsFileStatisticsIndexCacheSizeInByte(
+        Long.parseLong(
+            properties.getProperty(
+                "tsfile_statistics_index_cache_size_in_byte",
+                Long.toString(conf.getTsFileStatisticsIndexCacheSizeInByte()))));
+
+    conf.setEnableTsFileTimeRangeIndex(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_tsfile_time_range_index",
+                Boolean.toString(conf.isEnableTsFileTimeRangeIndex()))));
+
     conf.setMergeThresholdOfExplainAnalyze(
         Integer.parseInt(
             properties.getProperty(
@@ -871,6 +933,38 @@ public class IoTDBDescriptor {
         Integer.parseInt(
             properties.getProperty("pbtree_log_size", String.valueOf(conf.getPBTreeLogSize()))));
 
+    conf.setEnablePBTreeAsyncWriteBack(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_pbtree_async_write_back",
+                String.valueOf(conf.isEnablePBTreeAsyncWriteBack()))));
+
+    conf.setEnablePBTreeReadAhead(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_pbtree_read_ahead", String.valueOf(conf.isEnablePBTreeReadAhead()))));
+
+    conf.setEnableColumnarDeviceAttributeStore(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_columnar_device_attribute_store",
+                String.valueOf(conf.isEnableColumnarDeviceAttributeStore()))));
+
+    conf.setEnableCompactMemoryMTree(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_compact_memory_mtree",
+                String.valueOf(conf.isEnableCompactMemoryMTree()))));
+
+    conf.setCompactMTreeContainerMaxSize(
+        Integer.parseInt(
+            properties.getProperty(
+                "compact_mtree_container_max_size",
+                String.valueOf(conf.getCompactMTreeContainerMaxSize()))));
+    if (conf.getCompactMTreeContainerMaxSize() <= 0) {
+      conf.setCompactMTreeContainerMaxSize(1024);
+    }
+
     conf.setMaxMeasurementNumOfInternalRequest(
         Integer.parseInt(
             properties.getProperty(
@@ -1119,6 +1213,31 @@ public class IoTDBDescriptor {
                 "schema_thread_count", Integer.toString(conf.getSchemaThreadCount()))));
 
     loadIoTConsensusProps(properties);
+    conf.setEnableSharedLogDispatcher(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "data_region_iot_enable_shared_log_dispatcher",
+                String.valueOf(conf.isEnableSharedLogDispatcher()))));
+    conf.setSharedLogDispatcherThreadNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "data_region_iot_shared_log_dispatcher_thread_num",
+                String.valueOf(conf.getSharedLogDispatcherThreadNum()))));
+    conf.setEnableWALSegmentCatchUp(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "data_region_iot_enable_wal_segment_catch_up",
+                String.valueOf(conf.isEnableWALSegmentCatchUp()))));
+    conf.setWalSegmentCatchUpThreshold(
+        Long.parseLong(
+            properties.getProperty(
+                "data_region_iot_wal_segment_catch_up_threshold",
+                String.valueOf(conf.getWalSegmentCatchUpThreshold()))));
+    conf.setWalSegmentCatchUpThreadNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "data_region_iot_wal_segment_catch_up_thread_num",
+                String.valueOf(conf.getWalSegmentCatchUpThreadNum()))));
     loadIoTConsensusV2Props(properties);
 
     // update query_sample_throughput_bytes_per_sec
@@ -2412,6 +2531,18 @@ public class IoTDBDescriptor {
                 "cache_last_values_memory_budget_in_byte",
                 String.valueOf(conf.getCacheLastValuesMemoryBudgetInByte()))));
 
+    conf.setLastCacheCheckpointIntervalInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "last_cache_checkpoint_interval_in_ms",
+                String.valueOf(conf.getLastCacheCheckpointIntervalInMs()))));
+
+    conf.setEnableColumnarLastCache(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_columnar_last_cache",
+                String.valueOf(conf.isEnableColumnarLastCache()))));
+
     conf.setSkipFailedTableSchemaCheck(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -2815,6 +2946,15 @@ public class IoTDBDescriptor {
     conf.setDataRatisPeriodicSnapshotInterval(ratisConfig.getDataRegionPeriodicSnapshotInterval());
 
     conf.setRatisTransferLeaderTimeoutMs(ratisConfig.getRatisTransferLeaderTimeoutMs());
+
+    // absent if the ConfigNode is of an older version
+    if (ratisConfig.isSetSchemaRegionReadConsistency()) {
+      conf.setSchemaRatisConsensusReadConsistency(ratisConfig.getSchemaRegionReadConsistency());
+    }
+    if (ratisConfig.isSetSchemaRegionReadMaxStalenessMs()) {
+      conf.setSchemaRatisConsensusReadMaxStalenessMs(
+          ratisConfig.getSchemaRegionReadMaxStalenessMs());
+    }
   }
 
   public void loadCQConfig(TCQConfig cqConfig) {
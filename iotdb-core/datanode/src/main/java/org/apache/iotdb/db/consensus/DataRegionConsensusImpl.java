@@ -160,6 +160,11 @@ public class DataRegionConsensusImpl {
                           .setMaxMemoryRatioForQueue(CONF.getMaxMemoryRatioForQueue())
                           .setRegionMigrationSpeedLimitBytesPerSecond(
                               CONF.getRegionMigrationSpeedLimitBytesPerSecond())
+                          .setEnableSharedDispatcher(CONF.isEnableSharedLogDispatcher())
+                          .setSharedDispatcherThreadNum(CONF.getSharedLogDispatcherThreadNum())
+                          .setEnableWALSegmentCatchUp(CONF.isEnableWALSegmentCatchUp())
+                          .setWalSegmentCatchUpThreshold(CONF.getWalSegmentCatchUpThreshold())
+                          .setWalSegmentCatchUpThreadNum(CONF.getWalSegmentCatchUpThreadNum())
                           .build())
                   .build())
           .setPipeConsensusConfig(
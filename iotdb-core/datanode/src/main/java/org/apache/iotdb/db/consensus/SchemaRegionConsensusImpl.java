@@ -171,7 +171,13 @@ public class SchemaRegionConsensusImpl {
                                       .build())
                               .setRead(
                                   RatisConfig.Read.newBuilder()
-                                      .setReadOption(RatisConfig.Read.Option.LINEARIZABLE)
+                                      .setReadOption(
+                                          RatisConfig.Read.Option.valueOf(
+                                              CONF.getSchemaRatisConsensusReadConsistency()))
+                                      .setMaxStaleness(
+                                          TimeDuration.valueOf(
+                                              CONF.getSchemaRatisConsensusReadMaxStalenessMs(),
+                                              TimeUnit.MILLISECONDS))
                                       // use thrift connection timeout to unify read timeout
                                       .setReadTimeout(
                                           TimeDuration.valueOf(
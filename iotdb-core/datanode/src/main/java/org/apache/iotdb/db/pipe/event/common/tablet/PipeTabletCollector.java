@@ -32,6 +32,12 @@ public class PipeTabletCollector extends PipeRawTabletEventConverter implements
     super(pipeTaskMeta, sourceEvent);
   }
 
+  public PipeTabletCollector(
+      PipeTaskMeta pipeTaskMeta, EnrichedEvent sourceEvent, boolean isAligned) {
+    super(pipeTaskMeta, sourceEvent);
+    this.isAligned = isAligned;
+  }
+
   public PipeTabletCollector(
       PipeTaskMeta pipeTaskMeta,
       EnrichedEvent sourceEvent,
@@ -29,8 +29,10 @@ import org.apache.iotdb.commons.pipe.agent.task.meta.PipeTaskMeta;
 import org.apache.iotdb.commons.pipe.config.plugin.env.PipeTaskProcessorRuntimeEnvironment;
 import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
 import org.apache.iotdb.commons.utils.PathUtils;
+import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.pipe.agent.PipeDataNodeAgent;
 import org.apache.iotdb.db.pipe.agent.plugin.dataregion.PipeDataRegionPluginAgent;
+import org.apache.iotdb.db.pipe.event.common.row.PipeBinaryTransformer;
 import org.apache.iotdb.db.pipe.event.common.row.PipeResetTabletRow;
 import org.apache.iotdb.db.pipe.event.common.row.PipeRow;
 import org.apache.iotdb.db.pipe.event.common.row.PipeRowCollector;
@@ -64,6 +66,8 @@ import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.utils.Binary;
 import org.apache.tsfile.utils.BitMap;
 import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
 import org.apache.tsfile.write.schema.MeasurementSchema;
 
 import java.io.IOException;
@@ -86,6 +90,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_COLUMNAR_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_COLUMNAR_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_OPERATORS_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_OPERATORS_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_OUTPUT_DATABASE_DEFAULT_VALUE;
@@ -116,6 +122,7 @@ public class AggregateProcessor implements PipeProcessor {
   private long outputMaxDelayMilliseconds;
   private long outputMinReportIntervalMilliseconds;
   private String outputDatabaseWithPathSeparator;
+  private boolean isColumnar;
 
   private final Map<String, AggregatedResultOperator> outputName2OperatorMap = new HashMap<>();
   private final Map<String, Supplier<IntermediateResultOperator>>
@@ -188,11 +195,78 @@ public class AggregateProcessor implements PipeProcessor {
       final PipeParameters parameters, final PipeProcessorRuntimeConfiguration configuration)
       throws Exception {
     final PipeRuntimeEnvironment environment = configuration.getRuntimeEnvironment();
-    pipeName = environment.getPipeName();
-    dataBaseName =
+    registerPipe(
+        environment.getPipeName(),
         StorageEngine.getInstance()
             .getDataRegion(new DataRegionId(environment.getRegionId()))
-            .getDatabaseName();
+            .getDatabaseName());
+
+    pipeTaskMeta = ((PipeTaskProcessorRuntimeEnvironment) environment).getPipeTaskMeta();
+
+    // Load the operator processors and the windowing processor. Children are allowed to validate
+    // and configure the computational logic from the same parameters other than processor name
+    final PipeDataRegionPluginAgent agent = PipeDataNodeAgent.plugin().dataRegion();
+    for (final String pipePluginName :
+        agent.getSubProcessorNamesWithSpecifiedParent(AbstractOperatorProcessor.class)) {
+      operatorProcessors.add(
+          (AbstractOperatorProcessor)
+              agent.getConfiguredProcessor(pipePluginName, parameters, configuration));
+    }
+
+    final String processorName =
+        parameters.getStringOrDefault(
+                PROCESSOR_WINDOWING_STRATEGY_KEY, PROCESSOR_WINDOWING_STRATEGY_DEFAULT_VALUE)
+            + WINDOWING_PROCESSOR_SUFFIX;
+    final PipeProcessor windowProcessor =
+        agent.getConfiguredProcessor(processorName, parameters, configuration);
+    if (!(windowProcessor instanceof AbstractWindowingProcessor)) {
+      throw new PipeException(
+          String.format("The processor %s is not a windowing processor.", processorName));
+    }
+    windowingProcessor = (AbstractWindowingProcessor) windowProcessor;
+
+    configureOperators(parameters);
+
+    // Restore window state
+    final ProgressIndex index = pipeTaskMeta.getProgressIndex();
+    if (index == MinimumProgressIndex.INSTANCE) {
+      return;
+    }
+    if (!(index instanceof TimeWindowStateProgressIndex)) {
+      throw new PipeException(
+          String.format(
+              "The aggregate processor does not support progressIndexType %s", index.getType()));
+    }
+
+    final TimeWindowStateProgressIndex timeWindowStateProgressIndex =
+        (TimeWindowStateProgressIndex) index;
+    for (final Map.Entry<String, Pair<Long, ByteBuffer>> entry :
+        timeWindowStateProgressIndex.getTimeSeries2TimestampWindowBufferPairMap().entrySet()) {
+      final AtomicReference<TimeSeriesRuntimeState> stateReference =
+          pipeName2timeSeries2TimeSeriesRuntimeStateMap
+              .get(pipeName)
+              .computeIfAbsent(
+                  entry.getKey(),
+                  key ->
+                      new AtomicReference<>(
+                          new TimeSeriesRuntimeState(
+                              outputName2OperatorMap,
+                              intermediateResultName2OperatorSupplierMap,
+                              systemParameters,
+                              windowingProcessor)));
+      synchronized (stateReference) {
+        try {
+          stateReference.get().restoreTimestampAndWindows(entry.getValue());
+        } catch (final IOException e) {
+          throw new PipeException("Encountered exception when deserializing from PipeTaskMeta", e);
+        }
+      }
+    }
+  }
+
+  private void registerPipe(final String pipeName, final String dataBaseName) {
+    this.pipeName = pipeName;
+    this.dataBaseName = dataBaseName;
     if (dataBaseName != null) {
       isTableModel = PathUtils.isTableModelDatabase(dataBaseName);
     }
@@ -201,17 +275,14 @@ public class AggregateProcessor implements PipeProcessor {
         pipeName, (name, count) -> Objects.nonNull(count) ? count + 1 : 1);
     pipeName2timeSeries2TimeSeriesRuntimeStateMap.putIfAbsent(pipeName, new ConcurrentHashMap<>());
 
-    databaseWithPathSeparator =
-        StorageEngine.getInstance()
-                .getDataRegion(
-                    new DataRegionId(configuration.getRuntimeEnvironment().getRegionId()))
-                .getDatabaseName()
-            + TsFileConstant.PATH_SEPARATOR;
-
-    pipeTaskMeta =
-        ((PipeTaskProcessorRuntimeEnvironment) configuration.getRuntimeEnvironment())
-            .getPipeTaskMeta();
-    // Load parameters
+    databaseWithPathSeparator = dataBaseName + TsFileConstant.PATH_SEPARATOR;
+  }
+
+  /**
+   * Load the parameters and the operators used by the given operator processors, whose
+   * computational logic is shared by all the time series of the pipe.
+   */
+  private void configureOperators(final PipeParameters parameters) {
     final long outputMaxDelaySeconds =
         parameters.getLongOrDefault(
             PROCESSOR_OUTPUT_MAX_DELAY_SECONDS_KEY,
@@ -230,6 +301,8 @@ public class AggregateProcessor implements PipeProcessor {
             PROCESSOR_OUTPUT_DATABASE_KEY, PROCESSOR_OUTPUT_DATABASE_DEFAULT_VALUE);
     outputDatabaseWithPathSeparator =
         outputDatabase.isEmpty() ? outputDatabase : outputDatabase + TsFileConstant.PATH_SEPARATOR;
+    isColumnar =
+        parameters.getBooleanOrDefault(PROCESSOR_COLUMNAR_KEY, PROCESSOR_COLUMNAR_DEFAULT_VALUE);
 
     // Set output name
     final List<String> operatorNameList =
@@ -263,14 +336,7 @@ public class AggregateProcessor implements PipeProcessor {
     // Load the useful aggregators' and their corresponding intermediate results' computational
     // logic.
     final Set<String> declaredIntermediateResultSet = new HashSet<>();
-    final PipeDataRegionPluginAgent agent = PipeDataNodeAgent.plugin().dataRegion();
-    for (final String pipePluginName :
-        agent.getSubProcessorNamesWithSpecifiedParent(AbstractOperatorProcessor.class)) {
-      // Children are allowed to validate and configure the computational logic
-      // from the same parameters other than processor name
-      final AbstractOperatorProcessor operatorProcessor =
-          (AbstractOperatorProcessor)
-              agent.getConfiguredProcessor(pipePluginName, parameters, configuration);
+    for (final AbstractOperatorProcessor operatorProcessor : operatorProcessors) {
       operatorProcessor.getAggregatorOperatorSet().stream()
           .filter(
               operator ->
@@ -288,7 +354,6 @@ public class AggregateProcessor implements PipeProcessor {
               supplier ->
                   intermediateResultName2OperatorSupplierMap.put(
                       supplier.get().getName(), supplier));
-      operatorProcessors.add(operatorProcessor);
     }
 
     aggregatorName2OutputNameMap
@@ -315,19 +380,6 @@ public class AggregateProcessor implements PipeProcessor {
       columnNameStringList[i] = operatorNames.get(i);
     }
 
-    // Get windowing processor
-    final String processorName =
-        parameters.getStringOrDefault(
-                PROCESSOR_WINDOWING_STRATEGY_KEY, PROCESSOR_WINDOWING_STRATEGY_DEFAULT_VALUE)
-            + WINDOWING_PROCESSOR_SUFFIX;
-    final PipeProcessor windowProcessor =
-        agent.getConfiguredProcessor(processorName, parameters, configuration);
-    if (!(windowProcessor instanceof AbstractWindowingProcessor)) {
-      throw new PipeException(
-          String.format("The processor %s is not a windowing processor.", processorName));
-    }
-    windowingProcessor = (AbstractWindowingProcessor) windowProcessor;
-
     // Configure system parameters
     systemParameters.put(
         UDFParametersFactory.TIMESTAMP_PRECISION,
@@ -338,42 +390,23 @@ public class AggregateProcessor implements PipeProcessor {
     this.outputName2OperatorMap
         .values()
         .forEach(operator -> operator.configureSystemParameters(systemParameters));
+  }
 
-    // Restore window state
-    final ProgressIndex index = pipeTaskMeta.getProgressIndex();
-    if (index == MinimumProgressIndex.INSTANCE) {
-      return;
-    }
-    if (!(index instanceof TimeWindowStateProgressIndex)) {
-      throw new PipeException(
-          String.format(
-              "The aggregate processor does not support progressIndexType %s", index.getType()));
-    }
-
-    final TimeWindowStateProgressIndex timeWindowStateProgressIndex =
-        (TimeWindowStateProgressIndex) index;
-    for (final Map.Entry<String, Pair<Long, ByteBuffer>> entry :
-        timeWindowStateProgressIndex.getTimeSeries2TimestampWindowBufferPairMap().entrySet()) {
-      final AtomicReference<TimeSeriesRuntimeState> stateReference =
-          pipeName2timeSeries2TimeSeriesRuntimeStateMap
-              .get(pipeName)
-              .computeIfAbsent(
-                  entry.getKey(),
-                  key ->
-                      new AtomicReference<>(
-                          new TimeSeriesRuntimeState(
-                              outputName2OperatorMap,
-                              intermediateResultName2OperatorSupplierMap,
-                              systemParameters,
-                              windowingProcessor)));
-      synchronized (stateReference) {
-        try {
-          stateReference.get().restoreTimestampAndWindows(entry.getValue());
-        } catch (final IOException e) {
-          throw new PipeException("Encountered exception when deserializing from PipeTaskMeta", e);
-        }
-      }
-    }
+  /**
+   * Configure the processor with the given operator processors and windowing processor instead of
+   * loading them from the plugin agent, which is not available without a running DataNode.
+   */
+  @TestOnly
+  public void customize(
+      final PipeParameters parameters,
+      final String pipeName,
+      final String dataBaseName,
+      final List<AbstractOperatorProcessor> operatorProcessors,
+      final AbstractWindowingProcessor windowingProcessor) {
+    registerPipe(pipeName, dataBaseName);
+    this.operatorProcessors.addAll(operatorProcessors);
+    this.windowingProcessor = windowingProcessor;
+    configureOperators(parameters);
   }
 
   @Override
@@ -396,13 +429,21 @@ public class AggregateProcessor implements PipeProcessor {
     };
 
     final Iterable<TabletInsertionEvent> outputEvents =
-        tabletInsertionEvent.processRowByRow(
-            (row, rowCollector) ->
-                progressIndex[0] =
-                    (TimeWindowStateProgressIndex)
-                        progressIndex[0].updateToMinimumEqualOrIsAfterProgressIndex(
-                            new TimeWindowStateProgressIndex(
-                                processRow(row, rowCollector, exception))));
+        isColumnar
+            ? tabletInsertionEvent.processTablet(
+                (tablet, rowCollector) ->
+                    progressIndex[0] =
+                        (TimeWindowStateProgressIndex)
+                            progressIndex[0].updateToMinimumEqualOrIsAfterProgressIndex(
+                                new TimeWindowStateProgressIndex(
+                                    processTablet(tablet, rowCollector, exception))))
+            : tabletInsertionEvent.processRowByRow(
+                (row, rowCollector) ->
+                    progressIndex[0] =
+                        (TimeWindowStateProgressIndex)
+                            progressIndex[0].updateToMinimumEqualOrIsAfterProgressIndex(
+                                new TimeWindowStateProgressIndex(
+                                    processRow(row, rowCollector, exception))));
 
     // Must reset progressIndex before collection
     ((EnrichedEvent) tabletInsertionEvent).bindProgressIndex(progressIndex[0]);
@@ -521,6 +562,122 @@ public class AggregateProcessor implements PipeProcessor {
     return resultMap;
   }
 
+  /**
+   * Calculate the tablet column by column, which resolves the state of each time series only once
+   * per tablet and feeds the state with the primitive values of the column. The window outputs are
+   * grouped by time series instead of interleaved by rows, which does not affect the result since
+   * they are collected into the same output events.
+   */
+  private Map<String, Pair<Long, ByteBuffer>> processTablet(
+      final Tablet tablet,
+      final RowCollector rowCollector,
+      final AtomicReference<Exception> exception) {
+    final Map<String, Pair<Long, ByteBuffer>> resultMap = new HashMap<>();
+
+    final String deviceId =
+        outputDatabaseWithPathSeparator.isEmpty()
+            ? tablet.getDeviceId()
+            : tablet.getDeviceId().replaceFirst(databaseWithPathSeparator, "");
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    final long[] timestamps = tablet.getTimestamps();
+    final Object[] values = tablet.getValues();
+    final BitMap[] bitMaps = tablet.getBitMaps();
+    final int rowSize = tablet.getRowSize();
+
+    for (int index = 0; index < schemas.size(); ++index) {
+      final BitMap bitMap = Objects.nonNull(bitMaps) ? bitMaps[index] : null;
+      final String timeSeries =
+          deviceId + TsFileConstant.PATH_SEPARATOR + schemas.get(index).getMeasurementName();
+
+      final AtomicReference<TimeSeriesRuntimeState> stateReference =
+          pipeName2timeSeries2TimeSeriesRuntimeStateMap
+              .get(pipeName)
+              .computeIfAbsent(
+                  timeSeries,
+                  key ->
+                      new AtomicReference<>(
+                          new TimeSeriesRuntimeState(
+                              outputName2OperatorMap,
+                              intermediateResultName2OperatorSupplierMap,
+                              systemParameters,
+                              windowingProcessor)));
+
+      synchronized (stateReference) {
+        final TimeSeriesRuntimeState state = stateReference.get();
+        try {
+          for (int i = 0; i < rowSize; ++i) {
+            // Do not calculate null values
+            if (Objects.nonNull(bitMap) && bitMap.isMarked(i)) {
+              continue;
+            }
+            final Pair<List<WindowOutput>, Pair<Long, ByteBuffer>> result =
+                updateWindows(
+                    state, schemas.get(index).getType(), timestamps[i], values[index], i);
+            if (Objects.nonNull(result)) {
+              collectWindowOutputs(result.getLeft(), timeSeries, rowCollector);
+              if (Objects.nonNull(result.getRight())) {
+                resultMap.merge(
+                    timeSeries,
+                    result.getRight(),
+                    (oldValue, newValue) ->
+                        oldValue.getLeft() <= newValue.getLeft() ? newValue : oldValue);
+              }
+            }
+          }
+        } catch (final IOException | UnsupportedOperationException e) {
+          exception.set(e);
+        }
+      }
+    }
+    return resultMap;
+  }
+
+  private Pair<List<WindowOutput>, Pair<Long, ByteBuffer>> updateWindows(
+      final TimeSeriesRuntimeState state,
+      final TSDataType type,
+      final long timestamp,
+      final Object values,
+      final int row)
+      throws IOException {
+    switch (type) {
+      case BOOLEAN:
+        return state.updateWindows(
+            timestamp, ((boolean[]) values)[row], outputMinReportIntervalMilliseconds);
+      case INT32:
+        return state.updateWindows(
+            timestamp, ((int[]) values)[row], outputMinReportIntervalMilliseconds);
+      case DATE:
+        return state.updateWindows(
+            timestamp, ((LocalDate[]) values)[row], outputMinReportIntervalMilliseconds);
+      case INT64:
+      case TIMESTAMP:
+        return state.updateWindows(
+            timestamp, ((long[]) values)[row], outputMinReportIntervalMilliseconds);
+      case FLOAT:
+        return state.updateWindows(
+            timestamp, ((float[]) values)[row], outputMinReportIntervalMilliseconds);
+      case DOUBLE:
+        return state.updateWindows(
+            timestamp, ((double[]) values)[row], outputMinReportIntervalMilliseconds);
+      case TEXT:
+      case STRING:
+        final Binary binary = ((Binary[]) values)[row];
+        return state.updateWindows(
+            timestamp,
+            binary == null ? null : binary.getStringValue(TSFileConfig.STRING_CHARSET),
+            outputMinReportIntervalMilliseconds);
+      case BLOB:
+      case OBJECT:
+        return state.updateWindows(
+            timestamp,
+            PipeBinaryTransformer.transformToPipeBinary(((Binary[]) values)[row]),
+            outputMinReportIntervalMilliseconds);
+      default:
+        throw new UnsupportedOperationException(
+            String.format("The type %s is not supported", type));
+    }
+  }
+
   @Override
   public void process(
       final TsFileInsertionEvent tsFileInsertionEvent, final EventCollector eventCollector)
@@ -21,10 +21,12 @@ package org.apache.iotdb.db.pipe.processor.downsampling;
 
 import org.apache.iotdb.commons.consensus.DataRegionId;
 import org.apache.iotdb.commons.pipe.config.plugin.env.PipeTaskProcessorRuntimeEnvironment;
+import org.apache.iotdb.db.pipe.event.common.row.PipeBinaryTransformer;
 import org.apache.iotdb.db.pipe.event.common.tablet.PipeInsertNodeTabletInsertionEvent;
 import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
 import org.apache.iotdb.db.pipe.event.common.tsfile.PipeTsFileInsertionEvent;
 import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.utils.TabletUtils;
 import org.apache.iotdb.pipe.api.PipeProcessor;
 import org.apache.iotdb.pipe.api.access.Row;
 import org.apache.iotdb.pipe.api.collector.EventCollector;
@@ -37,9 +39,20 @@ import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TsFileInsertionEvent;
 
 import org.apache.tsfile.common.constant.TsFileConstant;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_COLUMNAR_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_COLUMNAR_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_DOWN_SAMPLING_MEMORY_LIMIT_IN_BYTES_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_DOWN_SAMPLING_MEMORY_LIMIT_IN_BYTES_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_DOWN_SAMPLING_SPLIT_FILE_DEFAULT_VALUE;
@@ -50,6 +63,8 @@ public abstract class DownSamplingProcessor implements PipeProcessor {
 
   protected boolean shouldSplitFile;
 
+  protected boolean isColumnar;
+
   protected String dataBaseNameWithPathSeparator;
 
   protected PartialPathLastObjectCache<?> pathLastObjectCache;
@@ -78,6 +93,8 @@ public abstract class DownSamplingProcessor implements PipeProcessor {
         parameters.getBooleanOrDefault(
             PROCESSOR_DOWN_SAMPLING_SPLIT_FILE_KEY,
             PROCESSOR_DOWN_SAMPLING_SPLIT_FILE_DEFAULT_VALUE);
+    isColumnar =
+        parameters.getBooleanOrDefault(PROCESSOR_COLUMNAR_KEY, PROCESSOR_COLUMNAR_DEFAULT_VALUE);
 
     dataBaseNameWithPathSeparator =
         StorageEngine.getInstance()
@@ -103,6 +120,11 @@ public abstract class DownSamplingProcessor implements PipeProcessor {
       return;
     }
 
+    if (isColumnar) {
+      processByColumn(tabletInsertionEvent, eventCollector);
+      return;
+    }
+
     final AtomicReference<String> deviceSuffix = new AtomicReference<>();
     final AtomicReference<Exception> exception = new AtomicReference<>();
 
@@ -138,6 +160,170 @@ public abstract class DownSamplingProcessor implements PipeProcessor {
       String deviceSuffix,
       AtomicReference<Exception> exception);
 
+  private void processByColumn(
+      final TabletInsertionEvent tabletInsertionEvent, final EventCollector eventCollector)
+      throws Exception {
+    final AtomicReference<Exception> exception = new AtomicReference<>();
+
+    tabletInsertionEvent
+        .processTabletWithCollect(
+            (tablet, tabletCollector) -> {
+              if (tablet.getRowSize() == 0) {
+                return;
+              }
+              final Tablet sampledTablet =
+                  processTablet(
+                      tablet,
+                      tablet.getDeviceId().replaceFirst(this.dataBaseNameWithPathSeparator, ""));
+              if (sampledTablet != null) {
+                try {
+                  tabletCollector.collectTablet(sampledTablet);
+                } catch (IOException e) {
+                  exception.set(e);
+                }
+              }
+            })
+        .forEach(
+            event -> {
+              try {
+                eventCollector.collect(event);
+              } catch (Exception e) {
+                exception.set(e);
+              }
+            });
+
+    if (exception.get() != null) {
+      throw exception.get();
+    }
+  }
+
+  /**
+   * Sample the tablet column by column, which produces the same result as {@link #processRow} on
+   * each row of the tablet, but resolves the state of each time series only once per tablet.
+   *
+   * @return the sampled tablet, or {@code null} if no row is sampled
+   */
+  protected abstract Tablet processTablet(Tablet tablet, String deviceSuffix);
+
+  protected static boolean isNull(final BitMap[] bitMaps, final int columnIndex, final int row) {
+    return bitMaps != null && bitMaps[columnIndex] != null && bitMaps[columnIndex].isMarked(row);
+  }
+
+  protected static boolean isNumeric(final TSDataType type) {
+    switch (type) {
+      case INT32:
+      case INT64:
+      case TIMESTAMP:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Get the numerical value in the column as double, which equals to parsing the string of the
+   * boxed value like the row filters do.
+   */
+  protected static double getDoubleValue(
+      final TSDataType type, final Object values, final int row) {
+    switch (type) {
+      case INT32:
+        return ((int[]) values)[row];
+      case INT64:
+      case TIMESTAMP:
+        return ((long[]) values)[row];
+      case FLOAT:
+        return Double.parseDouble(Float.toString(((float[]) values)[row]));
+      case DOUBLE:
+        return ((double[]) values)[row];
+      default:
+        throw new UnsupportedOperationException(
+            String.format("The type %s is not numerical", type));
+    }
+  }
+
+  /**
+   * Get the non-numerical value in the column, which is the same as {@link
+   * org.apache.iotdb.db.pipe.event.common.row.PipeRow#getObject}.
+   */
+  protected static Object getNonNumericValue(
+      final TSDataType type, final Object values, final int row) {
+    switch (type) {
+      case BOOLEAN:
+        return ((boolean[]) values)[row];
+      case DATE:
+        return ((LocalDate[]) values)[row];
+      case TEXT:
+      case BLOB:
+      case STRING:
+      case OBJECT:
+        return PipeBinaryTransformer.transformToPipeBinary(((Binary[]) values)[row]);
+      default:
+        throw new UnsupportedOperationException(
+            String.format("The type %s is not supported", type));
+    }
+  }
+
+  /**
+   * Build a tablet with the selected rows of the given tablet.
+   *
+   * @param bitMaps the null bitmaps of the given tablet's columns, indexed by the original rows
+   * @return the tablet, or {@code null} if no row is selected
+   */
+  protected static Tablet selectRows(
+      final Tablet tablet, final BitMap[] bitMaps, final boolean[] isRowSelected) {
+    final int[] rows = new int[isRowSelected.length];
+    int rowCount = 0;
+    for (int row = 0; row < isRowSelected.length; ++row) {
+      if (isRowSelected[row]) {
+        rows[rowCount++] = row;
+      }
+    }
+    return rowCount == 0 ? null : selectRows(tablet, bitMaps, rows, rowCount);
+  }
+
+  /**
+   * Build a tablet with the selected rows of the given tablet.
+   *
+   * @param bitMaps the null bitmaps of the given tablet's columns, indexed by the original rows
+   * @param rows the indexes of the selected rows in ascending order
+   * @param rowCount the number of the selected rows
+   */
+  protected static Tablet selectRows(
+      final Tablet tablet, final BitMap[] bitMaps, final int[] rows, final int rowCount) {
+    final long[] timestamps = tablet.getTimestamps();
+    final long[] selectedTimestamps = new long[rowCount];
+    for (int i = 0; i < rowCount; ++i) {
+      selectedTimestamps[i] = timestamps[rows[i]];
+    }
+
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    final Object[] values = tablet.getValues();
+    final Object[] selectedValues = new Object[schemas.size()];
+    final BitMap[] selectedBitMaps = new BitMap[schemas.size()];
+    for (int columnIndex = 0; columnIndex < schemas.size(); ++columnIndex) {
+      selectedValues[columnIndex] =
+          TabletUtils.selectValues(
+              schemas.get(columnIndex).getType(), values[columnIndex], rows, rowCount);
+      selectedBitMaps[columnIndex] = new BitMap(rowCount);
+      for (int i = 0; i < rowCount; ++i) {
+        if (isNull(bitMaps, columnIndex, rows[i])) {
+          selectedBitMaps[columnIndex].mark(i);
+        }
+      }
+    }
+
+    return new Tablet(
+        tablet.getDeviceId(),
+        new ArrayList<>(schemas),
+        selectedTimestamps,
+        selectedValues,
+        selectedBitMaps,
+        rowCount);
+  }
+
   /**
    * If data comes in {@link TsFileInsertionEvent}, we will not split it into {@link
    * TabletInsertionEvent} by default, because the data in {@link TsFileInsertionEvent} is already
@@ -36,6 +36,20 @@ public class ChangingValueFilter<T> {
 
   private T lastStoredValue;
 
+  /**
+   * The numerical value used by {@link #filter(long, double)} instead of lastStoredValue, which
+   * avoids boxing and parsing the values
+   */
+  private double lastStoredNumericValue;
+
+  public ChangingValueFilter(
+      final ChangingValueSamplingProcessor processor,
+      final long firstTimestamp,
+      final double firstValue) {
+    this.processor = processor;
+    reset(firstTimestamp, firstValue);
+  }
+
   public ChangingValueFilter(
       final ChangingValueSamplingProcessor processor,
       final long firstTimestamp,
@@ -94,6 +108,28 @@ public class ChangingValueFilter<T> {
     return false;
   }
 
+  /** The same as {@link #filter(long, Object)} for the numerical values. */
+  public boolean filter(final long timestamp, final double value) {
+    final long timeDiff = Math.abs(timestamp - lastStoredTimestamp);
+
+    if (timeDiff <= processor.getCompressionMinTimeInterval()) {
+      return false;
+    }
+
+    if (timeDiff >= processor.getCompressionMaxTimeInterval()
+        || Math.abs(lastStoredNumericValue - value) > processor.getCompressionDeviation()) {
+      reset(timestamp, value);
+      return true;
+    }
+
+    return false;
+  }
+
+  private void reset(final long timestamp, final double value) {
+    lastStoredTimestamp = timestamp;
+    lastStoredNumericValue = value;
+  }
+
   private void reset(final long timestamp, final T value) {
     lastStoredTimestamp = timestamp;
     lastStoredValue = value;
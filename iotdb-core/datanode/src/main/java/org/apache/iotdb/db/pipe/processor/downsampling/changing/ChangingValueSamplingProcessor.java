@@ -32,10 +32,15 @@ import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameterValidator;
 import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
 
 import org.apache.tsfile.common.constant.TsFileConstant;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 @TreeModel
@@ -187,6 +192,58 @@ public class ChangingValueSamplingProcessor extends DownSamplingProcessor {
     }
   }
 
+  @Override
+  protected Tablet processTablet(final Tablet tablet, final String deviceSuffix) {
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    final int rowCount = tablet.getRowSize();
+    final long[] timestamps = tablet.getTimestamps();
+    final Object[] values = tablet.getValues();
+    final BitMap[] bitMaps = tablet.getBitMaps();
+
+    // The values filtered out are marked as null in the sampled bitmaps
+    final BitMap[] sampledBitMaps = new BitMap[schemas.size()];
+    final boolean[] isRowSampled = new boolean[rowCount];
+    for (int columnIndex = 0; columnIndex < schemas.size(); ++columnIndex) {
+      final TSDataType type = schemas.get(columnIndex).getType();
+      final boolean isNumeric = isNumeric(type);
+      final Object columnValues = values[columnIndex];
+      final BitMap sampledBitMap = new BitMap(rowCount);
+      sampledBitMaps[columnIndex] = sampledBitMap;
+
+      final String timeSeriesSuffix =
+          deviceSuffix
+              + TsFileConstant.PATH_SEPARATOR
+              + schemas.get(columnIndex).getMeasurementName();
+      ChangingValueFilter filter = pathLastObjectCache.getPartialPathLastObject(timeSeriesSuffix);
+
+      for (int row = 0; row < rowCount; ++row) {
+        if (isNull(bitMaps, columnIndex, row)) {
+          sampledBitMap.mark(row);
+          continue;
+        }
+
+        if (filter == null) {
+          filter =
+              isNumeric
+                  ? new ChangingValueFilter<>(
+                      this, timestamps[row], getDoubleValue(type, columnValues, row))
+                  : new ChangingValueFilter<>(
+                      this, timestamps[row], getNonNumericValue(type, columnValues, row));
+          pathLastObjectCache.setPartialPathLastObject(timeSeriesSuffix, filter);
+          isRowSampled[row] = true;
+        } else if (isNumeric
+            ? filter.filter(timestamps[row], getDoubleValue(type, columnValues, row))
+            : filter.filter(timestamps[row], getNonNumericValue(type, columnValues, row))) {
+          isRowSampled[row] = true;
+        } else {
+          sampledBitMap.mark(row);
+        }
+      }
+    }
+
+    return selectRows(tablet, sampledBitMaps, isRowSampled);
+  }
+
   double getCompressionDeviation() {
     return compressionDeviation;
   }
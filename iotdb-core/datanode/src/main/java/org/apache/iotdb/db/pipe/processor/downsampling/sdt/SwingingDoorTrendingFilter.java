@@ -56,6 +56,22 @@ public class SwingingDoorTrendingFilter<T> {
 
   private T lastStoredValue;
 
+  /**
+   * The numerical values used by {@link #filter(long, double)} instead of lastReadValue and
+   * lastStoredValue, which avoids boxing and parsing the values
+   */
+  private double lastReadNumericValue;
+
+  private double lastStoredNumericValue;
+
+  public SwingingDoorTrendingFilter(
+      final SwingingDoorTrendingSamplingProcessor processor,
+      final long firstTimestamp,
+      final double firstValue) {
+    this.processor = processor;
+    init(firstTimestamp, firstValue);
+  }
+
   public SwingingDoorTrendingFilter(
       final SwingingDoorTrendingSamplingProcessor processor,
       final long firstTimestamp,
@@ -75,6 +91,17 @@ public class SwingingDoorTrendingFilter<T> {
     lastStoredValue = firstValue;
   }
 
+  private void init(final long firstTimestamp, final double firstValue) {
+    upperDoor = Double.MIN_VALUE;
+    lowerDoor = Double.MAX_VALUE;
+
+    lastReadTimestamp = firstTimestamp;
+    lastReadNumericValue = firstValue;
+
+    lastStoredTimestamp = firstTimestamp;
+    lastStoredNumericValue = firstValue;
+  }
+
   public boolean filter(final long timestamp, final T value) {
     try {
       return tryFilter(timestamp, value);
@@ -144,6 +171,59 @@ public class SwingingDoorTrendingFilter<T> {
     return false;
   }
 
+  /** The same as {@link #filter(long, Object)} for the numerical values. */
+  public boolean filter(final long timestamp, final double value) {
+    final long timeDiff = timestamp - lastStoredTimestamp;
+    final long absTimeDiff = Math.abs(timeDiff);
+
+    if (absTimeDiff <= processor.getCompressionMinTimeInterval()) {
+      return false;
+    }
+
+    if (absTimeDiff >= processor.getCompressionMaxTimeInterval()) {
+      reset(timestamp, value);
+      return true;
+    }
+
+    final double valueDiff = value - lastStoredNumericValue;
+
+    final double currentUpperSlope = (valueDiff - processor.getCompressionDeviation()) / timeDiff;
+    if (currentUpperSlope > upperDoor) {
+      upperDoor = currentUpperSlope;
+    }
+
+    final double currentLowerSlope = (valueDiff + processor.getCompressionDeviation()) / timeDiff;
+    if (currentLowerSlope < lowerDoor) {
+      lowerDoor = currentLowerSlope;
+    }
+
+    if (upperDoor > lowerDoor) {
+      lastStoredTimestamp = lastReadTimestamp;
+      lastStoredNumericValue = lastReadNumericValue;
+
+      upperDoor = currentUpperSlope;
+      lowerDoor = currentLowerSlope;
+
+      lastReadNumericValue = value;
+      lastReadTimestamp = timestamp;
+
+      return true;
+    }
+
+    lastReadNumericValue = value;
+    lastReadTimestamp = timestamp;
+
+    return false;
+  }
+
+  private void reset(final long timestamp, final double value) {
+    upperDoor = Double.MIN_VALUE;
+    lowerDoor = Double.MAX_VALUE;
+
+    lastStoredTimestamp = timestamp;
+    lastStoredNumericValue = value;
+  }
+
   private void reset(final long timestamp, final T value) {
     upperDoor = Double.MIN_VALUE;
     lowerDoor = Double.MAX_VALUE;
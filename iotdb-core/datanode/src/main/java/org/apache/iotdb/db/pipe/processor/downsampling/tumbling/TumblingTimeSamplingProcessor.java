@@ -30,9 +30,13 @@ import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameterValidator;
 import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
 
 import org.apache.tsfile.common.constant.TsFileConstant;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -134,4 +138,64 @@ public class TumblingTimeSamplingProcessor extends DownSamplingProcessor {
       }
     }
   }
+
+  @Override
+  protected Tablet processTablet(final Tablet tablet, final String deviceSuffix) {
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    final int columnCount = schemas.size();
+    final int rowCount = tablet.getRowSize();
+    final long[] timestamps = tablet.getTimestamps();
+    final BitMap[] bitMaps = tablet.getBitMaps();
+
+    final String[] timeSeriesSuffixes = new String[columnCount];
+    final long[] lastSampleTimes = new long[columnCount];
+    final boolean[] hasLastSampleTime = new boolean[columnCount];
+    final boolean[] isUpdated = new boolean[columnCount];
+    for (int columnIndex = 0; columnIndex < columnCount; ++columnIndex) {
+      timeSeriesSuffixes[columnIndex] =
+          deviceSuffix
+              + TsFileConstant.PATH_SEPARATOR
+              + schemas.get(columnIndex).getMeasurementName();
+      final Long lastSampleTime =
+          pathLastObjectCache.getPartialPathLastObject(timeSeriesSuffixes[columnIndex]);
+      if (lastSampleTime != null) {
+        lastSampleTimes[columnIndex] = lastSampleTime;
+        hasLastSampleTime[columnIndex] = true;
+      }
+    }
+
+    final int[] sampledRows = new int[rowCount];
+    int sampledRowCount = 0;
+    for (int row = 0; row < rowCount; ++row) {
+      final long currentRowTime = timestamps[row];
+      for (int columnIndex = 0; columnIndex < columnCount; ++columnIndex) {
+        if (isNull(bitMaps, columnIndex, row)
+            || hasLastSampleTime[columnIndex]
+                && Math.abs(currentRowTime - lastSampleTimes[columnIndex])
+                    < intervalInCurrentPrecision) {
+          continue;
+        }
+
+        // Same as processRow, only the series from the first sampled one are updated
+        sampledRows[sampledRowCount++] = row;
+        for (int j = columnIndex; j < columnCount; ++j) {
+          if (!isNull(bitMaps, j, row)) {
+            lastSampleTimes[j] = currentRowTime;
+            hasLastSampleTime[j] = true;
+            isUpdated[j] = true;
+          }
+        }
+        break;
+      }
+    }
+
+    for (int columnIndex = 0; columnIndex < columnCount; ++columnIndex) {
+      if (isUpdated[columnIndex]) {
+        pathLastObjectCache.setPartialPathLastObject(
+            timeSeriesSuffixes[columnIndex], lastSampleTimes[columnIndex]);
+      }
+    }
+
+    return sampledRowCount == 0 ? null : selectRows(tablet, bitMaps, sampledRows, sampledRowCount);
+  }
 }
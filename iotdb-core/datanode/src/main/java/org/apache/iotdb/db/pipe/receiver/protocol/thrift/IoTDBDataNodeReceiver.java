@@ -21,6 +21,8 @@ package org.apache.iotdb.db.pipe.receiver.protocol.thrift;
 
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.audit.IAuditEntity;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.pipe.PipeRuntimeOutOfMemoryCriticalException;
@@ -49,6 +51,7 @@ import org.apache.iotdb.db.exception.DiskSpaceInsufficientException;
 import org.apache.iotdb.db.pipe.agent.PipeDataNodeAgent;
 import org.apache.iotdb.db.pipe.event.common.schema.PipeSchemaRegionSnapshotEvent;
 import org.apache.iotdb.db.pipe.metric.receiver.PipeDataNodeReceiverMetrics;
+import org.apache.iotdb.db.pipe.receiver.transform.statement.PipeInsertStatementPartitioner;
 import org.apache.iotdb.db.pipe.receiver.visitor.PipePlanToStatementVisitor;
 import org.apache.iotdb.db.pipe.receiver.visitor.PipeStatementExceptionVisitor;
 import org.apache.iotdb.db.pipe.receiver.visitor.PipeStatementTSStatusVisitor;
@@ -131,6 +134,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -182,7 +187,18 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
 
   private static final PipeConfig PIPE_CONFIG = PipeConfig.getInstance();
 
-  private PipeMemoryBlock allocatedMemoryBlock;
+  // Shared by all the receivers, created only if the parallel apply is enabled
+  private static class ParallelApplyExecutorHolder {
+
+    private static final ExecutorService EXECUTOR =
+        IoTDBThreadPoolFactory.newFixedThreadPool(
+            PIPE_CONFIG.getPipeReceiverParallelApplyThreadNum(),
+            ThreadName.PIPE_RECEIVER_PARALLEL_APPLY_POOL.getName());
+
+    private ParallelApplyExecutorHolder() {
+      // Empty constructor
+    }
+  }
 
   static {
     try {
@@ -486,6 +502,11 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
   private TPipeTransferResp handleTransferTabletBatch(final PipeTransferTabletBatchReq req) {
     final Pair<InsertRowsStatement, InsertMultiTabletsStatement> statementPair =
         req.constructStatements();
+    if (isParallelApplyEnabled()) {
+      return new TPipeTransferResp(
+          executeBatchStatementsInParallel(
+              Arrays.asList(statementPair.getLeft(), statementPair.getRight())));
+    }
     return new TPipeTransferResp(
         PipeReceiverStatusHandler.getPriorStatus(
             Stream.of(
@@ -499,6 +520,11 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
   }
 
   private TPipeTransferResp handleTransferTabletBatchV2(final PipeTransferTabletBatchReqV2 req) {
+    if (isParallelApplyEnabled()) {
+      return new TPipeTransferResp(
+          executeBatchStatementsInParallel(
+              req.constructStatements(ParallelApplyExecutorHolder.EXECUTOR)));
+    }
     final List<InsertBaseStatement> statementSet = req.constructStatements();
     return new TPipeTransferResp(
         PipeReceiverStatusHandler.getPriorStatus(
@@ -785,6 +811,75 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
     return result;
   }
 
+  private static boolean isParallelApplyEnabled() {
+    return PIPE_CONFIG.getPipeReceiverParallelApplyThreadNum() > 0;
+  }
+
+  /**
+   * Split the batched statements into partitions that share no device and execute the partitions
+   * concurrently. The statements of the same device are executed in the same partition by their
+   * original order, so the result is the same as executing the batch sequentially.
+   */
+  private TSStatus executeBatchStatementsInParallel(final List<InsertBaseStatement> statements) {
+    final List<List<InsertBaseStatement>> partitions =
+        PipeInsertStatementPartitioner.partition(
+            statements.stream()
+                .filter(statement -> !statement.isEmpty())
+                .collect(Collectors.toList()),
+            PIPE_CONFIG.getPipeReceiverParallelApplyThreadNum());
+    if (partitions.isEmpty()) {
+      return RpcUtils.SUCCESS_STATUS;
+    }
+    if (partitions.size() == 1) {
+      return PipeReceiverStatusHandler.getPriorStatus(
+          partitions.get(0).stream()
+              .map(this::executeBatchStatementAndAddRedirectInfo)
+              .collect(Collectors.toList()));
+    }
+
+    // Login in the receiver thread in advance, so that the partitions won't login concurrently
+    final TSStatus loginStatus = loginIfNecessary();
+    if (loginStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      return loginStatus;
+    }
+
+    final IClientSession session = SESSION_MANAGER.getCurrSession();
+    final List<Future<List<TSStatus>>> futures = new ArrayList<>(partitions.size());
+    for (final List<InsertBaseStatement> partition : partitions) {
+      futures.add(
+          ParallelApplyExecutorHolder.EXECUTOR.submit(
+              () -> {
+                SESSION_MANAGER.bindSession(session);
+                try {
+                  return partition.stream()
+                      .map(this::executeBatchStatementAndAddRedirectInfo)
+                      .collect(Collectors.toList());
+                } finally {
+                  SESSION_MANAGER.unbindSession();
+                }
+              }));
+    }
+
+    final List<TSStatus> results = new ArrayList<>();
+    for (final Future<List<TSStatus>> future : futures) {
+      try {
+        results.addAll(future.get());
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return RpcUtils.getStatus(
+            TSStatusCode.PIPE_ERROR, "Interrupted while executing the batched statements.");
+      } catch (final ExecutionException e) {
+        PipeLogger.log(
+            LOGGER::warn,
+            e,
+            "Receiver id = %s: Exception encountered while executing the batched statements: ",
+            receiverId.get());
+        results.add(RpcUtils.getStatus(TSStatusCode.PIPE_ERROR, e.getCause().getMessage()));
+      }
+    }
+    return PipeReceiverStatusHandler.getPriorStatus(results);
+  }
+
   private TSStatus executeStatementAndClassifyExceptions(final Statement statement) {
     return executeStatementAndClassifyExceptions(statement, 1);
   }
@@ -792,6 +887,8 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
   private TSStatus executeStatementAndClassifyExceptions(
       final Statement statement, final int tryCount) {
     long estimatedMemory = 0L;
+    // Not shared among the calls, since the batched statements may be executed concurrently
+    PipeMemoryBlock allocatedMemoryBlock = null;
     final double pipeReceiverActualToEstimatedMemoryRatio =
         PIPE_CONFIG.getPipeReceiverActualToEstimatedMemoryRatio();
     try {
@@ -853,7 +950,6 @@ public class IoTDBDataNodeReceiver extends IoTDBFileReceiver {
     } finally {
       if (Objects.nonNull(allocatedMemoryBlock)) {
         allocatedMemoryBlock.close();
-        allocatedMemoryBlock = null;
       }
     }
   }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.receiver.transform.statement;
+
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Split the insert statements of a batch into partitions that share no device, so that the
+ * partitions can be executed concurrently. The statements of the same device (the same table for
+ * the table model) always fall into the same partition, and keep their original order there, so
+ * executing each partition sequentially writes every device in the same order as executing the
+ * whole batch sequentially.
+ */
+public class PipeInsertStatementPartitioner {
+
+  private PipeInsertStatementPartitioner() {
+    // Utility class
+  }
+
+  public static List<List<InsertBaseStatement>> partition(
+      final List<InsertBaseStatement> statements, final int partitionNum) {
+    final List<List<InsertBaseStatement>> partitions = new ArrayList<>(partitionNum);
+    for (int i = 0; i < partitionNum; ++i) {
+      partitions.add(new ArrayList<>());
+    }
+
+    for (final InsertBaseStatement statement : statements) {
+      if (statement instanceof InsertRowsStatement) {
+        partitionInsertRows((InsertRowsStatement) statement, partitions);
+      } else if (statement instanceof InsertMultiTabletsStatement) {
+        partitionInsertMultiTablets((InsertMultiTabletsStatement) statement, partitions);
+      } else {
+        partitions.get(getPartitionIndex(statement, partitionNum)).add(statement);
+      }
+    }
+
+    partitions.removeIf(List::isEmpty);
+    return partitions;
+  }
+
+  private static void partitionInsertRows(
+      final InsertRowsStatement statement, final List<List<InsertBaseStatement>> partitions) {
+    final List<List<InsertRowStatement>> rowLists = new ArrayList<>(partitions.size());
+    for (int i = 0; i < partitions.size(); ++i) {
+      rowLists.add(new ArrayList<>());
+    }
+    for (final InsertRowStatement row : statement.getInsertRowStatementList()) {
+      rowLists.get(getPartitionIndex(row, partitions.size())).add(row);
+    }
+
+    for (int i = 0; i < partitions.size(); ++i) {
+      if (rowLists.get(i).isEmpty()) {
+        continue;
+      }
+      final InsertRowsStatement subStatement = new InsertRowsStatement();
+      subStatement.setWriteToTable(statement.isWriteToTable());
+      statement.getDatabaseName().ifPresent(subStatement::setDatabaseName);
+      subStatement.setInsertRowStatementList(rowLists.get(i));
+      partitions.get(i).add(subStatement);
+    }
+  }
+
+  private static void partitionInsertMultiTablets(
+      final InsertMultiTabletsStatement statement,
+      final List<List<InsertBaseStatement>> partitions) {
+    final List<List<InsertTabletStatement>> tabletLists = new ArrayList<>(partitions.size());
+    for (int i = 0; i < partitions.size(); ++i) {
+      tabletLists.add(new ArrayList<>());
+    }
+    for (final InsertTabletStatement tablet : statement.getInsertTabletStatementList()) {
+      tabletLists.get(getPartitionIndex(tablet, partitions.size())).add(tablet);
+    }
+
+    for (int i = 0; i < partitions.size(); ++i) {
+      if (tabletLists.get(i).isEmpty()) {
+        continue;
+      }
+      final InsertMultiTabletsStatement subStatement = new InsertMultiTabletsStatement();
+      subStatement.setWriteToTable(statement.isWriteToTable());
+      statement.getDatabaseName().ifPresent(subStatement::setDatabaseName);
+      subStatement.setInsertTabletStatementList(tabletLists.get(i));
+      partitions.get(i).add(subStatement);
+    }
+  }
+
+  // The device path is the table name for the table model
+  private static int getPartitionIndex(
+      final InsertBaseStatement statement, final int partitionNum) {
+    return Math.floorMod(Objects.hashCode(statement.getDevicePath()), partitionNum);
+  }
+}
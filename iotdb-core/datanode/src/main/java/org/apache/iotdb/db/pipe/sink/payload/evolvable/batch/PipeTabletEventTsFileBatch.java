@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 
 import static org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent.isTabletEmpty;
 
@@ -59,6 +60,9 @@ public class PipeTabletEventTsFileBatch extends PipeTabletEventBatch {
 
   private final Map<Pair<String, Long>, Double> pipeName2WeightMap = new HashMap<>();
 
+  // Applied to the tablets before buffering, a null result means the tablet is skipped
+  private UnaryOperator<Tablet> tabletFilter = UnaryOperator.identity();
+
   public PipeTabletEventTsFileBatch(final int maxDelayInMs, final long requestMaxBatchSizeInBytes) {
     super(maxDelayInMs, requestMaxBatchSizeInBytes, null);
 
@@ -78,6 +82,10 @@ public class PipeTabletEventTsFileBatch extends PipeTabletEventBatch {
     tableModeTsFileBuilder = new PipeTableModelTsFileBuilderV2(currentBatchId, tsFileIdGenerator);
   }
 
+  public void setTabletFilter(final UnaryOperator<Tablet> tabletFilter) {
+    this.tabletFilter = tabletFilter;
+  }
+
   @Override
   protected boolean constructBatch(final TabletInsertionEvent event) {
     if (event instanceof PipeInsertNodeTabletInsertionEvent) {
@@ -86,7 +94,7 @@ public class PipeTabletEventTsFileBatch extends PipeTabletEventBatch {
       final boolean isTableModel = insertNodeTabletInsertionEvent.isTableModelEvent();
       final List<Tablet> tablets = insertNodeTabletInsertionEvent.convertToTablets();
       for (int i = 0; i < tablets.size(); ++i) {
-        final Tablet tablet = tablets.get(i);
+        final Tablet tablet = tabletFilter.apply(tablets.get(i));
         if (isTabletEmpty(tablet)) {
           continue;
         }
@@ -109,7 +117,7 @@ public class PipeTabletEventTsFileBatch extends PipeTabletEventBatch {
     } else if (event instanceof PipeRawTabletInsertionEvent) {
       final PipeRawTabletInsertionEvent rawTabletInsertionEvent =
           (PipeRawTabletInsertionEvent) event;
-      final Tablet tablet = rawTabletInsertionEvent.convertToTablet();
+      final Tablet tablet = tabletFilter.apply(rawTabletInsertionEvent.convertToTablet());
       if (isTabletEmpty(tablet)) {
         return true;
       }
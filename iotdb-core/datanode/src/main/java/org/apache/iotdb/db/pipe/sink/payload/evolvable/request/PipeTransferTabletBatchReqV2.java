@@ -29,6 +29,7 @@ import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsSta
 import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.pipe.api.exception.PipeException;
 import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
 
 import org.apache.tsfile.utils.PublicBAOS;
@@ -42,6 +43,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class PipeTransferTabletBatchReqV2 extends TPipeTransferReq {
 
@@ -55,8 +61,24 @@ public class PipeTransferTabletBatchReqV2 extends TPipeTransferReq {
   }
 
   public List<InsertBaseStatement> constructStatements() {
+    return constructStatements(null);
+  }
+
+  /**
+   * @param decodeExecutor the executor to decode the batched requests in parallel, or {@code null}
+   *     to decode them in the caller thread
+   */
+  public List<InsertBaseStatement> constructStatements(final ExecutorService decodeExecutor) {
     final List<InsertBaseStatement> statements = new ArrayList<>();
 
+    final List<InsertBaseStatement> binaryStatements =
+        decode(binaryReqs, PipeTransferTabletBinaryReqV2::constructStatement, decodeExecutor);
+    final List<InsertBaseStatement> insertNodeStatements =
+        decode(
+            insertNodeReqs, PipeTransferTabletInsertNodeReqV2::constructStatement, decodeExecutor);
+    final List<InsertTabletStatement> tabletStatements =
+        decode(tabletReqs, PipeTransferTabletRawReqV2::constructStatement, decodeExecutor);
+
     final InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
     final InsertMultiTabletsStatement insertMultiTabletsStatement =
         new InsertMultiTabletsStatement();
@@ -66,8 +88,9 @@ public class PipeTransferTabletBatchReqV2 extends TPipeTransferReq {
     final Map<String, List<InsertRowStatement>> tableModelDatabaseInsertRowStatementMap =
         new HashMap<>();
 
-    for (final PipeTransferTabletBinaryReqV2 binaryReq : binaryReqs) {
-      final InsertBaseStatement statement = binaryReq.constructStatement();
+    for (int i = 0; i < binaryReqs.size(); ++i) {
+      final PipeTransferTabletBinaryReqV2 binaryReq = binaryReqs.get(i);
+      final InsertBaseStatement statement = binaryStatements.get(i);
       if (statement.isEmpty()) {
         continue;
       }
@@ -105,8 +128,9 @@ public class PipeTransferTabletBatchReqV2 extends TPipeTransferReq {
       }
     }
 
-    for (final PipeTransferTabletInsertNodeReqV2 insertNodeReq : insertNodeReqs) {
-      final InsertBaseStatement statement = insertNodeReq.constructStatement();
+    for (int i = 0; i < insertNodeReqs.size(); ++i) {
+      final PipeTransferTabletInsertNodeReqV2 insertNodeReq = insertNodeReqs.get(i);
+      final InsertBaseStatement statement = insertNodeStatements.get(i);
       if (statement.isEmpty()) {
         continue;
       }
@@ -144,8 +168,7 @@ public class PipeTransferTabletBatchReqV2 extends TPipeTransferReq {
       }
     }
 
-    for (final PipeTransferTabletRawReqV2 tabletReq : tabletReqs) {
-      final InsertTabletStatement statement = tabletReq.constructStatement();
+    for (final InsertTabletStatement statement : tabletStatements) {
       if (statement.isEmpty()) {
         continue;
       }
@@ -177,6 +200,35 @@ public class PipeTransferTabletBatchReqV2 extends TPipeTransferReq {
     return statements;
   }
 
+  private static <R, S> List<S> decode(
+      final List<R> reqs, final Function<R, S> decoder, final ExecutorService decodeExecutor) {
+    if (Objects.isNull(decodeExecutor) || reqs.size() <= 1) {
+      return reqs.stream().map(decoder).collect(Collectors.toList());
+    }
+
+    final List<Future<S>> futures = new ArrayList<>(reqs.size());
+    for (final R req : reqs) {
+      futures.add(decodeExecutor.submit(() -> decoder.apply(req)));
+    }
+    final List<S> statements = new ArrayList<>(reqs.size());
+    try {
+      for (final Future<S> future : futures) {
+        statements.add(future.get());
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PipeException("Interrupted while decoding the batched requests.", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new PipeException("Failed to decode the batched requests.", e.getCause());
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+    return statements;
+  }
+
   /////////////////////////////// Thrift ///////////////////////////////
 
   public static PipeTransferTabletBatchReqV2 toTPipeTransferReq(
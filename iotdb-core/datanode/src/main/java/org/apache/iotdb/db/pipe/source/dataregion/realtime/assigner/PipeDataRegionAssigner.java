@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.pipe.source.dataregion.realtime.assigner;
 
 import org.apache.iotdb.commons.consensus.DataRegionId;
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
 import org.apache.iotdb.commons.pipe.event.ProgressReportEvent;
 import org.apache.iotdb.commons.pipe.metric.PipeEventCounter;
@@ -40,6 +41,7 @@ import org.apache.iotdb.db.pipe.processor.pipeconsensus.PipeConsensusProcessor;
 import org.apache.iotdb.db.pipe.source.dataregion.realtime.PipeRealtimeDataRegionSource;
 import org.apache.iotdb.db.pipe.source.dataregion.realtime.matcher.CachedSchemaPatternMatcher;
 import org.apache.iotdb.db.pipe.source.dataregion.realtime.matcher.PipeDataRegionMatcher;
+import org.apache.iotdb.db.pipe.source.dataregion.realtime.matcher.TrieSchemaPatternMatcher;
 import org.apache.iotdb.db.storageengine.StorageEngine;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
@@ -77,7 +79,10 @@ public class PipeDataRegionAssigner implements Closeable {
   }
 
   public PipeDataRegionAssigner(final String dataRegionId) {
-    this.matcher = new CachedSchemaPatternMatcher();
+    this.matcher =
+        PipeConfig.getInstance().isPipeSourceMatcherTrieEnabled()
+            ? new TrieSchemaPatternMatcher()
+            : new CachedSchemaPatternMatcher();
     this.disruptor = new DisruptorQueue(this::assignToExtractor, this::onAssignedHook);
     this.dataRegionId = dataRegionId;
     PipeAssignerMetrics.getInstance().register(this);
@@ -87,6 +87,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       sources.add(source);
       deviceToSourcesCache.invalidateAll();
       databaseAndTableToSourcesCache.invalidateAll();
+      onSourcesChanged();
     } finally {
       lock.writeLock().unlock();
     }
@@ -99,6 +100,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       sources.remove(source);
       deviceToSourcesCache.invalidateAll();
       databaseAndTableToSourcesCache.invalidateAll();
+      onSourcesChanged();
     } finally {
       lock.writeLock().unlock();
     }
@@ -115,6 +117,14 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
     }
   }
 
+  /**
+   * Called with the write lock held after the registered sources are changed, so that the
+   * subclasses can rebuild their indexes of the sources.
+   */
+  protected void onSourcesChanged() {
+    // Do nothing by default
+  }
+
   @Override
   public int getRegisterCount() {
     lock.readLock().lock();
@@ -207,7 +217,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       final Set<PipeRealtimeDataRegionSource> matchedSources) {
     // 1. try to get matched sources from cache, if not success, match them by device
     final Set<PipeRealtimeDataRegionSource> sourcesFilteredByDevice =
-        deviceToSourcesCache.get(device, this::filterSourcesByDevice);
+        getSourcesFilteredByDevice(device);
     // this would not happen
     if (sourcesFilteredByDevice == null) {
       LOGGER.warn(
@@ -259,19 +269,15 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
     }
   }
 
+  protected Set<PipeRealtimeDataRegionSource> getSourcesFilteredByDevice(final IDeviceID device) {
+    return deviceToSourcesCache.get(device, this::filterSourcesByDevice);
+  }
+
   protected Set<PipeRealtimeDataRegionSource> filterSourcesByDevice(final IDeviceID device) {
     final Set<PipeRealtimeDataRegionSource> filteredSources = new HashSet<>();
 
     for (final PipeRealtimeDataRegionSource source : sources) {
-      // Return if the source only extract deletion
-      if (!source.shouldExtractInsertion()) {
-        continue;
-      }
-
-      final TreePattern treePattern = source.getTreePattern();
-      if (Objects.isNull(treePattern)
-          || (treePattern.isTreeModelDataAllowedToBeCaptured()
-              && treePattern.mayOverlapWithDevice(device))) {
+      if (mayOverlapWithDevice(source, device)) {
         filteredSources.add(source);
       }
     }
@@ -279,6 +285,19 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
     return filteredSources;
   }
 
+  protected static boolean mayOverlapWithDevice(
+      final PipeRealtimeDataRegionSource source, final IDeviceID device) {
+    // Return if the source only extract deletion
+    if (!source.shouldExtractInsertion()) {
+      return false;
+    }
+
+    final TreePattern treePattern = source.getTreePattern();
+    return Objects.isNull(treePattern)
+        || (treePattern.isTreeModelDataAllowedToBeCaptured()
+            && treePattern.mayOverlapWithDevice(device));
+  }
+
   protected void matchTableModelEvent(
       final String databaseName,
       final IDeviceID tableName,
@@ -307,7 +326,8 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       final Pair<String, IDeviceID> databaseNameAndTableName) {
     final Set<PipeRealtimeDataRegionSource> filteredSources = new HashSet<>();
 
-    for (final PipeRealtimeDataRegionSource source : sources) {
+    for (final PipeRealtimeDataRegionSource source :
+        getSourcesToFilterByDatabase(databaseNameAndTableName.getLeft())) {
       // Return if the source only extract deletion
       if (!source.shouldExtractInsertion()) {
         continue;
@@ -326,6 +346,11 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
     return filteredSources;
   }
 
+  /** Get the sources that may capture the data of the given database. */
+  protected Set<PipeRealtimeDataRegionSource> getSourcesToFilterByDatabase(final String database) {
+    return sources;
+  }
+
   private boolean matchesTablePattern(
       final TablePattern tablePattern, final Pair<String, IDeviceID> databaseNameAndTableName) {
     return Objects.isNull(tablePattern)
@@ -354,6 +379,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       deviceToSourcesCache.cleanUp();
       databaseAndTableToSourcesCache.invalidateAll();
       databaseAndTableToSourcesCache.cleanUp();
+      onSourcesChanged();
     } finally {
       lock.writeLock().unlock();
     }
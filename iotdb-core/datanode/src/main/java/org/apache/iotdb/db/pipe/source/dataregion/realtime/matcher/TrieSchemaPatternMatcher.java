@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.source.dataregion.realtime.matcher;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.path.PathPatternUtil;
+import org.apache.iotdb.commons.pipe.datastructure.pattern.IoTDBTreePattern;
+import org.apache.iotdb.commons.pipe.datastructure.pattern.PrefixTreePattern;
+import org.apache.iotdb.commons.pipe.datastructure.pattern.TablePattern;
+import org.apache.iotdb.commons.pipe.datastructure.pattern.TreePattern;
+import org.apache.iotdb.commons.pipe.datastructure.pattern.UnionIoTDBTreePattern;
+import org.apache.iotdb.db.pipe.source.dataregion.realtime.PipeRealtimeDataRegionSource;
+import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.DataNodeDevicePathCache;
+
+import org.apache.tsfile.common.constant.TsFileConstant;
+import org.apache.tsfile.file.metadata.IDeviceID;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.apache.iotdb.commons.conf.IoTDBConstant.ONE_LEVEL_PATH_WILDCARD;
+
+/**
+ * A {@link PipeDataRegionMatcher} that compiles the patterns of all the registered sources into one
+ * shared trie, so that the candidate sources of a device are found by a single traversal of the
+ * device's nodes instead of checking the pattern of every source. Unlike {@link
+ * CachedSchemaPatternMatcher}, the results are not cached per device, hence the matching cost does
+ * not depend on how many devices are written.
+ *
+ * <p>The trie only narrows the candidates: each candidate is still checked by its own pattern, so
+ * the matched sources are the same as the ones of {@link CachedSchemaPatternMatcher}. The only
+ * difference is that a prefix pattern like "root.db1" no longer matches a device like "root.db",
+ * which is a string prefix of the pattern but can never have a measurement matched. The patterns
+ * that can not be compiled into the trie, e.g., the ones with exclusions, are checked one by one
+ * like before.
+ *
+ * <p>For the table model, the sources whose database pattern is a plain name are indexed by the
+ * database, and only the sources that may capture the database are checked.
+ */
+public class TrieSchemaPatternMatcher extends CachedSchemaPatternMatcher {
+
+  private static final Pattern REGEX_META_CHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+  private static class TrieNode {
+
+    private final boolean isMultiLevelWildcard;
+    // Null if the node name has no wildcard, or is exactly "*" or "**"
+    private final Pattern nodeNamePattern;
+
+    private final Map<String, TrieNode> preciseChildren = new HashMap<>();
+    private final Map<String, TrieNode> fuzzyChildren = new HashMap<>();
+
+    // The sources whose patterns pass through this node
+    private final Set<PipeRealtimeDataRegionSource> subtreeSources = new HashSet<>();
+
+    private TrieNode(final String nodeName) {
+      this.isMultiLevelWildcard = PathPatternUtil.isMultiLevelMatchWildcard(nodeName);
+      this.nodeNamePattern =
+          PathPatternUtil.hasWildcard(nodeName)
+                  && !ONE_LEVEL_PATH_WILDCARD.equals(nodeName)
+                  && !isMultiLevelWildcard
+              ? Pattern.compile(nodeName.replace("*", ".*"))
+              : null;
+    }
+
+    private TrieNode getOrCreateChild(final String nodeName) {
+      return (PathPatternUtil.hasWildcard(nodeName) ? fuzzyChildren : preciseChildren)
+          .computeIfAbsent(nodeName, TrieNode::new);
+    }
+
+    // Same as PathPatternUtil#isNodeMatch, with the regex compiled in advance
+    private boolean matches(final String nodeName) {
+      return Objects.isNull(nodeNamePattern) || nodeNamePattern.matcher(nodeName).matches();
+    }
+
+    /** Collect the states reached by consuming the given node name from this state. */
+    private void transit(final String nodeName, final Set<TrieNode> nextStates) {
+      // "**" matches one or more nodes
+      if (isMultiLevelWildcard) {
+        nextStates.add(this);
+      }
+      final TrieNode preciseChild = preciseChildren.get(nodeName);
+      if (Objects.nonNull(preciseChild)) {
+        nextStates.add(preciseChild);
+      }
+      for (final TrieNode fuzzyChild : fuzzyChildren.values()) {
+        if (fuzzyChild.matches(nodeName)) {
+          nextStates.add(fuzzyChild);
+        }
+      }
+    }
+  }
+
+  private TrieNode treePatternTrie = new TrieNode("");
+  // The sources with insertion and tree model data to capture, whose patterns are not in the trie
+  private Set<PipeRealtimeDataRegionSource> treePatternUnindexedSources = new HashSet<>();
+
+  // Map<Database, sources whose database pattern is exactly the database>
+  private Map<String, Set<PipeRealtimeDataRegionSource>> databaseToSources = new HashMap<>();
+  // The sources that may capture the data of any database
+  private Set<PipeRealtimeDataRegionSource> databaseUnindexedSources = new HashSet<>();
+
+  @Override
+  protected void onSourcesChanged() {
+    final TrieNode newTreePatternTrie = new TrieNode("");
+    final Set<PipeRealtimeDataRegionSource> newTreePatternUnindexedSources = new HashSet<>();
+    final Map<String, Set<PipeRealtimeDataRegionSource>> newDatabaseToSources = new HashMap<>();
+    final Set<PipeRealtimeDataRegionSource> newDatabaseUnindexedSources = new HashSet<>();
+
+    for (final PipeRealtimeDataRegionSource source : sources) {
+      if (!source.shouldExtractInsertion()) {
+        continue;
+      }
+
+      final TreePattern treePattern = source.getTreePattern();
+      if (Objects.isNull(treePattern) || treePattern.isTreeModelDataAllowedToBeCaptured()) {
+        final List<PartialPath> paths = getIndexablePaths(treePattern);
+        if (Objects.isNull(paths)) {
+          newTreePatternUnindexedSources.add(source);
+        } else {
+          paths.forEach(path -> insert(newTreePatternTrie, path, source));
+        }
+      }
+
+      final TablePattern tablePattern = source.getTablePattern();
+      final String database = getPlainDatabaseName(tablePattern);
+      if (Objects.isNull(database)) {
+        newDatabaseUnindexedSources.add(source);
+      } else {
+        newDatabaseToSources.computeIfAbsent(database, k -> new HashSet<>()).add(source);
+      }
+    }
+
+    treePatternTrie = newTreePatternTrie;
+    treePatternUnindexedSources = newTreePatternUnindexedSources;
+    databaseToSources = newDatabaseToSources;
+    databaseUnindexedSources = newDatabaseUnindexedSources;
+  }
+
+  /**
+   * @return the paths whose prefixes cover all the devices that may overlap with the pattern, or
+   *     {@code null} if the pattern can not be indexed by the trie
+   */
+  private static List<PartialPath> getIndexablePaths(final TreePattern treePattern) {
+    if (Objects.isNull(treePattern) || treePattern.isRoot()) {
+      // The source matches every device, and the trie gains nothing
+      return null;
+    }
+    if (treePattern instanceof IoTDBTreePattern || treePattern instanceof UnionIoTDBTreePattern) {
+      return treePattern.getBaseInclusionPaths();
+    }
+    if (treePattern instanceof PrefixTreePattern
+        && !treePattern.getPattern().contains(TsFileConstant.BACK_QUOTE_STRING)) {
+      // The prefix pattern is approximated by "root.d1", "root.d1*", "root.d1.**" and
+      // "root.d1*.**", which is only complete if all of them are legal paths
+      final List<PartialPath> paths = treePattern.getBaseInclusionPaths();
+      return paths.size() == 4 ? paths : null;
+    }
+    return null;
+  }
+
+  private static void insert(
+      final TrieNode root, final PartialPath path, final PipeRealtimeDataRegionSource source) {
+    TrieNode node = root;
+    node.subtreeSources.add(source);
+    for (final String nodeName : path.getNodes()) {
+      node = node.getOrCreateChild(nodeName);
+      node.subtreeSources.add(source);
+    }
+  }
+
+  private static String getPlainDatabaseName(final TablePattern tablePattern) {
+    if (Objects.isNull(tablePattern) || !tablePattern.isTableModelDataAllowedToBeCaptured()) {
+      // Such sources either capture every database or none, keep them in the unindexed set to
+      // retain the original checks
+      return null;
+    }
+    final String databasePattern = tablePattern.getDatabasePattern();
+    // A regex without meta characters only matches the database of the same name
+    return REGEX_META_CHARACTERS.matcher(databasePattern).find() ? null : databasePattern;
+  }
+
+  @Override
+  protected Set<PipeRealtimeDataRegionSource> getSourcesFilteredByDevice(final IDeviceID device) {
+    final Set<PipeRealtimeDataRegionSource> filteredSources = new HashSet<>();
+    for (final PipeRealtimeDataRegionSource source : getCandidateSourcesByDevice(device)) {
+      if (mayOverlapWithDevice(source, device)) {
+        filteredSources.add(source);
+      }
+    }
+    for (final PipeRealtimeDataRegionSource source : treePatternUnindexedSources) {
+      if (mayOverlapWithDevice(source, device)) {
+        filteredSources.add(source);
+      }
+    }
+    return filteredSources;
+  }
+
+  private Set<PipeRealtimeDataRegionSource> getCandidateSourcesByDevice(final IDeviceID device) {
+    final String[] nodeNames;
+    try {
+      nodeNames = getNodeNames(device);
+    } catch (final IllegalPathException e) {
+      LOGGER.warn("Failed to parse device {} when matching sources, check all sources.", device, e);
+      return sources;
+    }
+
+    Set<TrieNode> states = Collections.singleton(treePatternTrie);
+    for (final String nodeName : nodeNames) {
+      final Set<TrieNode> nextStates = new HashSet<>();
+      for (final TrieNode state : states) {
+        state.transit(nodeName, nextStates);
+      }
+      if (nextStates.isEmpty()) {
+        return Collections.emptySet();
+      }
+      states = nextStates;
+    }
+
+    if (states.size() == 1) {
+      return states.iterator().next().subtreeSources;
+    }
+    final Set<PipeRealtimeDataRegionSource> candidates = new HashSet<>();
+    states.forEach(state -> candidates.addAll(state.subtreeSources));
+    return candidates;
+  }
+
+  // Split the device in the same way as IoTDBTreePattern does
+  private static String[] getNodeNames(final IDeviceID device) throws IllegalPathException {
+    final String deviceId = device.toString();
+    return deviceId.contains(TsFileConstant.BACK_QUOTE_STRING)
+        ? DataNodeDevicePathCache.getInstance().getPartialPath(deviceId).getNodes()
+        : deviceId.split(TsFileConstant.PATH_SEPARATER_NO_REGEX);
+  }
+
+  @Override
+  protected Set<PipeRealtimeDataRegionSource> getSourcesToFilterByDatabase(final String database) {
+    final Set<PipeRealtimeDataRegionSource> indexedSources = databaseToSources.get(database);
+    if (Objects.isNull(indexedSources)) {
+      return databaseUnindexedSources;
+    }
+    final Set<PipeRealtimeDataRegionSource> candidates = new HashSet<>(databaseUnindexedSources);
+    candidates.addAll(indexedSources);
+    return candidates;
+  }
+}
@@ -482,6 +482,21 @@ public class SessionManager implements SessionManagerMBean {
     return true;
   }
 
+  /**
+   * Bind a registered session to the current worker thread, so that the worker could execute
+   * statements on behalf of the client thread. Must be paired with {@link #unbindSession()}, which
+   * doesn't close the session.
+   */
+  public void bindSession(IClientSession session) {
+    this.currSession.set(session);
+    this.currSessionIdleTime.set(System.nanoTime());
+  }
+
+  public void unbindSession() {
+    currSession.remove();
+    currSessionIdleTime.remove();
+  }
+
   /**
    * this method can be only used in mqtt model. Do not use this method in client-thread model based
    * service.
@@ -286,6 +286,7 @@ import org.apache.iotdb.mpp.rpc.thrift.TPushTopicMetaRespExceptionMessage;
 import org.apache.iotdb.mpp.rpc.thrift.TReadObjectReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionLeaderChangeReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionLeaderChangeResp;
+import org.apache.iotdb.mpp.rpc.thrift.TRegionLoadSample;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionMigrateResult;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
 import org.apache.iotdb.mpp.rpc.thrift.TResetPeerListReq;
@@ -2167,6 +2168,18 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
           .getDataRegionRatioMap()
           .forEach((key, value) -> regionRawDataSize.put(Integer.parseInt(key), value.getLeft()));
       resp.setDataRegionRawDataSize(regionRawDataSize);
+
+      Map<Integer, TRegionLoadSample> regionLoadMap = new HashMap<>();
+      for (DataRegion dataRegion : storageEngine.getAllDataRegions()) {
+        TRegionLoadSample regionLoadSample =
+            new TRegionLoadSample(
+                dataRegion.getWrittenPointCount(), dataRegion.getQueryCpuTimeInNanos());
+        if (req.isSetNeedSeriesSlotLoad() && req.isNeedSeriesSlotLoad()) {
+          regionLoadSample.setSeriesSlotWrittenPoints(dataRegion.getSeriesSlotWrittenPoints());
+        }
+        regionLoadMap.put(Integer.parseInt(dataRegion.getDataRegionIdString()), regionLoadSample);
+      }
+      resp.setRegionLoadMap(regionLoadMap);
     }
     AuthorityChecker.getAuthorityFetcher().refreshToken();
     resp.setHeartbeatTimestamp(req.getHeartbeatTimestamp());
@@ -2204,6 +2217,15 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
       clusterTopology.updateTopology(req.getDataNodes(), req.getTopology());
     }
 
+    // Apply the DataPartitions pushed by the ConfigNode-leader and report the applied version
+    if (req.isSetDataPartitionDelta()) {
+      ClusterPartitionFetcher.getInstance().applyDataPartitionDelta(req.getDataPartitionDelta());
+    }
+    resp.setDataPartitionCacheEpoch(
+        ClusterPartitionFetcher.getInstance().getDataPartitionCacheEpoch());
+    resp.setDataPartitionCacheVersion(
+        ClusterPartitionFetcher.getInstance().getDataPartitionCacheVersion());
+
     if (req.isSetCurrentRegionOperations()) {
       RegionMigrateService.getInstance()
           .notifyRegionMigration(
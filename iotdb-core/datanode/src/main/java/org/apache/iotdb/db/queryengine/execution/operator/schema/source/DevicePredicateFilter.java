@@ -20,21 +20,37 @@
 package org.apache.iotdb.db.queryengine.execution.operator.schema.source;
 
 import org.apache.iotdb.commons.schema.table.TsTable;
+import org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory;
 import org.apache.iotdb.commons.schema.table.column.TsTableColumnSchema;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.ColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.ConstantColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.IdentityColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.LeafColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.NullColumnTransformer;
 import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.info.IDeviceSchemaInfo;
 
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.utils.Binary;
+
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import static java.util.Objects.requireNonNull;
+import static org.apache.iotdb.db.queryengine.execution.operator.process.FilterAndProjectOperator.satisfy;
 
 public class DevicePredicateFilter extends DevicePredicateHandler
     implements Iterator<IDeviceSchemaInfo> {
   private int curIndex = 0;
 
+  // The only column that the filter depends on, whose distinct values in a batch are filtered
+  // instead of the rows, or -1 if the rows are filtered
+  private final int dictionaryColumnIndex;
+
   public DevicePredicateFilter(
       final List<LeafColumnTransformer> filterLeafColumnTransformerList,
       final ColumnTransformer filterOutputTransformer,
@@ -48,6 +64,98 @@ public class DevicePredicateFilter extends DevicePredicateHandler
         database,
         table);
     requireNonNull(filterOutputTransformer);
+    this.dictionaryColumnIndex =
+        IoTDBDescriptor.getInstance().getConfig().isEnableColumnarDeviceAttributeStore()
+            ? getDictionaryColumnIndex(filterLeafColumnTransformerList, columnSchemaList)
+            : -1;
+  }
+
+  /**
+   * The devices of a table usually share a few distinct values of a tag or an attribute, which are
+   * also shared in the dictionaries of the columnar attribute store, so a filter depending on only
+   * one of these columns is evaluated once for each distinct value.
+   *
+   * @return the index of the only column that the filter depends on, or -1 if there is none
+   */
+  private static int getDictionaryColumnIndex(
+      final List<LeafColumnTransformer> filterLeafColumnTransformerList,
+      final List<TsTableColumnSchema> columnSchemaList) {
+    int columnIndex = -1;
+    for (final LeafColumnTransformer leafColumnTransformer : filterLeafColumnTransformerList) {
+      if (leafColumnTransformer instanceof IdentityColumnTransformer) {
+        final int inputIndex = ((IdentityColumnTransformer) leafColumnTransformer).getInputIndex();
+        if (columnIndex >= 0 && columnIndex != inputIndex) {
+          return -1;
+        }
+        columnIndex = inputIndex;
+      } else if (!(leafColumnTransformer instanceof ConstantColumnTransformer)
+          && !(leafColumnTransformer instanceof NullColumnTransformer)) {
+        return -1;
+      }
+    }
+    if (columnIndex < 0 || columnIndex >= columnSchemaList.size()) {
+      return -1;
+    }
+    final TsTableColumnCategory category = columnSchemaList.get(columnIndex).getColumnCategory();
+    return category == TsTableColumnCategory.TAG || category == TsTableColumnCategory.ATTRIBUTE
+        ? columnIndex
+        : -1;
+  }
+
+  @Override
+  protected void filterBatch() {
+    if (dictionaryColumnIndex < 0) {
+      super.filterBatch();
+      return;
+    }
+    final Column column = curBlock.getColumn(dictionaryColumnIndex);
+    final int positionCount = column.getPositionCount();
+    // It's not worth it if the values are mostly distinct
+    final int maxDictionarySize = positionCount / 2;
+    final Map<Binary, Integer> codeMap = new HashMap<>();
+    // The position of the first row of each distinct value, including null
+    final int[] dictionaryPositions = new int[positionCount];
+    final int[] codes = new int[positionCount];
+    int dictionarySize = 0;
+    int nullCode = -1;
+    for (int i = 0; i < positionCount; i++) {
+      if (column.isNull(i)) {
+        if (nullCode < 0) {
+          nullCode = dictionarySize;
+          dictionaryPositions[dictionarySize++] = i;
+        }
+        codes[i] = nullCode;
+      } else {
+        final Binary value = column.getBinary(i);
+        Integer code = codeMap.get(value);
+        if (code == null) {
+          code = dictionarySize;
+          codeMap.put(value, code);
+          dictionaryPositions[dictionarySize++] = i;
+        }
+        codes[i] = code;
+      }
+      if (dictionarySize > maxDictionarySize) {
+        super.filterBatch();
+        return;
+      }
+    }
+
+    final Column[] valueColumns = new Column[curBlock.getValueColumnCount()];
+    for (int i = 0; i < valueColumns.length; i++) {
+      valueColumns[i] = curBlock.getColumn(i).getPositions(dictionaryPositions, 0, dictionarySize);
+    }
+    final Column filterColumn =
+        evaluateFilter(
+            new TsBlock(
+                dictionarySize,
+                curBlock.getTimeColumn().getPositions(dictionaryPositions, 0, dictionarySize),
+                valueColumns));
+    for (int i = 0; i < positionCount; i++) {
+      if (satisfy(filterColumn, codes[i])) {
+        indexes.add(i);
+      }
+    }
   }
 
   @Override
@@ -105,13 +105,12 @@ public abstract class DevicePredicateHandler implements AutoCloseable {
     if (withoutFilter()) {
       return;
     }
+    filterBatch();
+  }
 
-    // feed Filter ColumnTransformer, including TimeStampColumnTransformer and constant
-    filterLeafColumnTransformerList.forEach(
-        leafColumnTransformer -> leafColumnTransformer.initFromTsBlock(curBlock));
-    filterOutputTransformer.tryEvaluate();
-    final Column filterColumn = filterOutputTransformer.getColumn();
-
+  /** Evaluate the filter on each row of {@link #curBlock} and record the satisfied indexes. */
+  protected void filterBatch() {
+    final Column filterColumn = evaluateFilter(curBlock);
     for (int j = 0; j < deviceSchemaBatch.size(); j++) {
       if (satisfy(filterColumn, j)) {
         indexes.add(j);
@@ -120,6 +119,14 @@ public abstract class DevicePredicateHandler implements AutoCloseable {
     curFilterColumn = filterColumn;
   }
 
+  protected Column evaluateFilter(final TsBlock block) {
+    // feed Filter ColumnTransformer, including TimeStampColumnTransformer and constant
+    filterLeafColumnTransformerList.forEach(
+        leafColumnTransformer -> leafColumnTransformer.initFromTsBlock(block));
+    filterOutputTransformer.tryEvaluate();
+    return filterOutputTransformer.getColumn();
+  }
+
   protected boolean withoutFilter() {
     return Objects.isNull(filterOutputTransformer);
   }
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.queryengine.execution.operator.source;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.read.common.block.TsBlock;
 
@@ -31,6 +32,45 @@ public abstract class AbstractSeriesScanOperator extends AbstractDataSourceOpera
 
   private boolean finished = false;
 
+  // the future of reading chunk ahead that the scan has yielded for, to yield once for each chunk
+  private ListenableFuture<?> yieldedFuture = NOT_BLOCKED;
+
+  @Override
+  public ListenableFuture<?> isBlocked() {
+    // the result that has been read is returned without waiting
+    if (retainedTsBlock != null
+        || (resultTsBlockBuilder != null && !resultTsBlockBuilder.isEmpty())) {
+      return NOT_BLOCKED;
+    }
+    return getNextChunkPrefetchingFuture();
+  }
+
+  /**
+   * @return true if the next chunk is still being read ahead, then the scan should return what it
+   *     has read and let the driver wait for the chunk instead of reading it synchronously
+   */
+  protected boolean shouldYieldForChunkPrefetching() {
+    ListenableFuture<?> future = getNextChunkPrefetchingFuture();
+    if (future.isDone() || future == yieldedFuture) {
+      return false;
+    }
+    yieldedFuture = future;
+    return true;
+  }
+
+  private ListenableFuture<?> getNextChunkPrefetchingFuture() {
+    // seriesScanUtil is null if there is nothing to scan
+    return seriesScanUtil == null ? NOT_BLOCKED : seriesScanUtil.getNextChunkPrefetchingFuture();
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (seriesScanUtil != null) {
+      seriesScanUtil.closeChunkPrefetching();
+    }
+    super.close();
+  }
+
   @Override
   public TsBlock next() throws Exception {
     if (retainedTsBlock != null) {
@@ -74,6 +114,9 @@ public abstract class AbstractSeriesScanOperator extends AbstractDataSourceOpera
         if (readPageData()) {
           continue;
         }
+        if (shouldYieldForChunkPrefetching()) {
+          break;
+        }
         Optional<Boolean> b = readChunkData();
         if (!b.isPresent() || b.get()) {
           continue;
@@ -65,6 +65,7 @@ public class AlignedSeriesScanOperator extends AbstractSeriesScanOperator {
             context.getInstanceContext(),
             queryAllSensors,
             dataTypes);
+    this.seriesScanUtil.enableChunkPrefetching();
     this.valueColumnCount = seriesPath.getColumnNum();
     this.maxReturnSize =
         Math.min(
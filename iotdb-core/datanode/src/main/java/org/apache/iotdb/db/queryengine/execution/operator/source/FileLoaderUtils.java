@@ -26,14 +26,18 @@ import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
 import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache.TimeSeriesMetadataCacheKey;
+import org.apache.iotdb.db.storageengine.buffer.TsFileStatisticsIndexCache;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.DiskAlignedChunkLoader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.DiskChunkLoader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata.DiskAlignedChunkMetadataLoader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata.DiskChunkMetadataLoader;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata.LazyDiskAlignedChunkMetadataLoader;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata.LazyDiskChunkMetadataLoader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata.MemAlignedChunkMetadataLoader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata.MemChunkMetadataLoader;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex.DeviceStatistics;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
 import org.apache.iotdb.db.utils.ModificationUtils;
 import org.apache.iotdb.db.utils.SchemaUtils;
@@ -47,6 +51,7 @@ import org.apache.tsfile.file.metadata.IDeviceID;
 import org.apache.tsfile.file.metadata.ITimeSeriesMetadata;
 import org.apache.tsfile.file.metadata.TableDeviceTimeSeriesMetadata;
 import org.apache.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
 import org.apache.tsfile.read.controller.IChunkLoader;
 import org.apache.tsfile.read.filter.basic.Filter;
 import org.apache.tsfile.read.reader.IChunkReader;
@@ -54,6 +59,7 @@ import org.apache.tsfile.read.reader.IPageReader;
 import org.apache.tsfile.write.schema.IMeasurementSchema;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -96,21 +102,30 @@ public class FileLoaderUtils {
       TimeseriesMetadata timeSeriesMetadata;
       // If the tsfile is closed, we need to load from tsfile
       if (resource.isClosed()) {
-        // when resource.getTimeIndexType() == 1, TsFileResource.timeIndexType is deviceTimeIndex
-        // we should not ignore the non-exist of device in TsFileMetadata
-        timeSeriesMetadata =
-            TimeSeriesMetadataCache.getInstance()
-                .get(
-                    resource.getTsFilePath(),
-                    new TimeSeriesMetadataCache.TimeSeriesMetadataCacheKey(
-                        resource.getTsFileID(),
-                        seriesPath.getDeviceId(),
-                        seriesPath.getMeasurement()),
-                    allSensors,
-                    context.ignoreNotExistsDevice()
-                        || resource.getTimeIndexType() == ITimeIndex.FILE_TIME_INDEX_TYPE,
-                    context.isDebug(),
-                    context);
+        DeviceStatistics deviceStatistics =
+            TsFileStatisticsIndexCache.getInstance().get(resource, seriesPath.getDeviceId());
+        boolean loadFromIndex = deviceStatistics != null && !deviceStatistics.isAligned();
+        if (loadFromIndex) {
+          // the chunk metadata are only read from the TsFile if the statistics are not enough
+          timeSeriesMetadata =
+              loadTimeSeriesMetadataFromIndex(deviceStatistics, seriesPath.getMeasurement());
+        } else {
+          // when resource.getTimeIndexType() == 1, TsFileResource.timeIndexType is
+          // deviceTimeIndex, we should not ignore the non-exist of device in TsFileMetadata
+          timeSeriesMetadata =
+              TimeSeriesMetadataCache.getInstance()
+                  .get(
+                      resource.getTsFilePath(),
+                      new TimeSeriesMetadataCache.TimeSeriesMetadataCacheKey(
+                          resource.getTsFileID(),
+                          seriesPath.getDeviceId(),
+                          seriesPath.getMeasurement()),
+                      allSensors,
+                      context.ignoreNotExistsDevice()
+                          || resource.getTimeIndexType() == ITimeIndex.FILE_TIME_INDEX_TYPE,
+                      context.isDebug(),
+                      context);
+        }
         if (timeSeriesMetadata != null) {
           SchemaUtils.changeMetadataModified(timeSeriesMetadata, seriesPath.getSeriesType());
           long t2 = System.nanoTime();
@@ -119,7 +134,16 @@ public class FileLoaderUtils {
                   resource, seriesPath.getDeviceId(), seriesPath.getMeasurement());
           timeSeriesMetadata.setModified(!pathModifications.isEmpty());
           timeSeriesMetadata.setChunkMetadataLoader(
-              new DiskChunkMetadataLoader(resource, context, globalTimeFilter, pathModifications));
+              loadFromIndex
+                  ? new LazyDiskChunkMetadataLoader(
+                      resource,
+                      seriesPath,
+                      context,
+                      globalTimeFilter,
+                      allSensors,
+                      pathModifications)
+                  : new DiskChunkMetadataLoader(
+                      resource, context, globalTimeFilter, pathModifications));
           int modificationCount = pathModifications.size();
           if (modificationCount != 0) {
             long costTime = System.nanoTime() - t2;
@@ -178,6 +202,20 @@ public class FileLoaderUtils {
     }
   }
 
+  /**
+   * Build the TimeseriesMetadata without the chunk metadata from the statistics index.
+   *
+   * @return null if the series is absent from the TsFile
+   */
+  private static TimeseriesMetadata loadTimeSeriesMetadataFromIndex(
+      DeviceStatistics deviceStatistics, String measurement) {
+    Statistics<? extends Serializable> statistics = deviceStatistics.getStatistics(measurement);
+    if (statistics == null || statistics.getCount() == 0) {
+      return null;
+    }
+    return new TimeseriesMetadata((byte) 1, 0, measurement, statistics.getType(), statistics, null);
+  }
+
   /**
    * Load AlignedTimeSeriesMetadata for aligned time series.
    *
@@ -287,18 +325,24 @@ public class FileLoaderUtils {
     boolean isDebug = context.isDebug();
     String filePath = resource.getTsFilePath();
     IDeviceID deviceId = alignedPath.getDeviceId();
+    DeviceStatistics deviceStatistics =
+        TsFileStatisticsIndexCache.getInstance().get(resource, deviceId);
+    // the chunk metadata are only read from the TsFile if the statistics are not enough
+    boolean loadFromIndex = deviceStatistics != null && deviceStatistics.isAligned();
 
     // when resource.getTimeIndexType() == 1, TsFileResource.timeIndexType is deviceTimeIndex
     // we should not ignore the non-exist of device in TsFileMetadata
     TimeseriesMetadata timeColumn =
-        cache.get(
-            filePath,
-            new TimeSeriesMetadataCacheKey(resource.getTsFileID(), deviceId, ""),
-            allSensors,
-            context.ignoreNotExistsDevice()
-                || resource.getTimeIndexType() == ITimeIndex.FILE_TIME_INDEX_TYPE,
-            isDebug,
-            context);
+        loadFromIndex
+            ? loadAlignedColumnFromIndex(deviceStatistics, "")
+            : cache.get(
+                filePath,
+                new TimeSeriesMetadataCacheKey(resource.getTsFileID(), deviceId, ""),
+                allSensors,
+                context.ignoreNotExistsDevice()
+                    || resource.getTimeIndexType() == ITimeIndex.FILE_TIME_INDEX_TYPE,
+                isDebug,
+                context);
     if (timeColumn != null) {
       // only need time column, like count_time aggregation
       if (valueMeasurementList.isEmpty()) {
@@ -312,7 +356,8 @@ public class FileLoaderUtils {
                 alignedPath,
                 context,
                 globalTimeFilter,
-                false);
+                false,
+                loadFromIndex);
       } else {
         List<TimeseriesMetadata> valueTimeSeriesMetadataList =
             new ArrayList<>(valueMeasurementList.size());
@@ -321,15 +366,17 @@ public class FileLoaderUtils {
         int i = 0;
         for (String valueMeasurement : valueMeasurementList) {
           TimeseriesMetadata valueColumn =
-              cache.get(
-                  filePath,
-                  new TimeSeriesMetadataCacheKey(
-                      resource.getTsFileID(), deviceId, valueMeasurement),
-                  allSensors,
-                  context.ignoreNotExistsDevice()
-                      || resource.getTimeIndexType() == ITimeIndex.FILE_TIME_INDEX_TYPE,
-                  isDebug,
-                  context);
+              loadFromIndex
+                  ? loadAlignedColumnFromIndex(deviceStatistics, valueMeasurement)
+                  : cache.get(
+                      filePath,
+                      new TimeSeriesMetadataCacheKey(
+                          resource.getTsFileID(), deviceId, valueMeasurement),
+                      allSensors,
+                      context.ignoreNotExistsDevice()
+                          || resource.getTimeIndexType() == ITimeIndex.FILE_TIME_INDEX_TYPE,
+                      isDebug,
+                      context);
           exist = (exist || (valueColumn != null));
           if (valueColumn != null) {
             SchemaUtils.changeAlignedMetadataModified(
@@ -347,13 +394,29 @@ public class FileLoaderUtils {
                   alignedPath,
                   context,
                   globalTimeFilter,
-                  ignoreAllNullRows);
+                  ignoreAllNullRows,
+                  loadFromIndex);
         }
       }
     }
     return alignedTimeSeriesMetadata;
   }
 
+  /**
+   * Build the TimeseriesMetadata of a column of an aligned device without the chunk metadata from
+   * the statistics index, the measurement of the time column is "".
+   *
+   * @return null if the column is absent from the TsFile
+   */
+  private static TimeseriesMetadata loadAlignedColumnFromIndex(
+      DeviceStatistics deviceStatistics, String measurement) {
+    Statistics<? extends Serializable> statistics = deviceStatistics.getStatistics(measurement);
+    if (statistics == null) {
+      return null;
+    }
+    return new TimeseriesMetadata((byte) 1, 0, measurement, statistics.getType(), statistics, null);
+  }
+
   private static AbstractAlignedTimeSeriesMetadata setModifications(
       TsFileResource resource,
       TimeseriesMetadata timeColumnMetadata,
@@ -361,7 +424,8 @@ public class FileLoaderUtils {
       AlignedFullPath alignedPath,
       QueryContext context,
       Filter globalTimeFilter,
-      boolean ignoreAllNullRows) {
+      boolean ignoreAllNullRows,
+      boolean loadFromIndex) {
     long startTime = System.nanoTime();
 
     // deal with time column
@@ -425,13 +489,22 @@ public class FileLoaderUtils {
             : new TableDeviceTimeSeriesMetadata(timeColumnMetadata, valueColumnMetadataList);
 
     alignedTimeSeriesMetadata.setChunkMetadataLoader(
-        new DiskAlignedChunkMetadataLoader(
-            resource,
-            context,
-            globalTimeFilter,
-            timeModifications,
-            valueColumnsModifications,
-            ignoreAllNullRows));
+        loadFromIndex
+            ? new LazyDiskAlignedChunkMetadataLoader(
+                resource,
+                alignedPath,
+                context,
+                globalTimeFilter,
+                timeModifications,
+                valueColumnsModifications,
+                ignoreAllNullRows)
+            : new DiskAlignedChunkMetadataLoader(
+                resource,
+                context,
+                globalTimeFilter,
+                timeModifications,
+                valueColumnsModifications,
+                ignoreAllNullRows));
 
     long costTime = System.nanoTime() - startTime;
     context.getQueryStatistics().getAlignedTimeSeriesMetadataModificationTime().getAndAdd(costTime);
@@ -47,6 +47,7 @@ public class SeriesScanOperator extends AbstractSeriesScanOperator {
     this.operatorContext = context;
     this.seriesScanUtil =
         new SeriesScanUtil(seriesPath, scanOrder, seriesScanOptions, context.getInstanceContext());
+    this.seriesScanUtil.enableChunkPrefetching();
     this.maxReturnSize =
         Math.min(maxReturnSize, TSFileDescriptor.getInstance().getConfig().getPageSizeInByte());
   }
@@ -30,6 +30,7 @@ import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.AlignedReadOnlyMemChunk;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.ReadOnlyMemChunk;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.ChunkPrefetcher;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.MemAlignedPageReader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.MemChunkLoader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.MemPageReader;
@@ -37,11 +38,13 @@ import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.DescPrior
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.MergeReaderPriority;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.NoDataPointReader;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.PriorityMergeReader;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.common.TsBlockPointReader;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.utils.CommonUtils;
 import org.apache.iotdb.db.utils.SchemaUtils;
 import org.apache.iotdb.db.utils.datastructure.MemPointIterator;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import org.apache.tsfile.block.column.Column;
 import org.apache.tsfile.common.conf.TSFileDescriptor;
 import org.apache.tsfile.enums.TSDataType;
@@ -91,9 +94,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.PriorityQueue;
+import java.util.function.Consumer;
 import java.util.function.ToLongFunction;
 
 import static com.google.common.base.Preconditions.checkState;
+import static org.apache.iotdb.db.queryengine.execution.operator.Operator.NOT_BLOCKED;
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.BUILD_TSBLOCK_FROM_MERGE_READER_ALIGNED;
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.BUILD_TSBLOCK_FROM_MERGE_READER_NONALIGNED;
 
@@ -127,6 +132,8 @@ public class SeriesScanUtil implements Accountable {
   // chunk cache
   private IChunkMetadata firstChunkMetadata;
   private final PriorityQueue<IChunkMetadata> cachedChunkMetadata;
+  // read the chunks in cachedChunkMetadata ahead, null if disabled
+  private ChunkPrefetcher chunkPrefetcher;
 
   // page cache
   private IVersionPageReader firstPageReader;
@@ -257,6 +264,46 @@ public class SeriesScanUtil implements Accountable {
     }
   }
 
+  /**
+   * Read the chunks ahead asynchronously once their metadata are unpacked, see {@link
+   * ChunkPrefetcher}. It should be called before reading any chunk, and only by the scans which
+   * read most of the chunks, since the chunks skipped by the scan are read in vain.
+   */
+  public void enableChunkPrefetching() {
+    chunkPrefetcher =
+        ChunkPrefetcher.create(
+            orderUtils.comparingLong(
+                chunkMetadata -> orderUtils.getOrderTime(chunkMetadata.getStatistics())));
+  }
+
+  /** Stop reading the chunks ahead, called when the scan is closed. */
+  public void closeChunkPrefetching() {
+    if (chunkPrefetcher != null) {
+      chunkPrefetcher.close();
+      chunkPrefetcher = null;
+    }
+  }
+
+  /**
+   * @return the future of reading the chunk which is read next ahead, which is not done if the
+   *     scan has consumed all the cached pages and the next chunk is being read ahead right now
+   */
+  public ListenableFuture<?> getNextChunkPrefetchingFuture() {
+    if (chunkPrefetcher == null
+        || hasCachedNextOverlappedPage
+        || firstPageReader != null
+        || !seqPageReaders.isEmpty()
+        || !unSeqPageReaders.isEmpty()
+        || mergeReader.hasNextTimeValuePair()) {
+      return NOT_BLOCKED;
+    }
+    IChunkMetadata nextChunkMetadata =
+        firstChunkMetadata != null ? firstChunkMetadata : cachedChunkMetadata.peek();
+    ListenableFuture<?> future =
+        nextChunkMetadata == null ? null : chunkPrefetcher.getFuture(nextChunkMetadata);
+    return future == null ? NOT_BLOCKED : future;
+  }
+
   protected PriorityMergeReader getPriorityMergeReader() {
     return new PriorityMergeReader();
   }
@@ -532,6 +579,9 @@ public class SeriesScanUtil implements Accountable {
         });
 
     cachedChunkMetadata.addAll(chunkMetadataList);
+    if (chunkPrefetcher != null) {
+      chunkPrefetcher.addCandidates(chunkMetadataList);
+    }
   }
 
   private boolean currentChunkOverlapped() {
@@ -561,6 +611,9 @@ public class SeriesScanUtil implements Accountable {
   }
 
   public void skipCurrentChunk() {
+    if (chunkPrefetcher != null && firstChunkMetadata != null) {
+      chunkPrefetcher.consume(firstChunkMetadata);
+    }
     firstChunkMetadata = null;
   }
 
@@ -695,6 +748,9 @@ public class SeriesScanUtil implements Accountable {
   }
 
   private void unpackOneChunkMetaData(IChunkMetadata chunkMetaData) throws IOException {
+    if (chunkPrefetcher != null) {
+      chunkPrefetcher.consume(chunkMetaData);
+    }
     long timestampInFileName = FileLoaderUtils.getTimestampInFileName(chunkMetaData);
 
     IChunkLoader chunkLoader = chunkMetaData.getChunkLoader();
@@ -1440,6 +1496,7 @@ public class SeriesScanUtil implements Accountable {
         if (mergeReader.hasNextTimeValuePair()) {
 
           TsBlockBuilder builder = new TsBlockBuilder(getTsDataTypeList());
+          Consumer<TimeValuePair> pointWriter = point -> addTimeValuePairToResult(point, builder);
           long currentPageEndPointTime =
               orderUtils.getAscending()
                   ? Math.max(mergeReader.getCurrentReadStopTime(), initialEndPointTime)
@@ -1521,9 +1578,13 @@ public class SeriesScanUtil implements Accountable {
               }
             }
 
-            // get the latest first point in mergeReader
-            timeValuePair = mergeReader.nextTimeValuePair();
-            addTimeValuePairToResult(timeValuePair, builder);
+            // get the latest first point in mergeReader, together with the following points of the
+            // same page that overlap with nothing else
+            mergeReader.nextBatch(
+                builder,
+                getBatchMergeEndTime(currentPageEndPointTime),
+                MAX_NUMBER_OF_POINTS_IN_PAGE - builder.getPositionCount(),
+                pointWriter);
             // A PageReader from MemChunk may have a lot of data, so it needs to be checked here
             if (builder.getPositionCount() >= MAX_NUMBER_OF_POINTS_IN_PAGE) {
               break;
@@ -1553,6 +1614,60 @@ public class SeriesScanUtil implements Accountable {
     }
   }
 
+  /**
+   * The points of the merge reader not after the returned time do not excess the current page end
+   * point time, and overlap with none of the files, time series metadata, chunks and pages that
+   * have not been put into the merge reader, so they can be moved without unpacking anything.
+   */
+  private long getBatchMergeEndTime(long currentPageEndPointTime) {
+    long endTime = currentPageEndPointTime;
+    if (firstPageReader != null) {
+      endTime = getEndTimeBefore(endTime, firstPageReader.getStatistics());
+    }
+    if (!seqPageReaders.isEmpty()) {
+      endTime = getEndTimeBefore(endTime, seqPageReaders.get(0).getStatistics());
+    }
+    if (!unSeqPageReaders.isEmpty()) {
+      endTime = getEndTimeBefore(endTime, unSeqPageReaders.peek().getStatistics());
+    }
+    if (firstChunkMetadata != null) {
+      endTime = getEndTimeBefore(endTime, firstChunkMetadata.getStatistics());
+    }
+    if (!cachedChunkMetadata.isEmpty()) {
+      endTime = getEndTimeBefore(endTime, cachedChunkMetadata.peek().getStatistics());
+    }
+    if (firstTimeSeriesMetadata != null) {
+      endTime = getEndTimeBefore(endTime, firstTimeSeriesMetadata.getStatistics());
+    }
+    if (!seqTimeSeriesMetadata.isEmpty()) {
+      endTime = getEndTimeBefore(endTime, seqTimeSeriesMetadata.get(0).getStatistics());
+    }
+    if (!unSeqTimeSeriesMetadata.isEmpty()) {
+      endTime = getEndTimeBefore(endTime, unSeqTimeSeriesMetadata.peek().getStatistics());
+    }
+    if (orderUtils.hasNextSeqResource()) {
+      endTime = getEndTimeBefore(endTime, dataSource.getCurrentSeqOrderTime(curSeqFileIndex));
+    }
+    if (orderUtils.hasNextUnseqResource()) {
+      endTime = getEndTimeBefore(endTime, dataSource.getCurrentUnSeqOrderTime(curUnseqFileIndex));
+    }
+    return endTime;
+  }
+
+  @SuppressWarnings("squid:S3740")
+  private long getEndTimeBefore(long endTime, Statistics statistics) {
+    return getEndTimeBefore(endTime, orderUtils.getOrderTime(statistics));
+  }
+
+  /** Return the earlier one of the end time and the time right before the order time. */
+  private long getEndTimeBefore(long endTime, long orderTime) {
+    if (orderUtils.getAscending()) {
+      return orderTime == Long.MIN_VALUE ? Long.MIN_VALUE : Math.min(endTime, orderTime - 1);
+    } else {
+      return orderTime == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(endTime, orderTime + 1);
+    }
+  }
+
   private long updateEndPointTime(long currentPageEndPointTime, IVersionPageReader pageReader) {
     if (orderUtils.getAscending()) {
       return Math.min(currentPageEndPointTime, pageReader.getStatistics().getEndTime());
@@ -1764,7 +1879,12 @@ public class SeriesScanUtil implements Accountable {
       // according to the current scan order
       pointReader = lazyMemPageReader.getPointReader();
     } else {
-      pointReader = getPointReader(pageReader.getAllSatisfiedPageData(orderUtils.getAscending()));
+      TsBlock tsBlock = pageReader.getAllSatisfiedPageData(orderUtils.getAscending());
+      // the page data of the same data types can be merged column by column
+      pointReader =
+          TsBlockPointReader.isCopyable(tsBlock, isAligned, getTsDataTypeList())
+              ? new TsBlockPointReader(tsBlock, isAligned)
+              : getPointReader(tsBlock);
     }
     mergeReader.addReader(
         pointReader,
@@ -145,6 +145,9 @@ public abstract class AbstractTableScanOperator extends AbstractSeriesScanOperat
         if (readPageData()) {
           continue;
         }
+        if (shouldYieldForChunkPrefetching()) {
+          break;
+        }
         Optional<Boolean> b = readChunkData();
         if (!b.isPresent() || b.get()) {
           continue;
@@ -277,6 +280,10 @@ public abstract class AbstractTableScanOperator extends AbstractSeriesScanOperat
           "Device entries of index " + this.currentDeviceIndex + " in TableScanOperator is empty");
     }
 
+    if (this.seriesScanUtil != null) {
+      // the chunks of the previous device left in its window are not needed anymore
+      this.seriesScanUtil.closeChunkPrefetching();
+    }
     DeviceEntry deviceEntry = this.deviceEntries.get(this.currentDeviceIndex);
     AlignedFullPath alignedPath =
         constructAlignedPath(deviceEntry, measurementColumnNames, measurementSchemas, allSensors);
@@ -288,6 +295,7 @@ public abstract class AbstractTableScanOperator extends AbstractSeriesScanOperat
             operatorContext.getInstanceContext(),
             true,
             measurementColumnTSDataTypes);
+    this.seriesScanUtil.enableChunkPrefetching();
   }
 
   public static AlignedFullPath constructAlignedPath(
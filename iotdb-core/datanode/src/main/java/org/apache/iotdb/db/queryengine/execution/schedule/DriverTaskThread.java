@@ -22,11 +22,15 @@ package org.apache.iotdb.db.queryengine.execution.schedule;
 import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
 import org.apache.iotdb.db.queryengine.execution.driver.IDriver;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.IndexedBlockingQueue;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.MultilevelPriorityQueue;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTask;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.IDataRegionForQuery;
 import org.apache.iotdb.db.utils.SetThreadName;
+import org.apache.iotdb.db.utils.stats.CpuTimer;
 
 import com.google.common.base.Ticker;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -80,7 +84,10 @@ public class DriverTaskThread extends AbstractDriverThread {
     }
     IDriver driver = task.getDriver();
     Duration timeSlice = getExecutionTimeSliceForDriverTask(task);
+    CpuTimer cpuTimer = new CpuTimer();
     ListenableFuture<?> future = driver.processFor(timeSlice);
+    CpuTimer.CpuDuration cpuDuration = cpuTimer.elapsedTime();
+    recordRegionQueryCpuTime(driver, cpuDuration);
     // If the future is cancelled, the task is in an error and should be thrown.
     if (future.isCancelled()) {
       task.setAbortCause(
@@ -94,6 +101,7 @@ public class DriverTaskThread extends AbstractDriverThread {
     ExecutionContext context = new ExecutionContext();
     context.setScheduledTimeInNanos(quantaScheduledNanos);
     context.setTimeSlice(timeSlice);
+    context.setCpuDuration(cpuDuration);
     if (driver.isFinished()) {
       scheduler.runningToFinished(task, context);
       return;
@@ -114,6 +122,19 @@ public class DriverTaskThread extends AbstractDriverThread {
     }
   }
 
+  /** Attribute the cpu time to the DataRegion for load-aware region placement. */
+  private void recordRegionQueryCpuTime(IDriver driver, CpuTimer.CpuDuration cpuDuration) {
+    DriverContext driverContext = driver.getDriverContext();
+    if (driverContext == null || driverContext.getFragmentInstanceContext() == null) {
+      return;
+    }
+    IDataRegionForQuery dataRegion = driverContext.getFragmentInstanceContext().getDataRegion();
+    if (dataRegion instanceof DataRegion) {
+      ((DataRegion) dataRegion)
+          .recordQueryCpuTime((long) cpuDuration.getCpu().getValue(TimeUnit.NANOSECONDS));
+    }
+  }
+
   private Duration getExecutionTimeSliceForDriverTask(DriverTask driverTask) {
     if (driverTask.isHighestPriority()) {
       // highestPriorityTask has the same time slice as level0 task
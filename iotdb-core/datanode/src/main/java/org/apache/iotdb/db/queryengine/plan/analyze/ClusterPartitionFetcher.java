@@ -47,6 +47,7 @@ import org.apache.iotdb.db.protocol.client.ConfigNodeClient;
 import org.apache.iotdb.db.protocol.client.ConfigNodeClientManager;
 import org.apache.iotdb.db.protocol.client.ConfigNodeInfo;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.partition.PartitionCache;
+import org.apache.iotdb.mpp.rpc.thrift.TDataPartitionDelta;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
 import org.apache.iotdb.rpc.TSStatusCode;
 
@@ -312,6 +313,18 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
     return partitionCache.getRegionReplicaSet(consensusGroupIds);
   }
 
+  public void applyDataPartitionDelta(final TDataPartitionDelta delta) {
+    partitionCache.applyDataPartitionDelta(delta);
+  }
+
+  public long getDataPartitionCacheEpoch() {
+    return partitionCache.getDataPartitionCacheEpoch();
+  }
+
+  public long getDataPartitionCacheVersion() {
+    return partitionCache.getDataPartitionCacheVersion();
+  }
+
   @Override
   public void invalidAllCache() {
     partitionCache.invalidAllCache();
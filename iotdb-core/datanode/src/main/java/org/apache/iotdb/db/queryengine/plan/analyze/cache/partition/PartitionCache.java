@@ -60,6 +60,7 @@ import org.apache.iotdb.db.protocol.session.IClientSession;
 import org.apache.iotdb.db.protocol.session.SessionManager;
 import org.apache.iotdb.db.schemaengine.schemaregion.utils.MetaUtils;
 import org.apache.iotdb.db.service.metrics.CacheMetrics;
+import org.apache.iotdb.mpp.rpc.thrift.TDataPartitionDelta;
 import org.apache.iotdb.rpc.TSStatusCode;
 
 import com.github.benmanes.caffeine.cache.Cache;
@@ -105,6 +106,11 @@ public class PartitionCache {
   /** database -> dataPartitionTable */
   private final Cache<String, DataPartitionTable> dataPartitionCache;
 
+  /** the epoch and version of the DataPartitions pushed by the ConfigNode-leader */
+  private volatile long dataPartitionCacheEpoch = -1;
+
+  private volatile long dataPartitionCacheVersion = -1;
+
   /** the latest time when groupIdToReplicaSetMap updated. */
   private final AtomicLong latestUpdateTime = new AtomicLong(0);
 
@@ -1043,6 +1049,74 @@ public class PartitionCache {
     }
   }
 
+  /**
+   * apply the DataPartitions pushed by the ConfigNode-leader through heartbeat. Only the databases
+   * whose dataPartitionTable is cached are updated, since the others are not accessed recently.
+   * The cached DataPartitions of the TimePartitions cleaned by the ConfigNode-leader are removed
+   * before that.
+   *
+   * @param delta the DataPartitions created and the TimePartitions cleaned since the version this
+   *     DataNode has applied
+   */
+  public void applyDataPartitionDelta(TDataPartitionDelta delta) {
+    if (delta.isInvalidateAll()) {
+      invalidAllDataPartitionCache();
+    } else if (delta.isSetRemovedTimePartitions()) {
+      removeDataPartitionCache(delta.getRemovedTimePartitions());
+    }
+    if (delta.isSetDataPartitionTable()) {
+      Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+          dataPartitionTable = new HashMap<>();
+      delta
+          .getDataPartitionTable()
+          .forEach(
+              (databaseName, seriesSlotMap) -> {
+                if (null != dataPartitionCache.getIfPresent(databaseName)) {
+                  dataPartitionTable.put(databaseName, seriesSlotMap);
+                }
+              });
+      if (!dataPartitionTable.isEmpty()) {
+        updateDataPartitionCache(dataPartitionTable);
+      }
+    }
+    dataPartitionCacheEpoch = delta.getEpoch();
+    dataPartitionCacheVersion = delta.getVersion();
+  }
+
+  /**
+   * remove the cached DataPartitions of the expired TimePartitions
+   *
+   * @param removedTimePartitions database name -> the removed TimePartitionSlots
+   */
+  private void removeDataPartitionCache(
+      Map<String, List<TTimePartitionSlot>> removedTimePartitions) {
+    dataPartitionCacheLock.writeLock().lock();
+    try {
+      removedTimePartitions.forEach(
+          (databaseName, timePartitionSlots) -> {
+            DataPartitionTable dataPartitionTable = dataPartitionCache.getIfPresent(databaseName);
+            if (null == dataPartitionTable) {
+              return;
+            }
+            Set<TTimePartitionSlot> timePartitionSlotSet = new HashSet<>(timePartitionSlots);
+            for (SeriesPartitionTable seriesPartitionTable :
+                dataPartitionTable.getDataPartitionMap().values()) {
+              seriesPartitionTable.getSeriesPartitionMap().keySet().removeAll(timePartitionSlotSet);
+            }
+          });
+    } finally {
+      dataPartitionCacheLock.writeLock().unlock();
+    }
+  }
+
+  public long getDataPartitionCacheEpoch() {
+    return dataPartitionCacheEpoch;
+  }
+
+  public long getDataPartitionCacheVersion() {
+    return dataPartitionCacheVersion;
+  }
+
   /** invalid all dataPartitionCache */
   public void invalidAllDataPartitionCache() {
     dataPartitionCacheLock.writeLock().lock();
@@ -22,7 +22,9 @@ package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache;
 import javax.annotation.concurrent.GuardedBy;
 
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
@@ -83,6 +85,14 @@ public interface IDualKeyCache<FK, SK, V> {
       final Predicate<SK> secondKeyChecker,
       final ToIntFunction<V> updater);
 
+  /**
+   * Traverse all the cache values whose first key matches the given predicate. The consumer of the
+   * values with one first key is created by the given factory. The values here are read only, and
+   * the traverse does not affect the eviction of them.
+   */
+  void forEach(
+      final Predicate<FK> firstKeyChecker, final Function<FK, BiConsumer<SK, V>> consumerFactory);
+
   /**
    * Invalidate all cache values in the cache and clear related cache keys. The cache status and
    * statistics won't be clear and they can still be accessed via cache.stats().
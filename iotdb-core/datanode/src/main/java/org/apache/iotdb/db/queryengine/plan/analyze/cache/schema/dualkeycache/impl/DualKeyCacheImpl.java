@@ -34,7 +34,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
@@ -185,6 +187,24 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
     }
   }
 
+  @Override
+  public void forEach(
+      final Predicate<FK> firstKeyChecker, final Function<FK, BiConsumer<SK, V>> consumerFactory) {
+    for (final FK firstKey : firstKeyMap.getAllKeys()) {
+      if (!firstKeyChecker.test(firstKey)) {
+        continue;
+      }
+      final ICacheEntryGroup<FK, SK, V, T> cacheEntryGroup = firstKeyMap.get(firstKey);
+      if (Objects.isNull(cacheEntryGroup)) {
+        continue;
+      }
+      final BiConsumer<SK, V> consumer = consumerFactory.apply(firstKey);
+      cacheEntryGroup
+          .getAllCacheEntries()
+          .forEachRemaining(entry -> consumer.accept(entry.getKey(), entry.getValue().getValue()));
+    }
+  }
+
   private void mayEvict() {
     long exceedMemory;
     final int threshold =
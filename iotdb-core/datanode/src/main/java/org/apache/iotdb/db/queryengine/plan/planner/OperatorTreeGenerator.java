@@ -57,6 +57,7 @@ import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.execution.operator.process.ActiveRegionScanMergeOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.process.AggregationMergeSortOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.process.AggregationOperator;
+import org.apache.iotdb.db.queryengine.execution.operator.process.CollectOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.process.ColumnInjectOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.process.DeviceViewIntoOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.process.DeviceViewOperator;
@@ -291,6 +292,8 @@ import org.apache.tsfile.write.schema.MeasurementSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -354,10 +357,72 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
   @Override
   public Operator visitSeriesScan(SeriesScanNode node, LocalExecutionPlanContext context) {
+    List<Filter> timeRangeFilters = getSeriesScanTimeRangeFilters(node, context);
+    if (timeRangeFilters.isEmpty()) {
+      return createSeriesScanOperator(node, context, null);
+    }
+
+    // scan each time range in a separate pipeline and concatenate them in the scan order
+    List<Operator> children = new ArrayList<>(timeRangeFilters.size());
+    for (int i = 0; i < timeRangeFilters.size(); i++) {
+      // each range has its own plan node id, so that its statistics, sink channel and pipeline
+      // memory estimator are not mixed up with the other ranges and the CollectOperator
+      SeriesScanNode rangeNode = (SeriesScanNode) node.clone();
+      rangeNode.setPlanNodeId(new PlanNodeId(node.getPlanNodeId().getId() + "_" + i));
+      LocalExecutionPlanContext subContext = context.createSubContext();
+      subContext.setDegreeOfParallelism(1);
+      Operator childOperation =
+          createSeriesScanOperator(rangeNode, subContext, timeRangeFilters.get(i));
+      children.add(
+          createNewPipelineForChildOperator(
+              context, subContext, childOperation, rangeNode, node.getPlanNodeId()));
+    }
+    context.addExchangeSumNum(timeRangeFilters.size());
+
+    OperatorContext operatorContext =
+        context
+            .getDriverContext()
+            .addOperatorContext(
+                context.getNextOperatorId(),
+                node.getPlanNodeId(),
+                CollectOperator.class.getSimpleName());
+    return new CollectOperator(operatorContext, children);
+  }
+
+  /**
+   * @return the time filters of the ranges which the scan of the series is split into, or an empty
+   *     list if the scan should not be split
+   */
+  private List<Filter> getSeriesScanTimeRangeFilters(
+      SeriesScanNode node, LocalExecutionPlanContext context) {
+    int splitNum =
+        Math.min(
+            IoTDBDescriptor.getInstance().getConfig().getMaxSeriesScanSplitNum(),
+            context.getDegreeOfParallelism());
+    if (splitNum <= 1
+        || context.isBuildPlanUseTemplate()
+        || node.getPushDownLimit() > 0
+        || node.getPushDownOffset() > 0
+        || !canPushIntoScan(node.getPushDownPredicate())) {
+      return Collections.emptyList();
+    }
+    return SeriesScanSplitter.split(
+        context.getDriverContext().getFragmentInstanceContext().getDataRegion(),
+        node.getSeriesPath().getIDeviceID(),
+        context.getGlobalTimeFilter(),
+        node.getScanOrder(),
+        splitNum);
+  }
+
+  private Operator createSeriesScanOperator(
+      SeriesScanNode node, LocalExecutionPlanContext context, @Nullable Filter timeRangeFilter) {
     NonAlignedFullPath seriesPath =
         (NonAlignedFullPath) IFullPath.convertToIFullPath(node.getSeriesPath());
 
     SeriesScanOptions.Builder scanOptionsBuilder = getSeriesScanOptionsBuilder(context);
+    if (timeRangeFilter != null) {
+      scanOptionsBuilder.withGlobalTimeFilter(timeRangeFilter);
+    }
     scanOptionsBuilder.withAllSensors(
         context.getAllSensors(seriesPath.getDeviceId(), seriesPath.getMeasurement()));
 
@@ -3491,6 +3556,16 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
       PlanNode childNode,
       PlanNodeId parentNodeId) {
     Operator childOperation = childNode.accept(this, subContext);
+    return createNewPipelineForChildOperator(
+        context, subContext, childOperation, childNode, parentNodeId);
+  }
+
+  private Operator createNewPipelineForChildOperator(
+      LocalExecutionPlanContext context,
+      LocalExecutionPlanContext subContext,
+      Operator childOperation,
+      PlanNode childNode,
+      PlanNodeId parentNodeId) {
     ISinkChannel localSinkChannel =
         MPP_DATA_EXCHANGE_MANAGER.createLocalSinkChannelForPipeline(
             // Attention, there is no parent node, use first child node instead
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner;
+
+import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.IDataRegionForQuery;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.filter.factory.FilterFactory;
+import org.apache.tsfile.read.filter.factory.TimeFilterApi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Split the scan of a single series into time ranges covering about the same number of sequence
+ * TsFiles, so that the ranges can be scanned by different drivers in parallel and concatenated in
+ * the scan order. The split points are only chosen heuristically from the current TsFiles, the
+ * ranges always cover the whole time line, so the result is correct even if the TsFiles are
+ * changed before the query data source is acquired.
+ */
+public class SeriesScanSplitter {
+
+  private SeriesScanSplitter() {
+    // forbidding instantiation
+  }
+
+  /**
+   * @return the time filters of the ranges in the scan order, each of which has been combined with
+   *     the global time filter, or an empty list if the scan should not be split
+   */
+  public static List<Filter> split(
+      IDataRegionForQuery dataRegion,
+      IDeviceID deviceId,
+      Filter globalTimeFilter,
+      Ordering scanOrder,
+      int splitNum) {
+    if (splitNum <= 1 || !(dataRegion instanceof DataRegion)) {
+      return Collections.emptyList();
+    }
+    List<TsFileResource> seqResources =
+        ((DataRegion) dataRegion)
+            .getTsFileManager()
+            .getTsFileList(true, null, globalTimeFilter == null ? null : globalTimeFilter.copy());
+    return split(seqResources, deviceId, globalTimeFilter, scanOrder, splitNum);
+  }
+
+  static List<Filter> split(
+      List<TsFileResource> seqResources,
+      IDeviceID deviceId,
+      Filter globalTimeFilter,
+      Ordering scanOrder,
+      int splitNum) {
+    List<Long> splitPoints =
+        getSplitPoints(
+            seqResources,
+            deviceId,
+            globalTimeFilter == null ? null : globalTimeFilter.copy(),
+            splitNum);
+    if (splitPoints.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<Filter> timeFilters = new ArrayList<>(splitPoints.size() + 1);
+    long rangeStartTime = Long.MIN_VALUE;
+    for (long splitPoint : splitPoints) {
+      timeFilters.add(
+          combine(globalTimeFilter, TimeFilterApi.between(rangeStartTime, splitPoint - 1)));
+      rangeStartTime = splitPoint;
+    }
+    timeFilters.add(combine(globalTimeFilter, TimeFilterApi.gtEq(rangeStartTime)));
+    if (scanOrder == Ordering.DESC) {
+      Collections.reverse(timeFilters);
+    }
+    return timeFilters;
+  }
+
+  private static Filter combine(Filter globalTimeFilter, Filter rangeFilter) {
+    // time filter may be stateful, so we need to copy it
+    return globalTimeFilter == null
+        ? rangeFilter
+        : FilterFactory.and(globalTimeFilter.copy(), rangeFilter);
+  }
+
+  /**
+   * @return the ascending start times of the ranges except the first one, which divide the sealed
+   *     sequence TsFiles containing the device into at most splitNum groups of the same size
+   */
+  static List<Long> getSplitPoints(
+      List<TsFileResource> seqResources, IDeviceID deviceId, Filter timeFilter, int splitNum) {
+    List<Long> startTimes = new ArrayList<>();
+    for (TsFileResource resource : seqResources) {
+      if (resource.isClosed() && resource.isSatisfied(deviceId, timeFilter, true, false)) {
+        Optional<Long> startTime = resource.getStartTime(deviceId);
+        startTime.ifPresent(startTimes::add);
+      }
+    }
+    int groupNum = Math.min(splitNum, startTimes.size());
+    if (groupNum <= 1) {
+      return Collections.emptyList();
+    }
+    Collections.sort(startTimes);
+
+    List<Long> splitPoints = new ArrayList<>(groupNum - 1);
+    long lastSplitPoint = Long.MIN_VALUE;
+    for (int i = 1; i < groupNum; i++) {
+      long splitPoint = startTimes.get(i * startTimes.size() / groupNum);
+      if (splitPoint > lastSplitPoint) {
+        splitPoints.add(splitPoint);
+        lastSplitPoint = splitPoint;
+      }
+    }
+    return splitPoints;
+  }
+}
@@ -42,6 +42,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -249,6 +250,48 @@ public class TableDeviceSchemaValidator {
       throw new IoTDBRuntimeException(
           executionResult.status.getMessage(), executionResult.status.getCode());
     }
+    populateCacheAfterCreateOrUpdate(
+        schemaValidation,
+        previousValidateResult.missingDeviceIndexList.size(),
+        deviceIdList,
+        attributeKeyList,
+        attributeValueList);
+  }
+
+  /**
+   * Cache the devices created or updated by this insertion in one batch, so that the following
+   * insertions of them need not fetch from the schema regions again. The first "createdNum"
+   * devices are the created ones. The attributes of this insertion may be only part of the
+   * device's, so they are always merged into the cached ones, and the updated devices are not
+   * cached if they are absent from the cache.
+   */
+  private void populateCacheAfterCreateOrUpdate(
+      final ITableDeviceSchemaValidation schemaValidation,
+      final int createdNum,
+      final List<Object[]> deviceIdList,
+      final List<String> attributeKeyList,
+      final List<Object[]> attributeValueList) {
+    final String database = schemaValidation.getDatabase();
+    final String tableName = schemaValidation.getTableName();
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+    final Map<IDeviceID, Map<String, Binary>> createdDeviceMap = new HashMap<>(createdNum);
+    for (int i = 0, size = deviceIdList.size(); i < size; i++) {
+      final Map<String, Binary> attributeMap = new HashMap<>();
+      final Object[] values = attributeValueList.get(i);
+      for (int j = 0, attributeSize = attributeKeyList.size(); j < attributeSize; j++) {
+        if (Objects.nonNull(values[j])) {
+          attributeMap.put(attributeKeyList.get(j), (Binary) values[j]);
+        }
+      }
+      final IDeviceID deviceID =
+          convertTagValuesToDeviceID(tableName, (String[]) deviceIdList.get(i));
+      if (i < createdNum) {
+        createdDeviceMap.put(deviceID, attributeMap);
+      } else {
+        cache.updateAttributes(database, deviceID, attributeMap);
+      }
+    }
+    cache.putAttributes(database, createdDeviceMap);
   }
 
   public static void checkObject4DeviceId(final Object[] deviceId) {
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache;
+
+import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.TsPrimitiveType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.BiConsumer;
+
+/**
+ * The last values of the measurements of one device. The semantics of the methods are described in
+ * {@link TableDeviceSchemaCache}, and the methods returning int return the change of the memory
+ * size.
+ */
+public interface IDeviceLastCache {
+
+  int initOrInvalidate(
+      final String database,
+      final String tableName,
+      final String[] measurements,
+      final boolean isInvalidate);
+
+  int tryUpdate(
+      final @Nonnull String[] measurements,
+      final @Nonnull TimeValuePair[] timeValuePairs,
+      final boolean invalidateNull);
+
+  int invalidate(final String measurement);
+
+  @Nullable
+  TimeValuePair getTimeValuePair(final @Nonnull String measurement);
+
+  // Shall pass in "" if last by time
+  Optional<Pair<OptionalLong, TsPrimitiveType[]>> getLastRow(
+      final @Nonnull String sourceMeasurement, final List<String> targetMeasurements);
+
+  /** Traverse the cached measurements, the declared but not filled ones are skipped. */
+  void forEach(final BiConsumer<String, TimeValuePair> consumer);
+
+  /** The number of cached values, the declared but not filled measurements are not counted. */
+  int getValueCount();
+
+  int estimateSize();
+}
@@ -0,0 +1,634 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
+import org.apache.iotdb.commons.schema.table.TsTable;
+import org.apache.iotdb.commons.schema.table.column.TsTableColumnSchema;
+import org.apache.iotdb.commons.utils.PathUtils;
+import org.apache.iotdb.commons.utils.SerializeUtils;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.schemaengine.table.DataNodeTableCache;
+import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.utils.ThreadUtils;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.apache.tsfile.utils.TsPrimitiveType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Persists the last cache of the table model to a local file periodically, and loads it back into
+ * the {@link TableDeviceSchemaCache} after restart, so that the first last queries after restart
+ * do not need to read all the TsFiles.
+ *
+ * <p>The checkpoint is only rewritten when the last cache has been updated since the previous one.
+ * Since the values may be stale after restart, they are checked against the data before loaded:
+ *
+ * <p>1. The checkpoint is discarded on every deletion, schema change or invalidation of the last
+ * cache, so a checkpoint never contains the values which may have been deleted.
+ *
+ * <p>2. The TsFiles sealed when the checkpoint was taken are recorded in it, the data of them is
+ * already reflected in the checkpoint. The other TsFiles, i.e., the unsealed ones and the ones
+ * sealed or compacted afterwards, may contain newer data. A measurement is not loaded if any of
+ * them contains its device with an end time no earlier than the measurement's last time.
+ *
+ * <p>3. A device is not loaded if it has a last time later than all of its data on this node, e.g.,
+ * the data lost with the un-synced WAL.
+ */
+public class LastCacheCheckpoint {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LastCacheCheckpoint.class);
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  public static final String CHECKPOINT_FILE_NAME = "last_cache.checkpoint";
+
+  private static final byte VERSION = 1;
+
+  private static final byte EMPTY_VALUE = 0;
+  private static final byte TIME_ONLY = 1;
+  private static final byte TIME_AND_VALUE = 2;
+
+  // The number of devices warmed up under one lock of the data regions
+  private static final int WARM_UP_BATCH_SIZE = 1000;
+
+  private final File checkpointFile;
+
+  // Increased on every discarding, the checkpoints or warm-ups started before are abandoned
+  private final AtomicLong generation = new AtomicLong(0);
+
+  // Whether a checkpoint may exist, to make the discarding cheap if not
+  private volatile boolean mayHaveCheckpoint = true;
+
+  private volatile ScheduledExecutorService checkpointExecutor;
+
+  private LastCacheCheckpoint() {
+    this.checkpointFile = new File(CONFIG.getSystemDir(), CHECKPOINT_FILE_NAME);
+  }
+
+  public static LastCacheCheckpoint getInstance() {
+    return LastCacheCheckpointHolder.INSTANCE;
+  }
+
+  private static boolean isEnabled() {
+    return CONFIG.getLastCacheCheckpointIntervalInMs() > 0
+        && CommonDescriptor.getInstance().getConfig().isLastCacheEnable();
+  }
+
+  /**
+   * Warm up the last cache by the checkpoint and start the periodical checkpoint. Shall be called
+   * after all the TsFileResources are recovered.
+   */
+  public void start() {
+    if (!isEnabled()) {
+      discard();
+      return;
+    }
+    try {
+      warmUp();
+    } catch (final Exception e) {
+      LOGGER.warn("Failed to warm up the last cache by {}, skip it", checkpointFile, e);
+    }
+    checkpointExecutor =
+        IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+            ThreadName.LAST_CACHE_CHECKPOINT.getName());
+    ScheduledExecutorUtil.safelyScheduleAtFixedRate(
+        checkpointExecutor,
+        this::checkpoint,
+        CONFIG.getLastCacheCheckpointIntervalInMs(),
+        CONFIG.getLastCacheCheckpointIntervalInMs(),
+        TimeUnit.MILLISECONDS);
+    LOGGER.info("start last cache checkpoint thread successfully.");
+  }
+
+  /** Stop the periodical checkpoint, and take a final one if the storage engine is ready. */
+  public void stop() {
+    final ScheduledExecutorService executor = checkpointExecutor;
+    if (Objects.isNull(executor)) {
+      return;
+    }
+    checkpointExecutor = null;
+    ThreadUtils.stopThreadPool(executor, ThreadName.LAST_CACHE_CHECKPOINT);
+    checkpoint();
+  }
+
+  /**
+   * Drop the checkpoint, since some of its values may be invalid now. Shall be called after the
+   * last cache is invalidated.
+   */
+  public void discard() {
+    if (!mayHaveCheckpoint) {
+      return;
+    }
+    synchronized (this) {
+      generation.incrementAndGet();
+      try {
+        Files.deleteIfExists(checkpointFile.toPath());
+        mayHaveCheckpoint = false;
+      } catch (final IOException e) {
+        LOGGER.warn("Failed to delete the last cache checkpoint {}", checkpointFile, e);
+      }
+    }
+  }
+
+  /////////////////////////////// Checkpoint ///////////////////////////////
+
+  void checkpoint() {
+    if (!StorageEngine.getInstance().isReadyForNonReadWriteFunctions()) {
+      return;
+    }
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+    if (!cache.checkAndResetLastCacheUpdated() && checkpointFile.exists()) {
+      return;
+    }
+    // Set before traversing the cache, so that the invalidations during the traversal are
+    // guaranteed to increase the generation and abandon this checkpoint
+    mayHaveCheckpoint = true;
+    final long currentGeneration = generation.get();
+    // Collected before traversing the cache, so that their data is all reflected in the cache
+    final List<String> sealedTsFiles = getSealedTsFiles();
+    final File tempFile = new File(checkpointFile.getPath() + TsFileResource.TEMP_SUFFIX);
+    try {
+      try (final FileOutputStream fileOutputStream = new FileOutputStream(tempFile);
+          final DataOutputStream outputStream =
+              new DataOutputStream(new BufferedOutputStream(fileOutputStream))) {
+        serialize(cache, sealedTsFiles, outputStream);
+        outputStream.flush();
+        fileOutputStream.getFD().sync();
+      }
+      synchronized (this) {
+        if (generation.get() != currentGeneration) {
+          // Discarded during the checkpoint, the next checkpoint will catch up
+          Files.deleteIfExists(tempFile.toPath());
+          return;
+        }
+        Files.move(
+            tempFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (final IOException | UncheckedIOException e) {
+      LOGGER.warn("Failed to checkpoint the last cache to {}", checkpointFile, e);
+      try {
+        Files.deleteIfExists(tempFile.toPath());
+      } catch (final IOException ex) {
+        LOGGER.warn("Failed to delete {}", tempFile, ex);
+      }
+    }
+  }
+
+  static void serialize(
+      final TableDeviceSchemaCache cache,
+      final List<String> sealedTsFiles,
+      final DataOutputStream outputStream)
+      throws IOException {
+    ReadWriteIOUtils.write(VERSION, outputStream);
+    ReadWriteIOUtils.write(sealedTsFiles.size(), outputStream);
+    for (final String sealedTsFile : sealedTsFiles) {
+      ReadWriteIOUtils.write(sealedTsFile, outputStream);
+    }
+    // Each device is prefixed by its length, so that it can be read without a buffer of the file
+    final PublicBAOS deviceBuffer = new PublicBAOS();
+    final DataOutputStream deviceStream = new DataOutputStream(deviceBuffer);
+    cache.forEachTableLastCache(
+        tableId ->
+            (deviceId, lastCache) -> {
+              try {
+                deviceBuffer.reset();
+                serializeDevice(tableId.getDatabase(), deviceId, lastCache, deviceStream);
+                ReadWriteIOUtils.write(true, outputStream);
+                ReadWriteIOUtils.write(deviceBuffer.size(), outputStream);
+                outputStream.write(deviceBuffer.getBuf(), 0, deviceBuffer.size());
+              } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    ReadWriteIOUtils.write(false, outputStream);
+  }
+
+  private static void serializeDevice(
+      final String database,
+      final IDeviceID deviceId,
+      final Map<String, TimeValuePair> lastCache,
+      final DataOutputStream outputStream)
+      throws IOException {
+    ReadWriteIOUtils.write(database, outputStream);
+    deviceId.serialize(outputStream);
+    final List<Map.Entry<String, TimeValuePair>> entries =
+        lastCache.entrySet().stream()
+            .filter(entry -> getKind(entry.getValue()) >= 0)
+            .collect(Collectors.toList());
+    ReadWriteIOUtils.write(entries.size(), outputStream);
+    for (final Map.Entry<String, TimeValuePair> entry : entries) {
+      final TimeValuePair tvPair = entry.getValue();
+      final byte kind = getKind(tvPair);
+      ReadWriteIOUtils.write(entry.getKey(), outputStream);
+      ReadWriteIOUtils.write(kind, outputStream);
+      if (kind == TIME_ONLY) {
+        ReadWriteIOUtils.write(tvPair.getTimestamp(), outputStream);
+      } else if (kind == TIME_AND_VALUE) {
+        SerializeUtils.serializeTVPair(tvPair, outputStream);
+      }
+    }
+  }
+
+  private static List<DataRegion> getTableModelDataRegions() {
+    return StorageEngine.getInstance().getAllDataRegions().stream()
+        .filter(dataRegion -> PathUtils.isTableModelDatabase(dataRegion.getDatabaseName()))
+        .collect(Collectors.toList());
+  }
+
+  private static List<String> getSealedTsFiles() {
+    final List<String> sealedTsFiles = new ArrayList<>();
+    for (final DataRegion dataRegion : getTableModelDataRegions()) {
+      for (final boolean sequence : new boolean[] {true, false}) {
+        for (final TsFileResource resource :
+            dataRegion.getTsFileManager().getTsFileList(sequence)) {
+          if (resource.isClosed()) {
+            sealedTsFiles.add(resource.getTsFilePath());
+          }
+        }
+      }
+    }
+    return sealedTsFiles;
+  }
+
+  // Returns -1 if the pair can not be persisted
+  private static byte getKind(final TimeValuePair tvPair) {
+    if (tvPair == TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR) {
+      return EMPTY_VALUE;
+    }
+    final TsPrimitiveType value = tvPair.getValue();
+    if (value == TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE) {
+      return TIME_ONLY;
+    }
+    return Objects.nonNull(value)
+            && Objects.nonNull(value.getDataType())
+            && tvPair.getTimestamp() != Long.MIN_VALUE
+        ? TIME_AND_VALUE
+        : -1;
+  }
+
+  /////////////////////////////// Warm up ///////////////////////////////
+
+  private void warmUp() throws Exception {
+    final long currentGeneration = generation.get();
+    if (!checkpointFile.exists()) {
+      mayHaveCheckpoint = false;
+      return;
+    }
+    final long startTime = System.currentTimeMillis();
+    ExecutorService warmUpPool = null;
+    try (final DataInputStream inputStream =
+        new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(checkpointFile.toPath())))) {
+      final CheckpointReader reader = new CheckpointReader(inputStream);
+      int deviceCount = 0;
+      Map<String, Map<IDeviceID, Map<String, TimeValuePair>>> batch;
+      while (generation.get() == currentGeneration
+          && !(batch = reader.readBatch(WARM_UP_BATCH_SIZE)).isEmpty()) {
+        if (Objects.isNull(warmUpPool)) {
+          warmUpPool =
+              IoTDBThreadPoolFactory.newFixedThreadPool(
+                  Runtime.getRuntime().availableProcessors(),
+                  ThreadName.LAST_CACHE_WARM_UP.getName());
+        }
+        final List<Future<Integer>> futures = new ArrayList<>();
+        for (final Map.Entry<String, Map<IDeviceID, Map<String, TimeValuePair>>> entry :
+            batch.entrySet()) {
+          futures.add(
+              warmUpPool.submit(
+                  () ->
+                      warmUp(
+                          entry.getKey(),
+                          entry.getValue(),
+                          reader.sealedTsFiles,
+                          currentGeneration)));
+        }
+        for (final Future<Integer> future : futures) {
+          deviceCount += future.get();
+        }
+      }
+      LOGGER.info(
+          "Warmed up the last cache of {} devices by {}, cost {}ms",
+          deviceCount,
+          checkpointFile,
+          System.currentTimeMillis() - startTime);
+    } finally {
+      if (Objects.nonNull(warmUpPool)) {
+        warmUpPool.shutdownNow();
+      }
+    }
+  }
+
+  private int warmUp(
+      final String database,
+      final Map<IDeviceID, Map<String, TimeValuePair>> devices,
+      final Set<String> sealedTsFiles,
+      final long currentGeneration) {
+    // Block the writings of the database while the batch is warmed up, whose last cache updates
+    // would be lost otherwise because the entries do not exist yet. The writings between batches
+    // are reflected in the end times of the unsealed TsFiles, which are checked under the lock.
+    final List<DataRegion> dataRegions =
+        getTableModelDataRegions().stream()
+            .filter(dataRegion -> database.equals(dataRegion.getDatabaseName()))
+            .sorted(
+                Comparator.comparingInt(
+                    dataRegion -> Integer.parseInt(dataRegion.getDataRegionIdString())))
+            .collect(Collectors.toList());
+    int lockedCount = 0;
+    try {
+      for (final DataRegion dataRegion : dataRegions) {
+        dataRegion.writeLock("LastCacheWarmUp");
+        ++lockedCount;
+      }
+      final List<TsFileResource> resources = new ArrayList<>();
+      for (final DataRegion dataRegion : dataRegions) {
+        resources.addAll(dataRegion.getTsFileManager().getTsFileList(true));
+        resources.addAll(dataRegion.getTsFileManager().getTsFileList(false));
+      }
+      final Map<IDeviceID, Long> recentEndTimes =
+          getRecentEndTimes(resources, sealedTsFiles, devices.keySet());
+
+      int deviceCount = 0;
+      for (final Map.Entry<IDeviceID, Map<String, TimeValuePair>> entry : devices.entrySet()) {
+        if (generation.get() != currentGeneration) {
+          return deviceCount;
+        }
+        if (warmUp(database, entry.getKey(), entry.getValue(), dataRegions, recentEndTimes)) {
+          ++deviceCount;
+        }
+      }
+      return deviceCount;
+    } finally {
+      for (int i = lockedCount - 1; i >= 0; --i) {
+        dataRegions.get(i).writeUnlock();
+      }
+    }
+  }
+
+  /**
+   * @return the end times of the devices in the TsFiles not recorded as sealed by the checkpoint,
+   *     i.e., the TsFiles which may contain data newer than the checkpoint
+   */
+  static Map<IDeviceID, Long> getRecentEndTimes(
+      final List<TsFileResource> resources,
+      final Set<String> sealedTsFiles,
+      final Set<IDeviceID> devices) {
+    final Map<IDeviceID, Long> recentEndTimes = new HashMap<>();
+    for (final TsFileResource resource : resources) {
+      if (resource.isClosed() && sealedTsFiles.contains(resource.getTsFilePath())) {
+        continue;
+      }
+      for (final IDeviceID deviceId : devices) {
+        resource
+            .getEndTime(deviceId)
+            .ifPresent(endTime -> recentEndTimes.merge(deviceId, endTime, Math::max));
+      }
+    }
+    return recentEndTimes;
+  }
+
+  private static boolean warmUp(
+      final String database,
+      final IDeviceID deviceId,
+      final Map<String, TimeValuePair> lastCache,
+      final List<DataRegion> dataRegions,
+      final Map<IDeviceID, Long> recentEndTimes) {
+    final TsTable table =
+        DataNodeTableCache.getInstance().getTable(database, deviceId.getTableName(), false);
+    if (Objects.isNull(table)) {
+      return false;
+    }
+    long flushedTime = Long.MIN_VALUE;
+    for (final DataRegion dataRegion : dataRegions) {
+      flushedTime =
+          Math.max(flushedTime, dataRegion.getLastFlushTimeMap().getGlobalFlushedTime(deviceId));
+    }
+    final Map<String, TimeValuePair> validLastCache =
+        getValidLastCache(
+            table,
+            lastCache,
+            flushedTime,
+            recentEndTimes.getOrDefault(deviceId, Long.MIN_VALUE));
+    if (validLastCache.isEmpty()) {
+      return false;
+    }
+    final String[] measurementArray = validLastCache.keySet().toArray(new String[0]);
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+    cache.initOrInvalidateLastCache(database, deviceId, measurementArray, false);
+    cache.updateLastCacheIfExists(
+        database,
+        deviceId,
+        measurementArray,
+        validLastCache.values().toArray(new TimeValuePair[0]));
+    return true;
+  }
+
+  /**
+   * @param flushedTime the latest flushed time of the device on this node
+   * @param recentEndTime the latest end time of the device in the TsFiles not recorded as sealed by
+   *     the checkpoint, see {@link #getRecentEndTimes}
+   * @return the values of the device which can be loaded, empty if the device is not here or some
+   *     of its data has been lost
+   */
+  static Map<String, TimeValuePair> getValidLastCache(
+      final TsTable table,
+      final Map<String, TimeValuePair> lastCache,
+      final long flushedTime,
+      final long recentEndTime) {
+    final long dataEndTime = Math.max(flushedTime, recentEndTime);
+    if (dataEndTime == Long.MIN_VALUE) {
+      // The device is not here
+      return Collections.emptyMap();
+    }
+    final Map<String, TimeValuePair> validLastCache = new LinkedHashMap<>();
+    for (final Map.Entry<String, TimeValuePair> entry : lastCache.entrySet()) {
+      final long lastTime = entry.getValue().getTimestamp();
+      if (lastTime > dataEndTime) {
+        // The data has been lost
+        return Collections.emptyMap();
+      }
+      if ((recentEndTime == Long.MIN_VALUE || lastTime > recentEndTime)
+          && isTypeMatched(table, entry.getKey(), entry.getValue())) {
+        validLastCache.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return validLastCache;
+  }
+
+  private static boolean isTypeMatched(
+      final TsTable table, final String measurement, final TimeValuePair tvPair) {
+    if (measurement.isEmpty()) {
+      return true;
+    }
+    final TsTableColumnSchema columnSchema = table.getColumnSchema(measurement);
+    if (Objects.isNull(columnSchema)) {
+      return false;
+    }
+    final TsPrimitiveType value = tvPair.getValue();
+    return tvPair == TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR
+        || Objects.nonNull(value) && value.getDataType() == columnSchema.getDataType();
+  }
+
+  @TestOnly
+  static CheckpointContent deserialize(final DataInputStream inputStream) throws IOException {
+    final CheckpointReader reader = new CheckpointReader(inputStream);
+    final CheckpointContent content = new CheckpointContent();
+    content.sealedTsFiles.addAll(reader.sealedTsFiles);
+    Map<String, Map<IDeviceID, Map<String, TimeValuePair>>> batch;
+    while (!(batch = reader.readBatch(Integer.MAX_VALUE)).isEmpty()) {
+      batch.forEach(
+          (database, devices) ->
+              content
+                  .database2Devices
+                  .computeIfAbsent(database, k -> new HashMap<>())
+                  .putAll(devices));
+    }
+    return content;
+  }
+
+  /** Reads the checkpoint device by device, so that it is never loaded into memory as a whole. */
+  static class CheckpointReader {
+
+    final Set<String> sealedTsFiles = new HashSet<>();
+    private final DataInputStream inputStream;
+    private boolean finished = false;
+
+    CheckpointReader(final DataInputStream inputStream) throws IOException {
+      this.inputStream = inputStream;
+      final byte version = ReadWriteIOUtils.readByte(inputStream);
+      if (version != VERSION) {
+        throw new IOException("Unsupported version of last cache checkpoint: " + version);
+      }
+      final int sealedTsFileCount = ReadWriteIOUtils.readInt(inputStream);
+      for (int i = 0; i < sealedTsFileCount; ++i) {
+        sealedTsFiles.add(ReadWriteIOUtils.readString(inputStream));
+      }
+    }
+
+    /**
+     * @return at most maxDeviceCount devices grouped by database, empty if all have been read
+     */
+    Map<String, Map<IDeviceID, Map<String, TimeValuePair>>> readBatch(final int maxDeviceCount)
+        throws IOException {
+      final Map<String, Map<IDeviceID, Map<String, TimeValuePair>>> batch = new HashMap<>();
+      for (int i = 0; i < maxDeviceCount && !finished; ++i) {
+        if (!ReadWriteIOUtils.readBool(inputStream)) {
+          finished = true;
+          break;
+        }
+        final byte[] deviceBytes = new byte[ReadWriteIOUtils.readInt(inputStream)];
+        inputStream.readFully(deviceBytes);
+        deserializeDevice(ByteBuffer.wrap(deviceBytes), batch);
+      }
+      return batch;
+    }
+  }
+
+  private static void deserializeDevice(
+      final ByteBuffer buffer,
+      final Map<String, Map<IDeviceID, Map<String, TimeValuePair>>> database2Devices)
+      throws IOException {
+    final String database = ReadWriteIOUtils.readString(buffer);
+    final IDeviceID deviceId = IDeviceID.Deserializer.DEFAULT_DESERIALIZER.deserializeFrom(buffer);
+    final int measurementCount = ReadWriteIOUtils.readInt(buffer);
+    final Map<String, TimeValuePair> lastCache = new HashMap<>(measurementCount);
+    for (int i = 0; i < measurementCount; ++i) {
+      final String measurement = ReadWriteIOUtils.readString(buffer);
+      final byte kind = ReadWriteIOUtils.readByte(buffer);
+      switch (kind) {
+        case EMPTY_VALUE:
+          lastCache.put(measurement, TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR);
+          break;
+        case TIME_ONLY:
+          lastCache.put(
+              measurement,
+              new TimeValuePair(
+                  ReadWriteIOUtils.readLong(buffer), TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE));
+          break;
+        case TIME_AND_VALUE:
+          lastCache.put(measurement, SerializeUtils.deserializeTVPair(buffer));
+          break;
+        default:
+          throw new IOException("Unknown kind of last cache value: " + kind);
+      }
+    }
+    database2Devices.computeIfAbsent(database, k -> new HashMap<>()).put(deviceId, lastCache);
+  }
+
+  static class CheckpointContent {
+
+    final Set<String> sealedTsFiles = new HashSet<>();
+    final Map<String, Map<IDeviceID, Map<String, TimeValuePair>>> database2Devices =
+        new HashMap<>();
+  }
+
+  @TestOnly
+  File getCheckpointFile() {
+    return checkpointFile;
+  }
+
+  /** singleton pattern. */
+  private static class LastCacheCheckpointHolder {
+
+    private static final LastCacheCheckpoint INSTANCE = new LastCacheCheckpoint();
+
+    private LastCacheCheckpointHolder() {
+      // forbidding instantiation
+    }
+  }
+}
@@ -40,6 +40,7 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 
 import static org.apache.iotdb.commons.schema.SchemaConstant.NON_TEMPLATE;
 
@@ -56,7 +57,7 @@ public class TableDeviceCacheEntry {
   // there may exist key is not null, but value is null in this map, which means that the key's
   // corresponding value is null, doesn't mean that the key doesn't exist
   private final AtomicReference<IDeviceSchema> deviceSchema = new AtomicReference<>();
-  private final AtomicReference<TableDeviceLastCache> lastCache = new AtomicReference<>();
+  private final AtomicReference<IDeviceLastCache> lastCache = new AtomicReference<>();
 
   /////////////////////////////// Attribute ///////////////////////////////
 
@@ -183,11 +184,15 @@ public class TableDeviceCacheEntry {
       final String[] measurements,
       final boolean isInvalidate,
       final boolean isTableModel) {
-    int result =
-        lastCache.compareAndSet(null, new TableDeviceLastCache(isTableModel))
-            ? TableDeviceLastCache.INSTANCE_SIZE
-            : 0;
-    final TableDeviceLastCache cache = lastCache.get();
+    int result = 0;
+    if (Objects.isNull(lastCache.get())) {
+      final IDeviceLastCache newCache =
+          isTableModel && TableDeviceColumnarLastCache.isEnabled()
+              ? new TableDeviceColumnarLastCache(database, tableName)
+              : new TableDeviceLastCache(isTableModel);
+      result = lastCache.compareAndSet(null, newCache) ? newCache.estimateSize() : 0;
+    }
+    final IDeviceLastCache cache = lastCache.get();
     result +=
         Objects.nonNull(cache)
             ? cache.initOrInvalidate(database, tableName, measurements, isInvalidate)
@@ -197,7 +202,7 @@ public class TableDeviceCacheEntry {
 
   int tryUpdateLastCache(
       final String[] measurements, final TimeValuePair[] timeValuePairs, boolean invalidateNull) {
-    final TableDeviceLastCache cache = lastCache.get();
+    final IDeviceLastCache cache = lastCache.get();
     final int result =
         Objects.nonNull(cache) ? cache.tryUpdate(measurements, timeValuePairs, invalidateNull) : 0;
     return Objects.nonNull(lastCache.get()) ? result : 0;
@@ -208,13 +213,13 @@ public class TableDeviceCacheEntry {
   }
 
   int invalidateLastCache(final String measurement) {
-    final TableDeviceLastCache cache = lastCache.get();
+    final IDeviceLastCache cache = lastCache.get();
     final int result = Objects.nonNull(cache) ? cache.invalidate(measurement) : 0;
     return Objects.nonNull(lastCache.get()) ? result : 0;
   }
 
   TimeValuePair getTimeValuePair(final String measurement) {
-    final TableDeviceLastCache cache = lastCache.get();
+    final IDeviceLastCache cache = lastCache.get();
     return Objects.nonNull(cache) ? cache.getTimeValuePair(measurement) : null;
   }
 
@@ -233,12 +238,29 @@ public class TableDeviceCacheEntry {
   // Shall pass in "" if last by time
   Optional<Pair<OptionalLong, TsPrimitiveType[]>> getLastRow(
       final String sourceMeasurement, final List<String> targetMeasurements) {
-    final TableDeviceLastCache cache = lastCache.get();
+    final IDeviceLastCache cache = lastCache.get();
     return Objects.nonNull(cache)
         ? cache.getLastRow(sourceMeasurement, targetMeasurements)
         : Optional.empty();
   }
 
+  void forEachLastCache(final BiConsumer<String, TimeValuePair> consumer) {
+    final IDeviceLastCache cache = lastCache.get();
+    if (Objects.nonNull(cache)) {
+      cache.forEach(consumer);
+    }
+  }
+
+  int getLastCacheValueCount() {
+    final IDeviceLastCache cache = lastCache.get();
+    return Objects.nonNull(cache) ? cache.getValueCount() : 0;
+  }
+
+  int estimateLastCacheSize() {
+    final IDeviceLastCache cache = lastCache.get();
+    return Objects.nonNull(cache) ? cache.estimateSize() : 0;
+  }
+
   int invalidateLastCache() {
     final AtomicInteger size = new AtomicInteger(0);
     lastCache.updateAndGet(
@@ -255,7 +277,7 @@ public class TableDeviceCacheEntry {
 
   int estimateSize() {
     final IDeviceSchema schema = deviceSchema.get();
-    final TableDeviceLastCache cache = lastCache.get();
+    final IDeviceLastCache cache = lastCache.get();
     return (int)
         (INSTANCE_SIZE
             + (Objects.nonNull(schema) ? schema.estimateSize() : 0)
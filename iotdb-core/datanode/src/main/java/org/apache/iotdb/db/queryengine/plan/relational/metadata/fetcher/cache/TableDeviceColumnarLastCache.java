@@ -0,0 +1,520 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache;
+
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.schemaengine.table.DataNodeTableCache;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.TsPrimitiveType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The columnar alternative of {@link TableDeviceLastCache} for the table model, which is enabled by
+ * "enable_columnar_last_cache".
+ *
+ * <p>The measurements of one table are numbered by a {@link MeasurementOrdinals} shared by all the
+ * devices of the table, and each device keeps its last times and values in primitive arrays indexed
+ * by the ordinals. Compared with a map of {@link TimeValuePair}s, it saves the hash entry, the
+ * {@link TimeValuePair} and the {@link TsPrimitiveType} objects of every measurement.
+ *
+ * <p>The reads are optimistic and lock-free, and are retried under the read lock only when they
+ * overlap with a writing. The writings of one device are serialized, which are already serialized
+ * by the insert lock of the data region in most cases.
+ */
+@ThreadSafe
+public class TableDeviceColumnarLastCache implements IDeviceLastCache {
+
+  static final int INSTANCE_SIZE =
+      (int) RamUsageEstimator.shallowSizeOfInstance(TableDeviceColumnarLastCache.class)
+          + (int) RamUsageEstimator.shallowSizeOfInstance(StampedLock.class);
+
+  // The ordinals of the tables, the measurement ordinals of a dropped table are removed by
+  // TableDeviceSchemaCache
+  private static final Map<TableId, MeasurementOrdinals> TABLE_ORDINALS =
+      new ConcurrentHashMap<>();
+
+  // The states of a slot, ABSENT shall be 0 since it's the default value of the arrays
+  private static final byte ABSENT = 0;
+  // Declared and is ready for the next put, like the placeholder of TableDeviceLastCache
+  private static final byte PLACEHOLDER = 1;
+  // TableDeviceLastCache#EMPTY_TIME_VALUE_PAIR
+  private static final byte EMPTY = 2;
+  // The time with TableDeviceLastCache#EMPTY_PRIMITIVE_TYPE, e.g., the last time of the device
+  private static final byte TIME_ONLY = 3;
+  // The time with a null value
+  private static final byte NULL_VALUE = 4;
+  private static final byte VALUE = 5;
+
+  private final MeasurementOrdinals ordinals;
+  private final StampedLock lock = new StampedLock();
+
+  // [state, data type] of each slot
+  @GuardedBy("lock")
+  private byte[] headers;
+
+  // [time, value bits] of each slot, the value bits are used by the non-binary types
+  @GuardedBy("lock")
+  private long[] cells;
+
+  // Allocated on the first binary value
+  @GuardedBy("lock")
+  private Binary[] binaries;
+
+  @GuardedBy("lock")
+  private long binarySize;
+
+  TableDeviceColumnarLastCache(final String database, final String tableName) {
+    this.ordinals =
+        TABLE_ORDINALS.computeIfAbsent(
+            new TableId(database, tableName), tableId -> new MeasurementOrdinals());
+  }
+
+  static boolean isEnabled() {
+    return IoTDBDescriptor.getInstance().getConfig().isEnableColumnarLastCache();
+  }
+
+  static void removeOrdinals(final String database, final String tableName) {
+    TABLE_ORDINALS.remove(new TableId(database, tableName));
+  }
+
+  static void removeOrdinals(final String database) {
+    TABLE_ORDINALS.keySet().removeIf(tableId -> tableId.belongTo(database));
+  }
+
+  /////////////////////////////// Write ///////////////////////////////
+
+  @Override
+  public int initOrInvalidate(
+      final String database,
+      final String tableName,
+      final String[] measurements,
+      final boolean isInvalidate) {
+    final long stamp = lock.writeLock();
+    try {
+      final int originSize = estimateSize();
+      for (final String measurement : measurements) {
+        int ordinal = ordinals.get(measurement);
+        if (isInvalidate) {
+          if (ordinal >= 0) {
+            clearSlot(ordinal);
+          }
+          continue;
+        }
+        if (getState(ordinal) != ABSENT) {
+          continue;
+        }
+        if (ordinal < 0) {
+          final String internMeasurement =
+              DataNodeTableCache.getInstance()
+                  .tryGetInternColumnName(database, tableName, measurement);
+          // Removing table measurement, do not put cache
+          if (Objects.isNull(internMeasurement)) {
+            continue;
+          }
+          ordinal = ordinals.getOrCreate(internMeasurement);
+        } else if (Objects.isNull(
+            DataNodeTableCache.getInstance()
+                .tryGetInternColumnName(database, tableName, measurement))) {
+          continue;
+        }
+        ensureCapacity(ordinal);
+        headers[ordinal << 1] = PLACEHOLDER;
+        cells[ordinal << 1] = Long.MIN_VALUE;
+      }
+      return estimateSize() - originSize;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public int tryUpdate(
+      final @Nonnull String[] measurements,
+      final @Nonnull TimeValuePair[] timeValuePairs,
+      final boolean invalidateNull) {
+    final long stamp = lock.writeLock();
+    try {
+      final int originSize = estimateSize();
+      long lastTime = Long.MIN_VALUE;
+      for (int i = 0; i < measurements.length; ++i) {
+        final int ordinal = ordinals.get(measurements[i]);
+        if (Objects.isNull(timeValuePairs[i])) {
+          if (invalidateNull && ordinal >= 0) {
+            clearSlot(ordinal);
+          }
+          continue;
+        }
+        if (lastTime < timeValuePairs[i].getTimestamp()) {
+          lastTime = timeValuePairs[i].getTimestamp();
+        }
+        if (getState(ordinal) != ABSENT
+            && cells[ordinal << 1] <= timeValuePairs[i].getTimestamp()) {
+          setSlot(ordinal, timeValuePairs[i]);
+        }
+      }
+      final int timeOrdinal = ordinals.get("");
+      if (getState(timeOrdinal) != ABSENT && cells[timeOrdinal << 1] < lastTime) {
+        setSlot(
+            timeOrdinal, new TimeValuePair(lastTime, TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE));
+      }
+      return estimateSize() - originSize;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @Override
+  public int invalidate(final String measurement) {
+    final long stamp = lock.writeLock();
+    try {
+      final int ordinal = ordinals.get(measurement);
+      if (getState(ordinal) == ABSENT) {
+        return 0;
+      }
+      final int originSize = estimateSize();
+      final long time = cells[ordinal << 1];
+      clearSlot(ordinal);
+      final int timeOrdinal = ordinals.get("");
+      if (getState(timeOrdinal) != ABSENT && cells[timeOrdinal << 1] <= time) {
+        clearSlot(timeOrdinal);
+      }
+      // The released size, as TableDeviceLastCache does
+      return originSize - estimateSize();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  @GuardedBy("lock")
+  private void ensureCapacity(final int ordinal) {
+    final int capacity = Objects.nonNull(headers) ? headers.length >> 1 : 0;
+    if (ordinal < capacity) {
+      return;
+    }
+    // Allocate for all the known measurements of the table at once, since the devices of one table
+    // tend to have the same measurements
+    final int newCapacity = Math.max(ordinal + 1, ordinals.size());
+    headers =
+        Objects.nonNull(headers)
+            ? Arrays.copyOf(headers, newCapacity << 1)
+            : new byte[newCapacity << 1];
+    cells =
+        Objects.nonNull(cells)
+            ? Arrays.copyOf(cells, newCapacity << 1)
+            : new long[newCapacity << 1];
+    if (Objects.nonNull(binaries)) {
+      binaries = Arrays.copyOf(binaries, newCapacity);
+    }
+  }
+
+  @GuardedBy("lock")
+  private void setSlot(final int ordinal, final TimeValuePair timeValuePair) {
+    final int index = ordinal << 1;
+    final TsPrimitiveType value = timeValuePair.getValue();
+    clearBinary(ordinal);
+    cells[index] = timeValuePair.getTimestamp();
+    if (timeValuePair == TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR) {
+      headers[index] = EMPTY;
+      return;
+    }
+    if (value == TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE) {
+      headers[index] = TIME_ONLY;
+      return;
+    }
+    if (Objects.isNull(value) || Objects.isNull(value.getDataType())) {
+      headers[index] = NULL_VALUE;
+      return;
+    }
+    final TSDataType dataType = value.getDataType();
+    switch (dataType) {
+      case BOOLEAN:
+        cells[index + 1] = value.getBoolean() ? 1 : 0;
+        break;
+      case INT32:
+      case DATE:
+        cells[index + 1] = value.getInt();
+        break;
+      case INT64:
+      case TIMESTAMP:
+        cells[index + 1] = value.getLong();
+        break;
+      case FLOAT:
+        cells[index + 1] = Float.floatToRawIntBits(value.getFloat());
+        break;
+      case DOUBLE:
+        cells[index + 1] = Double.doubleToRawLongBits(value.getDouble());
+        break;
+      case TEXT:
+      case STRING:
+      case BLOB:
+      case OBJECT:
+        if (Objects.isNull(binaries)) {
+          binaries = new Binary[headers.length >> 1];
+        }
+        binaries[ordinal] = value.getBinary();
+        binarySize += binaries[ordinal].ramBytesUsed();
+        break;
+      default:
+        // Can not be stored, miss the cache
+        headers[index] = ABSENT;
+        return;
+    }
+    headers[index] = VALUE;
+    headers[index + 1] = dataType.serialize();
+  }
+
+  @GuardedBy("lock")
+  private void clearSlot(final int ordinal) {
+    if (getState(ordinal) != ABSENT) {
+      clearBinary(ordinal);
+      headers[ordinal << 1] = ABSENT;
+    }
+  }
+
+  @GuardedBy("lock")
+  private void clearBinary(final int ordinal) {
+    if (Objects.nonNull(binaries) && Objects.nonNull(binaries[ordinal])) {
+      binarySize -= binaries[ordinal].ramBytesUsed();
+      binaries[ordinal] = null;
+    }
+  }
+
+  /////////////////////////////// Read ///////////////////////////////
+
+  private <T> T read(final Supplier<T> reader) {
+    final long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        final T result = reader.get();
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (final RuntimeException e) {
+        // The arrays may be changed by a concurrent writing, read again under the read lock
+      }
+    }
+    final long readStamp = lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      lock.unlockRead(readStamp);
+    }
+  }
+
+  private byte getState(final int ordinal) {
+    final byte[] currentHeaders = headers;
+    return ordinal >= 0 && Objects.nonNull(currentHeaders) && ordinal << 1 < currentHeaders.length
+        ? currentHeaders[ordinal << 1]
+        : ABSENT;
+  }
+
+  // The value of the slot, the declared or empty slots return EMPTY_PRIMITIVE_TYPE
+  private TsPrimitiveType getValue(final int ordinal, final byte state) {
+    switch (state) {
+      case VALUE:
+        break;
+      case NULL_VALUE:
+        return null;
+      default:
+        return TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE;
+    }
+    final int index = ordinal << 1;
+    final long bits = cells[index + 1];
+    switch (TSDataType.deserialize(headers[index + 1])) {
+      case BOOLEAN:
+        return new TsPrimitiveType.TsBoolean(bits != 0);
+      case INT32:
+      case DATE:
+        return new TsPrimitiveType.TsInt((int) bits);
+      case INT64:
+      case TIMESTAMP:
+        return new TsPrimitiveType.TsLong(bits);
+      case FLOAT:
+        return new TsPrimitiveType.TsFloat(Float.intBitsToFloat((int) bits));
+      case DOUBLE:
+        return new TsPrimitiveType.TsDouble(Double.longBitsToDouble(bits));
+      default:
+        return new TsPrimitiveType.TsBinary(binaries[ordinal]);
+    }
+  }
+
+  private TimeValuePair getTimeValuePair(final int ordinal) {
+    final byte state = getState(ordinal);
+    switch (state) {
+      case ABSENT:
+      case PLACEHOLDER:
+        return null;
+      case EMPTY:
+        return TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR;
+      default:
+        return new TimeValuePair(cells[ordinal << 1], getValue(ordinal, state));
+    }
+  }
+
+  @Override
+  @Nullable
+  public TimeValuePair getTimeValuePair(final @Nonnull String measurement) {
+    final int ordinal = ordinals.get(measurement);
+    return ordinal >= 0 ? read(() -> getTimeValuePair(ordinal)) : null;
+  }
+
+  @Override
+  public Optional<Pair<OptionalLong, TsPrimitiveType[]>> getLastRow(
+      final @Nonnull String sourceMeasurement, final List<String> targetMeasurements) {
+    final int sourceOrdinal = ordinals.get(sourceMeasurement);
+    if (sourceOrdinal < 0) {
+      return Optional.empty();
+    }
+    final int[] targetOrdinals = targetMeasurements.stream().mapToInt(ordinals::get).toArray();
+    return read(() -> getLastRow(sourceOrdinal, targetMeasurements, targetOrdinals));
+  }
+
+  private Optional<Pair<OptionalLong, TsPrimitiveType[]>> getLastRow(
+      final int sourceOrdinal, final List<String> targetMeasurements, final int[] targetOrdinals) {
+    final byte sourceState = getState(sourceOrdinal);
+    if (sourceState == ABSENT || sourceState == PLACEHOLDER) {
+      return Optional.empty();
+    }
+    if (sourceState == EMPTY) {
+      return TableDeviceLastCache.HIT_AND_ALL_NULL;
+    }
+    final long alignTime = cells[sourceOrdinal << 1];
+    final TsPrimitiveType[] values = new TsPrimitiveType[targetOrdinals.length];
+    for (int i = 0; i < targetOrdinals.length; ++i) {
+      if (targetMeasurements.get(i).isEmpty()) {
+        values[i] = new TsPrimitiveType.TsLong(alignTime);
+        continue;
+      }
+      final byte state = getState(targetOrdinals[i]);
+      if (state == ABSENT) {
+        continue;
+      }
+      values[i] =
+          cells[targetOrdinals[i] << 1] == alignTime
+              ? getValue(targetOrdinals[i], state)
+              : TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE;
+    }
+    return Optional.of(new Pair<>(OptionalLong.of(alignTime), values));
+  }
+
+  @Override
+  public void forEach(final BiConsumer<String, TimeValuePair> consumer) {
+    final List<Pair<String, TimeValuePair>> snapshot =
+        read(
+            () -> {
+              final List<Pair<String, TimeValuePair>> result = new ArrayList<>();
+              final int capacity = Objects.nonNull(headers) ? headers.length >> 1 : 0;
+              for (int ordinal = 0; ordinal < capacity; ++ordinal) {
+                final TimeValuePair timeValuePair = getTimeValuePair(ordinal);
+                if (Objects.nonNull(timeValuePair)) {
+                  result.add(new Pair<>(ordinals.getMeasurement(ordinal), timeValuePair));
+                }
+              }
+              return result;
+            });
+    snapshot.forEach(pair -> consumer.accept(pair.getLeft(), pair.getRight()));
+  }
+
+  @Override
+  public int getValueCount() {
+    return read(
+        () -> {
+          int count = 0;
+          final int capacity = Objects.nonNull(headers) ? headers.length >> 1 : 0;
+          for (int ordinal = 0; ordinal < capacity; ++ordinal) {
+            final byte state = getState(ordinal);
+            if (state != ABSENT && state != PLACEHOLDER) {
+              ++count;
+            }
+          }
+          return count;
+        });
+  }
+
+  @Override
+  public int estimateSize() {
+    return INSTANCE_SIZE
+        + (int)
+            (RamUsageEstimator.sizeOf(headers)
+                + RamUsageEstimator.sizeOf(cells)
+                + (Objects.nonNull(binaries) ? RamUsageEstimator.shallowSizeOf(binaries) : 0)
+                + binarySize);
+  }
+
+  /**
+   * The ordinals of the measurements of one table, which are only appended, so that the ordinals
+   * held by the devices never change.
+   */
+  @ThreadSafe
+  static class MeasurementOrdinals {
+
+    private final Map<String, Integer> ordinalMap = new ConcurrentHashMap<>();
+    private volatile String[] measurements = new String[0];
+
+    /**
+     * @return the ordinal of the measurement, or -1 if it has no ordinal yet
+     */
+    int get(final String measurement) {
+      final Integer ordinal = ordinalMap.get(measurement);
+      return Objects.nonNull(ordinal) ? ordinal : -1;
+    }
+
+    synchronized int getOrCreate(final String measurement) {
+      final Integer ordinal = ordinalMap.get(measurement);
+      if (Objects.nonNull(ordinal)) {
+        return ordinal;
+      }
+      final String[] newMeasurements = Arrays.copyOf(measurements, measurements.length + 1);
+      newMeasurements[measurements.length] = measurement;
+      measurements = newMeasurements;
+      ordinalMap.put(measurement, measurements.length - 1);
+      return measurements.length - 1;
+    }
+
+    int size() {
+      return measurements.length;
+    }
+
+    String getMeasurement(final int ordinal) {
+      return measurements[ordinal];
+    }
+  }
+}
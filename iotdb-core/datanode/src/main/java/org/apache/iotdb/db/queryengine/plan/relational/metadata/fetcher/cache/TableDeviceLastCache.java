@@ -40,9 +40,10 @@ import java.util.OptionalLong;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 @ThreadSafe
-public class TableDeviceLastCache {
+public class TableDeviceLastCache implements IDeviceLastCache {
   static final int INSTANCE_SIZE =
       (int) RamUsageEstimator.shallowSizeOfInstance(TableDeviceLastCache.class)
           + (int) RamUsageEstimator.shallowSizeOfInstance(ConcurrentHashMap.class);
@@ -80,7 +81,7 @@ public class TableDeviceLastCache {
         }
       };
 
-  private static final Optional<Pair<OptionalLong, TsPrimitiveType[]>> HIT_AND_ALL_NULL =
+  static final Optional<Pair<OptionalLong, TsPrimitiveType[]>> HIT_AND_ALL_NULL =
       Optional.of(new Pair<>(OptionalLong.empty(), null));
 
   /** This means that the tv pair has been put, and the value is null */
@@ -99,7 +100,8 @@ public class TableDeviceLastCache {
     this.isTableModel = isTableModel;
   }
 
-  int initOrInvalidate(
+  @Override
+  public int initOrInvalidate(
       final String database,
       final String tableName,
       final String[] measurements,
@@ -145,7 +147,8 @@ public class TableDeviceLastCache {
     return tryUpdate(measurements, timeValuePairs, false);
   }
 
-  int tryUpdate(
+  @Override
+  public int tryUpdate(
       final @Nonnull String[] measurements,
       final @Nonnull TimeValuePair[] timeValuePairs,
       final boolean invalidateNull) {
@@ -186,8 +189,9 @@ public class TableDeviceLastCache {
     return diff.get();
   }
 
+  @Override
   @GuardedBy("DataRegionInsertLock#writeLock")
-  int invalidate(final String measurement) {
+  public int invalidate(final String measurement) {
     final AtomicInteger diff = new AtomicInteger();
     final AtomicLong time = new AtomicLong();
     measurement2CachedLastMap.computeIfPresent(
@@ -229,14 +233,15 @@ public class TableDeviceLastCache {
         || tvPair == EMPTY_TIME_VALUE_PAIR;
   }
 
+  @Override
   @Nullable
-  TimeValuePair getTimeValuePair(final @Nonnull String measurement) {
+  public TimeValuePair getTimeValuePair(final @Nonnull String measurement) {
     final TimeValuePair result = measurement2CachedLastMap.get(measurement);
     return result != PLACEHOLDER_TIME_VALUE_PAIR ? result : null;
   }
 
-  // Shall pass in "" if last by time
-  Optional<Pair<OptionalLong, TsPrimitiveType[]>> getLastRow(
+  @Override
+  public Optional<Pair<OptionalLong, TsPrimitiveType[]>> getLastRow(
       final @Nonnull String sourceMeasurement, final List<String> targetMeasurements) {
     final TimeValuePair pair = measurement2CachedLastMap.get(sourceMeasurement);
     if (Objects.isNull(pair) || pair == PLACEHOLDER_TIME_VALUE_PAIR) {
@@ -270,7 +275,26 @@ public class TableDeviceLastCache {
                 .toArray(TsPrimitiveType[]::new)));
   }
 
-  int estimateSize() {
+  @Override
+  public void forEach(final BiConsumer<String, TimeValuePair> consumer) {
+    measurement2CachedLastMap.forEach(
+        (measurement, tvPair) -> {
+          if (tvPair != PLACEHOLDER_TIME_VALUE_PAIR) {
+            consumer.accept(measurement, tvPair);
+          }
+        });
+  }
+
+  @Override
+  public int getValueCount() {
+    return (int)
+        measurement2CachedLastMap.values().stream()
+            .filter(tvPair -> tvPair != PLACEHOLDER_TIME_VALUE_PAIR)
+            .count();
+  }
+
+  @Override
+  public int estimateSize() {
     return INSTANCE_SIZE
         + (int) RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY * measurement2CachedLastMap.size()
         + measurement2CachedLastMap.entrySet().stream()
@@ -54,6 +54,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -61,6 +62,8 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
@@ -106,6 +109,14 @@ public class TableDeviceSchemaCache {
 
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(false);
 
+  // Whether the last cache may have been changed since the last checkpoint
+  private volatile boolean isLastCacheUpdated = false;
+
+  private static final long LAST_CACHE_BYTES_PER_VALUE_REFRESH_INTERVAL_IN_MS = 60_000L;
+  private volatile long lastCacheBytesPerValue = 0;
+  // 0 instead of Long.MIN_VALUE, so that the first read refreshes without overflowing
+  private volatile long lastCacheBytesPerValueRefreshTime = 0;
+
   private final IMemoryBlock memoryBlock;
 
   private TableDeviceSchemaCache() {
@@ -144,6 +155,7 @@ public class TableDeviceSchemaCache {
   }
 
   // The input deviceId shall have its tailing nulls trimmed
+  // The attributes are merged into the cached ones of the device, if any
   public void putAttributes(
       final String database, final IDeviceID deviceId, final Map<String, Binary> attributeMap) {
     readWriteLock.readLock().lock();
@@ -164,6 +176,16 @@ public class TableDeviceSchemaCache {
     }
   }
 
+  /**
+   * Put the attributes of many devices, e.g., the devices just created by insertion. The input
+   * deviceIds shall have their tailing nulls trimmed.
+   */
+  public void putAttributes(
+      final String database, final Map<IDeviceID, Map<String, Binary>> deviceAttributeMap) {
+    deviceAttributeMap.forEach(
+        (deviceId, attributeMap) -> putAttributes(database, deviceId, attributeMap));
+  }
+
   public void updateAttributes(
       final String database, final IDeviceID deviceId, final Map<String, Binary> attributeMap) {
     dualKeyCache.update(
@@ -238,6 +260,9 @@ public class TableDeviceSchemaCache {
           DataNodeTableCache.getInstance().getTable(database, deviceId.getTableName(), false))) {
         return;
       }
+      if (!isInvalidate) {
+        markLastCacheUpdated();
+      }
       dualKeyCache.update(
           new TableId(database, deviceId.getTableName()),
           deviceId,
@@ -270,6 +295,7 @@ public class TableDeviceSchemaCache {
       final String[] measurements,
       final TimeValuePair[] timeValuePairs,
       boolean invalidateNull) {
+    markLastCacheUpdated();
     dualKeyCache.update(
         new TableId(database, deviceId.getTableName()),
         deviceId,
@@ -368,6 +394,7 @@ public class TableDeviceSchemaCache {
   public void invalidateLastCache(final String database, final String table) {
     dualKeyCache.update(
         new TableId(database, table), deviceId -> true, entry -> -entry.invalidateLastCache());
+    LastCacheCheckpoint.getInstance().discard();
   }
 
   /**
@@ -383,6 +410,49 @@ public class TableDeviceSchemaCache {
         null,
         entry -> -entry.invalidateLastCache(),
         false);
+    LastCacheCheckpoint.getInstance().discard();
+  }
+
+  private void markLastCacheUpdated() {
+    // Avoid writing the volatile field on every insertion
+    if (!isLastCacheUpdated) {
+      isLastCacheUpdated = true;
+    }
+  }
+
+  /**
+   * Check whether the last cache may have been changed since the previous call, and reset the
+   * flag. Shall be called before {@link #forEachTableLastCache}, so that the changes during the
+   * traversal are caught by the next call.
+   */
+  boolean checkAndResetLastCacheUpdated() {
+    if (!isLastCacheUpdated) {
+      return false;
+    }
+    isLastCacheUpdated = false;
+    return true;
+  }
+
+  /**
+   * Traverse the last caches of the table model devices, the declared but not filled measurements
+   * are skipped. The consumer of the devices of one table is created by the given factory, and is
+   * called once for each device with its cached measurements.
+   */
+  void forEachTableLastCache(
+      final Function<TableId, BiConsumer<IDeviceID, Map<String, TimeValuePair>>> consumerFactory) {
+    dualKeyCache.forEach(
+        tableId -> Objects.nonNull(tableId.getDatabase()),
+        tableId -> {
+          final BiConsumer<IDeviceID, Map<String, TimeValuePair>> consumer =
+              consumerFactory.apply(tableId);
+          return (deviceId, entry) -> {
+            final Map<String, TimeValuePair> lastCache = new HashMap<>();
+            entry.forEachLastCache(lastCache::put);
+            if (!lastCache.isEmpty()) {
+              consumer.accept(deviceId, lastCache);
+            }
+          };
+        });
   }
 
   /////////////////////////////// Tree model ///////////////////////////////
@@ -555,6 +625,30 @@ public class TableDeviceSchemaCache {
     return dualKeyCache.stats().entriesCount();
   }
 
+  /**
+   * The average memory of the last cache per cached value, which is used to compare the
+   * implementations of the last cache. The traversal is costly, so the result is refreshed at most
+   * once a minute.
+   */
+  long getLastCacheBytesPerValue() {
+    final long currentTime = System.currentTimeMillis();
+    if (currentTime - lastCacheBytesPerValueRefreshTime
+        < LAST_CACHE_BYTES_PER_VALUE_REFRESH_INTERVAL_IN_MS) {
+      return lastCacheBytesPerValue;
+    }
+    lastCacheBytesPerValueRefreshTime = currentTime;
+    final long[] sizeAndCount = new long[2];
+    dualKeyCache.forEach(
+        tableId -> true,
+        tableId ->
+            (deviceId, entry) -> {
+              sizeAndCount[0] += entry.estimateLastCacheSize();
+              sizeAndCount[1] += entry.getLastCacheValueCount();
+            });
+    lastCacheBytesPerValue = sizeAndCount[1] > 0 ? sizeAndCount[0] / sizeAndCount[1] : 0;
+    return lastCacheBytesPerValue;
+  }
+
   void invalidateLastCache(final @Nonnull String database) {
     readWriteLock.writeLock().lock();
 
@@ -564,6 +658,7 @@ public class TableDeviceSchemaCache {
             tableId -> tableId.belongTo(database),
             deviceID -> true,
             entry -> -entry.invalidateLastCache());
+        LastCacheCheckpoint.getInstance().discard();
       } else {
         dualKeyCache.update(
             tableId ->
@@ -588,6 +683,8 @@ public class TableDeviceSchemaCache {
     try {
       if (PathUtils.isTableModelDatabase(database)) {
         dualKeyCache.invalidate(tableId -> tableId.belongTo(database), deviceID -> true);
+        TableDeviceColumnarLastCache.removeOrdinals(database);
+        LastCacheCheckpoint.getInstance().discard();
       } else {
         dualKeyCache.invalidate(
             tableId ->
@@ -612,6 +709,8 @@ public class TableDeviceSchemaCache {
       // Table cache's invalidate must be guarded by this lock
       DataNodeTableCache.getInstance().invalid(database, tableName);
       dualKeyCache.invalidate(new TableId(database, tableName));
+      TableDeviceColumnarLastCache.removeOrdinals(database, tableName);
+      LastCacheCheckpoint.getInstance().discard();
     } finally {
       readWriteLock.writeLock().unlock();
     }
@@ -662,6 +761,7 @@ public class TableDeviceSchemaCache {
               return false;
             });
       }
+      LastCacheCheckpoint.getInstance().discard();
     } finally {
       readWriteLock.writeLock().unlock();
     }
@@ -681,6 +781,9 @@ public class TableDeviceSchemaCache {
               ? entry -> -entry.invalidateAttributeColumn(columnName)
               : entry -> -entry.invalidateLastCache(columnName);
       dualKeyCache.update(new TableId(null, tableName), deviceID -> true, updateFunction);
+      if (!isAttributeColumn) {
+        LastCacheCheckpoint.getInstance().discard();
+      }
     } finally {
       readWriteLock.writeLock().unlock();
     }
@@ -690,6 +793,7 @@ public class TableDeviceSchemaCache {
     readWriteLock.writeLock().lock();
     try {
       dualKeyCache.update(tableId -> true, deviceID -> true, entry -> -entry.invalidateLastCache());
+      LastCacheCheckpoint.getInstance().discard();
     } finally {
       readWriteLock.writeLock().unlock();
     }
@@ -718,6 +822,10 @@ public class TableDeviceSchemaCache {
     readWriteLock.writeLock().lock();
     try {
       dualKeyCache.invalidateAll();
+      LastCacheCheckpoint.getInstance().discard();
+      // The average of the dropped values is meaningless, recompute on the next read
+      lastCacheBytesPerValue = 0;
+      lastCacheBytesPerValueRefreshTime = 0;
     } finally {
       readWriteLock.writeLock().unlock();
     }
@@ -33,6 +33,7 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
 
   private static final String SCHEMA_CACHE_TOTAL_USAGE = "schema_cache_total_usage";
   private static final String SCHEMA_CACHE_MEM_CAPACITY = "schema_cache_mem_capacity";
+  private static final String LAST_CACHE_BYTES_PER_VALUE = "last_cache_bytes_per_value";
 
   private final TableDeviceSchemaCache tableDeviceSchemaCache;
 
@@ -74,6 +75,13 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         TableDeviceSchemaCache::capacity,
         Tag.NAME.toString(),
         SCHEMA_CACHE_MEM_CAPACITY);
+    metricService.createAutoGauge(
+        Metric.MEM.toString(),
+        MetricLevel.IMPORTANT,
+        tableDeviceSchemaCache,
+        TableDeviceSchemaCache::getLastCacheBytesPerValue,
+        Tag.NAME.toString(),
+        LAST_CACHE_BYTES_PER_VALUE);
     metricService.createAutoGauge(
         Metric.CACHE_ENTRIES_NUM.toString(),
         MetricLevel.IMPORTANT,
@@ -107,6 +115,11 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         Metric.MEM.toString(),
         Tag.NAME.toString(),
         SCHEMA_CACHE_MEM_CAPACITY);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.MEM.toString(),
+        Tag.NAME.toString(),
+        LAST_CACHE_BYTES_PER_VALUE);
     metricService.remove(MetricType.AUTO_GAUGE, Metric.CACHE_ENTRIES_NUM.toString());
   }
 
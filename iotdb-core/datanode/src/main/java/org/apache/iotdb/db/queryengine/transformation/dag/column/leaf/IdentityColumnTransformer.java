@@ -55,4 +55,8 @@ public class IdentityColumnTransformer extends LeafColumnTransformer {
     }
     initializeColumnCache(builder.build());
   }
+
+  public int getInputIndex() {
+    return inputIndex;
+  }
 }
@@ -52,9 +52,13 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
   private static final String LOAD_NODE = "pbtree_load_node";
   private static final String LOAD_PAGE_NUM = "pbtree_load_page_num";
   private static final String FLUSH_PAGE_NUM = "pbtree_flush_page_num";
+  private static final String PAGE_HIT_NUM = "pbtree_page_hit_num";
+  private static final String PAGE_HIT_RATIO = "pbtree_page_hit_ratio";
+  private static final String PAGE_FLUSH_TIMER = "pbtree_page_flush_timer";
 
   private Timer releaseTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer flushTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer pageFlushTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Counter releaseMem = DoNothingMetricManager.DO_NOTHING_COUNTER;
   private Counter releaseNode = DoNothingMetricManager.DO_NOTHING_COUNTER;
   private Counter flushMem = DoNothingMetricManager.DO_NOTHING_COUNTER;
@@ -63,6 +67,7 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
   private Counter loadNode = DoNothingMetricManager.DO_NOTHING_COUNTER;
   private Counter loadPageNum = DoNothingMetricManager.DO_NOTHING_COUNTER;
   private Counter flushPageNum = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter pageHitNum = DoNothingMetricManager.DO_NOTHING_COUNTER;
 
   private final CachedSchemaRegionStatistics regionStatistics;
   private final String regionTagValue;
@@ -169,6 +174,17 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
         regionTagValue,
         Tag.DATABASE.toString(),
         database);
+    metricService.createAutoGauge(
+        Metric.SCHEMA_REGION.toString(),
+        MetricLevel.IMPORTANT,
+        this,
+        SchemaRegionCachedMetric::getPageHitRatio,
+        Tag.NAME.toString(),
+        PAGE_HIT_RATIO,
+        Tag.REGION.toString(),
+        regionTagValue,
+        Tag.DATABASE.toString(),
+        database);
     flushTimer =
         metricService.getOrCreateTimer(
             Metric.SCHEMA_REGION.toString(),
@@ -179,6 +195,16 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
             regionTagValue,
             Tag.DATABASE.toString(),
             database);
+    pageFlushTimer =
+        metricService.getOrCreateTimer(
+            Metric.SCHEMA_REGION.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            PAGE_FLUSH_TIMER,
+            Tag.REGION.toString(),
+            regionTagValue,
+            Tag.DATABASE.toString(),
+            database);
     releaseTimer =
         metricService.getOrCreateTimer(
             Metric.SCHEMA_REGION.toString(),
@@ -269,6 +295,16 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
             regionTagValue,
             Tag.DATABASE.toString(),
             database);
+    pageHitNum =
+        metricService.getOrCreateCounter(
+            Metric.SCHEMA_REGION.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            PAGE_HIT_NUM,
+            Tag.REGION.toString(),
+            regionTagValue,
+            Tag.DATABASE.toString(),
+            database);
   }
 
   @Override
@@ -276,6 +312,7 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
     memSchemaRegionMetric.unbindFrom(metricService);
     releaseTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     flushTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    pageFlushTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     releaseMem = DoNothingMetricManager.DO_NOTHING_COUNTER;
     releaseNode = DoNothingMetricManager.DO_NOTHING_COUNTER;
     flushMem = DoNothingMetricManager.DO_NOTHING_COUNTER;
@@ -284,6 +321,7 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
     loadNode = DoNothingMetricManager.DO_NOTHING_COUNTER;
     flushPageNum = DoNothingMetricManager.DO_NOTHING_COUNTER;
     loadPageNum = DoNothingMetricManager.DO_NOTHING_COUNTER;
+    pageHitNum = DoNothingMetricManager.DO_NOTHING_COUNTER;
     Arrays.asList(
             PINNED_NODE_NUM,
             UNPINNED_NODE_NUM,
@@ -292,7 +330,8 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
             VOLATILE_NODE_NUM,
             CACHE_NODE_NUM,
             MLOG_LENGTH,
-            MLOG_CHECKPOINT)
+            MLOG_CHECKPOINT,
+            PAGE_HIT_RATIO)
         .forEach(
             name ->
                 metricService.remove(
@@ -304,7 +343,7 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
                     regionTagValue,
                     Tag.DATABASE.toString(),
                     database));
-    Arrays.asList(FLUSH_TIMER, RELEASE_TIMER)
+    Arrays.asList(FLUSH_TIMER, RELEASE_TIMER, PAGE_FLUSH_TIMER)
         .forEach(
             name ->
                 metricService.remove(
@@ -324,7 +363,8 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
             LOAD_MEM,
             LOAD_NODE,
             FLUSH_PAGE_NUM,
-            LOAD_PAGE_NUM)
+            LOAD_PAGE_NUM,
+            PAGE_HIT_NUM)
         .forEach(
             name ->
                 metricService.remove(
@@ -363,6 +403,21 @@ public class SchemaRegionCachedMetric implements ISchemaRegionMetric {
     loadPageNum.inc(pageNum);
   }
 
+  public void recordPageHit() {
+    pageHitNum.inc();
+  }
+
+  public void recordPageFlush(long timeInNanos) {
+    pageFlushTimer.update(timeInNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Ratio of page accesses served by the page cache, where the misses are loaded from disk. */
+  private double getPageHitRatio() {
+    long hit = pageHitNum.getCount();
+    long total = hit + loadPageNum.getCount();
+    return total == 0 ? 0 : (double) hit / total;
+  }
+
   public void recordTraverser(long time) {
     memSchemaRegionMetric.recordTraverser(time);
   }
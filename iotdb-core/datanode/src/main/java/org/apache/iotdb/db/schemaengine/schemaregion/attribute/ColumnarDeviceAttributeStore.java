@@ -0,0 +1,434 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.attribute;
+
+import org.apache.iotdb.commons.file.SystemFileFactory;
+import org.apache.iotdb.commons.schema.SchemaConstant;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.db.schemaengine.rescon.MemSchemaRegionStatistics;
+import org.apache.iotdb.db.schemaengine.schemaregion.attribute.update.UpdateDetailContainer;
+
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A column-oriented {@link IDeviceAttributeStore}. Each attribute name owns one dictionary-encoded
+ * column, where every device holds an int code into the dictionary of distinct values, or -1 if the
+ * device does not have the attribute. Compared with {@link DeviceAttributeStore}, this avoids one
+ * {@link HashMap} per device and shares the {@link Binary} of repeated values (e.g. "model",
+ * "region") among devices.
+ *
+ * <p>The snapshot format is exactly the same as {@link DeviceAttributeStore}, thus the two stores
+ * can be switched between restarts.
+ */
+public class ColumnarDeviceAttributeStore implements IDeviceAttributeStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(ColumnarDeviceAttributeStore.class);
+
+  private static final long COLUMN_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(AttributeColumn.class)
+          + RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY;
+  private static final long DICTIONARY_ENTRY_SIZE =
+      RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY
+          + 2L * RamUsageEstimator.NUM_BYTES_OBJECT_REF
+          + Integer.BYTES;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Map<String, AttributeColumn> columns = new HashMap<>();
+
+  // The devices whose attributes are removed, the pointers are never reused to keep them aligned
+  // with the ones recorded in the MTree
+  private final BitSet removedDevices = new BitSet();
+  private int deviceCount = 0;
+
+  private final MemSchemaRegionStatistics regionStatistics;
+
+  public ColumnarDeviceAttributeStore(final MemSchemaRegionStatistics regionStatistics) {
+    this.regionStatistics = regionStatistics;
+  }
+
+  // It's OK not to calculate the region statistics here. The caller shall ensure that the
+  // statistics is cleared at the outside.
+  @Override
+  public synchronized void clear() {
+    columns.clear();
+    removedDevices.clear();
+    deviceCount = 0;
+  }
+
+  @Override
+  public synchronized boolean createSnapshot(final File targetDir) {
+    final File snapshotTmp =
+        SystemFileFactory.INSTANCE.getFile(targetDir, SchemaConstant.DEVICE_ATTRIBUTE_SNAPSHOT_TMP);
+    final File snapshot =
+        SystemFileFactory.INSTANCE.getFile(targetDir, SchemaConstant.DEVICE_ATTRIBUTE_SNAPSHOT);
+
+    try {
+      final FileOutputStream fileOutputStream = new FileOutputStream(snapshotTmp);
+      final BufferedOutputStream outputStream = new BufferedOutputStream(fileOutputStream);
+      try {
+        serialize(outputStream);
+      } finally {
+        outputStream.flush();
+        fileOutputStream.getFD().sync();
+        outputStream.close();
+      }
+      if (snapshot.exists() && !FileUtils.deleteFileIfExist(snapshot)) {
+        logger.error(
+            "Failed to delete old snapshot {} while creating device attribute snapshot.",
+            snapshot.getName());
+        return false;
+      }
+      if (!snapshotTmp.renameTo(snapshot)) {
+        logger.error(
+            "Failed to rename {} to {} while creating device attribute snapshot.",
+            snapshotTmp.getName(),
+            snapshot.getName());
+        FileUtils.deleteFileIfExist(snapshot);
+        return false;
+      }
+
+      return true;
+    } catch (final IOException e) {
+      logger.error("Failed to create device attribute snapshot due to {}", e.getMessage(), e);
+      FileUtils.deleteFileIfExist(snapshot);
+      return false;
+    } finally {
+      FileUtils.deleteFileIfExist(snapshotTmp);
+    }
+  }
+
+  @Override
+  public synchronized void loadFromSnapshot(final File snapshotDir) throws IOException {
+    final File snapshot =
+        SystemFileFactory.INSTANCE.getFile(snapshotDir, SchemaConstant.DEVICE_ATTRIBUTE_SNAPSHOT);
+    if (!snapshot.exists()) {
+      logger.info(
+          "Device attribute snapshot {} not found, consider it as upgraded from the older version, use empty attributes",
+          snapshot);
+      return;
+    }
+    try (final BufferedInputStream inputStream =
+        new BufferedInputStream(Files.newInputStream(snapshot.toPath()))) {
+      deserialize(inputStream);
+    } catch (final IOException e) {
+      logger.warn("Load device attribute snapshot from {} failed", snapshotDir);
+      throw e;
+    }
+  }
+
+  @Override
+  public synchronized int createAttribute(
+      final List<String> nameList, final Object[] valueList, final String tableName) {
+    final int pointer = deviceCount++;
+    requestMemory(RamUsageEstimator.NUM_BYTES_OBJECT_REF);
+    for (int i = 0; i < nameList.size(); i++) {
+      final Binary value = (Binary) valueList[i];
+      if (value != null) {
+        getOrCreateColumn(nameList.get(i)).set(pointer, value);
+        addTableAttributeMemory(tableName, value.ramBytesUsed());
+      }
+    }
+    return pointer;
+  }
+
+  @Override
+  public synchronized Map<String, Binary> alterAttribute(
+      final int pointer,
+      final List<String> nameList,
+      final Object[] valueList,
+      final String tableName) {
+    final Map<String, Binary> updateMap = new HashMap<>();
+    long tableMemDelta = 0L;
+    for (int i = 0; i < nameList.size(); i++) {
+      final String key = nameList.get(i);
+      final Binary value = (Binary) valueList[i];
+      final AttributeColumn column = columns.get(key);
+      final Binary origin;
+      if (value != null) {
+        origin = getOrCreateColumn(key).set(pointer, value);
+        if (!Objects.equals(value, origin)) {
+          updateMap.put(key, value);
+        }
+        tableMemDelta += value.ramBytesUsed();
+      } else {
+        origin = Objects.nonNull(column) ? column.remove(pointer) : null;
+        if (Objects.nonNull(origin)) {
+          updateMap.put(key, Binary.EMPTY_VALUE);
+        }
+      }
+      if (Objects.nonNull(origin)) {
+        tableMemDelta -= origin.ramBytesUsed();
+      }
+    }
+    if (tableMemDelta > 0) {
+      addTableAttributeMemory(tableName, tableMemDelta);
+    } else if (tableMemDelta < 0) {
+      decreaseTableAttributeMemory(tableName, -tableMemDelta);
+    }
+    return updateMap;
+  }
+
+  @Override
+  public synchronized void removeAttribute(final int pointer, final String tableName) {
+    long tableMemDelta = 0L;
+    for (final AttributeColumn column : columns.values()) {
+      final Binary origin = column.remove(pointer);
+      if (Objects.nonNull(origin)) {
+        tableMemDelta += UpdateDetailContainer.sizeOf(origin);
+      }
+    }
+    removedDevices.set(pointer);
+    decreaseTableAttributeMemory(tableName, tableMemDelta);
+  }
+
+  @Override
+  public synchronized void removeAttribute(
+      final int pointer, final String attributeName, final String tableName) {
+    final AttributeColumn column = columns.get(attributeName);
+    if (Objects.isNull(column) || removedDevices.get(pointer)) {
+      return;
+    }
+    final Binary value = column.remove(pointer);
+    if (Objects.nonNull(value)) {
+      decreaseTableAttributeMemory(tableName, value.ramBytesUsed());
+    }
+    if (column.isEmpty()) {
+      columns.remove(attributeName);
+      releaseMemory(COLUMN_SIZE + RamUsageEstimator.sizeOf(attributeName) + column.ramBytesUsed());
+    }
+  }
+
+  @Override
+  public synchronized Map<String, Binary> getAttributes(final int pointer) {
+    if (pointer >= deviceCount || removedDevices.get(pointer)) {
+      return null;
+    }
+    final Map<String, Binary> result = new HashMap<>();
+    columns.forEach(
+        (name, column) -> {
+          final Binary value = column.get(pointer);
+          if (Objects.nonNull(value)) {
+            result.put(name, value);
+          }
+        });
+    return result;
+  }
+
+  @Override
+  public synchronized Binary getAttributes(final int pointer, final String name) {
+    final AttributeColumn column = columns.get(name);
+    return Objects.nonNull(column) ? column.get(pointer) : null;
+  }
+
+  private AttributeColumn getOrCreateColumn(final String name) {
+    return columns.computeIfAbsent(
+        name,
+        k -> {
+          requestMemory(COLUMN_SIZE + RamUsageEstimator.sizeOf(k));
+          return new AttributeColumn();
+        });
+  }
+
+  private void serialize(final OutputStream outputStream) throws IOException {
+    ReadWriteIOUtils.write(deviceCount, outputStream);
+    for (int pointer = 0; pointer < deviceCount; pointer++) {
+      DeviceAttributeStore.writeAttributes(getAttributes(pointer), outputStream);
+    }
+  }
+
+  private void deserialize(final InputStream inputStream) throws IOException {
+    final int size = ReadWriteIOUtils.readInt(inputStream);
+    for (int pointer = 0; pointer < size; pointer++) {
+      final Map<String, Binary> attributeMap = DeviceAttributeStore.readMap(inputStream, false);
+      deviceCount++;
+      requestMemory(RamUsageEstimator.NUM_BYTES_OBJECT_REF);
+      if (Objects.isNull(attributeMap)) {
+        removedDevices.set(pointer);
+        continue;
+      }
+      for (final Map.Entry<String, Binary> entry : attributeMap.entrySet()) {
+        getOrCreateColumn(entry.getKey()).set(pointer, entry.getValue());
+      }
+    }
+  }
+
+  private void requestMemory(final long size) {
+    if (regionStatistics != null) {
+      regionStatistics.requestMemory(size);
+    }
+  }
+
+  private void addTableAttributeMemory(final String tableName, final long size) {
+    if (Objects.nonNull(regionStatistics)) {
+      regionStatistics.addTableAttributeMemory(tableName, size);
+    }
+  }
+
+  private void releaseMemory(final long size) {
+    if (regionStatistics != null) {
+      regionStatistics.releaseMemory(size);
+    }
+  }
+
+  private void decreaseTableAttributeMemory(final String tableName, final long size) {
+    if (Objects.nonNull(regionStatistics)) {
+      regionStatistics.decreaseTableAttributeMemory(tableName, size);
+    }
+  }
+
+  /**
+   * One dictionary-encoded attribute column. The code of a device is -1 if the value is null, the
+   * codes of released dictionary entries are recycled by later values.
+   */
+  private class AttributeColumn {
+
+    private int[] codes = new int[0];
+
+    private final List<Binary> dictionary = new ArrayList<>();
+    private final Map<Binary, Integer> codeMap = new HashMap<>();
+    private int[] referenceCounts = new int[0];
+    private final BitSet freeCodes = new BitSet();
+    private int distinctCount = 0;
+    private int nonNullCount = 0;
+
+    private Binary get(final int pointer) {
+      final int code = getCode(pointer);
+      return code >= 0 ? dictionary.get(code) : null;
+    }
+
+    private int getCode(final int pointer) {
+      return pointer < codes.length ? codes[pointer] : -1;
+    }
+
+    // Returns the previous value
+    private Binary set(final int pointer, final Binary value) {
+      ensureCapacity(pointer + 1);
+      final int origin = codes[pointer];
+      final Binary originValue = origin >= 0 ? dictionary.get(origin) : null;
+      if (Objects.equals(originValue, value)) {
+        return originValue;
+      }
+      codes[pointer] = encode(value);
+      if (origin >= 0) {
+        release(origin);
+      } else {
+        nonNullCount++;
+      }
+      return originValue;
+    }
+
+    // Returns the previous value
+    private Binary remove(final int pointer) {
+      final int origin = getCode(pointer);
+      if (origin < 0) {
+        return null;
+      }
+      final Binary originValue = dictionary.get(origin);
+      codes[pointer] = -1;
+      nonNullCount--;
+      release(origin);
+      return originValue;
+    }
+
+    private boolean isEmpty() {
+      return nonNullCount == 0;
+    }
+
+    private int encode(final Binary value) {
+      Integer code = codeMap.get(value);
+      if (Objects.isNull(code)) {
+        code = freeCodes.isEmpty() ? dictionary.size() : freeCodes.nextSetBit(0);
+        // The value is shared by all the devices with an equal value, it shall not be the
+        // Binary.EMPTY_VALUE which is compared by identity as the marker of removed values
+        final Binary sharedValue = value == Binary.EMPTY_VALUE ? new Binary(new byte[0]) : value;
+        if (code == dictionary.size()) {
+          dictionary.add(sharedValue);
+          if (code >= referenceCounts.length) {
+            final int newLength = Math.max(INITIAL_CAPACITY, referenceCounts.length << 1);
+            requestMemory((long) (newLength - referenceCounts.length) * Integer.BYTES);
+            referenceCounts = Arrays.copyOf(referenceCounts, newLength);
+          }
+        } else {
+          freeCodes.clear(code);
+          dictionary.set(code, sharedValue);
+        }
+        codeMap.put(sharedValue, code);
+        distinctCount++;
+        requestMemory(DICTIONARY_ENTRY_SIZE + UpdateDetailContainer.sizeOf(value));
+      }
+      referenceCounts[code]++;
+      return code;
+    }
+
+    private void release(final int code) {
+      if (--referenceCounts[code] > 0) {
+        return;
+      }
+      final Binary value = dictionary.set(code, null);
+      codeMap.remove(value);
+      freeCodes.set(code);
+      distinctCount--;
+      releaseMemory(DICTIONARY_ENTRY_SIZE + UpdateDetailContainer.sizeOf(value));
+    }
+
+    private void ensureCapacity(final int capacity) {
+      if (capacity <= codes.length) {
+        return;
+      }
+      final int newLength = Math.max(Math.max(INITIAL_CAPACITY, codes.length << 1), capacity);
+      final int[] newCodes = Arrays.copyOf(codes, newLength);
+      Arrays.fill(newCodes, codes.length, newLength, -1);
+      requestMemory((long) (newLength - codes.length) * Integer.BYTES);
+      codes = newCodes;
+    }
+
+    private long ramBytesUsed() {
+      long size =
+          (long) (codes.length + referenceCounts.length) * Integer.BYTES
+              + (long) distinctCount * DICTIONARY_ENTRY_SIZE;
+      for (final Binary value : dictionary) {
+        if (Objects.nonNull(value)) {
+          size += UpdateDetailContainer.sizeOf(value);
+        }
+      }
+      return size;
+    }
+  }
+}
@@ -231,10 +231,31 @@ public class DeviceAttributeStore implements IDeviceAttributeStore {
   private void serialize(final OutputStream outputStream) throws IOException {
     ReadWriteIOUtils.write(deviceAttributeList.size(), outputStream);
     for (final Map<String, Binary> attributeMap : deviceAttributeList) {
-      write(attributeMap, outputStream);
+      writeAttributes(attributeMap, outputStream);
     }
   }
 
+  /**
+   * Write the attributes of a device in the snapshot. Unlike {@link #write(Map, OutputStream)} for
+   * the updates, every value in the map is present, so an empty value is written as it is even if
+   * it is the {@link Binary#EMPTY_VALUE} instance, which may be shared by the devices with equal
+   * values.
+   */
+  public static int writeAttributes(final Map<String, Binary> map, final OutputStream stream)
+      throws IOException {
+    if (map == null) {
+      return ReadWriteIOUtils.write(NO_BYTE_TO_READ, stream);
+    }
+
+    int length = 0;
+    length += ReadWriteIOUtils.write(map.size(), stream);
+    for (final Map.Entry<String, Binary> entry : map.entrySet()) {
+      length += ReadWriteIOUtils.write(entry.getKey(), stream);
+      length += ReadWriteIOUtils.write(entry.getValue(), stream);
+    }
+    return length;
+  }
+
   public static int write(final Map<String, Binary> map, final OutputStream stream)
       throws IOException {
     if (map == null) {
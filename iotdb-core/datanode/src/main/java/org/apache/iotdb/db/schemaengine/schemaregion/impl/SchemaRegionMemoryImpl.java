@@ -82,6 +82,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegionPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegion;
 import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionPlanVisitor;
 import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionUtils;
+import org.apache.iotdb.db.schemaengine.schemaregion.attribute.ColumnarDeviceAttributeStore;
 import org.apache.iotdb.db.schemaengine.schemaregion.attribute.DeviceAttributeStore;
 import org.apache.iotdb.db.schemaengine.schemaregion.attribute.IDeviceAttributeStore;
 import org.apache.iotdb.db.schemaengine.schemaregion.attribute.update.DeviceAttributeCacheUpdater;
@@ -269,7 +270,7 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
       // do not write log when recover
       isRecovering = true;
 
-      deviceAttributeStore = new DeviceAttributeStore(regionStatistics);
+      deviceAttributeStore = createDeviceAttributeStore();
       deviceAttributeCacheUpdater =
           new DeviceAttributeCacheUpdater(
               regionStatistics, PathUtils.unQualifyDatabaseName(databaseFullPath));
@@ -301,6 +302,12 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
     initialized = true;
   }
 
+  private IDeviceAttributeStore createDeviceAttributeStore() {
+    return config.isEnableColumnarDeviceAttributeStore()
+        ? new ColumnarDeviceAttributeStore(regionStatistics)
+        : new DeviceAttributeStore(regionStatistics);
+  }
+
   private void initDir() throws SchemaDirCreationFailureException {
     final File sgSchemaFolder = SystemFileFactory.INSTANCE.getFile(databaseDirPath);
     if (!sgSchemaFolder.exists()) {
@@ -565,7 +572,7 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
       isRecovering = true;
 
       long snapshotStartTime = System.currentTimeMillis();
-      deviceAttributeStore = new DeviceAttributeStore(regionStatistics);
+      deviceAttributeStore = createDeviceAttributeStore();
       deviceAttributeStore.loadFromSnapshot(latestSnapshotRootDir);
       logger.info(
           "Device attribute snapshot loading of schemaRegion {} costs {}ms.",
@@ -635,6 +642,7 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
               },
               tagManager::readTags,
               tagManager::readAttributes);
+      tagManager.finishRecovery();
       logger.info(
           "MTree snapshot loading of schemaRegion {} costs {}ms.",
           schemaRegionId,
@@ -719,13 +727,11 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
       regionStatistics.addMeasurement(1L);
 
       // Update tag index
-      if (offset != -1 && isRecovering) {
+      final boolean recoverTagIndex = offset != -1 && isRecovering;
+      if (recoverTagIndex) {
         // The time series has already been created and now system is recovering, using the tag
         // info in tagFile to recover index directly
         tagManager.recoverIndex(offset, leafMNode);
-      } else if (plan.getTags() != null) {
-        // Tag key, tag value
-        tagManager.addIndex(plan.getTags(), leafMNode);
       }
 
       // Write log
@@ -741,6 +747,10 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
       if (offset != -1) {
         leafMNode.setOffset(offset);
       }
+      if (!recoverTagIndex && plan.getTags() != null && !plan.getTags().isEmpty()) {
+        // Tag key, tag value, the index is keyed by the offset in tagFile
+        tagManager.addIndex(plan.getTags(), leafMNode);
+      }
 
     } catch (IOException e) {
       throw new MetadataException(e);
@@ -829,16 +839,12 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
         return;
       }
 
-      for (int i = 0; i < measurements.size(); i++) {
-        if (tagOffsets != null && !tagOffsets.isEmpty() && isRecovering) {
+      final boolean recoverTagIndex = tagOffsets != null && !tagOffsets.isEmpty() && isRecovering;
+      if (recoverTagIndex) {
+        for (int i = 0; i < measurements.size(); i++) {
           if (tagOffsets.get(i) != -1) {
             tagManager.recoverIndex(plan.getTagOffsets().get(i), measurementMNodeList.get(i));
           }
-        } else if (tagsList != null && !tagsList.isEmpty()) {
-          if (tagsList.get(i) != null) {
-            // tag key, tag value
-            tagManager.addIndex(tagsList.get(i), measurementMNodeList.get(i));
-          }
         }
       }
 
@@ -871,6 +877,14 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
         if (tagOffsets.get(i) != -1) {
           measurementMNodeList.get(i).setOffset(tagOffsets.get(i));
         }
+        if (!recoverTagIndex
+            && tagsList != null
+            && !tagsList.isEmpty()
+            && tagsList.get(i) != null
+            && !tagsList.get(i).isEmpty()) {
+          // tag key, tag value, the index is keyed by the offset in tagFile
+          tagManager.addIndex(tagsList.get(i), measurementMNodeList.get(i));
+        }
       }
     } catch (final IOException e) {
       throw new MetadataException(e);
@@ -1461,27 +1475,43 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
   @Override
   public void createOrUpdateTableDevice(final CreateOrUpdateTableDeviceNode node)
       throws MetadataException {
-    for (int i = 0; i < node.getDeviceIdList().size(); i++) {
-      final String databaseName = databaseFullPath;
-      final String tableName = node.getTableName();
-      final String[] deviceId =
-          Arrays.stream(node.getDeviceIdList().get(i))
-              .map(o -> Objects.nonNull(o) ? o.toString() : null)
-              .toArray(String[]::new);
-      final List<String> attributeNameList = node.getAttributeNameList();
-      final Object[] attributeValueList = node.getAttributeValueList().get(i);
-
-      mTree.createOrUpdateTableDevice(
-          tableName,
-          deviceId,
-          () ->
-              deviceAttributeStore.createAttribute(
-                  attributeNameList, attributeValueList, node.getTableName()),
-          pointer -> {
-            updateAttribute(
-                databaseName, tableName, deviceId, pointer, attributeNameList, attributeValueList);
-            deviceAttributeCacheUpdater.afterUpdate();
-          });
+    final String databaseName = databaseFullPath;
+    final String tableName = node.getTableName();
+    final List<String> attributeNameList = node.getAttributeNameList();
+    final List<String[]> deviceIdList =
+        node.getDeviceIdList().stream()
+            .map(
+                deviceId ->
+                    Arrays.stream(deviceId)
+                        .map(o -> Objects.nonNull(o) ? o.toString() : null)
+                        .toArray(String[]::new))
+            .collect(Collectors.toList());
+    final AtomicBoolean attributeUpdated = new AtomicBoolean(false);
+
+    mTree.createOrUpdateTableDevices(
+        tableName,
+        deviceIdList,
+        new MTreeBelowSGMemoryImpl.TableDeviceAttributeHandler() {
+          @Override
+          public int createAttribute(final int index) {
+            return deviceAttributeStore.createAttribute(
+                attributeNameList, node.getAttributeValueList().get(index), tableName);
+          }
+
+          @Override
+          public void updateAttribute(final int index, final int pointer) {
+            SchemaRegionMemoryImpl.this.updateAttribute(
+                databaseName,
+                tableName,
+                deviceIdList.get(index),
+                pointer,
+                attributeNameList,
+                node.getAttributeValueList().get(index));
+            attributeUpdated.set(true);
+          }
+        });
+    if (attributeUpdated.get()) {
+      deviceAttributeCacheUpdater.afterUpdate();
     }
     writeToMLog(node);
   }
@@ -1725,19 +1755,22 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
     if (showTimeSeriesPlan.getSchemaFilter() != null
         && new FilterContainsVisitor()
             .process(showTimeSeriesPlan.getSchemaFilter(), SchemaFilterType.TAGS_FILTER)) {
-      return tagManager.getTimeSeriesReaderWithIndex(showTimeSeriesPlan);
-    } else {
-      return mTree.getTimeSeriesReader(
-          showTimeSeriesPlan,
-          offset -> {
-            try {
-              return tagManager.readTagFile(offset);
-            } catch (final IOException e) {
-              logger.error("Failed to read tag and attribute info because {}", e.getMessage(), e);
-              return new Pair<>(Collections.emptyMap(), Collections.emptyMap());
-            }
-          });
+      final ISchemaReader<ITimeSeriesSchemaInfo> reader =
+          tagManager.getTimeSeriesReaderWithIndex(showTimeSeriesPlan);
+      if (reader != null) {
+        return reader;
+      }
     }
+    return mTree.getTimeSeriesReader(
+        showTimeSeriesPlan,
+        offset -> {
+          try {
+            return tagManager.readTagFile(offset);
+          } catch (final IOException e) {
+            logger.error("Failed to read tag and attribute info because {}", e.getMessage(), e);
+            return new Pair<>(Collections.emptyMap(), Collections.emptyMap());
+          }
+        });
   }
 
   @Override
@@ -567,6 +567,7 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
               tagManager::readTags,
               tagManager::readAttributes,
               this::flushCallback);
+      tagManager.finishRecovery();
       logger.info(
           "MTree snapshot loading of schemaRegion {} costs {}ms.",
           schemaRegionId,
@@ -664,15 +665,12 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
         regionStatistics.addMeasurement(1L);
 
         // Update tag index
-        if (offset != -1 && isRecovering) {
+        boolean recoverTagIndex = offset != -1 && isRecovering;
+        if (recoverTagIndex) {
           // The time series has already been created and now system is recovering, using the tag
           // info in tagFile to recover index directly
           tagManager.recoverIndex(offset, leafMNode);
           mtree.pinMNode(leafMNode.getAsMNode());
-        } else if (plan.getTags() != null) {
-          // Tag key, tag value
-          tagManager.addIndex(plan.getTags(), leafMNode);
-          mtree.pinMNode(leafMNode.getAsMNode());
         }
 
         // write log
@@ -690,6 +688,13 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
           mtree.updateMNode(
               leafMNode.getAsMNode(), o -> o.getAsMeasurementMNode().setOffset(finalOffset));
         }
+        if (!recoverTagIndex && plan.getTags() != null) {
+          // Tag key, tag value, the index is keyed by the offset in tagFile
+          if (!plan.getTags().isEmpty()) {
+            tagManager.addIndex(plan.getTags(), leafMNode);
+          }
+          mtree.pinMNode(leafMNode.getAsMNode());
+        }
 
       } finally {
         if (Objects.nonNull(leafMNode)) {
@@ -800,18 +805,14 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
           return;
         }
 
-        for (int i = 0; i < measurements.size(); i++) {
-          if (tagOffsets != null && !plan.getTagOffsets().isEmpty() && isRecovering) {
+        boolean recoverTagIndex =
+            tagOffsets != null && !plan.getTagOffsets().isEmpty() && isRecovering;
+        if (recoverTagIndex) {
+          for (int i = 0; i < measurements.size(); i++) {
             if (tagOffsets.get(i) != -1) {
               tagManager.recoverIndex(plan.getTagOffsets().get(i), measurementMNodeList.get(i));
               mtree.pinMNode(measurementMNodeList.get(i).getAsMNode());
             }
-          } else if (tagsList != null && !tagsList.isEmpty()) {
-            if (tagsList.get(i) != null) {
-              // Tag key, tag value
-              tagManager.addIndex(tagsList.get(i), measurementMNodeList.get(i));
-              mtree.pinMNode(measurementMNodeList.get(i).getAsMNode());
-            }
           }
         }
 
@@ -847,6 +848,16 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
                 measurementMNodeList.get(i).getAsMNode(),
                 o -> o.getAsMeasurementMNode().setOffset(offset));
           }
+          if (!recoverTagIndex
+              && tagsList != null
+              && !tagsList.isEmpty()
+              && tagsList.get(i) != null) {
+            // Tag key, tag value, the index is keyed by the offset in tagFile
+            if (!tagsList.get(i).isEmpty()) {
+              tagManager.addIndex(tagsList.get(i), measurementMNodeList.get(i));
+            }
+            mtree.pinMNode(measurementMNodeList.get(i).getAsMNode());
+          }
         }
       } finally {
         for (final IMeasurementMNode<ICachedMNode> measurementMNode : measurementMNodeList) {
@@ -1534,19 +1545,22 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
     if (showTimeSeriesPlan.getSchemaFilter() != null
         && new FilterContainsVisitor()
             .process(showTimeSeriesPlan.getSchemaFilter(), SchemaFilterType.TAGS_FILTER)) {
-      return tagManager.getTimeSeriesReaderWithIndex(showTimeSeriesPlan);
-    } else {
-      return mtree.getTimeSeriesReader(
-          showTimeSeriesPlan,
-          offset -> {
-            try {
-              return tagManager.readTagFile(offset);
-            } catch (IOException e) {
-              logger.error("Failed to read tag and attribute info because {}", e.getMessage(), e);
-              return new Pair<>(Collections.emptyMap(), Collections.emptyMap());
-            }
-          });
+      ISchemaReader<ITimeSeriesSchemaInfo> reader =
+          tagManager.getTimeSeriesReaderWithIndex(showTimeSeriesPlan);
+      if (reader != null) {
+        return reader;
+      }
     }
+    return mtree.getTimeSeriesReader(
+        showTimeSeriesPlan,
+        offset -> {
+          try {
+            return tagManager.readTagFile(offset);
+          } catch (IOException e) {
+            logger.error("Failed to read tag and attribute info because {}", e.getMessage(), e);
+            return new Pair<>(Collections.emptyMap(), Collections.emptyMap());
+          }
+        });
   }
 
   @Override
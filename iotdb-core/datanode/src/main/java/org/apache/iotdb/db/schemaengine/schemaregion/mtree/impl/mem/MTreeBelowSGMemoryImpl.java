@@ -111,7 +111,6 @@ import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntConsumer;
-import java.util.function.IntSupplier;
 
 import static org.apache.iotdb.commons.conf.IoTDBConstant.PATH_SEPARATOR;
 
@@ -1703,55 +1702,98 @@ public class MTreeBelowSGMemoryImpl {
     return notExistNum;
   }
 
-  public void createOrUpdateTableDevice(
+  /**
+   * Create the table devices or update their attributes in one pass. The devices are usually
+   * sorted or grouped in a batch of insertion, thus the nodes shared with the previous device are
+   * reused instead of being searched from the table node again.
+   */
+  public void createOrUpdateTableDevices(
       final String tableName,
-      final String[] devicePath,
-      final IntSupplier attributePointerGetter,
-      final IntConsumer attributeUpdater)
+      final List<String[]> devicePathList,
+      final TableDeviceAttributeHandler attributeHandler)
       throws MetadataException {
     // todo implement storage for device of diverse data types
     if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Start to create table device {}.{}", tableName, Arrays.toString(devicePath));
+      LOGGER.debug("Start to create {} table devices of {}", devicePathList.size(), tableName);
     }
-    IMemMNode cur = databaseMNode.getChild(tableName);
-    if (cur == null) {
-      cur =
-          store.addChild(databaseMNode, tableName, nodeFactory.createInternalMNode(cur, tableName));
-    }
-
-    for (final String childName : devicePath) {
-      IMemMNode child = cur.getChild(childName);
-      if (child == null) {
-        child = store.addChild(cur, childName, nodeFactory.createInternalMNode(cur, childName));
-      }
-      cur = child;
+    IMemMNode tableNode = databaseMNode.getChild(tableName);
+    if (tableNode == null) {
+      tableNode =
+          store.addChild(
+              databaseMNode, tableName, nodeFactory.createInternalMNode(databaseMNode, tableName));
     }
 
-    final IDeviceMNode<IMemMNode> entityMNode;
+    // trace[i] is the node of the i-th level of the previous device, trace[0] is the table node
+    IMemMNode[] trace = new IMemMNode[1];
+    trace[0] = tableNode;
+    String[] previousPath = null;
+    int createdNum = 0;
 
     synchronized (this) {
-      if (cur.isDevice()) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Table device {}.{} already exists", tableName, Arrays.toString(devicePath));
+      for (int index = 0, size = devicePathList.size(); index < size; index++) {
+        final String[] devicePath = devicePathList.get(index);
+        if (trace.length < devicePath.length + 1) {
+          trace = Arrays.copyOf(trace, devicePath.length + 1);
         }
-        entityMNode = cur.getAsDeviceMNode();
-        if (!(entityMNode.getDeviceInfo() instanceof TableDeviceInfo)) {
-          throw new MetadataException("Table device shall not create under tree model");
+
+        int level = 0;
+        if (previousPath != null) {
+          final int commonLength = Math.min(previousPath.length, devicePath.length);
+          while (level < commonLength
+              && Objects.equals(previousPath[level], devicePath[level])) {
+            level++;
+          }
         }
-        final TableDeviceInfo<IMemMNode> deviceInfo =
-            (TableDeviceInfo<IMemMNode>) entityMNode.getDeviceInfo();
-        attributeUpdater.accept(deviceInfo.getAttributePointer());
-      } else {
-        entityMNode = store.setToEntity(cur);
-        final TableDeviceInfo<IMemMNode> deviceInfo = new TableDeviceInfo<>();
-        deviceInfo.setAttributePointer(attributePointerGetter.getAsInt());
-        entityMNode.getAsInternalMNode().setDeviceInfo(deviceInfo);
-        regionStatistics.addTableDevice(tableName);
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Table device {}.{} created", tableName, Arrays.toString(devicePath));
+
+        IMemMNode cur = trace[level];
+        for (; level < devicePath.length; level++) {
+          final String childName = devicePath[level];
+          IMemMNode child = cur.getChild(childName);
+          if (child == null) {
+            child = store.addChild(cur, childName, nodeFactory.createInternalMNode(cur, childName));
+          }
+          cur = child;
+          trace[level + 1] = cur;
+        }
+        previousPath = devicePath;
+
+        if (cur.isDevice()) {
+          final IDeviceMNode<IMemMNode> entityMNode = cur.getAsDeviceMNode();
+          if (!(entityMNode.getDeviceInfo() instanceof TableDeviceInfo)) {
+            throw new MetadataException("Table device shall not create under tree model");
+          }
+          attributeHandler.updateAttribute(
+              index,
+              ((TableDeviceInfo<IMemMNode>) entityMNode.getDeviceInfo()).getAttributePointer());
+        } else {
+          final IDeviceMNode<IMemMNode> entityMNode = store.setToEntity(cur);
+          final TableDeviceInfo<IMemMNode> deviceInfo = new TableDeviceInfo<>();
+          deviceInfo.setAttributePointer(attributeHandler.createAttribute(index));
+          entityMNode.getAsInternalMNode().setDeviceInfo(deviceInfo);
+          regionStatistics.addTableDevice(tableName);
+          createdNum++;
         }
       }
     }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "{} table devices of {} created, {} already exist",
+          createdNum,
+          tableName,
+          devicePathList.size() - createdNum);
+    }
+  }
+
+  /** Callbacks of {@link #createOrUpdateTableDevices}, the index is of the input device list. */
+  public interface TableDeviceAttributeHandler {
+
+    /**
+     * @return the attribute pointer of the device to create
+     */
+    int createAttribute(final int index);
+
+    void updateAttribute(final int index, final int pointer);
   }
 
   public void updateTableDevice(
@@ -1858,7 +1900,9 @@ public class MTreeBelowSGMemoryImpl {
         }) {
       collector.traverse();
     }
+    final int rawSize = databaseMNode.estimateSize();
     databaseMNode.deleteChild(tableName);
+    memoryReleased.addAndGet(rawSize - databaseMNode.estimateSize());
     regionStatistics.resetTableDevice(tableName);
     store.releaseMemory(memoryReleased.get());
     return true;
@@ -129,16 +129,20 @@ public class MemMTreeStore implements IMTreeStore<IMemMNode> {
 
   @Override
   public IMemMNode addChild(final IMemMNode parent, final String childName, final IMemMNode child) {
+    // the estimated size of the parent may change with its children, see BasicInternalMNode
+    final int rawSize = parent.estimateSize();
     final IMemMNode result = parent.addChild(childName, child);
     if (result == child) {
-      requestMemory(child.estimateSize());
+      requestMemory(child.estimateSize() + parent.estimateSize() - rawSize);
     }
     return result;
   }
 
   @Override
   public void deleteChild(final IMemMNode parent, final String childName) {
-    releaseMemory(parent.deleteChild(childName).estimateSize());
+    final int rawSize = parent.estimateSize();
+    final IMemMNode child = parent.deleteChild(childName);
+    releaseMemory(child.estimateSize() + rawSize - parent.estimateSize());
   }
 
   @Override
@@ -28,6 +28,7 @@ import org.apache.iotdb.commons.schema.node.role.IInternalMNode;
 import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
 import org.apache.iotdb.commons.schema.node.utils.IMNodeContainer;
 import org.apache.iotdb.commons.schema.node.visitor.MNodeVisitor;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.info.BasicMNodeInfo;
@@ -43,6 +44,14 @@ public class BasicMNode implements IMemMNode {
 
   private static final long serialVersionUID = -770028375899514063L;
 
+  /** The MapEntry of a child in a hash children container, see {@link #estimateSize()}. */
+  public static final int MAP_ENTRY_SIZE = 8 + 8 + 28;
+
+  // the slot of a child in a compact memory MTree is estimated by the container of its parent,
+  // since it depends on the type of the container, see BasicInternalMNode
+  private static final boolean SLOT_ESTIMATED_BY_PARENT =
+      IoTDBDescriptor.getInstance().getConfig().isEnableCompactMemoryMTree();
+
   private IMemMNode parent;
   private final BasicMNodeInfo basicMNodeInfo;
 
@@ -232,11 +241,17 @@ public class BasicMNode implements IMemMNode {
    *         <li>value reference, 8B
    *         <li>entry size, see ConcurrentHashMap.Node, 28
    *       </ol>
+   *       It is estimated by the parent instead if the compact memory MTree is enabled.
    * </ol>
    */
   @Override
   public int estimateSize() {
-    return 8 + 8 + 8 + 8 + 8 + 8 + 28 + basicMNodeInfo.estimateSize();
+    return 8
+        + 8
+        + 8
+        + 8
+        + (SLOT_ESTIMATED_BY_PARENT ? 0 : MAP_ENTRY_SIZE)
+        + basicMNodeInfo.estimateSize();
   }
 
   @Override
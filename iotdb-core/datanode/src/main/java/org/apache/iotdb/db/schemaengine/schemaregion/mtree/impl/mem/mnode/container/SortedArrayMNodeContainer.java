@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container;
+
+import org.apache.iotdb.commons.schema.node.utils.IMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A compact children container keeping the children names and nodes in two sorted arrays, the
+ * lookup is a binary search over the names. Compared with {@link MemMNodeContainer}, it saves the
+ * hash entry and the key wrapper of each child, which dominate the memory of devices with a few
+ * hundreds of measurements.
+ *
+ * <p>The arrays are replaced as a whole on modification (copy-on-write), so readers never lock and
+ * always see a consistent view. This makes one insertion O(n), thus the caller shall switch to
+ * {@link MemMNodeContainer} once the container grows beyond {@link #isFull()}.
+ */
+public class SortedArrayMNodeContainer extends AbstractMap<String, IMemMNode>
+    implements IMNodeContainer<IMemMNode> {
+
+  // The null key is allowed, the same as MemMNodeContainer
+  private static final Comparator<String> NAME_COMPARATOR =
+      Comparator.nullsFirst(Comparator.naturalOrder());
+
+  private static final String[] EMPTY_NAMES = new String[0];
+  private static final IMemMNode[] EMPTY_NODES = new IMemMNode[0];
+
+  /**
+   * Estimated memory of an empty container.
+   *
+   * <ol>
+   *   <li>object header 8B, maxSize 4B and snapshot reference 8B
+   *   <li>snapshot, object header 8B and two array references 16B
+   *   <li>two array headers, 16B each
+   * </ol>
+   */
+  public static final int BASIC_SIZE = 8 + 4 + 8 + 8 + 16 + 16 + 16;
+
+  /** Estimated memory of one child, the array slot of name and node. */
+  public static final int CHILD_SIZE = 16;
+
+  private final int maxSize;
+
+  private volatile Snapshot snapshot = new Snapshot(EMPTY_NAMES, EMPTY_NODES);
+
+  public SortedArrayMNodeContainer(final int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /** Whether the container has reached the size limit and shall be converted to a hash one. */
+  public boolean isFull() {
+    return snapshot.names.length >= maxSize;
+  }
+
+  /** Estimated memory of the container, see {@link #BASIC_SIZE} and {@link #CHILD_SIZE}. */
+  public int estimateSize() {
+    return BASIC_SIZE + snapshot.names.length * CHILD_SIZE;
+  }
+
+  @Override
+  public int size() {
+    return snapshot.names.length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return snapshot.names.length == 0;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return snapshot.indexOf(key) >= 0;
+  }
+
+  @Override
+  public IMemMNode get(final Object key) {
+    final Snapshot current = snapshot;
+    final int index = current.indexOf(key);
+    return index >= 0 ? current.nodes[index] : null;
+  }
+
+  @Override
+  public synchronized IMemMNode put(final String key, final IMemMNode value) {
+    Objects.requireNonNull(value);
+    final Snapshot current = snapshot;
+    final int index = current.indexOf(key);
+    if (index >= 0) {
+      final IMemMNode[] nodes = current.nodes.clone();
+      final IMemMNode origin = nodes[index];
+      nodes[index] = value;
+      snapshot = new Snapshot(current.names, nodes);
+      return origin;
+    }
+    insert(current, -index - 1, key, value);
+    return null;
+  }
+
+  @Override
+  public synchronized IMemMNode putIfAbsent(final String key, final IMemMNode value) {
+    Objects.requireNonNull(value);
+    final Snapshot current = snapshot;
+    final int index = current.indexOf(key);
+    if (index >= 0) {
+      return current.nodes[index];
+    }
+    insert(current, -index - 1, key, value);
+    return null;
+  }
+
+  @Override
+  public synchronized IMemMNode computeIfAbsent(
+      final String key, final Function<? super String, ? extends IMemMNode> mappingFunction) {
+    final Snapshot current = snapshot;
+    final int index = current.indexOf(key);
+    if (index >= 0) {
+      return current.nodes[index];
+    }
+    final IMemMNode value = mappingFunction.apply(key);
+    if (value != null) {
+      insert(current, -index - 1, key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public synchronized IMemMNode compute(
+      final String key,
+      final BiFunction<? super String, ? super IMemMNode, ? extends IMemMNode> remappingFunction) {
+    final IMemMNode value = remappingFunction.apply(key, get(key));
+    if (value == null) {
+      remove(key);
+    } else {
+      put(key, value);
+    }
+    return value;
+  }
+
+  @Override
+  public synchronized IMemMNode remove(final Object key) {
+    final Snapshot current = snapshot;
+    final int index = current.indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    final int length = current.names.length;
+    final String[] names = new String[length - 1];
+    final IMemMNode[] nodes = new IMemMNode[length - 1];
+    System.arraycopy(current.names, 0, names, 0, index);
+    System.arraycopy(current.nodes, 0, nodes, 0, index);
+    System.arraycopy(current.names, index + 1, names, index, length - index - 1);
+    System.arraycopy(current.nodes, index + 1, nodes, index, length - index - 1);
+    snapshot = new Snapshot(names, nodes);
+    return current.nodes[index];
+  }
+
+  @Override
+  public synchronized void clear() {
+    snapshot = new Snapshot(EMPTY_NAMES, EMPTY_NODES);
+  }
+
+  @Override
+  public void forEach(final BiConsumer<? super String, ? super IMemMNode> action) {
+    final Snapshot current = snapshot;
+    for (int i = 0; i < current.names.length; i++) {
+      action.accept(current.names[i], current.nodes[i]);
+    }
+  }
+
+  @Override
+  @NotNull
+  public Collection<IMemMNode> values() {
+    final Snapshot current = snapshot;
+    return new AbstractCollection<IMemMNode>() {
+      @Override
+      public Iterator<IMemMNode> iterator() {
+        return Arrays.asList(current.nodes).iterator();
+      }
+
+      @Override
+      public int size() {
+        return current.nodes.length;
+      }
+    };
+  }
+
+  @Override
+  @NotNull
+  public Set<Entry<String, IMemMNode>> entrySet() {
+    final Snapshot current = snapshot;
+    return new AbstractSet<Entry<String, IMemMNode>>() {
+      @Override
+      public Iterator<Entry<String, IMemMNode>> iterator() {
+        return new Iterator<Entry<String, IMemMNode>>() {
+          private int index = 0;
+
+          @Override
+          public boolean hasNext() {
+            return index < current.names.length;
+          }
+
+          @Override
+          public Entry<String, IMemMNode> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final Entry<String, IMemMNode> entry =
+                new SimpleImmutableEntry<>(current.names[index], current.nodes[index]);
+            index++;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return current.names.length;
+      }
+    };
+  }
+
+  private void insert(
+      final Snapshot current, final int position, final String key, final IMemMNode value) {
+    final int length = current.names.length;
+    final String[] names = new String[length + 1];
+    final IMemMNode[] nodes = new IMemMNode[length + 1];
+    System.arraycopy(current.names, 0, names, 0, position);
+    System.arraycopy(current.nodes, 0, nodes, 0, position);
+    names[position] = key;
+    nodes[position] = value;
+    System.arraycopy(current.names, position, names, position + 1, length - position);
+    System.arraycopy(current.nodes, position, nodes, position + 1, length - position);
+    snapshot = new Snapshot(names, nodes);
+  }
+
+  private static class Snapshot {
+    private final String[] names;
+    private final IMemMNode[] nodes;
+
+    private Snapshot(final String[] names, final IMemMNode[] nodes) {
+      this.names = names;
+      this.nodes = nodes;
+    }
+
+    private int indexOf(final Object key) {
+      if (key != null && !(key instanceof String)) {
+        return -1;
+      }
+      return Arrays.binarySearch(names, (String) key, NAME_COMPARATOR);
+    }
+  }
+}
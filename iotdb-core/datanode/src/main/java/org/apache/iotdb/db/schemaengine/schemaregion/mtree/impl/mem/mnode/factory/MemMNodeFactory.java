@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.schema.node.role.IDeviceMNode;
 import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
 import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
 import org.apache.iotdb.commons.schema.node.utils.MNodeFactory;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.impl.AboveDatabaseMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.impl.BasicInternalMNode;
@@ -30,20 +31,32 @@ import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.impl.D
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.impl.MeasurementMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.info.TreeDeviceInfo;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.apache.tsfile.write.schema.IMeasurementSchema;
 
 @MNodeFactory
 public class MemMNodeFactory implements IMNodeFactory<IMemMNode> {
 
+  private static final boolean ENABLE_NAME_INTERNING =
+      IoTDBDescriptor.getInstance().getConfig().isEnableCompactMemoryMTree();
+
+  // Measurement names are usually shared by lots of devices, e.g. "temperature"
+  private static final Interner<String> NAME_INTERNER = Interners.newWeakInterner();
+
+  private static String intern(String name) {
+    return ENABLE_NAME_INTERNING && name != null ? NAME_INTERNER.intern(name) : name;
+  }
+
   @Override
   public IMeasurementMNode<IMemMNode> createMeasurementMNode(
       IDeviceMNode<IMemMNode> parent, String name, IMeasurementSchema schema, String alias) {
-    return new MeasurementMNode(parent, name, schema, alias);
+    return new MeasurementMNode(parent, intern(name), schema, alias);
   }
 
   @Override
   public IDeviceMNode<IMemMNode> createDeviceMNode(IMemMNode parent, String name) {
-    BasicInternalMNode internalMNode = new BasicInternalMNode(parent, name);
+    BasicInternalMNode internalMNode = new BasicInternalMNode(parent, intern(name));
     internalMNode.setDeviceInfo(new TreeDeviceInfo<>());
     return internalMNode.getAsDeviceMNode();
   }
@@ -67,7 +80,7 @@ public class MemMNodeFactory implements IMNodeFactory<IMemMNode> {
 
   @Override
   public IMemMNode createInternalMNode(IMemMNode parent, String name) {
-    return new BasicInternalMNode(parent, name);
+    return new BasicInternalMNode(parent, intern(name));
   }
 
   @Override
@@ -25,9 +25,11 @@ import org.apache.iotdb.commons.schema.node.info.IDeviceInfo;
 import org.apache.iotdb.commons.schema.node.role.IDeviceMNode;
 import org.apache.iotdb.commons.schema.node.role.IInternalMNode;
 import org.apache.iotdb.commons.schema.node.utils.IMNodeContainer;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.basic.BasicMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.SortedArrayMNodeContainer;
 
 /**
  * This class is the implementation of Metadata Node. One MNode instance represents one node in the
@@ -35,10 +37,16 @@ import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.contai
  */
 public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMemMNode> {
 
+  private static final boolean ENABLE_COMPACT_CONTAINER =
+      IoTDBDescriptor.getInstance().getConfig().isEnableCompactMemoryMTree();
+  private static final int COMPACT_CONTAINER_MAX_SIZE =
+      IoTDBDescriptor.getInstance().getConfig().getCompactMTreeContainerMaxSize();
+
   /**
    * Suppress warnings reason: volatile for double synchronized check.
    *
-   * <p>This will be a ConcurrentHashMap instance
+   * <p>This will be a ConcurrentHashMap instance, or a SortedArrayMNodeContainer instance before
+   * it grows large if the compact memory MTree is enabled
    */
   @SuppressWarnings("squid:S3077")
   private transient volatile IMNodeContainer<IMemMNode> children = null;
@@ -87,16 +95,8 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
      * measurementNode's children should be null to save memory
      * add child method will only be called when writing MTree, which is not a frequent operation
      */
-    if (children == null) {
-      // double check, children is volatile
-      synchronized (this) {
-        if (children == null) {
-          children = new MemMNodeContainer();
-        }
-      }
-    }
     child.setParent(this);
-    IMemMNode existingChild = children.putIfAbsent(name, child);
+    IMemMNode existingChild = putChildIfAbsent(name, child);
     return existingChild == null ? child : existingChild;
   }
 
@@ -117,27 +117,53 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
      * measurementNode's children should be null to save memory
      * add child method will only be called when writing MTree, which is not a frequent operation
      */
+    child.setParent(this);
+    putChildIfAbsent(child.getName(), child);
+    return child;
+  }
+
+  private IMemMNode putChildIfAbsent(String name, IMemMNode child) {
     if (children == null) {
       // double check, children is volatile
       synchronized (this) {
         if (children == null) {
-          children = new MemMNodeContainer();
+          children =
+              ENABLE_COMPACT_CONTAINER
+                  ? new SortedArrayMNodeContainer(COMPACT_CONTAINER_MAX_SIZE)
+                  : new MemMNodeContainer();
         }
       }
     }
-
-    child.setParent(this);
-    children.putIfAbsent(child.getName(), child);
-    return child;
+    if (children instanceof SortedArrayMNodeContainer) {
+      // the compact container is converted to a hash one when it's full, thus the insertion shall
+      // be guarded to avoid being lost in the replaced container
+      synchronized (this) {
+        if (children instanceof SortedArrayMNodeContainer
+            && ((SortedArrayMNodeContainer) children).isFull()) {
+          MemMNodeContainer container = new MemMNodeContainer();
+          container.putAll(children);
+          children = container;
+        }
+        return children.putIfAbsent(name, child);
+      }
+    }
+    return children.putIfAbsent(name, child);
   }
 
   /** Delete a child. */
   @Override
   public IMemMNode deleteChild(String name) {
-    if (children != null) {
-      return children.remove(name);
+    IMNodeContainer<IMemMNode> current = children;
+    if (current == null) {
+      return null;
     }
-    return null;
+    if (current instanceof SortedArrayMNodeContainer) {
+      // guarded the same as the insertion, to avoid being lost in the replaced container
+      synchronized (this) {
+        return children.remove(name);
+      }
+    }
+    return current.remove(name);
   }
 
   @Override
@@ -153,10 +179,37 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
     this.children = children;
   }
 
-  /** MNodeContainer reference and basic occupation, 8 + 80B. DeviceInfo reference and size. */
+  /**
+   * MNodeContainer reference and the container, see {@link #estimateContainerSize()}. DeviceInfo
+   * reference and size.
+   */
   @Override
   public int estimateSize() {
-    return 8 + 80 + super.estimateSize() + 8 + (deviceInfo == null ? 0 : deviceInfo.estimateSize());
+    return 8
+        + estimateContainerSize()
+        + super.estimateSize()
+        + 8
+        + (deviceInfo == null ? 0 : deviceInfo.estimateSize());
+  }
+
+  /**
+   * The basic occupation of a hash container is 80B, and the MapEntries are estimated by the
+   * children. If the compact memory MTree is enabled, the slots of the children are estimated here
+   * instead, since they are array slots in a compact container, and MapEntries after it is
+   * converted to a hash one. Thus the estimation changes with the children.
+   */
+  private int estimateContainerSize() {
+    if (!ENABLE_COMPACT_CONTAINER) {
+      return 80;
+    }
+    IMNodeContainer<IMemMNode> current = children;
+    if (current == null) {
+      return SortedArrayMNodeContainer.BASIC_SIZE;
+    }
+    if (current instanceof SortedArrayMNodeContainer) {
+      return ((SortedArrayMNodeContainer) current).estimateSize();
+    }
+    return 80 + current.size() * MAP_ENTRY_SIZE;
   }
 
   @Override
@@ -290,7 +290,10 @@ public class MemMTreeSnapshotUtil {
 
     if (!ancestors.isEmpty()) {
       node.setParent(ancestors.peek());
+      // the estimated size of the parent may change with its children, see BasicInternalMNode
+      final int rawSize = ancestors.peek().estimateSize();
       ancestors.peek().addChild(node);
+      regionStatistics.requestMemory(ancestors.peek().estimateSize() - rawSize);
       if (node.isMeasurement() && node.getAsMeasurementMNode().getAlias() != null) {
         ancestors
             .peek()
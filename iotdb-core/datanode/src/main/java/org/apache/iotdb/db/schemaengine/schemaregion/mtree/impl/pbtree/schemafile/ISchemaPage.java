@@ -141,6 +141,8 @@ public interface ISchemaPage {
 
   void setDirtyFlag();
 
+  void clearDirtyFlag();
+
   void flushPageToStream(OutputStream stream) throws IOException;
 
   String inspect() throws SegmentNotFoundException;
@@ -164,6 +166,5 @@ public interface ISchemaPage {
   @TestOnly
   WrappedSegment getSegmentOnTest(short idx) throws SegmentNotFoundException;
 
-  @TestOnly
   void getPageBuffer(ByteBuffer dstBuffer);
 }
@@ -278,6 +278,7 @@ public class SchemaFile implements ISchemaFile {
 
   @Override
   public void sync() throws IOException {
+    pageManager.sync();
     updateHeaderBuffer();
     forceChannel();
   }
@@ -120,6 +120,11 @@ public abstract class SchemaPage implements ISchemaPage {
     this.dirtyFlag = true;
   }
 
+  @Override
+  public void clearDirtyFlag() {
+    this.dirtyFlag = false;
+  }
+
   @Override
   public void flushPageToStream(OutputStream stream) throws IOException {
     if (pageIndex < 0) {
@@ -182,7 +187,6 @@ public abstract class SchemaPage implements ISchemaPage {
   }
 
   @Override
-  @TestOnly
   public void getPageBuffer(ByteBuffer dstBuffer) {
     syncPageBuffer();
     this.pageBuffer.clear();
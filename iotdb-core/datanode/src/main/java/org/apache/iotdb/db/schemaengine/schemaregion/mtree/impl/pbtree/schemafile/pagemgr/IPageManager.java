@@ -53,6 +53,9 @@ public interface IPageManager {
 
   void clear() throws IOException, MetadataException;
 
+  /** Make sure all modified pages have been written to the file channel. */
+  void sync() throws IOException;
+
   void close() throws IOException;
 
   int getLastPageIndex();
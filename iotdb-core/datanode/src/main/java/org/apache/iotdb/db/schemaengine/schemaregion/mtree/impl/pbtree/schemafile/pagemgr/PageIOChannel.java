@@ -177,6 +177,11 @@ public class PageIOChannel {
             .collect(Collectors.toList()));
   }
 
+  /** Flush pages as one batch, which is atomic if the pages are logged. */
+  public synchronized void flushMultiPages(List<ISchemaPage> pages) throws IOException {
+    flushDirtyPagesStrategy.apply(pages);
+  }
+
   public void flushSinglePage(ISchemaPage page) throws IOException {
     singlePageFlushStrategy.apply(page);
   }
@@ -18,9 +18,12 @@
  */
 package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.pagemgr;
 
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.consensus.ConsensusFactory;
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.metadata.schemafile.SchemaPageOverflowException;
 import org.apache.iotdb.db.exception.metadata.schemafile.SegmentNotFoundException;
@@ -44,6 +47,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -67,6 +71,10 @@ public abstract class PageManager implements IPageManager {
 
   protected final AtomicInteger lastPageIndex;
 
+  // null if dirty pages are written synchronously
+  private final PageWriteBackQueue writeBackQueue;
+  private final boolean enableReadAhead;
+
   private SchemaRegionCachedMetric metric = null;
 
   PageManager(FileChannel channel, File pmtFile, int lastPageIndex, String logPath)
@@ -76,14 +84,17 @@ public abstract class PageManager implements IPageManager {
     this.lastPageIndex =
         lastPageIndex >= 0 ? new AtomicInteger(lastPageIndex) : new AtomicInteger(0);
 
-    if (IoTDBDescriptor.getInstance()
-        .getConfig()
-        .getSchemaRegionConsensusProtocolClass()
-        .equals(ConsensusFactory.RATIS_CONSENSUS)) {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    if (config.getSchemaRegionConsensusProtocolClass().equals(ConsensusFactory.RATIS_CONSENSUS)) {
       pageIOChannel = new PageIOChannel(channel, pmtFile, false, logPath);
     } else {
       pageIOChannel = new PageIOChannel(channel, pmtFile, true, logPath);
     }
+    this.writeBackQueue =
+        config.isEnablePBTreeAsyncWriteBack()
+            ? new PageWriteBackQueue(pageIOChannel, PageIOExecutorHolder.EXECUTOR)
+            : null;
+    this.enableReadAhead = config.isEnablePBTreeReadAhead();
 
     // construct first page if file to init
     if (lastPageIndex < 0) {
@@ -451,11 +462,20 @@ public abstract class PageManager implements IPageManager {
     if (cxt.dirtyCnt == 0) {
       return;
     }
-    pageIOChannel.flushMultiPages(cxt);
-    pagePool.appendBucketIndex(cxt);
-    if (metric != null) {
-      metric.recordFlushPageNum(cxt.referredPages.size());
+    if (writeBackQueue != null) {
+      writeBackQueue.enqueue(
+          cxt.referredPages.values().stream()
+              .filter(ISchemaPage::isDirtyPage)
+              .collect(Collectors.toList()));
+    } else {
+      long startTime = System.nanoTime();
+      pageIOChannel.flushMultiPages(cxt);
+      if (metric != null) {
+        metric.recordPageFlush(System.nanoTime() - startTime);
+        metric.recordFlushPageNum(cxt.referredPages.size());
+      }
     }
+    pagePool.appendBucketIndex(cxt);
   }
 
   /**
@@ -501,6 +521,9 @@ public abstract class PageManager implements IPageManager {
 
   @Override
   public void clear() throws IOException, MetadataException {
+    if (writeBackQueue != null) {
+      writeBackQueue.discard();
+    }
     pagePool.clear();
     lastPageIndex.set(0);
     pageIOChannel.renewLogWriter();
@@ -518,8 +541,16 @@ public abstract class PageManager implements IPageManager {
     }
   }
 
+  @Override
+  public void sync() throws IOException {
+    if (writeBackQueue != null) {
+      writeBackQueue.drain();
+    }
+  }
+
   @Override
   public void close() throws IOException {
+    sync();
     pageIOChannel.closeLogWriter();
   }
 
@@ -545,16 +576,14 @@ public abstract class PageManager implements IPageManager {
     try {
       ISchemaPage page = pagePool.get(pageIdx);
       if (page != null) {
+        if (metric != null) {
+          metric.recordPageHit();
+        }
         cxt.refer(page);
         return page;
       }
 
-      ByteBuffer newBuf = ByteBuffer.allocate(SchemaFileConfig.PAGE_LENGTH);
-      if (metric != null) {
-        metric.recordLoadPageNum(1);
-      }
-      pageIOChannel.loadFromFileToBuffer(newBuf, pageIdx);
-      page = ISchemaPage.loadSchemaPage(newBuf);
+      page = loadPage(pageIdx);
       cxt.refer(page);
       pagePool.put(page);
       return page;
@@ -563,6 +592,54 @@ public abstract class PageManager implements IPageManager {
     }
   }
 
+  /** Load page from the write-back queue if it is pending, otherwise from the file. */
+  private ISchemaPage loadPage(int pageIdx) throws IOException, MetadataException {
+    ByteBuffer newBuf = ByteBuffer.allocate(SchemaFileConfig.PAGE_LENGTH);
+    byte[] pendingContent =
+        writeBackQueue == null ? null : writeBackQueue.getPendingContent(pageIdx);
+    if (pendingContent != null) {
+      if (metric != null) {
+        metric.recordPageHit();
+      }
+      newBuf.put(pendingContent);
+    } else {
+      if (metric != null) {
+        metric.recordLoadPageNum(1);
+      }
+      pageIOChannel.loadFromFileToBuffer(newBuf, pageIdx);
+    }
+    return ISchemaPage.loadSchemaPage(newBuf);
+  }
+
+  /**
+   * Load the page into cache in background if read-ahead is enabled, so that the following access
+   * may not wait for the disk. It gives up if the cache is full to avoid evicting useful pages.
+   */
+  protected void readAhead(int pageIdx) {
+    if (!enableReadAhead
+        || pageIdx < 0
+        || pageIdx > lastPageIndex.get()
+        || pagePool.size() >= SchemaFileConfig.PAGE_CACHE_SIZE
+        || pagePool.contains(pageIdx)) {
+      return;
+    }
+
+    PageIOExecutorHolder.EXECUTOR.submit(
+        () -> {
+          pagePool.lock();
+          try {
+            // pages created or replaced by writers are not guarded by the pool lock
+            if (!pagePool.contains(pageIdx)) {
+              pagePool.putIfAbsent(loadPage(pageIdx));
+            }
+          } catch (IOException | MetadataException e) {
+            logger.warn("Failed to read ahead page {} of pbtree file.", pageIdx, e);
+          } finally {
+            pagePool.unlock();
+          }
+        });
+  }
+
   private long preAllocateSegment(short size, SchemaPageContext cxt)
       throws IOException, MetadataException {
     ISegmentedPage page = getMinApplSegmentedPageInMem(size, cxt);
@@ -793,5 +870,20 @@ public abstract class PageManager implements IPageManager {
   @Override
   public void setMetric(SchemaRegionCachedMetric metric) {
     this.metric = metric;
+    if (writeBackQueue != null) {
+      writeBackQueue.setMetric(metric);
+    }
+  }
+
+  /** Threads for write-back and read-ahead of pages, shared by all pbtree files. */
+  private static class PageIOExecutorHolder {
+    private static final ExecutorService EXECUTOR =
+        IoTDBThreadPoolFactory.newFixedThreadPoolWithDaemonThread(
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 4),
+            ThreadName.PBTREE_PAGE_IO.getName());
+
+    private PageIOExecutorHolder() {
+      // util class
+    }
   }
 }
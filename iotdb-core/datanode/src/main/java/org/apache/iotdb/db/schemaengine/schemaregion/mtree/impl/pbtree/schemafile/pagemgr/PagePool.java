@@ -95,6 +95,11 @@ public class PagePool {
     pageInstCache.put(page.getPageIndex(), page);
   }
 
+  /** Cache the page only if there is no instance of the same index, e.g., a loaded one. */
+  public void putIfAbsent(ISchemaPage page) {
+    pageInstCache.putIfAbsent(page.getPageIndex(), page);
+  }
+
   public void lock() {
     cacheLock.lock();
   }
@@ -107,6 +112,15 @@ public class PagePool {
     return pageInstCache.get(index);
   }
 
+  /** Unlike {@link #get}, it does not affect the order of eviction. */
+  public boolean contains(int index) {
+    return pageInstCache.containsKey(index);
+  }
+
+  public int size() {
+    return pageInstCache.size();
+  }
+
   public ISchemaPage getNearestFitPage(short expectedSize) {
     return pageIndexBuckets.getNearestFitPage(expectedSize, true);
   }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.pagemgr;
+
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.db.schemaengine.metric.SchemaRegionCachedMetric;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.ISchemaPage;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.SchemaFileConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dirty pages of one pbtree file waiting to be written back by a background task.
+ *
+ * <p>Content of a page is copied when it is enqueued, so the cached instance could be modified
+ * again right after. A later copy of the same page replaces the pending one, thus a page modified by
+ * successive flushes is written only once. Pages enqueued together are always written within the
+ * same batch, which keeps the atomicity provided by the pbtree file log.
+ */
+class PageWriteBackQueue {
+  private static final Logger logger = LoggerFactory.getLogger(PageWriteBackQueue.class);
+
+  private final PageIOChannel pageIOChannel;
+  private final ExecutorService executor;
+
+  // page index to content, guarded by itself
+  private final Map<Integer, byte[]> pendingPages = new HashMap<>();
+  // only one write-back is in progress, either by the background task or by a draining caller
+  private final Object writeBackLock = new Object();
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+  private SchemaRegionCachedMetric metric = null;
+
+  PageWriteBackQueue(PageIOChannel pageIOChannel, ExecutorService executor) {
+    this.pageIOChannel = pageIOChannel;
+    this.executor = executor;
+  }
+
+  /** Copy the dirty pages into the queue and clear their dirty flags. */
+  void enqueue(Collection<ISchemaPage> dirtyPages) throws IOException {
+    List<byte[]> contents = new ArrayList<>(dirtyPages.size());
+    for (ISchemaPage page : dirtyPages) {
+      ByteBuffer buffer = ByteBuffer.allocate(SchemaFileConfig.PAGE_LENGTH);
+      page.syncPageBuffer();
+      page.getPageBuffer(buffer);
+      contents.add(buffer.array());
+    }
+
+    int pendingNum;
+    synchronized (pendingPages) {
+      int i = 0;
+      for (ISchemaPage page : dirtyPages) {
+        pendingPages.put(page.getPageIndex(), contents.get(i++));
+        page.clearDirtyFlag();
+      }
+      pendingNum = pendingPages.size();
+    }
+
+    if (pendingNum > SchemaFileConfig.PAGE_CACHE_SIZE) {
+      // the disk falls behind, throttle the writer
+      drain();
+    } else if (scheduled.compareAndSet(false, true)) {
+      executor.submit(this::writeBackInBackground);
+    }
+  }
+
+  /**
+   * @return content of the page if it has not been written back yet, or null otherwise
+   */
+  byte[] getPendingContent(int pageIndex) {
+    synchronized (pendingPages) {
+      return pendingPages.get(pageIndex);
+    }
+  }
+
+  int getPendingNum() {
+    synchronized (pendingPages) {
+      return pendingPages.size();
+    }
+  }
+
+  /** Write all pages enqueued before the invocation back to the file. */
+  void drain() throws IOException {
+    synchronized (writeBackLock) {
+      Map<Integer, byte[]> batch;
+      synchronized (pendingPages) {
+        if (pendingPages.isEmpty()) {
+          return;
+        }
+        batch = new HashMap<>(pendingPages);
+      }
+
+      List<ISchemaPage> pages = new ArrayList<>(batch.size());
+      try {
+        for (byte[] content : batch.values()) {
+          // the pending content may be read concurrently, write back with a private copy
+          pages.add(ISchemaPage.loadSchemaPage(ByteBuffer.wrap(content.clone())));
+        }
+      } catch (MetadataException e) {
+        throw new IOException(e);
+      }
+      pages.sort(Comparator.comparingInt(ISchemaPage::getPageIndex));
+
+      long startTime = System.nanoTime();
+      pageIOChannel.flushMultiPages(pages);
+      if (metric != null) {
+        metric.recordPageFlush(System.nanoTime() - startTime);
+        metric.recordFlushPageNum(pages.size());
+      }
+
+      synchronized (pendingPages) {
+        // pages enqueued again during the write-back are left for next round
+        batch.forEach(pendingPages::remove);
+      }
+    }
+  }
+
+  /** Drop all pending pages, e.g., the file is to be deleted. */
+  void discard() {
+    synchronized (writeBackLock) {
+      synchronized (pendingPages) {
+        pendingPages.clear();
+      }
+    }
+  }
+
+  void setMetric(SchemaRegionCachedMetric metric) {
+    this.metric = metric;
+  }
+
+  private void writeBackInBackground() {
+    boolean succeed = false;
+    try {
+      drain();
+      succeed = true;
+    } catch (IOException e) {
+      // pages are kept in queue, and will be retried by next enqueue or drain
+      logger.error("Failed to write back pages of pbtree file.", e);
+    } finally {
+      scheduled.set(false);
+    }
+
+    if (succeed && getPendingNum() > 0 && scheduled.compareAndSet(false, true)) {
+      executor.submit(this::writeBackInBackground);
+    }
+  }
+}
@@ -0,0 +1,406 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.tag;
+
+import org.apache.iotdb.commons.schema.filter.SchemaFilter;
+import org.apache.iotdb.commons.schema.filter.SchemaFilterType;
+import org.apache.iotdb.commons.schema.filter.impl.TagFilter;
+import org.apache.iotdb.commons.schema.filter.impl.multichildren.AndFilter;
+import org.apache.iotdb.commons.schema.filter.impl.multichildren.OrFilter;
+import org.apache.iotdb.commons.schema.filter.impl.singlechild.NotFilter;
+import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
+
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tag inverted index keeping the matched measurements of each tag key-value as a {@link
+ * CompressedBitmap} of measurement ordinals. The ordinal of a measurement is the block number of
+ * its tag record in the tag log, which is unique and never reused in a schema region, thus the
+ * index can be persisted without the measurements and relinked to the nodes during recovery.
+ *
+ * <p>The offset of the tag record is passed along with the measurement, since the node may not
+ * have been updated during recovery. The memory changes of all modification methods are returned
+ * to the caller, positive for allocation and negative for release.
+ */
+public class BitmapTagIndex {
+
+  private static final IMeasurementMNode<?>[] EMPTY_NODES = new IMeasurementMNode<?>[0];
+
+  private final int blockSize;
+
+  // tag key -> tag value -> ordinals of the measurements
+  private final Map<String, Map<String, CompressedBitmap>> index = new HashMap<>();
+  // ordinal -> measurement
+  private IMeasurementMNode<?>[] nodes = EMPTY_NODES;
+
+  // The ordinals having tags when the loaded snapshot was taken, the measurements below
+  // recoveredBlockCount can be relinked to the index without reading the tag log.
+  private CompressedBitmap recoveredOrdinals;
+  private long recoveredBlockCount;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public BitmapTagIndex(final int blockSize) {
+    this.blockSize = blockSize;
+  }
+
+  public long add(
+      final String tagKey,
+      final String tagValue,
+      final long offset,
+      final IMeasurementMNode<?> measurementMNode) {
+    final int ordinal = getOrdinal(offset);
+    lock.writeLock().lock();
+    try {
+      long memorySize = link(ordinal, measurementMNode);
+      Map<String, CompressedBitmap> valueMap = index.get(tagKey);
+      if (valueMap == null) {
+        valueMap = new HashMap<>();
+        index.put(tagKey, valueMap);
+        // the last 4 is the memory occupied by the size of valueMap
+        memorySize += RamUsageEstimator.sizeOf(tagKey) + 4;
+      }
+      CompressedBitmap bitmap = valueMap.get(tagValue);
+      if (bitmap == null) {
+        bitmap = new CompressedBitmap();
+        valueMap.put(tagValue, bitmap);
+        memorySize += RamUsageEstimator.sizeOf(tagValue) + bitmap.ramBytesUsed();
+      }
+      final long oldSize = bitmap.ramBytesUsed();
+      bitmap.add(ordinal);
+      return memorySize + bitmap.ramBytesUsed() - oldSize;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public long remove(final String tagKey, final String tagValue, final long offset) {
+    final int ordinal = getOrdinal(offset);
+    lock.writeLock().lock();
+    try {
+      final Map<String, CompressedBitmap> valueMap = index.get(tagKey);
+      final CompressedBitmap bitmap = valueMap == null ? null : valueMap.get(tagValue);
+      if (bitmap == null) {
+        return 0;
+      }
+      final long oldSize = bitmap.ramBytesUsed();
+      bitmap.remove(ordinal);
+      long memorySize = bitmap.ramBytesUsed() - oldSize;
+      if (bitmap.isEmpty()) {
+        valueMap.remove(tagValue);
+        memorySize -= RamUsageEstimator.sizeOf(tagValue) + bitmap.ramBytesUsed();
+        if (valueMap.isEmpty()) {
+          index.remove(tagKey);
+          memorySize -= RamUsageEstimator.sizeOf(tagKey) + 4;
+        }
+      }
+      return memorySize;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Unlink the deleted measurement, which shall have been removed from all the tag values. */
+  public void unlink(final long offset, final IMeasurementMNode<?> measurementMNode) {
+    final int ordinal = getOrdinal(offset);
+    lock.writeLock().lock();
+    try {
+      if (ordinal < nodes.length && nodes[ordinal] == measurementMNode) {
+        nodes[ordinal] = null;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Relink the recovered measurement to the index loaded from snapshot.
+   *
+   * @return the memory increment, or -1 if the measurement is not covered by the loaded snapshot
+   *     and its tags shall be added to the index from the tag log
+   */
+  public long relink(final long offset, final IMeasurementMNode<?> measurementMNode) {
+    final int ordinal = getOrdinal(offset);
+    lock.writeLock().lock();
+    try {
+      if (recoveredOrdinals == null || ordinal >= recoveredBlockCount) {
+        return -1;
+      }
+      return recoveredOrdinals.contains(ordinal) ? link(ordinal, measurementMNode) : 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Whether the measurement has tags recorded in the index loaded from snapshot. */
+  public boolean isRecoveredWithTags(final long offset) {
+    lock.readLock().lock();
+    try {
+      return recoveredOrdinals != null && recoveredOrdinals.contains(getOrdinal(offset));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public boolean containsKey(final String tagKey) {
+    lock.readLock().lock();
+    try {
+      return index.containsKey(tagKey);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public boolean contains(final String tagKey, final String tagValue) {
+    lock.readLock().lock();
+    try {
+      final Map<String, CompressedBitmap> valueMap = index.get(tagKey);
+      return valueMap != null && valueMap.containsKey(tagValue);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Evaluate the filter with the index. The tag filters are answered exactly, their conjunctions,
+   * disjunctions and the negations in conjunctions are computed on the bitmaps. The other filters
+   * in a conjunction are ignored, thus the result may be a superset of the matched measurements
+   * and the filter shall still be applied on the result.
+   *
+   * @return the ordinals of the candidate measurements, or null if the filter cannot be narrowed by
+   *     the index, e.g. a disjunction with a non-tag filter
+   */
+  public CompressedBitmap evaluate(final SchemaFilter filter) {
+    lock.readLock().lock();
+    try {
+      return internalEvaluate(filter);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Estimate the number of the measurements matching the filter without reading the nodes.
+   *
+   * @return the number of the candidates, or -1 if the filter cannot be narrowed by the index
+   */
+  public long estimateCardinality(final SchemaFilter filter) {
+    final CompressedBitmap result = evaluate(filter);
+    return result == null ? -1 : result.getCardinality();
+  }
+
+  /** Get the measurements of the ordinals, the unlinked ones are skipped. */
+  public List<IMeasurementMNode<?>> getMeasurements(final CompressedBitmap ordinals) {
+    final List<IMeasurementMNode<?>> result = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      final IMeasurementMNode<?>[] current = nodes;
+      ordinals.forEach(
+          ordinal -> {
+            if (ordinal < current.length && current[ordinal] != null) {
+              result.add(current[ordinal]);
+            }
+          });
+    } finally {
+      lock.readLock().unlock();
+    }
+    return result;
+  }
+
+  public void serialize(final OutputStream outputStream) throws IOException {
+    lock.readLock().lock();
+    try {
+      ReadWriteIOUtils.write(blockSize, outputStream);
+      ReadWriteIOUtils.write(index.size(), outputStream);
+      for (final Map.Entry<String, Map<String, CompressedBitmap>> keyEntry : index.entrySet()) {
+        ReadWriteIOUtils.write(keyEntry.getKey(), outputStream);
+        ReadWriteIOUtils.write(keyEntry.getValue().size(), outputStream);
+        for (final Map.Entry<String, CompressedBitmap> valueEntry :
+            keyEntry.getValue().entrySet()) {
+          ReadWriteIOUtils.write(valueEntry.getKey(), outputStream);
+          valueEntry.getValue().serialize(outputStream);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Load the index persisted by {@link #serialize}. The measurements shall then be relinked by
+   * {@link #relink} during the recovery of the tree.
+   *
+   * @param blockCount number of the blocks in the tag log when the snapshot was taken
+   * @return the memory of the loaded index, or -1 if the snapshot is incompatible with the current
+   *     tag log and the index shall be recovered from the tag log
+   */
+  public long deserialize(final InputStream inputStream, final long blockCount)
+      throws IOException {
+    if (ReadWriteIOUtils.readInt(inputStream) != blockSize) {
+      return -1;
+    }
+    lock.writeLock().lock();
+    try {
+      long memorySize = 0;
+      CompressedBitmap allOrdinals = new CompressedBitmap();
+      final int keySize = ReadWriteIOUtils.readInt(inputStream);
+      for (int i = 0; i < keySize; i++) {
+        final String tagKey = ReadWriteIOUtils.readString(inputStream);
+        final int valueSize = ReadWriteIOUtils.readInt(inputStream);
+        final Map<String, CompressedBitmap> valueMap = new HashMap<>();
+        memorySize += RamUsageEstimator.sizeOf(tagKey) + 4;
+        for (int j = 0; j < valueSize; j++) {
+          final String tagValue = ReadWriteIOUtils.readString(inputStream);
+          final CompressedBitmap bitmap = CompressedBitmap.deserialize(inputStream);
+          valueMap.put(tagValue, bitmap);
+          allOrdinals = allOrdinals.or(bitmap);
+          memorySize += RamUsageEstimator.sizeOf(tagValue) + bitmap.ramBytesUsed();
+        }
+        index.put(tagKey, valueMap);
+      }
+      recoveredOrdinals = allOrdinals;
+      recoveredBlockCount = blockCount;
+      return memorySize;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Drop the ordinals loaded from snapshot, which are only used during recovery. */
+  public void finishRecovery() {
+    lock.writeLock().lock();
+    try {
+      recoveredOrdinals = null;
+      recoveredBlockCount = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      index.clear();
+      nodes = EMPTY_NODES;
+      recoveredOrdinals = null;
+      recoveredBlockCount = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private int getOrdinal(final long offset) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Invalid tag file offset " + offset);
+    }
+    return (int) (offset / blockSize);
+  }
+
+  private long link(final int ordinal, final IMeasurementMNode<?> measurementMNode) {
+    long memorySize = 0;
+    if (ordinal >= nodes.length) {
+      final int newLength = Math.max(ordinal + 1, nodes.length + (nodes.length >> 1));
+      memorySize += (long) (newLength - nodes.length) * RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+      nodes = Arrays.copyOf(nodes, newLength);
+    }
+    nodes[ordinal] = measurementMNode;
+    return memorySize;
+  }
+
+  private CompressedBitmap internalEvaluate(final SchemaFilter filter) {
+    switch (filter.getSchemaFilterType()) {
+      case TAGS_FILTER:
+        return match((TagFilter) filter);
+      case AND:
+        return evaluateAnd((AndFilter) filter);
+      case OR:
+        return evaluateOr((OrFilter) filter);
+      default:
+        return null;
+    }
+  }
+
+  private CompressedBitmap evaluateAnd(final AndFilter filter) {
+    CompressedBitmap result = null;
+    final List<CompressedBitmap> excluded = new ArrayList<>();
+    for (final SchemaFilter child : filter.getChildren()) {
+      if (child.getSchemaFilterType() == SchemaFilterType.NOT
+          && ((NotFilter) child).getChild().getSchemaFilterType()
+              == SchemaFilterType.TAGS_FILTER) {
+        // only the tag filters are exact and can be subtracted
+        excluded.add(match((TagFilter) ((NotFilter) child).getChild()));
+        continue;
+      }
+      final CompressedBitmap childResult = internalEvaluate(child);
+      if (childResult != null) {
+        result = result == null ? childResult : result.and(childResult);
+      }
+    }
+    if (result == null) {
+      return null;
+    }
+    for (final CompressedBitmap bitmap : excluded) {
+      result = result.andNot(bitmap);
+    }
+    return result;
+  }
+
+  private CompressedBitmap evaluateOr(final OrFilter filter) {
+    CompressedBitmap result = new CompressedBitmap();
+    for (final SchemaFilter child : filter.getChildren()) {
+      final CompressedBitmap childResult = internalEvaluate(child);
+      if (childResult == null) {
+        return null;
+      }
+      result = result.or(childResult);
+    }
+    return result;
+  }
+
+  private CompressedBitmap match(final TagFilter tagFilter) {
+    final Map<String, CompressedBitmap> valueMap = index.get(tagFilter.getKey());
+    if (valueMap == null) {
+      return new CompressedBitmap();
+    }
+    if (!tagFilter.isContains()) {
+      final CompressedBitmap bitmap = valueMap.get(tagFilter.getValue());
+      return bitmap == null ? new CompressedBitmap() : bitmap.copy();
+    }
+    CompressedBitmap result = new CompressedBitmap();
+    for (final Map.Entry<String, CompressedBitmap> entry : valueMap.entrySet()) {
+      if (entry.getKey().contains(tagFilter.getValue())) {
+        result = result.or(entry.getValue());
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,613 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.tag;
+
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed bitmap of non-negative ints. The ints are split by the high 16 bits into chunks,
+ * each chunk keeps the low 16 bits either in a sorted char array when it is sparse, or in a plain
+ * bitmap of 2^16 bits when it holds more than {@link #ARRAY_MAX_SIZE} ints. This is the same
+ * layout as the Roaring bitmap, which keeps the memory of both sparse and dense sets close to the
+ * minimum and makes the set operations work chunk by chunk.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class CompressedBitmap {
+
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(CompressedBitmap.class);
+
+  static final int ARRAY_MAX_SIZE = 4096;
+  private static final int BITMAP_WORDS = 1 << 10;
+
+  private static final char[] EMPTY_KEYS = new char[0];
+  private static final Container[] EMPTY_CONTAINERS = new Container[0];
+
+  // high 16 bits of the ints, sorted
+  private char[] keys;
+  private Container[] containers;
+  private int size;
+
+  public CompressedBitmap() {
+    this(EMPTY_KEYS, EMPTY_CONTAINERS, 0);
+  }
+
+  private CompressedBitmap(final char[] keys, final Container[] containers, final int size) {
+    this.keys = keys;
+    this.containers = containers;
+    this.size = size;
+  }
+
+  /** Return true if the value is not in the bitmap before. */
+  public boolean add(final int value) {
+    checkValue(value);
+    final char high = (char) (value >>> 16);
+    final char low = (char) value;
+    final int index = Arrays.binarySearch(keys, 0, size, high);
+    if (index >= 0) {
+      final Container container = containers[index];
+      final int oldCardinality = container.cardinality();
+      containers[index] = container.add(low);
+      return containers[index].cardinality() != oldCardinality;
+    }
+    final ArrayContainer container = new ArrayContainer(new char[] {low}, 1);
+    insert(-index - 1, high, container);
+    return true;
+  }
+
+  /** Return true if the value is in the bitmap before. */
+  public boolean remove(final int value) {
+    if (value < 0) {
+      return false;
+    }
+    final int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+    if (index < 0) {
+      return false;
+    }
+    final Container container = containers[index];
+    final int oldCardinality = container.cardinality();
+    final Container newContainer = container.remove((char) value);
+    if (newContainer.cardinality() == 0) {
+      System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+      System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+      containers[--size] = null;
+    } else {
+      containers[index] = newContainer;
+    }
+    return newContainer.cardinality() != oldCardinality;
+  }
+
+  public boolean contains(final int value) {
+    if (value < 0) {
+      return false;
+    }
+    final int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+    return index >= 0 && containers[index].contains((char) value);
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public long getCardinality() {
+    long cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      cardinality += containers[i].cardinality();
+    }
+    return cardinality;
+  }
+
+  /** Call the consumer with every value in ascending order. */
+  public void forEach(final IntConsumer consumer) {
+    for (int i = 0; i < size; i++) {
+      containers[i].forEach(keys[i] << 16, consumer);
+    }
+  }
+
+  public CompressedBitmap copy() {
+    final CompressedBitmap result = new CompressedBitmap(new char[size], new Container[size], size);
+    System.arraycopy(keys, 0, result.keys, 0, size);
+    for (int i = 0; i < size; i++) {
+      result.containers[i] = containers[i].copy();
+    }
+    return result;
+  }
+
+  /** Return the intersection of the two bitmaps, both of them are left unchanged. */
+  public CompressedBitmap and(final CompressedBitmap other) {
+    final int capacity = Math.min(size, other.size);
+    final CompressedBitmap result =
+        new CompressedBitmap(new char[capacity], new Container[capacity], 0);
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        result.append(keys[i], containers[i].and(other.containers[j]));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /** Return the union of the two bitmaps, both of them are left unchanged. */
+  public CompressedBitmap or(final CompressedBitmap other) {
+    final int capacity = size + other.size;
+    final CompressedBitmap result =
+        new CompressedBitmap(new char[capacity], new Container[capacity], 0);
+    int i = 0;
+    int j = 0;
+    while (i < size || j < other.size) {
+      if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+        result.append(keys[i], containers[i].copy());
+        i++;
+      } else if (i == size || keys[i] > other.keys[j]) {
+        result.append(other.keys[j], other.containers[j].copy());
+        j++;
+      } else {
+        result.append(keys[i], containers[i].or(other.containers[j]));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /** Return the values in this bitmap but not in the other one, both are left unchanged. */
+  public CompressedBitmap andNot(final CompressedBitmap other) {
+    final CompressedBitmap result = new CompressedBitmap(new char[size], new Container[size], 0);
+    int j = 0;
+    for (int i = 0; i < size; i++) {
+      while (j < other.size && other.keys[j] < keys[i]) {
+        j++;
+      }
+      if (j < other.size && other.keys[j] == keys[i]) {
+        result.append(keys[i], containers[i].andNot(other.containers[j]));
+      } else {
+        result.append(keys[i], containers[i].copy());
+      }
+    }
+    return result;
+  }
+
+  public long ramBytesUsed() {
+    long memory =
+        INSTANCE_SIZE
+            + RamUsageEstimator.sizeOf(keys)
+            + RamUsageEstimator.shallowSizeOf(containers);
+    for (int i = 0; i < size; i++) {
+      memory += containers[i].ramBytesUsed();
+    }
+    return memory;
+  }
+
+  public void serialize(final OutputStream outputStream) throws IOException {
+    ReadWriteIOUtils.write(size, outputStream);
+    for (int i = 0; i < size; i++) {
+      ReadWriteIOUtils.write((short) keys[i], outputStream);
+      containers[i].serialize(outputStream);
+    }
+  }
+
+  public static CompressedBitmap deserialize(final InputStream inputStream) throws IOException {
+    final int size = ReadWriteIOUtils.readInt(inputStream);
+    final CompressedBitmap result = new CompressedBitmap(new char[size], new Container[size], 0);
+    for (int i = 0; i < size; i++) {
+      final char key = (char) ReadWriteIOUtils.readShort(inputStream);
+      final int cardinality = ReadWriteIOUtils.readInt(inputStream);
+      if (cardinality <= ARRAY_MAX_SIZE) {
+        final char[] values = new char[cardinality];
+        for (int k = 0; k < cardinality; k++) {
+          values[k] = (char) ReadWriteIOUtils.readShort(inputStream);
+        }
+        result.append(key, new ArrayContainer(values, cardinality));
+      } else {
+        final long[] words = new long[BITMAP_WORDS];
+        for (int k = 0; k < BITMAP_WORDS; k++) {
+          words[k] = ReadWriteIOUtils.readLong(inputStream);
+        }
+        result.append(key, new BitmapContainer(words, cardinality));
+      }
+    }
+    return result;
+  }
+
+  private static void checkValue(final int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Negative value " + value + " is not supported.");
+    }
+  }
+
+  private void insert(final int index, final char key, final Container container) {
+    if (size == keys.length) {
+      final int newCapacity = Math.max(4, size + (size >> 1));
+      keys = Arrays.copyOf(keys, newCapacity);
+      containers = Arrays.copyOf(containers, newCapacity);
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(containers, index, containers, index + 1, size - index);
+    keys[index] = key;
+    containers[index] = container;
+    size++;
+  }
+
+  /** Append a container with the largest key, the empty ones are dropped. */
+  private void append(final char key, final Container container) {
+    if (container.cardinality() == 0) {
+      return;
+    }
+    insert(size, key, container);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CompressedBitmap)) {
+      return false;
+    }
+    final CompressedBitmap that = (CompressedBitmap) o;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (keys[i] != that.keys[i] || !containers[i].equals(that.containers[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    final int[] hash = {size};
+    forEach(value -> hash[0] = 31 * hash[0] + value);
+    return hash[0];
+  }
+
+  private abstract static class Container {
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    /** Add the value, the container may be converted and the returned one shall be used. */
+    abstract Container add(char value);
+
+    /** Remove the value, the container may be converted and the returned one shall be used. */
+    abstract Container remove(char value);
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract Container copy();
+
+    abstract void forEach(int high, IntConsumer consumer);
+
+    abstract long ramBytesUsed();
+
+    abstract void serialize(OutputStream outputStream) throws IOException;
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof Container)) {
+        return false;
+      }
+      final Container that = (Container) o;
+      if (cardinality() != that.cardinality()) {
+        return false;
+      }
+      final boolean[] equal = {true};
+      forEach(0, value -> equal[0] &= that.contains((char) value));
+      return equal[0];
+    }
+
+    @Override
+    public int hashCode() {
+      return cardinality();
+    }
+  }
+
+  private static class ArrayContainer extends Container {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(ArrayContainer.class);
+
+    private char[] values;
+    private int cardinality;
+
+    private ArrayContainer(final char[] values, final int cardinality) {
+      this.values = values;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(final char value) {
+      return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Container add(final char value) {
+      final int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        return this;
+      }
+      if (cardinality == ARRAY_MAX_SIZE) {
+        return toBitmapContainer().add(value);
+      }
+      if (cardinality == values.length) {
+        values =
+            Arrays.copyOf(values, Math.min(ARRAY_MAX_SIZE, cardinality + (cardinality >> 1) + 1));
+      }
+      final int position = -index - 1;
+      System.arraycopy(values, position, values, position + 1, cardinality - position);
+      values[position] = value;
+      cardinality++;
+      return this;
+    }
+
+    @Override
+    Container remove(final char value) {
+      final int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+        cardinality--;
+        if (cardinality < values.length >> 1) {
+          values = Arrays.copyOf(values, cardinality);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    Container and(final Container other) {
+      final char[] result = new char[Math.min(cardinality, other.cardinality())];
+      int count = 0;
+      for (int i = 0; i < cardinality; i++) {
+        if (other.contains(values[i])) {
+          result[count++] = values[i];
+        }
+      }
+      return new ArrayContainer(result, count);
+    }
+
+    @Override
+    Container or(final Container other) {
+      if (other instanceof BitmapContainer) {
+        return other.or(this);
+      }
+      final ArrayContainer that = (ArrayContainer) other;
+      final char[] result = new char[cardinality + that.cardinality];
+      int i = 0;
+      int j = 0;
+      int count = 0;
+      while (i < cardinality || j < that.cardinality) {
+        if (j == that.cardinality || (i < cardinality && values[i] < that.values[j])) {
+          result[count++] = values[i++];
+        } else if (i == cardinality || values[i] > that.values[j]) {
+          result[count++] = that.values[j++];
+        } else {
+          result[count++] = values[i++];
+          j++;
+        }
+      }
+      final ArrayContainer container = new ArrayContainer(result, count);
+      return count > ARRAY_MAX_SIZE ? container.toBitmapContainer() : container;
+    }
+
+    @Override
+    Container andNot(final Container other) {
+      final char[] result = new char[cardinality];
+      int count = 0;
+      for (int i = 0; i < cardinality; i++) {
+        if (!other.contains(values[i])) {
+          result[count++] = values[i];
+        }
+      }
+      return new ArrayContainer(result, count);
+    }
+
+    @Override
+    Container copy() {
+      return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+    }
+
+    @Override
+    void forEach(final int high, final IntConsumer consumer) {
+      for (int i = 0; i < cardinality; i++) {
+        consumer.accept(high | values[i]);
+      }
+    }
+
+    @Override
+    long ramBytesUsed() {
+      return INSTANCE_SIZE + RamUsageEstimator.sizeOf(values);
+    }
+
+    @Override
+    void serialize(final OutputStream outputStream) throws IOException {
+      ReadWriteIOUtils.write(cardinality, outputStream);
+      for (int i = 0; i < cardinality; i++) {
+        ReadWriteIOUtils.write((short) values[i], outputStream);
+      }
+    }
+
+    private BitmapContainer toBitmapContainer() {
+      final long[] words = new long[BITMAP_WORDS];
+      for (int i = 0; i < cardinality; i++) {
+        words[values[i] >>> 6] |= 1L << values[i];
+      }
+      return new BitmapContainer(words, cardinality);
+    }
+  }
+
+  private static class BitmapContainer extends Container {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(BitmapContainer.class);
+
+    private final long[] words;
+    private int cardinality;
+
+    private BitmapContainer(final long[] words, final int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(final char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    Container add(final char value) {
+      final long word = words[value >>> 6];
+      final long newWord = word | (1L << value);
+      if (word != newWord) {
+        words[value >>> 6] = newWord;
+        cardinality++;
+      }
+      return this;
+    }
+
+    @Override
+    Container remove(final char value) {
+      final long word = words[value >>> 6];
+      final long newWord = word & ~(1L << value);
+      if (word != newWord) {
+        words[value >>> 6] = newWord;
+        cardinality--;
+      }
+      return cardinality <= ARRAY_MAX_SIZE ? toArrayContainer() : this;
+    }
+
+    @Override
+    Container and(final Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.and(this);
+      }
+      final long[] otherWords = ((BitmapContainer) other).words;
+      final long[] result = new long[BITMAP_WORDS];
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] = words[i] & otherWords[i];
+      }
+      return normalize(result);
+    }
+
+    @Override
+    Container or(final Container other) {
+      final long[] result = Arrays.copyOf(words, BITMAP_WORDS);
+      if (other instanceof ArrayContainer) {
+        other.forEach(0, value -> result[value >>> 6] |= 1L << value);
+      } else {
+        final long[] otherWords = ((BitmapContainer) other).words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          result[i] |= otherWords[i];
+        }
+      }
+      return normalize(result);
+    }
+
+    @Override
+    Container andNot(final Container other) {
+      final long[] result = Arrays.copyOf(words, BITMAP_WORDS);
+      if (other instanceof ArrayContainer) {
+        other.forEach(0, value -> result[value >>> 6] &= ~(1L << value));
+      } else {
+        final long[] otherWords = ((BitmapContainer) other).words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          result[i] &= ~otherWords[i];
+        }
+      }
+      return normalize(result);
+    }
+
+    @Override
+    Container copy() {
+      return new BitmapContainer(Arrays.copyOf(words, BITMAP_WORDS), cardinality);
+    }
+
+    @Override
+    void forEach(final int high, final IntConsumer consumer) {
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        long word = words[i];
+        while (word != 0) {
+          consumer.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+    }
+
+    @Override
+    long ramBytesUsed() {
+      return INSTANCE_SIZE + RamUsageEstimator.sizeOf(words);
+    }
+
+    @Override
+    void serialize(final OutputStream outputStream) throws IOException {
+      ReadWriteIOUtils.write(cardinality, outputStream);
+      for (final long word : words) {
+        ReadWriteIOUtils.write(word, outputStream);
+      }
+    }
+
+    private ArrayContainer toArrayContainer() {
+      final char[] values = new char[cardinality];
+      final int[] count = {0};
+      forEach(0, value -> values[count[0]++] = (char) value);
+      return new ArrayContainer(values, cardinality);
+    }
+
+    private static Container normalize(final long[] words) {
+      int cardinality = 0;
+      for (final long word : words) {
+        cardinality += Long.bitCount(word);
+      }
+      final BitmapContainer container = new BitmapContainer(words, cardinality);
+      return cardinality <= ARRAY_MAX_SIZE ? container.toArrayContainer() : container;
+    }
+  }
+}
@@ -26,8 +26,6 @@ import org.apache.iotdb.commons.file.SystemFileFactory;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.schema.SchemaConstant;
 import org.apache.iotdb.commons.schema.filter.SchemaFilter;
-import org.apache.iotdb.commons.schema.filter.SchemaFilterType;
-import org.apache.iotdb.commons.schema.filter.impl.TagFilter;
 import org.apache.iotdb.commons.schema.node.IMNode;
 import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
 import org.apache.iotdb.commons.schema.tree.SchemaIterator;
@@ -41,25 +39,21 @@ import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.reader.impl.Schem
 import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.reader.impl.TimeseriesReaderWithViewFetch;
 
 import org.apache.tsfile.utils.Pair;
-import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.nio.file.Files;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-
-import static java.util.stream.Collectors.toList;
 
 public class TagManager {
 
@@ -74,9 +68,9 @@ public class TagManager {
   private static final CommonConfig COMMON_CONFIG = CommonDescriptor.getInstance().getConfig();
 
   private TagLogFile tagLogFile;
-  // tag key -> tag value -> LeafMNode
-  private final Map<String, Map<String, Set<IMeasurementMNode<?>>>> tagIndex =
-      new ConcurrentHashMap<>();
+  // tag key -> tag value -> ordinals of LeafMNode
+  private final BitmapTagIndex tagIndex =
+      new BitmapTagIndex(COMMON_CONFIG.getTagAttributeTotalSize());
 
   private final MemSchemaRegionStatistics regionStatistics;
 
@@ -110,7 +104,8 @@ public class TagManager {
         return false;
       }
 
-      return true;
+      return createIndexSnapshot(
+          targetDir, tagLogSnapshot.length() / COMMON_CONFIG.getTagAttributeTotalSize());
     } catch (final IOException e) {
       logger.error("Failed to create tagManager snapshot due to {}", e.getMessage(), e);
       if (!FileUtils.deleteFileIfExist(tagLogSnapshot)) {
@@ -126,6 +121,45 @@ public class TagManager {
     }
   }
 
+  /**
+   * Persist the tag index along with the tag log, so that the recovery from snapshot can relink the
+   * nodes to the index without reading the tags of every node from the tag log.
+   */
+  private boolean createIndexSnapshot(final File targetDir, final long blockCount) {
+    final File indexSnapshot =
+        SystemFileFactory.INSTANCE.getFile(targetDir, SchemaConstant.TAG_INDEX_SNAPSHOT);
+    final File indexSnapshotTmp =
+        SystemFileFactory.INSTANCE.getFile(targetDir, SchemaConstant.TAG_INDEX_SNAPSHOT_TMP);
+    try {
+      try (final BufferedOutputStream outputStream =
+          new BufferedOutputStream(Files.newOutputStream(indexSnapshotTmp.toPath()))) {
+        ReadWriteIOUtils.write(blockCount, outputStream);
+        tagIndex.serialize(outputStream);
+      }
+      if (indexSnapshot.exists() && !FileUtils.deleteFileIfExist(indexSnapshot)) {
+        logger.warn(
+            "Failed to delete old snapshot {} while creating tagManager snapshot.",
+            indexSnapshot.getName());
+        return false;
+      }
+      if (!indexSnapshotTmp.renameTo(indexSnapshot)) {
+        logger.warn(
+            "Failed to rename {} to {} while creating tagManager snapshot.",
+            indexSnapshotTmp.getName(),
+            indexSnapshot.getName());
+        return false;
+      }
+      return true;
+    } catch (final IOException e) {
+      logger.error("Failed to create tag index snapshot due to {}", e.getMessage(), e);
+      return false;
+    } finally {
+      if (!FileUtils.deleteFileIfExist(indexSnapshotTmp)) {
+        logger.warn("Failed to delete {}.", indexSnapshotTmp.getName());
+      }
+    }
+  }
+
   public static TagManager loadFromSnapshot(
       File snapshotDir, String sgSchemaDirPath, MemSchemaRegionStatistics regionStatistics)
       throws IOException {
@@ -138,7 +172,9 @@ public class TagManager {
 
     try {
       org.apache.tsfile.external.commons.io.FileUtils.copyFile(tagSnapshot, tagFile);
-      return new TagManager(sgSchemaDirPath, regionStatistics);
+      final TagManager tagManager = new TagManager(sgSchemaDirPath, regionStatistics);
+      tagManager.loadIndexSnapshot(snapshotDir);
+      return tagManager;
     } catch (IOException e) {
       if (!tagFile.delete()) {
         logger.warn(
@@ -148,50 +184,71 @@ public class TagManager {
     }
   }
 
+  private void loadIndexSnapshot(final File snapshotDir) {
+    final File indexSnapshot =
+        SystemFileFactory.INSTANCE.getFile(snapshotDir, SchemaConstant.TAG_INDEX_SNAPSHOT);
+    // the snapshots taken by the old versions have no index, which will be rebuilt from tag log
+    if (!indexSnapshot.exists()) {
+      return;
+    }
+    try (final BufferedInputStream inputStream =
+        new BufferedInputStream(Files.newInputStream(indexSnapshot.toPath()))) {
+      final long memorySize =
+          tagIndex.deserialize(inputStream, ReadWriteIOUtils.readLong(inputStream));
+      if (memorySize < 0) {
+        logger.info("The tag index snapshot is incompatible with the tag log, rebuild it.");
+        tagIndex.clear();
+        return;
+      }
+      requestMemory(memorySize);
+    } catch (final IOException e) {
+      logger.warn(
+          "Failed to load tag index snapshot due to {}, rebuild it from the tag log.",
+          e.getMessage(),
+          e);
+      tagIndex.clear();
+    }
+  }
+
   public boolean recoverIndex(long offset, IMeasurementMNode<?> measurementMNode)
       throws IOException {
+    // the index loaded from snapshot already has the tags of the measurement
+    final long memorySize = tagIndex.relink(offset, measurementMNode);
+    if (memorySize >= 0) {
+      requestMemory(memorySize);
+      return tagIndex.isRecoveredWithTags(offset);
+    }
     Map<String, String> tags = tagLogFile.readTag(offset);
     if (tags == null || tags.isEmpty()) {
       return false;
     } else {
-      addIndex(tags, measurementMNode);
+      for (Map.Entry<String, String> entry : tags.entrySet()) {
+        requestMemory(tagIndex.add(entry.getKey(), entry.getValue(), offset, measurementMNode));
+      }
       return true;
     }
   }
 
+  /** Release the states only used when recovering the index from snapshot. */
+  public void finishRecovery() {
+    tagIndex.finishRecovery();
+  }
+
   public void addIndex(String tagKey, String tagValue, IMeasurementMNode<?> measurementMNode) {
     if (tagKey == null || tagValue == null || measurementMNode == null) {
       return;
     }
-
-    int tagIndexOldSize = tagIndex.size();
-    Map<String, Set<IMeasurementMNode<?>>> tagValueMap =
-        tagIndex.computeIfAbsent(tagKey, k -> new ConcurrentHashMap<>());
-    int tagIndexNewSize = tagIndex.size();
-
-    int tagValueMapOldSize = tagValueMap.size();
-    Set<IMeasurementMNode<?>> measurementsSet =
-        tagValueMap.computeIfAbsent(tagValue, v -> Collections.synchronizedSet(new HashSet<>()));
-    int tagValueMapNewSize = tagValueMap.size();
-
-    int measurementsSetOldSize = measurementsSet.size();
-    measurementsSet.add(measurementMNode);
-    int measurementsSetNewSize = measurementsSet.size();
-
-    long memorySize = 0;
-    if (tagIndexNewSize - tagIndexOldSize == 1) {
-      // the last 4 is the memory occupied by the size of tagvaluemap
-      memorySize += RamUsageEstimator.sizeOf(tagKey) + 4;
-    }
-    if (tagValueMapNewSize - tagValueMapOldSize == 1) {
-      // the last 4 is the memory occupied by the size of measurementsSet
-      memorySize += RamUsageEstimator.sizeOf(tagValue) + 4;
-    }
-    if (measurementsSetNewSize - measurementsSetOldSize == 1) {
-      // 8 is the memory occupied by the length of the IMeasurementMNode
-      memorySize += RamUsageEstimator.NUM_BYTES_OBJECT_REF + 4;
+    if (measurementMNode.getOffset() < 0) {
+      // the index is keyed by the offset in tag file, which shall be written before indexing
+      logger.warn(
+          "TimeSeries {} has no record in tag file, skip indexing tag {}={}.",
+          measurementMNode.getFullPath(),
+          tagKey,
+          tagValue);
+      return;
     }
-    requestMemory(memorySize);
+    requestMemory(
+        tagIndex.add(tagKey, tagValue, measurementMNode.getOffset(), measurementMNode));
   }
 
   public void addIndex(Map<String, String> tagsMap, IMeasurementMNode<?> measurementMNode) {
@@ -206,75 +263,39 @@ public class TagManager {
     if (tagKey == null || tagValue == null || measurementMNode == null) {
       return;
     }
-    // init memory size
-    long memorySize = 0;
-    if (tagIndex.get(tagKey).get(tagValue).remove(measurementMNode)) {
-      memorySize += RamUsageEstimator.NUM_BYTES_OBJECT_REF + 4;
-    }
-    if (tagIndex.get(tagKey).get(tagValue).isEmpty()) {
-      if (tagIndex.get(tagKey).remove(tagValue) != null) {
-        // the last 4 is the memory occupied by the size of IMeasurementMNodeSet
-        memorySize += RamUsageEstimator.sizeOf(tagValue) + 4;
-      }
-    }
-    if (tagIndex.get(tagKey).isEmpty()) {
-      if (tagIndex.remove(tagKey) != null) {
-        // the last 4 is the memory occupied by the size of tagValueMap
-        memorySize += RamUsageEstimator.sizeOf(tagKey) + 4;
-      }
-    }
-    releaseMemory(memorySize);
+    releaseMemory(-tagIndex.remove(tagKey, tagValue, measurementMNode.getOffset()));
   }
 
-  private List<IMeasurementMNode<?>> getMatchedTimeseriesInIndex(TagFilter tagFilter) {
-    if (!tagIndex.containsKey(tagFilter.getKey())) {
-      return Collections.emptyList();
-    }
-    Map<String, Set<IMeasurementMNode<?>>> value2Node = tagIndex.get(tagFilter.getKey());
-    if (value2Node.isEmpty()) {
-      return Collections.emptyList();
-    }
-
-    List<IMeasurementMNode<?>> allMatchedNodes = new ArrayList<>();
-    if (tagFilter.isContains()) {
-      for (Map.Entry<String, Set<IMeasurementMNode<?>>> entry : value2Node.entrySet()) {
-        if (entry.getKey() == null || entry.getValue() == null) {
-          continue;
-        }
-        String tagValue = entry.getKey();
-        if (tagValue.contains(tagFilter.getValue())) {
-          allMatchedNodes.addAll(entry.getValue());
-        }
-      }
-    } else {
-      for (Map.Entry<String, Set<IMeasurementMNode<?>>> entry : value2Node.entrySet()) {
-        if (entry.getKey() == null || entry.getValue() == null) {
-          continue;
-        }
-        String tagValue = entry.getKey();
-        if (tagFilter.getValue().equals(tagValue)) {
-          allMatchedNodes.addAll(entry.getValue());
-        }
-      }
-    }
-    // we just sort them by the alphabetical order
-    allMatchedNodes =
-        allMatchedNodes.stream()
-            .sorted(Comparator.comparing(IMNode::getFullPath))
-            .collect(toList());
-
-    return allMatchedNodes;
+  /**
+   * Estimate the number of timeseries matching the filter with the tag index, without reading the
+   * nodes or the tag file.
+   *
+   * @return the estimated number, or -1 if the filter cannot be answered by the tag index
+   */
+  public long estimateMatchedTimeseriesCount(final SchemaFilter schemaFilter) {
+    return tagIndex.estimateCardinality(schemaFilter);
   }
 
+  /**
+   * Get the reader of the timeseries matching the plan with the tag index.
+   *
+   * @return the reader, or null if the schema filter of the plan cannot be narrowed by the tag
+   *     index, e.g. a disjunction of a tag filter and a path filter, and the tree shall be
+   *     traversed
+   */
   public ISchemaReader<ITimeSeriesSchemaInfo> getTimeSeriesReaderWithIndex(
       final IShowTimeSeriesPlan plan) {
     // schemaFilter must not null
     final SchemaFilter schemaFilter = plan.getSchemaFilter();
-    // currently, only one TagFilter is supported
-    // all IMeasurementMNode in allMatchedNodes satisfied TagFilter
+    final CompressedBitmap candidates = tagIndex.evaluate(schemaFilter);
+    if (candidates == null) {
+      return null;
+    }
+    // the candidates may be a superset, the filter will be applied again by the reader, and we
+    // just sort them by the alphabetical order
     final Iterator<IMeasurementMNode<?>> allMatchedNodes =
-        getMatchedTimeseriesInIndex(
-                (TagFilter) SchemaFilter.extract(schemaFilter, SchemaFilterType.TAGS_FILTER).get(0))
+        tagIndex.getMeasurements(candidates).stream()
+            .sorted(Comparator.comparing(IMNode::getFullPath))
             .iterator();
     final PartialPath pathPattern = plan.getPath();
     final SchemaIterator<ITimeSeriesSchemaInfo> schemaIterator =
@@ -360,10 +381,10 @@ public class TagManager {
       return;
     }
     Map<String, String> tagMap = tagLogFile.readTag(node.getOffset());
+    tagIndex.unlink(node.getOffset(), node);
     if (tagMap != null) {
       for (Map.Entry<String, String> entry : tagMap.entrySet()) {
-        if (tagIndex.containsKey(entry.getKey())
-            && tagIndex.get(entry.getKey()).containsKey(entry.getValue())) {
+        if (tagIndex.contains(entry.getKey(), entry.getValue())) {
           if (logger.isDebugEnabled()) {
             logger.debug(
                 String.format(
@@ -416,7 +437,7 @@ public class TagManager {
         // we should remove before key-value from inverted index map
         if (beforeValue != null && !beforeValue.equals(value)) {
 
-          if (tagIndex.containsKey(key) && tagIndex.get(key).containsKey(beforeValue)) {
+          if (tagIndex.contains(key, beforeValue)) {
             if (logger.isDebugEnabled()) {
               logger.debug(
                   String.format(
@@ -549,8 +570,7 @@ public class TagManager {
 
     if (!deleteTag.isEmpty()) {
       for (Map.Entry<String, String> entry : deleteTag.entrySet()) {
-        if (tagIndex.containsKey((entry.getKey()))
-            && tagIndex.get(entry.getKey()).containsKey(entry.getValue())) {
+        if (tagIndex.contains(entry.getKey(), entry.getValue())) {
           if (logger.isDebugEnabled()) {
             logger.debug(
                 String.format(
@@ -619,7 +639,7 @@ public class TagManager {
       String beforeValue = entry.getValue();
       String currentValue = newTagValue.get(key);
       // change the tag inverted index map
-      if (tagIndex.containsKey(key) && tagIndex.get(key).containsKey(beforeValue)) {
+      if (tagIndex.contains(key, beforeValue)) {
 
         if (logger.isDebugEnabled()) {
           logger.debug(
@@ -677,7 +697,7 @@ public class TagManager {
       // persist the change to disk
       tagLogFile.write(pair.left, pair.right, leafMNode.getOffset());
       // change the tag inverted index map
-      if (tagIndex.containsKey(oldKey) && tagIndex.get(oldKey).containsKey(value)) {
+      if (tagIndex.contains(oldKey, value)) {
 
         if (logger.isDebugEnabled()) {
           logger.debug(
@@ -30,6 +30,7 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
 import com.github.benmanes.caffeine.cache.Weigher;
 import org.apache.tsfile.read.TsFileSequenceReader;
 import org.apache.tsfile.utils.BloomFilter;
@@ -39,7 +40,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.LongConsumer;
 
@@ -53,7 +53,6 @@ public class BloomFilterCache {
       IoTDBDescriptor.getInstance().getMemoryConfig();
   private static final IMemoryBlock CACHE_MEMORY_BLOCK;
   private static final boolean CACHE_ENABLE = MEMORY_CONFIG.isMetaDataCacheEnable();
-  private final AtomicLong entryAverageSize = new AtomicLong(0);
 
   private final Cache<BloomFilterCacheKey, BloomFilter> lruCache;
 
@@ -62,8 +61,6 @@ public class BloomFilterCache {
         MEMORY_CONFIG
             .getBloomFilterCacheMemoryManager()
             .exactAllocate("BloomFilterCache", MemoryBlockType.STATIC);
-    // TODO @spricoder: find a way to get the size of the BloomFilterCache
-    CACHE_MEMORY_BLOCK.allocate(CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes());
   }
 
   private BloomFilterCache() {
@@ -73,14 +70,31 @@ public class BloomFilterCache {
     lruCache =
         Caffeine.newBuilder()
             .maximumWeight(CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes())
+            // The used memory of the memory block is the total weight of the cached entries, the
+            // weigher is called once for each put entry and the listener once for each removed one
             .weigher(
                 (Weigher<BloomFilterCacheKey, BloomFilter>)
-                    (key, bloomFilter) ->
-                        (int) (key.getRetainedSizeInBytes() + bloomFilter.getRetainedSizeInBytes()))
+                    (key, bloomFilter) -> {
+                      int weight = weigh(key, bloomFilter);
+                      CACHE_MEMORY_BLOCK.forceAllocateWithoutLimitation(weight);
+                      return weight;
+                    })
+            .removalListener(
+                (RemovalListener<BloomFilterCacheKey, BloomFilter>)
+                    (key, bloomFilter, cause) -> {
+                      if (key != null && bloomFilter != null) {
+                        CACHE_MEMORY_BLOCK.release(weigh(key, bloomFilter));
+                      }
+                    })
+            .executor(Runnable::run)
             .recordStats()
             .build();
   }
 
+  private static int weigh(BloomFilterCacheKey key, BloomFilter bloomFilter) {
+    return (int) (key.getRetainedSizeInBytes() + bloomFilter.getRetainedSizeInBytes());
+  }
+
   public static BloomFilterCache getInstance() {
     return BloomFilterCacheHolder.INSTANCE;
   }
@@ -138,8 +152,13 @@ public class BloomFilterCache {
     return lruCache.stats().averageLoadPenalty();
   }
 
+  public long getUsedMemory() {
+    return CACHE_MEMORY_BLOCK.getUsedMemoryInBytes();
+  }
+
   public long getAverageSize() {
-    return entryAverageSize.get();
+    long entryCount = lruCache.estimatedSize();
+    return entryCount > 0 ? CACHE_MEMORY_BLOCK.getUsedMemoryInBytes() / entryCount : 0;
   }
 
   /** clear LRUCache. */
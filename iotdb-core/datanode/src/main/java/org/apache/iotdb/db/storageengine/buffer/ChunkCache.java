@@ -25,6 +25,7 @@ import org.apache.iotdb.commons.memory.MemoryBlockType;
 import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.ChunkCacheMetrics;
@@ -35,6 +36,10 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.common.bitStream.ByteBufferBackedInputStream;
+import org.apache.tsfile.encrypt.EncryptParameter;
+import org.apache.tsfile.file.header.ChunkHeader;
+import org.apache.tsfile.file.metadata.IChunkMetadata;
 import org.apache.tsfile.file.metadata.statistics.Statistics;
 import org.apache.tsfile.read.TsFileSequenceReader;
 import org.apache.tsfile.read.common.Chunk;
@@ -44,10 +49,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.LongConsumer;
+import java.util.function.Predicate;
 
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.READ_CHUNK_CACHE;
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.READ_CHUNK_FILE;
@@ -183,6 +197,146 @@ public class ChunkCache {
     }
   }
 
+  /**
+   * Get the chunks of the same TsFile like {@link #get}, while the chunks which are not cached are
+   * read by coalesced reads, together with the candidates close to them, see {@link
+   * CoalescedChunkLoader}.
+   *
+   * @param chunkCacheKeys the keys of the chunks, which belong to the same TsFile
+   * @param chunkMetadataList the metadata of the chunks, in the order of the keys
+   * @param candidates the chunks of the TsFile which may be read and cached together, or null
+   */
+  public List<Chunk> getAll(
+      List<ChunkCacheKey> chunkCacheKeys,
+      List<IChunkMetadata> chunkMetadataList,
+      CoalescedChunkCandidates candidates,
+      QueryContext queryContext)
+      throws IOException {
+    long startTime = System.nanoTime();
+    CoalescedChunkLoader chunkLoader =
+        new CoalescedChunkLoader(
+            chunkCacheKeys,
+            chunkMetadataList,
+            // the chunks other than the requested ones are useless if they are not cached
+            CACHE_ENABLE ? candidates : null,
+            lruCache.asMap()::containsKey,
+            queryContext.getQueryStatistics().getLoadChunkActualIOSize()::addAndGet);
+    try {
+      Map<ChunkCacheKey, Chunk> chunks =
+          CACHE_ENABLE
+              ? lruCache.getAll(chunkCacheKeys, chunkLoader)
+              : chunkLoader.apply(chunkCacheKeys);
+
+      if (queryContext.isDebug()) {
+        DEBUG_LOGGER.info("get chunks from cache whose keys are: {}", chunkCacheKeys);
+      }
+
+      List<Chunk> result = new ArrayList<>(chunkCacheKeys.size());
+      for (int i = 0; i < chunkCacheKeys.size(); i++) {
+        IChunkMetadata chunkMetadata = chunkMetadataList.get(i);
+        result.add(
+            constructChunk(
+                chunks.get(chunkCacheKeys.get(i)),
+                chunkMetadata.getDeleteIntervalList(),
+                chunkMetadata.getStatistics()));
+      }
+      return result;
+    } catch (IoTDBIORuntimeException e) {
+      throw e.getCause();
+    } finally {
+      queryContext
+          .getQueryStatistics()
+          .getLoadChunkFromDiskCount()
+          .addAndGet(chunkLoader.getLoadedCount());
+      queryContext
+          .getQueryStatistics()
+          .getLoadChunkFromCacheCount()
+          .addAndGet(chunkCacheKeys.size() - chunkLoader.getLoadedRequestedCount());
+      SERIES_SCAN_COST_METRIC_SET.recordSeriesScanCost(
+          chunkLoader.getLoadedCount() > 0 ? READ_CHUNK_FILE : READ_CHUNK_CACHE,
+          System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * Load the chunks of the keys into the cache like {@link #prefetch}, while the chunks which are
+   * not cached are read by coalesced reads, together with the candidates close to them, see {@link
+   * CoalescedChunkLoader}.
+   *
+   * @param chunkCacheKeys the keys of the chunks, which belong to the same TsFile
+   * @param chunkMetadataList the metadata of the chunks, in the order of the keys
+   * @param candidates the chunks of the TsFile which may be read and cached together, or null
+   * @return false if the cache is disabled and nothing is loaded
+   */
+  public boolean prefetchAll(
+      List<ChunkCacheKey> chunkCacheKeys,
+      List<IChunkMetadata> chunkMetadataList,
+      CoalescedChunkCandidates candidates,
+      QueryContext queryContext)
+      throws IOException {
+    if (!CACHE_ENABLE) {
+      return false;
+    }
+    CoalescedChunkLoader chunkLoader =
+        new CoalescedChunkLoader(
+            chunkCacheKeys,
+            chunkMetadataList,
+            candidates,
+            lruCache.asMap()::containsKey,
+            queryContext.getQueryStatistics().getLoadChunkActualIOSize()::addAndGet);
+    try {
+      lruCache.getAll(chunkCacheKeys, chunkLoader);
+      return true;
+    } catch (IoTDBIORuntimeException e) {
+      throw e.getCause();
+    } finally {
+      queryContext
+          .getQueryStatistics()
+          .getLoadChunkFromDiskCount()
+          .addAndGet(chunkLoader.getLoadedCount());
+    }
+  }
+
+  /**
+   * Load the chunk of the key into the cache if it is not cached yet, so that the following {@link
+   * #get} of the key hits the cache, or waits for this loading if it is still in flight.
+   *
+   * @return false if the cache is disabled and nothing is loaded
+   */
+  public boolean prefetch(ChunkCacheKey chunkCacheKey, QueryContext queryContext)
+      throws IOException {
+    if (!CACHE_ENABLE) {
+      return false;
+    }
+    ChunkLoader chunkLoader =
+        new ChunkLoader(queryContext.getQueryStatistics().getLoadChunkActualIOSize()::addAndGet);
+    try {
+      lruCache.get(chunkCacheKey, chunkLoader);
+      if (queryContext.isDebug()) {
+        DEBUG_LOGGER.info("prefetch chunk into cache whose key is: {}", chunkCacheKey);
+      }
+      return true;
+    } catch (IoTDBIORuntimeException e) {
+      throw e.getCause();
+    } finally {
+      // the cost is recorded by the loader, and the following get is counted as a cache hit
+      if (chunkLoader.isCacheMiss()) {
+        queryContext.getQueryStatistics().getLoadChunkFromDiskCount().addAndGet(1);
+      }
+    }
+  }
+
+  public static boolean isCacheEnable() {
+    return CACHE_ENABLE;
+  }
+
+  /** Whether the chunks which are close in a TsFile are read together, see {@link #getAll}. */
+  public static boolean isCoalescedReadEnabled() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    return config.getCoalescedChunkReadMaxSizeInByte() > 0
+        && config.getCoalescedChunkReadMaxGapInByte() > 0;
+  }
+
   private Chunk constructChunk(
       Chunk chunk, List<TimeRange> timeRangeList, Statistics chunkStatistic) {
     return new Chunk(
@@ -326,6 +480,233 @@ public class ChunkCache {
     }
   }
 
+  /**
+   * Loads the chunks of the same TsFile with as few reads as possible, together with the
+   * candidates close to them, i.e., the chunks of the same series in the TsFile which the scan has
+   * not read yet and are not cached, see {@link CoalescedChunkCandidates}.
+   *
+   * <p>A group of chunks sorted by their header offsets is parsed out of one read of the range from
+   * the first header to the end of the last chunk. Each group contains at least one requested
+   * chunk, and it is extended by the adjacent chunks while:
+   *
+   * <ul>
+   *   <li>the header offsets of the adjacent chunks are at most {@link
+   *       IoTDBConfig#getCoalescedChunkReadMaxGapInByte()} bytes apart. The chunk metadata does not
+   *       record the chunk sizes, so the distance between the header offsets is the only known
+   *       bound of the bytes between the chunks.
+   *   <li>the range is at most {@link IoTDBConfig#getCoalescedChunkReadMaxSizeInByte()} bytes.
+   * </ul>
+   *
+   * <p>The range ends at the header of the chunk following the last chunk in the TsFile if it is at
+   * most the max gap away. Otherwise, the range ends after the upper bound of the header size of
+   * the last chunk, and the data of the last chunk is read by another read of exactly its size. A
+   * group of one chunk is read like {@link ChunkLoader}.
+   */
+  private static class CoalescedChunkLoader
+      implements Function<Iterable<? extends ChunkCacheKey>, Map<ChunkCacheKey, Chunk>> {
+
+    private final long maxReadSize =
+        IoTDBDescriptor.getInstance().getConfig().getCoalescedChunkReadMaxSizeInByte();
+    private final long maxGap =
+        IoTDBDescriptor.getInstance().getConfig().getCoalescedChunkReadMaxGapInByte();
+    // the requested chunks
+    private final Map<ChunkCacheKey, IChunkMetadata> chunkMetadataMap;
+    // the header offsets of the requested chunks, sorted
+    private final long[] chunkOffsets;
+    private final CoalescedChunkCandidates candidates;
+    private final Predicate<ChunkCacheKey> cachedChecker;
+    private final LongConsumer ioSizeRecorder;
+    private int loadedCount = 0;
+    private int loadedRequestedCount = 0;
+
+    private CoalescedChunkLoader(
+        List<ChunkCacheKey> chunkCacheKeys,
+        List<IChunkMetadata> chunkMetadataList,
+        CoalescedChunkCandidates candidates,
+        Predicate<ChunkCacheKey> cachedChecker,
+        LongConsumer ioSizeRecorder) {
+      this.chunkMetadataMap = new HashMap<>(chunkCacheKeys.size());
+      this.chunkOffsets = new long[chunkCacheKeys.size()];
+      for (int i = 0; i < chunkCacheKeys.size(); i++) {
+        chunkMetadataMap.put(chunkCacheKeys.get(i), chunkMetadataList.get(i));
+        chunkOffsets[i] = chunkCacheKeys.get(i).offsetOfChunkHeader;
+      }
+      Arrays.sort(chunkOffsets);
+      this.candidates = candidates;
+      this.cachedChecker = cachedChecker;
+      this.ioSizeRecorder = ioSizeRecorder;
+    }
+
+    @Override
+    public Map<ChunkCacheKey, Chunk> apply(Iterable<? extends ChunkCacheKey> keys) {
+      Set<ChunkCacheKey> requestedKeys = new HashSet<>();
+      keys.forEach(requestedKeys::add);
+      Map<ChunkCacheKey, IChunkMetadata> readableChunks = new HashMap<>();
+      for (ChunkCacheKey key : requestedKeys) {
+        readableChunks.put(key, chunkMetadataMap.get(key));
+      }
+      if (candidates != null) {
+        for (int i = 0; i < candidates.size(); i++) {
+          ChunkCacheKey key = candidates.getChunkCacheKey(i);
+          if (!chunkMetadataMap.containsKey(key)
+              && !candidates.isConsumed(i)
+              && !cachedChecker.test(key)) {
+            readableChunks.put(key, candidates.getChunkMetadata(i));
+          }
+        }
+      }
+      List<ChunkCacheKey> sortedKeys = new ArrayList<>(readableChunks.keySet());
+      sortedKeys.sort(Comparator.comparingLong(key -> key.offsetOfChunkHeader));
+
+      long startTime = System.nanoTime();
+      Map<ChunkCacheKey, Chunk> chunks = new HashMap<>();
+      try {
+        if (requestedKeys.isEmpty()) {
+          return chunks;
+        }
+        ChunkCacheKey firstKey = sortedKeys.get(0);
+        TsFileSequenceReader reader =
+            FileReaderManager.getInstance()
+                .get(firstKey.getFilePath(), firstKey.tsFileID, firstKey.closed, ioSizeRecorder);
+        // the chunks before it have been read
+        int groupLowerBound = 0;
+        for (int i = 0; i < sortedKeys.size(); i++) {
+          if (i < groupLowerBound || !requestedKeys.contains(sortedKeys.get(i))) {
+            continue;
+          }
+          int first = i;
+          int last = i;
+          while (last + 1 < sortedKeys.size()
+              && getDistance(sortedKeys, last) <= maxGap
+              && isWithinMaxReadSize(sortedKeys, readableChunks, first, last + 1)) {
+            last++;
+          }
+          while (first - 1 >= groupLowerBound
+              && getDistance(sortedKeys, first - 1) <= maxGap
+              && isWithinMaxReadSize(sortedKeys, readableChunks, first - 1, last)) {
+            first--;
+          }
+          if (first == last) {
+            chunks.put(sortedKeys.get(first), readChunk(reader, sortedKeys.get(first)));
+          } else {
+            readCoalesced(reader, sortedKeys.subList(first, last + 1), readableChunks, chunks);
+          }
+          groupLowerBound = last + 1;
+        }
+        loadedCount += chunks.size();
+        loadedRequestedCount += requestedKeys.size();
+        return chunks;
+      } catch (IOException e) {
+        throw new IoTDBIORuntimeException(e);
+      } finally {
+        SERIES_SCAN_COST_METRIC_SET.recordSeriesScanCost(
+            READ_CHUNK_FILE, System.nanoTime() - startTime);
+      }
+    }
+
+    /** The distance between the header offsets of the chunk of the index and the next chunk. */
+    private long getDistance(List<ChunkCacheKey> sortedKeys, int index) {
+      return sortedKeys.get(index + 1).offsetOfChunkHeader
+          - sortedKeys.get(index).offsetOfChunkHeader;
+    }
+
+    private boolean isWithinMaxReadSize(
+        List<ChunkCacheKey> sortedKeys,
+        Map<ChunkCacheKey, IChunkMetadata> readableChunks,
+        int first,
+        int last) {
+      return getRangeEnd(sortedKeys.get(last), readableChunks)
+              - sortedKeys.get(first).offsetOfChunkHeader
+          <= maxReadSize;
+    }
+
+    /** The end of the range read by a coalesced read whose last chunk is of the key. */
+    private long getRangeEnd(ChunkCacheKey key, Map<ChunkCacheKey, IChunkMetadata> readableChunks) {
+      long offset = key.offsetOfChunkHeader;
+      long nextChunkOffset = getNextChunkOffset(offset);
+      return nextChunkOffset >= 0 && nextChunkOffset - offset <= maxGap
+          ? nextChunkOffset
+          : offset + ChunkHeader.getSerializedSize(readableChunks.get(key).getMeasurementUid());
+    }
+
+    /** The header offset of the next known chunk in the TsFile, or -1 if it is unknown. */
+    private long getNextChunkOffset(long offset) {
+      int index = Arrays.binarySearch(chunkOffsets, offset);
+      index = index >= 0 ? index + 1 : -index - 1;
+      long nextChunkOffset = index < chunkOffsets.length ? chunkOffsets[index] : -1;
+      if (candidates != null) {
+        long nextCandidateOffset = candidates.getNextChunkOffset(offset);
+        if (nextChunkOffset < 0
+            || (nextCandidateOffset >= 0 && nextCandidateOffset < nextChunkOffset)) {
+          nextChunkOffset = nextCandidateOffset;
+        }
+      }
+      return nextChunkOffset;
+    }
+
+    private Chunk readChunk(TsFileSequenceReader reader, ChunkCacheKey key) throws IOException {
+      Chunk chunk = reader.readMemChunk(key.offsetOfChunkHeader, ioSizeRecorder);
+      // to save memory footprint, we don't save measurementId in ChunkHeader of Chunk
+      chunk.getHeader().setMeasurementID(null);
+      return chunk;
+    }
+
+    private void readCoalesced(
+        TsFileSequenceReader reader,
+        List<ChunkCacheKey> keys,
+        Map<ChunkCacheKey, IChunkMetadata> readableChunks,
+        Map<ChunkCacheKey, Chunk> chunks)
+        throws IOException {
+      long rangeStart = keys.get(0).offsetOfChunkHeader;
+      long rangeEnd =
+          Math.min(getRangeEnd(keys.get(keys.size() - 1), readableChunks), reader.fileSize());
+      ByteBuffer range =
+          reader.readChunk(rangeStart, (int) (rangeEnd - rangeStart), ioSizeRecorder);
+      EncryptParameter encryptParameter = reader.getEncryptParam(ioSizeRecorder);
+      for (int i = 0; i < keys.size(); i++) {
+        ChunkCacheKey key = keys.get(i);
+        int chunkStart = (int) (key.offsetOfChunkHeader - rangeStart);
+        ByteBuffer headerBuffer = range.duplicate();
+        headerBuffer.position(chunkStart + Byte.BYTES);
+        ChunkHeader header =
+            ChunkHeader.deserializeFrom(
+                new ByteBufferBackedInputStream(headerBuffer), range.get(chunkStart));
+        int dataStart = chunkStart + header.getSerializedSize();
+        int dataEnd = dataStart + header.getDataSize();
+        if (i < keys.size() - 1 && dataEnd > keys.get(i + 1).offsetOfChunkHeader - rangeStart) {
+          throw new IOException(
+              String.format(
+                  "Chunk at %d of file %s overlaps the next chunk at %d",
+                  key.offsetOfChunkHeader,
+                  key.getFilePath(),
+                  keys.get(i + 1).offsetOfChunkHeader));
+        }
+        // copy the data, so that the range is not retained by the cached chunks
+        ByteBuffer dataBuffer = range.duplicate();
+        dataBuffer.position(dataStart).limit(Math.min(dataEnd, range.limit()));
+        ByteBuffer data = ByteBuffer.allocate(header.getDataSize());
+        data.put(dataBuffer);
+        if (data.hasRemaining()) {
+          // the range only contains the header of the last chunk
+          data.put(
+              reader.readChunk(rangeStart + range.limit(), data.remaining(), ioSizeRecorder));
+        }
+        data.flip();
+        // to save memory footprint, we don't save measurementId in ChunkHeader of Chunk
+        header.setMeasurementID(null);
+        chunks.put(key, new Chunk(header, data, encryptParameter));
+      }
+    }
+
+    public int getLoadedCount() {
+      return loadedCount;
+    }
+
+    public int getLoadedRequestedCount() {
+      return loadedRequestedCount;
+    }
+  }
+
   /** singleton pattern. */
   private static class ChunkCacheHolder {
 
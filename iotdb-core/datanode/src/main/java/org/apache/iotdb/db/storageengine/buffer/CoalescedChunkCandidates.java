@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.apache.tsfile.file.metadata.IChunkMetadata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The chunks of a series in a TsFile which the scan has not read yet. When the scan misses a chunk
+ * in the {@link ChunkCache}, the candidates close to it are read by the same coalesced read.
+ *
+ * <p>It also keeps the header offsets of all the chunks of the series in the TsFile, including the
+ * ones skipped by the scan, since the chunk metadata does not record the chunk sizes and a chunk
+ * ends before the header of the next chunk.
+ *
+ * <p>It is shared by the chunk loaders of the series in the TsFile, and it is accessed by the scan
+ * and the threads reading chunks ahead concurrently.
+ */
+public class CoalescedChunkCandidates {
+
+  // the header offsets of all the chunks of the series in the TsFile, sorted
+  private final long[] chunkOffsets;
+  // the chunks not read by the scan yet, sorted by the header offsets
+  private final List<ChunkCache.ChunkCacheKey> chunkCacheKeys;
+  private final List<IChunkMetadata> chunkMetadataList;
+  private final Set<Long> consumedOffsets = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param chunkOffsets the header offsets of all the chunks of the series in the TsFile
+   * @param chunkMetadataList the chunks to be read by the scan
+   */
+  public CoalescedChunkCandidates(
+      TsFileResource resource, long[] chunkOffsets, List<IChunkMetadata> chunkMetadataList) {
+    this.chunkOffsets = chunkOffsets.clone();
+    Arrays.sort(this.chunkOffsets);
+    this.chunkMetadataList = new ArrayList<>(chunkMetadataList);
+    this.chunkMetadataList.sort(Comparator.comparingLong(IChunkMetadata::getOffsetOfChunkHeader));
+    this.chunkCacheKeys = new ArrayList<>(chunkMetadataList.size());
+    for (IChunkMetadata chunkMetadata : this.chunkMetadataList) {
+      chunkCacheKeys.add(
+          new ChunkCache.ChunkCacheKey(
+              resource.getTsFilePath(),
+              resource.getTsFileID(),
+              chunkMetadata.getOffsetOfChunkHeader(),
+              resource.isClosed()));
+    }
+  }
+
+  /** Called when the scan reads the chunk, so that it is not read again as a candidate. */
+  public void consume(long offsetOfChunkHeader) {
+    consumedOffsets.add(offsetOfChunkHeader);
+  }
+
+  int size() {
+    return chunkCacheKeys.size();
+  }
+
+  ChunkCache.ChunkCacheKey getChunkCacheKey(int index) {
+    return chunkCacheKeys.get(index);
+  }
+
+  IChunkMetadata getChunkMetadata(int index) {
+    return chunkMetadataList.get(index);
+  }
+
+  boolean isConsumed(int index) {
+    return consumedOffsets.contains(chunkMetadataList.get(index).getOffsetOfChunkHeader());
+  }
+
+  /**
+   * @return the header offset of the next chunk of the series after the offset, which bounds the
+   *     end of the chunk at the offset, or -1 if there is no next chunk
+   */
+  long getNextChunkOffset(long offsetOfChunkHeader) {
+    int index = Arrays.binarySearch(chunkOffsets, offsetOfChunkHeader);
+    index = index >= 0 ? index : -index - 1;
+    while (index < chunkOffsets.length && chunkOffsets[index] <= offsetOfChunkHeader) {
+      index++;
+    }
+    return index < chunkOffsets.length ? chunkOffsets[index] : -1;
+  }
+}
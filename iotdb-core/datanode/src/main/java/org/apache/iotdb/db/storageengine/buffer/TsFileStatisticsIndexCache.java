@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex.DeviceStatistics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * This class is used to cache the {@link TsFileStatisticsIndex} of the sealed TsFiles. Half of the
+ * memory is used to cache the device offset tables of the index files, and the absence of the index
+ * is cached as well, so that the TsFiles without the index are not probed repeatedly. The other
+ * half is used to cache the {@link DeviceStatistics} which have been read by the queries, so that
+ * only the devices queried are deserialized.
+ */
+public class TsFileStatisticsIndexCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TsFileStatisticsIndexCache.class);
+
+  private final Cache<String, Optional<TsFileStatisticsIndex>> indexCache;
+
+  private final Cache<DeviceStatisticsKey, DeviceStatistics> deviceStatisticsCache;
+
+  private TsFileStatisticsIndexCache() {
+    long cacheSize =
+        IoTDBDescriptor.getInstance().getConfig().getTsFileStatisticsIndexCacheSizeInByte();
+    indexCache =
+        Caffeine.newBuilder()
+            .maximumWeight(cacheSize / 2)
+            .weigher(
+                (Weigher<String, Optional<TsFileStatisticsIndex>>)
+                    TsFileStatisticsIndexCache::weigh)
+            .build();
+    deviceStatisticsCache =
+        Caffeine.newBuilder()
+            .maximumWeight(cacheSize - cacheSize / 2)
+            .weigher(
+                (Weigher<DeviceStatisticsKey, DeviceStatistics>)
+                    (key, statistics) ->
+                        (int) (key.getRetainedSizeInBytes() + statistics.getRetainedSizeInBytes()))
+            .build();
+  }
+
+  private static int weigh(String filePath, Optional<TsFileStatisticsIndex> index) {
+    return (int)
+        (RamUsageEstimator.sizeOf(filePath)
+            + index.map(TsFileStatisticsIndex::getRetainedSizeInBytes).orElse(0L));
+  }
+
+  public static TsFileStatisticsIndexCache getInstance() {
+    return TsFileStatisticsIndexCacheHolder.INSTANCE;
+  }
+
+  /**
+   * @return the statistics of the device in the sealed TsFile, or null if the index is disabled,
+   *     the TsFile has no valid index, or the device is absent from the index
+   */
+  public DeviceStatistics get(TsFileResource resource, IDeviceID deviceID) {
+    if (!TsFileStatisticsIndex.isEnabled()) {
+      return null;
+    }
+    TsFileStatisticsIndex index =
+        indexCache.get(resource.getTsFilePath(), filePath -> load(resource)).orElse(null);
+    if (index == null || !index.isIndexed(deviceID)) {
+      return null;
+    }
+    // the statistics which are failed to be loaded are not cached, and null is returned
+    return deviceStatisticsCache.get(
+        new DeviceStatisticsKey(index, deviceID), key -> loadDeviceStatistics(index, deviceID));
+  }
+
+  private static Optional<TsFileStatisticsIndex> load(TsFileResource resource) {
+    File indexFile = TsFileStatisticsIndex.getIndexFile(resource);
+    if (!indexFile.exists()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(TsFileStatisticsIndex.load(indexFile));
+    } catch (IOException e) {
+      LOGGER.warn("Failed to load the statistics index {}, ignore it", indexFile, e);
+      return Optional.empty();
+    }
+  }
+
+  private static DeviceStatistics loadDeviceStatistics(
+      TsFileStatisticsIndex index, IDeviceID deviceID) {
+    try {
+      return index.loadDeviceStatistics(deviceID);
+    } catch (IOException e) {
+      LOGGER.warn(
+          "Failed to load the statistics of device {} from the index, ignore it", deviceID, e);
+      return null;
+    }
+  }
+
+  /**
+   * Invalidate the index of the TsFile. The cached statistics of its devices are not reachable
+   * after that, since they are keyed by the index instance, and they will be evicted by the LRU.
+   */
+  public void invalidate(TsFileResource resource) {
+    indexCache.invalidate(resource.getTsFilePath());
+  }
+
+  @TestOnly
+  public void clear() {
+    indexCache.invalidateAll();
+    indexCache.cleanUp();
+    deviceStatisticsCache.invalidateAll();
+    deviceStatisticsCache.cleanUp();
+  }
+
+  /** The device of an index instance, whose equality depends on the identity of the index. */
+  private static class DeviceStatisticsKey {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(DeviceStatisticsKey.class);
+
+    private final TsFileStatisticsIndex index;
+    private final IDeviceID deviceID;
+
+    private DeviceStatisticsKey(TsFileStatisticsIndex index, IDeviceID deviceID) {
+      this.index = index;
+      this.deviceID = deviceID;
+    }
+
+    private long getRetainedSizeInBytes() {
+      // the index and the device id are shared with the offset table
+      return INSTANCE_SIZE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DeviceStatisticsKey that = (DeviceStatisticsKey) o;
+      return index == that.index && deviceID.equals(that.deviceID);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(index) + deviceID.hashCode();
+    }
+  }
+
+  /** singleton pattern. */
+  private static class TsFileStatisticsIndexCacheHolder {
+
+    private static final TsFileStatisticsIndexCache INSTANCE = new TsFileStatisticsIndexCache();
+
+    private TsFileStatisticsIndexCacheHolder() {
+      // forbidding instantiation
+    }
+  }
+}
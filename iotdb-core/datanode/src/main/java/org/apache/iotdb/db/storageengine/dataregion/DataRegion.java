@@ -28,6 +28,7 @@ import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.consensus.DataRegionId;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.file.SystemFileFactory;
+import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
 import org.apache.iotdb.commons.path.IFullPath;
 import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.schema.SchemaConstant;
@@ -87,6 +88,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowsOf
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertTabletNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.ObjectNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.RelationalDeleteDataNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.RelationalInsertTabletNode;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.TableMetadataImpl;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache.LastCacheLoadStrategy;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache.TableDeviceSchemaCache;
@@ -221,6 +223,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -307,6 +310,25 @@ public class DataRegion implements IDataRegionForQuery {
   /** database name. */
   private final String databaseName;
 
+  /** points written into memtables since the region is loaded, reported by heartbeat. */
+  private final AtomicLong writtenPointCount = new AtomicLong(0);
+
+  /** cpu time spent by the query drivers on this region, reported by heartbeat. */
+  private final AtomicLong queryCpuTimeInNanos = new AtomicLong(0);
+
+  /**
+   * points written into memtables of each series partition slot since the ConfigNode first asks
+   * for them, reported by heartbeat so that the ConfigNode can move the hot slots to other regions.
+   */
+  private final AtomicLongArray seriesSlotWrittenPoints =
+      new AtomicLongArray(config.getSeriesPartitionSlotNum());
+
+  private volatile boolean isSeriesSlotLoadSampled = false;
+
+  private final SeriesPartitionExecutor seriesPartitionExecutor =
+      SeriesPartitionExecutor.getSeriesPartitionExecutor(
+          config.getSeriesPartitionExecutorClass(), config.getSeriesPartitionSlotNum());
+
   /** data region system directory. */
   private File dataRegionSysDir;
 
@@ -4683,6 +4705,8 @@ public class DataRegion implements IDataRegionForQuery {
   }
 
   private void updateTsFileProcessorMetric(InsertNode insertNode, long[] infoForMetrics) {
+    writtenPointCount.addAndGet(infoForMetrics[4]);
+    recordSeriesSlotWrittenPoints(insertNode, infoForMetrics[4]);
     PERFORMANCE_OVERVIEW_METRICS.recordCreateMemtableBlockCost(infoForMetrics[0]);
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleMemoryBlockCost(infoForMetrics[1]);
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleWalCost(infoForMetrics[2]);
@@ -4717,6 +4741,86 @@ public class DataRegion implements IDataRegionForQuery {
     }
   }
 
+  public long getWrittenPointCount() {
+    return writtenPointCount.get();
+  }
+
+  public long getQueryCpuTimeInNanos() {
+    return queryCpuTimeInNanos.get();
+  }
+
+  /**
+   * Attribute the written points to the series partition slots of the devices. The points of the
+   * nodes with several devices are estimated by their rows and measurements.
+   */
+  private void recordSeriesSlotWrittenPoints(InsertNode insertNode, long writtenPoints) {
+    if (!isSeriesSlotLoadSampled || writtenPoints <= 0) {
+      return;
+    }
+    if (insertNode instanceof InsertRowsNode) {
+      for (InsertRowNode insertRowNode : ((InsertRowsNode) insertNode).getInsertRowNodeList()) {
+        addSeriesSlotWrittenPoints(
+            insertRowNode.getDeviceID(), insertRowNode.getMeasurementColumnCnt());
+      }
+    } else if (insertNode instanceof InsertMultiTabletsNode) {
+      for (InsertTabletNode insertTabletNode :
+          ((InsertMultiTabletsNode) insertNode).getInsertTabletNodeList()) {
+        recordSeriesSlotWrittenPoints(insertTabletNode);
+      }
+    } else if (insertNode instanceof RelationalInsertTabletNode) {
+      recordSeriesSlotWrittenPoints((InsertTabletNode) insertNode);
+    } else {
+      addSeriesSlotWrittenPoints(insertNode.getDeviceID(), writtenPoints);
+    }
+  }
+
+  private void recordSeriesSlotWrittenPoints(InsertTabletNode insertTabletNode) {
+    long measurementColumnCnt = insertTabletNode.getMeasurementColumnCnt();
+    IDeviceID lastDeviceID = null;
+    int rowCount = 0;
+    for (int i = 0; i < insertTabletNode.getRowCount(); i++) {
+      IDeviceID deviceID = insertTabletNode.getDeviceID(i);
+      if (!deviceID.equals(lastDeviceID)) {
+        if (lastDeviceID != null) {
+          addSeriesSlotWrittenPoints(lastDeviceID, rowCount * measurementColumnCnt);
+        }
+        lastDeviceID = deviceID;
+        rowCount = 0;
+      }
+      rowCount++;
+    }
+    if (lastDeviceID != null) {
+      addSeriesSlotWrittenPoints(lastDeviceID, rowCount * measurementColumnCnt);
+    }
+  }
+
+  private void addSeriesSlotWrittenPoints(IDeviceID deviceID, long writtenPoints) {
+    seriesSlotWrittenPoints.addAndGet(
+        seriesPartitionExecutor.getSeriesPartitionSlot(deviceID).getSlotId(), writtenPoints);
+  }
+
+  /**
+   * Start sampling the written points of each series partition slot if not yet, which costs a hash
+   * of each written device, so it is only sampled once the ConfigNode asks for it.
+   *
+   * @return Map<SeriesPartitionSlot, written points> of the slots that have been written
+   */
+  public Map<Integer, Long> getSeriesSlotWrittenPoints() {
+    isSeriesSlotLoadSampled = true;
+    Map<Integer, Long> writtenPointsMap = new HashMap<>();
+    for (int slotId = 0; slotId < seriesSlotWrittenPoints.length(); slotId++) {
+      long writtenPoints = seriesSlotWrittenPoints.get(slotId);
+      if (writtenPoints > 0) {
+        writtenPointsMap.put(slotId, writtenPoints);
+      }
+    }
+    return writtenPointsMap;
+  }
+
+  public void recordQueryCpuTime(long cpuTimeInNanos) {
+    queryCpuTimeInNanos.addAndGet(cpuTimeInNanos);
+  }
+
   /**
    * @return the disk space occupied by this data region, unit is MB
    */
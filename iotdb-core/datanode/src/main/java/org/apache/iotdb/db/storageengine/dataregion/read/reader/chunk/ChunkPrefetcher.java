@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
+
+import org.apache.iotdb.commons.concurrent.IoTThreadFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.WrappedThreadPoolExecutor;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.tsfile.file.metadata.IChunkMetadata;
+import org.apache.tsfile.read.controller.IChunkLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the disk chunks of one series scan ahead on a shared I/O pool, so that the scan finds them
+ * in the {@link ChunkCache} instead of waiting for the disk. The chunks are read ahead in the scan
+ * order, and at most {@code windowSize} of them are read ahead but not consumed by the scan yet.
+ *
+ * <p>The pool has a bounded queue. A chunk which can not be queued is tried again later, and a
+ * chunk which is still queued when the scan reaches it is not waited for but read by the scan.
+ *
+ * <p>It is only accessed by the thread running the scan, except the reading tasks themselves.
+ */
+public class ChunkPrefetcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChunkPrefetcher.class);
+
+  // the number of reading tasks that may wait in the queue of the pool for each thread
+  private static final int QUEUE_SIZE_PER_THREAD = 16;
+
+  private final int windowSize;
+
+  // the chunks known by the scan but not read ahead yet, in the scan order
+  private final PriorityQueue<IChunkMetadata> candidates;
+  // the candidates consumed by the scan before being read ahead, they are removed lazily
+  private final Set<IChunkMetadata> consumedCandidates =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  // the chunks read ahead but not consumed by the scan yet
+  private final Map<IChunkMetadata, PrefetchTask> prefetchedChunks = new IdentityHashMap<>();
+
+  private boolean closed = false;
+
+  private ChunkPrefetcher(Comparator<IChunkMetadata> scanOrder, int windowSize) {
+    this.candidates = new PriorityQueue<>(scanOrder);
+    this.windowSize = windowSize;
+  }
+
+  /**
+   * @return null if the chunks can not be read ahead, i.e., the window size is not positive or the
+   *     {@link ChunkCache} is disabled
+   */
+  public static ChunkPrefetcher create(Comparator<IChunkMetadata> scanOrder) {
+    int windowSize = IoTDBDescriptor.getInstance().getConfig().getChunkPrefetchWindowSize();
+    return windowSize > 0 && ChunkCache.isCacheEnable()
+        ? new ChunkPrefetcher(scanOrder, windowSize)
+        : null;
+  }
+
+  private static boolean isPrefetchable(IChunkMetadata chunkMetadata) {
+    IChunkLoader chunkLoader = chunkMetadata.getChunkLoader();
+    return chunkLoader instanceof DiskChunkLoader || chunkLoader instanceof DiskAlignedChunkLoader;
+  }
+
+  /** Called when the chunks become known by the scan. */
+  public void addCandidates(List<IChunkMetadata> chunkMetadataList) {
+    if (closed) {
+      return;
+    }
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      if (isPrefetchable(chunkMetadata)) {
+        candidates.add(chunkMetadata);
+      }
+    }
+    fillWindow();
+  }
+
+  /** Called when the chunk is read or skipped by the scan. */
+  public void consume(IChunkMetadata chunkMetadata) {
+    if (closed) {
+      return;
+    }
+    PrefetchTask task = prefetchedChunks.remove(chunkMetadata);
+    if (task != null) {
+      // the scan reads the chunk by itself if it is still queued, so the task is useless
+      task.cancelIfNotStarted();
+    } else if (isPrefetchable(chunkMetadata)) {
+      consumedCandidates.add(chunkMetadata);
+    }
+    fillWindow();
+  }
+
+  /**
+   * @return the future of reading the chunk ahead, or null if the chunk is not being read ahead,
+   *     including the case that it is still queued, since waiting for the queue may take longer
+   *     than reading the chunk synchronously
+   */
+  public ListenableFuture<?> getFuture(IChunkMetadata chunkMetadata) {
+    PrefetchTask task = prefetchedChunks.get(chunkMetadata);
+    return task == null || !task.started ? null : task.future;
+  }
+
+  /**
+   * Called when the scan is closed. The chunks which are still queued are not read anymore, and no
+   * chunk will be read ahead after that.
+   */
+  public void close() {
+    closed = true;
+    for (PrefetchTask task : prefetchedChunks.values()) {
+      task.cancelIfNotStarted();
+    }
+    prefetchedChunks.clear();
+    candidates.clear();
+    consumedCandidates.clear();
+  }
+
+  private void fillWindow() {
+    while (prefetchedChunks.size() < windowSize && !candidates.isEmpty()) {
+      IChunkMetadata chunkMetadata = candidates.poll();
+      if (consumedCandidates.remove(chunkMetadata)) {
+        continue;
+      }
+      PrefetchTask task = new PrefetchTask(chunkMetadata);
+      try {
+        task.future = PrefetchExecutorHolder.EXECUTOR.submit(task);
+      } catch (RejectedExecutionException e) {
+        // the pool is saturated, try again when the scan consumes the next chunk
+        LOGGER.debug("Chunk prefetch pool is full, delay reading chunk {} ahead", chunkMetadata);
+        candidates.add(chunkMetadata);
+        return;
+      }
+      prefetchedChunks.put(chunkMetadata, task);
+    }
+  }
+
+  private static void prefetch(IChunkMetadata chunkMetadata) {
+    try {
+      IChunkLoader chunkLoader = chunkMetadata.getChunkLoader();
+      if (chunkLoader instanceof DiskChunkLoader) {
+        ((DiskChunkLoader) chunkLoader).prefetchChunk(chunkMetadata);
+      } else {
+        ((DiskAlignedChunkLoader) chunkLoader).prefetchChunk(chunkMetadata);
+      }
+    } catch (Exception e) {
+      // the scan reads the chunk again by itself and reports the error if it still exists
+      LOGGER.debug("Failed to read chunk {} ahead", chunkMetadata, e);
+    }
+  }
+
+  private static class PrefetchTask implements Runnable {
+
+    private final IChunkMetadata chunkMetadata;
+    private ListenableFuture<?> future;
+    // set by the pool thread once the chunk is being read
+    private volatile boolean started = false;
+
+    private PrefetchTask(IChunkMetadata chunkMetadata) {
+      this.chunkMetadata = chunkMetadata;
+    }
+
+    @Override
+    public void run() {
+      started = true;
+      prefetch(chunkMetadata);
+    }
+
+    private void cancelIfNotStarted() {
+      if (!started) {
+        // the pool skips a cancelled task, a running task is left to fill the cache
+        future.cancel(false);
+      }
+    }
+  }
+
+  private static class PrefetchExecutorHolder {
+
+    private static final int THREAD_COUNT =
+        IoTDBDescriptor.getInstance().getConfig().getChunkPrefetchThreadCount();
+
+    private static final ListeningExecutorService EXECUTOR =
+        MoreExecutors.listeningDecorator(
+            new WrappedThreadPoolExecutor(
+                THREAD_COUNT,
+                THREAD_COUNT,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(THREAD_COUNT * QUEUE_SIZE_PER_THREAD),
+                new IoTThreadFactory(ThreadName.CHUNK_PREFETCH.getName()),
+                ThreadName.CHUNK_PREFETCH.getName()));
+
+    private PrefetchExecutorHolder() {
+      // forbidding instantiation
+    }
+  }
+}
@@ -22,6 +22,7 @@ package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.CoalescedChunkCandidates;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.utils.ObjectTypeUtils;
@@ -53,14 +54,27 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
   // for tree model, it will be true
   private final boolean ignoreAllNullRows;
 
+  // the time chunks and the value chunks of the device in the TsFile which may be read together,
+  // null if only the chunks of one aligned chunk are read together
+  private final CoalescedChunkCandidates coalescedChunkCandidates;
+
   private static final SeriesScanCostMetricSet SERIES_SCAN_COST_METRIC_SET =
       SeriesScanCostMetricSet.getInstance();
 
   public DiskAlignedChunkLoader(
       QueryContext context, TsFileResource resource, boolean ignoreAllNullRows) {
+    this(context, resource, ignoreAllNullRows, null);
+  }
+
+  public DiskAlignedChunkLoader(
+      QueryContext context,
+      TsFileResource resource,
+      boolean ignoreAllNullRows,
+      CoalescedChunkCandidates coalescedChunkCandidates) {
     this.context = context;
     this.resource = resource;
     this.ignoreAllNullRows = ignoreAllNullRows;
+    this.coalescedChunkCandidates = coalescedChunkCandidates;
   }
 
   @Override
@@ -81,32 +95,36 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
       AbstractAlignedChunkMetadata alignedChunkMetadata =
           (AbstractAlignedChunkMetadata) chunkMetaData;
       ChunkMetadata timeChunkMetadata = (ChunkMetadata) alignedChunkMetadata.getTimeChunkMetadata();
+      // the time chunk and the value chunks are usually adjacent in the file, so that they can be
+      // read together
+      List<Chunk> coalescedChunks =
+          ChunkCache.isCoalescedReadEnabled() ? getAllChunks(alignedChunkMetadata) : null;
+      int coalescedChunkIndex = 0;
       Chunk timeChunk =
-          ChunkCache.getInstance()
-              .get(
-                  new ChunkCache.ChunkCacheKey(
-                      resource.getTsFilePath(),
-                      resource.getTsFileID(),
-                      timeChunkMetadata.getOffsetOfChunkHeader(),
-                      resource.isClosed()),
-                  timeChunkMetadata.getDeleteIntervalList(),
-                  timeChunkMetadata.getStatistics(),
-                  context);
+          coalescedChunks != null
+              ? coalescedChunks.get(coalescedChunkIndex++)
+              : ChunkCache.getInstance()
+                  .get(
+                      getChunkCacheKey(timeChunkMetadata),
+                      timeChunkMetadata.getDeleteIntervalList(),
+                      timeChunkMetadata.getStatistics(),
+                      context);
       List<Chunk> valueChunkList = new ArrayList<>();
       for (IChunkMetadata valueChunkMetadata : alignedChunkMetadata.getValueChunkMetadataList()) {
-        Chunk chunk =
-            valueChunkMetadata == null
-                ? null
-                : ChunkCache.getInstance()
-                    .get(
-                        new ChunkCache.ChunkCacheKey(
-                            resource.getTsFilePath(),
-                            resource.getTsFileID(),
-                            valueChunkMetadata.getOffsetOfChunkHeader(),
-                            resource.isClosed()),
-                        valueChunkMetadata.getDeleteIntervalList(),
-                        valueChunkMetadata.getStatistics(),
-                        context);
+        Chunk chunk;
+        if (valueChunkMetadata == null) {
+          chunk = null;
+        } else if (coalescedChunks != null) {
+          chunk = coalescedChunks.get(coalescedChunkIndex++);
+        } else {
+          chunk =
+              ChunkCache.getInstance()
+                  .get(
+                      getChunkCacheKey(valueChunkMetadata),
+                      valueChunkMetadata.getDeleteIntervalList(),
+                      valueChunkMetadata.getStatistics(),
+                      context);
+        }
         final TsFileID tsFileID = getTsFileID();
         if (chunk != null
             && tsFileID.regionId > 0
@@ -135,6 +153,64 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
     }
   }
 
+  /** Get the time chunk and the non-null value chunks by coalesced reads. */
+  private List<Chunk> getAllChunks(AbstractAlignedChunkMetadata alignedChunkMetadata)
+      throws IOException {
+    List<IChunkMetadata> chunkMetadataList = getAllChunkMetadata(alignedChunkMetadata);
+    List<ChunkCache.ChunkCacheKey> chunkCacheKeys = new ArrayList<>(chunkMetadataList.size());
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      chunkCacheKeys.add(getChunkCacheKey(chunkMetadata));
+      if (coalescedChunkCandidates != null) {
+        coalescedChunkCandidates.consume(chunkMetadata.getOffsetOfChunkHeader());
+      }
+    }
+    return ChunkCache.getInstance()
+        .getAll(chunkCacheKeys, chunkMetadataList, coalescedChunkCandidates, context);
+  }
+
+  /** The time chunk and the non-null value chunks of the aligned chunk. */
+  public static List<IChunkMetadata> getAllChunkMetadata(
+      AbstractAlignedChunkMetadata alignedChunkMetadata) {
+    List<IChunkMetadata> chunkMetadataList =
+        new ArrayList<>(alignedChunkMetadata.getValueChunkMetadataList().size() + 1);
+    chunkMetadataList.add(alignedChunkMetadata.getTimeChunkMetadata());
+    for (IChunkMetadata valueChunkMetadata : alignedChunkMetadata.getValueChunkMetadataList()) {
+      if (valueChunkMetadata != null) {
+        chunkMetadataList.add(valueChunkMetadata);
+      }
+    }
+    return chunkMetadataList;
+  }
+
+  private ChunkCache.ChunkCacheKey getChunkCacheKey(IChunkMetadata chunkMetaData) {
+    return new ChunkCache.ChunkCacheKey(
+        resource.getTsFilePath(),
+        resource.getTsFileID(),
+        chunkMetaData.getOffsetOfChunkHeader(),
+        resource.isClosed());
+  }
+
+  /**
+   * Load the time chunk and the value chunks into the {@link ChunkCache} ahead of {@link
+   * #getChunkReader}.
+   */
+  public void prefetchChunk(IChunkMetadata chunkMetaData) throws IOException {
+    List<IChunkMetadata> chunkMetadataList =
+        getAllChunkMetadata((AbstractAlignedChunkMetadata) chunkMetaData);
+    List<ChunkCache.ChunkCacheKey> chunkCacheKeys = new ArrayList<>(chunkMetadataList.size());
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      chunkCacheKeys.add(getChunkCacheKey(chunkMetadata));
+    }
+    if (ChunkCache.isCoalescedReadEnabled()) {
+      ChunkCache.getInstance()
+          .prefetchAll(chunkCacheKeys, chunkMetadataList, coalescedChunkCandidates, context);
+    } else {
+      for (ChunkCache.ChunkCacheKey chunkCacheKey : chunkCacheKeys) {
+        ChunkCache.getInstance().prefetch(chunkCacheKey, context);
+      }
+    }
+  }
+
   public TsFileID getTsFileID() {
     return resource.getTsFileID();
   }
@@ -22,6 +22,7 @@ package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.CoalescedChunkCandidates;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.utils.ObjectTypeUtils;
@@ -36,6 +37,7 @@ import org.apache.tsfile.read.reader.IChunkReader;
 import org.apache.tsfile.read.reader.chunk.ChunkReader;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.INIT_CHUNK_READER_NONALIGNED_DISK;
 
@@ -46,23 +48,26 @@ public class DiskChunkLoader implements IChunkLoader {
 
   private final TsFileResource resource;
 
+  // the chunks of the series in the TsFile which may be read together, null if the chunks are read
+  // one by one
+  private final CoalescedChunkCandidates coalescedChunkCandidates;
+
   public DiskChunkLoader(QueryContext context, TsFileResource resource) {
+    this(context, resource, null);
+  }
+
+  public DiskChunkLoader(
+      QueryContext context,
+      TsFileResource resource,
+      CoalescedChunkCandidates coalescedChunkCandidates) {
     this.context = context;
     this.resource = resource;
+    this.coalescedChunkCandidates = coalescedChunkCandidates;
   }
 
   @Override
   public Chunk loadChunk(ChunkMetadata chunkMetaData) throws IOException {
-    return ChunkCache.getInstance()
-        .get(
-            new ChunkCache.ChunkCacheKey(
-                resource.getTsFilePath(),
-                resource.getTsFileID(),
-                chunkMetaData.getOffsetOfChunkHeader(),
-                resource.isClosed()),
-            chunkMetaData.getDeleteIntervalList(),
-            chunkMetaData.getStatistics(),
-            context);
+    return getChunk(chunkMetaData);
   }
 
   @Override
@@ -75,17 +80,7 @@ public class DiskChunkLoader implements IChunkLoader {
       throws IOException {
     long t1 = System.nanoTime();
     try {
-      Chunk chunk =
-          ChunkCache.getInstance()
-              .get(
-                  new ChunkCache.ChunkCacheKey(
-                      resource.getTsFilePath(),
-                      resource.getTsFileID(),
-                      chunkMetaData.getOffsetOfChunkHeader(),
-                      resource.isClosed()),
-                  chunkMetaData.getDeleteIntervalList(),
-                  chunkMetaData.getStatistics(),
-                  context);
+      Chunk chunk = getChunk(chunkMetaData);
 
       final TsFileID tsFileID = getTsFileID();
       if (tsFileID.regionId > 0 && chunkMetaData.getDataType() == TSDataType.OBJECT) {
@@ -108,6 +103,48 @@ public class DiskChunkLoader implements IChunkLoader {
     }
   }
 
+  private Chunk getChunk(IChunkMetadata chunkMetaData) throws IOException {
+    ChunkCache.ChunkCacheKey chunkCacheKey = getChunkCacheKey(chunkMetaData);
+    if (coalescedChunkCandidates == null) {
+      return ChunkCache.getInstance()
+          .get(
+              chunkCacheKey,
+              chunkMetaData.getDeleteIntervalList(),
+              chunkMetaData.getStatistics(),
+              context);
+    }
+    coalescedChunkCandidates.consume(chunkMetaData.getOffsetOfChunkHeader());
+    return ChunkCache.getInstance()
+        .getAll(
+            Collections.singletonList(chunkCacheKey),
+            Collections.singletonList(chunkMetaData),
+            coalescedChunkCandidates,
+            context)
+        .get(0);
+  }
+
+  private ChunkCache.ChunkCacheKey getChunkCacheKey(IChunkMetadata chunkMetaData) {
+    return new ChunkCache.ChunkCacheKey(
+        resource.getTsFilePath(),
+        resource.getTsFileID(),
+        chunkMetaData.getOffsetOfChunkHeader(),
+        resource.isClosed());
+  }
+
+  /** Load the chunk into the {@link ChunkCache} ahead of {@link #getChunkReader}. */
+  public void prefetchChunk(IChunkMetadata chunkMetaData) throws IOException {
+    if (coalescedChunkCandidates == null) {
+      ChunkCache.getInstance().prefetch(getChunkCacheKey(chunkMetaData), context);
+    } else {
+      ChunkCache.getInstance()
+          .prefetchAll(
+              Collections.singletonList(getChunkCacheKey(chunkMetaData)),
+              Collections.singletonList(chunkMetaData),
+              coalescedChunkCandidates,
+              context);
+    }
+  }
+
   public TsFileID getTsFileID() {
     return resource.getTsFileID();
   }
@@ -21,6 +21,8 @@ package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata;
 
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
+import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.CoalescedChunkCandidates;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.DiskAlignedChunkLoader;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
@@ -37,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.CHUNK_METADATA_FILTER_ALIGNED_DISK;
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.CHUNK_METADATA_MODIFICATION_ALIGNED_DISK;
@@ -85,6 +88,16 @@ public class DiskAlignedChunkMetadataLoader implements IChunkMetadataLoader {
     try {
       List<AbstractAlignedChunkMetadata> alignedChunkMetadataList =
           ((AbstractAlignedTimeSeriesMetadata) timeSeriesMetadata).getCopiedChunkMetadataList();
+      // the offsets of the chunks removed below still bound the sizes of the chunks before them
+      final long[] chunkOffsets =
+          ChunkCache.isCoalescedReadEnabled()
+              ? alignedChunkMetadataList.stream()
+                  .flatMap(
+                      alignedChunkMetadata ->
+                          DiskAlignedChunkLoader.getAllChunkMetadata(alignedChunkMetadata).stream())
+                  .mapToLong(IChunkMetadata::getOffsetOfChunkHeader)
+                  .toArray()
+              : null;
 
       // when alignedChunkMetadataList.size() == 1, it means that the chunk statistics is same as
       // the time series metadata, so we don't need to filter it again.
@@ -129,16 +142,33 @@ public class DiskAlignedChunkMetadataLoader implements IChunkMetadataLoader {
       SERIES_SCAN_COST_METRIC_SET.recordSeriesScanCost(
           CHUNK_METADATA_MODIFICATION_ALIGNED_DISK, System.nanoTime() - t3);
 
-      // it is ok, even if it is not thread safe, because the cost of creating a DiskChunkLoader is
-      // very cheap.
-      alignedChunkMetadataList.forEach(
+      // the chunks share one DiskAlignedChunkLoader, so that an aligned chunk missed by the
+      // ChunkCache is read together with the following aligned chunks of the device in the TsFile
+      final List<AbstractAlignedChunkMetadata> chunkMetadataNeedLoader =
+          alignedChunkMetadataList.stream()
+              .filter(IChunkMetadata::needSetChunkLoader)
+              .collect(Collectors.toList());
+      final DiskAlignedChunkLoader chunkLoader =
+          new DiskAlignedChunkLoader(
+              context,
+              resource,
+              ignoreAllNullRows,
+              chunkOffsets == null
+                  ? null
+                  : new CoalescedChunkCandidates(
+                      resource,
+                      chunkOffsets,
+                      chunkMetadataNeedLoader.stream()
+                          .flatMap(
+                              alignedChunkMetadata ->
+                                  DiskAlignedChunkLoader.getAllChunkMetadata(alignedChunkMetadata)
+                                      .stream())
+                          .collect(Collectors.toList())));
+      chunkMetadataNeedLoader.forEach(
           chunkMetadata -> {
-            if (chunkMetadata.needSetChunkLoader()) {
-              chunkMetadata.setVersion(resource.getVersion());
-              chunkMetadata.setClosed(resource.isClosed());
-              chunkMetadata.setChunkLoader(
-                  new DiskAlignedChunkLoader(context, resource, ignoreAllNullRows));
-            }
+            chunkMetadata.setVersion(resource.getVersion());
+            chunkMetadata.setClosed(resource.isClosed());
+            chunkMetadata.setChunkLoader(chunkLoader);
           });
 
       return new ArrayList<>(alignedChunkMetadataList);
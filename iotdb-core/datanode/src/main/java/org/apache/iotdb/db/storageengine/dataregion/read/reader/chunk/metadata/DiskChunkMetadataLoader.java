@@ -21,6 +21,8 @@ package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata;
 
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
+import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.CoalescedChunkCandidates;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.DiskChunkLoader;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
@@ -35,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.CHUNK_METADATA_FILTER_NONALIGNED_DISK;
 import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.CHUNK_METADATA_MODIFICATION_NONALIGNED_DISK;
@@ -71,6 +74,13 @@ public class DiskChunkMetadataLoader implements IChunkMetadataLoader {
     try {
       List<IChunkMetadata> chunkMetadataList =
           ((TimeseriesMetadata) timeSeriesMetadata).getCopiedChunkMetadataList();
+      // the offsets of the chunks removed below still bound the sizes of the chunks before them
+      final long[] chunkOffsets =
+          ChunkCache.isCoalescedReadEnabled()
+              ? chunkMetadataList.stream()
+                  .mapToLong(IChunkMetadata::getOffsetOfChunkHeader)
+                  .toArray()
+              : null;
 
       // when chunkMetadataList.size() == 1, it means that the chunk statistics is same as
       // the time series metadata, so we don't need to filter it again.
@@ -113,15 +123,24 @@ public class DiskChunkMetadataLoader implements IChunkMetadataLoader {
       SERIES_SCAN_COST_METRIC_SET.recordSeriesScanCost(
           CHUNK_METADATA_MODIFICATION_NONALIGNED_DISK, System.nanoTime() - t3);
 
-      // it is ok, even if it is not thread safe, because the cost of creating a DiskChunkLoader is
-      // very cheap.
-      chunkMetadataList.forEach(
+      // the chunks share one DiskChunkLoader, so that a chunk missed by the ChunkCache is read
+      // together with the following chunks of the series in the TsFile
+      final List<IChunkMetadata> chunkMetadataNeedLoader =
+          chunkMetadataList.stream()
+              .filter(IChunkMetadata::needSetChunkLoader)
+              .collect(Collectors.toList());
+      final DiskChunkLoader chunkLoader =
+          new DiskChunkLoader(
+              context,
+              resource,
+              chunkOffsets == null
+                  ? null
+                  : new CoalescedChunkCandidates(resource, chunkOffsets, chunkMetadataNeedLoader));
+      chunkMetadataNeedLoader.forEach(
           chunkMetadata -> {
-            if (chunkMetadata.needSetChunkLoader()) {
-              chunkMetadata.setVersion(resource.getVersion());
-              chunkMetadata.setClosed(resource.isClosed());
-              chunkMetadata.setChunkLoader(new DiskChunkLoader(context, resource));
-            }
+            chunkMetadata.setVersion(resource.getVersion());
+            chunkMetadata.setClosed(resource.isClosed());
+            chunkMetadata.setChunkLoader(chunkLoader);
           });
 
       return chunkMetadataList;
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata;
+
+import org.apache.iotdb.commons.exception.IoTDBIORuntimeException;
+import org.apache.iotdb.commons.path.AlignedFullPath;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
+import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.utils.SchemaUtils;
+
+import org.apache.tsfile.file.metadata.AbstractAlignedTimeSeriesMetadata;
+import org.apache.tsfile.file.metadata.AlignedTimeSeriesMetadata;
+import org.apache.tsfile.file.metadata.IChunkMetadata;
+import org.apache.tsfile.file.metadata.ITimeSeriesMetadata;
+import org.apache.tsfile.file.metadata.TableDeviceTimeSeriesMetadata;
+import org.apache.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.tsfile.read.controller.IChunkMetadataLoader;
+import org.apache.tsfile.read.filter.basic.Filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The chunk metadata loader of an {@link AbstractAlignedTimeSeriesMetadata} which is built from the
+ * statistics index of a sealed TsFile. The real TimeseriesMetadata of the time column and the value
+ * columns are only read from the TsFile when the chunks are really needed, i.e., the statistics can
+ * not answer the query. The modified flags which have been set on the columns built from the index
+ * are carried to the real ones.
+ */
+public class LazyDiskAlignedChunkMetadataLoader implements IChunkMetadataLoader {
+
+  private final TsFileResource resource;
+  private final AlignedFullPath alignedPath;
+  private final QueryContext context;
+  private final boolean ignoreAllNullRows;
+  private final DiskAlignedChunkMetadataLoader diskAlignedChunkMetadataLoader;
+
+  public LazyDiskAlignedChunkMetadataLoader(
+      TsFileResource resource,
+      AlignedFullPath alignedPath,
+      QueryContext context,
+      Filter globalTimeFilter,
+      List<ModEntry> timeModifications,
+      List<List<ModEntry>> valueColumnsModifications,
+      boolean ignoreAllNullRows) {
+    this.resource = resource;
+    this.alignedPath = alignedPath;
+    this.context = context;
+    this.ignoreAllNullRows = ignoreAllNullRows;
+    this.diskAlignedChunkMetadataLoader =
+        new DiskAlignedChunkMetadataLoader(
+            resource,
+            context,
+            globalTimeFilter,
+            timeModifications,
+            valueColumnsModifications,
+            ignoreAllNullRows);
+  }
+
+  @Override
+  public List<IChunkMetadata> loadChunkMetadataList(ITimeSeriesMetadata timeSeriesMetadata) {
+    AbstractAlignedTimeSeriesMetadata indexTimeSeriesMetadata =
+        (AbstractAlignedTimeSeriesMetadata) timeSeriesMetadata;
+    TimeseriesMetadata timeColumn = loadFromDisk("");
+    if (timeColumn == null) {
+      return new ArrayList<>();
+    }
+    timeColumn.setModified(indexTimeSeriesMetadata.getTimeseriesMetadata().isModified());
+
+    List<TimeseriesMetadata> indexValueColumns =
+        indexTimeSeriesMetadata.getValueTimeseriesMetadataList();
+    List<TimeseriesMetadata> valueColumns = new ArrayList<>(indexValueColumns.size());
+    for (int i = 0; i < indexValueColumns.size(); i++) {
+      TimeseriesMetadata indexValueColumn = indexValueColumns.get(i);
+      // the value columns which are absent or all deleted are kept null
+      TimeseriesMetadata valueColumn =
+          indexValueColumn == null ? null : loadFromDisk(indexValueColumn.getMeasurementId());
+      if (valueColumn != null) {
+        valueColumn.setModified(indexValueColumn.isModified());
+        SchemaUtils.changeAlignedMetadataModified(
+            valueColumn, alignedPath.getSchemaList().get(i).getType());
+      }
+      valueColumns.add(valueColumn);
+    }
+
+    AbstractAlignedTimeSeriesMetadata diskTimeSeriesMetadata =
+        ignoreAllNullRows
+            ? new AlignedTimeSeriesMetadata(timeColumn, valueColumns)
+            : new TableDeviceTimeSeriesMetadata(timeColumn, valueColumns);
+    diskTimeSeriesMetadata.setModified(indexTimeSeriesMetadata.isModified());
+    diskTimeSeriesMetadata.setDataTypeModifiedAndCannotUseStatistics(
+        indexTimeSeriesMetadata.isDataTypeModifiedAndCannotUseStatistics());
+    return diskAlignedChunkMetadataLoader.loadChunkMetadataList(diskTimeSeriesMetadata);
+  }
+
+  private TimeseriesMetadata loadFromDisk(String measurement) {
+    try {
+      return TimeSeriesMetadataCache.getInstance()
+          .get(
+              resource.getTsFilePath(),
+              new TimeSeriesMetadataCache.TimeSeriesMetadataCacheKey(
+                  resource.getTsFileID(), alignedPath.getDeviceId(), measurement),
+              alignedPath.getAllSensors(),
+              true,
+              context.isDebug(),
+              context);
+    } catch (IOException e) {
+      throw new IoTDBIORuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.metadata;
+
+import org.apache.iotdb.commons.exception.IoTDBIORuntimeException;
+import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
+import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.apache.tsfile.file.metadata.IChunkMetadata;
+import org.apache.tsfile.file.metadata.ITimeSeriesMetadata;
+import org.apache.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.tsfile.read.controller.IChunkMetadataLoader;
+import org.apache.tsfile.read.filter.basic.Filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The chunk metadata loader of a non-aligned {@link TimeseriesMetadata} which is built from the
+ * statistics index of a sealed TsFile. The real TimeseriesMetadata is only read from the TsFile
+ * when its chunks are really needed, i.e., the statistics can not answer the query.
+ */
+public class LazyDiskChunkMetadataLoader implements IChunkMetadataLoader {
+
+  private final TsFileResource resource;
+  private final NonAlignedFullPath seriesPath;
+  private final QueryContext context;
+  private final Set<String> allSensors;
+  private final DiskChunkMetadataLoader diskChunkMetadataLoader;
+
+  public LazyDiskChunkMetadataLoader(
+      TsFileResource resource,
+      NonAlignedFullPath seriesPath,
+      QueryContext context,
+      Filter globalTimeFilter,
+      Set<String> allSensors,
+      List<ModEntry> pathModifications) {
+    this.resource = resource;
+    this.seriesPath = seriesPath;
+    this.context = context;
+    this.allSensors = allSensors;
+    this.diskChunkMetadataLoader =
+        new DiskChunkMetadataLoader(resource, context, globalTimeFilter, pathModifications);
+  }
+
+  @Override
+  public List<IChunkMetadata> loadChunkMetadataList(ITimeSeriesMetadata timeSeriesMetadata) {
+    TimeseriesMetadata diskTimeSeriesMetadata;
+    try {
+      diskTimeSeriesMetadata =
+          TimeSeriesMetadataCache.getInstance()
+              .get(
+                  resource.getTsFilePath(),
+                  new TimeSeriesMetadataCache.TimeSeriesMetadataCacheKey(
+                      resource.getTsFileID(),
+                      seriesPath.getDeviceId(),
+                      seriesPath.getMeasurement()),
+                  allSensors,
+                  true,
+                  context.isDebug(),
+                  context);
+    } catch (IOException e) {
+      throw new IoTDBIORuntimeException(e);
+    }
+    if (diskTimeSeriesMetadata == null) {
+      return new ArrayList<>();
+    }
+    return diskChunkMetadataLoader.loadChunkMetadataList(diskTimeSeriesMetadata);
+  }
+}
@@ -38,4 +38,9 @@ public class DescPriorityMergeReader extends PriorityMergeReader {
   protected void updateCurrentReadStopTime(long endTime) {
     currentReadStopTime = Math.min(currentReadStopTime, endTime);
   }
+
+  @Override
+  protected boolean isAfter(long time, long otherTime) {
+    return time < otherTime;
+  }
 }
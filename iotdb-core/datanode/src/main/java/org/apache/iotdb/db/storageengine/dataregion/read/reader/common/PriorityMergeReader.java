@@ -22,10 +22,12 @@ package org.apache.iotdb.db.storageengine.dataregion.read.reader.common;
 import org.apache.iotdb.db.queryengine.plan.planner.memory.MemoryReservationManager;
 
 import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.tsfile.read.reader.IPointReader;
 
 import java.io.IOException;
 import java.util.PriorityQueue;
+import java.util.function.Consumer;
 
 /** This class implements {@link IPointReader} for data sources with different priorities. */
 @SuppressWarnings("ConstantConditions") // heap is ensured by hasNext non-empty
@@ -108,6 +110,68 @@ public class PriorityMergeReader implements IPointReader {
     return ret;
   }
 
+  /**
+   * Move the current point of the merge reader to the builder like {@link #nextTimeValuePair()},
+   * together with the following points of the same reader that are not after the end time and
+   * before the current points of all the other readers. The following points are copied column by
+   * column if the reader is a {@link TsBlockPointReader}, since no other reader overlaps with them.
+   *
+   * @param pointWriter writes a single point to the builder
+   * @return the number of the points moved, which is at most maxCount
+   */
+  public int nextBatch(
+      TsBlockBuilder builder, long endTime, int maxCount, Consumer<TimeValuePair> pointWriter)
+      throws IOException {
+    Element top = heap.peek();
+    if (maxCount <= 1 || !(top.getReader() instanceof TsBlockPointReader)) {
+      pointWriter.accept(nextTimeValuePair());
+      return 1;
+    }
+
+    heap.poll();
+    Element second = heap.peek();
+    if (second != null && second.currTime() == top.currTime()) {
+      // the points of the same time need to be merged by priority
+      heap.add(top);
+      pointWriter.accept(nextTimeValuePair());
+      return 1;
+    }
+
+    // no other reader has the current time, so there is no point to skip or fill
+    pointWriter.accept(top.currPair());
+    TsBlockPointReader reader = (TsBlockPointReader) top.getReader();
+    int maxRunCount = Math.min(maxCount - 1, reader.getRemainingCount());
+    int runCount = 0;
+    while (runCount < maxRunCount) {
+      long time = reader.getTime(runCount);
+      if (isAfter(time, endTime) || (second != null && !isAfter(second.currTime(), time))) {
+        break;
+      }
+      runCount++;
+    }
+    if (runCount > 0) {
+      reader.copyTo(builder, runCount);
+    }
+
+    if (top.hasNext()) {
+      top.next();
+      heap.add(top);
+    } else {
+      long size = reader.getUsedMemorySize();
+      usedMemorySize -= size;
+      if (memoryReservationManager != null) {
+        memoryReservationManager.releaseMemoryCumulatively(size);
+      }
+      top.close();
+    }
+    return runCount + 1;
+  }
+
+  /** Return true if the time is after the other time in the merging order. */
+  protected boolean isAfter(long time, long otherTime) {
+    return time > otherTime;
+  }
+
   @Override
   public TimeValuePair currentTimeValuePair() throws IOException {
     return heap.peek().getTimeValuePair();
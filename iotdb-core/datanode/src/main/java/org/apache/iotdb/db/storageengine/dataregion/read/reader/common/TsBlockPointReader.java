@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.read.reader.common;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.TimeColumnBuilder;
+import org.apache.tsfile.read.reader.IPointReader;
+import org.apache.tsfile.utils.TsPrimitiveType;
+
+import java.util.List;
+
+/**
+ * An {@link IPointReader} over the rows of a {@link TsBlock}, which returns the same {@link
+ * TimeValuePair}s as {@link TsBlock#getTsBlockSingleColumnIterator()} (or {@link
+ * TsBlock#getTsBlockAlignedRowIterator()} if aligned), and can also copy the unread rows to a
+ * {@link TsBlockBuilder} column by column, so that {@link PriorityMergeReader#nextBatch} can move
+ * the non-overlapped rows without boxing each of them.
+ */
+public class TsBlockPointReader implements IPointReader {
+
+  private final TsBlock tsBlock;
+  private final boolean isAligned;
+  private final Column timeColumn;
+  private final Column[] valueColumns;
+  private final int positionCount;
+
+  private int rowIndex = 0;
+
+  public TsBlockPointReader(final TsBlock tsBlock, final boolean isAligned) {
+    this.tsBlock = tsBlock;
+    this.isAligned = isAligned;
+    this.timeColumn = tsBlock.getTimeColumn();
+    this.valueColumns = tsBlock.getValueColumns();
+    this.positionCount = tsBlock.getPositionCount();
+  }
+
+  /**
+   * @return {@code true} if the rows of the tsBlock can be copied to the builders of the given data
+   *     types, i.e., the value columns are of the same data types
+   */
+  public static boolean isCopyable(
+      final TsBlock tsBlock, final boolean isAligned, final List<TSDataType> dataTypes) {
+    final int columnCount = isAligned ? tsBlock.getValueColumnCount() : 1;
+    if (tsBlock.getValueColumnCount() < columnCount || columnCount != dataTypes.size()) {
+      return false;
+    }
+    for (int i = 0; i < columnCount; ++i) {
+      if (tsBlock.getColumn(i).getDataType() != dataTypes.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean hasNextTimeValuePair() {
+    return rowIndex < positionCount;
+  }
+
+  @Override
+  public TimeValuePair nextTimeValuePair() {
+    final TimeValuePair timeValuePair = currentTimeValuePair();
+    ++rowIndex;
+    return timeValuePair;
+  }
+
+  @Override
+  public TimeValuePair currentTimeValuePair() {
+    final long time = timeColumn.getLong(rowIndex);
+    if (!isAligned) {
+      return new TimeValuePair(time, valueColumns[0].getTsPrimitiveType(rowIndex));
+    }
+    final TsPrimitiveType[] values = new TsPrimitiveType[valueColumns.length];
+    for (int i = 0; i < valueColumns.length; ++i) {
+      if (!valueColumns[i].isNull(rowIndex)) {
+        values[i] = valueColumns[i].getTsPrimitiveType(rowIndex);
+      }
+    }
+    return new TimeValuePair(time, new TsPrimitiveType.TsVector(values));
+  }
+
+  /** The time of the unread row which is the given number of rows after the current row. */
+  long getTime(final int offset) {
+    return timeColumn.getLong(rowIndex + offset);
+  }
+
+  /** The number of the unread rows. */
+  int getRemainingCount() {
+    return positionCount - rowIndex;
+  }
+
+  /** Copy the next given number of unread rows to the builder, and mark them as read. */
+  void copyTo(final TsBlockBuilder builder, final int count) {
+    final int endIndex = rowIndex + count;
+    final TimeColumnBuilder timeColumnBuilder = builder.getTimeColumnBuilder();
+    for (int i = rowIndex; i < endIndex; ++i) {
+      timeColumnBuilder.writeLong(timeColumn.getLong(i));
+    }
+    final int columnCount = isAligned ? valueColumns.length : 1;
+    for (int j = 0; j < columnCount; ++j) {
+      final Column valueColumn = valueColumns[j];
+      final ColumnBuilder valueColumnBuilder = builder.getColumnBuilder(j);
+      if (valueColumn.mayHaveNull()) {
+        for (int i = rowIndex; i < endIndex; ++i) {
+          if (valueColumn.isNull(i)) {
+            valueColumnBuilder.appendNull();
+          } else {
+            valueColumnBuilder.write(valueColumn, i);
+          }
+        }
+      } else {
+        for (int i = rowIndex; i < endIndex; ++i) {
+          valueColumnBuilder.write(valueColumn, i);
+        }
+      }
+    }
+    builder.declarePositions(count);
+    rowIndex = endIndex;
+  }
+
+  @Override
+  public long getUsedMemorySize() {
+    return tsBlock.getRetainedSizeInBytes();
+  }
+
+  @Override
+  public void close() {
+    // Do nothing
+  }
+}
@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.storageengine.dataregion.tsfile;
 
 import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.pipe.resource.PipeDataNodeResourceManager;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModFileManagement;
 import org.apache.iotdb.db.storageengine.dataregion.modification.PartitionLevelModFileManager;
@@ -113,29 +114,36 @@ public class TsFileManager {
     if (timePartitions == null) {
       for (Map.Entry<Long, TsFileResourceList> entry : sequenceFiles.entrySet()) {
         if (TimePartitionUtils.satisfyTimePartition(timeFilter, entry.getKey())) {
-          seq.addAll(entry.getValue().getArrayList());
+          seq.addAll(getTsFileListForQuery(entry.getValue(), timeFilter));
         }
       }
       for (Map.Entry<Long, TsFileResourceList> entry : unsequenceFiles.entrySet()) {
         if (TimePartitionUtils.satisfyTimePartition(timeFilter, entry.getKey())) {
-          unSeq.addAll(entry.getValue().getArrayList());
+          unSeq.addAll(getTsFileListForQuery(entry.getValue(), timeFilter));
         }
       }
     } else {
       for (Long timePartitionId : timePartitions) {
         TsFileResourceList tsFileResources = sequenceFiles.get(timePartitionId);
         if (tsFileResources != null) {
-          seq.addAll(tsFileResources.getArrayList());
+          seq.addAll(getTsFileListForQuery(tsFileResources, timeFilter));
         }
         tsFileResources = unsequenceFiles.get(timePartitionId);
         if (tsFileResources != null) {
-          unSeq.addAll(tsFileResources.getArrayList());
+          unSeq.addAll(getTsFileListForQuery(tsFileResources, timeFilter));
         }
       }
     }
     return new Pair<>(seq, unSeq);
   }
 
+  private static List<TsFileResource> getTsFileListForQuery(
+      TsFileResourceList tsFileResources, Filter timeFilter) {
+    return IoTDBDescriptor.getInstance().getConfig().isEnableTsFileTimeRangeIndex()
+        ? tsFileResources.getArrayList(timeFilter)
+        : tsFileResources.getArrayList();
+  }
+
   public List<TsFileResource> getTsFileListSnapshot(long timePartition, boolean sequence) {
     readLock();
     try {
@@ -31,6 +31,7 @@ import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.load.PartitionViolationException;
 import org.apache.iotdb.db.schemaengine.schemaregion.utils.ResourceByPathUtils;
+import org.apache.iotdb.db.storageengine.buffer.TsFileStatisticsIndexCache;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.utils.InsertionCompactionCandidateStatus;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.ReadOnlyMemChunk;
@@ -43,7 +44,9 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Deletion;
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification;
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.CompactArrayDeviceTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.PlainDeviceTimeIndex;
@@ -57,6 +60,7 @@ import org.apache.tsfile.fileSystem.FSFactoryProducer;
 import org.apache.tsfile.fileSystem.fsFactory.FSFactory;
 import org.apache.tsfile.read.TimeValuePair;
 import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.utils.BloomFilter;
 import org.apache.tsfile.utils.FilePathUtils;
 import org.apache.tsfile.utils.Pair;
 import org.apache.tsfile.utils.RamUsageEstimator;
@@ -851,6 +855,7 @@ public class TsFileResource implements PersistentResource, Cloneable {
       fsFactory.deleteIfExists(file);
       fsFactory.deleteIfExists(
           new File(file.getAbsolutePath() + TsFileIOWriter.CHUNK_METADATA_TEMP_FILE_SUFFIX));
+      TsFileStatisticsIndex.remove(this);
     } catch (IOException e) {
       LOGGER.error("TsFile {} cannot be deleted: {}", file, e.getMessage());
       return false;
@@ -889,6 +894,13 @@ public class TsFileResource implements PersistentResource, Cloneable {
           getExclusiveModFile().getFile(),
           fsFactory.getFile(targetDir, ModificationFile.getExclusiveMods(file).getName()));
     }
+
+    File statisticsIndexFile = TsFileStatisticsIndex.getIndexFile(this);
+    if (statisticsIndexFile.exists()) {
+      fsFactory.moveFile(
+          statisticsIndexFile, fsFactory.getFile(targetDir, statisticsIndexFile.getName()));
+      TsFileStatisticsIndexCache.getInstance().invalidate(this);
+    }
   }
 
   @Override
@@ -1357,6 +1369,19 @@ public class TsFileResource implements PersistentResource, Cloneable {
     }
   }
 
+  /**
+   * Replace the ArrayDeviceTimeIndex of the sealed tsfile with a {@link
+   * CompactArrayDeviceTimeIndex}. It should be called before the memory of the time index is
+   * registered, since the ram size is recalculated.
+   */
+  public void compactTimeIndex() {
+    ITimeIndex currentTimeIndex = timeIndex;
+    if (isClosed() && currentTimeIndex.getClass() == ArrayDeviceTimeIndex.class) {
+      timeIndex = new CompactArrayDeviceTimeIndex((ArrayDeviceTimeIndex) currentTimeIndex);
+      deviceTimeIndexRamSize = 0;
+    }
+  }
+
   /** the DeviceTimeIndex degrade to FileTimeIndex and release memory */
   public long degradeTimeIndex() {
     TimeIndexLevel timeIndexLevel = TimeIndexLevel.valueOf(getTimeIndexType());
@@ -1368,8 +1393,17 @@ public class TsFileResource implements PersistentResource, Cloneable {
     long startTime = timeIndex.getMinStartTime();
     // get the maximum endTime
     long endTime = timeIndex.getMaxEndTime();
+    // keep the devices in a bloom filter if it saves enough memory, which is usually about one
+    // byte per device
+    BloomFilter deviceFilter = null;
+    if (CONFIG.isEnableDegradedTimeIndexDeviceFilter()) {
+      deviceFilter = FileTimeIndex.buildDeviceFilter(timeIndex.getDevices(getTsFilePath(), this));
+      if (deviceFilter.getRetainedSizeInBytes() * 2 > deviceTimeIndexRamSize) {
+        deviceFilter = null;
+      }
+    }
     // replace the DeviceTimeIndex with FileTimeIndex
-    timeIndex = new FileTimeIndex(startTime, endTime);
+    timeIndex = new FileTimeIndex(startTime, endTime, deviceFilter);
     // deviceTimeIndexRamSize has already been calculated before
     return deviceTimeIndexRamSize - timeIndex.calculateRamSize();
   }
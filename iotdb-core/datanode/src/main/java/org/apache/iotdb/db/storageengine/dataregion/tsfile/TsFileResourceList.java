@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 
 import org.apache.tsfile.exception.NotImplementedException;
+import org.apache.tsfile.read.filter.basic.Filter;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -35,11 +36,19 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class TsFileResourceList implements List<TsFileResource> {
 
+  // the time range index is not worth building for a short list
+  private static final int MIN_FILE_NUM_TO_INDEX = 64;
+
   private TsFileResource header;
   private TsFileResource tail;
   private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
   private int count = 0;
 
+  // increased by every modification of the list, by which the stale time range index is detected.
+  // The list is modified with the write lock of the TsFileManager, so ++ is safe here.
+  private volatile int modCount = 0;
+  private volatile TsFileTimeRangeIndex timeRangeIndex;
+
   /**
    * Insert a new node before an existing node
    *
@@ -59,6 +68,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     }
     node.prev = newNode;
     count++;
+    modCount++;
   }
 
   /**
@@ -77,6 +87,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     }
     node.next = newNode;
     count++;
+    modCount++;
   }
 
   @Override
@@ -126,6 +137,7 @@ public class TsFileResourceList implements List<TsFileResource> {
       header = newNode;
       tail = newNode;
       count++;
+      modCount++;
     } else {
       insertAfter(tail, newNode);
     }
@@ -147,6 +159,7 @@ public class TsFileResourceList implements List<TsFileResource> {
       header = newNode;
       tail = newNode;
       count++;
+      modCount++;
     } else {
       TsFileNameGenerator.TsFileName newTsFileName =
           TsFileNameGenerator.getTsFileName(newNode.getTsFile().getName());
@@ -221,6 +234,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     tsFileResource.prev = null;
     tsFileResource.next = null;
     count--;
+    modCount++;
     return true;
   }
 
@@ -246,6 +260,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     header = null;
     tail = null;
     count = 0;
+    modCount++;
   }
 
   @Override
@@ -363,6 +378,24 @@ public class TsFileResourceList implements List<TsFileResource> {
     return list;
   }
 
+  /**
+   * @return the tsfiles which may contain the data satisfying the time filter, in the order of the
+   *     list. The tsfiles are selected by the file time ranges through a {@link
+   *     TsFileTimeRangeIndex}, which is rebuilt if the list has been modified.
+   */
+  public List<TsFileResource> getArrayList(Filter timeFilter) {
+    if (timeFilter == null || count < MIN_FILE_NUM_TO_INDEX) {
+      return getArrayList();
+    }
+    TsFileTimeRangeIndex index = timeRangeIndex;
+    int currentModCount = modCount;
+    if (index == null || index.getModCount() != currentModCount) {
+      index = new TsFileTimeRangeIndex(getArrayList(), currentModCount);
+      timeRangeIndex = index;
+    }
+    return index.query(timeFilter);
+  }
+
   private class TsFileIterator implements Iterator<TsFileResource> {
     List<TsFileResource> tsFileResourceList;
     int currentIndex = 0;
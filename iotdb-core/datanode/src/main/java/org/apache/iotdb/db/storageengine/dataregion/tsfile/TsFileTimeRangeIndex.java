@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile;
+
+import org.apache.tsfile.read.common.TimeRange;
+import org.apache.tsfile.read.filter.basic.Filter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable index over the file time ranges of the tsfiles in a {@link TsFileResourceList}, by
+ * which the tsfiles overlapping a time range are found by binary search instead of traversing the
+ * list. The sealed tsfiles are sorted by their start times, and the max end time of each prefix is
+ * recorded. As the max end times are non-decreasing, the tsfiles ending before the time range can
+ * be skipped together, and so can the ones starting after it.
+ *
+ * <p>The time range of an unsealed tsfile keeps growing, so it is always a candidate. The
+ * candidates are only selected by the file time range, the caller should still check every one of
+ * them by {@link TsFileResource#isSatisfied}.
+ */
+class TsFileTimeRangeIndex {
+
+  // the modification count of the list when the index is built
+  private final int modCount;
+
+  // in the order of the list
+  private final TsFileResource[] resources;
+
+  // the positions of the unsealed tsfiles in the list
+  private final int[] unsealedPositions;
+
+  // the positions of the sealed tsfiles in the list, sorted by their start times
+  private final int[] sortedPositions;
+  private final long[] startTimes;
+  private final long[] endTimes;
+  // maxEndTimes[i] is the max one of endTimes[0..i]
+  private final long[] maxEndTimes;
+
+  TsFileTimeRangeIndex(List<TsFileResource> resourceList, int modCount) {
+    this.modCount = modCount;
+    this.resources = resourceList.toArray(new TsFileResource[0]);
+
+    List<Integer> unsealed = new ArrayList<>();
+    List<Integer> sealed = new ArrayList<>(resources.length);
+    long[] fileStartTimes = new long[resources.length];
+    long[] fileEndTimes = new long[resources.length];
+    for (int i = 0; i < resources.length; i++) {
+      if (resources[i].isClosed()) {
+        fileStartTimes[i] = resources[i].getFileStartTime();
+        fileEndTimes[i] = resources[i].getFileEndTime();
+        sealed.add(i);
+      } else {
+        unsealed.add(i);
+      }
+    }
+    sealed.sort(Comparator.comparingLong(i -> fileStartTimes[i]));
+
+    this.unsealedPositions = unsealed.stream().mapToInt(Integer::intValue).toArray();
+    this.sortedPositions = sealed.stream().mapToInt(Integer::intValue).toArray();
+    this.startTimes = new long[sortedPositions.length];
+    this.endTimes = new long[sortedPositions.length];
+    this.maxEndTimes = new long[sortedPositions.length];
+    for (int i = 0; i < sortedPositions.length; i++) {
+      startTimes[i] = fileStartTimes[sortedPositions[i]];
+      endTimes[i] = fileEndTimes[sortedPositions[i]];
+      maxEndTimes[i] = i == 0 ? endTimes[i] : Math.max(maxEndTimes[i - 1], endTimes[i]);
+    }
+  }
+
+  int getModCount() {
+    return modCount;
+  }
+
+  /**
+   * @return the tsfiles whose file time ranges overlap the time ranges of the filter and the
+   *     unsealed tsfiles, in the order of the list
+   */
+  List<TsFileResource> query(Filter timeFilter) {
+    BitSet selected = new BitSet(resources.length);
+    for (int position : unsealedPositions) {
+      selected.set(position);
+    }
+    for (TimeRange timeRange : timeFilter.getTimeRanges()) {
+      // all the ones before it end before the time range
+      int from = firstNotLessThan(maxEndTimes, timeRange.getMin());
+      // all the ones from it start after the time range
+      int to =
+          timeRange.getMax() == Long.MAX_VALUE
+              ? startTimes.length
+              : firstNotLessThan(startTimes, timeRange.getMax() + 1);
+      for (int i = from; i < to; i++) {
+        if (endTimes[i] >= timeRange.getMin()) {
+          selected.set(sortedPositions[i]);
+        }
+      }
+    }
+
+    List<TsFileResource> result = new ArrayList<>(selected.cardinality());
+    for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+      result.add(resources[i]);
+    }
+    return result;
+  }
+
+  /** @return the index of the first element not less than the key in the non-decreasing array */
+  private static int firstNotLessThan(long[] sortedArray, long key) {
+    int low = 0;
+    int high = sortedArray.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (sortedArray[mid] >= key) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.buffer.TsFileStatisticsIndexCache;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.tsfile.fileSystem.fsFactory.FSFactory;
+import org.apache.tsfile.read.TsFileDeviceIterator;
+import org.apache.tsfile.read.TsFileSequenceReader;
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The statistics of the series of a sealed TsFile, i.e., device -> measurement -> statistics,
+ * which are persisted in a small file beside the TsFile, so that the queries can get them without
+ * opening the metadata index of the TsFile. Both the non-aligned devices and the aligned devices
+ * are recorded, the time column of an aligned device is recorded as the measurement "".
+ *
+ * <p>The file consists of the version, the entries of the devices, the offset table of the entries
+ * and the offset of the table:
+ *
+ * <pre>
+ * version | entry of device 1 | ... | entry of device n
+ *   | n | (device, is aligned, entry offset, entry size) * n | offset of the table (long)
+ * </pre>
+ *
+ * <p>An instance only holds the offset table, the entry of a device is only read by {@link
+ * #loadDeviceStatistics} when a query needs it, and it is cached by {@link
+ * TsFileStatisticsIndexCache}. A device which is absent from the table is absent from the TsFile,
+ * and a series of an indexed device which is absent from its entry is absent from the TsFile.
+ *
+ * <p>The index is generated by {@link #generateAsync} off the flush and compaction threads, since
+ * it re-reads the metadata of the sealed TsFile. The queries fall back to the TsFile until it is
+ * generated.
+ */
+public class TsFileStatisticsIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TsFileStatisticsIndex.class);
+  private static final FSFactory FS_FACTORY = FSFactoryProducer.getFSFactory();
+
+  public static final String STATISTICS_INDEX_SUFFIX = ".stats";
+
+  private static final byte VERSION = 1;
+
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(TsFileStatisticsIndex.class);
+
+  private final File indexFile;
+  private final Map<IDeviceID, DeviceEntry> deviceEntries;
+
+  private TsFileStatisticsIndex(File indexFile, Map<IDeviceID, DeviceEntry> deviceEntries) {
+    this.indexFile = indexFile;
+    this.deviceEntries = deviceEntries;
+  }
+
+  public static boolean isEnabled() {
+    return IoTDBDescriptor.getInstance().getConfig().isEnableTsFileStatisticsIndex();
+  }
+
+  public static File getIndexFile(TsFileResource resource) {
+    return FS_FACTORY.getFile(resource.getTsFilePath() + STATISTICS_INDEX_SUFFIX);
+  }
+
+  /** @return true if the device is in the TsFile, so that its statistics are recorded */
+  public boolean isIndexed(IDeviceID deviceID) {
+    return deviceEntries.containsKey(deviceID);
+  }
+
+  /**
+   * Read the statistics of the device from the index file. It should only be called if the device
+   * {@link #isIndexed}.
+   */
+  public DeviceStatistics loadDeviceStatistics(IDeviceID deviceID) throws IOException {
+    DeviceEntry entry = deviceEntries.get(deviceID);
+    ByteBuffer buffer = ByteBuffer.allocate(entry.size);
+    try (RandomAccessFile file = new RandomAccessFile(indexFile, "r")) {
+      file.seek(entry.offset);
+      file.readFully(buffer.array());
+    }
+    int measurementCount = ReadWriteIOUtils.readInt(buffer);
+    Map<String, Statistics<? extends Serializable>> measurementStatistics =
+        new HashMap<>(measurementCount);
+    for (int i = 0; i < measurementCount; i++) {
+      String measurement = ReadWriteIOUtils.readString(buffer);
+      TSDataType dataType = ReadWriteIOUtils.readDataType(buffer);
+      measurementStatistics.put(measurement, Statistics.deserialize(buffer, dataType));
+    }
+    return new DeviceStatistics(entry.aligned, measurementStatistics);
+  }
+
+  public long getRetainedSizeInBytes() {
+    long size =
+        INSTANCE_SIZE
+            + RamUsageEstimator.sizeOf(indexFile.getPath())
+            + RamUsageEstimator.shallowSizeOf(deviceEntries);
+    for (IDeviceID deviceID : deviceEntries.keySet()) {
+      size += deviceID.ramBytesUsed() + DeviceEntry.INSTANCE_SIZE;
+    }
+    return size;
+  }
+
+  /**
+   * Generate the statistics index of the sealed TsFile in the background if the index is enabled.
+   */
+  public static void generateAsync(TsFileResource resource) {
+    if (!isEnabled()) {
+      return;
+    }
+    GeneratorHolder.EXECUTOR.submit(() -> generate(resource));
+  }
+
+  /**
+   * Generate the statistics index of the sealed TsFile if the index is enabled. The failure is only
+   * logged, since the queries fall back to reading the TsFile without the index.
+   */
+  public static void generate(TsFileResource resource) {
+    if (!isEnabled()) {
+      return;
+    }
+    File indexFile = getIndexFile(resource);
+    File tempFile = FS_FACTORY.getFile(indexFile.getPath() + TsFileResource.TEMP_SUFFIX);
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(resource.getTsFilePath())) {
+      try (FileOutputStream fileOutputStream = new FileOutputStream(tempFile);
+          BufferedOutputStream outputStream = new BufferedOutputStream(fileOutputStream)) {
+        serialize(reader, outputStream);
+        outputStream.flush();
+        fileOutputStream.getFD().sync();
+      }
+      FS_FACTORY.deleteIfExists(indexFile);
+      FS_FACTORY.moveFile(tempFile, indexFile);
+      if (resource.isDeleted() || !resource.getTsFile().exists()) {
+        // the TsFile has been removed during the generation, whose index removal may be missed
+        FS_FACTORY.deleteIfExists(indexFile);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Failed to generate the statistics index of TsFile {}", resource, e);
+      try {
+        FS_FACTORY.deleteIfExists(tempFile);
+      } catch (IOException ex) {
+        LOGGER.warn("Failed to delete {}", tempFile, ex);
+      }
+    } finally {
+      // the absence of the index may have been cached
+      TsFileStatisticsIndexCache.getInstance().invalidate(resource);
+    }
+  }
+
+  /** Remove the statistics index of the TsFile if it exists. */
+  public static void remove(TsFileResource resource) throws IOException {
+    FS_FACTORY.deleteIfExists(getIndexFile(resource));
+    TsFileStatisticsIndexCache.getInstance().invalidate(resource);
+  }
+
+  private static void serialize(TsFileSequenceReader reader, OutputStream outputStream)
+      throws IOException {
+    ReadWriteIOUtils.write(VERSION, outputStream);
+    long offset = Byte.BYTES;
+    Map<IDeviceID, DeviceEntry> deviceEntries = new LinkedHashMap<>();
+    PublicBAOS entryBuffer = new PublicBAOS();
+    TsFileDeviceIterator deviceIterator = reader.getAllDevicesIteratorWithIsAligned();
+    while (deviceIterator.hasNext()) {
+      Pair<IDeviceID, Boolean> deviceAndIsAligned = deviceIterator.next();
+      List<TimeseriesMetadata> timeseriesMetadataList =
+          reader.getDeviceTimeseriesMetadata(deviceAndIsAligned.left);
+      entryBuffer.reset();
+      ReadWriteIOUtils.write(timeseriesMetadataList.size(), entryBuffer);
+      for (TimeseriesMetadata timeseriesMetadata : timeseriesMetadataList) {
+        ReadWriteIOUtils.write(timeseriesMetadata.getMeasurementId(), entryBuffer);
+        ReadWriteIOUtils.write(timeseriesMetadata.getTsDataType(), entryBuffer);
+        timeseriesMetadata.getStatistics().serialize(entryBuffer);
+      }
+      entryBuffer.writeTo(outputStream);
+      deviceEntries.put(
+          deviceAndIsAligned.left,
+          new DeviceEntry(
+              Boolean.TRUE.equals(deviceAndIsAligned.right), offset, entryBuffer.size()));
+      offset += entryBuffer.size();
+    }
+
+    ReadWriteIOUtils.write(deviceEntries.size(), outputStream);
+    for (Map.Entry<IDeviceID, DeviceEntry> entry : deviceEntries.entrySet()) {
+      entry.getKey().serialize(outputStream);
+      ReadWriteIOUtils.write(entry.getValue().aligned, outputStream);
+      ReadWriteIOUtils.write(entry.getValue().offset, outputStream);
+      ReadWriteIOUtils.write(entry.getValue().size, outputStream);
+    }
+    ReadWriteIOUtils.write(offset, outputStream);
+  }
+
+  /** Read the offset table of the index file, the entries of the devices are not read. */
+  public static TsFileStatisticsIndex load(File indexFile) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(indexFile, "r")) {
+      byte version = file.readByte();
+      if (version != VERSION) {
+        throw new IOException("Unsupported version of statistics index: " + version);
+      }
+      long tableEnd = file.length() - Long.BYTES;
+      file.seek(tableEnd);
+      long tableOffset = file.readLong();
+      if (tableOffset < Byte.BYTES || tableOffset > tableEnd) {
+        throw new IOException("Invalid offset of the device table: " + tableOffset);
+      }
+      ByteBuffer buffer = ByteBuffer.allocate((int) (tableEnd - tableOffset));
+      file.seek(tableOffset);
+      file.readFully(buffer.array());
+
+      int deviceCount = ReadWriteIOUtils.readInt(buffer);
+      Map<IDeviceID, DeviceEntry> deviceEntries = new HashMap<>(deviceCount);
+      for (int i = 0; i < deviceCount; i++) {
+        IDeviceID deviceID = IDeviceID.Deserializer.DEFAULT_DESERIALIZER.deserializeFrom(buffer);
+        boolean aligned = ReadWriteIOUtils.readBool(buffer);
+        long offset = ReadWriteIOUtils.readLong(buffer);
+        int size = ReadWriteIOUtils.readInt(buffer);
+        if (offset < Byte.BYTES || offset + size > tableOffset) {
+          throw new IOException("Invalid entry of device " + deviceID + " at " + offset);
+        }
+        deviceEntries.put(deviceID, new DeviceEntry(aligned, offset, size));
+      }
+      return new TsFileStatisticsIndex(indexFile, deviceEntries);
+    }
+  }
+
+  /** The position of the entry of a device in the index file. */
+  private static class DeviceEntry {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(DeviceEntry.class);
+
+    private final boolean aligned;
+    private final long offset;
+    private final int size;
+
+    private DeviceEntry(boolean aligned, long offset, int size) {
+      this.aligned = aligned;
+      this.offset = offset;
+      this.size = size;
+    }
+  }
+
+  /** The statistics of the series of a device in the TsFile. */
+  public static class DeviceStatistics {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(DeviceStatistics.class);
+
+    private final boolean aligned;
+    private final Map<String, Statistics<? extends Serializable>> measurementStatistics;
+
+    private DeviceStatistics(
+        boolean aligned, Map<String, Statistics<? extends Serializable>> measurementStatistics) {
+      this.aligned = aligned;
+      this.measurementStatistics = measurementStatistics;
+    }
+
+    public boolean isAligned() {
+      return aligned;
+    }
+
+    /**
+     * @return the statistics of the series, or null if the series is absent from the TsFile. The
+     *     measurement of the time column of an aligned device is "".
+     */
+    public Statistics<? extends Serializable> getStatistics(String measurement) {
+      return measurementStatistics.get(measurement);
+    }
+
+    public long getRetainedSizeInBytes() {
+      long size = INSTANCE_SIZE + RamUsageEstimator.shallowSizeOf(measurementStatistics);
+      for (Map.Entry<String, Statistics<? extends Serializable>> entry :
+          measurementStatistics.entrySet()) {
+        size +=
+            RamUsageEstimator.sizeOf(entry.getKey()) + entry.getValue().getRetainedSizeInBytes();
+      }
+      return size;
+    }
+  }
+
+  private static class GeneratorHolder {
+
+    private static final ExecutorService EXECUTOR =
+        IoTDBThreadPoolFactory.newSingleThreadExecutor(
+            ThreadName.TSFILE_STATISTICS_INDEX_GENERATOR.getName());
+
+    private GeneratorHolder() {
+      // forbidding instantiation
+    }
+  }
+}
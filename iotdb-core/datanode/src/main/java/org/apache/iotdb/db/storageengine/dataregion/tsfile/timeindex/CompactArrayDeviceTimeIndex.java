@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.db.exception.load.PartitionViolationException;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.utils.FilePathUtils;
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A compact in-memory form of {@link ArrayDeviceTimeIndex} for the sealed tsfiles, which is
+ * serialized in the same format and is used wherever an {@link ArrayDeviceTimeIndex} is expected.
+ *
+ * <p>The devices are kept in a sorted array instead of a map, and the device ids are interned so
+ * that the tsfiles of the same devices share the instances. The times are stored as the offsets
+ * from the min time of the tsfile, and all the offsets are packed with the same number of bytes,
+ * which is usually far less than 8 since the times of a tsfile are close to each other. A device
+ * is looked up by binary search.
+ *
+ * <p>The shared device ids are still charged to every tsfile as {@link ArrayDeviceTimeIndex} does,
+ * since a tsfile can not tell whether it holds the last reference of an id. This over-estimates
+ * the memory of the ids rather than leaving them charged to no tsfile.
+ */
+public class CompactArrayDeviceTimeIndex extends ArrayDeviceTimeIndex {
+
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(CompactArrayDeviceTimeIndex.class)
+          + RamUsageEstimator.shallowSizeOfInstance(Entries.class);
+
+  private static final Interner<IDeviceID> DEVICE_ID_INTERNER = Interners.newWeakInterner();
+
+  private static final long[] EMPTY_TIMES = new long[0];
+
+  // replaced as a whole when the time index is modified, so the readers need no lock
+  private volatile Entries entries;
+
+  public CompactArrayDeviceTimeIndex(ArrayDeviceTimeIndex timeIndex) {
+    super(Collections.emptyMap(), EMPTY_TIMES, EMPTY_TIMES);
+    Map<IDeviceID, Integer> deviceToIndex = timeIndex.getDeviceToIndex();
+    long[] originStartTimes = timeIndex.getStartTimes();
+    long[] originEndTimes = timeIndex.getEndTimes();
+
+    IDeviceID[] devices = deviceToIndex.keySet().toArray(new IDeviceID[0]);
+    Arrays.sort(devices);
+    long[] deviceStartTimes = new long[devices.length];
+    long[] deviceEndTimes = new long[devices.length];
+    for (int i = 0; i < devices.length; i++) {
+      int index = deviceToIndex.get(devices[i]);
+      deviceStartTimes[i] = originStartTimes[index];
+      deviceEndTimes[i] = originEndTimes[index];
+      devices[i] = DEVICE_ID_INTERNER.intern(devices[i]);
+    }
+    this.entries = new Entries(devices, deviceStartTimes, deviceEndTimes);
+    this.minStartTime = timeIndex.getMinStartTime();
+    this.maxEndTime = timeIndex.getMaxEndTime();
+  }
+
+  @Override
+  public void serialize(OutputStream outputStream) throws IOException {
+    Entries current = entries;
+    ReadWriteIOUtils.write(getTimeIndexType(), outputStream);
+    int deviceNum = current.devices.length;
+
+    ReadWriteIOUtils.write(deviceNum, outputStream);
+    for (int i = 0; i < deviceNum; i++) {
+      ReadWriteIOUtils.write(current.getStartTime(i), outputStream);
+      ReadWriteIOUtils.write(current.getEndTime(i), outputStream);
+    }
+
+    for (int i = 0; i < deviceNum; i++) {
+      current.devices[i].serialize(outputStream);
+      ReadWriteIOUtils.write(i, outputStream);
+    }
+  }
+
+  @Override
+  public void close() {
+    // already compact
+  }
+
+  @Override
+  public Set<IDeviceID> getDevices() {
+    return new DeviceSet(entries.devices);
+  }
+
+  @Override
+  public Set<IDeviceID> getDevices(String tsFilePath, TsFileResource tsFileResource) {
+    return getDevices();
+  }
+
+  /** The map is rebuilt on each call, which should be avoided in the frequent paths. */
+  @Override
+  public Map<IDeviceID, Integer> getDeviceToIndex() {
+    IDeviceID[] devices = entries.devices;
+    Map<IDeviceID, Integer> deviceToIndex = new HashMap<>(devices.length);
+    for (int i = 0; i < devices.length; i++) {
+      deviceToIndex.put(devices[i], i);
+    }
+    return deviceToIndex;
+  }
+
+  @Override
+  public long[] getStartTimes() {
+    Entries current = entries;
+    long[] startTimes = new long[current.devices.length];
+    for (int i = 0; i < startTimes.length; i++) {
+      startTimes[i] = current.getStartTime(i);
+    }
+    return startTimes;
+  }
+
+  @Override
+  public long[] getEndTimes() {
+    Entries current = entries;
+    long[] endTimes = new long[current.devices.length];
+    for (int i = 0; i < endTimes.length; i++) {
+      endTimes[i] = current.getEndTime(i);
+    }
+    return endTimes;
+  }
+
+  @Override
+  public boolean endTimeEmpty() {
+    Entries current = entries;
+    for (int i = 0; i < current.devices.length; i++) {
+      if (current.getEndTime(i) != Long.MIN_VALUE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean stillLives(long ttlLowerBound) {
+    if (ttlLowerBound == Long.MAX_VALUE) {
+      return true;
+    }
+    Entries current = entries;
+    for (int i = 0; i < current.devices.length; i++) {
+      // the file cannot be deleted if any device still lives
+      if (current.getEndTime(i) >= ttlLowerBound) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public long calculateRamSize() {
+    Entries current = entries;
+    return INSTANCE_SIZE
+        + RamUsageEstimator.sizeOf(current.devices)
+        + RamUsageEstimator.sizeOf(current.times);
+  }
+
+  @Override
+  public long getTimePartition(String tsFilePath) {
+    try {
+      Entries current = entries;
+      if (current.devices.length > 0) {
+        return TimePartitionUtils.getTimePartitionId(current.getStartTime(0));
+      }
+      String[] filePathSplits = FilePathUtils.splitTsFilePath(tsFilePath);
+      return Long.parseLong(filePathSplits[filePathSplits.length - 2]);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  @Override
+  public long getTimePartitionWithCheck(String tsFilePath) throws PartitionViolationException {
+    try {
+      return getTimePartitionWithCheck();
+    } catch (PartitionViolationException e) {
+      throw new PartitionViolationException(tsFilePath);
+    }
+  }
+
+  @Override
+  public boolean isSpanMultiTimePartitions() {
+    try {
+      getTimePartitionWithCheck();
+      return false;
+    } catch (PartitionViolationException e) {
+      return true;
+    }
+  }
+
+  private long getTimePartitionWithCheck() throws PartitionViolationException {
+    Entries current = entries;
+    if (current.devices.length == 0) {
+      throw new PartitionViolationException();
+    }
+    long partitionId = TimePartitionUtils.getTimePartitionId(current.getStartTime(0));
+    for (int i = 0; i < current.devices.length; i++) {
+      if (TimePartitionUtils.getTimePartitionId(current.getStartTime(i)) != partitionId
+          || TimePartitionUtils.getTimePartitionId(current.getEndTime(i)) != partitionId) {
+        throw new PartitionViolationException();
+      }
+    }
+    return partitionId;
+  }
+
+  @Override
+  public synchronized void updateStartTime(IDeviceID deviceId, long time) {
+    long[] startAndEndTime = getStartAndEndTimeOrDefault(deviceId);
+    if (time < startAndEndTime[0]) {
+      setTimes(deviceId, time, startAndEndTime[1]);
+    }
+    minStartTime = Math.min(minStartTime, time);
+  }
+
+  @Override
+  public synchronized void updateEndTime(IDeviceID deviceId, long time) {
+    long[] startAndEndTime = getStartAndEndTimeOrDefault(deviceId);
+    if (time > startAndEndTime[1]) {
+      setTimes(deviceId, startAndEndTime[0], time);
+    }
+    maxEndTime = Math.max(maxEndTime, time);
+  }
+
+  @Override
+  public synchronized void putStartTime(IDeviceID deviceId, long time) {
+    setTimes(deviceId, time, getStartAndEndTimeOrDefault(deviceId)[1]);
+    minStartTime = Math.min(minStartTime, time);
+  }
+
+  @Override
+  public synchronized void putEndTime(IDeviceID deviceId, long time) {
+    setTimes(deviceId, getStartAndEndTimeOrDefault(deviceId)[0], time);
+    maxEndTime = Math.max(maxEndTime, time);
+  }
+
+  private long[] getStartAndEndTimeOrDefault(IDeviceID deviceId) {
+    long[] startAndEndTime = getStartAndEndTime(deviceId);
+    return startAndEndTime == null ? new long[] {Long.MAX_VALUE, Long.MIN_VALUE} : startAndEndTime;
+  }
+
+  /** Re-encode all the times, which is rare since the tsfile has been sealed. */
+  private void setTimes(IDeviceID deviceId, long startTime, long endTime) {
+    Entries current = entries;
+    int index = Arrays.binarySearch(current.devices, deviceId);
+    IDeviceID[] devices = current.devices;
+    if (index < 0) {
+      index = -index - 1;
+      devices = new IDeviceID[current.devices.length + 1];
+      System.arraycopy(current.devices, 0, devices, 0, index);
+      devices[index] = DEVICE_ID_INTERNER.intern(deviceId);
+      System.arraycopy(current.devices, index, devices, index + 1, current.devices.length - index);
+    }
+    long[] startTimes = new long[devices.length];
+    long[] endTimes = new long[devices.length];
+    for (int i = 0, j = 0; i < devices.length; i++) {
+      if (i == index) {
+        startTimes[i] = startTime;
+        endTimes[i] = endTime;
+        if (devices.length == current.devices.length) {
+          j++;
+        }
+      } else {
+        startTimes[i] = current.getStartTime(j);
+        endTimes[i] = current.getEndTime(j);
+        j++;
+      }
+    }
+    entries = new Entries(devices, startTimes, endTimes);
+  }
+
+  @Override
+  public Optional<Long> getStartTime(IDeviceID deviceId) {
+    Entries current = entries;
+    int index = Arrays.binarySearch(current.devices, deviceId);
+    return index < 0 ? Optional.empty() : Optional.of(current.getStartTime(index));
+  }
+
+  @Override
+  public Optional<Long> getEndTime(IDeviceID deviceId) {
+    Entries current = entries;
+    int index = Arrays.binarySearch(current.devices, deviceId);
+    return index < 0 ? Optional.empty() : Optional.of(current.getEndTime(index));
+  }
+
+  @Override
+  public boolean checkDeviceIdExist(IDeviceID deviceId) {
+    return Arrays.binarySearch(entries.devices, deviceId) >= 0;
+  }
+
+  @Override
+  public boolean definitelyNotContains(IDeviceID device) {
+    return !checkDeviceIdExist(device);
+  }
+
+  @Override
+  public boolean isDeviceAlive(IDeviceID device, long ttl) {
+    return ttl == Long.MAX_VALUE
+        || getEndTime(device).get() >= CommonDateTimeUtils.currentTime() - ttl;
+  }
+
+  @Override
+  public long[] getStartAndEndTime(IDeviceID deviceId) {
+    Entries current = entries;
+    int index = Arrays.binarySearch(current.devices, deviceId);
+    return index < 0 ? null : new long[] {current.getStartTime(index), current.getEndTime(index)};
+  }
+
+  @Override
+  public Pair<Long, Long> getPossibleStartTimeAndEndTime(
+      PartialPath devicePattern, Set<IDeviceID> deviceMatchInfo) {
+    Entries current = entries;
+    boolean hasMatchedDevice = false;
+    long startTime = Long.MAX_VALUE;
+    long endTime = Long.MIN_VALUE;
+    for (int i = 0; i < current.devices.length; i++) {
+      IDeviceID device = current.devices[i];
+      try {
+        if (!deviceMatchInfo.contains(device)) {
+          if (!devicePattern.matchFullPath(new PartialPath(device))) {
+            continue;
+          }
+          deviceMatchInfo.add(device);
+        }
+        hasMatchedDevice = true;
+        startTime = Math.min(startTime, current.getStartTime(i));
+        endTime = Math.max(endTime, current.getEndTime(i));
+      } catch (IllegalPathException e) {
+        // won't reach here
+      }
+    }
+
+    return hasMatchedDevice ? new Pair<>(startTime, endTime) : null;
+  }
+
+  @Override
+  public String toString() {
+    Entries current = entries;
+    StringBuilder builder = new StringBuilder();
+    builder.append(" DeviceNum = ").append(current.devices.length);
+    builder.append(" BaseTime = ").append(current.baseTime);
+    builder.append(" TimeBytes = ").append(current.timeBytes);
+    builder.append(" Devices = [");
+    for (int i = 0; i < current.devices.length; i++) {
+      builder
+          .append(" device = ")
+          .append(current.devices[i])
+          .append(", startTime = ")
+          .append(current.getStartTime(i))
+          .append(", endTime = ")
+          .append(current.getEndTime(i));
+    }
+    builder.append("]");
+    return builder.toString();
+  }
+
+  /** The sorted devices and their packed start times and end times. */
+  private static class Entries {
+
+    private final IDeviceID[] devices;
+
+    private final long baseTime;
+
+    // the number of bytes of each packed offset
+    private final int timeBytes;
+
+    // start time offset and end time offset of each device, in the order of the devices
+    private final byte[] times;
+
+    private Entries(IDeviceID[] devices, long[] startTimes, long[] endTimes) {
+      this.devices = devices;
+      long minTime = Long.MAX_VALUE;
+      for (int i = 0; i < devices.length; i++) {
+        minTime = Math.min(minTime, Math.min(startTimes[i], endTimes[i]));
+      }
+      this.baseTime = minTime;
+      // the offsets are unsigned, so that they never overflow
+      long maxOffset = 0;
+      for (int i = 0; i < devices.length; i++) {
+        maxOffset |= (startTimes[i] - baseTime) | (endTimes[i] - baseTime);
+      }
+      this.timeBytes = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(maxOffset) + 7) / 8);
+      this.times = new byte[2 * devices.length * timeBytes];
+      for (int i = 0; i < devices.length; i++) {
+        write(2 * i, startTimes[i] - baseTime);
+        write(2 * i + 1, endTimes[i] - baseTime);
+      }
+    }
+
+    private long getStartTime(int index) {
+      return baseTime + read(2 * index);
+    }
+
+    private long getEndTime(int index) {
+      return baseTime + read(2 * index + 1);
+    }
+
+    private void write(int slot, long offset) {
+      int position = slot * timeBytes;
+      for (int i = 0; i < timeBytes; i++) {
+        times[position + i] = (byte) (offset >>> (8 * i));
+      }
+    }
+
+    private long read(int slot) {
+      int position = slot * timeBytes;
+      long offset = 0;
+      for (int i = 0; i < timeBytes; i++) {
+        offset |= (times[position + i] & 0xFFL) << (8 * i);
+      }
+      return offset;
+    }
+  }
+
+  /** An unmodifiable view of the sorted devices. */
+  private static class DeviceSet extends AbstractSet<IDeviceID> {
+
+    private final IDeviceID[] devices;
+
+    private DeviceSet(IDeviceID[] devices) {
+      this.devices = devices;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof IDeviceID && Arrays.binarySearch(devices, o) >= 0;
+    }
+
+    @Override
+    public Iterator<IDeviceID> iterator() {
+      return new Iterator<IDeviceID>() {
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+          return index < devices.length;
+        }
+
+        @Override
+        public IDeviceID next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return devices[index++];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return devices.length;
+    }
+  }
+}
@@ -25,8 +25,10 @@ import org.apache.iotdb.commons.utils.TimePartitionUtils;
 import org.apache.iotdb.db.exception.load.PartitionViolationException;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
+import org.apache.tsfile.common.conf.TSFileDescriptor;
 import org.apache.tsfile.file.metadata.IDeviceID;
 import org.apache.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.tsfile.utils.BloomFilter;
 import org.apache.tsfile.utils.FilePathUtils;
 import org.apache.tsfile.utils.Pair;
 import org.apache.tsfile.utils.RamUsageEstimator;
@@ -34,6 +36,8 @@ import org.apache.tsfile.utils.ReadWriteIOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -56,6 +60,12 @@ public class FileTimeIndex implements ITimeIndex {
   /** end times. The value is Long.MIN_VALUE if it's an unsealed sequence tsfile */
   protected long endTime;
 
+  /**
+   * The devices of the TsFile, which is kept when a device level time index is degraded so that the
+   * absent devices can still be excluded. Null means that the devices are unknown.
+   */
+  @Nullable private BloomFilter deviceFilter;
+
   public FileTimeIndex() {
     this.startTime = Long.MAX_VALUE;
     this.endTime = Long.MIN_VALUE;
@@ -66,6 +76,28 @@ public class FileTimeIndex implements ITimeIndex {
     this.endTime = endTime;
   }
 
+  public FileTimeIndex(long startTime, long endTime, @Nullable BloomFilter deviceFilter) {
+    this(startTime, endTime);
+    this.deviceFilter = deviceFilter;
+  }
+
+  /** Build the bloom filter of the devices, with the bloom filter error rate of TsFile. */
+  public static BloomFilter buildDeviceFilter(Set<IDeviceID> devices) {
+    BloomFilter filter =
+        BloomFilter.getEmptyBloomFilter(
+            TSFileDescriptor.getInstance().getConfig().getBloomFilterErrorRate(), devices.size());
+    for (IDeviceID device : devices) {
+      filter.add(device.toString());
+    }
+    return filter;
+  }
+
+  private void addToDeviceFilter(IDeviceID deviceId) {
+    if (deviceFilter != null && deviceId != null) {
+      deviceFilter.add(deviceId.toString());
+    }
+  }
+
   @Override
   public void serialize(OutputStream outputStream) throws IOException {
     throw new UnsupportedOperationException();
@@ -136,7 +168,7 @@ public class FileTimeIndex implements ITimeIndex {
 
   @Override
   public long calculateRamSize() {
-    return INSTANCE_SIZE;
+    return INSTANCE_SIZE + (deviceFilter != null ? deviceFilter.getRetainedSizeInBytes() : 0);
   }
 
   @Override
@@ -169,6 +201,7 @@ public class FileTimeIndex implements ITimeIndex {
 
   @Override
   public void updateStartTime(IDeviceID deviceId, long time) {
+    addToDeviceFilter(deviceId);
     if (this.startTime > time) {
       this.startTime = time;
     }
@@ -176,6 +209,7 @@ public class FileTimeIndex implements ITimeIndex {
 
   @Override
   public void updateEndTime(IDeviceID deviceId, long time) {
+    addToDeviceFilter(deviceId);
     if (this.endTime < time) {
       this.endTime = time;
     }
@@ -183,11 +217,13 @@ public class FileTimeIndex implements ITimeIndex {
 
   @Override
   public void putStartTime(IDeviceID deviceId, long time) {
+    addToDeviceFilter(deviceId);
     this.startTime = time;
   }
 
   @Override
   public void putEndTime(IDeviceID deviceId, long time) {
+    addToDeviceFilter(deviceId);
     this.endTime = time;
   }
 
@@ -213,7 +249,7 @@ public class FileTimeIndex implements ITimeIndex {
 
   @Override
   public boolean checkDeviceIdExist(IDeviceID deviceId) {
-    return true;
+    return !definitelyNotContains(deviceId);
   }
 
   @Override
@@ -230,7 +266,7 @@ public class FileTimeIndex implements ITimeIndex {
 
   @Override
   public boolean definitelyNotContains(IDeviceID device) {
-    return false;
+    return deviceFilter != null && !deviceFilter.contains(device.toString());
   }
 
   @Override
@@ -590,6 +590,105 @@ public class WALNode implements IWALNode {
     return new PlanNodeIterator(startIndex);
   }
 
+  @Override
+  public File getSealedSegment(long searchIndex) {
+    File[] files = WALFileUtils.listAllWALFiles(logDirectory);
+    if (files == null || files.length == 0) {
+      return null;
+    }
+    WALFileUtils.ascSortByVersionId(files);
+    int fileIndex = WALFileUtils.binarySearchFileBySearchIndex(files, searchIndex);
+    // the last file is being written
+    while (fileIndex >= 0
+        && fileIndex < files.length - 1
+        && WALFileUtils.parseStatusCode(files[fileIndex].getName())
+            == WALFileStatus.CONTAINS_NONE_SEARCH_INDEX) {
+      fileIndex++;
+    }
+    return fileIndex >= 0 && fileIndex < files.length - 1 ? files[fileIndex] : null;
+  }
+
+  @Override
+  public SegmentReader readSealedSegment(File segment, long startIndex) throws IOException {
+    return new SealedSegmentReader(segment, startIndex);
+  }
+
+  /**
+   * Collect the insert nodes of one wal file in the same way as {@link PlanNodeIterator}, but only
+   * keeps the slices of one insert node in memory.
+   */
+  private static class SealedSegmentReader implements SegmentReader {
+    private final WALByteBufReader walByteBufReader;
+
+    /** slices of the insert node being collected */
+    private List<IConsensusRequest> slices = new ArrayList<>();
+
+    /** search index of the insert node being collected */
+    private long nextSearchIndex;
+
+    /** true means no more insert node should be returned */
+    private boolean finished = false;
+
+    private SealedSegmentReader(File segment, long startIndex) throws IOException {
+      this.walByteBufReader = new WALByteBufReader(segment);
+      this.nextSearchIndex = startIndex;
+    }
+
+    @Override
+    public IndexedConsensusRequest next() throws IOException {
+      while (!finished && walByteBufReader.hasNext()) {
+        ByteBuffer buffer = walByteBufReader.next();
+        WALEntryType type = WALEntryType.valueOf(buffer.get());
+        if (!type.needSearch()) {
+          if (!slices.isEmpty()) {
+            return collectSlices();
+          }
+          continue;
+        }
+        // see WALInfoEntry#serialize, entry type + memtable id + plan node type
+        buffer.position(WALInfoEntry.FIXED_SERIALIZED_SIZE + PlanNodeType.BYTES);
+        final long currentWalEntryIndex = buffer.getLong();
+        buffer.clear();
+        IndexedConsensusRequest collected = null;
+        if (currentWalEntryIndex == -1 || currentWalEntryIndex > nextSearchIndex) {
+          if (!slices.isEmpty()) {
+            collected = collectSlices();
+          }
+          if (currentWalEntryIndex > nextSearchIndex) {
+            // leave the gap to the follower, which stops replaying there
+            nextSearchIndex = currentWalEntryIndex;
+          }
+        }
+        if (currentWalEntryIndex == nextSearchIndex) {
+          if (type == WALEntryType.OBJECT_FILE_NODE) {
+            // the object file referred by this entry only exists on this node, so the rest of the
+            // file has to be sent entry by entry
+            finished = true;
+            slices.clear();
+            return collected;
+          }
+          slices.add(new IoTConsensusRequest(buffer));
+        }
+        if (collected != null) {
+          return collected;
+        }
+      }
+      finished = true;
+      return slices.isEmpty() ? null : collectSlices();
+    }
+
+    private IndexedConsensusRequest collectSlices() {
+      IndexedConsensusRequest request = new IndexedConsensusRequest(nextSearchIndex++, slices);
+      slices = new ArrayList<>();
+      return request;
+    }
+
+    @Override
+    public void close() throws IOException {
+      walByteBufReader.close();
+    }
+  }
+
   private class PlanNodeIterator implements ReqIterator {
     /** search index of next element */
     private long nextSearchIndex;
@@ -612,6 +711,11 @@ public class WALNode implements IWALNode {
     /** last broken wal file's version id */
     private long brokenFileId = -1;
 
+    /** search index of the element being waited for by the timed wait, and since when */
+    private long waitingSearchIndex = -1;
+
+    private long waitingStartTime = 0;
+
     public PlanNodeIterator(long startIndex) {
       this.nextSearchIndex = startIndex;
     }
@@ -816,11 +920,33 @@ public class WALNode implements IWALNode {
       if (!hasNext()) {
         boolean timeout = !buffer.waitForFlush(time, unit);
         if (timeout || !hasNext()) {
+          triggerRollWALFileIfWaitingTooLong();
           throw new TimeoutException();
         }
       }
     }
 
+    /**
+     * Like {@link #waitForNextReady()}, roll the wal file once the same entry has been waited for
+     * too long. The caller of the timed wait may retry it without blocking, so the roll is only
+     * triggered instead of being waited for.
+     */
+    private void triggerRollWALFileIfWaitingTooLong() {
+      long currentTime = System.currentTimeMillis();
+      if (waitingSearchIndex != nextSearchIndex) {
+        waitingSearchIndex = nextSearchIndex;
+        waitingStartTime = currentTime;
+      } else if (currentTime - waitingStartTime
+          >= TimeUnit.SECONDS.toMillis(WAIT_FOR_NEXT_WAL_ENTRY_TIMEOUT_IN_SEC)) {
+        logger.info(
+            "timeout when waiting for next WAL entry ready, trigger rollWALFile. Current search index in wal buffer is {}, and next target index is {}",
+            buffer.getCurrentSearchIndex(),
+            nextSearchIndex);
+        log(new WALSignalEntry(WALEntryType.ROLL_WAL_LOG_WRITER_SIGNAL, true));
+        waitingStartTime = currentTime;
+      }
+    }
+
     @Override
     public void skipTo(long targetIndex) {
       if (targetIndex < nextSearchIndex) {
@@ -70,6 +70,9 @@ public class TsFileResourceManager {
    */
   public synchronized void registerSealedTsFileResource(TsFileResource tsFileResource) {
     if (!sealedTsFileResources.contains(tsFileResource)) {
+      if (IoTDBDescriptor.getInstance().getConfig().isEnableCompactDeviceTimeIndex()) {
+        tsFileResource.compactTimeIndex();
+      }
       sealedTsFileResources.add(tsFileResource);
       memoryBlock.forceAllocateWithoutLimitation(tsFileResource.calculateRamSize());
       chooseTsFileResourceToDegrade();
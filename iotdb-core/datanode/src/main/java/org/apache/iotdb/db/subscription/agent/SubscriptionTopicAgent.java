@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -170,6 +171,17 @@ public class SubscriptionTopicAgent {
     }
   }
 
+  /** @return the config of the topic, or {@code null} if the topic does not exist */
+  public TopicConfig getTopicConfig(final String topicName) {
+    acquireReadLock();
+    try {
+      final TopicMeta topicMeta = topicMetaKeeper.getTopicMeta(topicName);
+      return Objects.nonNull(topicMeta) ? topicMeta.getConfig() : null;
+    } finally {
+      releaseReadLock();
+    }
+  }
+
   public Map<String, TopicConfig> getTopicConfigs(final Set<String> topicNames) {
     acquireReadLock();
     try {
@@ -30,15 +30,19 @@ import org.apache.iotdb.db.pipe.event.UserDefinedEnrichedEvent;
 import org.apache.iotdb.db.pipe.event.common.heartbeat.PipeHeartbeatEvent;
 import org.apache.iotdb.db.pipe.event.common.terminate.PipeTerminateEvent;
 import org.apache.iotdb.db.pipe.event.common.tsfile.PipeTsFileInsertionEvent;
+import org.apache.iotdb.db.pipe.resource.memory.PipeMemoryWeightUtil;
 import org.apache.iotdb.db.subscription.agent.SubscriptionAgent;
 import org.apache.iotdb.db.subscription.event.SubscriptionEvent;
 import org.apache.iotdb.db.subscription.event.batch.SubscriptionPipeEventBatches;
 import org.apache.iotdb.db.subscription.event.batch.SubscriptionPipeTsFileEventBatch;
+import org.apache.iotdb.db.subscription.metric.SubscriptionPrefetchingQueueMetrics;
 import org.apache.iotdb.db.subscription.task.subtask.SubscriptionReceiverSubtask;
 import org.apache.iotdb.pipe.api.event.Event;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
 import org.apache.iotdb.pipe.api.event.dml.insertion.TsFileInsertionEvent;
 import org.apache.iotdb.pipe.api.exception.PipeException;
+import org.apache.iotdb.rpc.subscription.config.TopicConfig;
+import org.apache.iotdb.rpc.subscription.exception.SubscriptionException;
 import org.apache.iotdb.rpc.subscription.payload.poll.ErrorPayload;
 import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionCommitContext;
 import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionPollResponseType;
@@ -46,6 +50,7 @@ import org.apache.iotdb.session.subscription.util.PollTimer;
 
 import com.google.common.collect.ImmutableSet;
 import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.write.record.Tablet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,6 +111,9 @@ public abstract class SubscriptionPrefetchingQueue {
 
   private final SubscriptionPrefetchingQueueStates states;
 
+  // Null if the topic does not filter any data
+  private final SubscriptionTabletFilter tabletFilter;
+
   private long lastStateReportTimestamp = System.currentTimeMillis();
 
   private volatile boolean isCompleted = false;
@@ -135,6 +143,35 @@ public abstract class SubscriptionPrefetchingQueue {
     this.batches = new SubscriptionPipeEventBatches(this, maxDelayInMs, maxBatchSizeInBytes);
 
     this.states = new SubscriptionPrefetchingQueueStates(this);
+
+    this.tabletFilter = parseTabletFilter(topicName);
+  }
+
+  /**
+   * The queue is never built without the filter of its topic, since delivering the data unfiltered
+   * may leak the rows or columns the topic excludes. The failure of the binding is reported to the
+   * ConfigNode with the pipe meta sync instead.
+   *
+   * @throws SubscriptionException if the topic does not exist or its filter can not be parsed
+   */
+  private static SubscriptionTabletFilter parseTabletFilter(final String topicName) {
+    final TopicConfig topicConfig = SubscriptionAgent.topic().getTopicConfig(topicName);
+    if (Objects.isNull(topicConfig)) {
+      throw new SubscriptionException(
+          String.format(
+              "Subscription: topic %s does not exist, refuse to create its prefetching queue",
+              topicName));
+    }
+    try {
+      return SubscriptionTabletFilter.parse(topicConfig);
+    } catch (final Exception e) {
+      // The filter is validated when the topic is created, so this should never happen
+      throw new SubscriptionException(
+          String.format(
+              "Subscription: failed to parse the filter of topic %s, refuse to create its prefetching queue",
+              topicName),
+          e);
+    }
   }
 
   public void cleanUp() {
@@ -730,6 +767,30 @@ public abstract class SubscriptionPrefetchingQueue {
     return batches.onEvent(this::prefetchEvent);
   }
 
+  /**
+   * Filter the rows and project the columns of the tablet by the topic, the bytes dropped are
+   * recorded by the metrics.
+   *
+   * @return the filtered tablet, or {@code null} if nothing remains
+   */
+  public Tablet filterTablet(final Tablet tablet) {
+    if (Objects.isNull(tabletFilter)) {
+      return tablet;
+    }
+
+    final Tablet filteredTablet = tabletFilter.filter(tablet);
+    if (filteredTablet != tablet) {
+      SubscriptionPrefetchingQueueMetrics.getInstance()
+          .markFilteredBytes(
+              getPrefetchingQueueId(),
+              PipeMemoryWeightUtil.calculateTabletSizeInBytes(tablet)
+                  - (Objects.nonNull(filteredTablet)
+                      ? PipeMemoryWeightUtil.calculateTabletSizeInBytes(filteredTablet)
+                      : 0));
+    }
+    return filteredTablet;
+  }
+
   /////////////////////////////// commit ///////////////////////////////
 
   /**
@@ -0,0 +1,569 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.subscription.broker;
+
+import org.apache.iotdb.db.utils.TabletUtils;
+import org.apache.iotdb.rpc.subscription.config.TopicConfig;
+import org.apache.iotdb.rpc.subscription.config.TopicConstant;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.ColumnCategory;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.filter.factory.FilterFactory;
+import org.apache.tsfile.read.filter.factory.TimeFilterApi;
+import org.apache.tsfile.read.filter.factory.ValueFilterApi;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.utils.DateUtils;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link SubscriptionTabletFilter} evaluates the {@link TopicConstant#FILTER_KEY} and {@link
+ * TopicConstant#COLUMNS_KEY} of a topic on the tablets to deliver, so that the rows and columns the
+ * consumers do not need are dropped on the DataNode instead of being transferred.
+ *
+ * <p>The filter is a conjunction of comparisons between a column (or "time") and a literal, e.g.,
+ * "s1 > 10 and s2 = 'on' and time < 1700000000000". The comparisons are evaluated by the tsfile
+ * {@link Filter}s used by the query engine, and a null value never satisfies a comparison. A
+ * literal that is not quoted should be a number, a boolean or a date, which is checked when the
+ * topic is created. A numerical literal that does not fit an integral column is compared with the
+ * values as a double, and a comparison whose literal can not be converted to the type of the column
+ * is never satisfied, instead of being ignored.
+ *
+ * <p>The columns is a comma-separated list of the columns to deliver. The tag columns of the table
+ * model are always delivered to identify the devices.
+ */
+public class SubscriptionTabletFilter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionTabletFilter.class);
+
+  private static final String TIME_COLUMN = "time";
+  private static final Pattern CONJUNCTION_PATTERN = Pattern.compile("\\s+(?i:and)\\s+");
+  private static final Pattern COMPARISON_PATTERN =
+      Pattern.compile(
+          "^\\s*([^\\s<>=!]+)\\s*(>=|<=|!=|<>|=|>|<)\\s*('[^']*'|\"[^\"]*\"|[^\\s'\"]+)\\s*$");
+
+  private static class Comparison {
+
+    private final String column;
+    private final String operator;
+    private final String literal;
+    private final boolean quoted;
+
+    private Comparison(
+        final String column, final String operator, final String literal, final boolean quoted) {
+      this.column = column;
+      this.operator = operator;
+      this.literal = literal;
+      this.quoted = quoted;
+    }
+
+    private Filter toTimeFilter() {
+      final long time = Long.parseLong(literal);
+      switch (operator) {
+        case ">":
+          return TimeFilterApi.gt(time);
+        case ">=":
+          return TimeFilterApi.gtEq(time);
+        case "<":
+          return TimeFilterApi.lt(time);
+        case "<=":
+          return TimeFilterApi.ltEq(time);
+        case "=":
+          return TimeFilterApi.eq(time);
+        default:
+          return TimeFilterApi.notEq(time);
+      }
+    }
+
+    /**
+     * @return the type of the values compared by the filter of this comparison on the column of
+     *     the given type, or {@code null} if the literal can not be compared with the column
+     */
+    private TSDataType getComparedType(final TSDataType type) {
+      try {
+        parseLiteral(literal, type);
+        return type;
+      } catch (final RuntimeException e) {
+        return isNumeric(type) && isNumber(literal) ? TSDataType.DOUBLE : null;
+      }
+    }
+
+    private Filter toValueFilter(final int measurementIndex, final TSDataType type) {
+      final Object value = parseLiteral(literal, type);
+      switch (operator) {
+        case ">":
+          return ValueFilterApi.gt(measurementIndex, value, type);
+        case ">=":
+          return ValueFilterApi.gtEq(measurementIndex, value, type);
+        case "<":
+          return ValueFilterApi.lt(measurementIndex, value, type);
+        case "<=":
+          return ValueFilterApi.ltEq(measurementIndex, value, type);
+        case "=":
+          return ValueFilterApi.eq(measurementIndex, value, type);
+        default:
+          return ValueFilterApi.notEq(measurementIndex, value, type);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return column + " " + operator + " " + literal;
+    }
+  }
+
+  private final List<Comparison> comparisons;
+  // Null if all the columns are delivered
+  private final Set<String> columns;
+
+  // The comparisons whose literals can not be compared with the columns, logged only once
+  private final Set<String> unsatisfiableComparisons = ConcurrentHashMap.newKeySet();
+
+  private SubscriptionTabletFilter(final List<Comparison> comparisons, final Set<String> columns) {
+    this.comparisons = comparisons;
+    this.columns = columns;
+  }
+
+  /**
+   * @return the filter of the topic, or {@code null} if the topic does not filter any data
+   * @throws IllegalArgumentException if the filter or the columns of the topic are illegal
+   */
+  public static SubscriptionTabletFilter parse(final TopicConfig config) {
+    if (Objects.isNull(config) || !config.hasServerSideFilter()) {
+      return null;
+    }
+
+    final List<Comparison> comparisons = new ArrayList<>();
+    final String filter = config.getString(TopicConstant.FILTER_KEY);
+    if (Objects.nonNull(filter)) {
+      for (final String expression : splitConjunction(filter)) {
+        comparisons.add(parseComparison(expression));
+      }
+    }
+
+    Set<String> columns = null;
+    final String columnList = config.getString(TopicConstant.COLUMNS_KEY);
+    if (Objects.nonNull(columnList)) {
+      columns =
+          Arrays.stream(columnList.split(","))
+              .map(String::trim)
+              .map(SubscriptionTabletFilter::unquote)
+              .filter(column -> !column.isEmpty())
+              .collect(Collectors.toCollection(HashSet::new));
+      if (columns.isEmpty()) {
+        throw new IllegalArgumentException(
+            String.format("No column is specified by %s", TopicConstant.COLUMNS_KEY));
+      }
+    }
+
+    return new SubscriptionTabletFilter(comparisons, columns);
+  }
+
+  // Split by the "and"s that are not quoted
+  private static List<String> splitConjunction(final String filter) {
+    final List<String> expressions = new ArrayList<>();
+    final StringBuilder unquoted = new StringBuilder();
+    int start = 0;
+    char quote = 0;
+    for (int i = 0; i < filter.length(); ++i) {
+      final char c = filter.charAt(i);
+      if (quote == 0 && (c == '\'' || c == '"')) {
+        quote = c;
+      } else if (quote == c) {
+        quote = 0;
+      }
+      // Mask the quoted characters so that the "and"s inside the literals are not matched
+      unquoted.append(quote == 0 || c == quote ? c : '_');
+    }
+    if (quote != 0) {
+      throw new IllegalArgumentException(
+          String.format("Unclosed quotation in %s: %s", TopicConstant.FILTER_KEY, filter));
+    }
+
+    final Matcher matcher = CONJUNCTION_PATTERN.matcher(unquoted);
+    while (matcher.find()) {
+      expressions.add(filter.substring(start, matcher.start()));
+      start = matcher.end();
+    }
+    expressions.add(filter.substring(start));
+    return expressions;
+  }
+
+  private static Comparison parseComparison(final String expression) {
+    final Matcher matcher = COMPARISON_PATTERN.matcher(expression);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Illegal comparison in %s: %s, the comparison should be like \"s1 > 10\"",
+              TopicConstant.FILTER_KEY, expression));
+    }
+
+    final String column = unquote(matcher.group(1));
+    final String operator = "<>".equals(matcher.group(2)) ? "!=" : matcher.group(2);
+    final String literal = unquote(matcher.group(3));
+    final boolean quoted = !literal.equals(matcher.group(3));
+    final Comparison comparison = new Comparison(column, operator, literal, quoted);
+    if (!quoted
+        && !TIME_COLUMN.equalsIgnoreCase(column)
+        && !isNumber(literal)
+        && !isBoolean(literal)
+        && !isDate(literal)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Illegal literal in %s: %s, the literal should be a number, a boolean, a date or a quoted string",
+              TopicConstant.FILTER_KEY, expression));
+    }
+    if (TIME_COLUMN.equalsIgnoreCase(column)) {
+      try {
+        comparison.toTimeFilter();
+      } catch (final NumberFormatException e) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Illegal time in %s: %s, the time should be a timestamp",
+                TopicConstant.FILTER_KEY, expression));
+      }
+    }
+    return comparison;
+  }
+
+  private static String unquote(final String literal) {
+    if (literal.length() >= 2) {
+      final char first = literal.charAt(0);
+      if ((first == '\'' || first == '"' || first == '`')
+          && literal.charAt(literal.length() - 1) == first) {
+        return literal.substring(1, literal.length() - 1);
+      }
+    }
+    return literal;
+  }
+
+  private static boolean isNumber(final String literal) {
+    try {
+      Double.parseDouble(literal);
+      return true;
+    } catch (final NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private static boolean isBoolean(final String literal) {
+    return "true".equalsIgnoreCase(literal) || "false".equalsIgnoreCase(literal);
+  }
+
+  private static boolean isDate(final String literal) {
+    try {
+      DateUtils.parseDateExpressionToInt(literal);
+      return true;
+    } catch (final RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static boolean isNumeric(final TSDataType type) {
+    switch (type) {
+      case INT32:
+      case INT64:
+      case TIMESTAMP:
+      case FLOAT:
+      case DOUBLE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static Object parseLiteral(final String literal, final TSDataType type) {
+    switch (type) {
+      case BOOLEAN:
+        if (!"true".equalsIgnoreCase(literal) && !"false".equalsIgnoreCase(literal)) {
+          throw new IllegalArgumentException(literal + " is not a boolean");
+        }
+        return Boolean.parseBoolean(literal);
+      case INT32:
+        return Integer.parseInt(literal);
+      case DATE:
+        return DateUtils.parseDateExpressionToInt(literal);
+      case INT64:
+      case TIMESTAMP:
+        return Long.parseLong(literal);
+      case FLOAT:
+        return Float.parseFloat(literal);
+      case DOUBLE:
+        return Double.parseDouble(literal);
+      case TEXT:
+      case STRING:
+      case BLOB:
+        return new Binary(literal, TSFileConfig.STRING_CHARSET);
+      default:
+        throw new UnsupportedOperationException(
+            String.format("The type %s is not supported", type));
+    }
+  }
+
+  /////////////////////////////// filter ///////////////////////////////
+
+  /**
+   * Filter the rows and project the columns of the tablet, the given tablet is never modified.
+   *
+   * @return the given tablet if nothing is filtered, a new tablet with the remaining rows and
+   *     columns, or {@code null} if nothing remains
+   */
+  public Tablet filter(final Tablet tablet) {
+    final int[] columnIndexes = projectColumns(tablet);
+    if (Objects.nonNull(columnIndexes) && columnIndexes.length == 0) {
+      return null;
+    }
+
+    final int rowSize = tablet.getRowSize();
+    final int[] rowIndexes = new int[rowSize];
+    int rowCount = 0;
+    if (comparisons.isEmpty()) {
+      for (int i = 0; i < rowSize; ++i) {
+        rowIndexes[rowCount++] = i;
+      }
+    } else {
+      rowCount = filterRows(tablet, rowIndexes);
+    }
+
+    if (rowCount == 0) {
+      return null;
+    }
+    if (rowCount == rowSize && Objects.isNull(columnIndexes)) {
+      return tablet;
+    }
+    return copy(tablet, rowIndexes, rowCount, columnIndexes);
+  }
+
+  /**
+   * @return the indexes of the remaining columns, or {@code null} if all the columns remain. An
+   *     empty array is returned if no field column remains.
+   */
+  private int[] projectColumns(final Tablet tablet) {
+    if (Objects.isNull(columns)) {
+      return null;
+    }
+
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    final List<ColumnCategory> columnCategories = tablet.getColumnTypes();
+    final int[] columnIndexes = new int[schemas.size()];
+    int columnCount = 0;
+    boolean hasField = false;
+    for (int i = 0; i < schemas.size(); ++i) {
+      final boolean isTag =
+          Objects.nonNull(columnCategories) && columnCategories.get(i) == ColumnCategory.TAG;
+      if (isTag || columns.contains(schemas.get(i).getMeasurementName())) {
+        columnIndexes[columnCount++] = i;
+        hasField |= !isTag;
+      }
+    }
+
+    if (!hasField) {
+      return new int[0];
+    }
+    return columnCount == schemas.size() ? null : Arrays.copyOf(columnIndexes, columnCount);
+  }
+
+  /**
+   * @return the number of the rows that satisfy all the comparisons, whose indexes are put into
+   *     the given array
+   */
+  private int filterRows(final Tablet tablet, final int[] rowIndexes) {
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+
+    // The filters take the values of the compared columns as a row, indexed by the comparisons
+    final List<Filter> filters = new ArrayList<>();
+    final List<Integer> comparedColumnIndexes = new ArrayList<>();
+    final List<TSDataType> comparedTypes = new ArrayList<>();
+    for (final Comparison comparison : comparisons) {
+      if (TIME_COLUMN.equalsIgnoreCase(comparison.column)) {
+        filters.add(comparison.toTimeFilter());
+        continue;
+      }
+
+      final int columnIndex = indexOf(schemas, comparison.column);
+      if (columnIndex < 0) {
+        // All the values of the column are null, which never satisfy the comparison
+        return 0;
+      }
+      final TSDataType type = schemas.get(columnIndex).getType();
+      final TSDataType comparedType = comparison.getComparedType(type);
+      if (Objects.isNull(comparedType)) {
+        if (unsatisfiableComparisons.add(comparison + " " + type)) {
+          LOGGER.warn(
+              "Subscription: comparison {} can not be applied to column of type {}, no row satisfies it",
+              comparison,
+              type);
+        }
+        return 0;
+      }
+      filters.add(comparison.toValueFilter(comparedColumnIndexes.size(), comparedType));
+      comparedColumnIndexes.add(columnIndex);
+      comparedTypes.add(comparedType);
+    }
+
+    final int rowSize = tablet.getRowSize();
+
+    final Filter filter = filters.size() == 1 ? filters.get(0) : FilterFactory.and(filters);
+    final long[] timestamps = tablet.getTimestamps();
+    final Object[] values = tablet.getValues();
+    final BitMap[] bitMaps = tablet.getBitMaps();
+    final Object[] row = new Object[comparedColumnIndexes.size()];
+    int rowCount = 0;
+    for (int i = 0; i < rowSize; ++i) {
+      for (int j = 0; j < row.length; ++j) {
+        final int columnIndex = comparedColumnIndexes.get(j);
+        final TSDataType type = schemas.get(columnIndex).getType();
+        if (Objects.nonNull(bitMaps)
+            && Objects.nonNull(bitMaps[columnIndex])
+            && bitMaps[columnIndex].isMarked(i)) {
+          row[j] = null;
+        } else if (type == comparedTypes.get(j)) {
+          row[j] = getComparableValue(type, values[columnIndex], i);
+        } else {
+          // The numerical value is compared as a double
+          row[j] = ((Number) getComparableValue(type, values[columnIndex], i)).doubleValue();
+        }
+      }
+      if (filter.satisfyRow(timestamps[i], row)) {
+        rowIndexes[rowCount++] = i;
+      }
+    }
+    return rowCount;
+  }
+
+  private static int indexOf(final List<IMeasurementSchema> schemas, final String column) {
+    for (int i = 0; i < schemas.size(); ++i) {
+      if (Objects.equals(schemas.get(i).getMeasurementName(), column)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // The value in the form used by the tsfile filters
+  private static Object getComparableValue(
+      final TSDataType type, final Object values, final int row) {
+    switch (type) {
+      case BOOLEAN:
+        return ((boolean[]) values)[row];
+      case INT32:
+        return ((int[]) values)[row];
+      case DATE:
+        final LocalDate date = ((LocalDate[]) values)[row];
+        return Objects.isNull(date) ? null : DateUtils.parseDateExpressionToInt(date);
+      case INT64:
+      case TIMESTAMP:
+        return ((long[]) values)[row];
+      case FLOAT:
+        return ((float[]) values)[row];
+      case DOUBLE:
+        return ((double[]) values)[row];
+      default:
+        return ((Binary[]) values)[row];
+    }
+  }
+
+  private static Tablet copy(
+      final Tablet tablet, final int[] rowIndexes, final int rowCount, final int[] columnIndexes) {
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    final List<ColumnCategory> columnCategories = tablet.getColumnTypes();
+    final int[] copiedColumnIndexes =
+        Objects.nonNull(columnIndexes) ? columnIndexes : identity(schemas.size());
+
+    final long[] timestamps = tablet.getTimestamps();
+    final long[] copiedTimestamps = new long[rowCount];
+    for (int i = 0; i < rowCount; ++i) {
+      copiedTimestamps[i] = timestamps[rowIndexes[i]];
+    }
+
+    final List<IMeasurementSchema> copiedSchemas = new ArrayList<>(copiedColumnIndexes.length);
+    final List<ColumnCategory> copiedColumnCategories =
+        Objects.nonNull(columnCategories)
+            ? new ArrayList<>(copiedColumnIndexes.length)
+            : Collections.emptyList();
+    final Object[] copiedValues = new Object[copiedColumnIndexes.length];
+    final BitMap[] copiedBitMaps = new BitMap[copiedColumnIndexes.length];
+    final BitMap[] bitMaps = tablet.getBitMaps();
+    for (int j = 0; j < copiedColumnIndexes.length; ++j) {
+      final int columnIndex = copiedColumnIndexes[j];
+      copiedSchemas.add(schemas.get(columnIndex));
+      if (Objects.nonNull(columnCategories)) {
+        copiedColumnCategories.add(columnCategories.get(columnIndex));
+      }
+      copiedValues[j] =
+          TabletUtils.selectValues(
+              schemas.get(columnIndex).getType(),
+              tablet.getValues()[columnIndex],
+              rowIndexes,
+              rowCount);
+      copiedBitMaps[j] = new BitMap(rowCount);
+      if (Objects.nonNull(bitMaps) && Objects.nonNull(bitMaps[columnIndex])) {
+        for (int i = 0; i < rowCount; ++i) {
+          if (bitMaps[columnIndex].isMarked(rowIndexes[i])) {
+            copiedBitMaps[j].mark(i);
+          }
+        }
+      }
+    }
+
+    return Objects.nonNull(columnCategories)
+        ? new Tablet(
+            tablet.getDeviceId(),
+            copiedSchemas,
+            copiedColumnCategories,
+            copiedTimestamps,
+            copiedValues,
+            copiedBitMaps,
+            rowCount)
+        : new Tablet(
+            tablet.getDeviceId(),
+            copiedSchemas,
+            copiedTimestamps,
+            copiedValues,
+            copiedBitMaps,
+            rowCount);
+  }
+
+  private static int[] identity(final int size) {
+    final int[] indexes = new int[size];
+    for (int i = 0; i < size; ++i) {
+      indexes[i] = i;
+    }
+    return indexes;
+  }
+}
@@ -45,6 +45,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 public class SubscriptionPipeTabletEventBatch extends SubscriptionPipeEventBatch
     implements Iterator<Pair<String, List<Tablet>>> {
@@ -178,7 +179,7 @@ public class SubscriptionPipeTabletEventBatch extends SubscriptionPipeEventBatch
               ? ((PipeInsertNodeTabletInsertionEvent) tabletInsertionEvent)
                   .getTableModelDatabaseName()
               : null,
-          tablets);
+          filterTablets(tablets));
     } else if (tabletInsertionEvent instanceof PipeRawTabletInsertionEvent) {
       final Tablet tablet = ((PipeRawTabletInsertionEvent) tabletInsertionEvent).convertToTablet();
       updateEstimatedRawTabletInsertionEventSize(
@@ -187,7 +188,7 @@ public class SubscriptionPipeTabletEventBatch extends SubscriptionPipeEventBatch
           ((PipeRawTabletInsertionEvent) tabletInsertionEvent).isTableModelEvent()
               ? ((PipeRawTabletInsertionEvent) tabletInsertionEvent).getTableModelDatabaseName()
               : null,
-          Collections.singletonList(tablet));
+          filterTablets(Collections.singletonList(tablet)));
     }
 
     LOGGER.warn(
@@ -197,6 +198,15 @@ public class SubscriptionPipeTabletEventBatch extends SubscriptionPipeEventBatch
     return null;
   }
 
+  // The estimators are updated by the tablets before filtering, which reflect the memory usage of
+  // the parsing
+  private List<Tablet> filterTablets(final List<Tablet> tablets) {
+    return tablets.stream()
+        .map(prefetchingQueue::filterTablet)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
   /////////////////////////////// estimator ///////////////////////////////
 
   private long getEstimatedInsertNodeTabletInsertionEventSize() {
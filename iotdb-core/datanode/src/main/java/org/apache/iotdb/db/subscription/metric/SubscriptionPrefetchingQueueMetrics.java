@@ -47,6 +47,7 @@ public class SubscriptionPrefetchingQueueMetrics implements IMetricSet {
       new ConcurrentHashMap<>();
 
   private final Map<String, Rate> rateMap = new ConcurrentHashMap<>();
+  private final Map<String, Rate> filteredBytesRateMap = new ConcurrentHashMap<>();
 
   @Override
   public void bindTo(final AbstractMetricService metricService) {
@@ -114,6 +115,14 @@ public class SubscriptionPrefetchingQueueMetrics implements IMetricSet {
             MetricLevel.IMPORTANT,
             Tag.NAME.toString(),
             queue.getPrefetchingQueueId()));
+    // bytes filtered by the topic filter and projection
+    filteredBytesRateMap.put(
+        id,
+        metricService.getOrCreateRate(
+            Metric.SUBSCRIPTION_FILTERED_BYTES.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            queue.getPrefetchingQueueId()));
   }
 
   public void deregister(final String id) {
@@ -158,6 +167,13 @@ public class SubscriptionPrefetchingQueueMetrics implements IMetricSet {
         Metric.SUBSCRIPTION_EVENT_TRANSFER.toString(),
         Tag.NAME.toString(),
         queue.getPrefetchingQueueId());
+    // bytes filtered by the topic filter and projection
+    metricService.remove(
+        MetricType.RATE,
+        Metric.SUBSCRIPTION_FILTERED_BYTES.toString(),
+        Tag.NAME.toString(),
+        queue.getPrefetchingQueueId());
+    filteredBytesRateMap.remove(id);
   }
 
   public void mark(final String id, final long size) {
@@ -174,6 +190,19 @@ public class SubscriptionPrefetchingQueueMetrics implements IMetricSet {
     rate.mark(size);
   }
 
+  public void markFilteredBytes(final String id, final long size) {
+    if (Objects.isNull(metricService)) {
+      return;
+    }
+    final Rate rate = filteredBytesRateMap.get(id);
+    if (rate == null) {
+      LOGGER.warn(
+          "Failed to mark filtered bytes rate, SubscriptionPrefetchingQueue({}) does not exist", id);
+      return;
+    }
+    rate.mark(size);
+  }
+
   //////////////////////////// singleton ////////////////////////////
 
   private static class SubscriptionPrefetchingQueueMetricsHolder {
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.utils;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.Binary;
+
+import java.time.LocalDate;
+
+public class TabletUtils {
+
+  private TabletUtils() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * Copy the values of the selected rows in a column of a {@link
+   * org.apache.tsfile.write.record.Tablet}.
+   *
+   * @param values the values of the column
+   * @param rows the indexes of the selected rows
+   * @param rowCount the number of the selected rows
+   * @return the array of the selected values, whose type is the same as the given values
+   */
+  public static Object selectValues(
+      final TSDataType type, final Object values, final int[] rows, final int rowCount) {
+    switch (type) {
+      case BOOLEAN:
+        final boolean[] booleanValues = (boolean[]) values;
+        final boolean[] selectedBooleanValues = new boolean[rowCount];
+        for (int i = 0; i < rowCount; ++i) {
+          selectedBooleanValues[i] = booleanValues[rows[i]];
+        }
+        return selectedBooleanValues;
+      case INT32:
+        final int[] intValues = (int[]) values;
+        final int[] selectedIntValues = new int[rowCount];
+        for (int i = 0; i < rowCount; ++i) {
+          selectedIntValues[i] = intValues[rows[i]];
+        }
+        return selectedIntValues;
+      case INT64:
+      case TIMESTAMP:
+        final long[] longValues = (long[]) values;
+        final long[] selectedLongValues = new long[rowCount];
+        for (int i = 0; i < rowCount; ++i) {
+          selectedLongValues[i] = longValues[rows[i]];
+        }
+        return selectedLongValues;
+      case FLOAT:
+        final float[] floatValues = (float[]) values;
+        final float[] selectedFloatValues = new float[rowCount];
+        for (int i = 0; i < rowCount; ++i) {
+          selectedFloatValues[i] = floatValues[rows[i]];
+        }
+        return selectedFloatValues;
+      case DOUBLE:
+        final double[] doubleValues = (double[]) values;
+        final double[] selectedDoubleValues = new double[rowCount];
+        for (int i = 0; i < rowCount; ++i) {
+          selectedDoubleValues[i] = doubleValues[rows[i]];
+        }
+        return selectedDoubleValues;
+      case DATE:
+        final LocalDate[] dateValues = (LocalDate[]) values;
+        final LocalDate[] selectedDateValues = new LocalDate[rowCount];
+        for (int i = 0; i < rowCount; ++i) {
+          selectedDateValues[i] = dateValues[rows[i]];
+        }
+        return selectedDateValues;
+      case TEXT:
+      case STRING:
+      case BLOB:
+      case OBJECT:
+        final Binary[] binaryValues = (Binary[]) values;
+        final Binary[] selectedBinaryValues = new Binary[rowCount];
+        for (int i = 0; i < rowCount; ++i) {
+          selectedBinaryValues[i] = binaryValues[rows[i]];
+        }
+        return selectedBinaryValues;
+      default:
+        throw new UnsupportedOperationException(
+            String.format("The type %s is not supported", type));
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.mnode;
+
+import org.apache.iotdb.commons.schema.node.role.IDeviceMNode;
+import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.loader.MNodeFactoryLoader;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+
+/**
+ * Memory MTree heap usage benchmark. Run it twice, with and without the argument "compact", to
+ * compare the bytes per series of the default and the compact node representations. The mode is
+ * fixed when the node classes are loaded, so each mode needs its own JVM.
+ */
+public class MNodeMemoryBenchmark {
+
+  private static int numOfDevice = 100_000;
+  private static int numOfMeasurement = 100;
+
+  public static void main(String[] args) {
+    boolean compact = args.length > 0 && "compact".equals(args[0]);
+    IoTDBDescriptor.getInstance().getConfig().setEnableCompactMemoryMTree(compact);
+
+    IMNodeFactory<IMemMNode> nodeFactory =
+        MNodeFactoryLoader.getInstance().getMemMNodeIMNodeFactory();
+
+    long before = usedMemory();
+    final long startTime = System.currentTimeMillis();
+    IMemMNode root = nodeFactory.createInternalMNode(null, "root");
+    for (int i = 0; i < numOfDevice; i++) {
+      IDeviceMNode<IMemMNode> device = nodeFactory.createDeviceMNode(root, "d" + i);
+      root.addChild(device.getAsMNode());
+      for (int j = 0; j < numOfMeasurement; j++) {
+        // build a new string for each series, as the names deserialized from plans are
+        String name = new String(("s" + j).toCharArray());
+        device.addChild(
+            nodeFactory
+                .createMeasurementMNode(
+                    device,
+                    name,
+                    new MeasurementSchema(name, TSDataType.DOUBLE, TSEncoding.GORILLA),
+                    null)
+                .getAsMNode());
+      }
+    }
+    final long endTime = System.currentTimeMillis();
+    long after = usedMemory();
+
+    long series = (long) numOfDevice * numOfMeasurement;
+    System.out.println(
+        String.format(
+            "Mode: %s, Num of series: %d, "
+                + "The total time: %d ms, "
+                + "Heap used: %d bytes, "
+                + "Bytes per series: %.2f, "
+                + "Root children: %d",
+            compact ? "compact" : "default",
+            series,
+            endTime - startTime,
+            after - before,
+            (double) (after - before) / series,
+            root.getChildren().size()));
+  }
+
+  private static long usedMemory() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
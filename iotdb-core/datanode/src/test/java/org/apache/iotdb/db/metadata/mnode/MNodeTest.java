@@ -20,11 +20,21 @@ package org.apache.iotdb.db.metadata.mnode;
 
 import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.SortedArrayMNodeContainer;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.loader.MNodeFactoryLoader;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class MNodeTest {
 
@@ -57,4 +67,95 @@ public class MNodeTest {
             .addChild(nodeFactory.createInternalMNode(null, "temperature"));
     assertEquals("root.sg1.aa.bb.cc.dd.device11.temperature", temperatureNode.getFullPath());
   }
+
+  @Test
+  public void testSortedArrayContainer() {
+    SortedArrayMNodeContainer container = new SortedArrayMNodeContainer(3);
+    IMemMNode b = nodeFactory.createInternalMNode(null, "b");
+    IMemMNode a = nodeFactory.createInternalMNode(null, "a");
+    IMemMNode c = nodeFactory.createInternalMNode(null, "c");
+
+    assertNull(container.putIfAbsent("b", b));
+    assertNull(container.putIfAbsent("a", a));
+    assertSame(a, container.putIfAbsent("a", c));
+    assertFalse(container.isFull());
+    assertNull(container.put(null, c));
+    assertTrue(container.isFull());
+
+    assertSame(a, container.get("a"));
+    assertSame(c, container.get(null));
+    assertNull(container.get("d"));
+    List<String> names = new ArrayList<>();
+    container.forEach((name, node) -> names.add(name));
+    assertEquals(Arrays.asList(null, "a", "b"), names);
+
+    assertSame(b, container.remove("b"));
+    assertNull(container.remove("b"));
+    assertEquals(2, container.size());
+    assertEquals(Arrays.asList(c, a), new ArrayList<>(container.values()));
+  }
+
+  @Test
+  public void testSortedArrayContainerEstimateSize() {
+    SortedArrayMNodeContainer container = new SortedArrayMNodeContainer(3);
+    assertEquals(SortedArrayMNodeContainer.BASIC_SIZE, container.estimateSize());
+    container.putIfAbsent("a", nodeFactory.createInternalMNode(null, "a"));
+    container.putIfAbsent("b", nodeFactory.createInternalMNode(null, "b"));
+    assertEquals(
+        SortedArrayMNodeContainer.BASIC_SIZE + 2 * SortedArrayMNodeContainer.CHILD_SIZE,
+        container.estimateSize());
+    container.remove("a");
+    assertEquals(
+        SortedArrayMNodeContainer.BASIC_SIZE + SortedArrayMNodeContainer.CHILD_SIZE,
+        container.estimateSize());
+  }
+
+  @Test
+  public void testDeleteChildWhileConvertingContainer() throws InterruptedException {
+    for (int round = 0; round < 20; round++) {
+      IMemMNode node = nodeFactory.createInternalMNode(null, "device");
+      node.setChildren(new SortedArrayMNodeContainer(64));
+      for (int i = 0; i < 64; i++) {
+        node.addChild(nodeFactory.createInternalMNode(null, "old" + i));
+      }
+
+      // the insertions convert the full compact container to a hash one concurrently
+      CountDownLatch latch = new CountDownLatch(1);
+      Thread inserter =
+          new Thread(
+              () -> {
+                awaitQuietly(latch);
+                for (int i = 0; i < 64; i++) {
+                  node.addChild(nodeFactory.createInternalMNode(null, "new" + i));
+                }
+              });
+      Thread deleter =
+          new Thread(
+              () -> {
+                awaitQuietly(latch);
+                for (int i = 0; i < 64; i++) {
+                  node.deleteChild("old" + i);
+                }
+              });
+      inserter.start();
+      deleter.start();
+      latch.countDown();
+      inserter.join();
+      deleter.join();
+
+      assertEquals(64, node.getChildren().size());
+      for (int i = 0; i < 64; i++) {
+        assertFalse(node.hasChild("old" + i));
+        assertTrue(node.hasChild("new" + i));
+      }
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }
@@ -25,6 +25,8 @@ import org.apache.iotdb.commons.schema.node.role.IDatabaseMNode;
 import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
 import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
 import org.apache.iotdb.commons.utils.PathUtils;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.schemaengine.SchemaEngineMode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.mnode.ICachedMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.mnode.container.ICachedMNodeContainer;
@@ -263,6 +265,49 @@ public class SchemaFileTest {
     sf.close();
   }
 
+  @Test
+  public void testAsyncWriteBackAndReadAhead() throws MetadataException, IOException {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    boolean enableAsyncWriteBack = config.isEnablePBTreeAsyncWriteBack();
+    boolean enableReadAhead = config.isEnablePBTreeReadAhead();
+    config.setEnablePBTreeAsyncWriteBack(true);
+    config.setEnablePBTreeReadAhead(true);
+    try {
+      ISchemaFile sf = SchemaFile.initSchemaFile("root.test.vRoot1", TEST_SCHEMA_REGION_ID);
+      Iterator<ICachedMNode> ite = getTreeBFT(getFlatTree(6000, "aa"));
+      while (ite.hasNext()) {
+        ICachedMNode cur = ite.next();
+        if (!cur.isMeasurement()) {
+          writeMNodeInTest(sf, cur);
+        }
+      }
+
+      ICachedMNode node = nodeFactory.createInternalMNode(null, "a");
+      ICachedMNodeContainer.getCachedMNodeContainer(node).setSegmentAddress(0L);
+      // pages may be served before written back
+      Assert.assertEquals(
+          "aa2999als", sf.getChildNode(node, "aa2999").getAsMeasurementMNode().getAlias());
+      sf.close();
+
+      sf = SchemaFile.loadSchemaFile("root.test.vRoot1", TEST_SCHEMA_REGION_ID);
+      Set<String> names = new HashSet<>();
+      Iterator<ICachedMNode> children = sf.getChildren(node);
+      while (children.hasNext()) {
+        ICachedMNode child = children.next();
+        Assert.assertEquals(child.getName() + "als", child.getAsMeasurementMNode().getAlias());
+        names.add(child.getName());
+      }
+      Assert.assertEquals(6000, names.size());
+      for (Integer rid : Arrays.asList(0, 1999, 5999)) {
+        Assert.assertTrue(names.contains("aa" + rid));
+      }
+      sf.close();
+    } finally {
+      config.setEnablePBTreeAsyncWriteBack(enableAsyncWriteBack);
+      config.setEnablePBTreeReadAhead(enableReadAhead);
+    }
+  }
+
   @Test
   public void testGetChildren() throws MetadataException, IOException {
     essentialTestSchemaFile();
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.metadata.schemaRegion;
+
+import org.apache.iotdb.commons.schema.filter.SchemaFilter;
+import org.apache.iotdb.commons.schema.filter.impl.PathContainsFilter;
+import org.apache.iotdb.commons.schema.filter.impl.TagFilter;
+import org.apache.iotdb.commons.schema.filter.impl.multichildren.AndFilter;
+import org.apache.iotdb.commons.schema.filter.impl.multichildren.OrFilter;
+import org.apache.iotdb.commons.schema.filter.impl.singlechild.NotFilter;
+import org.apache.iotdb.commons.schema.node.role.IDeviceMNode;
+import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
+import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.loader.MNodeFactoryLoader;
+import org.apache.iotdb.db.schemaengine.schemaregion.tag.BitmapTagIndex;
+import org.apache.iotdb.db.schemaengine.schemaregion.tag.CompressedBitmap;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class BitmapTagIndexTest {
+
+  private static final int BLOCK_SIZE = 700;
+
+  @Test
+  public void testCompressedBitmap() throws Exception {
+    final Random random = new Random(0);
+    final CompressedBitmap left = new CompressedBitmap();
+    final CompressedBitmap right = new CompressedBitmap();
+    final TreeSet<Integer> leftSet = new TreeSet<>();
+    final TreeSet<Integer> rightSet = new TreeSet<>();
+    // dense and sparse chunks
+    for (int i = 0; i < 20000; i++) {
+      final int value = random.nextInt(1 << 17);
+      Assert.assertEquals(leftSet.add(value), left.add(value));
+      final int sparse = random.nextInt(1 << 20);
+      Assert.assertEquals(rightSet.add(sparse), right.add(sparse));
+    }
+    for (int i = 0; i < 5000; i++) {
+      final int value = random.nextInt(1 << 17);
+      Assert.assertEquals(leftSet.remove(value), left.remove(value));
+    }
+    Assert.assertEquals(leftSet, toSet(left));
+    Assert.assertEquals(leftSet.size(), left.getCardinality());
+
+    final TreeSet<Integer> and = new TreeSet<>(leftSet);
+    and.retainAll(rightSet);
+    Assert.assertEquals(and, toSet(left.and(right)));
+    final TreeSet<Integer> or = new TreeSet<>(leftSet);
+    or.addAll(rightSet);
+    Assert.assertEquals(or, toSet(left.or(right)));
+    final TreeSet<Integer> andNot = new TreeSet<>(leftSet);
+    andNot.removeAll(rightSet);
+    Assert.assertEquals(andNot, toSet(left.andNot(right)));
+    Assert.assertEquals(leftSet, toSet(left));
+
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    left.serialize(outputStream);
+    Assert.assertEquals(
+        left,
+        CompressedBitmap.deserialize(new ByteArrayInputStream(outputStream.toByteArray())));
+  }
+
+  @Test
+  public void testEvaluateFilter() {
+    final List<IMeasurementMNode<IMemMNode>> nodes = createNodes(6);
+    final BitmapTagIndex index = new BitmapTagIndex(BLOCK_SIZE);
+    for (int i = 0; i < nodes.size(); i++) {
+      index.add("city", i % 2 == 0 ? "beijing" : "shanghai", offset(i), nodes.get(i));
+      if (i % 3 == 0) {
+        index.add("type", "fan", offset(i), nodes.get(i));
+      }
+    }
+
+    final SchemaFilter beijing = new TagFilter("city", "beijing", false);
+    final SchemaFilter fan = new TagFilter("type", "fan", false);
+    Assert.assertEquals(Arrays.asList(0, 2, 4), evaluate(index, beijing));
+    Assert.assertEquals(
+        Arrays.asList(0, 1, 2, 3, 4, 5), evaluate(index, new TagFilter("city", "i", true)));
+    Assert.assertEquals(
+        Arrays.asList(0), evaluate(index, new AndFilter(Arrays.asList(beijing, fan))));
+    Assert.assertEquals(
+        Arrays.asList(0, 2, 3, 4), evaluate(index, new OrFilter(Arrays.asList(beijing, fan))));
+    Assert.assertEquals(
+        Arrays.asList(2, 4),
+        evaluate(index, new AndFilter(Arrays.asList(beijing, new NotFilter(fan)))));
+    // the non-tag filters in a conjunction are left to the reader
+    Assert.assertEquals(
+        Arrays.asList(0, 2, 4),
+        evaluate(index, new AndFilter(Arrays.asList(beijing, new PathContainsFilter("d")))));
+    Assert.assertNull(index.evaluate(new NotFilter(fan)));
+    Assert.assertNull(
+        index.evaluate(new OrFilter(Arrays.asList(beijing, new PathContainsFilter("d")))));
+    Assert.assertEquals(2, index.estimateCardinality(fan));
+
+    index.remove("type", "fan", offset(3));
+    Assert.assertEquals(1, index.estimateCardinality(fan));
+    Assert.assertTrue(index.contains("type", "fan"));
+    index.remove("type", "fan", offset(0));
+    Assert.assertFalse(index.containsKey("type"));
+  }
+
+  @Test
+  public void testSnapshot() throws Exception {
+    final List<IMeasurementMNode<IMemMNode>> nodes = createNodes(4);
+    final BitmapTagIndex index = new BitmapTagIndex(BLOCK_SIZE);
+    index.add("city", "beijing", offset(0), nodes.get(0));
+    index.add("city", "beijing", offset(2), nodes.get(2));
+    index.add("city", "shanghai", offset(3), nodes.get(3));
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    index.serialize(outputStream);
+
+    final BitmapTagIndex recovered = new BitmapTagIndex(BLOCK_SIZE);
+    Assert.assertTrue(
+        recovered.deserialize(new ByteArrayInputStream(outputStream.toByteArray()), 4) > 0);
+    for (final IMeasurementMNode<IMemMNode> node : nodes) {
+      Assert.assertTrue(recovered.relink(node.getOffset(), node) >= 0);
+    }
+    Assert.assertTrue(recovered.isRecoveredWithTags(offset(0)));
+    Assert.assertFalse(recovered.isRecoveredWithTags(offset(1)));
+    final List<IMeasurementMNode<?>> matched =
+        recovered.getMeasurements(recovered.evaluate(new TagFilter("city", "beijing", false)));
+    Assert.assertEquals(Arrays.asList(nodes.get(0), nodes.get(2)), matched);
+
+    // the measurements created after the snapshot are not covered
+    Assert.assertEquals(-1, recovered.relink(offset(4), createNodes(5).get(4)));
+
+    // the snapshot of a different tag log layout is rejected
+    Assert.assertEquals(
+        -1,
+        new BitmapTagIndex(BLOCK_SIZE * 2)
+            .deserialize(new ByteArrayInputStream(outputStream.toByteArray()), 4));
+  }
+
+  private static long offset(final int ordinal) {
+    return (long) ordinal * BLOCK_SIZE;
+  }
+
+  private static List<Integer> evaluate(final BitmapTagIndex index, final SchemaFilter filter) {
+    final List<Integer> result = new ArrayList<>();
+    index.evaluate(filter).forEach(result::add);
+    return result;
+  }
+
+  private static TreeSet<Integer> toSet(final CompressedBitmap bitmap) {
+    final TreeSet<Integer> result = new TreeSet<>();
+    bitmap.forEach(result::add);
+    return result;
+  }
+
+  private static List<IMeasurementMNode<IMemMNode>> createNodes(final int number) {
+    final IMNodeFactory<IMemMNode> nodeFactory =
+        MNodeFactoryLoader.getInstance().getMemMNodeIMNodeFactory();
+    final IDeviceMNode<IMemMNode> device = nodeFactory.createDeviceMNode(null, "d");
+    final List<IMeasurementMNode<IMemMNode>> nodes = new ArrayList<>();
+    for (int i = 0; i < number; i++) {
+      final IMeasurementMNode<IMemMNode> node =
+          nodeFactory.createMeasurementMNode(
+              device,
+              "s" + i,
+              new MeasurementSchema("s" + i, TSDataType.INT32, TSEncoding.PLAIN),
+              null);
+      node.setOffset(offset(i));
+      nodes.add(node);
+    }
+    return nodes;
+  }
+}
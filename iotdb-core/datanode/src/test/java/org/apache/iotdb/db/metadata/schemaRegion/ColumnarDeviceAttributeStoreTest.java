@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.metadata.schemaRegion;
+
+import org.apache.iotdb.db.schemaengine.schemaregion.attribute.ColumnarDeviceAttributeStore;
+import org.apache.iotdb.db.schemaengine.schemaregion.attribute.DeviceAttributeStore;
+import org.apache.iotdb.db.schemaengine.schemaregion.attribute.IDeviceAttributeStore;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.utils.Binary;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ColumnarDeviceAttributeStoreTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private static final List<String> NAMES = Arrays.asList("model", "region");
+
+  private static Binary binary(final String value) {
+    return new Binary(value, TSFileConfig.STRING_CHARSET);
+  }
+
+  @Test
+  public void testCreateAlterAndRemove() {
+    final ColumnarDeviceAttributeStore store = new ColumnarDeviceAttributeStore(null);
+    final int p0 = store.createAttribute(NAMES, new Object[] {binary("a"), binary("bj")}, "t");
+    final int p1 = store.createAttribute(NAMES, new Object[] {binary("a"), null}, "t");
+    Assert.assertEquals(0, p0);
+    Assert.assertEquals(1, p1);
+    Assert.assertEquals(binary("bj"), store.getAttributes(p0, "region"));
+    Assert.assertNull(store.getAttributes(p1, "region"));
+
+    final Map<String, Binary> updated =
+        store.alterAttribute(p1, NAMES, new Object[] {binary("a"), binary("sh")}, "t");
+    Assert.assertEquals(Collections.singletonMap("region", binary("sh")), updated);
+    Assert.assertEquals(
+        Collections.singletonMap("model", Binary.EMPTY_VALUE),
+        store.alterAttribute(p0, Collections.singletonList("model"), new Object[] {null}, "t"));
+    Assert.assertEquals(Collections.singletonMap("region", binary("bj")), store.getAttributes(p0));
+
+    store.removeAttribute(p1, "t");
+    Assert.assertNull(store.getAttributes(p1));
+  }
+
+  @Test
+  public void testEmptyValueSnapshot() throws Exception {
+    final File dir = folder.newFolder("empty");
+    final ColumnarDeviceAttributeStore store = new ColumnarDeviceAttributeStore(null);
+    // The empty values are shared in the dictionary, including the Binary.EMPTY_VALUE marker
+    store.createAttribute(NAMES, new Object[] {Binary.EMPTY_VALUE, binary("bj")}, "t");
+    store.createAttribute(NAMES, new Object[] {binary(""), binary("")}, "t");
+    Assert.assertNotSame(Binary.EMPTY_VALUE, store.getAttributes(1, "model"));
+    Assert.assertTrue(store.createSnapshot(dir));
+
+    final IDeviceAttributeStore loaded = new DeviceAttributeStore(null);
+    loaded.loadFromSnapshot(dir);
+    for (int pointer = 0; pointer < 2; pointer++) {
+      Assert.assertEquals(store.getAttributes(pointer), loaded.getAttributes(pointer));
+      // Present empty values shall not be loaded as the marker of removed values
+      Assert.assertNotSame(Binary.EMPTY_VALUE, loaded.getAttributes(pointer, "model"));
+    }
+    Assert.assertNotSame(Binary.EMPTY_VALUE, loaded.getAttributes(1, "region"));
+  }
+
+  @Test
+  public void testSnapshotCompatibility() throws Exception {
+    final File rowDir = folder.newFolder("row");
+    final File columnarDir = folder.newFolder("columnar");
+
+    final IDeviceAttributeStore rowStore = new DeviceAttributeStore(null);
+    final ColumnarDeviceAttributeStore columnarStore = new ColumnarDeviceAttributeStore(null);
+    for (final IDeviceAttributeStore store : Arrays.asList(rowStore, columnarStore)) {
+      store.createAttribute(NAMES, new Object[] {binary("a"), binary("bj")}, "t");
+      store.createAttribute(NAMES, new Object[] {binary("b"), null}, "t");
+      store.createAttribute(NAMES, new Object[] {binary("c"), binary("sh")}, "t");
+      store.removeAttribute(1, "t");
+    }
+    Assert.assertTrue(rowStore.createSnapshot(rowDir));
+    Assert.assertTrue(columnarStore.createSnapshot(columnarDir));
+
+    final IDeviceAttributeStore fromRow = new ColumnarDeviceAttributeStore(null);
+    fromRow.loadFromSnapshot(rowDir);
+    final IDeviceAttributeStore fromColumnar = new DeviceAttributeStore(null);
+    fromColumnar.loadFromSnapshot(columnarDir);
+
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(rowStore.getAttributes(i), fromRow.getAttributes(i));
+      Assert.assertEquals(rowStore.getAttributes(i), fromColumnar.getAttributes(i));
+    }
+    final Map<String, Binary> expected = new HashMap<>();
+    expected.put("model", binary("c"));
+    expected.put("region", binary("sh"));
+    Assert.assertEquals(expected, fromRow.getAttributes(2));
+  }
+}
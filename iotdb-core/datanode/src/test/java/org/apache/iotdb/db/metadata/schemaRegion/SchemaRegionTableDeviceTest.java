@@ -24,6 +24,8 @@ import org.apache.iotdb.commons.schema.filter.impl.singlechild.TagFilter;
 import org.apache.iotdb.commons.schema.filter.impl.values.InFilter;
 import org.apache.iotdb.commons.schema.filter.impl.values.LikeFilter;
 import org.apache.iotdb.commons.schema.filter.impl.values.PreciseFilter;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.CreateOrUpdateTableDeviceNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegion;
 import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.info.IDeviceSchemaInfo;
 
@@ -32,6 +34,7 @@ import org.apache.tsfile.utils.Binary;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -128,6 +131,66 @@ public class SchemaRegionTableDeviceTest extends AbstractSchemaRegionTest {
         deviceSchemaInfoList.get(0).getAttributeValue("cycle"));
   }
 
+  @Test
+  public void testBatchDeviceCreation() throws Exception {
+    if (!testParams.getTestModeName().equals("MemoryMode")) {
+      return;
+    }
+    final ISchemaRegion schemaRegion = getSchemaRegion("db", 0);
+    final String tableName = "t";
+    SchemaRegionTestUtil.createTableDevice(
+        schemaRegion,
+        tableName,
+        new String[] {"hebei", "p_1", "d_0"},
+        Collections.singletonMap("type", "old"));
+
+    final List<Object[]> deviceIdList = new ArrayList<>();
+    final List<Object[]> attributeValueList = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      deviceIdList.add(new String[] {i < 50 ? "hebei" : "shandong", "p_" + i / 10, "d_" + i});
+      attributeValueList.add(new Binary[] {new Binary("new", TSFileConfig.STRING_CHARSET)});
+    }
+    // existing device, duplicated device and shorter device id in one batch
+    deviceIdList.add(new String[] {"hebei", "p_1", "d_0"});
+    attributeValueList.add(new Binary[] {new Binary("updated", TSFileConfig.STRING_CHARSET)});
+    deviceIdList.add(new String[] {"hebei", "p_0", "d_0"});
+    attributeValueList.add(new Binary[] {new Binary("duplicated", TSFileConfig.STRING_CHARSET)});
+    deviceIdList.add(new String[] {"hebei", "p_0"});
+    attributeValueList.add(new Binary[] {null});
+
+    schemaRegion.createOrUpdateTableDevice(
+        new CreateOrUpdateTableDeviceNode(
+            new PlanNodeId(""),
+            null,
+            tableName,
+            deviceIdList,
+            Collections.singletonList("type"),
+            attributeValueList));
+
+    final List<IDeviceSchemaInfo> deviceSchemaInfoList =
+        SchemaRegionTestUtil.getTableDevice(schemaRegion, tableName, 3, Collections.emptyList());
+    Assert.assertEquals(102, deviceSchemaInfoList.size());
+    Assert.assertEquals(102, schemaRegion.getSchemaRegionStatistics().getDevicesNumber());
+    final Map<String, Binary> typeMap = new HashMap<>();
+    for (final IDeviceSchemaInfo info : deviceSchemaInfoList) {
+      typeMap.put(
+          String.join(".", Arrays.copyOfRange(info.getRawNodes(), 3, info.getRawNodes().length)),
+          info.getAttributeValue("type"));
+    }
+    Assert.assertEquals(
+        new Binary("new", TSFileConfig.STRING_CHARSET), typeMap.get("shandong.p_9.d_99"));
+    Assert.assertEquals(
+        new Binary("duplicated", TSFileConfig.STRING_CHARSET),
+        typeMap.get("hebei.p_0.d_0"));
+    Assert.assertEquals(
+        new Binary("updated", TSFileConfig.STRING_CHARSET), typeMap.get("hebei.p_1.d_0"));
+    Assert.assertNull(
+        SchemaRegionTestUtil.getTableDevice(
+                schemaRegion, tableName, Collections.singletonList(new String[] {"hebei", "p_0"}))
+            .get(0)
+            .getAttributeValue("type"));
+  }
+
   @Test
   public void testDeviceQuery() throws Exception {
     if (!testParams.getTestModeName().equals("MemoryMode")) {
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.pattern;
+
+import org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant;
+import org.apache.iotdb.commons.pipe.config.plugin.configuraion.PipeTaskRuntimeConfiguration;
+import org.apache.iotdb.commons.pipe.config.plugin.env.PipeTaskSourceRuntimeEnvironment;
+import org.apache.iotdb.commons.pipe.event.EnrichedEvent;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.pipe.event.realtime.PipeRealtimeEvent;
+import org.apache.iotdb.db.pipe.source.dataregion.realtime.PipeRealtimeDataRegionSource;
+import org.apache.iotdb.db.pipe.source.dataregion.realtime.epoch.TsFileEpoch;
+import org.apache.iotdb.db.pipe.source.dataregion.realtime.matcher.CachedSchemaPatternMatcher;
+import org.apache.iotdb.db.pipe.source.dataregion.realtime.matcher.TrieSchemaPatternMatcher;
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.StringArrayDeviceID;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TrieSchemaPatternMatcherTest {
+
+  private static class MockedPipeRealtimeEvent extends PipeRealtimeEvent {
+
+    public MockedPipeRealtimeEvent(
+        final EnrichedEvent event,
+        final TsFileEpoch tsFileEpoch,
+        final Map<IDeviceID, String[]> device2Measurements) {
+      super(event, tsFileEpoch, device2Measurements);
+    }
+
+    @Override
+    public boolean shouldParseTime() {
+      return false;
+    }
+
+    @Override
+    public boolean shouldParsePattern() {
+      return false;
+    }
+  }
+
+  private static final String[] DEVICES = {
+    "root.db1", "root.db1.d1", "root.db1.d2", "root.db1.d1.d1", "root.db2.d1", "root.db2.d2",
+    "root.db10.d1", "root.sg.d2", "root.sg.`d.1`"
+  };
+
+  private static final String[][] MEASUREMENTS = {
+    {}, {"s1"}, {"s2"}, {"s10"}, {"s1", "s2"}, {"t", null}
+  };
+
+  private CachedSchemaPatternMatcher cachedMatcher;
+  private TrieSchemaPatternMatcher trieMatcher;
+  private int dataNodeId;
+
+  @Before
+  public void setUp() {
+    dataNodeId = IoTDBDescriptor.getInstance().getConfig().getDataNodeId();
+    IoTDBDescriptor.getInstance().getConfig().setDataNodeId(0);
+    cachedMatcher = new CachedSchemaPatternMatcher();
+    trieMatcher = new TrieSchemaPatternMatcher();
+  }
+
+  @After
+  public void tearDown() {
+    cachedMatcher.clear();
+    trieMatcher.clear();
+    IoTDBDescriptor.getInstance().getConfig().setDataNodeId(dataNodeId);
+  }
+
+  @Test
+  public void testMatchSameAsCachedMatcher() {
+    final List<PipeRealtimeDataRegionSource> sources = new ArrayList<>();
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATTERN_KEY, "root"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATTERN_KEY, "root.db1"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATTERN_KEY, "root.db1.d1.s"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATTERN_KEY, "root.sg"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.db1.**"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.db2.d1.s1"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.*.d2.*"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.db1.d*.s1"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.**.s2"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.db1.d1"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.sg.`d.1`.**"));
+    sources.add(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.db1.**,root.db2.d2.*"));
+    final PipeRealtimeDataRegionSource exclusionSource =
+        createSource(
+            PipeSourceConstant.EXTRACTOR_PATH_KEY,
+            "root.db1.**",
+            PipeSourceConstant.EXTRACTOR_PATH_EXCLUSION_KEY,
+            "root.db1.d1.**");
+    sources.add(exclusionSource);
+
+    sources.forEach(cachedMatcher::register);
+    sources.forEach(trieMatcher::register);
+    assertSameMatchedSources();
+
+    cachedMatcher.deregister(exclusionSource);
+    trieMatcher.deregister(exclusionSource);
+    cachedMatcher.deregister(sources.get(0));
+    trieMatcher.deregister(sources.get(0));
+    Assert.assertEquals(sources.size() - 2, trieMatcher.getRegisterCount());
+    assertSameMatchedSources();
+  }
+
+  @Test
+  public void testMatchNothing() {
+    trieMatcher.register(createSource(PipeSourceConstant.EXTRACTOR_PATH_KEY, "root.db1.d1.s1"));
+
+    Assert.assertTrue(match(trieMatcher, "root.db2.d1", new String[0]).isEmpty());
+    Assert.assertTrue(match(trieMatcher, "root.db1.d1", new String[] {"s2"}).isEmpty());
+    Assert.assertEquals(1, match(trieMatcher, "root.db1.d1", new String[] {"s1"}).size());
+  }
+
+  private void assertSameMatchedSources() {
+    for (final String device : DEVICES) {
+      for (final String[] measurements : MEASUREMENTS) {
+        Assert.assertEquals(
+            device + " " + Arrays.toString(measurements),
+            match(cachedMatcher, device, measurements),
+            match(trieMatcher, device, measurements));
+      }
+    }
+  }
+
+  private static Set<PipeRealtimeDataRegionSource> match(
+      final CachedSchemaPatternMatcher matcher, final String device, final String[] measurements) {
+    return matcher
+        .match(
+            new MockedPipeRealtimeEvent(
+                null,
+                null,
+                Collections.singletonMap(new StringArrayDeviceID(device), measurements)))
+        .getLeft();
+  }
+
+  private static PipeRealtimeDataRegionSource createSource(final String... keyValues) {
+    final Map<String, String> attributes = new HashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      attributes.put(keyValues[i], keyValues[i + 1]);
+    }
+    final PipeRealtimeDataRegionSource source =
+        new CachedSchemaPatternMatcherTest.PipeRealtimeDataRegionFakeSource();
+    try {
+      source.customize(
+          new PipeParameters(attributes),
+          new PipeTaskRuntimeConfiguration(new PipeTaskSourceRuntimeEnvironment("1", 1, 1, null)));
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+    return source;
+  }
+}
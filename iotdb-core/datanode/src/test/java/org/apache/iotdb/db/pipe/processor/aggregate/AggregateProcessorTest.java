@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.processor.aggregate;
+
+import org.apache.iotdb.commons.consensus.index.ProgressIndex;
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.processor.aggregate.operator.processor.StandardStatisticsOperatorProcessor;
+import org.apache.iotdb.db.pipe.processor.aggregate.window.processor.TumblingWindowingProcessor;
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
+import org.apache.iotdb.pipe.api.event.Event;
+import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_COLUMNAR_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_OPERATORS_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_OUTPUT_MAX_DELAY_SECONDS_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_OUTPUT_MIN_REPORT_INTERVAL_SECONDS_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_SLIDING_SECONDS_KEY;
+
+public class AggregateProcessorTest {
+
+  private static final String DATABASE = "root.db";
+  private static final int NUM_OF_ROW_PER_TABLET = 100;
+  private static final int NUM_OF_TABLET = 5;
+
+  private static final List<IMeasurementSchema> SCHEMAS =
+      Arrays.asList(
+          new MeasurementSchema("s0", TSDataType.DOUBLE),
+          new MeasurementSchema("s1", TSDataType.INT64),
+          new MeasurementSchema("s2", TSDataType.INT32),
+          new MeasurementSchema("s3", TSDataType.FLOAT));
+
+  @Test
+  public void testColumnarPathEquivalentToRowPath() throws Exception {
+    final AggregateResult rowPathResult = aggregate("row_path_pipe", false);
+    final AggregateResult columnarPathResult = aggregate("columnar_path_pipe", true);
+
+    Assert.assertFalse(rowPathResult.outputs.isEmpty());
+    Assert.assertEquals(rowPathResult.outputs, columnarPathResult.outputs);
+    Assert.assertEquals(rowPathResult.progressIndexes, columnarPathResult.progressIndexes);
+    // The windows left open are the same if the states are the same
+    Assert.assertFalse(rowPathResult.forcedOutputs.isEmpty());
+    Assert.assertEquals(rowPathResult.forcedOutputs, columnarPathResult.forcedOutputs);
+  }
+
+  private AggregateResult aggregate(final String pipeName, final boolean isColumnar)
+      throws Exception {
+    final Map<String, String> attributes = new HashMap<>();
+    attributes.put(PROCESSOR_OPERATORS_KEY, "avg,max,min,rms,var,skew,kurt,peak");
+    attributes.put(PROCESSOR_SLIDING_SECONDS_KEY, "1");
+    attributes.put(PROCESSOR_OUTPUT_MIN_REPORT_INTERVAL_SECONDS_KEY, "0");
+    attributes.put(PROCESSOR_OUTPUT_MAX_DELAY_SECONDS_KEY, "0");
+    attributes.put(PROCESSOR_COLUMNAR_KEY, Boolean.toString(isColumnar));
+    final PipeParameters parameters = new PipeParameters(attributes);
+
+    final TumblingWindowingProcessor windowingProcessor = new TumblingWindowingProcessor();
+    windowingProcessor.customize(parameters, null);
+
+    final AggregateResult result = new AggregateResult();
+    try (final AggregateProcessor processor = new AggregateProcessor()) {
+      processor.customize(
+          parameters,
+          pipeName,
+          DATABASE,
+          Collections.singletonList(new StandardStatisticsOperatorProcessor()),
+          windowingProcessor);
+
+      for (final Tablet tablet : generateTablets()) {
+        final PipeRawTabletInsertionEvent event = new PipeRawTabletInsertionEvent(tablet, false);
+        processor.process(
+            (TabletInsertionEvent) event, output -> collect(output, result.outputs));
+        result.progressIndexes.add(event.getProgressIndex());
+      }
+
+      // Wait for the max delay so that the open windows are forced to output
+      Thread.sleep(10);
+      processor.process(new Event() {}, output -> collect(output, result.forcedOutputs));
+    }
+    return result;
+  }
+
+  private static List<Tablet> generateTablets() {
+    final Random random = new Random(0);
+    final List<Tablet> tablets = new ArrayList<>();
+    long timestamp = 0;
+    for (int t = 0; t < NUM_OF_TABLET; t++) {
+      final long[] timestamps = new long[NUM_OF_ROW_PER_TABLET];
+      final double[] doubleValues = new double[NUM_OF_ROW_PER_TABLET];
+      final long[] longValues = new long[NUM_OF_ROW_PER_TABLET];
+      final int[] intValues = new int[NUM_OF_ROW_PER_TABLET];
+      final float[] floatValues = new float[NUM_OF_ROW_PER_TABLET];
+      final BitMap[] bitMaps = new BitMap[SCHEMAS.size()];
+      for (int i = 0; i < SCHEMAS.size(); i++) {
+        bitMaps[i] = new BitMap(NUM_OF_ROW_PER_TABLET);
+      }
+      for (int row = 0; row < NUM_OF_ROW_PER_TABLET; row++) {
+        // The windows are closed in the middle of the tablets
+        timestamp += 37;
+        timestamps[row] = timestamp;
+        doubleValues[row] = random.nextGaussian() * 100;
+        longValues[row] = random.nextInt(1000);
+        intValues[row] = random.nextInt(1000) - 500;
+        floatValues[row] = random.nextFloat();
+        for (int i = 0; i < SCHEMAS.size(); i++) {
+          if (random.nextInt(5) == 0) {
+            bitMaps[i].mark(row);
+          }
+        }
+      }
+      tablets.add(
+          new Tablet(
+              DATABASE + ".d" + t % 2,
+              SCHEMAS,
+              timestamps,
+              new Object[] {doubleValues, longValues, intValues, floatValues},
+              bitMaps,
+              NUM_OF_ROW_PER_TABLET));
+    }
+    return tablets;
+  }
+
+  private static void collect(final Event event, final Map<String, Object> outputs) {
+    if (!(event instanceof PipeRawTabletInsertionEvent)) {
+      return;
+    }
+    final Tablet tablet = ((PipeRawTabletInsertionEvent) event).convertToTablet();
+    final List<IMeasurementSchema> schemas = tablet.getSchemas();
+    for (int row = 0; row < tablet.getRowSize(); row++) {
+      for (int column = 0; column < schemas.size(); column++) {
+        if (tablet.getBitMaps() != null
+            && tablet.getBitMaps()[column] != null
+            && tablet.getBitMaps()[column].isMarked(row)) {
+          continue;
+        }
+        outputs.put(
+            tablet.getDeviceId()
+                + "."
+                + schemas.get(column).getMeasurementName()
+                + "@"
+                + tablet.getTimestamps()[row],
+            tablet.getValue(row, column));
+      }
+    }
+  }
+
+  private static class AggregateResult {
+    private final Map<String, Object> outputs = new TreeMap<>();
+    private final List<ProgressIndex> progressIndexes = new ArrayList<>();
+    private final Map<String, Object> forcedOutputs = new TreeMap<>();
+  }
+}
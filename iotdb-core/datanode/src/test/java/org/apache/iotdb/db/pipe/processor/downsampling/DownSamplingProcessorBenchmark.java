@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.processor.downsampling;
+
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.processor.aggregate.AggregateProcessor;
+import org.apache.iotdb.db.pipe.processor.aggregate.operator.processor.StandardStatisticsOperatorProcessor;
+import org.apache.iotdb.db.pipe.processor.aggregate.window.processor.TumblingWindowingProcessor;
+import org.apache.iotdb.db.pipe.processor.downsampling.changing.ChangingValueSamplingProcessor;
+import org.apache.iotdb.db.pipe.processor.downsampling.sdt.SwingingDoorTrendingSamplingProcessor;
+import org.apache.iotdb.db.pipe.processor.downsampling.tumbling.TumblingTimeSamplingProcessor;
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameterValidator;
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
+import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_COLUMNAR_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_OPERATORS_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeProcessorConstant.PROCESSOR_SLIDING_SECONDS_KEY;
+
+/**
+ * Down-sampling processor benchmark. Bench the row path and the columnar path of the down-sampling
+ * processors and the aggregate processor on the same tablets and get their throughput.
+ */
+public class DownSamplingProcessorBenchmark {
+
+  private static final String DEVICE_SUFFIX = "d0";
+  private static final int NUM_OF_MEASUREMENT = 100;
+  private static final int NUM_OF_ROW_PER_TABLET = 1000;
+  private static final int NUM_OF_TABLET = 200;
+  private static final int NUM_OF_ROUND = 5;
+
+  private static final long MEMORY_LIMIT_IN_BYTES = 64L * 1024 * 1024;
+
+  public static void main(String[] args) throws Exception {
+    final Map<String, String> sdtAttributes = new HashMap<>();
+    sdtAttributes.put("processor.sdt.compression-deviation", "5");
+    bench("sdt", () -> createProcessor(new SwingingDoorTrendingSamplingProcessor(), sdtAttributes));
+
+    final Map<String, String> changingValueAttributes = new HashMap<>();
+    changingValueAttributes.put("processor.changing-value.compression-deviation", "5");
+    bench(
+        "changing-value",
+        () -> createProcessor(new ChangingValueSamplingProcessor(), changingValueAttributes));
+
+    final Map<String, String> tumblingAttributes = new HashMap<>();
+    tumblingAttributes.put("processor.tumbling-time.interval-seconds", "1");
+    bench(
+        "tumbling-time",
+        () -> createProcessor(new TumblingTimeSamplingProcessor(), tumblingAttributes));
+
+    benchAggregate();
+  }
+
+  private static List<Tablet> generateTablets() {
+    final List<IMeasurementSchema> schemas = new ArrayList<>();
+    for (int i = 0; i < NUM_OF_MEASUREMENT; i++) {
+      schemas.add(
+          new MeasurementSchema("s" + i, i % 2 == 0 ? TSDataType.DOUBLE : TSDataType.INT64));
+    }
+
+    final Random random = new Random(0);
+    final double[] walks = new double[NUM_OF_MEASUREMENT];
+    final List<Tablet> tablets = new ArrayList<>();
+    long timestamp = 0;
+    for (int t = 0; t < NUM_OF_TABLET; t++) {
+      final Tablet tablet = new Tablet("root.db." + DEVICE_SUFFIX, schemas, NUM_OF_ROW_PER_TABLET);
+      for (int row = 0; row < NUM_OF_ROW_PER_TABLET; row++) {
+        // 100ms per row
+        timestamp += 100;
+        tablet.addTimestamp(row, timestamp);
+        for (int i = 0; i < NUM_OF_MEASUREMENT; i++) {
+          walks[i] += random.nextGaussian();
+          if (i % 2 == 0) {
+            tablet.addValue("s" + i, row, walks[i]);
+          } else {
+            tablet.addValue("s" + i, row, (long) walks[i]);
+          }
+        }
+      }
+      tablets.add(tablet);
+    }
+    return tablets;
+  }
+
+  private static DownSamplingProcessor createProcessor(
+      final DownSamplingProcessor processor, final Map<String, String> attributes) {
+    try {
+      processor.validate(new PipeParameterValidator(new PipeParameters(attributes)));
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+    processor.pathLastObjectCache = processor.initPathLastObjectCache(MEMORY_LIMIT_IN_BYTES);
+    return processor;
+  }
+
+  private static void bench(final String name, final Supplier<DownSamplingProcessor> supplier)
+      throws Exception {
+    for (int round = 0; round < NUM_OF_ROUND; round++) {
+      // The tablets are generated for each path, since the events may modify the given tablets
+      final DownSamplingProcessor rowProcessor = supplier.get();
+      final AtomicInteger rowPathOutputRows = new AtomicInteger();
+      final AtomicReference<Exception> exception = new AtomicReference<>();
+      long startTime = System.nanoTime();
+      for (final Tablet tablet : generateTablets()) {
+        for (final TabletInsertionEvent event :
+            new PipeRawTabletInsertionEvent(tablet, false)
+                .processRowByRow(
+                    (row, rowCollector) ->
+                        rowProcessor.processRow(row, rowCollector, DEVICE_SUFFIX, exception))) {
+          rowPathOutputRows.addAndGet(
+              ((PipeRawTabletInsertionEvent) event).convertToTablet().getRowSize());
+        }
+      }
+      final long rowPathTime = System.nanoTime() - startTime;
+      // Release the memory of the cache, otherwise the following caches may evict the states
+      rowProcessor.close();
+      if (exception.get() != null) {
+        throw exception.get();
+      }
+
+      final DownSamplingProcessor columnarProcessor = supplier.get();
+      final AtomicInteger columnarPathOutputRows = new AtomicInteger();
+      startTime = System.nanoTime();
+      for (final Tablet tablet : generateTablets()) {
+        for (final TabletInsertionEvent event :
+            new PipeRawTabletInsertionEvent(tablet, false)
+                .processTabletWithCollect(
+                    (input, tabletCollector) -> {
+                      final Tablet sampled = columnarProcessor.processTablet(input, DEVICE_SUFFIX);
+                      if (sampled != null) {
+                        try {
+                          tabletCollector.collectTablet(sampled);
+                        } catch (final IOException e) {
+                          exception.set(e);
+                        }
+                      }
+                    })) {
+          columnarPathOutputRows.addAndGet(
+              ((PipeRawTabletInsertionEvent) event).convertToTablet().getRowSize());
+        }
+      }
+      final long columnarPathTime = System.nanoTime() - startTime;
+      columnarProcessor.close();
+      if (exception.get() != null) {
+        throw exception.get();
+      }
+
+      report(
+          name,
+          round,
+          rowPathTime,
+          rowPathOutputRows.get(),
+          columnarPathTime,
+          columnarPathOutputRows.get());
+    }
+  }
+
+  private static AggregateProcessor createAggregateProcessor(
+      final String pipeName, final boolean isColumnar) throws Exception {
+    final Map<String, String> attributes = new HashMap<>();
+    attributes.put(PROCESSOR_OPERATORS_KEY, "avg,max,min,rms,var");
+    attributes.put(PROCESSOR_SLIDING_SECONDS_KEY, "60");
+    attributes.put(PROCESSOR_COLUMNAR_KEY, Boolean.toString(isColumnar));
+    final PipeParameters parameters = new PipeParameters(attributes);
+
+    final TumblingWindowingProcessor windowingProcessor = new TumblingWindowingProcessor();
+    windowingProcessor.customize(parameters, null);
+    final AggregateProcessor processor = new AggregateProcessor();
+    processor.customize(
+        parameters,
+        pipeName,
+        "root.db",
+        Collections.singletonList(new StandardStatisticsOperatorProcessor()),
+        windowingProcessor);
+    return processor;
+  }
+
+  private static long processAggregate(
+      final AggregateProcessor processor, final AtomicInteger outputRows) throws Exception {
+    final long startTime = System.nanoTime();
+    for (final Tablet tablet : generateTablets()) {
+      processor.process(
+          (TabletInsertionEvent) new PipeRawTabletInsertionEvent(tablet, false),
+          event ->
+              outputRows.addAndGet(
+                  ((PipeRawTabletInsertionEvent) event).convertToTablet().getRowSize()));
+    }
+    return System.nanoTime() - startTime;
+  }
+
+  private static void benchAggregate() throws Exception {
+    for (int round = 0; round < NUM_OF_ROUND; round++) {
+      // The states of the time series are kept by pipe name, hence each path uses its own pipe
+      final AtomicInteger rowPathOutputRows = new AtomicInteger();
+      final long rowPathTime;
+      try (final AggregateProcessor processor =
+          createAggregateProcessor("aggregate_row_" + round, false)) {
+        rowPathTime = processAggregate(processor, rowPathOutputRows);
+      }
+
+      final AtomicInteger columnarPathOutputRows = new AtomicInteger();
+      final long columnarPathTime;
+      try (final AggregateProcessor processor =
+          createAggregateProcessor("aggregate_columnar_" + round, true)) {
+        columnarPathTime = processAggregate(processor, columnarPathOutputRows);
+      }
+
+      report(
+          "aggregate",
+          round,
+          rowPathTime,
+          rowPathOutputRows.get(),
+          columnarPathTime,
+          columnarPathOutputRows.get());
+    }
+  }
+
+  private static void report(
+      final String name,
+      final int round,
+      final long rowPathTime,
+      final int rowPathOutputRows,
+      final long columnarPathTime,
+      final int columnarPathOutputRows) {
+    final long numOfPoint = (long) NUM_OF_MEASUREMENT * NUM_OF_ROW_PER_TABLET * NUM_OF_TABLET;
+    System.out.println(
+        String.format(
+            "%s round %d: row path %d ms (%.2f M points/s, %d rows output), "
+                + "columnar path %d ms (%.2f M points/s, %d rows output).",
+            name,
+            round,
+            rowPathTime / 1_000_000,
+            numOfPoint * 1000.0 / rowPathTime,
+            rowPathOutputRows,
+            columnarPathTime / 1_000_000,
+            numOfPoint * 1000.0 / columnarPathTime,
+            columnarPathOutputRows));
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.processor.downsampling;
+
+import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
+import org.apache.iotdb.db.pipe.processor.downsampling.changing.ChangingValueSamplingProcessor;
+import org.apache.iotdb.db.pipe.processor.downsampling.sdt.SwingingDoorTrendingSamplingProcessor;
+import org.apache.iotdb.db.pipe.processor.downsampling.tumbling.TumblingTimeSamplingProcessor;
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameterValidator;
+import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
+import org.apache.iotdb.pipe.api.event.dml.insertion.TabletInsertionEvent;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class DownSamplingProcessorTest {
+
+  private static final String DEVICE_SUFFIX = "d0";
+  private static final int NUM_OF_ROW_PER_TABLET = 200;
+  private static final int NUM_OF_TABLET = 10;
+  private static final long MEMORY_LIMIT_IN_BYTES = 16L * 1024 * 1024;
+
+  private static final List<IMeasurementSchema> SCHEMAS =
+      new ArrayList<>(
+          Arrays.asList(
+              new MeasurementSchema("s0", TSDataType.DOUBLE),
+              new MeasurementSchema("s1", TSDataType.INT64),
+              new MeasurementSchema("s2", TSDataType.FLOAT),
+              new MeasurementSchema("s3", TSDataType.INT32),
+              new MeasurementSchema("s4", TSDataType.TEXT),
+              new MeasurementSchema("s5", TSDataType.BOOLEAN)));
+
+  @Test
+  public void testSwingingDoorTrendingColumnarPath() throws Exception {
+    testColumnarPathEqualsRowPath(
+        () ->
+            createProcessor(
+                new SwingingDoorTrendingSamplingProcessor(),
+                "processor.sdt.compression-deviation",
+                "5"));
+  }
+
+  @Test
+  public void testChangingValueColumnarPath() throws Exception {
+    testColumnarPathEqualsRowPath(
+        () ->
+            createProcessor(
+                new ChangingValueSamplingProcessor(),
+                "processor.changing-value.compression-deviation",
+                "5"));
+  }
+
+  @Test
+  public void testTumblingTimeColumnarPath() throws Exception {
+    testColumnarPathEqualsRowPath(
+        () ->
+            createProcessor(
+                new TumblingTimeSamplingProcessor(),
+                "processor.tumbling-time.interval-seconds",
+                "1"));
+  }
+
+  private void testColumnarPathEqualsRowPath(final Supplier<DownSamplingProcessor> supplier)
+      throws Exception {
+    final List<String> rowPathPoints = new ArrayList<>();
+    final AtomicReference<Exception> exception = new AtomicReference<>();
+    final DownSamplingProcessor rowProcessor = supplier.get();
+    try {
+      for (final Tablet tablet : generateTablets()) {
+        for (final TabletInsertionEvent event :
+            new PipeRawTabletInsertionEvent(tablet, false)
+                .processRowByRow(
+                    (row, rowCollector) ->
+                        rowProcessor.processRow(row, rowCollector, DEVICE_SUFFIX, exception))) {
+          collectPoints(((PipeRawTabletInsertionEvent) event).convertToTablet(), rowPathPoints);
+        }
+      }
+    } finally {
+      rowProcessor.close();
+    }
+    if (exception.get() != null) {
+      throw exception.get();
+    }
+
+    final List<String> columnarPathPoints = new ArrayList<>();
+    final DownSamplingProcessor columnarProcessor = supplier.get();
+    try {
+      for (final Tablet tablet : generateTablets()) {
+        for (final TabletInsertionEvent event :
+            new PipeRawTabletInsertionEvent(tablet, false)
+                .processTabletWithCollect(
+                    (input, tabletCollector) -> {
+                      final Tablet sampled = columnarProcessor.processTablet(input, DEVICE_SUFFIX);
+                      if (sampled != null) {
+                        try {
+                          tabletCollector.collectTablet(sampled);
+                        } catch (final IOException e) {
+                          exception.set(e);
+                        }
+                      }
+                    })) {
+          collectPoints(
+              ((PipeRawTabletInsertionEvent) event).convertToTablet(), columnarPathPoints);
+        }
+      }
+    } finally {
+      columnarProcessor.close();
+    }
+    if (exception.get() != null) {
+      throw exception.get();
+    }
+
+    Assert.assertFalse(rowPathPoints.isEmpty());
+    Assert.assertEquals(rowPathPoints, columnarPathPoints);
+  }
+
+  private static DownSamplingProcessor createProcessor(
+      final DownSamplingProcessor processor, final String key, final String value) {
+    try {
+      processor.validate(
+          new PipeParameterValidator(new PipeParameters(Collections.singletonMap(key, value))));
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+    processor.pathLastObjectCache = processor.initPathLastObjectCache(MEMORY_LIMIT_IN_BYTES);
+    return processor;
+  }
+
+  private static List<Tablet> generateTablets() {
+    final Random random = new Random(0);
+    final double[] walks = new double[SCHEMAS.size()];
+    final List<Tablet> tablets = new ArrayList<>();
+    long timestamp = 0;
+    for (int t = 0; t < NUM_OF_TABLET; t++) {
+      final Tablet tablet = new Tablet("root.db." + DEVICE_SUFFIX, SCHEMAS, NUM_OF_ROW_PER_TABLET);
+      tablet.initBitMaps();
+      for (int row = 0; row < NUM_OF_ROW_PER_TABLET; row++) {
+        // 100ms per row
+        timestamp += 100;
+        tablet.addTimestamp(row, timestamp);
+        for (int i = 0; i < SCHEMAS.size(); i++) {
+          walks[i] += random.nextGaussian() * 3;
+          switch (SCHEMAS.get(i).getType()) {
+            case DOUBLE:
+              tablet.addValue(row, i, walks[i]);
+              break;
+            case INT64:
+              tablet.addValue(row, i, (long) walks[i]);
+              break;
+            case FLOAT:
+              tablet.addValue(row, i, (float) walks[i]);
+              break;
+            case INT32:
+              tablet.addValue(row, i, (int) walks[i]);
+              break;
+            case TEXT:
+              tablet.addValue(row, i, "v" + random.nextInt(3));
+              break;
+            default:
+              tablet.addValue(row, i, random.nextInt(4) == 0);
+              break;
+          }
+          if (random.nextInt(10) == 0) {
+            tablet.getBitMaps()[i].mark(row);
+          }
+        }
+      }
+      tablets.add(tablet);
+    }
+    return tablets;
+  }
+
+  private static void collectPoints(final Tablet tablet, final List<String> points) {
+    for (int row = 0; row < tablet.getRowSize(); row++) {
+      for (int column = 0; column < tablet.getSchemas().size(); column++) {
+        if (tablet.isNull(row, column)) {
+          continue;
+        }
+        Object value = tablet.getValue(row, column);
+        if (value instanceof Binary) {
+          value = ((Binary) value).getStringValue(TSFileConfig.STRING_CHARSET);
+        }
+        points.add(
+            tablet.getTimestamp(row)
+                + " "
+                + tablet.getSchemas().get(column).getMeasurementName()
+                + " "
+                + value);
+      }
+    }
+  }
+}
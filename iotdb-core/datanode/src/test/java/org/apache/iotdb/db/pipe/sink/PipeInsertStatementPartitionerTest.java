@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.sink;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.pipe.receiver.transform.statement.PipeInsertStatementPartitioner;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertMultiTabletsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PipeInsertStatementPartitionerTest {
+
+  private static InsertRowStatement genRow(final String device, final long time)
+      throws IllegalPathException {
+    final InsertRowStatement row = new InsertRowStatement();
+    row.setDevicePath(new PartialPath(device));
+    row.setTime(time);
+    return row;
+  }
+
+  private static InsertTabletStatement genTablet(final String device) throws IllegalPathException {
+    final InsertTabletStatement tablet = new InsertTabletStatement();
+    tablet.setDevicePath(new PartialPath(device));
+    return tablet;
+  }
+
+  @Test
+  public void testPartition() throws IllegalPathException {
+    final List<InsertRowStatement> rows = new ArrayList<>();
+    final List<InsertTabletStatement> tablets = new ArrayList<>();
+    for (int i = 0; i < 32; ++i) {
+      final String device = "root.db.d" + (i % 8);
+      rows.add(genRow(device, i));
+      tablets.add(genTablet(device));
+    }
+    final InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+    insertRowsStatement.setInsertRowStatementList(rows);
+    final InsertMultiTabletsStatement insertMultiTabletsStatement =
+        new InsertMultiTabletsStatement();
+    insertMultiTabletsStatement.setInsertTabletStatementList(tablets);
+
+    final List<List<InsertBaseStatement>> partitions =
+        PipeInsertStatementPartitioner.partition(
+            Arrays.asList(insertRowsStatement, insertMultiTabletsStatement), 4);
+    Assert.assertTrue(partitions.size() > 1 && partitions.size() <= 4);
+
+    // Map<Device, index of partition>
+    final Map<PartialPath, Integer> devicePartitionMap = new HashMap<>();
+    int rowCount = 0;
+    int tabletCount = 0;
+    for (int i = 0; i < partitions.size(); ++i) {
+      final int index = i;
+      final List<InsertBaseStatement> partition = partitions.get(i);
+      // The rows are still executed before the tablets
+      Assert.assertEquals(2, partition.size());
+      Assert.assertTrue(partition.get(0) instanceof InsertRowsStatement);
+      Assert.assertTrue(partition.get(1) instanceof InsertMultiTabletsStatement);
+
+      long lastTime = -1;
+      for (final InsertRowStatement row :
+          ((InsertRowsStatement) partition.get(0)).getInsertRowStatementList()) {
+        Assert.assertEquals(
+            index, (int) devicePartitionMap.computeIfAbsent(row.getDevicePath(), k -> index));
+        // The rows keep their original order
+        Assert.assertTrue(row.getTime() > lastTime);
+        lastTime = row.getTime();
+        ++rowCount;
+      }
+      for (final InsertTabletStatement tablet :
+          ((InsertMultiTabletsStatement) partition.get(1)).getInsertTabletStatementList()) {
+        Assert.assertEquals(i, (int) devicePartitionMap.get(tablet.getDevicePath()));
+        ++tabletCount;
+      }
+    }
+    Assert.assertEquals(32, rowCount);
+    Assert.assertEquals(32, tabletCount);
+  }
+}
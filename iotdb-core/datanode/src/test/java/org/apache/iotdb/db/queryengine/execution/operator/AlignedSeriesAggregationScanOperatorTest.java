@@ -24,6 +24,8 @@ import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.AlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
 import org.apache.iotdb.db.queryengine.common.QueryId;
@@ -40,8 +42,13 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.GroupByTimePa
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.InputLocation;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
 import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.storageengine.buffer.TsFileStatisticsIndexCache;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex.DeviceStatistics;
 
 import org.apache.tsfile.common.conf.TSFileDescriptor;
 import org.apache.tsfile.enums.TSDataType;
@@ -70,6 +77,8 @@ import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanc
 import static org.apache.iotdb.db.queryengine.execution.operator.AggregationOperatorTest.TEST_TIME_SLICE;
 import static org.apache.iotdb.db.queryengine.execution.operator.AggregationUtil.initTimeRangeIterator;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 public class AlignedSeriesAggregationScanOperatorTest {
@@ -707,12 +716,121 @@ public class AlignedSeriesAggregationScanOperatorTest {
     assertEquals(timeColumn.length, count);
   }
 
+  @Test
+  public void testAggregationWithStatisticsIndex() throws Exception {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    boolean enableTsFileStatisticsIndex = config.isEnableTsFileStatisticsIndex();
+    config.setEnableTsFileStatisticsIndex(true);
+    try {
+      for (TsFileResource resource : seqResources) {
+        TsFileStatisticsIndex.generate(resource);
+      }
+      for (TsFileResource resource : unSeqResources) {
+        TsFileStatisticsIndex.generate(resource);
+      }
+      DeviceStatistics deviceStatistics =
+          TsFileStatisticsIndexCache.getInstance()
+              .get(
+                  seqResources.get(0),
+                  IDeviceID.Factory.DEFAULT_FACTORY.create(
+                      SERIES_AGGREGATION_SCAN_OPERATOR_TEST_SG + ".device0"));
+      assertNotNull(deviceStatistics);
+      assertTrue(deviceStatistics.isAligned());
+      assertNotNull(deviceStatistics.getStatistics(""));
+      for (IMeasurementSchema measurementSchema : measurementSchemas) {
+        assertNotNull(deviceStatistics.getStatistics(measurementSchema.getMeasurementName()));
+      }
+
+      // answered by the statistics of the index, and by the chunks of the overlapped files
+      testAggregationWithoutTimeFilter();
+      testMultiAggregationFuncWithoutTimeFilter1();
+      testMultiAggregationFuncWithoutTimeFilter2();
+      // the chunk metadata are loaded lazily for the partially selected files
+      testMultiAggregationWithTimeFilter();
+      testGroupByWithMultiFunction();
+    } finally {
+      config.setEnableTsFileStatisticsIndex(enableTsFileStatisticsIndex);
+      TsFileStatisticsIndexCache.getInstance().clear();
+    }
+  }
+
+  @Test
+  public void testAggregationByStatisticsIndexWithoutReadingTsFile() throws Exception {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    boolean enableTsFileStatisticsIndex = config.isEnableTsFileStatisticsIndex();
+    config.setEnableTsFileStatisticsIndex(true);
+    try {
+      for (TsFileResource resource : seqResources) {
+        TsFileStatisticsIndex.generate(resource);
+      }
+      TimeSeriesMetadataCache.getInstance().clear();
+      FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+
+      List<TreeAggregator> aggregators = new ArrayList<>();
+      for (int i = 0; i < measurementSchemas.size(); i++) {
+        List<InputLocation[]> inputLocations = new ArrayList<>();
+        inputLocations.add(new InputLocation[] {new InputLocation(0, i)});
+        aggregators.add(
+            new TreeAggregator(
+                AccumulatorFactory.createBuiltinAccumulator(
+                    TAggregationType.COUNT,
+                    Collections.singletonList(measurementSchemas.get(i).getType()),
+                    Collections.emptyList(),
+                    Collections.emptyMap(),
+                    true),
+                AggregationStep.SINGLE,
+                inputLocations));
+      }
+      // the sequence files do not overlap, so each of them is answered by its statistics
+      AlignedSeriesAggregationScanOperator seriesAggregationScanOperator =
+          initAlignedSeriesAggregationScanOperator(
+              aggregators,
+              null,
+              true,
+              null,
+              new QueryDataSource(seqResources, Collections.emptyList()));
+      int count = 0;
+      while (seriesAggregationScanOperator.hasNext()) {
+        TsBlock resultTsBlock = seriesAggregationScanOperator.next();
+        for (int i = 0; i < measurementSchemas.size(); i++) {
+          assertEquals(500, resultTsBlock.getColumn(i).getLong(0));
+        }
+        count++;
+      }
+      assertEquals(1, count);
+
+      // neither the metadata nor the chunks of the TsFiles are read
+      assertTrue(TimeSeriesMetadataCache.getInstance().isEmpty());
+      for (TsFileResource resource : seqResources) {
+        assertFalse(FileReaderManager.getInstance().contains(resource, true));
+      }
+    } finally {
+      config.setEnableTsFileStatisticsIndex(enableTsFileStatisticsIndex);
+      TsFileStatisticsIndexCache.getInstance().clear();
+    }
+  }
+
   public AlignedSeriesAggregationScanOperator initAlignedSeriesAggregationScanOperator(
       List<TreeAggregator> aggregators,
       Filter timeFilter,
       boolean ascending,
       GroupByTimeParameter groupByTimeParameter)
       throws IllegalPathException {
+    return initAlignedSeriesAggregationScanOperator(
+        aggregators,
+        timeFilter,
+        ascending,
+        groupByTimeParameter,
+        new QueryDataSource(seqResources, unSeqResources));
+  }
+
+  public AlignedSeriesAggregationScanOperator initAlignedSeriesAggregationScanOperator(
+      List<TreeAggregator> aggregators,
+      Filter timeFilter,
+      boolean ascending,
+      GroupByTimeParameter groupByTimeParameter,
+      QueryDataSource queryDataSource)
+      throws IllegalPathException {
     AlignedFullPath alignedPath =
         new AlignedFullPath(
             IDeviceID.Factory.DEFAULT_FACTORY.create(
@@ -752,8 +870,7 @@ public class AlignedSeriesAggregationScanOperatorTest {
             groupByTimeParameter,
             DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES,
             true);
-    seriesAggregationScanOperator.initQueryDataSource(
-        new QueryDataSource(seqResources, unSeqResources));
+    seriesAggregationScanOperator.initQueryDataSource(queryDataSource);
     return seriesAggregationScanOperator;
   }
 }
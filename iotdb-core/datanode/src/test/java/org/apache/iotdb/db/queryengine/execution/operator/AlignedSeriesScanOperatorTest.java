@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.AlignedFullPath;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
 import org.apache.iotdb.db.queryengine.common.QueryId;
@@ -39,13 +40,18 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.InputLocation;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
 import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
+import com.google.common.collect.Iterables;
 import io.airlift.units.Duration;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.exception.write.WriteProcessException;
+import org.apache.tsfile.file.metadata.AbstractAlignedChunkMetadata;
 import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.TsFileSequenceReader;
 import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.read.common.block.column.BinaryColumn;
 import org.apache.tsfile.read.common.block.column.BooleanColumn;
@@ -58,6 +64,8 @@ import org.apache.tsfile.write.schema.MeasurementSchema;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -176,6 +184,58 @@ public class AlignedSeriesScanOperatorTest {
     }
   }
 
+  @Test
+  public void coalescedChunkReadTest() throws Exception {
+    long maxReadSize =
+        IoTDBDescriptor.getInstance().getConfig().getCoalescedChunkReadMaxSizeInByte();
+    IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxSizeInByte(1024 * 1024);
+    // the chunks should be read from the files
+    ChunkCache.getInstance().clear();
+    IDeviceID deviceID =
+        IDeviceID.Factory.DEFAULT_FACTORY.create(SERIES_SCAN_OPERATOR_TEST_SG + ".device0");
+    List<TsFileSequenceReader> readers = new ArrayList<>();
+    int alignedChunkCount = 0;
+    int chunkCount = 0;
+    try {
+      for (TsFileResource resource : Iterables.concat(seqResources, unSeqResources)) {
+        TsFileSequenceReader reader =
+            Mockito.spy(
+                FileReaderManager.getInstance()
+                    .get(resource.getTsFilePath(), resource.getTsFileID(), true));
+        FileReaderManager.getInstance()
+            .getClosedFileReaderMap()
+            .put(resource.getTsFileID(), reader);
+        readers.add(reader);
+        for (AbstractAlignedChunkMetadata chunkMetadata :
+            reader.getAlignedChunkMetadata(deviceID, true)) {
+          alignedChunkCount++;
+          chunkCount += 1 + chunkMetadata.getValueChunkMetadataList().size();
+        }
+        Mockito.clearInvocations(reader);
+      }
+
+      batchTest1();
+
+      int readCount = 0;
+      for (TsFileSequenceReader reader : readers) {
+        for (Invocation invocation : Mockito.mockingDetails(reader).getInvocations()) {
+          String methodName = invocation.getMethod().getName();
+          if (methodName.equals("readChunk") || methodName.equals("readMemChunk")) {
+            readCount++;
+          }
+        }
+      }
+      // the time chunks and the value chunks of the device in a file are read by one read, except
+      // the data of the last chunk, whose end is unknown
+      assertTrue(readCount <= 2 * readers.size());
+      assertTrue(readCount < alignedChunkCount);
+      assertTrue(alignedChunkCount < chunkCount);
+    } finally {
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxSizeInByte(maxReadSize);
+      ChunkCache.getInstance().clear();
+    }
+  }
+
   @Test
   public void batchTest2() throws Exception {
     ExecutorService instanceNotificationExecutor =
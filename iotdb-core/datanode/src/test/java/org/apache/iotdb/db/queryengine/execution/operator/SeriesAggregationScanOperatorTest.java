@@ -23,6 +23,8 @@ import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
 import org.apache.iotdb.db.queryengine.common.QueryId;
@@ -37,9 +39,14 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.AggregationSt
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.GroupByTimeParameter;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
 import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.storageengine.buffer.TsFileStatisticsIndexCache;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.series.SeriesReaderTestUtil;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.statistics.TsFileStatisticsIndex.DeviceStatistics;
 
 import com.google.common.collect.Sets;
 import org.apache.tsfile.common.conf.TSFileDescriptor;
@@ -69,6 +76,10 @@ import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanc
 import static org.apache.iotdb.db.queryengine.execution.operator.AggregationOperatorTest.TEST_TIME_SLICE;
 import static org.apache.iotdb.db.queryengine.execution.operator.AggregationUtil.initTimeRangeIterator;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class SeriesAggregationScanOperatorTest {
 
@@ -623,12 +634,119 @@ public class SeriesAggregationScanOperatorTest {
     assertEquals(timeColumn.length, count);
   }
 
+  @Test
+  public void testAggregationWithStatisticsIndex() throws Exception {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    boolean enableTsFileStatisticsIndex = config.isEnableTsFileStatisticsIndex();
+    config.setEnableTsFileStatisticsIndex(true);
+    try {
+      for (TsFileResource resource : seqResources) {
+        TsFileStatisticsIndex.generate(resource);
+      }
+      for (TsFileResource resource : unSeqResources) {
+        TsFileStatisticsIndex.generate(resource);
+      }
+      IDeviceID deviceID =
+          IDeviceID.Factory.DEFAULT_FACTORY.create(SERIES_SCAN_OPERATOR_TEST_SG + ".device0");
+      DeviceStatistics deviceStatistics =
+          TsFileStatisticsIndexCache.getInstance().get(seqResources.get(0), deviceID);
+      assertNotNull(deviceStatistics);
+      assertFalse(deviceStatistics.isAligned());
+      assertNotNull(deviceStatistics.getStatistics("sensor0"));
+      assertNull(deviceStatistics.getStatistics("sensor_not_exist"));
+      assertNull(
+          TsFileStatisticsIndexCache.getInstance()
+              .get(
+                  seqResources.get(0),
+                  IDeviceID.Factory.DEFAULT_FACTORY.create(
+                      SERIES_SCAN_OPERATOR_TEST_SG + ".device_not_exist")));
+
+      // answered by the statistics of the index, and by the chunks of the overlapped files
+      testMultiAggregationFuncWithoutTimeFilter1();
+      testMultiAggregationFuncWithoutTimeFilter2();
+      // the chunk metadata are loaded lazily for the partially selected files
+      testMultiAggregationWithTimeFilter();
+      testGroupByWithMultiFunction();
+    } finally {
+      config.setEnableTsFileStatisticsIndex(enableTsFileStatisticsIndex);
+      TsFileStatisticsIndexCache.getInstance().clear();
+    }
+  }
+
+  @Test
+  public void testAggregationByStatisticsIndexWithoutReadingTsFile() throws Exception {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    boolean enableTsFileStatisticsIndex = config.isEnableTsFileStatisticsIndex();
+    config.setEnableTsFileStatisticsIndex(true);
+    try {
+      for (TsFileResource resource : seqResources) {
+        TsFileStatisticsIndex.generate(resource);
+      }
+      TimeSeriesMetadataCache.getInstance().clear();
+      FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+
+      List<TAggregationType> aggregationTypes = new ArrayList<>();
+      aggregationTypes.add(TAggregationType.COUNT);
+      aggregationTypes.add(TAggregationType.MIN_TIME);
+      aggregationTypes.add(TAggregationType.MAX_TIME);
+      List<TreeAggregator> aggregators = new ArrayList<>();
+      AccumulatorFactory.createBuiltinAccumulators(
+              aggregationTypes,
+              TSDataType.INT32,
+              Collections.emptyList(),
+              Collections.emptyMap(),
+              true)
+          .forEach(o -> aggregators.add(new TreeAggregator(o, AggregationStep.SINGLE)));
+      // the sequence files do not overlap, so each of them is answered by its statistics
+      SeriesAggregationScanOperator seriesAggregationScanOperator =
+          initSeriesAggregationScanOperator(
+              aggregators,
+              null,
+              true,
+              null,
+              new QueryDataSource(seqResources, Collections.emptyList()));
+      int count = 0;
+      while (seriesAggregationScanOperator.hasNext()) {
+        TsBlock resultTsBlock = seriesAggregationScanOperator.next();
+        assertEquals(500, resultTsBlock.getColumn(0).getLong(0));
+        assertEquals(0, resultTsBlock.getColumn(1).getLong(0));
+        assertEquals(499, resultTsBlock.getColumn(2).getLong(0));
+        count++;
+      }
+      assertEquals(1, count);
+
+      // neither the metadata nor the chunks of the TsFiles are read
+      assertTrue(TimeSeriesMetadataCache.getInstance().isEmpty());
+      for (TsFileResource resource : seqResources) {
+        assertFalse(FileReaderManager.getInstance().contains(resource, true));
+      }
+    } finally {
+      config.setEnableTsFileStatisticsIndex(enableTsFileStatisticsIndex);
+      TsFileStatisticsIndexCache.getInstance().clear();
+    }
+  }
+
   public SeriesAggregationScanOperator initSeriesAggregationScanOperator(
       List<TreeAggregator> aggregators,
       Filter timeFilter,
       boolean ascending,
       GroupByTimeParameter groupByTimeParameter)
       throws IllegalPathException {
+    return initSeriesAggregationScanOperator(
+        aggregators,
+        timeFilter,
+        ascending,
+        groupByTimeParameter,
+        new QueryDataSource(seqResources, unSeqResources));
+  }
+
+  private SeriesAggregationScanOperator initSeriesAggregationScanOperator(
+      List<TreeAggregator> aggregators,
+      Filter timeFilter,
+      boolean ascending,
+      GroupByTimeParameter groupByTimeParameter,
+      QueryDataSource queryDataSource)
+      throws IllegalPathException {
     NonAlignedFullPath measurementPath =
         new NonAlignedFullPath(
             IDeviceID.Factory.DEFAULT_FACTORY.create(SERIES_SCAN_OPERATOR_TEST_SG + ".device0"),
@@ -667,8 +785,7 @@ public class SeriesAggregationScanOperatorTest {
             groupByTimeParameter,
             DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES,
             true);
-    seriesAggregationScanOperator.initQueryDataSource(
-        new QueryDataSource(seqResources, unSeqResources));
+    seriesAggregationScanOperator.initQueryDataSource(queryDataSource);
     return seriesAggregationScanOperator;
   }
 }
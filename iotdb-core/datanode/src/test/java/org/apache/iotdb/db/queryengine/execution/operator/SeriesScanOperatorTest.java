@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.IFullPath;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
 import org.apache.iotdb.db.queryengine.common.QueryId;
@@ -84,6 +85,21 @@ public class SeriesScanOperatorTest {
 
   @Test
   public void batchTest() throws Exception {
+    scanAndCheck();
+  }
+
+  @Test
+  public void chunkPrefetchingTest() throws Exception {
+    int windowSize = IoTDBDescriptor.getInstance().getConfig().getChunkPrefetchWindowSize();
+    IoTDBDescriptor.getInstance().getConfig().setChunkPrefetchWindowSize(2);
+    try {
+      scanAndCheck();
+    } finally {
+      IoTDBDescriptor.getInstance().getConfig().setChunkPrefetchWindowSize(windowSize);
+    }
+  }
+
+  private void scanAndCheck() throws Exception {
     ExecutorService instanceNotificationExecutor =
         IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
     try {
@@ -120,6 +136,11 @@ public class SeriesScanOperatorTest {
       int count = 0;
       while (seriesScanOperator.hasNext()) {
         TsBlock tsBlock = seriesScanOperator.next();
+        if (tsBlock == null) {
+          // the scan yields while the next chunk is being read ahead
+          seriesScanOperator.isBlocked().get();
+          continue;
+        }
         assertEquals(1, tsBlock.getValueColumnCount());
         assertTrue(tsBlock.getColumn(0) instanceof IntColumn);
         for (int i = 0; i < tsBlock.getPositionCount(); i++, count++) {
@@ -136,6 +157,9 @@ public class SeriesScanOperatorTest {
         }
       }
       assertEquals(500, count);
+      // nothing is read ahead after the scan is closed
+      seriesScanOperator.close();
+      assertTrue(seriesScanOperator.isBlocked().isDone());
     } catch (IllegalPathException e) {
       e.printStackTrace();
       fail();
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.schema;
+
+import org.apache.iotdb.commons.schema.table.TsTable;
+import org.apache.iotdb.commons.schema.table.column.AttributeColumnSchema;
+import org.apache.iotdb.commons.schema.table.column.TagColumnSchema;
+import org.apache.iotdb.commons.schema.table.column.TsTableColumnSchema;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.execution.operator.schema.source.DevicePredicateFilter;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.ColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareEqualToColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.LogicOrColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.ConstantColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.IdentityColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.LeafColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.unary.IsNullColumnTransformer;
+import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.info.impl.ShowDevicesResult;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.column.BinaryColumn;
+import org.apache.tsfile.read.common.type.BooleanType;
+import org.apache.tsfile.read.common.type.StringType;
+import org.apache.tsfile.utils.Binary;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+public class DevicePredicateFilterTest {
+
+  private static final String DATABASE = "db";
+  private static final String TABLE = "table";
+  private static final int DEVICE_NUM = 500;
+
+  private static final List<TsTableColumnSchema> COLUMN_SCHEMA_LIST =
+      Arrays.asList(
+          new TagColumnSchema("id", TSDataType.STRING),
+          new AttributeColumnSchema("model", TSDataType.STRING));
+
+  @Test
+  public void testDictionaryFilter() throws Exception {
+    // model = 'm1' or model is null
+    final Function<List<LeafColumnTransformer>, ColumnTransformer> attributeFilter =
+        leaves -> {
+          final IdentityColumnTransformer model = identity(leaves, 1);
+          model.addReferenceCount();
+          return or(
+              equalTo(leaves, model, "m1"),
+              new IsNullColumnTransformer(BooleanType.BOOLEAN, model, false));
+        };
+    Assert.assertEquals(filter(attributeFilter, false), filter(attributeFilter, true));
+    Assert.assertFalse(filter(attributeFilter, true).isEmpty());
+
+    // The values of the tag are distinct
+    final Function<List<LeafColumnTransformer>, ColumnTransformer> tagFilter =
+        leaves -> equalTo(leaves, identity(leaves, 0), "d7");
+    Assert.assertEquals(
+        Arrays.asList(DATABASE + "." + TABLE + ".d7"), filter(tagFilter, true));
+
+    // The filter depends on more than one column
+    final Function<List<LeafColumnTransformer>, ColumnTransformer> multiColumnFilter =
+        leaves ->
+            or(
+                equalTo(leaves, identity(leaves, 0), "d7"),
+                equalTo(leaves, identity(leaves, 1), "m2"));
+    Assert.assertEquals(filter(multiColumnFilter, false), filter(multiColumnFilter, true));
+  }
+
+  private static List<String> filter(
+      final Function<List<LeafColumnTransformer>, ColumnTransformer> filterBuilder,
+      final boolean isDictionaryEnabled)
+      throws Exception {
+    final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    final boolean originalValue = config.isEnableColumnarDeviceAttributeStore();
+    config.setEnableColumnarDeviceAttributeStore(isDictionaryEnabled);
+    final List<String> result = new ArrayList<>();
+    final List<LeafColumnTransformer> leaves = new ArrayList<>();
+    final ColumnTransformer outputTransformer = filterBuilder.apply(leaves);
+    outputTransformer.addReferenceCount();
+    try (final DevicePredicateFilter filter =
+        new DevicePredicateFilter(
+            leaves, outputTransformer, COLUMN_SCHEMA_LIST, DATABASE, new TsTable(TABLE))) {
+      for (int i = 0; i < DEVICE_NUM; i++) {
+        final String id = "d" + i;
+        final Binary model =
+            i % 5 == 0 ? null : new Binary("m" + i % 3, TSFileConfig.STRING_CHARSET);
+        final ShowDevicesResult device =
+            new ShowDevicesResult(
+                DATABASE + "." + TABLE + "." + id,
+                false,
+                -1,
+                new String[] {"root", DATABASE, TABLE, id});
+        device.setAttributeProvider(name -> model);
+        filter.addBatch(device);
+      }
+      filter.prepareBatchResult();
+      while (filter.hasNext()) {
+        result.add(filter.next().getFullPath());
+      }
+    } finally {
+      config.setEnableColumnarDeviceAttributeStore(originalValue);
+    }
+    return result;
+  }
+
+  private static IdentityColumnTransformer identity(
+      final List<LeafColumnTransformer> leaves, final int inputIndex) {
+    final IdentityColumnTransformer identity =
+        new IdentityColumnTransformer(StringType.STRING, inputIndex);
+    identity.addReferenceCount();
+    leaves.add(identity);
+    return identity;
+  }
+
+  private static ColumnTransformer equalTo(
+      final List<LeafColumnTransformer> leaves, final ColumnTransformer left, final String value) {
+    final ConstantColumnTransformer constant =
+        new ConstantColumnTransformer(
+            StringType.STRING,
+            new BinaryColumn(
+                1,
+                Optional.empty(),
+                new Binary[] {new Binary(value, TSFileConfig.STRING_CHARSET)}));
+    constant.addReferenceCount();
+    leaves.add(constant);
+    return new CompareEqualToColumnTransformer(BooleanType.BOOLEAN, left, constant);
+  }
+
+  private static ColumnTransformer or(final ColumnTransformer left, final ColumnTransformer right) {
+    left.addReferenceCount();
+    right.addReferenceCount();
+    return new LogicOrColumnTransformer(BooleanType.BOOLEAN, left, right);
+  }
+}
@@ -33,6 +33,7 @@ import org.apache.iotdb.db.auth.AuthorityChecker;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.partition.PartitionCache;
+import org.apache.iotdb.mpp.rpc.thrift.TDataPartitionDelta;
 
 import org.apache.tsfile.file.metadata.IDeviceID;
 import org.apache.tsfile.file.metadata.IDeviceID.Factory;
@@ -450,6 +451,89 @@ public class PartitionCacheTest {
     }
   }
 
+  @Test
+  public void testApplyDataPartitionDelta() {
+    String cachedStorageGroupName = getDatabaseName(0);
+    String uncachedStorageGroupName = STORAGE_GROUP_PREFIX + STORAGE_GROUP_NUMBER;
+    IDeviceID newDeviceID =
+        Factory.DEFAULT_FACTORY.create(
+            getDeviceName(cachedStorageGroupName, DEVICE_PER_STORAGE_GROUP));
+    TSeriesPartitionSlot newSeriesPartitionSlot =
+        partitionExecutor.getSeriesPartitionSlot(newDeviceID);
+    Map<TTimePartitionSlot, List<TConsensusGroupId>> timePartitionSlotMap = new HashMap<>();
+    for (int timePartitionSlotNumber = 0;
+        timePartitionSlotNumber < TIME_PARTITION_PER_STORAGE_GROUP;
+        timePartitionSlotNumber++) {
+      timePartitionSlotMap.put(
+          new TTimePartitionSlot(timePartitionSlotNumber),
+          Collections.singletonList(new TConsensusGroupId(TConsensusGroupType.DataRegion, 1)));
+    }
+    Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
+        deltaTable = new HashMap<>();
+    deltaTable.put(
+        cachedStorageGroupName,
+        Collections.singletonMap(newSeriesPartitionSlot, timePartitionSlotMap));
+    deltaTable.put(
+        uncachedStorageGroupName,
+        Collections.singletonMap(newSeriesPartitionSlot, timePartitionSlotMap));
+
+    // the created DataPartitions are only applied to the cached databases
+    partitionCache.applyDataPartitionDelta(
+        new TDataPartitionDelta(1, 1).setDataPartitionTable(deltaTable));
+    assertEquals(1, partitionCache.getDataPartitionCacheEpoch());
+    assertEquals(1, partitionCache.getDataPartitionCacheVersion());
+    assertNotNull(
+        partitionCache.getDataPartition(
+            getStorageGroupToQueryParamsMap(cachedStorageGroupName, newDeviceID, false)));
+    assertNull(
+        partitionCache.getDataPartition(
+            getStorageGroupToQueryParamsMap(
+                uncachedStorageGroupName,
+                Factory.DEFAULT_FACTORY.create(getDeviceName(uncachedStorageGroupName, 0)),
+                false)));
+
+    // only the cleaned time partitions are removed
+    String cleanedStorageGroupName = getDatabaseName(1);
+    String keptStorageGroupName = getDatabaseName(2);
+    partitionCache.applyDataPartitionDelta(
+        new TDataPartitionDelta(1, 2)
+            .setDataPartitionTable(Collections.emptyMap())
+            .setRemovedTimePartitions(
+                Collections.singletonMap(
+                    cleanedStorageGroupName,
+                    Collections.singletonList(new TTimePartitionSlot(0)))));
+    assertEquals(2, partitionCache.getDataPartitionCacheVersion());
+    IDeviceID cleanedDeviceID =
+        Factory.DEFAULT_FACTORY.create(getDeviceName(cleanedStorageGroupName, 0));
+    Map<String, List<DataPartitionQueryParam>> searchMap =
+        getStorageGroupToQueryParamsMap(cleanedStorageGroupName, cleanedDeviceID, false);
+    assertNull(partitionCache.getDataPartition(searchMap));
+    searchMap.get(cleanedStorageGroupName).get(0).getTimePartitionSlotList().remove(0);
+    assertNotNull(partitionCache.getDataPartition(searchMap));
+    assertNotNull(
+        partitionCache.getDataPartition(
+            getStorageGroupToQueryParamsMap(
+                keptStorageGroupName,
+                Factory.DEFAULT_FACTORY.create(getDeviceName(keptStorageGroupName, 0)),
+                false)));
+
+    // a rebased DataNode invalidates all the cached DataPartitions
+    partitionCache.applyDataPartitionDelta(new TDataPartitionDelta(2, 1).setInvalidateAll(true));
+    assertEquals(2, partitionCache.getDataPartitionCacheEpoch());
+    assertEquals(1, partitionCache.getDataPartitionCacheVersion());
+    for (int storageGroupNumber = 0;
+        storageGroupNumber < STORAGE_GROUP_NUMBER;
+        storageGroupNumber++) {
+      String storageGroupName = getDatabaseName(storageGroupNumber);
+      assertNull(
+          partitionCache.getDataPartition(
+              getStorageGroupToQueryParamsMap(
+                  storageGroupName,
+                  Factory.DEFAULT_FACTORY.create(getDeviceName(storageGroupName, 0)),
+                  false)));
+    }
+  }
+
   /**
    * get StorageGroupToQueryParamsMap
    *
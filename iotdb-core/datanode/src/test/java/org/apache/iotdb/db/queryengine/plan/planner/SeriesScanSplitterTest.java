@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.queryengine.execution.operator.Operator;
+import org.apache.iotdb.db.queryengine.execution.operator.process.CollectOperator;
+import org.apache.iotdb.db.queryengine.execution.operator.source.SeriesScanOperator;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
+import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.series.SeriesReaderTestUtil;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.utils.constant.TestConstant;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.filter.factory.TimeFilterApi;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+
+public class SeriesScanSplitterTest {
+
+  private static final String SPLIT_SCAN_TEST_SG = "root.SeriesScanSplitterTest";
+
+  private static final IDeviceID DEVICE = IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d1");
+  private static final IDeviceID OTHER_DEVICE =
+      IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d2");
+
+  @Test
+  public void testGetSplitPoints() {
+    // the files of the device start at 0, 100, ..., 700
+    List<TsFileResource> resources = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      resources.add(createResource(i, DEVICE, i * 100L, i * 100L + 99, true));
+    }
+    // the files of other devices and the unsealed files are ignored
+    resources.add(createResource(8, OTHER_DEVICE, 800, 899, true));
+    resources.add(createResource(9, DEVICE, 900, 999, false));
+
+    assertEquals(
+        Collections.singletonList(400L),
+        SeriesScanSplitter.getSplitPoints(resources, DEVICE, null, 2));
+    assertEquals(
+        Arrays.asList(200L, 500L), SeriesScanSplitter.getSplitPoints(resources, DEVICE, null, 3));
+    assertEquals(
+        Arrays.asList(100L, 200L, 300L, 400L, 500L, 600L, 700L),
+        SeriesScanSplitter.getSplitPoints(resources, DEVICE, null, 16));
+
+    // only the files satisfying the time filter are split
+    assertEquals(
+        Collections.singletonList(600L),
+        SeriesScanSplitter.getSplitPoints(resources, DEVICE, TimeFilterApi.gtEq(450), 2));
+
+    assertEquals(
+        Collections.emptyList(), SeriesScanSplitter.getSplitPoints(resources, DEVICE, null, 1));
+    assertEquals(
+        Collections.emptyList(),
+        SeriesScanSplitter.getSplitPoints(resources, OTHER_DEVICE, null, 2));
+  }
+
+  @Test
+  public void testSplitScanResult() throws Exception {
+    List<IMeasurementSchema> measurementSchemas = new ArrayList<>();
+    List<String> deviceIds = new ArrayList<>();
+    List<TsFileResource> seqResources = new ArrayList<>();
+    List<TsFileResource> unseqResources = new ArrayList<>();
+    SeriesReaderTestUtil.setUp(
+        measurementSchemas, deviceIds, seqResources, unseqResources, SPLIT_SCAN_TEST_SG);
+    ExecutorService instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    try {
+      IDeviceID deviceId =
+          IDeviceID.Factory.DEFAULT_FACTORY.create(SPLIT_SCAN_TEST_SG + ".device0");
+      // the sequence files start at 0, 100, ..., 400, while the unsequence files [0, 200) and
+      // [300, 380) overlap the split points 100, 200 and 300
+      for (Ordering scanOrder : Ordering.values()) {
+        List<Filter> timeRangeFilters =
+            SeriesScanSplitter.split(seqResources, deviceId, null, scanOrder, 4);
+        assertEquals(4, timeRangeFilters.size());
+
+        DriverContext driverContext = createDriverContext(instanceNotificationExecutor);
+        List<String> expected =
+            collect(
+                createScanOperator(
+                    driverContext, deviceId, scanOrder, null, seqResources, unseqResources, 0));
+        assertEquals(500, expected.size());
+
+        driverContext = createDriverContext(instanceNotificationExecutor);
+        List<Operator> children = new ArrayList<>();
+        for (int i = 0; i < timeRangeFilters.size(); i++) {
+          children.add(
+              createScanOperator(
+                  driverContext,
+                  deviceId,
+                  scanOrder,
+                  timeRangeFilters.get(i),
+                  seqResources,
+                  unseqResources,
+                  i));
+        }
+        driverContext.addOperatorContext(
+            children.size(), new PlanNodeId("1"), CollectOperator.class.getSimpleName());
+        CollectOperator collectOperator =
+            new CollectOperator(driverContext.getOperatorContexts().get(children.size()), children);
+        assertEquals(expected, collect(collectOperator));
+      }
+    } finally {
+      instanceNotificationExecutor.shutdown();
+      SeriesReaderTestUtil.tearDown(seqResources, unseqResources);
+    }
+  }
+
+  private static DriverContext createDriverContext(ExecutorService instanceNotificationExecutor) {
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    return new DriverContext(createFragmentInstanceContext(instanceId, stateMachine), 0);
+  }
+
+  private static SeriesScanOperator createScanOperator(
+      DriverContext driverContext,
+      IDeviceID deviceId,
+      Ordering scanOrder,
+      Filter timeRangeFilter,
+      List<TsFileResource> seqResources,
+      List<TsFileResource> unseqResources,
+      int index) {
+    PlanNodeId planNodeId = new PlanNodeId("1_" + index);
+    driverContext.addOperatorContext(index, planNodeId, SeriesScanOperator.class.getSimpleName());
+    SeriesScanOptions.Builder scanOptionsBuilder = new SeriesScanOptions.Builder();
+    scanOptionsBuilder.withAllSensors(Collections.singleton("sensor0"));
+    if (timeRangeFilter != null) {
+      scanOptionsBuilder.withGlobalTimeFilter(timeRangeFilter);
+    }
+    SeriesScanOperator seriesScanOperator =
+        new SeriesScanOperator(
+            driverContext.getOperatorContexts().get(index),
+            planNodeId,
+            new NonAlignedFullPath(deviceId, new MeasurementSchema("sensor0", TSDataType.INT32)),
+            scanOrder,
+            scanOptionsBuilder.build());
+    seriesScanOperator.initQueryDataSource(new QueryDataSource(seqResources, unseqResources));
+    return seriesScanOperator;
+  }
+
+  private static List<String> collect(Operator operator) throws Exception {
+    List<String> result = new ArrayList<>();
+    // call the operator the way the driver does
+    while (!operator.isFinished()) {
+      operator.isBlocked().get();
+      if (!operator.hasNextWithTimer()) {
+        break;
+      }
+      TsBlock tsBlock = operator.nextWithTimer();
+      if (tsBlock == null) {
+        continue;
+      }
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        result.add(tsBlock.getTimeByIndex(i) + ":" + tsBlock.getColumn(0).getInt(i));
+      }
+    }
+    operator.close();
+    return result;
+  }
+
+  private TsFileResource createResource(
+      int version, IDeviceID deviceId, long startTime, long endTime, boolean closed) {
+    File file =
+        new File(
+            TsFileNameGenerator.generateNewTsFilePath(
+                TestConstant.BASE_OUTPUT_PATH, version, version, 0, 0));
+    TsFileResource resource = new TsFileResource(file);
+    Map<IDeviceID, Integer> deviceToIndex = new HashMap<>();
+    deviceToIndex.put(deviceId, 0);
+    resource.setTimeIndex(
+        new ArrayDeviceTimeIndex(deviceToIndex, new long[] {startTime}, new long[] {endTime}));
+    resource.setStatusForTest(closed ? TsFileResourceStatus.NORMAL : TsFileResourceStatus.UNCLOSED);
+    return resource;
+  }
+}
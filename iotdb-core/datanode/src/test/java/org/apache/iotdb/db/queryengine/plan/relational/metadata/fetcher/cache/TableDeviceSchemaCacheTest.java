@@ -29,6 +29,7 @@ import org.apache.iotdb.commons.schema.table.column.TimeColumnSchema;
 import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.schemaengine.table.DataNodeTableCache;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
 import org.apache.tsfile.common.conf.TSFileConfig;
 import org.apache.tsfile.enums.TSDataType;
@@ -45,14 +46,25 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.TableDeviceSchemaFetcher.convertTagValuesToDeviceID;
 
@@ -255,6 +267,42 @@ public class TableDeviceSchemaCacheTest {
     Assert.assertEquals(0, cache.getMemoryUsage());
   }
 
+  @Test
+  public void testBatchPutAttributes() {
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+
+    final Map<IDeviceID, Map<String, Binary>> deviceAttributeMap = new HashMap<>();
+    deviceAttributeMap.put(
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_0"}),
+        Collections.singletonMap(attributeName1, new Binary("new", TSFileConfig.STRING_CHARSET)));
+    cache.putAttributes(database1, deviceAttributeMap);
+    deviceAttributeMap.forEach(
+        (deviceID, attributeMap) ->
+            Assert.assertEquals(attributeMap, cache.getDeviceAttribute(database1, deviceID)));
+
+    // the partial attributes are merged into the cached ones
+    final IDeviceID cachedDeviceID =
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_1"});
+    final Map<String, Binary> cachedAttributeMap = new HashMap<>();
+    cachedAttributeMap.put(attributeName1, new Binary("old", TSFileConfig.STRING_CHARSET));
+    cachedAttributeMap.put(attributeName2, new Binary("monthly", TSFileConfig.STRING_CHARSET));
+    cache.putAttributes(database1, cachedDeviceID, cachedAttributeMap);
+    cache.putAttributes(
+        database1,
+        Collections.singletonMap(
+            cachedDeviceID,
+            Collections.singletonMap(
+                attributeName1, new Binary("new", TSFileConfig.STRING_CHARSET))));
+    cachedAttributeMap.put(attributeName1, new Binary("new", TSFileConfig.STRING_CHARSET));
+    Assert.assertEquals(cachedAttributeMap, cache.getDeviceAttribute(database1, cachedDeviceID));
+
+    // stale table is not cached
+    final IDeviceID staleDeviceID =
+        convertTagValuesToDeviceID("t3", new String[] {"hebei", "p_1", "d_0"});
+    cache.putAttributes(database1, Collections.singletonMap(staleDeviceID, Collections.emptyMap()));
+    Assert.assertNull(cache.getDeviceAttribute(database1, staleDeviceID));
+  }
+
   @Test
   public void testLastCache() {
     final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
@@ -569,6 +617,337 @@ public class TableDeviceSchemaCacheTest {
     cache.updateLastCacheIfExists(database, deviceID, measurement, data);
   }
 
+  @Test
+  public void testLastCacheCheckpointSerialization() throws IOException {
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+
+    final IDeviceID device0 =
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_0"});
+    final TimeValuePair tv0 = new TimeValuePair(0L, new TsPrimitiveType.TsInt(0));
+    final TimeValuePair tv1 = new TimeValuePair(1L, new TsPrimitiveType.TsInt(1));
+    final TimeValuePair time1 = new TimeValuePair(1L, TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE);
+
+    updateLastCache4Query(
+        cache,
+        database1,
+        device0,
+        new String[] {"", "s0", "s1", "s2"},
+        new TimeValuePair[] {time1, tv0, tv1, TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR});
+    // Declared but not filled
+    cache.initOrInvalidateLastCache(database1, device0, new String[] {"s3"}, false);
+
+    final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    try (final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+      LastCacheCheckpoint.serialize(
+          cache, Collections.singletonList("sealed.tsfile"), outputStream);
+    }
+    final LastCacheCheckpoint.CheckpointContent content =
+        LastCacheCheckpoint.deserialize(
+            new DataInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray())));
+
+    Assert.assertEquals(Collections.singleton("sealed.tsfile"), content.sealedTsFiles);
+    Assert.assertEquals(Collections.singleton(database1), content.database2Devices.keySet());
+    final Map<String, TimeValuePair> lastCache =
+        content.database2Devices.get(database1).get(device0);
+    Assert.assertEquals(4, lastCache.size());
+    Assert.assertEquals(time1.getTimestamp(), lastCache.get("").getTimestamp());
+    Assert.assertSame(TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE, lastCache.get("").getValue());
+    Assert.assertEquals(tv0, lastCache.get("s0"));
+    Assert.assertEquals(tv1, lastCache.get("s1"));
+    Assert.assertSame(TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR, lastCache.get("s2"));
+  }
+
+  @Test
+  public void testLastCacheCheckpointValidation() throws IOException {
+    final TsTable table = DataNodeTableCache.getInstance().getTable(database1, table1);
+    final IDeviceID device0 =
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_0"});
+    final IDeviceID device1 =
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_1"});
+    final IDeviceID device2 =
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_2"});
+
+    // Recorded by the checkpoint, its data is already reflected
+    final TsFileResource sealed = new TsFileResource(new File("sealed.tsfile"));
+    sealed.updateStartTime(device0, 0);
+    sealed.updateEndTime(device0, 10);
+    sealed.close();
+    // Sealed or compacted after the checkpoint
+    final TsFileResource later = new TsFileResource(new File("later.tsfile"));
+    later.updateStartTime(device0, 0);
+    later.updateEndTime(device0, 5);
+    later.close();
+    final TsFileResource unsealed = new TsFileResource(new File("unsealed.tsfile"));
+    unsealed.updateStartTime(device1, 0);
+    unsealed.updateEndTime(device1, 20);
+
+    final Map<IDeviceID, Long> recentEndTimes =
+        LastCacheCheckpoint.getRecentEndTimes(
+            Arrays.asList(sealed, later, unsealed),
+            Collections.singleton(sealed.getTsFilePath()),
+            new HashSet<>(Arrays.asList(device0, device1, device2)));
+    Assert.assertEquals(Long.valueOf(5), recentEndTimes.get(device0));
+    Assert.assertEquals(Long.valueOf(20), recentEndTimes.get(device1));
+    Assert.assertFalse(recentEndTimes.containsKey(device2));
+
+    final TimeValuePair tv3 = new TimeValuePair(3L, new TsPrimitiveType.TsInt(3));
+    final TimeValuePair tv8 = new TimeValuePair(8L, new TsPrimitiveType.TsInt(8));
+    final TimeValuePair tv15 = new TimeValuePair(15L, new TsPrimitiveType.TsInt(15));
+    final TimeValuePair tv30 = new TimeValuePair(30L, new TsPrimitiveType.TsInt(30));
+    final TimeValuePair doubleTv8 = new TimeValuePair(8L, new TsPrimitiveType.TsDouble(8));
+
+    // The value not later than a later file is stale, so is the one of a wrong type
+    final Map<String, TimeValuePair> lastCache0 = new HashMap<>();
+    lastCache0.put("s0", tv3);
+    lastCache0.put("s1", tv8);
+    lastCache0.put("s2", doubleTv8);
+    Assert.assertEquals(
+        Collections.singletonMap("s1", tv8),
+        LastCacheCheckpoint.getValidLastCache(
+            table, lastCache0, 10, recentEndTimes.get(device0)));
+
+    // The value not later than an unsealed file is stale
+    Assert.assertTrue(
+        LastCacheCheckpoint.getValidLastCache(
+                table, Collections.singletonMap("s0", tv15), 10, recentEndTimes.get(device1))
+            .isEmpty());
+
+    // The device is skipped as a whole if its data, e.g., the un-synced WAL, has been lost
+    final Map<String, TimeValuePair> lastCache2 = new HashMap<>();
+    lastCache2.put("s0", tv8);
+    lastCache2.put("s1", tv30);
+    Assert.assertTrue(
+        LastCacheCheckpoint.getValidLastCache(table, lastCache2, 10, Long.MIN_VALUE).isEmpty());
+    Assert.assertEquals(
+        lastCache2, LastCacheCheckpoint.getValidLastCache(table, lastCache2, 30, Long.MIN_VALUE));
+
+    // The device is not here
+    Assert.assertTrue(
+        LastCacheCheckpoint.getValidLastCache(
+                table, Collections.singletonMap("s0", tv8), Long.MIN_VALUE, Long.MIN_VALUE)
+            .isEmpty());
+  }
+
+  @Test
+  public void testColumnarLastCache() {
+    final TableDeviceLastCache mapCache = new TableDeviceLastCache(true);
+    final TableDeviceColumnarLastCache columnarCache =
+        new TableDeviceColumnarLastCache(database1, table1);
+    final List<IDeviceLastCache> caches = Arrays.asList(mapCache, columnarCache);
+
+    final String[] measurements = new String[] {"", "s0", "s1", "s2", "s3", "s4"};
+    final TimeValuePair tv1 = new TimeValuePair(1L, new TsPrimitiveType.TsInt(1));
+    final TimeValuePair tv2 = new TimeValuePair(2L, new TsPrimitiveType.TsInt(2));
+    final TimeValuePair tv3 = new TimeValuePair(3L, new TsPrimitiveType.TsInt(3));
+
+    caches.forEach(
+        cache -> {
+          // "s5" is not declared, "s6" is not in the table
+          cache.initOrInvalidate(
+              database1, table1, new String[] {"", "s0", "s1", "s2", "s3", "s6"}, false);
+          cache.tryUpdate(
+              new String[] {"s0", "s1", "s2", "s5"},
+              new TimeValuePair[] {tv1, tv2, TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR, tv3},
+              false);
+          // Older values are ignored
+          cache.tryUpdate(new String[] {"s0", "s1"}, new TimeValuePair[] {tv3, tv1}, false);
+          cache.invalidate("s4");
+        });
+    assertLastCacheEquals(mapCache, columnarCache, measurements);
+    Assert.assertEquals(3L, columnarCache.getTimeValuePair("").getTimestamp());
+    Assert.assertEquals(4, columnarCache.getValueCount());
+
+    // Null invalidation and the invalidation of the time column
+    caches.forEach(
+        cache -> {
+          cache.tryUpdate(new String[] {"s1"}, new TimeValuePair[] {null}, true);
+          cache.invalidate("s0");
+        });
+    assertLastCacheEquals(mapCache, columnarCache, measurements);
+    Assert.assertNull(columnarCache.getTimeValuePair(""));
+
+    // All the data types
+    final String[] typedMeasurements = new String[] {"s0", "s1", "s3", "s4", "s5"};
+    final TimeValuePair[] typedValues =
+        new TimeValuePair[] {
+          new TimeValuePair(4L, new TsPrimitiveType.TsBoolean(true)),
+          new TimeValuePair(4L, new TsPrimitiveType.TsDouble(1.5)),
+          new TimeValuePair(4L, new TsPrimitiveType.TsFloat(2.5f)),
+          new TimeValuePair(4L, new TsPrimitiveType.TsLong(Long.MAX_VALUE)),
+          new TimeValuePair(
+              4L, new TsPrimitiveType.TsBinary(new Binary("v", TSFileConfig.STRING_CHARSET)))
+        };
+    final int[] updateSizes = new int[caches.size()];
+    for (int i = 0; i < caches.size(); ++i) {
+      caches.get(i).initOrInvalidate(database1, table1, typedMeasurements, false);
+      final int originSize = caches.get(i).estimateSize();
+      updateSizes[i] = caches.get(i).tryUpdate(typedMeasurements, typedValues, false);
+      Assert.assertEquals(caches.get(i).estimateSize() - originSize, updateSizes[i]);
+    }
+    assertLastCacheEquals(mapCache, columnarCache, measurements);
+    Assert.assertEquals(mapCache.getValueCount(), columnarCache.getValueCount());
+    // The slots of the values are allocated by the declaration
+    Assert.assertTrue(updateSizes[1] < updateSizes[0]);
+
+    final Map<String, TimeValuePair> mapResult = new HashMap<>();
+    final Map<String, TimeValuePair> columnarResult = new HashMap<>();
+    mapCache.forEach(mapResult::put);
+    columnarCache.forEach(columnarResult::put);
+    Assert.assertEquals(mapResult.keySet(), columnarResult.keySet());
+    mapResult.forEach(
+        (measurement, tvPair) -> {
+          Assert.assertEquals(
+              tvPair.getTimestamp(), columnarResult.get(measurement).getTimestamp());
+          assertValueEquals(tvPair.getValue(), columnarResult.get(measurement).getValue());
+        });
+  }
+
+  private void assertLastCacheEquals(
+      final IDeviceLastCache expected, final IDeviceLastCache actual, final String[] measurements) {
+    for (final String measurement : measurements) {
+      final TimeValuePair expectedPair = expected.getTimeValuePair(measurement);
+      final TimeValuePair actualPair = actual.getTimeValuePair(measurement);
+      Assert.assertEquals(Objects.isNull(expectedPair), Objects.isNull(actualPair));
+      if (Objects.nonNull(expectedPair)) {
+        Assert.assertEquals(expectedPair.getTimestamp(), actualPair.getTimestamp());
+        assertValueEquals(expectedPair.getValue(), actualPair.getValue());
+      }
+      final Optional<Pair<OptionalLong, TsPrimitiveType[]>> expectedRow =
+          expected.getLastRow(measurement, Arrays.asList(measurements));
+      final Optional<Pair<OptionalLong, TsPrimitiveType[]>> actualRow =
+          actual.getLastRow(measurement, Arrays.asList(measurements));
+      Assert.assertEquals(expectedRow.isPresent(), actualRow.isPresent());
+      if (expectedRow.isPresent()) {
+        Assert.assertEquals(expectedRow.get().getLeft(), actualRow.get().getLeft());
+        final TsPrimitiveType[] expectedValues = expectedRow.get().getRight();
+        final TsPrimitiveType[] actualValues = actualRow.get().getRight();
+        Assert.assertEquals(Objects.isNull(expectedValues), Objects.isNull(actualValues));
+        for (int i = 0; Objects.nonNull(expectedValues) && i < expectedValues.length; ++i) {
+          assertValueEquals(expectedValues[i], actualValues[i]);
+        }
+      }
+    }
+  }
+
+  // EMPTY_PRIMITIVE_TYPE can not be compared by equals
+  private void assertValueEquals(final TsPrimitiveType expected, final TsPrimitiveType actual) {
+    if (expected == TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE || Objects.isNull(expected)) {
+      Assert.assertSame(expected, actual);
+    } else {
+      Assert.assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testLastCacheBytesPerValue() {
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+    final IDeviceID device0 =
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_0"});
+    final String[] measurements = new String[] {"s0", "s1", "s2", "s3"};
+    final TimeValuePair[] values = new TimeValuePair[measurements.length];
+    for (int i = 0; i < values.length; ++i) {
+      values[i] = new TimeValuePair(i, new TsPrimitiveType.TsInt(i));
+    }
+    final boolean originColumnarLastCache =
+        IoTDBDescriptor.getInstance().getConfig().isEnableColumnarLastCache();
+    try {
+      IoTDBDescriptor.getInstance().getConfig().setEnableColumnarLastCache(false);
+      updateLastCache4Query(cache, database1, device0, measurements, values);
+      final long mapBytesPerValue = cache.getLastCacheBytesPerValue();
+      Assert.assertTrue(mapBytesPerValue > 0);
+
+      cache.invalidateAll();
+      IoTDBDescriptor.getInstance().getConfig().setEnableColumnarLastCache(true);
+      updateLastCache4Query(cache, database1, device0, measurements, values);
+      final long columnarBytesPerValue = cache.getLastCacheBytesPerValue();
+      Assert.assertTrue(columnarBytesPerValue > 0);
+      Assert.assertTrue(columnarBytesPerValue < mapBytesPerValue);
+    } finally {
+      IoTDBDescriptor.getInstance().getConfig().setEnableColumnarLastCache(originColumnarLastCache);
+    }
+  }
+
+  @Test
+  public void testColumnarLastCacheConcurrentReadWrite() throws Exception {
+    final TableDeviceColumnarLastCache columnarCache =
+        new TableDeviceColumnarLastCache(database1, table1);
+    final String[] measurements = new String[] {"", "s0", "s1"};
+    columnarCache.initOrInvalidate(database1, table1, measurements, false);
+
+    final int writeNum = 20_000;
+    final AtomicBoolean writing = new AtomicBoolean(true);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread writer =
+        new Thread(
+            () -> {
+              try {
+                for (int time = 1; time <= writeNum; ++time) {
+                  // Clear and re-declare the binary slot to change the arrays under the readers
+                  if (time % 100 == 0) {
+                    columnarCache.invalidate("s1");
+                    columnarCache.initOrInvalidate(database1, table1, measurements, false);
+                  }
+                  columnarCache.tryUpdate(
+                      new String[] {"s0", "s1"},
+                      new TimeValuePair[] {
+                        new TimeValuePair(time, new TsPrimitiveType.TsInt(time)),
+                        new TimeValuePair(
+                            time,
+                            new TsPrimitiveType.TsBinary(
+                                new Binary(String.valueOf(time), TSFileConfig.STRING_CHARSET)))
+                      },
+                      false);
+                }
+              } catch (final Throwable t) {
+                failure.compareAndSet(null, t);
+              } finally {
+                writing.set(false);
+              }
+            });
+
+    final List<Thread> readers = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      readers.add(
+          new Thread(
+              () -> {
+                try {
+                  long lastTime = Long.MIN_VALUE;
+                  while (writing.get()) {
+                    final TimeValuePair intPair = columnarCache.getTimeValuePair("s0");
+                    if (Objects.nonNull(intPair)
+                        && intPair.getValue() != TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE) {
+                      // A torn read would mix the time and the value of different writings
+                      Assert.assertEquals(intPair.getTimestamp(), intPair.getValue().getInt());
+                      Assert.assertTrue(intPair.getTimestamp() >= lastTime);
+                      lastTime = intPair.getTimestamp();
+                    }
+                    final TimeValuePair binaryPair = columnarCache.getTimeValuePair("s1");
+                    if (Objects.nonNull(binaryPair)
+                        && binaryPair.getValue() != TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE) {
+                      Assert.assertEquals(
+                          String.valueOf(binaryPair.getTimestamp()),
+                          binaryPair.getValue().getBinary().toString());
+                    }
+                  }
+                } catch (final Throwable t) {
+                  failure.compareAndSet(null, t);
+                }
+              }));
+    }
+    readers.forEach(Thread::start);
+    writer.start();
+    writer.join();
+    for (final Thread reader : readers) {
+      reader.join();
+    }
+    if (Objects.nonNull(failure.get())) {
+      throw new AssertionError(failure.get());
+    }
+    Assert.assertEquals(writeNum, columnarCache.getTimeValuePair("s0").getTimestamp());
+    Assert.assertEquals(writeNum, columnarCache.getTimeValuePair("s1").getTimestamp());
+    Assert.assertEquals(writeNum, columnarCache.getTimeValuePair("").getTimestamp());
+  }
+
   @Test
   public void testIntern() {
     final String a = "s1";
@@ -142,7 +142,9 @@ public class BloomFilterCacheTest {
         Assert.assertEquals(bloomFilter1, bloomFilter);
         reader.close();
       }
+      Assert.assertTrue(bloomFilterCache.getUsedMemory() > 0);
       bloomFilterCache.clear();
+      Assert.assertEquals(0, bloomFilterCache.getUsedMemory());
       for (String path : pathList) {
         TsFileID tsFileID = new TsFileID(path);
         BloomFilterCache.BloomFilterCacheKey key =
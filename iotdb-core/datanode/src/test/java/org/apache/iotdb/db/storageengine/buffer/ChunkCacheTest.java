@@ -20,8 +20,11 @@
 package org.apache.iotdb.db.storageengine.buffer;
 
 import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.DiskChunkLoader;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
@@ -30,6 +33,7 @@ import org.apache.iotdb.db.utils.constant.TestConstant;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.exception.write.WriteProcessException;
 import org.apache.tsfile.file.metadata.ChunkMetadata;
+import org.apache.tsfile.file.metadata.IChunkMetadata;
 import org.apache.tsfile.file.metadata.IDeviceID;
 import org.apache.tsfile.file.metadata.enums.CompressionType;
 import org.apache.tsfile.file.metadata.enums.TSEncoding;
@@ -47,11 +51,14 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.apache.iotdb.commons.conf.IoTDBConstant.PATH_SEPARATOR;
 
@@ -133,6 +140,96 @@ public class ChunkCacheTest {
     }
   }
 
+  @Test
+  public void testCoalescedRead() throws IOException {
+    long maxReadSize =
+        IoTDBDescriptor.getInstance().getConfig().getCoalescedChunkReadMaxSizeInByte();
+    long maxGap = IoTDBDescriptor.getInstance().getConfig().getCoalescedChunkReadMaxGapInByte();
+    TsFileResource tsFileResource = seqResources.get(0);
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(tsFileResource.getTsFilePath())) {
+      // the chunks of the series are in different chunk groups, separated by the other series
+      List<IChunkMetadata> chunkMetadataList =
+          new ArrayList<>(
+              reader.getChunkMetadataList(
+                  new Path(deviceIds[0], measurementSchemas[0].getMeasurementName(), true)));
+      Assert.assertEquals(ptNum / flushInterval, chunkMetadataList.size());
+      long[] chunkOffsets =
+          chunkMetadataList.stream().mapToLong(IChunkMetadata::getOffsetOfChunkHeader).toArray();
+
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxSizeInByte(1024 * 1024);
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxGapInByte(64 * 1024);
+      // all the chunks are read by one read, except the data of the last chunk, whose end is unknown
+      List<Invocation> reads = loadChunks(reader, tsFileResource, chunkMetadataList, chunkOffsets);
+      Assert.assertEquals(2, reads.size());
+      Assert.assertEquals(chunkOffsets[0], (long) reads.get(0).getArgument(0));
+      Assert.assertTrue(
+          (long) reads.get(1).getArgument(0) > chunkOffsets[chunkOffsets.length - 1]);
+
+      // at most two chunks are read by one read
+      long cappedReadSize = chunkOffsets[2] - chunkOffsets[0];
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxSizeInByte(cappedReadSize);
+      reads = loadChunks(reader, tsFileResource, chunkMetadataList, chunkOffsets);
+      Assert.assertEquals((chunkMetadataList.size() + 1) / 2, reads.size());
+      for (Invocation read : reads) {
+        Assert.assertTrue((int) read.getArgument(1) <= cappedReadSize);
+      }
+
+      // the chunks are not read together if they are farther apart than the max gap
+      long minDistance = Long.MAX_VALUE;
+      for (int i = 1; i < chunkOffsets.length; i++) {
+        minDistance = Math.min(minDistance, chunkOffsets[i] - chunkOffsets[i - 1]);
+      }
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxSizeInByte(1024 * 1024);
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxGapInByte(minDistance - 1);
+      reads = loadChunks(reader, tsFileResource, chunkMetadataList, chunkOffsets);
+      Assert.assertEquals(chunkMetadataList.size(), reads.size());
+    } finally {
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxSizeInByte(maxReadSize);
+      IoTDBDescriptor.getInstance().getConfig().setCoalescedChunkReadMaxGapInByte(maxGap);
+    }
+  }
+
+  /**
+   * Load the chunks by a {@link DiskChunkLoader} sharing the candidates, and check them against the
+   * chunks read one by one.
+   *
+   * @return the reads of the TsFile, including the data reads of the chunks read one by one, but
+   *     not their header reads
+   */
+  private List<Invocation> loadChunks(
+      TsFileSequenceReader reader,
+      TsFileResource tsFileResource,
+      List<IChunkMetadata> chunkMetadataList,
+      long[] chunkOffsets)
+      throws IOException {
+    chunkCache.clear();
+    FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+    TsFileSequenceReader spiedReader =
+        Mockito.spy(
+            FileReaderManager.getInstance()
+                .get(tsFileResource.getTsFilePath(), tsFileResource.getTsFileID(), true));
+    FileReaderManager.getInstance()
+        .getClosedFileReaderMap()
+        .put(tsFileResource.getTsFileID(), spiedReader);
+    DiskChunkLoader chunkLoader =
+        new DiskChunkLoader(
+            new QueryContext(),
+            tsFileResource,
+            new CoalescedChunkCandidates(tsFileResource, chunkOffsets, chunkMetadataList));
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      Chunk chunk = chunkLoader.loadChunk((ChunkMetadata) chunkMetadata);
+      Chunk expectedChunk = reader.readMemChunk((ChunkMetadata) chunkMetadata);
+      Assert.assertEquals(expectedChunk.getHeader().getDataSize(), chunk.getHeader().getDataSize());
+      Assert.assertEquals(expectedChunk.getData(), chunk.getData());
+    }
+    return Mockito.mockingDetails(spiedReader).getInvocations().stream()
+        .filter(
+            invocation ->
+                invocation.getMethod().getName().equals("readChunk")
+                    && invocation.getArguments().length == 3)
+        .collect(Collectors.toList());
+  }
+
   void prepareSeries() throws MetadataException {
     measurementSchemas = new MeasurementSchema[measurementNum];
     for (int i = 0; i < measurementNum; i++) {
@@ -19,12 +19,17 @@
 
 package org.apache.iotdb.db.storageengine.dataregion.read.reader.common;
 
+import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class PriorityMergeReaderTest {
 
@@ -166,4 +171,73 @@ public class PriorityMergeReaderTest {
     }
     assertEquals(162, cnt);
   }
+
+  @Test
+  public void testNextBatch() throws IOException {
+    long[][] sourceTimestamps = {
+      {1, 2, 3, 4, 5, 10, 11, 12, 13, 30, 31},
+      {4, 6, 7, 8, 12, 20, 21, 22},
+      {9, 12, 40, 41, 42, 43}
+    };
+    testNextBatch(false, 100, sourceTimestamps);
+    testNextBatch(true, 100, sourceTimestamps);
+    testNextBatch(false, 3, sourceTimestamps);
+    testNextBatch(true, 3, sourceTimestamps);
+  }
+
+  private void testNextBatch(boolean ascending, int maxCount, long[]... sourceTimestamps)
+      throws IOException {
+    PriorityMergeReader expectedReader = createMergeReader(ascending, sourceTimestamps);
+    PriorityMergeReader batchReader = createMergeReader(ascending, sourceTimestamps);
+    // stop the batches before 21 (or after 8 if descending) to check the end time
+    long endTime = ascending ? 20 : 9;
+
+    TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT64));
+    while (batchReader.hasNextTimeValuePair()) {
+      int count =
+          batchReader.nextBatch(
+              builder,
+              endTime,
+              maxCount,
+              point -> {
+                builder.getTimeColumnBuilder().writeLong(point.getTimestamp());
+                builder.getColumnBuilder(0).writeLong(point.getValue().getLong());
+                builder.declarePosition();
+              });
+      assertTrue(count >= 1 && count <= maxCount);
+    }
+    TsBlock tsBlock = builder.build();
+
+    int i = 0;
+    while (expectedReader.hasNextTimeValuePair()) {
+      TimeValuePair timeValuePair = expectedReader.nextTimeValuePair();
+      assertEquals(timeValuePair.getTimestamp(), tsBlock.getTimeByIndex(i));
+      assertEquals(timeValuePair.getValue().getLong(), tsBlock.getColumn(0).getLong(i));
+      i++;
+    }
+    assertEquals(i, tsBlock.getPositionCount());
+    assertEquals(0, batchReader.getUsedMemorySize());
+  }
+
+  private PriorityMergeReader createMergeReader(boolean ascending, long[]... sourceTimestamps)
+      throws IOException {
+    PriorityMergeReader mergeReader =
+        ascending ? new PriorityMergeReader() : new DescPriorityMergeReader();
+    for (int i = 0; i < sourceTimestamps.length; i++) {
+      long[] timestamps = sourceTimestamps[i];
+      TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT64));
+      for (int j = 0; j < timestamps.length; j++) {
+        long time = ascending ? timestamps[j] : timestamps[timestamps.length - 1 - j];
+        builder.getTimeColumnBuilder().writeLong(time);
+        // the value tells the source of the point
+        builder.getColumnBuilder(0).writeLong(time * 10 + i);
+        builder.declarePosition();
+      }
+      mergeReader.addReader(
+          new TsBlockPointReader(builder.build(), false),
+          new MergeReaderPriority(Long.MAX_VALUE, i + 1, 0, false),
+          ascending ? timestamps[timestamps.length - 1] : timestamps[0]);
+    }
+    return mergeReader;
+  }
 }
@@ -20,16 +20,24 @@
 package org.apache.iotdb.db.storageengine.dataregion.tsfile;
 
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
 import org.apache.iotdb.db.utils.constant.TestConstant;
 
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.filter.factory.FilterFactory;
+import org.apache.tsfile.read.filter.factory.TimeFilterApi;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public class TsFileResourceListTest {
 
@@ -323,4 +331,63 @@ public class TsFileResourceListTest {
     tsFileResourceList.keepOrderInsert(seqResources.get(0));
     Assert.assertEquals(seqResources, tsFileResourceList.getArrayList());
   }
+
+  @Test
+  public void testGetArrayListByTimeFilter() throws IOException {
+    IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d1");
+    TsFileResourceList tsFileResourceList = new TsFileResourceList();
+    for (int i = 0; i < 100; i++) {
+      TsFileResource resource = generateTsFileResource(i);
+      // most files cover [i * 100, i * 100 + 99], and some of them cover a long time range
+      long endTime = i % 10 == 0 ? i * 100L + 1000 : i * 100L + 99;
+      setTimeRange(resource, deviceID, i * 100L, endTime);
+      resource.setStatusForTest(TsFileResourceStatus.NORMAL);
+      tsFileResourceList.add(resource);
+    }
+    TsFileResource unsealedResource = generateTsFileResource(100);
+    setTimeRange(unsealedResource, deviceID, 0, 0);
+    unsealedResource.setStatusForTest(TsFileResourceStatus.UNCLOSED);
+    tsFileResourceList.add(unsealedResource);
+
+    List<Filter> timeFilters =
+        Arrays.asList(
+            TimeFilterApi.between(2550, 2650),
+            TimeFilterApi.gtEq(9950),
+            TimeFilterApi.lt(50),
+            TimeFilterApi.eq(4000),
+            TimeFilterApi.gt(20000),
+            FilterFactory.or(TimeFilterApi.lt(150), TimeFilterApi.between(5030, 5040)));
+    for (Filter timeFilter : timeFilters) {
+      assertTimeFilterResult(tsFileResourceList, timeFilter);
+    }
+
+    // the index is rebuilt after the list is modified
+    TsFileResource resource = tsFileResourceList.get(25);
+    tsFileResourceList.remove(resource);
+    List<TsFileResource> result = tsFileResourceList.getArrayList(TimeFilterApi.eq(2550));
+    Assert.assertFalse(result.contains(resource));
+    tsFileResourceList.keepOrderInsert(resource);
+    result = tsFileResourceList.getArrayList(TimeFilterApi.eq(2550));
+    Assert.assertTrue(result.contains(resource));
+  }
+
+  private void setTimeRange(
+      TsFileResource resource, IDeviceID deviceID, long startTime, long endTime) {
+    Map<IDeviceID, Integer> deviceToIndex = new HashMap<>();
+    deviceToIndex.put(deviceID, 0);
+    resource.setTimeIndex(
+        new ArrayDeviceTimeIndex(deviceToIndex, new long[] {startTime}, new long[] {endTime}));
+  }
+
+  private void assertTimeFilterResult(TsFileResourceList tsFileResourceList, Filter timeFilter) {
+    List<TsFileResource> expected = new ArrayList<>();
+    for (TsFileResource resource : tsFileResourceList.getArrayList()) {
+      if (!resource.isClosed()
+          || timeFilter.satisfyStartEndTime(
+              resource.getFileStartTime(), resource.getFileEndTime())) {
+        expected.add(resource);
+      }
+    }
+    Assert.assertEquals(expected, tsFileResourceList.getArrayList(timeFilter));
+  }
 }
@@ -20,6 +20,8 @@ package org.apache.iotdb.db.storageengine.dataregion.tsfile;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
 import org.apache.iotdb.db.storageengine.dataregion.modification.TreeDeletionEntry;
@@ -28,6 +30,7 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.CompactArrayDeviceTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
 import org.apache.iotdb.db.utils.constant.TestConstant;
 
@@ -39,6 +42,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
@@ -46,6 +51,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -125,6 +131,88 @@ public class TsFileResourceTest {
     }
   }
 
+  @Test
+  public void testDegradeWithDeviceFilter() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    boolean enableDeviceFilter = config.isEnableDegradedTimeIndexDeviceFilter();
+    config.setEnableDegradedTimeIndexDeviceFilter(true);
+    try {
+      long deviceTimeIndexRamSize = tsFileResource.calculateRamSize();
+      long memoryReduce = tsFileResource.degradeTimeIndex();
+      Assert.assertEquals(ITimeIndex.FILE_TIME_INDEX_TYPE, tsFileResource.getTimeIndexType());
+      Assert.assertTrue(memoryReduce > 0);
+      Assert.assertEquals(deviceTimeIndexRamSize - memoryReduce, tsFileResource.calculateRamSize());
+
+      for (IDeviceID device : deviceToIndex.keySet()) {
+        Assert.assertFalse(tsFileResource.definitelyNotContains(device));
+      }
+      long excludedCount =
+          IntStream.range(0, DEVICE_NUM)
+              .filter(
+                  i ->
+                      tsFileResource.definitelyNotContains(
+                          Factory.DEFAULT_FACTORY.create("root.sg.absent" + i)))
+              .count();
+      // The error rate of the bloom filter is low
+      Assert.assertTrue(excludedCount > DEVICE_NUM / 2);
+    } finally {
+      config.setEnableDegradedTimeIndexDeviceFilter(enableDeviceFilter);
+    }
+  }
+
+  @Test
+  public void testCompactTimeIndex() throws IOException {
+    ArrayDeviceTimeIndex arrayTimeIndex = (ArrayDeviceTimeIndex) tsFileResource.getTimeIndex();
+    long arrayRamSize = tsFileResource.calculateRamSize();
+    tsFileResource.compactTimeIndex();
+    ITimeIndex compactTimeIndex = tsFileResource.getTimeIndex();
+    Assert.assertTrue(compactTimeIndex instanceof CompactArrayDeviceTimeIndex);
+    Assert.assertEquals(ITimeIndex.ARRAY_DEVICE_TIME_INDEX_TYPE, tsFileResource.getTimeIndexType());
+    Assert.assertTrue(tsFileResource.calculateRamSize() < arrayRamSize);
+    // the interned device ids are charged to the tsfile as well
+    long deviceIdRamSize = 0;
+    for (IDeviceID device : ((ArrayDeviceTimeIndex) compactTimeIndex).getDevices()) {
+      deviceIdRamSize += device.ramBytesUsed();
+    }
+    Assert.assertTrue(compactTimeIndex.calculateRamSize() > deviceIdRamSize);
+    assertSameTimeIndex(arrayTimeIndex, compactTimeIndex);
+    Assert.assertFalse(
+        compactTimeIndex.checkDeviceIdExist(Factory.DEFAULT_FACTORY.create("root.sg.absent")));
+
+    // serialized in the format of ArrayDeviceTimeIndex
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    compactTimeIndex.serialize(outputStream);
+    ITimeIndex deserialized =
+        ITimeIndex.createTimeIndex(
+            new ByteArrayInputStream(outputStream.toByteArray()),
+            IDeviceID.Deserializer.DEFAULT_DESERIALIZER);
+    Assert.assertEquals(ArrayDeviceTimeIndex.class, deserialized.getClass());
+    assertSameTimeIndex(arrayTimeIndex, deserialized);
+
+    // the modifications are still supported
+    IDeviceID device = Factory.DEFAULT_FACTORY.create("root.sg.d0");
+    IDeviceID newDevice = Factory.DEFAULT_FACTORY.create("root.sg.new");
+    compactTimeIndex.updateEndTime(device, Long.MAX_VALUE - 1);
+    compactTimeIndex.updateStartTime(newDevice, Long.MIN_VALUE + 1);
+    Assert.assertEquals(Long.MAX_VALUE - 1, (long) compactTimeIndex.getEndTime(device).get());
+    Assert.assertEquals(Long.MIN_VALUE + 1, (long) compactTimeIndex.getStartTime(newDevice).get());
+    Assert.assertEquals(Long.MIN_VALUE, (long) compactTimeIndex.getEndTime(newDevice).get());
+    Assert.assertEquals(Long.MIN_VALUE + 1, compactTimeIndex.getMinStartTime());
+    Assert.assertEquals(Long.MAX_VALUE - 1, compactTimeIndex.getMaxEndTime());
+    Assert.assertEquals(DEVICE_NUM + 1, compactTimeIndex.getDevices(null, tsFileResource).size());
+  }
+
+  private void assertSameTimeIndex(ITimeIndex expected, ITimeIndex actual) {
+    Set<IDeviceID> devices = expected.getDevices(null, tsFileResource);
+    Assert.assertEquals(devices, actual.getDevices(null, tsFileResource));
+    for (IDeviceID device : devices) {
+      Assert.assertArrayEquals(
+          expected.getStartAndEndTime(device), actual.getStartAndEndTime(device));
+    }
+    Assert.assertEquals(expected.getMinStartTime(), actual.getMinStartTime());
+    Assert.assertEquals(expected.getMaxEndTime(), actual.getMaxEndTime());
+  }
+
   @Test
   public void testUpgradeModFileAsync()
       throws IllegalPathException, IOException, InterruptedException {
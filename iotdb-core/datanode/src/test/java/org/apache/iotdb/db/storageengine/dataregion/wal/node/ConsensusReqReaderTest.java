@@ -33,6 +33,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNod
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowsNode;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertTabletNode;
 import org.apache.iotdb.db.storageengine.dataregion.wal.buffer.WALEntry;
+import org.apache.iotdb.db.storageengine.dataregion.wal.utils.WALFileUtils;
 import org.apache.iotdb.db.storageengine.dataregion.wal.utils.WALMode;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.db.utils.constant.TestConstant;
@@ -53,6 +54,8 @@ import java.util.Collections;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class ConsensusReqReaderTest {
   private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
@@ -250,6 +253,26 @@ public class ConsensusReqReaderTest {
     checkThread.shutdown();
   }
 
+  @Test
+  public void scenario01TestTimedWaitForNextReady() throws Exception {
+    simulateFileScenario01();
+    ConsensusReqReader.ReqIterator iterator = walNode.getReqIterator(5);
+
+    Assert.assertFalse(iterator.hasNext());
+    // the entry in the current wal file is not ready, which fails at once without blocking
+    try {
+      iterator.waitForNextReady(0, TimeUnit.MILLISECONDS);
+      Assert.fail();
+    } catch (TimeoutException e) {
+      // expected
+    }
+
+    walNode.rollWALFile();
+    iterator.waitForNextReady(10, TimeUnit.SECONDS);
+    Assert.assertTrue(iterator.hasNext());
+    Assert.assertEquals(5, iterator.next().getSearchIndex());
+  }
+
   @Test
   public void scenario01TestGetReqIterator03() throws Exception {
     simulateFileScenario01();
@@ -412,6 +435,43 @@ public class ConsensusReqReaderTest {
     Assert.assertFalse(iterator.hasNext());
   }
 
+  @Test
+  public void scenario01TestReadSealedSegment() throws Exception {
+    simulateFileScenario01();
+
+    File segment = walNode.getSealedSegment(3);
+    Assert.assertEquals(2, WALFileUtils.parseVersionId(segment.getName()));
+    try (ConsensusReqReader.SegmentReader reader = walNode.readSealedSegment(segment, 3)) {
+      IndexedConsensusRequest request = reader.next();
+      Assert.assertEquals(3, request.getSearchIndex());
+      Assert.assertEquals(2, request.getRequests().size());
+      Assert.assertNull(reader.next());
+    }
+
+    segment = walNode.getSealedSegment(5);
+    Assert.assertEquals(5, WALFileUtils.parseVersionId(segment.getName()));
+    try (ConsensusReqReader.SegmentReader reader = walNode.readSealedSegment(segment, 4)) {
+      IndexedConsensusRequest request = reader.next();
+      Assert.assertEquals(4, request.getSearchIndex());
+      Assert.assertEquals(2, request.getRequests().size());
+      request = reader.next();
+      Assert.assertEquals(5, request.getSearchIndex());
+      for (IConsensusRequest innerRequest : request.getRequests()) {
+        PlanNode planNode = WALEntry.deserializeForConsensus(innerRequest.serializeToByteBuffer());
+        Assert.assertEquals(5, ((InsertTabletNode) planNode).getSearchIndex());
+      }
+      Assert.assertNull(reader.next());
+    }
+    // the requests before the start index are skipped
+    try (ConsensusReqReader.SegmentReader reader = walNode.readSealedSegment(segment, 5)) {
+      Assert.assertEquals(5, reader.next().getSearchIndex());
+      Assert.assertNull(reader.next());
+    }
+
+    // the file being written is not sealed
+    Assert.assertNull(walNode.getSealedSegment(6));
+  }
+
   /**
    * Generate wal files as below: <br>
    * _0-0-0.wal: -1,-1 <br>
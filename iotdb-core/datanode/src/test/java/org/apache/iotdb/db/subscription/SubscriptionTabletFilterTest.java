@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.subscription;
+
+import org.apache.iotdb.commons.pipe.agent.task.connection.UnboundedBlockingPendingQueue;
+import org.apache.iotdb.commons.pipe.metric.PipeFakeEventCounter;
+import org.apache.iotdb.db.subscription.broker.SubscriptionPrefetchingTabletQueue;
+import org.apache.iotdb.db.subscription.broker.SubscriptionTabletFilter;
+import org.apache.iotdb.db.subscription.broker.TsFileDeduplicationBlockingPendingQueue;
+import org.apache.iotdb.rpc.subscription.config.TopicConfig;
+import org.apache.iotdb.rpc.subscription.config.TopicConstant;
+import org.apache.iotdb.rpc.subscription.exception.SubscriptionException;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.write.record.Tablet;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SubscriptionTabletFilterTest {
+
+  @Test
+  public void testParse() {
+    Assert.assertNull(SubscriptionTabletFilter.parse(new TopicConfig()));
+    Assert.assertNotNull(parse("s1 > 1 AND s2 = 'a and b' and time <= 10", null));
+    Assert.assertNotNull(parse(null, "s1, `s2`"));
+
+    assertIllegal("s1 >", null);
+    assertIllegal("s1 > 1 and", null);
+    assertIllegal("s2 = 'a", null);
+    assertIllegal("time > yesterday", null);
+    // The literal that is not quoted should be a number, a boolean or a date
+    assertIllegal("s1 > abc", null);
+    Assert.assertNotNull(
+        parse("s1 > 'abc' and s2 = true and s3 < 1.5e3 and s4 = 2024-01-01", null));
+    assertIllegal(null, " , ");
+  }
+
+  @Test
+  public void testRefuseQueueWithoutTopicMeta() {
+    try {
+      new SubscriptionPrefetchingTabletQueue(
+          "cg",
+          "topic_without_meta",
+          new TsFileDeduplicationBlockingPendingQueue(
+              new UnboundedBlockingPendingQueue<>(new PipeFakeEventCounter())),
+          new AtomicLong());
+      Assert.fail();
+    } catch (final SubscriptionException ignored) {
+      // expected, the data should never be delivered unfiltered
+    }
+  }
+
+  @Test
+  public void testFilterRows() {
+    final Tablet tablet = createTablet();
+
+    Tablet filtered = parse("s1 >= 5 and time < 8", null).filter(tablet);
+    Assert.assertEquals(3, filtered.getRowSize());
+    Assert.assertArrayEquals(new long[] {5, 6, 7}, filtered.getTimestamps());
+    Assert.assertEquals(3, filtered.getSchemas().size());
+
+    // The null values never satisfy the comparisons
+    filtered = parse("s2 != 'v4'", null).filter(tablet);
+    Assert.assertArrayEquals(new long[] {0, 2, 6, 8}, filtered.getTimestamps());
+    Assert.assertFalse(filtered.getBitMaps()[1].isMarked(0));
+    Assert.assertEquals(
+        new Binary("v2", TSFileConfig.STRING_CHARSET), ((Binary[]) filtered.getValues()[1])[1]);
+
+    Assert.assertNull(parse("s1 > 100", null).filter(tablet));
+    Assert.assertNull(parse("s4 > 1", null).filter(tablet));
+
+    // The numerical literals that do not fit the integral columns are compared as doubles
+    filtered = parse("s1 > 7.5", null).filter(tablet);
+    Assert.assertArrayEquals(new long[] {8, 9}, filtered.getTimestamps());
+    Assert.assertSame(tablet, parse("s1 >= -1e10", null).filter(tablet));
+
+    // The comparisons that can not be applied to the column are never satisfied
+    Assert.assertNull(parse("s1 > 'abc'", null).filter(tablet));
+    Assert.assertNull(parse("s1 != 'abc' and s3 >= 0", null).filter(tablet));
+    Assert.assertSame(tablet, parse("s1 >= 0", null).filter(tablet));
+  }
+
+  @Test
+  public void testProjectColumns() {
+    final Tablet tablet = createTablet();
+
+    final Tablet filtered = parse("s1 < 3", "s3,s4").filter(tablet);
+    Assert.assertEquals(3, filtered.getRowSize());
+    Assert.assertEquals(1, filtered.getSchemas().size());
+    Assert.assertEquals("s3", filtered.getSchemas().get(0).getMeasurementName());
+    Assert.assertArrayEquals(new double[] {0, 0.5, 1}, (double[]) filtered.getValues()[0], 0);
+    Assert.assertEquals(tablet.getDeviceId(), filtered.getDeviceId());
+
+    Assert.assertNull(parse(null, "s4").filter(tablet));
+    Assert.assertSame(tablet, parse(null, "s1,s2,s3").filter(tablet));
+  }
+
+  private static Tablet createTablet() {
+    final List<IMeasurementSchema> schemas = new ArrayList<>();
+    schemas.add(new MeasurementSchema("s1", TSDataType.INT32));
+    schemas.add(new MeasurementSchema("s2", TSDataType.TEXT));
+    schemas.add(new MeasurementSchema("s3", TSDataType.DOUBLE));
+    final Tablet tablet = new Tablet("root.db.d1", schemas, 10);
+    for (int i = 0; i < 10; ++i) {
+      tablet.addTimestamp(i, i);
+      tablet.addValue("s1", i, i);
+      if (i % 2 == 0) {
+        tablet.addValue("s2", i, "v" + i);
+      }
+      tablet.addValue("s3", i, i * 0.5);
+    }
+    return tablet;
+  }
+
+  private static SubscriptionTabletFilter parse(final String filter, final String columns) {
+    final Map<String, String> attributes = new HashMap<>();
+    if (filter != null) {
+      attributes.put(TopicConstant.FILTER_KEY, filter);
+    }
+    if (columns != null) {
+      attributes.put(TopicConstant.COLUMNS_KEY, columns);
+    }
+    return SubscriptionTabletFilter.parse(new TopicConfig(attributes));
+  }
+
+  private static void assertIllegal(final String filter, final String columns) {
+    try {
+      parse(filter, columns);
+      Assert.fail();
+    } catch (final IllegalArgumentException ignored) {
+      // expected
+    }
+  }
+}
@@ -36,6 +36,7 @@ public enum ThreadName {
   FRAGMENT_INSTANCE_DISPATCH("Fragment-Instance-Dispatch"),
   DRIVER_TASK_SCHEDULER_NOTIFICATION("Driver-Task-Scheduler-Notification"),
   EXPIRED_QUERIES_INFO_CLEAR("Expired-Queries-Info-Clear"),
+  CHUNK_PREFETCH("Chunk-Prefetch"),
   // -------------------------- MPP --------------------------
   MPP_COORDINATOR_SCHEDULED_EXECUTOR("MPP-Coordinator-Scheduled-Executor"),
   MPP_DATA_EXCHANGE_TASK_EXECUTOR("MPP-Data-Exchange-Task-Executors"),
@@ -63,6 +64,7 @@ public enum ThreadName {
   FLUSH_TASK_SUBMIT("FlushTask-Submit-Pool"),
   TIMED_FLUSH_SEQ_MEMTABLE("Timed-Flush-Seq-Memtable"),
   TIMED_FLUSH_UNSEQ_MEMTABLE("Timed-Flush-Unseq-Memtable"),
+  TSFILE_STATISTICS_INDEX_GENERATOR("TsFile-Statistics-Index-Generator"),
   // -------------------------- SchemaEngine --------------------------
   SCHEMA_REGION_RELEASE_PROCESSOR("SchemaRegion-Release-Task-Processor"),
   SCHEMA_REGION_RECOVER_TASK("SchemaRegion-Recover-Task"),
@@ -70,6 +72,7 @@ public enum ThreadName {
   PBTREE_RELEASE_MONITOR("PBTree-Release-Task-Monitor"),
   PBTREE_FLUSH_MONITOR("PBTree-Flush-Monitor"),
   PBTREE_WORKER_POOL("PBTree-Worker-Pool"),
+  PBTREE_PAGE_IO("PBTree-Page-IO"),
   GENERAL_REGION_ATTRIBUTE_SECURITY_SERVICE("General-Region-Attribute-Security-Service"),
   SCHEMA_PARALLEL_POOL("Schema-Parallel-Pool"),
 
@@ -93,8 +96,11 @@ public enum ThreadName {
   CONFIG_NODE_LOAD_STATISTIC("Cluster-LoadStatistics-Service"),
   CONFIG_NODE_EVENT_SERVICE("Cluster-Event-Service"),
   CONFIG_NODE_LOAD_PUBLISHER("Cluster-LoadStatistics-Publisher"),
+  CONFIG_NODE_PARTITION_REBALANCE("Cluster-PartitionRebalance-Service"),
+  CONFIG_NODE_LEADER_REBALANCE("Cluster-LeaderRebalance-Service"),
   // -------------------------- ConfigNode-RegionManagement --------------------------
   CONFIG_NODE_REGION_MAINTAINER("IoTDB-Region-Maintainer"),
+  CONFIG_NODE_PARTITION_PRE_CREATOR("IoTDB-DataPartition-PreCreator"),
   // -------------------------- ConfigNode-Recover --------------------------
   CONFIG_NODE_RECOVER("ConfigNode-Manager-Recovery"),
   // -------------------------- ConfigNode-Procedure ------------------------
@@ -153,6 +159,7 @@ public enum ThreadName {
   PIPE_RECEIVER_AIR_GAP_AGENT("Pipe-Receiver-Air-Gap-Agent"),
   PIPE_AIR_GAP_RECEIVER("Pipe-Air-Gap-Receiver"),
   PIPE_PARALLEL_EXECUTION_POOL("Pipe-Parallel-Execution-Pool"),
+  PIPE_RECEIVER_PARALLEL_APPLY_POOL("Pipe-Receiver-Parallel-Apply-Pool"),
   PIPE_TERMINATE_EXECUTION_POOL("Pipe-Terminate-Execution-Pool"),
   LOAD_DATATYPE_CONVERT_POOL("Load-Datatype-Convert-Pool"),
   SUBSCRIPTION_EXECUTOR_POOL("Subscription-Executor-Pool"),
@@ -199,6 +206,8 @@ public enum ThreadName {
   UPGRADE_TASK("UpgradeThread"),
   REGION_MIGRATE("Region-Migrate-Pool"),
   STORAGE_ENGINE_RECOVER_TRIGGER("StorageEngine-RecoverTrigger"),
+  LAST_CACHE_CHECKPOINT("LastCache-Checkpoint"),
+  LAST_CACHE_WARM_UP("LastCache-WarmUp"),
   FILE_TIME_INDEX_RECORD("FileTimeIndexRecord"),
   BINARY_ALLOCATOR_SAMPLE_EVICTOR("BinaryAllocator-SampleEvictor"),
   BINARY_ALLOCATOR_AUTO_RELEASER("BinaryAllocator-Auto-Releaser"),
@@ -216,7 +225,8 @@ public enum ThreadName {
               TIMED_QUERY_SQL_COUNT,
               FRAGMENT_INSTANCE_MANAGEMENT,
               FRAGMENT_INSTANCE_NOTIFICATION,
-              DRIVER_TASK_SCHEDULER_NOTIFICATION));
+              DRIVER_TASK_SCHEDULER_NOTIFICATION,
+              CHUNK_PREFETCH));
   private static final Set<ThreadName> mppThreadNames =
       new HashSet<>(
           Arrays.asList(
@@ -244,7 +254,8 @@ public enum ThreadName {
               FLUSH_SUB_TASK,
               FLUSH_TASK_SUBMIT,
               TIMED_FLUSH_SEQ_MEMTABLE,
-              TIMED_FLUSH_UNSEQ_MEMTABLE));
+              TIMED_FLUSH_UNSEQ_MEMTABLE,
+              TSFILE_STATISTICS_INDEX_GENERATOR));
   private static final Set<ThreadName> schemaEngineThreadNames =
       new HashSet<>(
           Arrays.asList(
@@ -254,6 +265,7 @@ public enum ThreadName {
               SCHEMA_FORCE_MLOG,
               PBTREE_FLUSH_MONITOR,
               PBTREE_WORKER_POOL,
+              PBTREE_PAGE_IO,
               GENERAL_REGION_ATTRIBUTE_SECURITY_SERVICE,
               SCHEMA_PARALLEL_POOL));
 
@@ -314,6 +326,7 @@ public enum ThreadName {
               PIPE_RECEIVER_AIR_GAP_AGENT,
               PIPE_AIR_GAP_RECEIVER,
               PIPE_PARALLEL_EXECUTION_POOL,
+              PIPE_RECEIVER_PARALLEL_APPLY_POOL,
               SUBSCRIPTION_EXECUTOR_POOL,
               SUBSCRIPTION_RUNTIME_META_SYNCER,
               WINDOW_EVALUATION_SERVICE,
@@ -358,10 +371,16 @@ public enum ThreadName {
               ASYNC_DATANODE_HEARTBEAT_CLIENT_POOL));
 
   private static final Set<ThreadName> configNodeLoadBalanceThreadNames =
-      new HashSet<>(Arrays.asList(CONFIG_NODE_LOAD_STATISTIC, CONFIG_NODE_LOAD_PUBLISHER));
+      new HashSet<>(
+          Arrays.asList(
+              CONFIG_NODE_LOAD_STATISTIC,
+              CONFIG_NODE_LOAD_PUBLISHER,
+              CONFIG_NODE_PARTITION_REBALANCE,
+              CONFIG_NODE_LEADER_REBALANCE));
 
   private static final Set<ThreadName> configNodeRegionManagementThreadNames =
-      new HashSet<>(Arrays.asList(CONFIG_NODE_REGION_MAINTAINER));
+      new HashSet<>(
+          Arrays.asList(CONFIG_NODE_REGION_MAINTAINER, CONFIG_NODE_PARTITION_PRE_CREATOR));
 
   private static final Set<ThreadName> configNodeRecoverThreadNames =
       new HashSet<>(Arrays.asList(CONFIG_NODE_RECOVER));
@@ -396,7 +415,9 @@ public enum ThreadName {
               DATANODE_SHUTDOWN_HOOK,
               UPGRADE_TASK,
               REGION_MIGRATE,
-              STORAGE_ENGINE_RECOVER_TRIGGER));
+              STORAGE_ENGINE_RECOVER_TRIGGER,
+              LAST_CACHE_CHECKPOINT,
+              LAST_CACHE_WARM_UP));
 
   private static final Set<ThreadName>[] threadNameSetList =
       new Set[] {
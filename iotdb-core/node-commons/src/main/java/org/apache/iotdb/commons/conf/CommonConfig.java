@@ -264,6 +264,7 @@ public class CommonConfig {
   private int pipeSourceAssignerDisruptorRingBufferSize = 128;
   private long pipeSourceAssignerDisruptorRingBufferEntrySizeInBytes = 72 * KB;
   private long pipeSourceMatcherCacheSize = 1024;
+  private boolean pipeSourceMatcherTrieEnabled = false;
 
   private int pipeConnectorHandshakeTimeoutMs = 10 * 1000; // 10 seconds
   private int pipeConnectorTransferTimeoutMs = 15 * 60 * 1000; // 15 minutes
@@ -303,6 +304,7 @@ public class CommonConfig {
 
   private long pipeReceiverLoginPeriodicVerificationIntervalMs = -1;
   private double pipeReceiverActualToEstimatedMemoryRatio = 3;
+  private int pipeReceiverParallelApplyThreadNum = 0;
 
   private int pipeReceiverReqDecompressedMaxLengthInBytes = 1073741824; // 1GB
   private boolean pipeReceiverLoadConversionEnabled = false;
@@ -1049,6 +1051,18 @@ public class CommonConfig {
     logger.info("pipeSourceMatcherCacheSize is set to {}.", pipeSourceMatcherCacheSize);
   }
 
+  public boolean isPipeSourceMatcherTrieEnabled() {
+    return pipeSourceMatcherTrieEnabled;
+  }
+
+  public void setPipeSourceMatcherTrieEnabled(boolean pipeSourceMatcherTrieEnabled) {
+    if (this.pipeSourceMatcherTrieEnabled == pipeSourceMatcherTrieEnabled) {
+      return;
+    }
+    this.pipeSourceMatcherTrieEnabled = pipeSourceMatcherTrieEnabled;
+    logger.info("pipeSourceMatcherTrieEnabled is set to {}.", pipeSourceMatcherTrieEnabled);
+  }
+
   public int getPipeConnectorHandshakeTimeoutMs() {
     return pipeConnectorHandshakeTimeoutMs;
   }
@@ -1604,6 +1618,19 @@ public class CommonConfig {
     return pipeReceiverActualToEstimatedMemoryRatio;
   }
 
+  public void setPipeReceiverParallelApplyThreadNum(int pipeReceiverParallelApplyThreadNum) {
+    if (this.pipeReceiverParallelApplyThreadNum == pipeReceiverParallelApplyThreadNum) {
+      return;
+    }
+    this.pipeReceiverParallelApplyThreadNum = pipeReceiverParallelApplyThreadNum;
+    logger.info(
+        "pipeReceiverParallelApplyThreadNum is set to {}", pipeReceiverParallelApplyThreadNum);
+  }
+
+  public int getPipeReceiverParallelApplyThreadNum() {
+    return pipeReceiverParallelApplyThreadNum;
+  }
+
   public void setPipeReceiverReqDecompressedMaxLengthInBytes(
       int pipeReceiverReqDecompressedMaxLengthInBytes) {
     if (this.pipeReceiverReqDecompressedMaxLengthInBytes
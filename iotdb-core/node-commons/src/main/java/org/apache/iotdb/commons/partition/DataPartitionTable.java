@@ -253,6 +253,20 @@ public class DataPartitionTable {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Get the SeriesPartitionSlots that have DataPartitions in the specified TimePartitionSlot.
+   *
+   * @param timePartitionSlot The specified TimePartitionSlot
+   * @return The sorted SeriesPartitionSlots
+   */
+  public List<TSeriesPartitionSlot> getSeriesSlotList(TTimePartitionSlot timePartitionSlot) {
+    return dataPartitionMap.entrySet().stream()
+        .filter(entry -> entry.getValue().getSeriesPartitionMap().containsKey(timePartitionSlot))
+        .map(Map.Entry::getKey)
+        .sorted(Comparator.comparing(TSeriesPartitionSlot::getSlotId))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Get the last DataAllotTable.
    *
@@ -165,6 +165,10 @@ public class PipeConfig {
     return COMMON_CONFIG.getPipeSourceMatcherCacheSize();
   }
 
+  public boolean isPipeSourceMatcherTrieEnabled() {
+    return COMMON_CONFIG.isPipeSourceMatcherTrieEnabled();
+  }
+
   /////////////////////////////// Connector ///////////////////////////////
 
   public int getPipeConnectorHandshakeTimeoutMs() {
@@ -333,6 +337,10 @@ public class PipeConfig {
     return COMMON_CONFIG.getPipeReceiverActualToEstimatedMemoryRatio();
   }
 
+  public int getPipeReceiverParallelApplyThreadNum() {
+    return COMMON_CONFIG.getPipeReceiverParallelApplyThreadNum();
+  }
+
   public int getPipeReceiverReqDecompressedMaxLengthInBytes() {
     return COMMON_CONFIG.getPipeReceiverReqDecompressedMaxLengthInBytes();
   }
@@ -502,6 +510,7 @@ public class PipeConfig {
         "PipeSourceAssignerDisruptorRingBufferEntrySizeInBytes: {}",
         getPipeSourceAssignerDisruptorRingBufferEntrySizeInBytes());
     LOGGER.info("PipeSourceMatcherCacheSize: {}", getPipeSourceMatcherCacheSize());
+    LOGGER.info("PipeSourceMatcherTrieEnabled: {}", isPipeSourceMatcherTrieEnabled());
 
     LOGGER.info("PipeConnectorHandshakeTimeoutMs: {}", getPipeConnectorHandshakeTimeoutMs());
     LOGGER.info("PipeConnectorTransferTimeoutMs: {}", getPipeConnectorTransferTimeoutMs());
@@ -600,6 +609,8 @@ public class PipeConfig {
     LOGGER.info(
         "PipeReceiverActualToEstimatedMemoryRatio: {}",
         getPipeReceiverActualToEstimatedMemoryRatio());
+    LOGGER.info(
+        "PipeReceiverParallelApplyThreadNum: {}", getPipeReceiverParallelApplyThreadNum());
     LOGGER.info(
         "PipeReceiverReqDecompressedMaxLengthInBytes: {}",
         getPipeReceiverReqDecompressedMaxLengthInBytes());
@@ -101,6 +101,11 @@ public class PipeDescriptor {
             properties.getProperty(
                 "pipe_air_gap_receiver_port",
                 Integer.toString(config.getPipeAirGapReceiverPort()))));
+    config.setPipeReceiverParallelApplyThreadNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "pipe_receiver_parallel_apply_thread_num",
+                Integer.toString(config.getPipeReceiverParallelApplyThreadNum()))));
 
     config.setPipeMetaReportMaxLogNumPerRound(
         Double.parseDouble(
@@ -333,6 +338,11 @@ public class PipeDescriptor {
                     properties.getProperty(
                         "pipe_extractor_matcher_cache_size",
                         String.valueOf(config.getPipeSourceMatcherCacheSize())))));
+    config.setPipeSourceMatcherTrieEnabled(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "pipe_source_matcher_trie_enabled",
+                String.valueOf(config.isPipeSourceMatcherTrieEnabled()))));
 
     config.setPipeConnectorHandshakeTimeoutMs(
         Long.parseLong(
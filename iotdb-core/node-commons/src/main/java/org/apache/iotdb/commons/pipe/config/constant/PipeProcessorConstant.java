@@ -25,6 +25,9 @@ public class PipeProcessorConstant {
 
   public static final String PROCESSOR_KEY = "processor";
 
+  public static final String PROCESSOR_COLUMNAR_KEY = "processor.columnar";
+  public static final boolean PROCESSOR_COLUMNAR_DEFAULT_VALUE = false;
+
   public static final String PROCESSOR_DOWN_SAMPLING_SPLIT_FILE_KEY =
       "processor.down-sampling.split-file";
   public static final boolean PROCESSOR_DOWN_SAMPLING_SPLIT_FILE_DEFAULT_VALUE = false;
@@ -67,6 +67,7 @@ public enum Metric {
   PIPE_RECEIVE_EVENT("pipe_receive_event"),
   RATIS_CONSENSUS_WRITE("ratis_consensus_write"),
   RATIS_CONSENSUS_READ("ratis_consensus_read"),
+  RATIS_CONSENSUS_READ_LEASE("ratis_consensus_read_lease"),
   // storage engine related
   POINTS("points"),
   POINTS_IN("points_in"),
@@ -205,6 +206,7 @@ public enum Metric {
   SUBSCRIPTION_UNCOMMITTED_EVENT_COUNT("subscription_uncommitted_event_count"),
   SUBSCRIPTION_CURRENT_COMMIT_ID("subscription_current_commit_id"),
   SUBSCRIPTION_EVENT_TRANSFER("subscription_event_transfer"),
+  SUBSCRIPTION_FILTERED_BYTES("subscription_filtered_bytes"),
   // load related
   ACTIVE_LOADING_FILES_NUMBER("active_loading_files_number"),
   ACTIVE_LOADING_FILES_SIZE("active_loading_files_size"),
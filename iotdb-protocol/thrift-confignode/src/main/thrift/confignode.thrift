@@ -104,6 +104,9 @@ struct TRatisConfig {
   34: required i64 dataRegionPeriodicSnapshotInterval
 
   35: required i32 ratisTransferLeaderTimeoutMs;
+
+  36: optional string schemaRegionReadConsistency
+  37: optional i64 schemaRegionReadMaxStalenessMs
 }
 
 struct TCQConfig {
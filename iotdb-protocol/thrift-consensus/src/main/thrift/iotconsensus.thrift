@@ -127,6 +127,26 @@ struct TCleanupTransferredSnapshotRes {
   1: required common.TSStatus status
 }
 
+// A fragment of a sealed log file of the leader, which is replayed by the follower once the last
+// fragment arrives. It is used to catch up a follower lagging far behind.
+struct TSendWALSegmentFragmentReq {
+  # source peer where the segment is read
+  1: required i32 peerId
+  2: required common.TConsensusGroupId consensusGroupId
+  3: required string segmentName
+  # the follower replays the requests whose search index is not less than this one
+  4: required i64 startSearchIndex
+  5: required i64 offset
+  6: required binary fragment
+  7: required bool lastFragment
+}
+
+struct TSendWALSegmentFragmentRes {
+  1: required common.TSStatus status
+  # only set when the last fragment is replayed
+  2: optional i64 lastAppliedSearchIndex
+}
+
 service IoTConsensusIService {
   TSyncLogEntriesRes syncLogEntries(TSyncLogEntriesReq req)
   TInactivatePeerRes inactivatePeer(TInactivatePeerReq req)
@@ -138,4 +158,5 @@ service IoTConsensusIService {
   TSendSnapshotFragmentRes sendSnapshotFragment(TSendSnapshotFragmentReq req)
   TTriggerSnapshotLoadRes triggerSnapshotLoad(TTriggerSnapshotLoadReq req)
   TCleanupTransferredSnapshotRes cleanupTransferredSnapshot(TCleanupTransferredSnapshotReq req)
+  TSendWALSegmentFragmentRes sendWALSegmentFragment(TSendWALSegmentFragmentReq req)
 }
\ No newline at end of file
@@ -289,6 +289,24 @@ struct TDataNodeHeartbeatReq {
   // Using 8 bit to represent 8 bool
   // lowest bit: enable separation of admin powers
   16: optional byte booleanVariables1
+  17: optional TDataPartitionDelta dataPartitionDelta
+  // Whether to report the written points of each SeriesPartitionSlot in the regionLoadMap
+  18: optional bool needSeriesSlotLoad
+}
+
+struct TDataPartitionDelta {
+  // Identifies the version stream of the ConfigNodes, the DataNode is rebased when it differs
+  1: required i64 epoch
+  // The version of the DataPartitionTable after applying this delta
+  2: required i64 version
+  // Map<Database, Map<SeriesPartitionSlot, Map<TimePartitionSlot, List<RegionGroupId>>>>
+  // Only the newly created DataPartitions are included
+  3: optional map<string, map<common.TSeriesPartitionSlot, map<common.TTimePartitionSlot, list<common.TConsensusGroupId>>>> dataPartitionTable
+  // Whether all the cached DataPartitions should be invalidated, since the DataNode may have missed some removals
+  5: optional bool invalidateAll
+  // Map<Database, the TimePartitionSlots whose expired DataPartitions are removed>
+  // Should be removed from the cached DataPartitions before applying dataPartitionTable
+  6: optional map<string, list<common.TTimePartitionSlot>> removedTimePartitions
 }
 
 struct TDataNodeActivation {
@@ -316,6 +334,17 @@ struct TDataNodeHeartbeatResp {
   15: optional list<i64> pipeRemainingEventCountList
   16: optional list<double> pipeRemainingTimeList
   17: optional map<i32, i64> dataRegionRawDataSize
+  18: optional map<i32, TRegionLoadSample> regionLoadMap
+  19: optional i64 dataPartitionCacheEpoch
+  20: optional i64 dataPartitionCacheVersion
+}
+
+struct TRegionLoadSample {
+  // Accumulated since the DataRegion is loaded by the DataNode
+  1: required i64 writtenPoints
+  2: required i64 queryCpuTimeInNanos
+  // Map<SeriesPartitionSlot, written points>, accumulated the same way and only non-zero ones
+  3: optional map<i32, i64> seriesSlotWrittenPoints
 }
 
 struct TPipeHeartbeatReq {